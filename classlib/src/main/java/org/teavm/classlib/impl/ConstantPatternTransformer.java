@@ -0,0 +1,256 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.teavm.diagnostics.Diagnostics;
+import org.teavm.model.AccessLevel;
+import org.teavm.model.BasicBlock;
+import org.teavm.model.ClassHolder;
+import org.teavm.model.ClassHolderTransformer;
+import org.teavm.model.ClassReaderSource;
+import org.teavm.model.ElementModifier;
+import org.teavm.model.FieldHolder;
+import org.teavm.model.Instruction;
+import org.teavm.model.MethodHolder;
+import org.teavm.model.MethodReference;
+import org.teavm.model.Program;
+import org.teavm.model.ValueType;
+import org.teavm.model.Variable;
+import org.teavm.model.emit.ProgramEmitter;
+import org.teavm.model.instructions.IntegerConstantInstruction;
+import org.teavm.model.instructions.InvocationType;
+import org.teavm.model.instructions.InvokeInstruction;
+import org.teavm.model.instructions.StringConstantInstruction;
+
+/**
+ * <p>Moves compilation of regular expressions given by string constants out of methods. For each distinct
+ * constant pattern a class gets a private static field that is lazily initialized by a generated getter,
+ * so {@code "a,b".split(",")} or {@code Pattern.compile("\\d+")} called in a loop parse the pattern only
+ * once.</p>
+ *
+ * <p>The following calls are rewritten when their pattern (and flags) are constants: {@code Pattern.compile},
+ * {@code Pattern.matches}, {@code String.split}, {@code String.matches}, {@code String.replaceAll}
+ * and {@code String.replaceFirst}.</p>
+ */
+public class ConstantPatternTransformer implements ClassHolderTransformer {
+    private static final String PATTERN = Pattern.class.getName();
+    private static final String STRING = String.class.getName();
+    private static final MethodReference COMPILE = new MethodReference(Pattern.class, "compile",
+            String.class, int.class, Pattern.class);
+    private static final MethodReference MATCHER = new MethodReference(Pattern.class, "matcher",
+            CharSequence.class, Matcher.class);
+    private static final MethodReference MATCHES = new MethodReference(Matcher.class, "matches", boolean.class);
+    private static final MethodReference SPLIT = new MethodReference(Pattern.class, "split",
+            CharSequence.class, String[].class);
+    private static final MethodReference SPLIT_LIMIT = new MethodReference(Pattern.class, "split",
+            CharSequence.class, int.class, String[].class);
+    private static final MethodReference REPLACE_ALL = new MethodReference(Matcher.class, "replaceAll",
+            String.class, String.class);
+    private static final MethodReference REPLACE_FIRST = new MethodReference(Matcher.class, "replaceFirst",
+            String.class, String.class);
+
+    @Override
+    public void transformClass(ClassHolder cls, ClassReaderSource innerSource, Diagnostics diagnostics) {
+        if (cls.hasModifier(ElementModifier.INTERFACE)) {
+            return;
+        }
+        Map<String, MethodReference> getters = new HashMap<>();
+        for (MethodHolder method : cls.getMethods().toArray(new MethodHolder[0])) {
+            if (method.getProgram() != null) {
+                transformProgram(cls, method.getProgram(), getters, innerSource);
+            }
+        }
+    }
+
+    private void transformProgram(ClassHolder cls, Program program, Map<String, MethodReference> getters,
+            ClassReaderSource classSource) {
+        Map<Variable, String> stringConstants = new HashMap<>();
+        Map<Variable, Integer> intConstants = new HashMap<>();
+        boolean hasCandidates = false;
+        for (BasicBlock block : program.getBasicBlocks()) {
+            for (Instruction insn : block) {
+                if (insn instanceof StringConstantInstruction) {
+                    StringConstantInstruction constant = (StringConstantInstruction) insn;
+                    stringConstants.put(constant.getReceiver(), constant.getConstant());
+                } else if (insn instanceof IntegerConstantInstruction) {
+                    IntegerConstantInstruction constant = (IntegerConstantInstruction) insn;
+                    intConstants.put(constant.getReceiver(), constant.getConstant());
+                } else if (insn instanceof InvokeInstruction) {
+                    hasCandidates |= isCandidate(((InvokeInstruction) insn).getMethod());
+                }
+            }
+        }
+        if (!hasCandidates || stringConstants.isEmpty()) {
+            return;
+        }
+
+        for (BasicBlock block : program.getBasicBlocks()) {
+            for (Instruction insn : block) {
+                if (!(insn instanceof InvokeInstruction)) {
+                    continue;
+                }
+                InvokeInstruction invoke = (InvokeInstruction) insn;
+                MethodReference method = invoke.getMethod();
+                if (!isCandidate(method)) {
+                    continue;
+                }
+
+                String regex = stringConstants.get(invoke.getArguments().get(0));
+                if (regex == null) {
+                    continue;
+                }
+                Integer flags = 0;
+                if (method.getName().equals("compile") && method.parameterCount() == 2) {
+                    flags = intConstants.get(invoke.getArguments().get(1));
+                    if (flags == null) {
+                        continue;
+                    }
+                }
+                int flagsValue = flags;
+
+                MethodReference getter = getters.computeIfAbsent(regex + "\0" + flagsValue,
+                        key -> createGetter(cls, getters.size(), regex, flagsValue, classSource));
+                rewrite(invoke, getter);
+            }
+        }
+    }
+
+    private static boolean isCandidate(MethodReference method) {
+        if (method.getClassName().equals(PATTERN)) {
+            switch (method.getName()) {
+                case "compile":
+                case "matches":
+                    return method.parameterType(0).isObject(String.class);
+                default:
+                    return false;
+            }
+        } else if (method.getClassName().equals(STRING)) {
+            switch (method.getName()) {
+                case "split":
+                case "matches":
+                case "replaceAll":
+                case "replaceFirst":
+                    return method.parameterCount() > 0 && method.parameterType(0).isObject(String.class);
+                default:
+                    return false;
+            }
+        }
+        return false;
+    }
+
+    private void rewrite(InvokeInstruction invoke, MethodReference getter) {
+        Program program = invoke.getProgram();
+        MethodReference method = invoke.getMethod();
+
+        InvokeInstruction getPattern = new InvokeInstruction();
+        getPattern.setType(InvocationType.SPECIAL);
+        getPattern.setMethod(getter);
+        getPattern.setReceiver(program.createVariable());
+        getPattern.setLocation(invoke.getLocation());
+
+        if (method.getClassName().equals(PATTERN)) {
+            if (method.getName().equals("compile")) {
+                getPattern.setReceiver(invoke.getReceiver());
+                invoke.replace(getPattern);
+            } else {
+                invoke.insertPrevious(getPattern);
+                Variable matcher = invokeVirtual(invoke, MATCHER, getPattern.getReceiver(),
+                        invoke.getArguments().get(1));
+                replaceWithVirtual(invoke, MATCHES, matcher);
+            }
+            return;
+        }
+
+        invoke.insertPrevious(getPattern);
+        Variable string = invoke.getInstance();
+        switch (method.getName()) {
+            case "split":
+                if (method.parameterCount() == 1) {
+                    replaceWithVirtual(invoke, SPLIT, getPattern.getReceiver(), string);
+                } else {
+                    replaceWithVirtual(invoke, SPLIT_LIMIT, getPattern.getReceiver(), string,
+                            invoke.getArguments().get(1));
+                }
+                break;
+            case "matches": {
+                Variable matcher = invokeVirtual(invoke, MATCHER, getPattern.getReceiver(), string);
+                replaceWithVirtual(invoke, MATCHES, matcher);
+                break;
+            }
+            case "replaceAll":
+            case "replaceFirst": {
+                Variable matcher = invokeVirtual(invoke, MATCHER, getPattern.getReceiver(), string);
+                replaceWithVirtual(invoke, method.getName().equals("replaceAll") ? REPLACE_ALL : REPLACE_FIRST,
+                        matcher, invoke.getArguments().get(1));
+                break;
+            }
+        }
+    }
+
+    private Variable invokeVirtual(InvokeInstruction position, MethodReference method, Variable instance,
+            Variable... arguments) {
+        InvokeInstruction insn = createVirtual(position, method, instance, arguments);
+        insn.setReceiver(position.getProgram().createVariable());
+        position.insertPrevious(insn);
+        return insn.getReceiver();
+    }
+
+    private void replaceWithVirtual(InvokeInstruction position, MethodReference method, Variable instance,
+            Variable... arguments) {
+        InvokeInstruction insn = createVirtual(position, method, instance, arguments);
+        insn.setReceiver(position.getReceiver());
+        position.replace(insn);
+    }
+
+    private InvokeInstruction createVirtual(InvokeInstruction position, MethodReference method, Variable instance,
+            Variable... arguments) {
+        InvokeInstruction insn = new InvokeInstruction();
+        insn.setType(InvocationType.VIRTUAL);
+        insn.setMethod(method);
+        insn.setInstance(instance);
+        for (Variable argument : arguments) {
+            insn.getArguments().add(argument);
+        }
+        insn.setLocation(position.getLocation());
+        return insn;
+    }
+
+    private MethodReference createGetter(ClassHolder cls, int id, String regex, int flags,
+            ClassReaderSource classSource) {
+        FieldHolder field = new FieldHolder("$$pattern$$" + id);
+        field.setType(ValueType.object(PATTERN));
+        field.setLevel(AccessLevel.PRIVATE);
+        field.getModifiers().add(ElementModifier.STATIC);
+        cls.addField(field);
+
+        MethodHolder getter = new MethodHolder("$$pattern$$" + id, ValueType.object(PATTERN));
+        getter.setLevel(AccessLevel.PRIVATE);
+        getter.getModifiers().add(ElementModifier.STATIC);
+        cls.addMethod(getter);
+
+        ProgramEmitter pe = ProgramEmitter.create(getter, classSource);
+        pe.when(pe.getField(field.getReference(), field.getType()).isNull())
+                .thenDo(() -> pe.setField(field.getReference(), pe.invoke(COMPILE, pe.constant(regex),
+                        pe.constant(flags))));
+        pe.getField(field.getReference(), field.getType())
+                .returnValue();
+        return getter.getReference();
+    }
+}
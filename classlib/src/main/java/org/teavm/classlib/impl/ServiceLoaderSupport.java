@@ -79,10 +79,10 @@ public class ServiceLoaderSupport extends AbstractDependencyListener implements
         writer.append("return $rt_createArray($rt_objcls(), 0);").softNewLine();
         writer.outdent().append("}").softNewLine();
         writer.append("var result = $rt_createArray($rt_objcls(), cls.$$serviceList$$.length);").softNewLine();
-        writer.append("for (var i = 0; i < result.data.length; ++i) {").indent().softNewLine();
+        writer.append("for (var i = 0; i < result.length; ++i) {").indent().softNewLine();
         writer.append("var serviceDesc = cls.$$serviceList$$[i];").softNewLine();
-        writer.append("result.data[i] = new serviceDesc[0]();").softNewLine();
-        writer.append("serviceDesc[1](result.data[i]);").softNewLine();
+        writer.append("result[i] = new serviceDesc[0]();").softNewLine();
+        writer.append("serviceDesc[1](result[i]);").softNewLine();
         writer.outdent().append("}").softNewLine();
         writer.append("return result;").softNewLine();
     }
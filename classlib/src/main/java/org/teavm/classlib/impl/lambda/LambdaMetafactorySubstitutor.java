@@ -84,7 +84,7 @@ public class LambdaMetafactorySubstitutor implements BootstrapMethodSubstitutor
         }
 
         ValueEmitter result = invoke(pe, implMethod, passedArguments);
-        if (result != null) {
+        if (result != null && !instantiatedMethodType[instantiatedMethodType.length - 1].equals(ValueType.VOID)) {
             ValueType actualResult = implementorSignature[implementorSignature.length - 1];
             ValueType expectedResult = instantiatedMethodType[instantiatedMethodType.length - 1];
             tryConvertArgument(result, actualResult, expectedResult).returnValue();
@@ -144,7 +144,7 @@ public class LambdaMetafactorySubstitutor implements BootstrapMethodSubstitutor
                 return arg;
             }
             arg = tryConvertArgument(arg, from, ValueType.primitive(toType));
-            return arg.getProgramEmitter().invoke(primitiveClass, "valueOf", ValueType.primitive(toType), arg);
+            return arg.getProgramEmitter().invoke(primitiveClass, "valueOf", to, arg);
         } else if (from instanceof ValueType.Object && to instanceof ValueType.Primitive) {
             String primitiveClass = ((ValueType.Object) from).getClassName();
             PrimitiveType fromType = getWrappedPrimitive(primitiveClass);
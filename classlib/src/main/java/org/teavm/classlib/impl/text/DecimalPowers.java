@@ -0,0 +1,147 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.impl.text;
+
+/**
+ * <p>Approximations of powers of ten used to convert floating point numbers to and from decimal representation
+ * without 64-bit arithmetic. For each exponent <code>e</code> from {@link #MIN_EXPONENT} to {@link #MAX_EXPONENT}
+ * there is a 126-bit integer <code>g = floor(10<sup>e</sup> / 2<sup>r</sup>) + 1</code>,
+ * where <code>r = </code>{@link #binaryExponent(int) binaryExponent(e)}. For exponents from 0 to
+ * {@link #MAX_EXACT_EXPONENT} the power of ten is exactly <code>(g - 1) * 2<sup>r</sup></code>.
+ * <code>g</code> is stored as four 32-bit limbs, least significant first.</p>
+ *
+ * <p>The table is computed on first use, so it does not take any space in generated code.</p>
+ *
+ * @author Alexey Andreev
+ */
+final class DecimalPowers {
+    static final int MIN_EXPONENT = -343;
+    static final int MAX_EXPONENT = 324;
+    static final int MAX_EXACT_EXPONENT = 54;
+    static final int PRECISION = 126;
+    private static final int RECIPROCAL_BITS = 928;
+    private static int[] table;
+
+    private DecimalPowers() {
+    }
+
+    static int[] table() {
+        if (table == null) {
+            table = computeTable();
+        }
+        return table;
+    }
+
+    static int offset(int exponent) {
+        return (exponent - MIN_EXPONENT) * 4;
+    }
+
+    static int binaryExponent(int exponent) {
+        return floorLog2Pow10(exponent) - (PRECISION - 1);
+    }
+
+    static int floorLog2Pow10(int e) {
+        return (e * 1741647) >> 19;
+    }
+
+    static int floorLog10Pow2(int e) {
+        return (e * 78913) >> 18;
+    }
+
+    static int floorLog10ThreeQuartersPow2(int e) {
+        return (e * 157827 - 65500) >> 19;
+    }
+
+    private static int[] computeTable() {
+        int[] result = new int[offset(MAX_EXPONENT + 1)];
+
+        // 10^e = 5^e * 2^e, so g is formed by the leading bits of 5^e
+        int[] power = new int[(MAX_EXPONENT * 7 / 3) / 32 + 2];
+        power[0] = 1;
+        int length = 1;
+        for (int e = 0; e <= MAX_EXPONENT; ++e) {
+            if (e > 0) {
+                length = multiplyByFive(power, length);
+            }
+            storeLeadingBits(power, length, result, offset(e));
+        }
+
+        // 10^-e = 2^-e / 5^e, so g is formed by the leading bits of floor(2^N / 5^e) for a large enough N,
+        // which can be computed by dividing by five repeatedly
+        int[] reciprocal = new int[RECIPROCAL_BITS / 32 + 1];
+        reciprocal[reciprocal.length - 1] = 1 << (RECIPROCAL_BITS % 32);
+        length = reciprocal.length;
+        for (int e = 1; e <= -MIN_EXPONENT; ++e) {
+            length = divideByFive(reciprocal, length);
+            storeLeadingBits(reciprocal, length, result, offset(-e));
+        }
+
+        return result;
+    }
+
+    private static int multiplyByFive(int[] value, int length) {
+        int carry = 0;
+        for (int i = 0; i < length; ++i) {
+            int limb = value[i];
+            int low = (limb & 0xFFFF) * 5 + carry;
+            int high = (limb >>> 16) * 5 + (low >>> 16);
+            value[i] = (high << 16) | (low & 0xFFFF);
+            carry = high >>> 16;
+        }
+        if (carry != 0) {
+            value[length++] = carry;
+        }
+        return length;
+    }
+
+    private static int divideByFive(int[] value, int length) {
+        int remainder = 0;
+        for (int i = length - 1; i >= 0; --i) {
+            int limb = value[i];
+            int high = (remainder << 16) | (limb >>> 16);
+            int low = ((high % 5) << 16) | (limb & 0xFFFF);
+            value[i] = ((high / 5) << 16) | (low / 5);
+            remainder = low % 5;
+        }
+        while (value[length - 1] == 0) {
+            --length;
+        }
+        return length;
+    }
+
+    private static void storeLeadingBits(int[] value, int length, int[] target, int offset) {
+        int bitLength = length * 32 - Integer.numberOfLeadingZeros(value[length - 1]);
+        int position = bitLength - PRECISION;
+        for (int i = 0; i < 4; ++i) {
+            target[offset + i] = extractBits(value, length, position + i * 32);
+        }
+        for (int i = 0; i < 4; ++i) {
+            if (++target[offset + i] != 0) {
+                break;
+            }
+        }
+    }
+
+    private static int extractBits(int[] value, int length, int position) {
+        int index = position >> 5;
+        int shift = position & 31;
+        int result = index >= 0 && index < length ? value[index] >>> shift : 0;
+        if (shift != 0 && index + 1 >= 0 && index + 1 < length) {
+            result |= value[index + 1] << (32 - shift);
+        }
+        return result;
+    }
+}
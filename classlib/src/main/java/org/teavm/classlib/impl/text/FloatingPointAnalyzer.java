@@ -0,0 +1,314 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.impl.text;
+
+/**
+ * <p>Finds the shortest decimal that rounds to a given <code>double</code> or <code>float</code> value,
+ * as required by <code>Double.toString</code> and <code>Float.toString</code>. Among the shortest decimals
+ * (but no shorter than two digits) the closest one to the value is chosen, ties resolved to an even digit.</p>
+ *
+ * <p>The implementation follows Schubfach algorithm by Raffaello Giulietti. All computations are performed with
+ * 32-bit integers, since 64-bit arithmetic is emulated and therefore slow in JavaScript.</p>
+ *
+ * <p>After {@link #analyze(double)} is called, the value is <code>0.d<sub>1</sub>d<sub>2</sub>...d<sub>n</sub>
+ * * 10<sup>exponent</sup></code>, where <code>d<sub>i</sub></code> are stored in {@link #digits} and
+ * <code>n</code> is {@link #digitCount}. The last digit is never zero.</p>
+ *
+ * @author Alexey Andreev
+ */
+public final class FloatingPointAnalyzer {
+    private static final int DOUBLE_PRECISION = 53;
+    private static final int DOUBLE_MIN_EXPONENT = -1022;
+    private static final int DOUBLE_MIN_Q = -1074;
+    private static final int DOUBLE_TINY = 3;
+    private static final int FLOAT_PRECISION = 24;
+    private static final int FLOAT_MIN_EXPONENT = -126;
+    private static final int FLOAT_MIN_Q = -149;
+    private static final int FLOAT_TINY = 8;
+    private static final double TWO_POW_32 = 0x1p32;
+    private static final int TEN_POW_8 = 100000000;
+
+    public final char[] digits = new char[17];
+    public int digitCount;
+    public int exponent;
+
+    private int[] product = new int[6];
+    private int resultHigh;
+    private int resultLow;
+
+    /**
+     * Analyzes positive finite value.
+     */
+    public void analyze(double value) {
+        int exp = Math.getExponent(value);
+        if (exp >= DOUBLE_MIN_EXPONENT) {
+            double c = exp > 0 ? value * powerOfTwo(DOUBLE_PRECISION - 1 - exp)
+                    : value * 0x1p52 * powerOfTwo(-exp);
+            if (exp >= 0 && exp < DOUBLE_PRECISION - 1 && value == Math.floor(value)) {
+                // Integer that fits into mantissa, no need to search for shortest representation
+                splitHigh(value);
+                toDigits(resultHigh, resultLow, 0);
+                return;
+            }
+            splitHigh(c);
+            int q = exp - (DOUBLE_PRECISION - 1);
+            boolean lowerBoundary = resultHigh == 1 << (DOUBLE_PRECISION - 33) && resultLow == 0;
+            analyze(q, resultHigh, resultLow, lowerBoundary, DOUBLE_MIN_Q, 0);
+        } else {
+            double c = value * 0x1p1000 * powerOfTwo(-DOUBLE_MIN_Q - 1000);
+            splitHigh(c);
+            if (resultHigh == 0 && resultLow >= 0 && resultLow < DOUBLE_TINY) {
+                analyze(DOUBLE_MIN_Q, 0, resultLow * 10, false, DOUBLE_MIN_Q, -1);
+            } else {
+                analyze(DOUBLE_MIN_Q, resultHigh, resultLow, false, DOUBLE_MIN_Q, 0);
+            }
+        }
+    }
+
+    /**
+     * Analyzes positive finite value.
+     */
+    public void analyze(float value) {
+        // JavaScript keeps float values with double precision, so mantissa is rounded explicitly
+        int exp = Math.getExponent(value);
+        if (exp >= FLOAT_MIN_EXPONENT) {
+            int c = (int) Math.rint(value * powerOfTwo(FLOAT_PRECISION - 1 - exp));
+            if (c == 1 << FLOAT_PRECISION) {
+                c >>>= 1;
+                exp++;
+            }
+            if (exp >= 0 && exp < FLOAT_PRECISION - 1 && (c & ((1 << (FLOAT_PRECISION - 1 - exp)) - 1)) == 0) {
+                toDigits(0, c >>> (FLOAT_PRECISION - 1 - exp), 0);
+                return;
+            }
+            int q = exp - (FLOAT_PRECISION - 1);
+            analyze(q, 0, c, c == 1 << (FLOAT_PRECISION - 1), FLOAT_MIN_Q, 0);
+        } else {
+            int c = (int) Math.rint(value * powerOfTwo(-FLOAT_MIN_Q));
+            if (c < FLOAT_TINY) {
+                analyze(FLOAT_MIN_Q, 0, c * 10, false, FLOAT_MIN_Q, -1);
+            } else {
+                analyze(FLOAT_MIN_Q, 0, c, false, FLOAT_MIN_Q, 0);
+            }
+        }
+    }
+
+    private void analyze(int q, int cHigh, int cLow, boolean lowerBoundary, int minQ, int dk) {
+        int out = cLow & 1;
+        int cbHigh = (cHigh << 2) | (cLow >>> 30);
+        int cbLow = cLow << 2;
+        int k;
+        int lowerDelta;
+        if (!lowerBoundary || q == minQ) {
+            lowerDelta = 2;
+            k = DecimalPowers.floorLog10Pow2(q);
+        } else {
+            lowerDelta = 1;
+            k = DecimalPowers.floorLog10ThreeQuartersPow2(q);
+        }
+        int h = q + DecimalPowers.floorLog2Pow10(-k) + 2;
+        int[] table = DecimalPowers.table();
+        int offset = DecimalPowers.offset(-k);
+
+        multiplyRoundToOdd(table, offset, cbHigh, cbLow, h);
+        int vbHigh = resultHigh;
+        int vbLow = resultLow;
+        int cblLow = cbLow - lowerDelta;
+        multiplyRoundToOdd(table, offset, cblLow == -lowerDelta ? cbHigh - 1 : cbHigh, cblLow, h);
+        int vblHigh = resultHigh;
+        int vblLow = resultLow + out;
+        if (vblLow == 0 && out != 0) {
+            vblHigh++;
+        }
+        multiplyRoundToOdd(table, offset, cbHigh, cbLow + 2, h);
+        int vbrHigh = resultHigh;
+        int vbrLow = resultLow;
+
+        int sHigh = vbHigh >>> 2;
+        int sLow = (vbLow >>> 2) | (vbHigh << 30);
+        if (sHigh != 0 || unsignedLess(99, sLow)) {
+            int remainder = ((sHigh % 10) * 6 + (sLow >>> 1) % 5 * 2 + (sLow & 1)) % 10;
+            int sp10High = unsignedLess(sLow, remainder) ? sHigh - 1 : sHigh;
+            int sp10Low = sLow - remainder;
+            int tp10Low = sp10Low + 10;
+            int tp10High = unsignedLess(tp10Low, sp10Low) ? sp10High + 1 : sp10High;
+            boolean upin = lessOrEqual(vblHigh, vblLow, (sp10High << 2) | (sp10Low >>> 30), sp10Low << 2);
+            boolean wpin = lessOrEqual((tp10High << 2) | (tp10Low >>> 30), (tp10Low << 2) + out, vbrHigh, vbrLow);
+            if (upin != wpin) {
+                if (upin) {
+                    toDigits(sp10High, sp10Low, k);
+                } else {
+                    toDigits(tp10High, tp10Low, k);
+                }
+                return;
+            }
+        }
+
+        int tLow = sLow + 1;
+        int tHigh = tLow == 0 ? sHigh + 1 : sHigh;
+        boolean uin = lessOrEqual(vblHigh, vblLow, (sHigh << 2) | (sLow >>> 30), sLow << 2);
+        boolean win = lessOrEqual((tHigh << 2) | (tLow >>> 30), (tLow << 2) + out, vbrHigh, vbrLow);
+        if (uin != win) {
+            if (uin) {
+                toDigits(sHigh, sLow, k + dk);
+            } else {
+                toDigits(tHigh, tLow, k + dk);
+            }
+            return;
+        }
+
+        // Compare vb with the midpoint between s and t, i.e. with 4 * s + 2
+        int midHigh = (sHigh << 2) | (sLow >>> 30);
+        int midLow = (sLow << 2) | 2;
+        boolean chooseLower = vbHigh != midHigh ? vbHigh < midHigh : unsignedLess(vbLow, midLow)
+                || vbLow == midLow && (sLow & 1) == 0;
+        if (chooseLower) {
+            toDigits(sHigh, sLow, k + dk);
+        } else {
+            toDigits(tHigh, tLow, k + dk);
+        }
+    }
+
+    /**
+     * Computes <code>g * (cp &lt;&lt; h) / 2<sup>127</sup></code>, rounded to odd, where <code>g</code> is taken
+     * from table. The lower 64 bits of the product are ignored, which compensates the excess of <code>g</code>
+     * over the exact power of ten.
+     */
+    private void multiplyRoundToOdd(int[] g, int offset, int cpHigh, int cpLow, int h) {
+        cpHigh = (cpHigh << h) | (cpLow >>> (32 - h));
+        cpLow <<= h;
+
+        int[] p = product;
+        for (int i = 0; i < p.length; ++i) {
+            p[i] = 0;
+        }
+        for (int j = 0; j < 2; ++j) {
+            int b = j == 0 ? cpLow : cpHigh;
+            int bl = b & 0xFFFF;
+            int bh = b >>> 16;
+            int carry = 0;
+            for (int i = 0; i < 4; ++i) {
+                int a = g[offset + i];
+                int al = a & 0xFFFF;
+                int ah = a >>> 16;
+
+                // Compute 64-bit product of a and b as (high, low)
+                int ll = al * bl;
+                int lh = al * bh;
+                int hl = ah * bl;
+                int mid = (ll >>> 16) + (lh & 0xFFFF) + (hl & 0xFFFF);
+                int low = (mid << 16) | (ll & 0xFFFF);
+                int high = ah * bh + (lh >>> 16) + (hl >>> 16) + (mid >>> 16);
+
+                int sum = low + p[i + j];
+                if (unsignedLess(sum, low)) {
+                    high++;
+                }
+                low = sum + carry;
+                if (unsignedLess(low, sum)) {
+                    high++;
+                }
+                p[i + j] = low;
+                carry = high;
+            }
+            p[j + 4] = carry;
+        }
+
+        resultLow = (p[3] >>> 31) | (p[4] << 1);
+        resultHigh = (p[4] >>> 31) | (p[5] << 1);
+        if ((p[3] & 0x7FFFFFFF) != 0 || p[2] != 0) {
+            resultLow |= 1;
+        }
+    }
+
+    private void toDigits(int fHigh, int fLow, int e) {
+        // f < 10^17, so it can be split into 9 leading and 8 trailing digits
+        int leading = (int) ((fHigh * TWO_POW_32 + unsignedToDouble(fLow)) / TEN_POW_8);
+        int trailing = fLow - leading * TEN_POW_8;
+        if (trailing < 0) {
+            --leading;
+            trailing += TEN_POW_8;
+        } else if (trailing >= TEN_POW_8) {
+            ++leading;
+            trailing -= TEN_POW_8;
+        }
+
+        int count = 0;
+        if (leading != 0) {
+            count = writeDigits(leading, 0);
+            for (int i = count + 7; i >= count; --i) {
+                digits[i] = (char) ('0' + trailing % 10);
+                trailing /= 10;
+            }
+            count += 8;
+        } else {
+            count = writeDigits(trailing, 0);
+        }
+        exponent = e + count;
+        while (digits[count - 1] == '0') {
+            --count;
+        }
+        digitCount = count;
+    }
+
+    private int writeDigits(int value, int offset) {
+        int count = 1;
+        int limit = 10;
+        while (count < 10 && value >= limit) {
+            ++count;
+            limit *= 10;
+        }
+        for (int i = offset + count - 1; i >= offset; --i) {
+            digits[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return count;
+    }
+
+    private void splitHigh(double value) {
+        int high = (int) (value / TWO_POW_32);
+        resultHigh = high;
+        resultLow = (int) (value - high * TWO_POW_32 - 0x1p31) ^ 0x80000000;
+    }
+
+    private static double unsignedToDouble(int value) {
+        return value >= 0 ? value : value + TWO_POW_32;
+    }
+
+    private static boolean unsignedLess(int a, int b) {
+        return (a ^ 0x80000000) < (b ^ 0x80000000);
+    }
+
+    private static boolean lessOrEqual(int aHigh, int aLow, int bHigh, int bLow) {
+        return aHigh != bHigh ? aHigh < bHigh : !unsignedLess(bLow, aLow);
+    }
+
+    static double powerOfTwo(int n) {
+        double result = 1;
+        double d = n >= 0 ? 2 : 0.5;
+        if (n < 0) {
+            n = -n;
+        }
+        while (n != 0) {
+            if ((n & 1) != 0) {
+                result *= d;
+            }
+            n >>>= 1;
+            d *= d;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,534 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.impl.text;
+
+/**
+ * <p>Converts decimal strings to correctly rounded <code>double</code> and <code>float</code> values, as required
+ * by <code>Double.parseDouble</code> and <code>Float.parseFloat</code>.</p>
+ *
+ * <p>Short decimals with small exponents are converted with a single floating point operation. Other decimals
+ * are multiplied by a 126-bit approximation of a power of ten (Eisel-Lemire algorithm); only when the error
+ * of this approximation straddles a rounding boundary, the decimal is compared against the boundary exactly.
+ * All computations are performed with 32-bit integers, since 64-bit arithmetic is emulated and therefore slow
+ * in JavaScript.</p>
+ *
+ * @author Alexey Andreev
+ */
+public final class FloatingPointParser {
+    private static final int MAX_SIGNIFICANT_DIGITS = 19;
+    private static final int MAX_EXACT_DIGITS = 800;
+    private static final int MAX_EXPONENT = 100000;
+    private static final double[] EXACT_POWERS_OF_TEN = { 1E0, 1E1, 1E2, 1E3, 1E4, 1E5, 1E6, 1E7, 1E8, 1E9, 1E10,
+            1E11, 1E12, 1E13, 1E14, 1E15, 1E16, 1E17, 1E18, 1E19, 1E20, 1E21, 1E22 };
+    private static final Format DOUBLE = new Format(53, -1074, 309, -324);
+    private static final Format FLOAT = new Format(24, -149, 39, -46);
+    private static final FloatingPointParser INSTANCE = new FloatingPointParser();
+
+    private String string;
+    private int digitsStart;
+    private int digitsEnd;
+    private int significandHigh;
+    private int significandLow;
+    private int significandDigits;
+    private int exponent;
+    private boolean truncated;
+
+    private int[] product = new int[6];
+    private int[] bound = new int[6];
+    private int mantissaHigh;
+    private int mantissaLow;
+    private int mantissaExponent;
+
+    private FloatingPointParser() {
+    }
+
+    public static double parseDouble(String string) throws NumberFormatException {
+        return INSTANCE.parse(string, DOUBLE);
+    }
+
+    public static float parseFloat(String string) throws NumberFormatException {
+        return (float) INSTANCE.parse(string, FLOAT);
+    }
+
+    private double parse(String string, Format format) {
+        int start = 0;
+        int end = string.length();
+        while (start < end && string.charAt(start) <= ' ') {
+            ++start;
+        }
+        while (end > start && string.charAt(end - 1) <= ' ') {
+            --end;
+        }
+        if (start == end) {
+            throw new NumberFormatException();
+        }
+
+        boolean negative = false;
+        char c = string.charAt(start);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            ++start;
+        }
+        if (string.startsWith("Infinity", start) && start + 8 == end) {
+            return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        if (string.startsWith("NaN", start) && start + 3 == end) {
+            return Double.NaN;
+        }
+
+        this.string = string;
+        int index = parseSignificand(start, end);
+        index = parseExponent(index, end);
+        if (index < end) {
+            c = string.charAt(index++);
+            if (c != 'd' && c != 'D' && c != 'f' && c != 'F' || index < end) {
+                throw new NumberFormatException();
+            }
+        }
+
+        double result = significandHigh == 0 && significandLow == 0 ? 0 : convert(format);
+        this.string = null;
+        return negative ? -result : result;
+    }
+
+    private int parseSignificand(int index, int end) {
+        significandHigh = 0;
+        significandLow = 0;
+        significandDigits = 0;
+        exponent = 0;
+        truncated = false;
+        digitsStart = -1;
+        boolean hasDigits = false;
+        boolean fraction = false;
+        for (; index < end; ++index) {
+            char c = string.charAt(index);
+            if (c == '.') {
+                if (fraction) {
+                    break;
+                }
+                fraction = true;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                break;
+            }
+            hasDigits = true;
+            int digit = c - '0';
+            if (digitsStart < 0) {
+                if (digit == 0) {
+                    if (fraction) {
+                        --exponent;
+                    }
+                    continue;
+                }
+                digitsStart = index;
+            }
+            if (significandDigits < MAX_SIGNIFICANT_DIGITS) {
+                multiplyAdd(10, digit);
+                ++significandDigits;
+                if (fraction) {
+                    --exponent;
+                }
+            } else {
+                if (digit != 0) {
+                    truncated = true;
+                }
+                if (!fraction) {
+                    ++exponent;
+                }
+            }
+        }
+        if (!hasDigits) {
+            throw new NumberFormatException();
+        }
+        digitsEnd = index;
+        return index;
+    }
+
+    private int parseExponent(int index, int end) {
+        if (index == end) {
+            return index;
+        }
+        char c = string.charAt(index);
+        if (c != 'e' && c != 'E') {
+            return index;
+        }
+        if (++index == end) {
+            throw new NumberFormatException();
+        }
+        boolean negative = false;
+        c = string.charAt(index);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            if (++index == end) {
+                throw new NumberFormatException();
+            }
+        }
+        int value = 0;
+        int digitsStart = index;
+        for (; index < end; ++index) {
+            c = string.charAt(index);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            if (value < MAX_EXPONENT) {
+                value = value * 10 + (c - '0');
+            }
+        }
+        if (index == digitsStart) {
+            throw new NumberFormatException();
+        }
+        exponent += negative ? -value : value;
+        return index;
+    }
+
+    private void multiplyAdd(int factor, int addend) {
+        int low = (significandLow & 0xFFFF) * factor + addend;
+        int high = (significandLow >>> 16) * factor + (low >>> 16);
+        significandLow = (high << 16) | (low & 0xFFFF);
+        significandHigh = significandHigh * factor + (high >>> 16);
+    }
+
+    private double convert(Format format) {
+        if (!truncated && significandHigh >= 0 && significandHigh < 1 << (53 - 32)) {
+            double significand = significandHigh * 0x1p32 + unsignedToDouble(significandLow);
+            if (format == DOUBLE && exponent >= -22 && exponent <= 22) {
+                // Both significand and power of ten are exact, so the result of the operation is correctly rounded
+                return exponent >= 0 ? significand * EXACT_POWERS_OF_TEN[exponent]
+                        : significand / EXACT_POWERS_OF_TEN[-exponent];
+            }
+            if (exponent >= 0 && exponent <= 22 && significand <= 0x1p53 / EXACT_POWERS_OF_TEN[exponent]) {
+                // Product is exact
+                return significand * EXACT_POWERS_OF_TEN[exponent];
+            }
+        }
+
+        int decimalExponent = exponent + significandDigits;
+        if (decimalExponent > format.maxDecimalExponent) {
+            return Double.POSITIVE_INFINITY;
+        } else if (decimalExponent < format.minDecimalExponent) {
+            return 0;
+        }
+
+        int[] table = DecimalPowers.table();
+        int offset = DecimalPowers.offset(exponent);
+        int binaryExponent = DecimalPowers.binaryExponent(exponent);
+        multiply(table, offset);
+
+        // The value is between w * (g - 1) and w * g, or w * g + g, if some of digits were dropped
+        int[] lower = bound;
+        System.arraycopy(product, 0, lower, 0, lower.length);
+        subtract(lower, significandHigh, significandLow);
+        double result = round(lower, binaryExponent, format);
+        if (!truncated && exponent >= 0 && exponent <= DecimalPowers.MAX_EXACT_EXPONENT) {
+            return result;
+        }
+        int lowerMantissaHigh = mantissaHigh;
+        int lowerMantissaLow = mantissaLow;
+        int lowerMantissaExponent = mantissaExponent;
+
+        int[] upper = bound;
+        System.arraycopy(product, 0, upper, 0, upper.length);
+        if (truncated) {
+            add(upper, table, offset);
+        }
+        subtract(upper, 0, 1);
+        double upperResult = round(upper, binaryExponent, format);
+        if (upperResult == result) {
+            return result;
+        }
+
+        int comparison = compareWithMidpoint(lowerMantissaHigh, lowerMantissaLow, lowerMantissaExponent);
+        return comparison < 0 || comparison == 0 && (lowerMantissaLow & 1) == 0 ? result : upperResult;
+    }
+
+    private void multiply(int[] g, int offset) {
+        int[] p = product;
+        for (int i = 0; i < p.length; ++i) {
+            p[i] = 0;
+        }
+        for (int j = 0; j < 2; ++j) {
+            int b = j == 0 ? significandLow : significandHigh;
+            int bl = b & 0xFFFF;
+            int bh = b >>> 16;
+            int carry = 0;
+            for (int i = 0; i < 4; ++i) {
+                int a = g[offset + i];
+                int al = a & 0xFFFF;
+                int ah = a >>> 16;
+
+                int ll = al * bl;
+                int lh = al * bh;
+                int hl = ah * bl;
+                int mid = (ll >>> 16) + (lh & 0xFFFF) + (hl & 0xFFFF);
+                int low = (mid << 16) | (ll & 0xFFFF);
+                int high = ah * bh + (lh >>> 16) + (hl >>> 16) + (mid >>> 16);
+
+                int sum = low + p[i + j];
+                if (unsignedLess(sum, low)) {
+                    high++;
+                }
+                low = sum + carry;
+                if (unsignedLess(low, sum)) {
+                    high++;
+                }
+                p[i + j] = low;
+                carry = high;
+            }
+            p[j + 4] = carry;
+        }
+    }
+
+    private static void subtract(int[] value, int high, int low) {
+        int borrow = 0;
+        for (int i = 0; i < value.length; ++i) {
+            int subtrahend = i == 0 ? low : i == 1 ? high : 0;
+            int a = value[i];
+            int difference = a - subtrahend - borrow;
+            borrow = unsignedLess(a, subtrahend) || borrow != 0 && a == subtrahend ? 1 : 0;
+            value[i] = difference;
+        }
+    }
+
+    private static void add(int[] value, int[] addend, int offset) {
+        int carry = 0;
+        for (int i = 0; i < value.length; ++i) {
+            int b = i < 4 ? addend[offset + i] : 0;
+            int sum = value[i] + b + carry;
+            carry = unsignedLess(sum, value[i]) || carry != 0 && sum == value[i] ? 1 : 0;
+            value[i] = sum;
+        }
+    }
+
+    /**
+     * Rounds <code>value * 2<sup>binaryExponent</sup></code> to the nearest number of given format, ties to even.
+     * Stores mantissa and exponent of the result, so that result is
+     * <code>mantissa * 2<sup>mantissaExponent</sup></code>.
+     */
+    private double round(int[] value, int binaryExponent, Format format) {
+        int topLimb = value.length - 1;
+        while (value[topLimb] == 0) {
+            --topLimb;
+        }
+        int bitLength = topLimb * 32 + 32 - Integer.numberOfLeadingZeros(value[topLimb]);
+        int lsbExponent = Math.max(bitLength - format.precision + binaryExponent, format.minExponent);
+        int shift = lsbExponent - binaryExponent;
+
+        int high = extractBits(value, shift + 32);
+        int low = extractBits(value, shift);
+        int roundBit = extractBits(value, shift - 1) & 1;
+        boolean sticky = false;
+        int stickyLimb = (shift - 1) >> 5;
+        int stickyBits = (shift - 1) & 31;
+        if (stickyLimb >= 0 && stickyLimb < value.length && stickyBits != 0
+                && (value[stickyLimb] << (32 - stickyBits)) != 0) {
+            sticky = true;
+        }
+        for (int i = Math.min(stickyLimb, value.length) - 1; i >= 0 && !sticky; --i) {
+            sticky = value[i] != 0;
+        }
+        if (roundBit != 0 && (sticky || (low & 1) != 0)) {
+            if (++low == 0) {
+                ++high;
+            }
+            if ((format.precision > 32 ? high >>> (format.precision - 32) : high | (low >>> format.precision)) != 0) {
+                low = (low >>> 1) | (high << 31);
+                high >>>= 1;
+                ++lsbExponent;
+            }
+        }
+
+        mantissaHigh = high;
+        mantissaLow = low;
+        mantissaExponent = lsbExponent;
+        return (high * 0x1p32 + unsignedToDouble(low)) * FloatingPointAnalyzer.powerOfTwo(lsbExponent);
+    }
+
+    private static int extractBits(int[] value, int position) {
+        int index = position >> 5;
+        int shift = position & 31;
+        int result = index >= 0 && index < value.length ? value[index] >>> shift : 0;
+        if (shift != 0 && index + 1 >= 0 && index + 1 < value.length) {
+            result |= value[index + 1] << (32 - shift);
+        }
+        return result;
+    }
+
+    /**
+     * Compares the exact decimal value being parsed against <code>(2 * mantissa + 1) *
+     * 2<sup>mantissaExponent - 1</sup></code>, which is the midpoint between two adjacent candidates.
+     */
+    private int compareWithMidpoint(int high, int low, int lsbExponent) {
+        // Both sides are represented as big integers with 16-bit limbs
+        int digitCount = 0;
+        for (int i = digitsStart; i < digitsEnd && digitCount < MAX_EXACT_DIGITS; ++i) {
+            if (string.charAt(i) != '.') {
+                ++digitCount;
+            }
+        }
+        int decimalExponent = exponent + significandDigits - digitCount;
+        int capacity = (digitCount * 10 / 3 + Math.abs(decimalExponent) * 10 / 3 + Math.abs(lsbExponent) + 128) / 16;
+        BigNumber decimal = new BigNumber(capacity);
+        boolean remainingDigits = false;
+        int parsedDigits = 0;
+        int chunk = 0;
+        int chunkSize = 0;
+        for (int i = digitsStart; i < digitsEnd; ++i) {
+            char c = string.charAt(i);
+            if (c == '.') {
+                continue;
+            }
+            if (parsedDigits == MAX_EXACT_DIGITS) {
+                if (c != '0') {
+                    remainingDigits = true;
+                }
+                continue;
+            }
+            ++parsedDigits;
+            chunk = chunk * 10 + (c - '0');
+            if (++chunkSize == 4) {
+                decimal.multiplyAdd(10000, chunk);
+                chunk = 0;
+                chunkSize = 0;
+            }
+        }
+        int chunkFactor = 1;
+        for (int i = 0; i < chunkSize; ++i) {
+            chunkFactor *= 10;
+        }
+        decimal.multiplyAdd(chunkFactor, chunk);
+
+        BigNumber midpoint = new BigNumber(decimal.limbs.length);
+        midpoint.multiplyAdd(1, high >>> 16);
+        midpoint.multiplyAdd(0x10000, high & 0xFFFF);
+        midpoint.multiplyAdd(0x10000, low >>> 16);
+        midpoint.multiplyAdd(0x10000, low & 0xFFFF);
+        midpoint.multiplyAdd(2, 1);
+
+        int decimalShift = 0;
+        int midpointShift = lsbExponent - 1;
+        if (decimalExponent >= 0) {
+            decimal.multiplyByPowerOfFive(decimalExponent);
+            decimalShift += decimalExponent;
+        } else {
+            midpoint.multiplyByPowerOfFive(-decimalExponent);
+            midpointShift -= decimalExponent;
+        }
+        if (decimalShift > midpointShift) {
+            decimal.shiftLeft(decimalShift - midpointShift);
+        } else {
+            midpoint.shiftLeft(midpointShift - decimalShift);
+        }
+
+        int result = decimal.compareTo(midpoint);
+        if (result == 0 && remainingDigits) {
+            result = 1;
+        }
+        return result;
+    }
+
+    private static double unsignedToDouble(int value) {
+        return value >= 0 ? value : value + 0x1p32;
+    }
+
+    private static boolean unsignedLess(int a, int b) {
+        return (a ^ 0x80000000) < (b ^ 0x80000000);
+    }
+
+    static class Format {
+        final int precision;
+        final int minExponent;
+        final int maxDecimalExponent;
+        final int minDecimalExponent;
+
+        Format(int precision, int minExponent, int maxDecimalExponent, int minDecimalExponent) {
+            this.precision = precision;
+            this.minExponent = minExponent;
+            this.maxDecimalExponent = maxDecimalExponent;
+            this.minDecimalExponent = minDecimalExponent;
+        }
+    }
+
+    static class BigNumber {
+        int[] limbs;
+        int length;
+
+        BigNumber(int capacity) {
+            limbs = new int[capacity];
+        }
+
+        void multiplyAdd(int factor, int addend) {
+            int carry = addend;
+            for (int i = 0; i < length; ++i) {
+                int value = limbs[i] * factor + carry;
+                limbs[i] = value & 0xFFFF;
+                carry = value >>> 16;
+            }
+            while (carry != 0) {
+                limbs[length++] = carry & 0xFFFF;
+                carry >>>= 16;
+            }
+        }
+
+        void multiplyByPowerOfFive(int power) {
+            while (power >= 6) {
+                multiplyAdd(15625, 0);
+                power -= 6;
+            }
+            int factor = 1;
+            while (power-- > 0) {
+                factor *= 5;
+            }
+            multiplyAdd(factor, 0);
+        }
+
+        void shiftLeft(int bits) {
+            int limbShift = bits >> 4;
+            int bitShift = bits & 15;
+            if (length == 0) {
+                return;
+            }
+            int newLength = length + limbShift + 1;
+            for (int i = newLength - 1; i >= limbShift; --i) {
+                int source = i - limbShift;
+                int value = source < length ? limbs[source] << bitShift : 0;
+                if (source > 0 && bitShift != 0) {
+                    value |= limbs[source - 1] >>> (16 - bitShift);
+                }
+                limbs[i] = value & 0xFFFF;
+            }
+            for (int i = 0; i < limbShift; ++i) {
+                limbs[i] = 0;
+            }
+            length = newLength;
+            while (length > 0 && limbs[length - 1] == 0) {
+                --length;
+            }
+        }
+
+        int compareTo(BigNumber other) {
+            if (length != other.length) {
+                return length < other.length ? -1 : 1;
+            }
+            for (int i = length - 1; i >= 0; --i) {
+                if (limbs[i] != other.limbs[i]) {
+                    return limbs[i] < other.limbs[i] ? -1 : 1;
+                }
+            }
+            return 0;
+        }
+    }
+}
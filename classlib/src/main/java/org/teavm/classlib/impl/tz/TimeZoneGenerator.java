@@ -70,7 +70,11 @@ public class TimeZoneGenerator implements MetadataGenerator {
     @Override
     public ResourceMap<ResourceMap<TimeZoneResource>> generateMetadata(
             MetadataGeneratorContext context, MethodReference method) {
-        ResourceMap<ResourceMap<TimeZoneResource>> result = context.createResourceMap();
+        // Zones are grouped by area, so with lazy loading zones of an area are built when the area is first used
+        boolean lazy = Boolean.parseBoolean(context.getProperties().getProperty("java.util.TimeZone.lazy", "false"));
+        ResourceMap<ResourceMap<TimeZoneResource>> result = lazy
+                ? context.createLazyResourceMap()
+                : context.createResourceMap();
         ZoneInfoCompiler compiler = new ZoneInfoCompiler();
         Collection<StorableDateTimeZone> zones;
         try (InputStream input = context.getClassLoader().getResourceAsStream("org/teavm/classlib/impl/tz/cache")) {
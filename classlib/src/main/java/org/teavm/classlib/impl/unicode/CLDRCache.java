@@ -0,0 +1,283 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.impl.unicode;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * <p>Binary form of parsed CLDR data. It is produced when building classlib, so that compiling
+ * an application does not need to decompress and parse JSON files from {@code cldr-json.zip}.
+ * Each locale is stored as a separate length-prefixed block, which allows to skip locales
+ * that are not available in the application without decoding them.</p>
+ *
+ * @author Alexey Andreev
+ */
+public class CLDRCache {
+    static final String PATH = "org/teavm/classlib/impl/unicode/cldr-cache";
+    private static final int VERSION = 1;
+
+    public void write(OutputStream output, CLDRReader reader) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(output));
+        data.writeInt(VERSION);
+        writeIntMap(data, reader.minDaysMap);
+        writeIntMap(data, reader.firstDayMap);
+        writeStringMap(data, reader.likelySubtags);
+
+        data.writeInt(reader.knownLocales.size());
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        for (Map.Entry<String, CLDRLocale> entry : reader.knownLocales.entrySet()) {
+            buffer.reset();
+            DataOutputStream localeData = new DataOutputStream(buffer);
+            writeLocale(localeData, entry.getValue());
+            localeData.flush();
+            data.writeUTF(entry.getKey());
+            data.writeInt(buffer.size());
+            buffer.writeTo(data);
+        }
+        data.flush();
+    }
+
+    public void read(InputStream input, CLDRReader reader) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(input));
+        if (data.readInt() != VERSION) {
+            throw new IOException("Unsupported version of CLDR cache");
+        }
+        readIntMap(data, reader.minDaysMap);
+        readIntMap(data, reader.firstDayMap);
+        readStringMap(data, reader.likelySubtags);
+
+        int localeCount = data.readInt();
+        for (int i = 0; i < localeCount; ++i) {
+            String localeName = data.readUTF();
+            int size = data.readInt();
+            if (!reader.isLocaleUsed(localeName)) {
+                skip(data, size);
+                continue;
+            }
+            CLDRLocale locale = readLocale(data);
+            locale.languages.keySet().retainAll(reader.availableLanguages);
+            locale.territories.keySet().retainAll(reader.availableCountries);
+            reader.knownLocales.put(localeName, locale);
+        }
+    }
+
+    private static void skip(DataInputStream data, int size) throws IOException {
+        while (size > 0) {
+            int skipped = data.skipBytes(size);
+            if (skipped <= 0) {
+                throw new EOFException();
+            }
+            size -= skipped;
+        }
+    }
+
+    private static void writeLocale(DataOutputStream data, CLDRLocale locale) throws IOException {
+        writeStringMap(data, locale.languages);
+        writeStringMap(data, locale.territories);
+        data.writeInt(locale.currencies.size());
+        for (Map.Entry<String, CLDRCurrency> entry : locale.currencies.entrySet()) {
+            data.writeUTF(entry.getKey());
+            writeString(data, entry.getValue().name);
+            writeString(data, entry.getValue().symbol);
+        }
+        writeStrings(data, locale.eras);
+        writeStrings(data, locale.dayPeriods);
+        writeStrings(data, locale.months);
+        writeStrings(data, locale.shortMonths);
+        writeStrings(data, locale.weekdays);
+        writeStrings(data, locale.shortWeekdays);
+        writeDateFormats(data, locale.dateFormats);
+        writeDateFormats(data, locale.timeFormats);
+        writeDateFormats(data, locale.dateTimeFormats);
+
+        if (locale.timeZones == null) {
+            data.writeInt(-1);
+        } else {
+            data.writeInt(locale.timeZones.length);
+            for (CLDRTimeZone tz : locale.timeZones) {
+                data.writeUTF(tz.area);
+                data.writeUTF(tz.location);
+                data.writeUTF(tz.name);
+            }
+        }
+
+        CLDRDecimalData decimalData = locale.decimalData;
+        data.writeInt(decimalData.groupingSeparator);
+        data.writeInt(decimalData.decimalSeparator);
+        data.writeInt(decimalData.listSeparator);
+        data.writeInt(decimalData.perMille);
+        data.writeInt(decimalData.percent);
+        data.writeInt(decimalData.minusSign);
+        data.writeInt(decimalData.monetaryDecimalSeparator);
+        writeString(data, decimalData.nan);
+        writeString(data, decimalData.infinity);
+        writeString(data, decimalData.exponentSeparator);
+
+        writeString(data, locale.numberFormat);
+        writeString(data, locale.percentFormat);
+        writeString(data, locale.currencyFormat);
+    }
+
+    private static CLDRLocale readLocale(DataInputStream data) throws IOException {
+        CLDRLocale locale = new CLDRLocale();
+        readStringMap(data, locale.languages);
+        readStringMap(data, locale.territories);
+        int currencyCount = data.readInt();
+        for (int i = 0; i < currencyCount; ++i) {
+            String code = data.readUTF();
+            CLDRCurrency currency = new CLDRCurrency();
+            currency.name = readString(data);
+            currency.symbol = readString(data);
+            locale.currencies.put(code, currency);
+        }
+        locale.eras = readStrings(data);
+        locale.dayPeriods = readStrings(data);
+        locale.months = readStrings(data);
+        locale.shortMonths = readStrings(data);
+        locale.weekdays = readStrings(data);
+        locale.shortWeekdays = readStrings(data);
+        locale.dateFormats = readDateFormats(data);
+        locale.timeFormats = readDateFormats(data);
+        locale.dateTimeFormats = readDateFormats(data);
+
+        int timeZoneCount = data.readInt();
+        if (timeZoneCount >= 0) {
+            locale.timeZones = new CLDRTimeZone[timeZoneCount];
+            for (int i = 0; i < timeZoneCount; ++i) {
+                locale.timeZones[i] = new CLDRTimeZone(data.readUTF(), data.readUTF(), data.readUTF());
+            }
+        }
+
+        CLDRDecimalData decimalData = locale.decimalData;
+        decimalData.groupingSeparator = data.readInt();
+        decimalData.decimalSeparator = data.readInt();
+        decimalData.listSeparator = data.readInt();
+        decimalData.perMille = data.readInt();
+        decimalData.percent = data.readInt();
+        decimalData.minusSign = data.readInt();
+        decimalData.monetaryDecimalSeparator = data.readInt();
+        decimalData.nan = readString(data);
+        decimalData.infinity = readString(data);
+        decimalData.exponentSeparator = readString(data);
+
+        locale.numberFormat = readString(data);
+        locale.percentFormat = readString(data);
+        locale.currencyFormat = readString(data);
+        return locale;
+    }
+
+    private static void writeDateFormats(DataOutputStream data, CLDRDateFormats formats) throws IOException {
+        data.writeBoolean(formats != null);
+        if (formats != null) {
+            data.writeUTF(formats.getShortFormat());
+            data.writeUTF(formats.getMediumFormat());
+            data.writeUTF(formats.getLongFormat());
+            data.writeUTF(formats.getFullFormat());
+        }
+    }
+
+    private static CLDRDateFormats readDateFormats(DataInputStream data) throws IOException {
+        if (!data.readBoolean()) {
+            return null;
+        }
+        return new CLDRDateFormats(data.readUTF(), data.readUTF(), data.readUTF(), data.readUTF());
+    }
+
+    private static void writeStrings(DataOutputStream data, String[] strings) throws IOException {
+        if (strings == null) {
+            data.writeInt(-1);
+            return;
+        }
+        data.writeInt(strings.length);
+        for (String string : strings) {
+            data.writeUTF(string);
+        }
+    }
+
+    private static String[] readStrings(DataInputStream data) throws IOException {
+        int length = data.readInt();
+        if (length < 0) {
+            return null;
+        }
+        String[] strings = new String[length];
+        for (int i = 0; i < length; ++i) {
+            strings[i] = data.readUTF();
+        }
+        return strings;
+    }
+
+    private static void writeString(DataOutputStream data, String string) throws IOException {
+        data.writeBoolean(string != null);
+        if (string != null) {
+            data.writeUTF(string);
+        }
+    }
+
+    private static String readString(DataInputStream data) throws IOException {
+        return data.readBoolean() ? data.readUTF() : null;
+    }
+
+    private static void writeStringMap(DataOutputStream data, Map<String, String> map) throws IOException {
+        data.writeInt(map.size());
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            data.writeUTF(entry.getKey());
+            data.writeUTF(entry.getValue());
+        }
+    }
+
+    private static void readStringMap(DataInputStream data, Map<String, String> map) throws IOException {
+        int size = data.readInt();
+        for (int i = 0; i < size; ++i) {
+            map.put(data.readUTF(), data.readUTF());
+        }
+    }
+
+    private static void writeIntMap(DataOutputStream data, Map<String, Integer> map) throws IOException {
+        data.writeInt(map.size());
+        for (Map.Entry<String, Integer> entry : map.entrySet()) {
+            data.writeUTF(entry.getKey());
+            data.writeInt(entry.getValue());
+        }
+    }
+
+    private static void readIntMap(DataInputStream data, Map<String, Integer> map) throws IOException {
+        int size = data.readInt();
+        for (int i = 0; i < size; ++i) {
+            map.put(data.readUTF(), data.readInt());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        CLDRReader reader = new CLDRReader(CLDRCache.class.getClassLoader());
+        reader.getKnownLocales();
+        File file = new File(args[0]);
+        file.getParentFile().mkdirs();
+        try (OutputStream output = new FileOutputStream(file)) {
+            new CLDRCache().write(output, reader);
+        }
+    }
+}
@@ -21,6 +21,7 @@ import com.google.gson.JsonParser;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -32,6 +33,9 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
+import org.teavm.platform.metadata.MetadataGeneratorContext;
+import org.teavm.platform.metadata.Resource;
+import org.teavm.platform.metadata.ResourceMap;
 
 /**
  *
@@ -39,14 +43,15 @@ import java.util.zip.ZipInputStream;
  */
 public class CLDRReader {
     private static String[] weekdayKeys = { "sun", "mon", "tue", "wed", "thu", "fri", "sat" };
-    private Map<String, CLDRLocale> knownLocales = new LinkedHashMap<>();
-    private Map<String, Integer> minDaysMap = new LinkedHashMap<>();
-    private Map<String, Integer> firstDayMap = new LinkedHashMap<>();
-    private Map<String, String> likelySubtags = new LinkedHashMap<>();
-    private Set<String> availableLocales = new LinkedHashSet<>();
-    private Set<String> availableLanguages = new LinkedHashSet<>();
-    private Set<String> availableCountries = new LinkedHashSet<>();
+    Map<String, CLDRLocale> knownLocales = new LinkedHashMap<>();
+    Map<String, Integer> minDaysMap = new LinkedHashMap<>();
+    Map<String, Integer> firstDayMap = new LinkedHashMap<>();
+    Map<String, String> likelySubtags = new LinkedHashMap<>();
+    Set<String> availableLocales = new LinkedHashSet<>();
+    Set<String> availableLanguages = new LinkedHashSet<>();
+    Set<String> availableCountries = new LinkedHashSet<>();
     private boolean initialized;
+    private boolean allLocales;
     private Properties properties;
     private ClassLoader classLoader;
 
@@ -55,14 +60,38 @@ public class CLDRReader {
         this.classLoader = classLoader;
     }
 
+    /**
+     * Creates reader that keeps data of every locale found in CLDR, used to build {@link CLDRCache}.
+     */
+    CLDRReader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+        allLocales = true;
+    }
+
     private synchronized void ensureInitialized() {
         if (!initialized) {
             initialized = true;
+            if (allLocales) {
+                readCLDR(classLoader);
+                return;
+            }
             findAvailableLocales(properties);
-            readCLDR(classLoader);
+            try (InputStream input = classLoader.getResourceAsStream(CLDRCache.PATH)) {
+                if (input != null) {
+                    new CLDRCache().read(input, this);
+                } else {
+                    readCLDR(classLoader);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Error reading CLDR cache", e);
+            }
         }
     }
 
+    boolean isLocaleUsed(String localeName) {
+        return allLocales || localeName.equals("root") || availableLocales.contains(localeName);
+    }
+
     private void findAvailableLocales(Properties properties) {
         String availableLocalesString = properties.getProperty("java.util.Locale.available", "en_EN").trim();
         for (String locale : Arrays.asList(availableLocalesString.split(" *, *"))) {
@@ -104,7 +133,7 @@ public class CLDRReader {
                 if (localeName.startsWith("/")) {
                     localeName = localeName.substring(1);
                 }
-                if (!localeName.equals("root") && !availableLocales.contains(localeName)) {
+                if (!isLocaleUsed(localeName)) {
                     continue;
                 }
                 CLDRLocale localeInfo = knownLocales.get(localeName);
@@ -123,7 +152,8 @@ public class CLDRReader {
                         readTimeZones(localeName, localeInfo, input);
                         break;
                     case "ca-gregorian.json": {
-                        JsonObject root = (JsonObject) new JsonParser().parse(new InputStreamReader(input));
+                        JsonObject root = (JsonObject) new JsonParser().parse(new InputStreamReader(input,
+                                StandardCharsets.UTF_8));
                         readEras(localeName, localeInfo, root);
                         readAmPms(localeName, localeInfo, root);
                         readMonths(localeName, localeInfo, root);
@@ -149,31 +179,31 @@ public class CLDRReader {
     }
 
     private void readLanguages(String localeCode, CLDRLocale locale, InputStream input) {
-        JsonObject root = (JsonObject) new JsonParser().parse(new InputStreamReader(input));
+        JsonObject root = (JsonObject) new JsonParser().parse(new InputStreamReader(input, StandardCharsets.UTF_8));
         JsonObject languagesJson = root.get("main").getAsJsonObject().get(localeCode).getAsJsonObject()
                 .get("localeDisplayNames").getAsJsonObject().get("languages").getAsJsonObject();
         for (Map.Entry<String, JsonElement> property : languagesJson.entrySet()) {
             String language = property.getKey();
-            if (availableLanguages.contains(language)) {
+            if (allLocales || availableLanguages.contains(language)) {
                 locale.languages.put(language, property.getValue().getAsString());
             }
         }
     }
 
     private void readCountries(String localeCode, CLDRLocale locale, InputStream input) {
-        JsonObject root = (JsonObject) new JsonParser().parse(new InputStreamReader(input));
+        JsonObject root = (JsonObject) new JsonParser().parse(new InputStreamReader(input, StandardCharsets.UTF_8));
         JsonObject countriesJson = root.get("main").getAsJsonObject().get(localeCode).getAsJsonObject()
                 .get("localeDisplayNames").getAsJsonObject().get("territories").getAsJsonObject();
         for (Map.Entry<String, JsonElement> property : countriesJson.entrySet()) {
             String country = property.getKey();
-            if (availableCountries.contains(country)) {
+            if (allLocales || availableCountries.contains(country)) {
                 locale.territories.put(country, property.getValue().getAsString());
             }
         }
     }
 
     private void readTimeZones(String localeCode, CLDRLocale locale, InputStream input) {
-        JsonObject root = (JsonObject) new JsonParser().parse(new InputStreamReader(input));
+        JsonObject root = (JsonObject) new JsonParser().parse(new InputStreamReader(input, StandardCharsets.UTF_8));
         JsonObject zonesJson = root.get("main").getAsJsonObject().get(localeCode).getAsJsonObject()
                 .get("dates").getAsJsonObject().get("timeZoneNames").getAsJsonObject().get("zone")
                 .getAsJsonObject();
@@ -203,12 +233,15 @@ public class CLDRReader {
     }
 
     private void readCurrencies(String localeCode, CLDRLocale locale, InputStream input) {
-        JsonObject root = (JsonObject) new JsonParser().parse(new InputStreamReader(input));
+        JsonObject root = (JsonObject) new JsonParser().parse(new InputStreamReader(input, StandardCharsets.UTF_8));
         JsonObject currenciesJson = root.get("main").getAsJsonObject().get(localeCode).getAsJsonObject()
                 .get("numbers").getAsJsonObject().get("currencies").getAsJsonObject();
         for (Map.Entry<String, JsonElement> currencyEntry : currenciesJson.entrySet()) {
             String currencyCode = currencyEntry.getKey();
             JsonObject currencyJson = currencyEntry.getValue().getAsJsonObject();
+            if (!currencyJson.has("displayName")) {
+                continue;
+            }
             CLDRCurrency currency = new CLDRCurrency();
             currency.name = currencyJson.get("displayName").getAsString();
             if (currencyJson.has("symbol")) {
@@ -219,7 +252,7 @@ public class CLDRReader {
     }
 
     private void readNumbers(String localeCode, CLDRLocale locale, InputStream input) {
-        JsonObject root = (JsonObject) new JsonParser().parse(new InputStreamReader(input));
+        JsonObject root = (JsonObject) new JsonParser().parse(new InputStreamReader(input, StandardCharsets.UTF_8));
         JsonObject numbersJson = root.get("main").getAsJsonObject().get(localeCode).getAsJsonObject()
                 .get("numbers").getAsJsonObject();
         String numbering = numbersJson.get("defaultNumberingSystem").getAsString();
@@ -335,7 +368,7 @@ public class CLDRReader {
     }
 
     private void readWeekData(InputStream input) {
-        JsonObject root = (JsonObject) new JsonParser().parse(new InputStreamReader(input));
+        JsonObject root = (JsonObject) new JsonParser().parse(new InputStreamReader(input, StandardCharsets.UTF_8));
         JsonObject weekJson = root.get("supplemental").getAsJsonObject().get("weekData").getAsJsonObject();
         JsonObject minDaysJson = weekJson.get("minDays").getAsJsonObject();
         for (Map.Entry<String, JsonElement> property : minDaysJson.entrySet()) {
@@ -348,7 +381,7 @@ public class CLDRReader {
     }
 
     private void readLikelySubtags(InputStream input) {
-        JsonObject root = (JsonObject) new JsonParser().parse(new InputStreamReader(input));
+        JsonObject root = (JsonObject) new JsonParser().parse(new InputStreamReader(input, StandardCharsets.UTF_8));
         JsonObject likelySubtagsJson = root.get("supplemental").getAsJsonObject().get("likelySubtags")
                 .getAsJsonObject();
         for (Map.Entry<String, JsonElement> property : likelySubtagsJson.entrySet()) {
@@ -407,6 +440,15 @@ public class CLDRReader {
         return Collections.unmodifiableMap(firstDayMap);
     }
 
+    /**
+     * Creates map for per-locale data. When {@code java.util.Locale.lazy} property is set, data of each locale
+     * is only built at run time when the locale is first used.
+     */
+    public <T extends Resource> ResourceMap<T> createLocaleMap(MetadataGeneratorContext context) {
+        boolean lazy = Boolean.parseBoolean(properties.getProperty("java.util.Locale.lazy", "false"));
+        return lazy ? context.createLazyResourceMap() : context.createResourceMap();
+    }
+
     public Map<String, String> getLikelySubtags() {
         ensureInitialized();
         return Collections.unmodifiableMap(likelySubtags);
@@ -30,7 +30,7 @@ public class CurrencyLocalizationMetadataGenerator implements MetadataGenerator
     @Override
     public Resource generateMetadata(MetadataGeneratorContext context, MethodReference method) {
         CLDRReader reader = context.getService(CLDRReader.class);
-        ResourceMap<ResourceMap<CurrencyLocalization>> map = context.createResourceMap();
+        ResourceMap<ResourceMap<CurrencyLocalization>> map = reader.createLocaleMap(context);
         for (Map.Entry<String, CLDRLocale> localeEntry : reader.getKnownLocales().entrySet()) {
             CLDRLocale locale = localeEntry.getValue();
             ResourceMap<CurrencyLocalization> currencies = context.createResourceMap();
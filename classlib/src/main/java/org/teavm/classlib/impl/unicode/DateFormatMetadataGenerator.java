@@ -40,7 +40,7 @@ public class DateFormatMetadataGenerator implements MetadataGenerator {
 
     private Resource getDateFormatMap(MetadataGeneratorContext context, FormatExtractor extractor) {
         CLDRReader reader = context.getService(CLDRReader.class);
-        ResourceMap<DateFormatCollection> result = context.createResourceMap();
+        ResourceMap<DateFormatCollection> result = reader.createLocaleMap(context);
         for (Map.Entry<String, CLDRLocale> entry : reader.getKnownLocales().entrySet()) {
             DateFormatCollection formatRes = context.createResource(DateFormatCollection.class);
             CLDRDateFormats formats = extractor.extract(entry.getValue());
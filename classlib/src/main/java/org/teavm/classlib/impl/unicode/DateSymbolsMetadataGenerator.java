@@ -46,7 +46,7 @@ public class DateSymbolsMetadataGenerator implements MetadataGenerator {
 
     private Resource generateSymbols(MetadataGeneratorContext context, ResourceExtractor extractor) {
         CLDRReader reader = context.getService(CLDRReader.class);
-        ResourceMap<ResourceArray<StringResource>> result = context.createResourceMap();
+        ResourceMap<ResourceArray<StringResource>> result = reader.createLocaleMap(context);
         for (Map.Entry<String, CLDRLocale> localeEntry : reader.getKnownLocales().entrySet()) {
             ResourceArray<StringResource> symbolsRes = context.createResourceArray();
             result.put(localeEntry.getKey(), symbolsRes);
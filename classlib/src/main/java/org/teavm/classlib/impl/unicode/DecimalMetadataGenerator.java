@@ -30,7 +30,7 @@ public class DecimalMetadataGenerator implements MetadataGenerator {
     @Override
     public Resource generateMetadata(MetadataGeneratorContext context, MethodReference method) {
         CLDRReader reader = context.getService(CLDRReader.class);
-        ResourceMap<DecimalData> map = context.createResourceMap();
+        ResourceMap<DecimalData> map = reader.createLocaleMap(context);
         for (Map.Entry<String, CLDRLocale> entry : reader.getKnownLocales().entrySet()) {
             CLDRDecimalData data = entry.getValue().getDecimalData();
             DecimalData dataRes = context.createResource(DecimalData.class);
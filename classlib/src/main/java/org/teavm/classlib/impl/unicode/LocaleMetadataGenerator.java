@@ -26,8 +26,8 @@ import org.teavm.platform.metadata.*;
 public abstract class LocaleMetadataGenerator implements MetadataGenerator {
     @Override
     public Resource generateMetadata(MetadataGeneratorContext context, MethodReference method) {
-        ResourceMap<ResourceMap<StringResource>> result = context.createResourceMap();
         CLDRReader reader = context.getService(CLDRReader.class);
+        ResourceMap<ResourceMap<StringResource>> result = reader.createLocaleMap(context);
         for (Map.Entry<String, CLDRLocale> entry : reader.getKnownLocales().entrySet()) {
             CLDRLocale locale = entry.getValue();
             ResourceMap<StringResource> names = context.createResourceMap();
@@ -27,7 +27,7 @@ public class TimeZoneLocalizationGenerator implements MetadataGenerator {
     @Override
     public Resource generateMetadata(MetadataGeneratorContext context, MethodReference method) {
         CLDRReader cldr = context.getService(CLDRReader.class);
-        ResourceMap<TimeZoneLocalization> localizations = context.createResourceMap();
+        ResourceMap<TimeZoneLocalization> localizations = cldr.createLocaleMap(context);
         for (Map.Entry<String, CLDRLocale> locale : cldr.getKnownLocales().entrySet()) {
             TimeZoneLocalization localization = context.createResource(TimeZoneLocalization.class);
             ResourceMap<ResourceMap<StringResource>> map = context.createResourceMap();
@@ -16,7 +16,8 @@
 package org.teavm.classlib.impl.unicode;
 
 import java.util.Arrays;
-
+import java.util.HashMap;
+import java.util.Map;
 import org.teavm.classlib.impl.Base46;
 import org.teavm.classlib.impl.CharFlow;
 
@@ -25,6 +26,11 @@ import org.teavm.classlib.impl.CharFlow;
  * @author Alexey Andreev
  */
 public final class UnicodeHelper {
+    public static final int BLOCK_SHIFT = 7;
+    public static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    public static final int BLOCK_MASK = BLOCK_SIZE - 1;
+    private static final int BLOCK_COUNT = (Character.MAX_CODE_POINT + 1) >> BLOCK_SHIFT;
+
     private UnicodeHelper() {
     }
 
@@ -36,14 +42,21 @@ public final class UnicodeHelper {
         return digit <= '9' ? digit - '0' : digit - 'A' + 10;
     }
 
-    public static class Range {
-        public final int start;
-        public final int end;
-        public final byte[] data;
+    /**
+     * <p>Table that maps each code point to an integer in two steps. Code points are split into blocks
+     * of {@link #BLOCK_SIZE} elements, identical blocks are stored only once. To look up a value,
+     * take offset of the block from {@link #index} and add offset of the code point within the block:</p>
+     *
+     * <pre>{@code data[index[codePoint >> BLOCK_SHIFT] + (codePoint & BLOCK_MASK)]}</pre>
+     *
+     * <p>The table always covers the whole range of code points from 0 to {@link Character#MAX_CODE_POINT}.</p>
+     */
+    public static class TwoStageTable {
+        public final int[] index;
+        public final int[] data;
 
-        public Range(int start, int end, byte[] data) {
-            this.start = start;
-            this.end = end;
+        public TwoStageTable(int[] index, int[] data) {
+            this.index = index;
             this.data = data;
         }
     }
@@ -67,95 +80,68 @@ public final class UnicodeHelper {
         return data;
     }
 
-    public static char encodeByte(byte b) {
-        if (b < '\"' - ' ') {
-            return (char) (b + ' ');
-        } else if (b < '\\' - ' ' - 1) {
-            return (char) (b + ' ' + 1);
-        } else {
-            return (char) (b + ' ' + 2);
+    public static String encodeTwoStage(int[] values) {
+        Map<String, Integer> blockMap = new HashMap<>();
+        int[] index = new int[BLOCK_COUNT];
+        int[] data = new int[BLOCK_COUNT * BLOCK_SIZE];
+        int dataSize = 0;
+        for (int i = 0; i < BLOCK_COUNT; ++i) {
+            int[] block = new int[BLOCK_SIZE];
+            int start = i * BLOCK_SIZE;
+            if (start < values.length) {
+                System.arraycopy(values, start, block, 0, Math.min(BLOCK_SIZE, values.length - start));
+            }
+            String key = Arrays.toString(block);
+            Integer blockIndex = blockMap.get(key);
+            if (blockIndex == null) {
+                blockIndex = blockMap.size();
+                blockMap.put(key, blockIndex);
+                System.arraycopy(block, 0, data, dataSize, BLOCK_SIZE);
+                dataSize += BLOCK_SIZE;
+            }
+            index[i] = blockIndex;
         }
+
+        StringBuilder sb = new StringBuilder();
+        encodeRunLength(sb, index, BLOCK_COUNT);
+        Base46.encodeUnsigned(sb, dataSize);
+        encodeRunLength(sb, data, dataSize);
+        return sb.toString();
     }
 
-    public static byte decodeByte(char c) {
-        if (c > '\\') {
-            return (byte) (c - ' ' - 2);
-        } else if (c > '"') {
-            return (byte) (c - ' ' - 1);
-        } else {
-            return (byte) (c - ' ');
+    private static void encodeRunLength(StringBuilder sb, int[] values, int length) {
+        for (int i = 0; i < length;) {
+            int value = values[i];
+            int count = 1;
+            while (i + count < length && values[i + count] == value) {
+                ++count;
+            }
+            Base46.encode(sb, value);
+            Base46.encodeUnsigned(sb, count - 1);
+            i += count;
         }
     }
 
-    public static String compressRle(byte[] bytes) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < bytes.length;) {
-            byte b = bytes[i];
-            if (i < bytes.length - 1 && b == bytes[i + 1]) {
-                int count = 0;
-                while (count < 16384 && i < bytes.length && bytes[i + count] == b) {
-                    ++count;
-                }
-                i += count;
-                if (count < 80) {
-                    sb.append(UnicodeHelper.encodeByte((byte) (b + 32)));
-                    sb.append(UnicodeHelper.encodeByte((byte) count));
-                } else {
-                    sb.append(UnicodeHelper.encodeByte((byte) 64));
-                    sb.append(UnicodeHelper.encodeByte(b));
-                    for (int j = 0; j < 3; ++j) {
-                        sb.append(UnicodeHelper.encodeByte((byte) (count & 0x3F)));
-                        count /= 0x40;
-                    }
-                }
-            } else {
-                sb.append(UnicodeHelper.encodeByte(bytes[i++]));
-            }
+    public static TwoStageTable decodeTwoStage(String text) {
+        CharFlow flow = new CharFlow(text.toCharArray());
+        int[] index = new int[BLOCK_COUNT];
+        decodeRunLength(flow, index);
+        for (int i = 0; i < BLOCK_COUNT; ++i) {
+            index[i] <<= BLOCK_SHIFT;
         }
-        return sb.toString();
+        int[] data = new int[Base46.decodeUnsigned(flow)];
+        decodeRunLength(flow, data);
+        return new TwoStageTable(index, data);
     }
 
-    public static Range[] extractRle(String encoded) {
-        Range[] ranges = new Range[16384];
-        byte[] buffer = new byte[16384];
-        int index = 0;
-        int rangeIndex = 0;
-        int codePoint = 0;
-        for (int i = 0; i < encoded.length(); ++i) {
-            byte b = decodeByte(encoded.charAt(i));
-            int count;
-            if (b == 64) {
-                b = decodeByte(encoded.charAt(++i));
-                count = 0;
-                int pos = 1;
-                for (int j = 0; j < 3; ++j) {
-                    byte digit = decodeByte(encoded.charAt(++i));
-                    count |= pos * digit;
-                    pos *= 0x40;
-                }
-            } else if (b >= 32) {
-                b -= 32;
-                count = decodeByte(encoded.charAt(++i));
-            } else {
-                count = 1;
-            }
-            if (b != 0 || count < 128) {
-                if (index + count >= buffer.length) {
-                    ranges[rangeIndex++] = new Range(codePoint, codePoint + index, Arrays.copyOf(buffer, index));
-                    codePoint += index + count;
-                    index = 0;
-                }
-                while (count-- > 0) {
-                    buffer[index++] = b;
-                }
-            } else {
-                if (index > 0) {
-                    ranges[rangeIndex++] = new Range(codePoint, codePoint + index, Arrays.copyOf(buffer, index));
-                }
-                codePoint += index + count;
-                index = 0;
+    private static void decodeRunLength(CharFlow flow, int[] target) {
+        int i = 0;
+        while (i < target.length) {
+            int value = Base46.decode(flow);
+            int count = Base46.decodeUnsigned(flow) + 1;
+            while (count-- > 0) {
+                target[i++] = value;
             }
         }
-        return Arrays.copyOf(ranges, rangeIndex);
     }
-}
\ No newline at end of file
+}
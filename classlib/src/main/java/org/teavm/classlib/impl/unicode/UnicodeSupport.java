@@ -35,6 +35,8 @@ public final class UnicodeSupport {
     private static volatile CountDownLatch latch = new CountDownLatch(1);
     private static int[] digitValues;
     private static byte[] classes;
+    private static int[] upperCaseMapping;
+    private static int[] lowerCaseMapping;
     private static Map<String, Byte> classMap = new HashMap<>();
 
     static {
@@ -76,6 +78,8 @@ public final class UnicodeSupport {
     private static void parseUnicodeData() {
         IntegerArray digitValues = new IntegerArray(4096);
         IntegerArray classes = new IntegerArray(65536);
+        IntegerArray upperCaseMapping = new IntegerArray(4096);
+        IntegerArray lowerCaseMapping = new IntegerArray(4096);
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(UnicodeHelper.class
                 .getResourceAsStream("UnicodeData.txt")))) {
             while (true) {
@@ -96,6 +100,14 @@ public final class UnicodeSupport {
                     digitValues.add(charCode);
                     digitValues.add(digit);
                 }
+                if (!fields[12].isEmpty()) {
+                    upperCaseMapping.add(charCode);
+                    upperCaseMapping.add(parseHex(fields[12]));
+                }
+                if (!fields[13].isEmpty()) {
+                    lowerCaseMapping.add(charCode);
+                    lowerCaseMapping.add(parseHex(fields[13]));
+                }
                 Byte charClass = classMap.get(fields[2]);
                 classes.add(charClass != null ? charClass.intValue() : 0);
             }
@@ -120,6 +132,8 @@ public final class UnicodeSupport {
             letterDigitValues.add(i - '\uFF41' + 10);
         }
         UnicodeSupport.digitValues = mergePairs(digitValues.getAll(), letterDigitValues.getAll());
+        UnicodeSupport.upperCaseMapping = upperCaseMapping.getAll();
+        UnicodeSupport.lowerCaseMapping = lowerCaseMapping.getAll();
         UnicodeSupport.classes = new byte[classes.size()];
         for (int i = 0; i < classes.size(); ++i) {
             UnicodeSupport.classes[i] = (byte) classes.get(i);
@@ -204,4 +218,21 @@ public final class UnicodeSupport {
         ensureUnicodeData();
         return classes;
     }
+
+    /**
+     * Returns simple upper case mapping as pairs of code points: the source code point followed by
+     * the corresponding upper case code point. Code points that are not listed map to themselves.
+     */
+    public static int[] getUpperCaseMapping() {
+        ensureUnicodeData();
+        return upperCaseMapping;
+    }
+
+    /**
+     * Returns simple lower case mapping in the same form as {@link #getUpperCaseMapping()}.
+     */
+    public static int[] getLowerCaseMapping() {
+        ensureUnicodeData();
+        return lowerCaseMapping;
+    }
 }
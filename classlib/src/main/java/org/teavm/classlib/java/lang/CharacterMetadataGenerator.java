@@ -35,6 +35,10 @@ public class CharacterMetadataGenerator implements MetadataGenerator {
                 return generateObtainDigitMapping(context);
             case "obtainClasses":
                 return generateObtainClasses(context);
+            case "obtainUpperCaseMapping":
+                return generateCaseMapping(context, UnicodeSupport.getUpperCaseMapping());
+            case "obtainLowerCaseMapping":
+                return generateCaseMapping(context, UnicodeSupport.getLowerCaseMapping());
             default:
                 return null;
         }
@@ -48,7 +52,26 @@ public class CharacterMetadataGenerator implements MetadataGenerator {
 
     private Resource generateObtainClasses(MetadataGeneratorContext context) {
         StringResource res = context.createResource(StringResource.class);
-        res.setValue(UnicodeHelper.compressRle(UnicodeSupport.getClasses()));
+        byte[] classes = UnicodeSupport.getClasses();
+        int[] values = new int[classes.length];
+        for (int i = 0; i < classes.length; ++i) {
+            values[i] = classes[i];
+        }
+        res.setValue(UnicodeHelper.encodeTwoStage(values));
+        return res;
+    }
+
+    private Resource generateCaseMapping(MetadataGeneratorContext context, int[] pairs) {
+        int size = 0;
+        for (int i = 0; i < pairs.length; i += 2) {
+            size = Math.max(size, pairs[i] + 1);
+        }
+        int[] deltas = new int[size];
+        for (int i = 0; i < pairs.length; i += 2) {
+            deltas[pairs[i]] = pairs[i + 1] - pairs[i];
+        }
+        StringResource res = context.createResource(StringResource.class);
+        res.setValue(UnicodeHelper.encodeTwoStage(deltas));
         return res;
     }
 }
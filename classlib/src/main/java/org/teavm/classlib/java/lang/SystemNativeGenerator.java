@@ -29,6 +29,8 @@ import org.teavm.model.MethodReference;
  * @author Alexey Andreev
  */
 public class SystemNativeGenerator implements Generator, DependencyPlugin {
+    private static final int BULK_COPY_THRESHOLD = 16;
+
     @Override
     public void generate(GeneratorContext context, SourceWriter writer, MethodReference methodRef) throws IOException {
         switch (methodRef.getName()) {
@@ -72,15 +74,31 @@ public class SystemNativeGenerator implements Generator, DependencyPlugin {
         String dest = context.getParameterName(3);
         String destPos = context.getParameterName(4);
         String length = context.getParameterName(5);
+
+        // Type checks are done by the caller, so both arrays have the same representation here.
+        // Short copies stay scalar, since creating a typed array view costs more than a few element moves.
+        writer.append("if (" + length + " >= " + BULK_COPY_THRESHOLD + " && $rt_bulkArrayCopy) {").indent()
+                .softNewLine();
+        writer.append("if (" + src + " === " + dest + ") {").indent().softNewLine();
+        writer.append(dest + ".copyWithin(" + destPos + ", " + srcPos + ", " + srcPos + " + " + length
+                + ");").softNewLine();
+        writer.append("return;").softNewLine();
+        writer.outdent().append("}").softNewLine();
+        writer.append("if (" + src + ".buffer !== undefined) {").indent().softNewLine();
+        writer.append(dest + ".set(" + src + ".subarray(" + srcPos + ", " + srcPos + " + " + length
+                + "), " + destPos + ");").softNewLine();
+        writer.append("return;").softNewLine();
+        writer.outdent().append("}").softNewLine();
+        writer.outdent().append("}").softNewLine();
         writer.append("if (" + src + " !== " +  dest + " || " + destPos + " < " + srcPos + ") {").indent().newLine();
         writer.append("for (var i = 0; i < " + length + "; i = (i + 1) | 0) {").indent().softNewLine();
-        writer.append(dest + ".data[" + destPos + "++] = " + src + ".data[" + srcPos + "++];").softNewLine();
+        writer.append(dest + "[" + destPos + "++] = " + src + "[" + srcPos + "++];").softNewLine();
         writer.outdent().append("}").softNewLine();
         writer.outdent().append("} else {").indent().softNewLine();
         writer.append(srcPos + " = (" + srcPos + " + " + length + ") | 0;").softNewLine();
         writer.append(destPos + " = (" + destPos + " + " + length + ") | 0;").softNewLine();
         writer.append("for (var i = 0; i < " + length + "; i = (i + 1) | 0) {").indent().softNewLine();
-        writer.append(dest + ".data[--" + destPos + "] = " + src + ".data[--" + srcPos + "];").softNewLine();
+        writer.append(dest + "[--" + destPos + "] = " + src + "[--" + srcPos + "];").softNewLine();
         writer.outdent().append("}").softNewLine();
         writer.outdent().append("}").softNewLine();
     }
@@ -15,6 +15,7 @@
  */
 package org.teavm.classlib.java.lang;
 
+import org.teavm.classlib.impl.text.FloatingPointAnalyzer;
 import org.teavm.classlib.java.io.TSerializable;
 import org.teavm.classlib.java.util.TArrays;
 
@@ -23,25 +24,7 @@ import org.teavm.classlib.java.util.TArrays;
  * @author Alexey Andreev
  */
 class TAbstractStringBuilder extends TObject implements TSerializable, TCharSequence {
-    private static final float[] powersOfTen = { 1E1f, 1E2f, 1E4f, 1E8f, 1E16f, 1E32f };
-    private static final double[] doublePowersOfTen = { 1E1, 1E2, 1E4, 1E8, 1E16, 1E32, 1E64, 1E128, 1E256 };
-    private static final float[] negPowersOfTen = { 1E-1f, 1E-2f, 1E-4f, 1E-8f, 1E-16f, 1E-32f };
-    private static final double[] negDoublePowersOfTen = { 1E-1, 1E-2, 1E-4, 1E-8, 1E-16, 1E-32,
-            1E-64, 1E-128, 1E-256 };
-    private static final int[] intPowersOfTen = { 1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000,
-            1000000000 };
-    private static final long[] longPowersOfTen = { 1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000,
-            1000000000, 10000000000L, 100000000000L, 1000000000000L, 10000000000000L, 100000000000000L,
-            1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L };
-    private static final long[] longLogPowersOfTen = { 1, 10, 100, 10000, 100000000, 10000000000000000L, };
-    private static final int FLOAT_DECIMAL_PRECISION = 7;
-    private static final int DOUBLE_DECIMAL_PRECISION = 16;
-    private static final float FLOAT_DECIMAL_FACTOR = 1E6f;
-    private static final double DOUBLE_DECIMAL_FACTOR = 1E15;
-    private static final int FLOAT_MAX_EXPONENT = 38;
-    private static final int DOUBLE_MAX_EXPONENT = 308;
-    private static final int FLOAT_MAX_POS = 1000000;
-    private static final long DOUBLE_MAX_POS = 1000000000000000L;
+    private static final FloatingPointAnalyzer floatingPointAnalyzer = new FloatingPointAnalyzer();
     char[] buffer;
     private int length;
 
@@ -193,153 +176,12 @@ class TAbstractStringBuilder extends TObject implements TSerializable, TCharSequ
     }
 
     protected TAbstractStringBuilder insert(int target, float value) {
-        if (value == 0) {
-            insertSpace(target, target + 3);
-            buffer[target++] = '0';
-            buffer[target++] = '.';
-            buffer[target++] = '0';
-            return this;
-        } else if (value == -0) {
-            insertSpace(target, target + 4);
-            buffer[target++] = '-';
-            buffer[target++] = '0';
-            buffer[target++] = '.';
-            buffer[target++] = '0';
-            return this;
-        } else if (TFloat.isNaN(value)) {
-            insertSpace(target, target + 3);
-            buffer[target++] = 'N';
-            buffer[target++] = 'a';
-            buffer[target++] = 'N';
-            return this;
-        } else if (TFloat.isInfinite(value)) {
-            if (value > 0) {
-                insertSpace(target, target + 8);
-            } else {
-                insertSpace(target, target + 9);
-                buffer[target++] = '-';
-            }
-            buffer[target++] = 'I';
-            buffer[target++] = 'n';
-            buffer[target++] = 'f';
-            buffer[target++] = 'i';
-            buffer[target++] = 'n';
-            buffer[target++] = 'i';
-            buffer[target++] = 't';
-            buffer[target++] = 'y';
-            return this;
-        }
-        // Get absolute value
-        boolean negative = false;
-        int sz = 1; // Decimal point always included
-        if (value < 0) {
-            negative = true;
-            value = -value;
-            ++sz; // including '-' sign of mantissa
-        }
-
-        // Split into decimal mantissa and decimal exponent
-        int exp = 0;
-        int mantissa = 0;
-        int intPart = 1;
-        int digits = 0;
-        if (value >= 1) {
-            int bit = 32;
-            exp = 0;
-            float digit = 1;
-            for (int i = powersOfTen.length - 1; i >= 0; --i) {
-                if ((exp | bit) <= FLOAT_MAX_EXPONENT && powersOfTen[i] * digit <= value) {
-                    digit *= powersOfTen[i];
-                    exp |= bit;
-                }
-                bit >>= 1;
-            }
-            mantissa = (int) ((value / (digit / FLOAT_DECIMAL_FACTOR)) + 0.5f);
-        } else {
-            int bit = 32;
-            exp = 0;
-            float digit = 1;
-            for (int i = negPowersOfTen.length - 1; i >= 0; --i) {
-                if ((exp | bit) <= 38 && negPowersOfTen[i] * digit * 10 > value) {
-                    digit *= negPowersOfTen[i];
-                    exp |= bit;
-                }
-                bit >>= 1;
-            }
-            exp = -exp;
-            mantissa = (int) (((value * FLOAT_MAX_POS) / digit) + 0.5f);
-        }
-
-        // Remove trailing zeros
-        digits = FLOAT_DECIMAL_PRECISION;
-        int zeros = trailingDecimalZeros(mantissa);
-        if (zeros > 0) {
-            digits -= zeros;
-        }
-
-        // Handle special case of exponent close to 0
-        if (exp < 7 && exp >= -3) {
-            if (exp >= 0) {
-                intPart = exp + 1;
-                digits = Math.max(digits, intPart + 1);
-                exp = 0;
-            } else if (exp < 0) {
-                mantissa /= intPowersOfTen[-exp];
-                digits -= exp;
-                exp = 0;
-            }
+        if (value == 0 || TFloat.isNaN(value) || TFloat.isInfinite(value)) {
+            return insert(target, (double) value);
         }
-
-        // Extend buffer to store exponent
-        if (exp != 0) {
-            sz += 2;
-            if (exp <= -10 || exp >= 10) {
-                ++sz;
-            }
-            if (exp < 0) {
-                ++sz;
-            }
-        }
-
-        if (exp != 0 && digits == intPart) {
-            digits++;
-        }
-        sz += digits;
-
-        // Print mantissa
-        insertSpace(target, target + sz);
-        if (negative) {
-            buffer[target++] = '-';
-        }
-        int pos = FLOAT_MAX_POS;
-        for (int i = 0; i < digits; ++i) {
-            int intDigit;
-            if (pos > 0) {
-                intDigit = mantissa / pos;
-                mantissa %= pos;
-            } else {
-                intDigit = 0;
-            }
-            buffer[target++] = (char) ('0' + intDigit);
-            if (--intPart == 0) {
-                buffer[target++] = '.';
-            }
-            pos /= 10;
-        }
-
-        // Print exponent
-        if (exp != 0) {
-            buffer[target++] = 'E';
-            if (exp < 0) {
-                exp = -exp;
-                buffer[target++] = '-';
-            }
-            if (exp >= 10) {
-                buffer[target++] = (char) ('0' + exp / 10);
-            }
-            buffer[target++] = (char) ('0' + exp % 10);
-        }
-        return this;
+        boolean negative = value < 0;
+        floatingPointAnalyzer.analyze(negative ? -value : value);
+        return insertDecimal(target, negative);
     }
 
     protected TAbstractStringBuilder append(double value) {
@@ -347,13 +189,13 @@ class TAbstractStringBuilder extends TObject implements TSerializable, TCharSequ
     }
 
     protected TAbstractStringBuilder insert(int target, double value) {
-        if (value == 0) {
+        if (value == 0 && 1 / value > 0) {
             insertSpace(target, target + 3);
             buffer[target++] = '0';
             buffer[target++] = '.';
             buffer[target++] = '0';
             return this;
-        } else if (value == -0) {
+        } else if (value == 0) {
             insertSpace(target, target + 4);
             buffer[target++] = '-';
             buffer[target++] = '0';
@@ -383,109 +225,74 @@ class TAbstractStringBuilder extends TObject implements TSerializable, TCharSequ
             buffer[target++] = 'y';
             return this;
         }
-        // Get absolute value
-        boolean negative = false;
-        int sz = 1; // Decimal point always included
-        if (value < 0) {
-            negative = true;
-            value = -value;
-            ++sz; // including '-' sign of mantissa
-        }
-
-        // Split into decimal mantissa and decimal exponent
-        int exp = 0;
-        long mantissa = 0;
-        int intPart = 1;
-        int digits = 0;
-        if (value >= 1) {
-            int bit = 256;
-            exp = 0;
-            double digit = 1;
-            for (int i = doublePowersOfTen.length - 1; i >= 0; --i) {
-                if ((exp | bit) <= DOUBLE_MAX_EXPONENT && doublePowersOfTen[i] * digit <= value) {
-                    digit *= doublePowersOfTen[i];
-                    exp |= bit;
-                }
-                bit >>= 1;
-            }
-            mantissa = (long) (((value / digit) * DOUBLE_DECIMAL_FACTOR) + 0.5);
+        boolean negative = value < 0;
+        floatingPointAnalyzer.analyze(negative ? -value : value);
+        return insertDecimal(target, negative);
+    }
+
+    private TAbstractStringBuilder insertDecimal(int target, boolean negative) {
+        char[] digits = floatingPointAnalyzer.digits;
+        int digitCount = floatingPointAnalyzer.digitCount;
+        int exponent = floatingPointAnalyzer.exponent;
+
+        // Numbers in range [10^-3, 10^7) are written without exponent, the others as d.ddd followed by exponent
+        boolean scientific = exponent <= -3 || exponent > 7;
+        int intPart = scientific ? 1 : exponent;
+        int printedExponent = exponent - 1;
+
+        int sz = negative ? 1 : 0;
+        if (intPart <= 0) {
+            sz += 2 - intPart + digitCount;
+        } else if (digitCount <= intPart) {
+            sz += intPart + 2;
         } else {
-            int bit = 256;
-            exp = 0;
-            double digit = 1;
-            for (int i = negDoublePowersOfTen.length - 1; i >= 0; --i) {
-                if ((exp | bit) <= DOUBLE_MAX_EXPONENT && negDoublePowersOfTen[i] * digit * 10 > value) {
-                    digit *= negDoublePowersOfTen[i];
-                    exp |= bit;
-                }
-                bit >>= 1;
-            }
-            exp = -exp;
-            mantissa = (long) (((value * DOUBLE_MAX_POS) / digit) + 0.5);
-        }
-
-        // Remove trailing zeros
-        digits = DOUBLE_DECIMAL_PRECISION;
-        int zeros = trailingDecimalZeros(mantissa);
-        if (zeros > 0) {
-            digits -= zeros;
-        }
-
-        // Handle special case of exponent close to 0
-        if (exp < 7 && exp >= -3) {
-            if (exp >= 0) {
-                intPart = exp + 1;
-                digits = Math.max(digits, intPart + 1);
-                exp = 0;
-            } else if (exp < 0) {
-                mantissa /= longPowersOfTen[-exp];
-                digits -= exp;
-                exp = 0;
-            }
+            sz += digitCount + 1;
         }
-
-        // Extend buffer to store exponent
-        if (exp != 0) {
+        if (scientific) {
             sz += 2;
-            if (exp <= -10 || exp >= 10) {
+            if (printedExponent < 0) {
                 ++sz;
             }
-            if (exp <= -100 || exp >= 100) {
+            if (printedExponent <= -10 || printedExponent >= 10) {
                 ++sz;
             }
-            if (exp < 0) {
+            if (printedExponent <= -100 || printedExponent >= 100) {
                 ++sz;
             }
         }
 
-        if (exp != 0 && digits == intPart) {
-            digits++;
-        }
-        sz += digits;
-
         // Print mantissa
         insertSpace(target, target + sz);
         if (negative) {
             buffer[target++] = '-';
         }
-        long pos = DOUBLE_MAX_POS;
-        for (int i = 0; i < digits; ++i) {
-            int intDigit;
-            if (pos > 0) {
-                intDigit = (int) (mantissa / pos);
-                mantissa %= pos;
-            } else {
-                intDigit = 0;
+        if (intPart <= 0) {
+            buffer[target++] = '0';
+            buffer[target++] = '.';
+            for (int i = intPart; i < 0; ++i) {
+                buffer[target++] = '0';
             }
-            buffer[target++] = (char) ('0' + intDigit);
-            if (--intPart == 0) {
-                buffer[target++] = '.';
+            System.arraycopy(digits, 0, buffer, target, digitCount);
+            target += digitCount;
+        } else if (digitCount <= intPart) {
+            System.arraycopy(digits, 0, buffer, target, digitCount);
+            target += digitCount;
+            for (int i = digitCount; i < intPart; ++i) {
+                buffer[target++] = '0';
             }
-            pos /= 10;
+            buffer[target++] = '.';
+            buffer[target++] = '0';
+        } else {
+            System.arraycopy(digits, 0, buffer, target, intPart);
+            target += intPart;
+            buffer[target++] = '.';
+            System.arraycopy(digits, intPart, buffer, target, digitCount - intPart);
+            target += digitCount - intPart;
         }
 
         // Print exponent
-        if (exp != 0) {
+        if (scientific) {
+            int exp = printedExponent;
             buffer[target++] = 'E';
             if (exp < 0) {
                 exp = -exp;
@@ -503,44 +310,6 @@ class TAbstractStringBuilder extends TObject implements TSerializable, TCharSequ
         return this;
     }
 
-    private static int trailingDecimalZeros(int n) {
-        if (n % 1000000000 == 0) {
-            return 9;
-        }
-        int result = 0;
-        int zeros = 1;
-        if (n % 100000000 == 0) {
-            result |= 8;
-            zeros *= 100000000;
-        }
-        if (n % (zeros * 10000) == 0) {
-            result |= 4;
-            zeros *= 10000;
-        }
-        if (n % (zeros * 100) == 0) {
-            result |= 2;
-            zeros *= 100;
-        }
-        if (n % (zeros * 10) == 0) {
-            result |= 1;
-        }
-        return result;
-    }
-
-    private static int trailingDecimalZeros(long n) {
-        long zeros = 1;
-        int result = 0;
-        int bit = 16;
-        for (int i = longLogPowersOfTen.length - 1; i >= 0; --i) {
-            if (n % (zeros * longLogPowersOfTen[i]) == 0) {
-                result |= bit;
-                zeros *= longLogPowersOfTen[i];
-            }
-            bit >>>= 1;
-        }
-        return result;
-    }
-
     protected TAbstractStringBuilder append(char c) {
         return insert(length, c);
     }
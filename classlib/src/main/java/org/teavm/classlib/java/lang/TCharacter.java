@@ -16,9 +16,6 @@
 package org.teavm.classlib.java.lang;
 
 import org.teavm.classlib.impl.unicode.UnicodeHelper;
-import org.teavm.interop.DelegateTo;
-import org.teavm.interop.Import;
-import org.teavm.platform.Platform;
 import org.teavm.platform.metadata.MetadataProvider;
 import org.teavm.platform.metadata.StringResource;
 
@@ -90,7 +87,11 @@ public class TCharacter extends TObject implements TComparable<TCharacter> {
     public static final int SIZE = 16;
     static final int ERROR = 0xFFFFFFFF;
     private static int[] digitMapping;
-    private static UnicodeHelper.Range[] classMapping;
+    private static int[] classIndex;
+    private static byte[] classData;
+    private static UnicodeHelper.TwoStageTable upperCaseMapping;
+    private static UnicodeHelper.TwoStageTable lowerCaseMapping;
+    private static final int LATIN1_LIMIT = 0x100;
     private char value;
     private static TCharacter[] characterCache = new TCharacter[128];
     private static final int SURROGATE_NEUTRAL_BIT_MASK = 0xF800;
@@ -233,34 +234,50 @@ public class TCharacter extends TObject implements TComparable<TCharacter> {
         return (char) toLowerCase((int) ch);
     }
 
-    @DelegateTo("toLowerCaseLowLevel")
-    public static int toLowerCase(int ch) {
-        return Platform.stringFromCharCode(ch).toLowerCase().charCodeAt(0);
-    }
-
-    private static int toLowerCaseLowLevel(int codePoint) {
-        return toLowerCaseSystem(codePoint);
+    public static int toLowerCase(int codePoint) {
+        if (codePoint < LATIN1_LIMIT) {
+            if (codePoint >= 'A' && codePoint <= 'Z' || codePoint >= 0xC0 && codePoint <= 0xDE && codePoint != 0xD7) {
+                return codePoint + ('a' - 'A');
+            }
+            return codePoint;
+        }
+        if (codePoint > MAX_CODE_POINT) {
+            return codePoint;
+        }
+        if (lowerCaseMapping == null) {
+            lowerCaseMapping = UnicodeHelper.decodeTwoStage(obtainLowerCaseMapping().getValue());
+        }
+        return codePoint + lookup(lowerCaseMapping, codePoint);
     }
 
-    @Import(module = "runtime", name = "towlower")
-    private static native int toLowerCaseSystem(int codePoint);
-
     public static char toUpperCase(char ch) {
         return (char) toUpperCase((int) ch);
     }
 
-    @DelegateTo("toUpperCaseLowLevel")
     public static int toUpperCase(int codePoint) {
-        return Platform.stringFromCharCode(codePoint).toUpperCase().charCodeAt(0);
+        if (codePoint < LATIN1_LIMIT) {
+            if (codePoint >= 'a' && codePoint <= 'z' || codePoint >= 0xE0 && codePoint <= 0xFE && codePoint != 0xF7) {
+                return codePoint - ('a' - 'A');
+            } else if (codePoint == 0xB5) {
+                return 0x39C;
+            } else if (codePoint == 0xFF) {
+                return 0x178;
+            }
+            return codePoint;
+        }
+        if (codePoint > MAX_CODE_POINT) {
+            return codePoint;
+        }
+        if (upperCaseMapping == null) {
+            upperCaseMapping = UnicodeHelper.decodeTwoStage(obtainUpperCaseMapping().getValue());
+        }
+        return codePoint + lookup(upperCaseMapping, codePoint);
     }
 
-    private static int toUpperCaseLowLevel(int codePoint) {
-        return toUpperCaseSystem(codePoint);
+    private static int lookup(UnicodeHelper.TwoStageTable table, int codePoint) {
+        return table.data[table.index[codePoint >> UnicodeHelper.BLOCK_SHIFT] + (codePoint & UnicodeHelper.BLOCK_MASK)];
     }
 
-    @Import(module = "runtime", name = "towupper")
-    private static native int toUpperCaseSystem(int codePoint);
-
     public static int digit(char ch, int radix) {
         return digit((int) ch, radix);
     }
@@ -307,6 +324,9 @@ public class TCharacter extends TObject implements TComparable<TCharacter> {
     }
 
     public static boolean isDigit(int codePoint) {
+        if (codePoint < LATIN1_LIMIT) {
+            return codePoint >= '0' && codePoint <= '9';
+        }
         return getType(codePoint) == DECIMAL_DIGIT_NUMBER;
     }
 
@@ -320,16 +340,25 @@ public class TCharacter extends TObject implements TComparable<TCharacter> {
     @MetadataProvider(CharacterMetadataGenerator.class)
     private static native StringResource obtainDigitMapping();
 
-    private static UnicodeHelper.Range[] getClasses() {
-        if (classMapping == null) {
-            classMapping = UnicodeHelper.extractRle(obtainClasses().getValue());
+    private static void initClasses() {
+        UnicodeHelper.TwoStageTable table = UnicodeHelper.decodeTwoStage(obtainClasses().getValue());
+        byte[] data = new byte[table.data.length];
+        for (int i = 0; i < data.length; ++i) {
+            data[i] = (byte) table.data[i];
         }
-        return classMapping;
+        classIndex = table.index;
+        classData = data;
     }
 
     @MetadataProvider(CharacterMetadataGenerator.class)
     private static native StringResource obtainClasses();
 
+    @MetadataProvider(CharacterMetadataGenerator.class)
+    private static native StringResource obtainUpperCaseMapping();
+
+    @MetadataProvider(CharacterMetadataGenerator.class)
+    private static native StringResource obtainLowerCaseMapping();
+
     public static int toChars(int codePoint, char[] dst, int dstIndex) {
         if (codePoint >= MIN_SUPPLEMENTARY_CODE_POINT) {
             dst[dstIndex] = highSurrogate(codePoint);
@@ -409,24 +438,16 @@ public class TCharacter extends TObject implements TComparable<TCharacter> {
     }
 
     public static int getType(int codePoint) {
+        if (codePoint < 0 || codePoint > MAX_CODE_POINT) {
+            return UNASSIGNED;
+        }
         if (isBmpCodePoint(codePoint) && isSurrogate((char) codePoint)) {
             return SURROGATE;
         }
-        UnicodeHelper.Range[] classes = getClasses();
-        int l = 0;
-        int u = classes.length - 1;
-        while (l <= u) {
-            int i = (l + u) / 2;
-            UnicodeHelper.Range range = classes[i];
-            if (codePoint >= range.end) {
-                l = i + 1;
-            } else if (codePoint < range.start) {
-                u = i - 1;
-            } else {
-                return range.data[codePoint - range.start];
-            }
+        if (classData == null) {
+            initClasses();
         }
-        return 0;
+        return classData[classIndex[codePoint >> UnicodeHelper.BLOCK_SHIFT] + (codePoint & UnicodeHelper.BLOCK_MASK)];
     }
 
     public static boolean isLowerCase(char ch) {
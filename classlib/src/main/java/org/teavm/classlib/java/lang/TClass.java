@@ -19,6 +19,7 @@ import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 import org.teavm.classlib.impl.DeclaringClassMetadataGenerator;
+import org.teavm.classlib.impl.IntObjectHashMap;
 import org.teavm.classlib.java.lang.annotation.TAnnotation;
 import org.teavm.classlib.java.lang.reflect.TAnnotatedElement;
 import org.teavm.interop.Address;
@@ -36,6 +37,7 @@ public class TClass<T> extends TObject implements TAnnotatedElement {
     private PlatformClass platformClass;
     private TAnnotation[] annotationsCache;
     private Map<TClass<?>, TAnnotation> annotationsByType;
+    IntObjectHashMap<T> enumConstantsByHash;
 
     private TClass(PlatformClass platformClass) {
         this.platformClass = platformClass;
@@ -15,6 +15,7 @@
  */
 package org.teavm.classlib.java.lang;
 
+import org.teavm.classlib.impl.text.FloatingPointParser;
 import org.teavm.interop.Import;
 import org.teavm.jso.JSBody;
 
@@ -72,97 +73,7 @@ public class TDouble extends TNumber implements TComparable<TDouble> {
     }
 
     public static double parseDouble(TString string) throws TNumberFormatException {
-        // TODO: parse infinite and different radix
-        string = string.trim();
-        boolean negative = false;
-        int index = 0;
-        if (string.charAt(index) == '-') {
-            ++index;
-            negative = true;
-        } else if (string.charAt(index) == '+') {
-            ++index;
-        }
-        char c = string.charAt(index);
-        if (c < '0' || c > '9') {
-            throw new TNumberFormatException();
-        }
-        long mantissa = 0;
-        int exp = 0;
-        while (string.charAt(index) == '0') {
-            if (++index == string.length()) {
-                return 0;
-            }
-        }
-        while (index < string.length()) {
-            c = string.charAt(index);
-            if (c < '0' || c > '9') {
-                break;
-            }
-            if (mantissa < 1E17) {
-                mantissa = mantissa * 10 + (c - '0');
-            } else {
-                ++exp;
-            }
-            ++index;
-        }
-        if (index < string.length() && string.charAt(index) == '.') {
-            ++index;
-            boolean hasOneDigit = false;
-            while (index < string.length()) {
-                c = string.charAt(index);
-                if (c < '0' || c > '9') {
-                    break;
-                }
-                if (mantissa < 1E17) {
-                    mantissa = mantissa * 10 + (c - '0');
-                    --exp;
-                }
-                ++index;
-                hasOneDigit = true;
-            }
-            if (!hasOneDigit) {
-                throw new TNumberFormatException();
-            }
-        }
-        if (index < string.length()) {
-            c = string.charAt(index);
-            if (c != 'e' && c != 'E') {
-                throw new TNumberFormatException();
-            }
-            ++index;
-            boolean negativeExp = false;
-            if (string.charAt(index) == '-') {
-                ++index;
-                negativeExp = true;
-            } else if (string.charAt(index) == '+') {
-                ++index;
-            }
-            int numExp = 0;
-            boolean hasOneDigit = false;
-            while (index < string.length()) {
-                c = string.charAt(index);
-                if (c < '0' || c > '9') {
-                    break;
-                }
-                numExp = 10 * numExp + (c - '0');
-                hasOneDigit = true;
-                ++index;
-            }
-            if (!hasOneDigit) {
-                throw new TNumberFormatException();
-            }
-            if (negativeExp) {
-                numExp = -numExp;
-            }
-            exp += numExp;
-        }
-        if (exp > 308 || exp == 308 && mantissa > 17976931348623157L) {
-            return !negative ? POSITIVE_INFINITY : NEGATIVE_INFINITY;
-        }
-        if (negative) {
-            mantissa = -mantissa;
-        }
-        return mantissa * decimalExponent(exp);
+        return FloatingPointParser.parseDouble(string.toString());
     }
 
     public static double decimalExponent(int n) {
@@ -207,6 +118,18 @@ public class TDouble extends TNumber implements TComparable<TDouble> {
         return a > b ? 1 : a < b ? -1 : 0;
     }
 
+    public static double sum(double a, double b) {
+        return a + b;
+    }
+
+    public static double max(double a, double b) {
+        return TMath.max(a, b);
+    }
+
+    public static double min(double a, double b) {
+        return TMath.min(a, b);
+    }
+
     @Override
     public int compareTo(TDouble other) {
         return compare(value, other.value);
@@ -257,7 +180,7 @@ public class TDouble extends TNumber implements TComparable<TDouble> {
         } else {
             doubleMantissa = abs * 0x1p1022 * binaryExponent(negExp - 1022);
         }
-        long mantissa = (long) (doubleMantissa + 0.5) & 0xFFFFFFFFFFFFFL;
+        long mantissa = (long) doubleMantissa & 0xFFFFFFFFFFFFFL;
         return mantissa | ((exp + 1023L) << 52) | (value < 0 || 1 / value == NEGATIVE_INFINITY ? (1L << 63) : 0);
     }
 
@@ -15,6 +15,7 @@
  */
 package org.teavm.classlib.java.lang;
 
+import org.teavm.classlib.impl.IntObjectHashMap;
 import org.teavm.classlib.java.io.TSerializable;
 import org.teavm.interop.Rename;
 
@@ -70,12 +71,34 @@ public abstract class TEnum<E extends TEnum<E>> extends TObject implements TComp
     }
 
     public static <T extends TEnum<T>> T valueOf(TClass<T> enumType, TString name) {
-        // TODO: speed-up this method, use caching
-        T[] constants = enumType.getEnumConstants();
-        if (constants == null) {
-            throw new TIllegalArgumentException(TString.wrap("Class does not represent enum: " + enumType.getName()));
+        IntObjectHashMap<T> byHash = enumType.enumConstantsByHash;
+        if (byHash == null) {
+            T[] constants = enumType.getEnumConstants();
+            if (constants == null) {
+                throw new TIllegalArgumentException(TString.wrap("Class does not represent enum: "
+                        + enumType.getName()));
+            }
+            byHash = new IntObjectHashMap<>(constants.length);
+            for (T constant : constants) {
+                int hash = constant.name().hashCode();
+                if (!byHash.containsKey(hash)) {
+                    byHash.put(hash, constant);
+                }
+            }
+            enumType.enumConstantsByHash = byHash;
+        }
+
+        T candidate = byHash.get(name.hashCode());
+        if (candidate == null) {
+            throw new TIllegalArgumentException(TString.wrap("Enum " + enumType.getName() + " does not have the "
+                    + name + "constant"));
+        }
+        if (candidate.name().equals(name)) {
+            return candidate;
         }
-        for (T constant : constants) {
+
+        // Names with colliding hash codes are not stored in the cache, look them up directly
+        for (T constant : enumType.getEnumConstants()) {
             if (constant.name().equals(name)) {
                 return constant;
             }
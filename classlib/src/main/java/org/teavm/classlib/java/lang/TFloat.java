@@ -15,6 +15,7 @@
  */
 package org.teavm.classlib.java.lang;
 
+import org.teavm.classlib.impl.text.FloatingPointParser;
 import org.teavm.interop.Import;
 import org.teavm.jso.JSBody;
 
@@ -106,116 +107,7 @@ public class TFloat extends TNumber implements TComparable<TFloat> {
     private static native float getNaN();
 
     public static float parseFloat(TString string) throws TNumberFormatException {
-        // TODO: parse infinite and different radix
-        string = string.trim();
-        boolean negative = false;
-        int index = 0;
-        if (string.charAt(index) == '-') {
-            ++index;
-            negative = true;
-        } else if (string.charAt(index) == '+') {
-            ++index;
-        }
-        char c = string.charAt(index);
-        if (c < '0' || c > '9') {
-            throw new TNumberFormatException();
-        }
-        int mantissa = 0;
-        int exp = 0;
-        while (string.charAt(index) == '0') {
-            if (++index == string.length()) {
-                return 0;
-            }
-        }
-        while (index < string.length()) {
-            c = string.charAt(index);
-            if (c < '0' || c > '9') {
-                break;
-            }
-            if (mantissa < 1E8) {
-                mantissa = mantissa * 10 + (c - '0');
-            } else {
-                ++exp;
-            }
-            ++index;
-        }
-        if (index < string.length() && string.charAt(index) == '.') {
-            ++index;
-            boolean hasOneDigit = false;
-            while (index < string.length()) {
-                c = string.charAt(index);
-                if (c < '0' || c > '9') {
-                    break;
-                }
-                if (mantissa < 1E38) {
-                    mantissa = mantissa * 10 + (c - '0');
-                    --exp;
-                }
-                ++index;
-                hasOneDigit = true;
-            }
-            if (!hasOneDigit) {
-                throw new TNumberFormatException();
-            }
-        }
-        if (index < string.length()) {
-            c = string.charAt(index);
-            if (c != 'e' && c != 'E') {
-                throw new TNumberFormatException();
-            }
-            ++index;
-            boolean negativeExp = false;
-            if (string.charAt(index) == '-') {
-                ++index;
-                negativeExp = true;
-            } else if (string.charAt(index) == '+') {
-                ++index;
-            }
-            int numExp = 0;
-            boolean hasOneDigit = false;
-            while (index < string.length()) {
-                c = string.charAt(index);
-                if (c < '0' || c > '9') {
-                    break;
-                }
-                numExp = 10 * numExp + (c - '0');
-                hasOneDigit = true;
-                ++index;
-            }
-            if (!hasOneDigit) {
-                throw new TNumberFormatException();
-            }
-            if (negativeExp) {
-                numExp = -numExp;
-            }
-            exp += numExp;
-        }
-        if (exp > 38 || exp == 38 && mantissa > 34028234) {
-            return !negative ? POSITIVE_INFINITY : NEGATIVE_INFINITY;
-        }
-        if (negative) {
-            mantissa = -mantissa;
-        }
-        return mantissa * decimalExponent(exp);
-    }
-
-    private static float decimalExponent(int n) {
-        float d;
-        if (n < 0) {
-            d = 0.1f;
-            n = -n;
-        } else {
-            d = 10;
-        }
-        float result = 1;
-        while (n != 0) {
-            if (n % 2 != 0) {
-                result *= d;
-            }
-            d *= d;
-            n /= 2;
-        }
-        return result;
+        return FloatingPointParser.parseFloat(string.toString());
     }
 
     public static TFloat valueOf(TString s) throws TNumberFormatException {
@@ -234,6 +126,18 @@ public class TFloat extends TNumber implements TComparable<TFloat> {
         return f1 > f2 ? 1 : f2 < f1 ? -1 : 0;
     }
 
+    public static float sum(float a, float b) {
+        return a + b;
+    }
+
+    public static float max(float a, float b) {
+        return TMath.max(a, b);
+    }
+
+    public static float min(float a, float b) {
+        return TMath.min(a, b);
+    }
+
     @Override
     public int compareTo(TFloat other) {
         return compare(value, other.value);
@@ -264,7 +168,7 @@ public class TFloat extends TNumber implements TComparable<TFloat> {
         } else {
             doubleMantissa = abs * 0x1p126f * binaryExponent(negExp - 126);
         }
-        int mantissa = (int) (doubleMantissa + 0.5f) & 0x7FFFFF;
+        int mantissa = (int) (doubleMantissa + 0.5) & 0x7FFFFF;
         return mantissa | ((exp + 127) << 23) | (value < 0 || 1 / value == NEGATIVE_INFINITY  ? (1 << 31) : 0);
     }
 
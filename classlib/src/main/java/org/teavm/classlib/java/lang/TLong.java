@@ -218,6 +218,18 @@ public class TLong extends TNumber implements TComparable<TLong> {
         return compare(value, other.value);
     }
 
+    public static long sum(long a, long b) {
+        return a + b;
+    }
+
+    public static long max(long a, long b) {
+        return TMath.max(a, b);
+    }
+
+    public static long min(long a, long b) {
+        return TMath.min(a, b);
+    }
+
     public static TLong getLong(TString nm) {
         return getLong(nm, null);
     }
@@ -325,19 +337,19 @@ public class TLong extends TNumber implements TComparable<TLong> {
     }
 
     public static long reverse(long i) {
-        i = ((i & 0xAAAAAAAAAAAAAAAAL) >> 1)  | ((i & 0x5555555555555555L) << 1);
-        i = ((i & 0xCCCCCCCCCCCCCCCCL) >> 2)  | ((i & 0x3333333333333333L) << 2);
-        i = ((i & 0xF0F0F0F0F0F0F0F0L) >> 4)  | ((i & 0x0F0F0F0F0F0F0F0FL) << 4);
-        i = ((i & 0xFF00FF00FF00FF00L) >> 8)  | ((i & 0x00FF00FF00FF00FFL) << 8);
-        i = ((i & 0xFFFF0000FFFF0000L) >> 16) | ((i & 0x0000FFFF0000FFFFL) << 16);
-        i = ((i & 0xFFFF0000FFFF0000L) >> 32) | ((i & 0x0000FFFF0000FFFFL) << 32);
+        i = ((i & 0xAAAAAAAAAAAAAAAAL) >>> 1)  | ((i & 0x5555555555555555L) << 1);
+        i = ((i & 0xCCCCCCCCCCCCCCCCL) >>> 2)  | ((i & 0x3333333333333333L) << 2);
+        i = ((i & 0xF0F0F0F0F0F0F0F0L) >>> 4)  | ((i & 0x0F0F0F0F0F0F0F0FL) << 4);
+        i = ((i & 0xFF00FF00FF00FF00L) >>> 8)  | ((i & 0x00FF00FF00FF00FFL) << 8);
+        i = ((i & 0xFFFF0000FFFF0000L) >>> 16) | ((i & 0x0000FFFF0000FFFFL) << 16);
+        i = (i >>> 32) | (i << 32);
         return i;
     }
 
     public static long reverseBytes(long i) {
-        i = ((i & 0xFF00FF00FF00FF00L) >> 8)  | ((i & 0x00FF00FF00FF00FFL) << 8);
-        i = ((i & 0xFFFF0000FFFF0000L) >> 16) | ((i & 0x0000FFFF0000FFFFL) << 16);
-        i = (i >> 32) | (i << 32);
+        i = ((i & 0xFF00FF00FF00FF00L) >>> 8)  | ((i & 0x00FF00FF00FF00FFL) << 8);
+        i = ((i & 0xFFFF0000FFFF0000L) >>> 16) | ((i & 0x0000FFFF0000FFFFL) << 16);
+        i = (i >>> 32) | (i << 32);
         return i;
     }
 
@@ -309,6 +309,105 @@ public final class TMath extends TObject {
         return d + ulp(d);
     }
 
+    public static int floorDiv(int a, int b) {
+        int div = a / b;
+        return (a ^ b) < 0 && div * b != a ? div - 1 : div;
+    }
+
+    public static long floorDiv(long a, long b) {
+        long div = a / b;
+        return (a ^ b) < 0 && div * b != a ? div - 1 : div;
+    }
+
+    public static long floorDiv(long a, int b) {
+        return floorDiv(a, (long) b);
+    }
+
+    public static int floorMod(int a, int b) {
+        return a - floorDiv(a, b) * b;
+    }
+
+    public static long floorMod(long a, long b) {
+        return a - floorDiv(a, b) * b;
+    }
+
+    public static int floorMod(long a, int b) {
+        return (int) floorMod(a, (long) b);
+    }
+
+    public static int addExact(int a, int b) {
+        int sum = a + b;
+        if (((a ^ sum) & (b ^ sum)) < 0) {
+            throw new TArithmeticException(TString.wrap("integer overflow"));
+        }
+        return sum;
+    }
+
+    public static long addExact(long a, long b) {
+        long sum = a + b;
+        if (((a ^ sum) & (b ^ sum)) < 0) {
+            throw new TArithmeticException(TString.wrap("long overflow"));
+        }
+        return sum;
+    }
+
+    public static int subtractExact(int a, int b) {
+        int result = a - b;
+        if (((a ^ b) & (a ^ result)) < 0) {
+            throw new TArithmeticException(TString.wrap("integer overflow"));
+        }
+        return result;
+    }
+
+    public static long subtractExact(long a, long b) {
+        long result = a - b;
+        if (((a ^ b) & (a ^ result)) < 0) {
+            throw new TArithmeticException(TString.wrap("long overflow"));
+        }
+        return result;
+    }
+
+    public static int multiplyExact(int a, int b) {
+        long result = (long) a * b;
+        if ((int) result != result) {
+            throw new TArithmeticException(TString.wrap("integer overflow"));
+        }
+        return (int) result;
+    }
+
+    public static long multiplyExact(long a, long b) {
+        long result = a * b;
+        if (a != 0 && (result / a != b || a == -1 && b == Long.MIN_VALUE)) {
+            throw new TArithmeticException(TString.wrap("long overflow"));
+        }
+        return result;
+    }
+
+    public static long multiplyExact(long a, int b) {
+        return multiplyExact(a, (long) b);
+    }
+
+    public static int negateExact(int a) {
+        if (a == Integer.MIN_VALUE) {
+            throw new TArithmeticException(TString.wrap("integer overflow"));
+        }
+        return -a;
+    }
+
+    public static long negateExact(long a) {
+        if (a == Long.MIN_VALUE) {
+            throw new TArithmeticException(TString.wrap("long overflow"));
+        }
+        return -a;
+    }
+
+    public static int toIntExact(long value) {
+        if ((int) value != value) {
+            throw new TArithmeticException(TString.wrap("integer overflow"));
+        }
+        return (int) value;
+    }
+
     private static class ExponentConstants {
         public static double[] exponents = { 0x1p1, 0x1p2, 0x1p4, 0x1p8, 0x1p16, 0x1p32, 0x1p64, 0x1p128,
                 0x1p256, 0x1p512 };
@@ -15,6 +15,7 @@
  */
 package org.teavm.classlib.java.lang;
 
+import org.teavm.classlib.impl.IntObjectHashMap;
 import org.teavm.classlib.java.io.TSerializable;
 import org.teavm.classlib.java.io.TUnsupportedEncodingException;
 import org.teavm.classlib.java.nio.TByteBuffer;
@@ -23,8 +24,6 @@ import org.teavm.classlib.java.nio.charset.TCharset;
 import org.teavm.classlib.java.nio.charset.impl.TUTF8Charset;
 import org.teavm.classlib.java.util.TArrays;
 import org.teavm.classlib.java.util.TComparator;
-import org.teavm.classlib.java.util.THashMap;
-import org.teavm.classlib.java.util.TMap;
 import org.teavm.classlib.java.util.regex.TPattern;
 
 /**
@@ -35,7 +34,7 @@ public class TString extends TObject implements TSerializable, TComparable<TStri
     public static final TComparator<TString> CASE_INSENSITIVE_ORDER = (o1, o2) -> o1.compareToIgnoreCase(o2);
     private char[] characters;
     private transient int hashCode;
-    private static TMap<TString, TString> pool = new THashMap<>();
+    private static IntObjectHashMap<Object> pool = new IntObjectHashMap<>();
 
     public TString() {
         this.characters = new char[0];
@@ -619,12 +618,31 @@ public class TString extends TObject implements TSerializable, TComparable<TStri
     }
 
     public TString intern() {
-        TString interned = pool.get(this);
-        if (interned == null) {
-            interned = this;
-            pool.put(interned, interned);
+        int hash = hashCode();
+        Object bucket = pool.get(hash);
+        if (bucket == null) {
+            pool.put(hash, this);
+            return this;
+        }
+        if (bucket instanceof TString) {
+            TString interned = (TString) bucket;
+            if (interned.equals(this)) {
+                return interned;
+            }
+            pool.put(hash, new TString[] { interned, this });
+            return this;
+        }
+        TString[] interned = (TString[]) bucket;
+        for (TString candidate : interned) {
+            if (candidate.equals(this)) {
+                return candidate;
+            }
         }
-        return interned;
+        TString[] newBucket = new TString[interned.length + 1];
+        System.arraycopy(interned, 0, newBucket, 0, interned.length);
+        newBucket[interned.length] = this;
+        pool.put(hash, newBucket);
+        return this;
     }
 
     public boolean matches(String regex) {
@@ -69,7 +69,7 @@ public final class TSystem extends TObject {
                     }
                     doArrayCopy(src, srcPos, dest, destPos, length);
                     return;
-                } else if (!srcType.isPrimitive() || !targetType.isPrimitive()) {
+                } else {
                     throw new TArrayStoreException();
                 }
             }
@@ -36,6 +36,8 @@ public class TThread extends TObject implements TRunnable {
     private final Object finishedLock = new Object();
     private boolean interruptedFlag;
     private TThreadInterruptHandler interruptHandler;
+    private static UncaughtExceptionHandler defaultUncaughtExceptionHandler;
+    private UncaughtExceptionHandler uncaughtExceptionHandler;
 
     private TString name;
     TRunnable target;
@@ -64,6 +66,12 @@ public class TThread extends TObject implements TRunnable {
                 activeCount++;
                 setCurrentThread(TThread.this);
                 TThread.this.run();
+            } catch (Throwable e) {
+                UncaughtExceptionHandler handler = getUncaughtExceptionHandler();
+                if (handler == null) {
+                    throw e;
+                }
+                handler.uncaughtException(TThread.this, e);
             } finally {
                 activeCount--;
                 setCurrentThread(mainThread);
@@ -96,6 +104,22 @@ public class TThread extends TObject implements TRunnable {
         return currentThread;
     }
 
+    public UncaughtExceptionHandler getUncaughtExceptionHandler() {
+        return uncaughtExceptionHandler != null ? uncaughtExceptionHandler : defaultUncaughtExceptionHandler;
+    }
+
+    public void setUncaughtExceptionHandler(UncaughtExceptionHandler handler) {
+        uncaughtExceptionHandler = handler;
+    }
+
+    public static UncaughtExceptionHandler getDefaultUncaughtExceptionHandler() {
+        return defaultUncaughtExceptionHandler;
+    }
+
+    public static void setDefaultUncaughtExceptionHandler(UncaughtExceptionHandler handler) {
+        defaultUncaughtExceptionHandler = handler;
+    }
+
     public TString getName() {
         return name;
     }
@@ -220,4 +244,8 @@ public class TThread extends TObject implements TRunnable {
     public TStackTraceElement[] getStackTrace() {
         return new TStackTraceElement[0];
     }
+
+    public interface UncaughtExceptionHandler {
+        void uncaughtException(TThread t, Throwable e);
+    }
 }
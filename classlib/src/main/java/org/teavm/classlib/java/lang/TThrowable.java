@@ -106,7 +106,7 @@ public class TThrowable extends RuntimeException {
     }
 
     private TThrowable fillInStackTraceLowLevel() {
-        int stackSize = ExceptionHandling.callStackSize() - 1;
+        int stackSize = Math.max(0, ExceptionHandling.callStackSize() - 1);
         stackTrace = new TStackTraceElement[stackSize];
         ExceptionHandling.fillStackTrace((StackTraceElement[]) (Object) stackTrace, 2);
         return this;
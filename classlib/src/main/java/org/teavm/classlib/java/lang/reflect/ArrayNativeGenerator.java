@@ -22,7 +22,6 @@ import org.teavm.backend.javascript.spi.Generator;
 import org.teavm.backend.javascript.spi.GeneratorContext;
 import org.teavm.model.CallLocation;
 import org.teavm.model.ClassReader;
-import org.teavm.model.MethodDescriptor;
 import org.teavm.model.MethodReference;
 import org.teavm.model.ValueType;
 
@@ -70,13 +69,12 @@ public class ArrayNativeGenerator implements Generator, DependencyPlugin {
 
     private void generateGetLength(GeneratorContext context, SourceWriter writer) throws IOException {
         String array = context.getParameterName(1);
-        writer.append("if (" + array + " === null || " + array + ".constructor.$meta.item === undefined) {")
+        writer.append("if (" + array + " === null || !" + array + ".constructor.$meta.item) {")
                 .softNewLine().indent();
-        String clsName = "java.lang.IllegalArgumentException";
-        MethodDescriptor cons = new MethodDescriptor("<init>", ValueType.VOID);
-        writer.append("$rt_throw(").appendClass(clsName).append(".").appendMethod(cons).append("());").softNewLine();
+        MethodReference cons = new MethodReference(IllegalArgumentException.class, "<init>", void.class);
+        writer.append("$rt_throw(").appendInit(cons).append("());").softNewLine();
         writer.outdent().append("}").softNewLine();
-        writer.append("return " + array + ".data.length;").softNewLine();
+        writer.append("return " + array + ".length;").softNewLine();
     }
 
     private void achieveGetLength(final DependencyAgent agent, final MethodDependency method) {
@@ -104,7 +102,7 @@ public class ArrayNativeGenerator implements Generator, DependencyPlugin {
 
     private void generateGet(GeneratorContext context, SourceWriter writer) throws IOException {
         String array = context.getParameterName(1);
-        writer.append("var item = " + array + ".data[" + context.getParameterName(2) + "];").softNewLine();
+        writer.append("var item = " + array + "[" + context.getParameterName(2) + "];").softNewLine();
         writer.append("var type = " + array + ".constructor.$meta.item;").softNewLine();
         for (int i = 0; i < primitives.length; ++i) {
             String wrapper = "java.lang." + primitiveWrappers[i];
@@ -17,6 +17,7 @@ package org.teavm.classlib.java.math;
 
 import java.io.Serializable;
 import java.util.Random;
+import org.teavm.interop.DelegateTo;
 
 /**
  * This class represents immutable integer numbers of arbitrary length. Large
@@ -440,7 +441,19 @@ public class TBigInteger extends Number implements Comparable<TBigInteger>, Seri
     }
 
     /** @see TBigInteger#TBigInteger(String, int) */
+    @DelegateTo("setFromStringImpl")
     private static void setFromString(TBigInteger bi, String val, int radix) {
+        TBigInteger parsed = TNativeBigInteger.parse(val, radix);
+        if (parsed != null) {
+            bi.sign = parsed.sign;
+            bi.numberLength = parsed.numberLength;
+            bi.digits = parsed.digits;
+            return;
+        }
+        setFromStringImpl(bi, val, radix);
+    }
+
+    private static void setFromStringImpl(TBigInteger bi, String val, int radix) {
         int sign;
         int[] digits;
         int numberLength;
@@ -1010,7 +1023,16 @@ public class TBigInteger extends Number implements Comparable<TBigInteger>, Seri
      *            base to be used for the string representation.
      * @return a string representation of this with radix 10.
      */
+    @DelegateTo("toStringImpl")
     public String toString(int radix) {
+        if (numberLength > 1 && radix >= Character.MIN_RADIX && radix <= Character.MAX_RADIX
+                && TNativeBigInteger.isSupported()) {
+            return TNativeBigInteger.toString(this, radix);
+        }
+        return toStringImpl(radix);
+    }
+
+    private String toStringImpl(int radix) {
         return TConversion.bigInteger2String(this, radix);
     }
 
@@ -1025,7 +1047,15 @@ public class TBigInteger extends Number implements Comparable<TBigInteger>, Seri
      * @throws NullPointerException
      *             if {@code val == null}.
      */
+    @DelegateTo("gcdImpl")
     public TBigInteger gcd(TBigInteger val) {
+        if (TNativeBigInteger.isWorthwhile(this, val)) {
+            return TNativeBigInteger.gcd(this, val);
+        }
+        return gcdImpl(val);
+    }
+
+    private TBigInteger gcdImpl(TBigInteger val) {
         TBigInteger val1 = this.abs();
         TBigInteger val2 = val.abs();
         // To avoid a possible division by zero
@@ -1055,7 +1085,15 @@ public class TBigInteger extends Number implements Comparable<TBigInteger>, Seri
      * @throws NullPointerException
      *             if {@code val == null}.
      */
+    @DelegateTo("multiplyImpl")
     public TBigInteger multiply(TBigInteger val) {
+        if (TNativeBigInteger.isWorthwhile(this, val)) {
+            return TNativeBigInteger.multiply(this, val);
+        }
+        return multiplyImpl(val);
+    }
+
+    private TBigInteger multiplyImpl(TBigInteger val) {
         // This let us to throw NullPointerException when val == null
         if (val.sign == 0) {
             return ZERO;
@@ -1075,7 +1113,15 @@ public class TBigInteger extends Number implements Comparable<TBigInteger>, Seri
      * @throws ArithmeticException
      *             if {@code exp < 0}.
      */
+    @DelegateTo("powImpl")
     public TBigInteger pow(int exp) {
+        if (exp > 1 && (long) numberLength * exp > TNativeBigInteger.THRESHOLD && TNativeBigInteger.isSupported()) {
+            return TNativeBigInteger.pow(this, exp);
+        }
+        return powImpl(exp);
+    }
+
+    private TBigInteger powImpl(int exp) {
         if (exp < 0) {
             throw new ArithmeticException("Negative exponent");
         }
@@ -1111,7 +1157,15 @@ public class TBigInteger extends Number implements Comparable<TBigInteger>, Seri
      * @see #divide
      * @see #remainder
      */
+    @DelegateTo("divideAndRemainderImpl")
     public TBigInteger[] divideAndRemainder(TBigInteger divisor) {
+        if (divisor.sign != 0 && TNativeBigInteger.isWorthwhile(this, divisor)) {
+            return TNativeBigInteger.divideAndRemainder(this, divisor);
+        }
+        return divideAndRemainderImpl(divisor);
+    }
+
+    private TBigInteger[] divideAndRemainderImpl(TBigInteger divisor) {
         int divisorSign = divisor.sign;
         if (divisorSign == 0) {
             throw new ArithmeticException("BigInteger divide by zero");
@@ -1154,7 +1208,15 @@ public class TBigInteger extends Number implements Comparable<TBigInteger>, Seri
      * @throws ArithmeticException
      *             if {@code divisor == 0}.
      */
+    @DelegateTo("divideImpl")
     public TBigInteger divide(TBigInteger divisor) {
+        if (divisor.sign != 0 && TNativeBigInteger.isWorthwhile(this, divisor)) {
+            return TNativeBigInteger.divide(this, divisor);
+        }
+        return divideImpl(divisor);
+    }
+
+    private TBigInteger divideImpl(TBigInteger divisor) {
         if (divisor.sign == 0) {
             throw new ArithmeticException("BigInteger divide by zero");
         }
@@ -1206,7 +1268,15 @@ public class TBigInteger extends Number implements Comparable<TBigInteger>, Seri
      * @throws ArithmeticException
      *             if {@code divisor == 0}.
      */
+    @DelegateTo("remainderImpl")
     public TBigInteger remainder(TBigInteger divisor) {
+        if (divisor.sign != 0 && TNativeBigInteger.isWorthwhile(this, divisor)) {
+            return TNativeBigInteger.remainder(this, divisor);
+        }
+        return remainderImpl(divisor);
+    }
+
+    private TBigInteger remainderImpl(TBigInteger divisor) {
         if (divisor.sign == 0) {
             throw new ArithmeticException("BigInteger divide by zero");
         }
@@ -1286,7 +1356,16 @@ public class TBigInteger extends Number implements Comparable<TBigInteger>, Seri
      *             if {@code m < 0} or if {@code exponent<0} and this is not
      *             relatively prime to {@code m}.
      */
+    @DelegateTo("modPowImpl")
     public TBigInteger modPow(TBigInteger exponent, TBigInteger m) {
+        if (m.sign > 0 && exponent.sign > 0 && m.numberLength >= TNativeBigInteger.THRESHOLD
+                && TNativeBigInteger.isSupported()) {
+            return TNativeBigInteger.modPow(this, exponent, m);
+        }
+        return modPowImpl(exponent, m);
+    }
+
+    private TBigInteger modPowImpl(TBigInteger exponent, TBigInteger m) {
         if (m.sign <= 0) {
             throw new ArithmeticException("BigInteger: modulus not positive");
         }
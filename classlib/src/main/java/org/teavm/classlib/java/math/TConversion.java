@@ -15,6 +15,8 @@
  */
 package org.teavm.classlib.java.math;
 
+import org.teavm.interop.DelegateTo;
+
 /**
  * Static library that provides {@link TBigInteger} base conversion from/to any
  * integer represented in an {@link java.lang.String} Object.
@@ -190,41 +192,7 @@ class TConversion {
                 } while (v != 0);
             }
         } else {
-            int[] temp = new int[numberLength];
-            int tempLen = numberLength;
-            System.arraycopy(digits, 0, temp, 0, tempLen);
-            BIG_LOOP: while (true) {
-                // divide the array of digits by bigRadix and convert
-                // remainders
-                // to characters collecting them in the char array
-                long result11 = 0;
-                for (int i1 = tempLen - 1; i1 >= 0; i1--) {
-                    long temp1 = (result11 << 32) + (temp[i1] & 0xFFFFFFFFL);
-                    long res = divideLongByBillion(temp1);
-                    temp[i1] = (int) res;
-                    result11 = (int) (res >> 32);
-                }
-                int resDigit = (int) result11;
-                int previous = currentChar;
-                do {
-                    result[--currentChar] = (char) (0x0030 + (resDigit % 10));
-                    resDigit /= 10;
-                } while (resDigit != 0 && currentChar != 0);
-                int delta = 9 - previous + currentChar;
-                for (int i = 0; (i < delta) && (currentChar > 0); i++) {
-                    result[--currentChar] = '0';
-                }
-                int j = tempLen - 1;
-                for (; temp[j] == 0; j--) {
-                    if (j == 0) { // means temp[0] == 0
-                        break BIG_LOOP;
-                    }
-                }
-                tempLen = j + 1;
-            }
-            while (result[currentChar] == '0') {
-                currentChar++;
-            }
+            currentChar = writeDecimalMagnitude(val, result, currentChar);
         }
         boolean negNumber = sign < 0;
         int exponent = resLengthInChars - currentChar - scale - 1;
@@ -279,6 +247,62 @@ class TConversion {
         return result1.toString();
     }
 
+    /**
+     * Writes decimal digits of the magnitude of {@code val}, which has more than one digit, into
+     * {@code result} backwards, starting at {@code currentChar}. Returns position of the first written char.
+     */
+    @DelegateTo("writeDecimalMagnitudeImpl")
+    private static int writeDecimalMagnitude(TBigInteger val, char[] result, int currentChar) {
+        if (TNativeBigInteger.isSupported()) {
+            String magnitude = TNativeBigInteger.toDecimalMagnitude(val);
+            currentChar -= magnitude.length();
+            magnitude.getChars(0, magnitude.length(), result, currentChar);
+            return currentChar;
+        }
+        return writeDecimalMagnitudeImpl(val, result, currentChar);
+    }
+
+    private static int writeDecimalMagnitudeImpl(TBigInteger val, char[] result, int currentChar) {
+        int numberLength = val.numberLength;
+        int[] digits = val.digits;
+        int[] temp = new int[numberLength];
+        int tempLen = numberLength;
+        System.arraycopy(digits, 0, temp, 0, tempLen);
+        BIG_LOOP: while (true) {
+            // divide the array of digits by bigRadix and convert
+            // remainders
+            // to characters collecting them in the char array
+            long result11 = 0;
+            for (int i1 = tempLen - 1; i1 >= 0; i1--) {
+                long temp1 = (result11 << 32) + (temp[i1] & 0xFFFFFFFFL);
+                long res = divideLongByBillion(temp1);
+                temp[i1] = (int) res;
+                result11 = (int) (res >> 32);
+            }
+            int resDigit = (int) result11;
+            int previous = currentChar;
+            do {
+                result[--currentChar] = (char) (0x0030 + (resDigit % 10));
+                resDigit /= 10;
+            } while (resDigit != 0 && currentChar != 0);
+            int delta = 9 - previous + currentChar;
+            for (int i = 0; (i < delta) && (currentChar > 0); i++) {
+                result[--currentChar] = '0';
+            }
+            int j = tempLen - 1;
+            for (; temp[j] == 0; j--) {
+                if (j == 0) { // means temp[0] == 0
+                    break BIG_LOOP;
+                }
+            }
+            tempLen = j + 1;
+        }
+        while (result[currentChar] == '0') {
+            currentChar++;
+        }
+        return currentChar;
+    }
+
     /* can process only 32-bit numbers */
     static String toDecimalScaledString(long value, int scale) {
         int resLengthInChars;
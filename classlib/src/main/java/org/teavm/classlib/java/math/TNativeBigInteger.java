@@ -0,0 +1,258 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.math;
+
+import org.teavm.jso.JSBody;
+import org.teavm.jso.JSByRef;
+import org.teavm.jso.JSObject;
+
+/**
+ * <p>Performs heavy {@code BigInteger} operations on the native {@code BigInt} type of the JavaScript runtime.
+ * Digits are converted to {@code BigInt} through a hexadecimal string and back, which takes linear time, while
+ * the operations themselves run on the engine's arbitrary precision arithmetic instead of emulated
+ * {@code long} values.</p>
+ *
+ * <p>This class is only used by JavaScript backend. Methods that call it are marked with
+ * {@link org.teavm.interop.DelegateTo}, so WebAssembly backend keeps the original implementation. Callers
+ * should check {@link #isSupported()} first, as {@code BigInt} is not available in older engines.</p>
+ *
+ * @author Alexey Andreev
+ */
+final class TNativeBigInteger {
+    /**
+     * Operands shorter than this number of 32-bit digits are processed by the Java code, as conversion
+     * would take longer than the operation itself.
+     */
+    static final int THRESHOLD = 3;
+
+    /** Maximal length of a decimal string that is parsed by the Java code. */
+    private static final int PARSE_THRESHOLD = 18;
+    private static Boolean supported;
+
+    private TNativeBigInteger() {
+    }
+
+    static boolean isSupported() {
+        if (supported == null) {
+            supported = detectSupport();
+        }
+        return supported;
+    }
+
+    static boolean isWorthwhile(TBigInteger a, TBigInteger b) {
+        return a.numberLength + b.numberLength > THRESHOLD + 1 && isSupported();
+    }
+
+    static TBigInteger multiply(TBigInteger a, TBigInteger b) {
+        return fromNative(multiply(toNative(a), toNative(b)));
+    }
+
+    static TBigInteger divide(TBigInteger a, TBigInteger b) {
+        return fromNative(divide(toNative(a), toNative(b)));
+    }
+
+    static TBigInteger remainder(TBigInteger a, TBigInteger b) {
+        return fromNative(remainder(toNative(a), toNative(b)));
+    }
+
+    static TBigInteger[] divideAndRemainder(TBigInteger a, TBigInteger b) {
+        JSObject nativeA = toNative(a);
+        JSObject nativeB = toNative(b);
+        return new TBigInteger[] { fromNative(divide(nativeA, nativeB)), fromNative(remainder(nativeA, nativeB)) };
+    }
+
+    static TBigInteger pow(TBigInteger a, int exp) {
+        return fromNative(pow(toNative(a), exp));
+    }
+
+    static TBigInteger modPow(TBigInteger base, TBigInteger exponent, TBigInteger m) {
+        return fromNative(modPow(toNative(base), toNative(exponent), toNative(m)));
+    }
+
+    static TBigInteger gcd(TBigInteger a, TBigInteger b) {
+        return fromNative(gcd(toNative(a), toNative(b)));
+    }
+
+    static String toString(TBigInteger a, int radix) {
+        return toString(toNative(a), radix);
+    }
+
+    /**
+     * Parses a string in the given radix, returns {@code null} when the string should be parsed by
+     * the Java code, i.e. when it is short, uses a radix not supported by {@code BigInt} syntax
+     * or contains characters other than ASCII digits.
+     */
+    static TBigInteger parse(String val, int radix) {
+        String prefix;
+        switch (radix) {
+            case 2:
+                prefix = "0b";
+                break;
+            case 8:
+                prefix = "0o";
+                break;
+            case 10:
+                prefix = "";
+                break;
+            case 16:
+                prefix = "0x";
+                break;
+            default:
+                return null;
+        }
+        int start = val.charAt(0) == '-' ? 1 : 0;
+        if (val.length() - start <= PARSE_THRESHOLD || !isSupported()) {
+            return null;
+        }
+        for (int i = start; i < val.length(); ++i) {
+            char c = val.charAt(i);
+            int digit;
+            if (c >= '0' && c <= '9') {
+                digit = c - '0';
+            } else if (c >= 'a' && c <= 'z') {
+                digit = c - 'a' + 10;
+            } else if (c >= 'A' && c <= 'Z') {
+                digit = c - 'A' + 10;
+            } else {
+                return null;
+            }
+            if (digit >= radix) {
+                return null;
+            }
+        }
+        JSObject value = parse(prefix + val.substring(start));
+        if (start > 0) {
+            value = negate(value);
+        }
+        return fromNative(value);
+    }
+
+    static String toDecimalMagnitude(TBigInteger a) {
+        return toString(toNative(a.sign, a.digits, a.numberLength, true), 10);
+    }
+
+    private static JSObject toNative(TBigInteger a) {
+        return toNative(a.sign, a.digits, a.numberLength, false);
+    }
+
+    private static TBigInteger fromNative(JSObject value) {
+        int sign = signum(value);
+        if (sign == 0) {
+            return TBigInteger.ZERO;
+        }
+        JSObject hex = toHex(value);
+        int[] digits = new int[wordCount(hex)];
+        fillDigits(hex, digits);
+        return new TBigInteger(sign, digits.length, digits);
+    }
+
+    @JSBody(script = "return typeof BigInt === 'function';")
+    private static native boolean detectSupport();
+
+    @JSBody(params = { "sign", "digits", "length", "abs" }, script = ""
+            + "var s = '';"
+            + "for (var i = length - 1; i >= 0; --i) {"
+            + "var h = (digits[i] >>> 0).toString(16);"
+            + "s += i === length - 1 ? h : '00000000'.substring(h.length) + h;"
+            + "}"
+            + "var r = BigInt('0x' + s);"
+            + "return sign < 0 && !abs ? -r : r;")
+    private static native JSObject toNative(int sign, @JSByRef int[] digits, int length, boolean abs);
+
+    @JSBody(params = "value", script = "return value > 0 ? 1 : value < 0 ? -1 : 0;")
+    private static native int signum(JSObject value);
+
+    @JSBody(params = "value", script = "return (value < 0 ? -value : value).toString(16);")
+    private static native JSObject toHex(JSObject value);
+
+    @JSBody(params = "hex", script = "return (hex.length + 7) >> 3;")
+    private static native int wordCount(JSObject hex);
+
+    @JSBody(params = { "hex", "digits" }, script = ""
+            + "var end = hex.length;"
+            + "for (var i = 0; i < digits.length; ++i) {"
+            + "var start = Math.max(0, end - 8);"
+            + "digits[i] = parseInt(hex.substring(start, end), 16) | 0;"
+            + "end = start;"
+            + "}")
+    private static native void fillDigits(JSObject hex, @JSByRef int[] digits);
+
+    @JSBody(params = "str", script = "return BigInt(str);")
+    private static native JSObject parse(String str);
+
+    @JSBody(params = { "value", "radix" }, script = "return value.toString(radix);")
+    private static native String toString(JSObject value, int radix);
+
+    @JSBody(params = "value", script = "return -value;")
+    private static native JSObject negate(JSObject value);
+
+    @JSBody(params = { "a", "b" }, script = "return a * b;")
+    private static native JSObject multiply(JSObject a, JSObject b);
+
+    @JSBody(params = { "a", "b" }, script = "return a / b;")
+    private static native JSObject divide(JSObject a, JSObject b);
+
+    @JSBody(params = { "a", "b" }, script = "return a % b;")
+    private static native JSObject remainder(JSObject a, JSObject b);
+
+    @JSBody(params = { "base", "exp" }, script = ""
+            + "var r = BigInt(1);"
+            + "while (exp > 0) {"
+            + "if ((exp & 1) !== 0) {"
+            + "r *= base;"
+            + "}"
+            + "exp >>>= 1;"
+            + "if (exp > 0) {"
+            + "base *= base;"
+            + "}"
+            + "}"
+            + "return r;")
+    private static native JSObject pow(JSObject base, int exp);
+
+    @JSBody(params = { "base", "exp", "m" }, script = ""
+            + "var zero = BigInt(0);"
+            + "var one = BigInt(1);"
+            + "var r = one % m;"
+            + "base %= m;"
+            + "if (base < zero) {"
+            + "base += m;"
+            + "}"
+            + "while (exp > zero) {"
+            + "if ((exp & one) === one) {"
+            + "r = r * base % m;"
+            + "}"
+            + "exp >>= one;"
+            + "base = base * base % m;"
+            + "}"
+            + "return r;")
+    private static native JSObject modPow(JSObject base, JSObject exp, JSObject m);
+
+    @JSBody(params = { "a", "b" }, script = ""
+            + "var zero = BigInt(0);"
+            + "if (a < zero) {"
+            + "a = -a;"
+            + "}"
+            + "if (b < zero) {"
+            + "b = -b;"
+            + "}"
+            + "while (b !== zero) {"
+            + "var t = a % b;"
+            + "a = b;"
+            + "b = t;"
+            + "}"
+            + "return a;")
+    private static native JSObject gcd(JSObject a, JSObject b);
+}
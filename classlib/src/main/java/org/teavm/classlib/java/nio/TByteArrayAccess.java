@@ -0,0 +1,201 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.nio;
+
+import org.teavm.interop.Address;
+import org.teavm.interop.DelegateTo;
+import org.teavm.interop.Unmanaged;
+import org.teavm.jso.JSBody;
+import org.teavm.jso.JSByRef;
+import org.teavm.runtime.Allocator;
+import org.teavm.runtime.RuntimeArray;
+
+/**
+ * <p>Reads and writes multi-byte values in byte arrays that back byte buffers.</p>
+ *
+ * <p>In JavaScript byte arrays are represented by <code>Int8Array</code>, so values are accessed via
+ * <code>DataView</code> created over the same region of <code>ArrayBuffer</code>. In WebAssembly byte arrays
+ * live in linear memory, so values are loaded and stored directly by address.</p>
+ *
+ * @author Alexey Andreev
+ */
+final class TByteArrayAccess {
+    private TByteArrayAccess() {
+    }
+
+    @JSBody(params = { "array", "index", "littleEndian" }, script = ""
+            + "var view = new DataView(array.buffer, array.byteOffset, array.byteLength);"
+            + "return view.getInt16(index, littleEndian);")
+    @DelegateTo("getShortLowLevel")
+    static native short getShort(@JSByRef byte[] array, int index, boolean littleEndian);
+
+    @Unmanaged
+    private static short getShortLowLevel(RuntimeArray array, int index, boolean littleEndian) {
+        short value = address(array, index).getShort();
+        return littleEndian ? value : (short) (((value & 0xFF) << 8) | ((value >> 8) & 0xFF));
+    }
+
+    @JSBody(params = { "array", "index", "value", "littleEndian" }, script = ""
+            + "var view = new DataView(array.buffer, array.byteOffset, array.byteLength);"
+            + "view.setInt16(index, value, littleEndian);")
+    @DelegateTo("putShortLowLevel")
+    static native void putShort(@JSByRef byte[] array, int index, short value, boolean littleEndian);
+
+    @Unmanaged
+    private static void putShortLowLevel(RuntimeArray array, int index, short value, boolean littleEndian) {
+        if (!littleEndian) {
+            value = (short) (((value & 0xFF) << 8) | ((value >> 8) & 0xFF));
+        }
+        address(array, index).putShort(value);
+    }
+
+    @JSBody(params = { "array", "index", "littleEndian" }, script = ""
+            + "var view = new DataView(array.buffer, array.byteOffset, array.byteLength);"
+            + "return view.getInt32(index, littleEndian);")
+    @DelegateTo("getIntLowLevel")
+    static native int getInt(@JSByRef byte[] array, int index, boolean littleEndian);
+
+    @Unmanaged
+    private static int getIntLowLevel(RuntimeArray array, int index, boolean littleEndian) {
+        int value = address(array, index).getInt();
+        return littleEndian ? value : reverseBytes(value);
+    }
+
+    @JSBody(params = { "array", "index", "value", "littleEndian" }, script = ""
+            + "var view = new DataView(array.buffer, array.byteOffset, array.byteLength);"
+            + "view.setInt32(index, value, littleEndian);")
+    @DelegateTo("putIntLowLevel")
+    static native void putInt(@JSByRef byte[] array, int index, int value, boolean littleEndian);
+
+    @Unmanaged
+    private static void putIntLowLevel(RuntimeArray array, int index, int value, boolean littleEndian) {
+        address(array, index).putInt(littleEndian ? value : reverseBytes(value));
+    }
+
+    @DelegateTo("getLongLowLevel")
+    static long getLong(byte[] array, int index, boolean littleEndian) {
+        // JavaScript has no 64-bit integers, so long is assembled from two halves
+        long first = getInt(array, index, littleEndian) & 0xFFFFFFFFL;
+        long second = getInt(array, index + 4, littleEndian) & 0xFFFFFFFFL;
+        return littleEndian ? (second << 32) | first : (first << 32) | second;
+    }
+
+    @Unmanaged
+    private static long getLongLowLevel(RuntimeArray array, int index, boolean littleEndian) {
+        long value = address(array, index).getLong();
+        return littleEndian ? value : reverseBytes(value);
+    }
+
+    @DelegateTo("putLongLowLevel")
+    static void putLong(byte[] array, int index, long value, boolean littleEndian) {
+        if (littleEndian) {
+            putInt(array, index, (int) value, true);
+            putInt(array, index + 4, (int) (value >>> 32), true);
+        } else {
+            putInt(array, index, (int) (value >>> 32), false);
+            putInt(array, index + 4, (int) value, false);
+        }
+    }
+
+    @Unmanaged
+    private static void putLongLowLevel(RuntimeArray array, int index, long value, boolean littleEndian) {
+        address(array, index).putLong(littleEndian ? value : reverseBytes(value));
+    }
+
+    @JSBody(params = { "array", "index", "littleEndian" }, script = ""
+            + "var view = new DataView(array.buffer, array.byteOffset, array.byteLength);"
+            + "return view.getFloat32(index, littleEndian);")
+    @DelegateTo("getFloatLowLevel")
+    static native float getFloat(@JSByRef byte[] array, int index, boolean littleEndian);
+
+    @Unmanaged
+    private static float getFloatLowLevel(RuntimeArray array, int index, boolean littleEndian) {
+        Address address = address(array, index);
+        return littleEndian ? address.getFloat() : Float.intBitsToFloat(reverseBytes(address.getInt()));
+    }
+
+    @JSBody(params = { "array", "index", "value", "littleEndian" }, script = ""
+            + "var view = new DataView(array.buffer, array.byteOffset, array.byteLength);"
+            + "view.setFloat32(index, value, littleEndian);")
+    @DelegateTo("putFloatLowLevel")
+    static native void putFloat(@JSByRef byte[] array, int index, float value, boolean littleEndian);
+
+    @Unmanaged
+    private static void putFloatLowLevel(RuntimeArray array, int index, float value, boolean littleEndian) {
+        Address address = address(array, index);
+        if (littleEndian) {
+            address.putFloat(value);
+        } else {
+            address.putInt(reverseBytes(Float.floatToRawIntBits(value)));
+        }
+    }
+
+    @JSBody(params = { "array", "index", "littleEndian" }, script = ""
+            + "var view = new DataView(array.buffer, array.byteOffset, array.byteLength);"
+            + "return view.getFloat64(index, littleEndian);")
+    @DelegateTo("getDoubleLowLevel")
+    static native double getDouble(@JSByRef byte[] array, int index, boolean littleEndian);
+
+    @Unmanaged
+    private static double getDoubleLowLevel(RuntimeArray array, int index, boolean littleEndian) {
+        Address address = address(array, index);
+        return littleEndian ? address.getDouble() : Double.longBitsToDouble(reverseBytes(address.getLong()));
+    }
+
+    @JSBody(params = { "array", "index", "value", "littleEndian" }, script = ""
+            + "var view = new DataView(array.buffer, array.byteOffset, array.byteLength);"
+            + "view.setFloat64(index, value, littleEndian);")
+    @DelegateTo("putDoubleLowLevel")
+    static native void putDouble(@JSByRef byte[] array, int index, double value, boolean littleEndian);
+
+    @Unmanaged
+    private static void putDoubleLowLevel(RuntimeArray array, int index, double value, boolean littleEndian) {
+        Address address = address(array, index);
+        if (littleEndian) {
+            address.putDouble(value);
+        } else {
+            address.putLong(reverseBytes(Double.doubleToRawLongBits(value)));
+        }
+    }
+
+    /**
+     * Copies bytes between arrays, correctly handling overlapping regions of the same array.
+     */
+    @JSBody(params = { "src", "srcPos", "dest", "destPos", "length" },
+            script = "dest.set(src.subarray(srcPos, srcPos + length), destPos);")
+    @DelegateTo("copyLowLevel")
+    static native void copy(@JSByRef byte[] src, int srcPos, @JSByRef byte[] dest, int destPos, int length);
+
+    @Unmanaged
+    private static void copyLowLevel(RuntimeArray src, int srcPos, RuntimeArray dest, int destPos, int length) {
+        Allocator.moveMemoryBlock(address(src, srcPos), address(dest, destPos), length);
+    }
+
+    @Unmanaged
+    private static Address address(RuntimeArray array, int index) {
+        return array.toAddress().add(RuntimeArray.class, 1).add(index);
+    }
+
+    @Unmanaged
+    private static int reverseBytes(int value) {
+        return (value >>> 24) | ((value >> 8) & 0xFF00) | ((value << 8) & 0xFF0000) | (value << 24);
+    }
+
+    @Unmanaged
+    private static long reverseBytes(long value) {
+        return ((long) reverseBytes((int) value) << 32) | (reverseBytes((int) (value >>> 32)) & 0xFFFFFFFFL);
+    }
+}
@@ -84,10 +84,7 @@ public abstract class TByteBuffer extends TBuffer implements TComparable<TByteBu
         if (length < 0) {
             throw new IndexOutOfBoundsException("Length " + length + " must be non-negative");
         }
-        int pos = position + start;
-        for (int i = 0; i < length; ++i) {
-            dst[offset++] = array[pos++];
-        }
+        TByteArrayAccess.copy(array, position + start, dst, offset, length);
         position += length;
         return this;
     }
@@ -97,7 +94,12 @@ public abstract class TByteBuffer extends TBuffer implements TComparable<TByteBu
     }
 
     public TByteBuffer put(TByteBuffer src) {
-        return put(src.array, src.start + src.position, src.remaining());
+        if (src == this) {
+            throw new IllegalArgumentException();
+        }
+        put(src.array, src.start + src.position, src.remaining());
+        src.position = src.limit;
+        return this;
     }
 
     public TByteBuffer put(byte[] src, int offset, int length) {
@@ -120,10 +122,7 @@ public abstract class TByteBuffer extends TBuffer implements TComparable<TByteBu
         if (length < 0) {
             throw new IndexOutOfBoundsException("Length " + length + " must be non-negative");
         }
-        int pos = position + start;
-        for (int i = 0; i < length; ++i) {
-            array[pos++] = src[offset++];
-        }
+        TByteArrayAccess.copy(src, offset, array, position + start, length);
         position += length;
         return this;
     }
@@ -257,7 +256,23 @@ public abstract class TByteBuffer extends TBuffer implements TComparable<TByteBu
 
     public abstract TLongBuffer asLongBuffer();
 
+    public abstract float getFloat();
+
+    public abstract TByteBuffer putFloat(float value);
+
+    public abstract float getFloat(int index);
+
+    public abstract TByteBuffer putFloat(int index, float value);
+
     public abstract TFloatBuffer asFloatBuffer();
 
+    public abstract double getDouble();
+
+    public abstract TByteBuffer putDouble(double value);
+
+    public abstract double getDouble(int index);
+
+    public abstract TByteBuffer putDouble(int index, double value);
+
     public abstract TDoubleBuffer asDoubleBuffer();
 }
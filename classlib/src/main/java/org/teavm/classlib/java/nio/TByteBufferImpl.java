@@ -36,7 +36,7 @@ class TByteBufferImpl extends TByteBuffer {
 
     @Override
     public TByteBuffer slice() {
-        return new TByteBufferImpl(position, limit - position,  array, 0, limit - position, direct, readOnly);
+        return new TByteBufferImpl(start + position, limit - position, array, 0, limit - position, direct, readOnly);
     }
 
     @Override
@@ -96,11 +96,7 @@ class TByteBufferImpl extends TByteBuffer {
         }
         if (position > 0) {
             int sz = remaining();
-            int dst = start;
-            int src = start + position;
-            for (int i = 0; i < sz; ++i) {
-                array[dst++] = array[src++];
-            }
+            TByteArrayAccess.copy(array, start + position, array, start, sz);
             position = sz;
         }
         limit = capacity;
@@ -123,14 +119,9 @@ class TByteBufferImpl extends TByteBuffer {
         if (position + 1 >= limit) {
             throw new TBufferUnderflowException();
         }
-        int a = array[start + position] & 0xFF;
-        int b = array[start + position + 1] & 0xFF;
+        char result = (char) TByteArrayAccess.getShort(array, start + position, order == TByteOrder.LITTLE_ENDIAN);
         position += 2;
-        if (order == TByteOrder.BIG_ENDIAN) {
-            return (char) ((a << 8) | b);
-        } else {
-            return (char) ((b << 8) | a);
-        }
+        return result;
     }
 
     @Override
@@ -141,13 +132,8 @@ class TByteBufferImpl extends TByteBuffer {
         if (position + 1 >= limit) {
             throw new TBufferOverflowException();
         }
-        if (order == TByteOrder.BIG_ENDIAN) {
-            array[start + position++] = (byte) (value >> 8);
-            array[start + position++] = (byte) value;
-        } else {
-            array[start + position++] = (byte) value;
-            array[start + position++] = (byte) (value >> 8);
-        }
+        TByteArrayAccess.putShort(array, start + position, (short) value, order == TByteOrder.LITTLE_ENDIAN);
+        position += 2;
         return this;
     }
 
@@ -156,13 +142,7 @@ class TByteBufferImpl extends TByteBuffer {
         if (index < 0 || index + 1 >= limit) {
             throw new IndexOutOfBoundsException("Index " + index + " is outside of range [0;" + (limit - 1) + ")");
         }
-        int a = array[start + index] & 0xFF;
-        int b = array[start + index + 1] & 0xFF;
-        if (order == TByteOrder.BIG_ENDIAN) {
-            return (char) ((a << 8) | b);
-        } else {
-            return (char) ((b << 8) | a);
-        }
+        return (char) TByteArrayAccess.getShort(array, start + index, order == TByteOrder.LITTLE_ENDIAN);
     }
 
     @Override
@@ -173,24 +153,17 @@ class TByteBufferImpl extends TByteBuffer {
         if (index < 0 || index + 1 >= limit) {
             throw new IndexOutOfBoundsException("Index " + index + " is outside of range [0;" + (limit - 1) + ")");
         }
-        if (order == TByteOrder.BIG_ENDIAN) {
-            array[start + index] = (byte) (value >> 8);
-            array[start + index + 1] = (byte) value;
-        } else {
-            array[start + index] = (byte) value;
-            array[start + index + 1] = (byte) (value >> 8);
-        }
+        TByteArrayAccess.putShort(array, start + index, (short) value, order == TByteOrder.LITTLE_ENDIAN);
         return this;
     }
 
     @Override
     public TCharBuffer asCharBuffer() {
         int sz = remaining() / 2;
-        if (order == TByteOrder.BIG_ENDIAN) {
-            return new TCharBufferOverByteBufferBigEndian(start + position, sz, this, 0, sz, isReadOnly());
-        } else {
-            return new TCharBufferOverByteBufferLittleEndian(start + position, sz, this, 0, sz, isReadOnly());
-        }
+        TCharBufferOverByteBuffer result = new TCharBufferOverByteBuffer(start + position, sz, this, 0, sz,
+                isReadOnly());
+        result.byteOrder = order;
+        return result;
     }
 
     @Override
@@ -198,14 +171,9 @@ class TByteBufferImpl extends TByteBuffer {
         if (position + 1 >= limit) {
             throw new TBufferUnderflowException();
         }
-        int a = array[start + position] & 0xFF;
-        int b = array[start + position + 1] & 0xFF;
+        short result = TByteArrayAccess.getShort(array, start + position, order == TByteOrder.LITTLE_ENDIAN);
         position += 2;
-        if (order == TByteOrder.BIG_ENDIAN) {
-            return (short) ((a << 8) | b);
-        } else {
-            return (short) ((b << 8) | a);
-        }
+        return result;
     }
 
     @Override
@@ -216,13 +184,8 @@ class TByteBufferImpl extends TByteBuffer {
         if (position + 1 >= limit) {
             throw new TBufferOverflowException();
         }
-        if (order == TByteOrder.BIG_ENDIAN) {
-            array[start + position++] = (byte) (value >> 8);
-            array[start + position++] = (byte) value;
-        } else {
-            array[start + position++] = (byte) value;
-            array[start + position++] = (byte) (value >> 8);
-        }
+        TByteArrayAccess.putShort(array, start + position, value, order == TByteOrder.LITTLE_ENDIAN);
+        position += 2;
         return this;
     }
 
@@ -231,13 +194,7 @@ class TByteBufferImpl extends TByteBuffer {
         if (index < 0 || index + 1 >= limit) {
             throw new IndexOutOfBoundsException("Index " + index + " is outside of range [0;" + (limit - 1) + ")");
         }
-        int a = array[start + index] & 0xFF;
-        int b = array[start + index + 1] & 0xFF;
-        if (order == TByteOrder.BIG_ENDIAN) {
-            return (short) ((a << 8) | b);
-        } else {
-            return (short) ((b << 8) | a);
-        }
+        return TByteArrayAccess.getShort(array, start + index, order == TByteOrder.LITTLE_ENDIAN);
     }
 
     @Override
@@ -248,24 +205,17 @@ class TByteBufferImpl extends TByteBuffer {
         if (index < 0 || index + 1 >= limit) {
             throw new IndexOutOfBoundsException("Index " + index + " is outside of range [0;" + (limit - 1) + ")");
         }
-        if (order == TByteOrder.BIG_ENDIAN) {
-            array[start + index] = (byte) (value >> 8);
-            array[start + index + 1] = (byte) value;
-        } else {
-            array[start + index] = (byte) value;
-            array[start + index + 1] = (byte) (value >> 8);
-        }
+        TByteArrayAccess.putShort(array, start + index, value, order == TByteOrder.LITTLE_ENDIAN);
         return this;
     }
 
     @Override
     public TShortBuffer asShortBuffer() {
         int sz = remaining() / 2;
-        if (order == TByteOrder.BIG_ENDIAN) {
-            return new TShortBufferOverByteBufferBigEndian(start + position, sz, this, 0, sz, isReadOnly());
-        } else {
-            return new TShortBufferOverByteBufferLittleEndian(start + position, sz, this, 0, sz, isReadOnly());
-        }
+        TShortBufferOverByteBuffer result = new TShortBufferOverByteBuffer(start + position, sz, this, 0, sz,
+                isReadOnly());
+        result.byteOrder = order;
+        return result;
     }
 
     @Override
@@ -273,16 +223,9 @@ class TByteBufferImpl extends TByteBuffer {
         if (position + 3 >= limit) {
             throw new TBufferUnderflowException();
         }
-        int a = array[start + position] & 0xFF;
-        int b = array[start + position + 1] & 0xFF;
-        int c = array[start + position + 2] & 0xFF;
-        int d = array[start + position + 3] & 0xFF;
+        int result = TByteArrayAccess.getInt(array, start + position, order == TByteOrder.LITTLE_ENDIAN);
         position += 4;
-        if (order == TByteOrder.BIG_ENDIAN) {
-            return (a << 24) | (b << 16) | (c << 8) | d;
-        } else {
-            return (d << 24) | (c << 16) | (b << 8) | a;
-        }
+        return result;
     }
 
     @Override
@@ -293,17 +236,8 @@ class TByteBufferImpl extends TByteBuffer {
         if (position + 3 >= limit) {
             throw new TBufferOverflowException();
         }
-        if (order == TByteOrder.BIG_ENDIAN) {
-            array[start + position++] = (byte) (value >> 24);
-            array[start + position++] = (byte) (value >> 16);
-            array[start + position++] = (byte) (value >> 8);
-            array[start + position++] = (byte) value;
-        } else {
-            array[start + position++] = (byte) value;
-            array[start + position++] = (byte) (value >> 8);
-            array[start + position++] = (byte) (value >> 16);
-            array[start + position++] = (byte) (value >> 24);
-        }
+        TByteArrayAccess.putInt(array, start + position, value, order == TByteOrder.LITTLE_ENDIAN);
+        position += 4;
         return this;
     }
 
@@ -312,15 +246,7 @@ class TByteBufferImpl extends TByteBuffer {
         if (index < 0 || index + 3 >= limit) {
             throw new IndexOutOfBoundsException("Index " + index + " is outside of range [0;" + (limit - 3) + ")");
         }
-        int a = array[start + index] & 0xFF;
-        int b = array[start + index + 1] & 0xFF;
-        int c = array[start + index + 2] & 0xFF;
-        int d = array[start + index + 3] & 0xFF;
-        if (order == TByteOrder.BIG_ENDIAN) {
-            return (a << 24) | (b << 16) | (c << 8) | d;
-        } else {
-            return (d << 24) | (c << 16) | (b << 8) | a;
-        }
+        return TByteArrayAccess.getInt(array, start + index, order == TByteOrder.LITTLE_ENDIAN);
     }
 
     @Override
@@ -331,28 +257,17 @@ class TByteBufferImpl extends TByteBuffer {
         if (index < 0 || index + 3 >= limit) {
             throw new IndexOutOfBoundsException("Index " + index + " is outside of range [0;" + (limit - 3) + ")");
         }
-        if (order == TByteOrder.BIG_ENDIAN) {
-            array[start + index] = (byte) (value >> 24);
-            array[start + index + 1] = (byte) (value >> 16);
-            array[start + index + 2] = (byte) (value >> 8);
-            array[start + index + 3] = (byte) value;
-        } else {
-            array[start + index] = (byte) value;
-            array[start + index + 1] = (byte) (value >> 8);
-            array[start + index + 2] = (byte) (value >> 16);
-            array[start + index + 3] = (byte) (value >> 24);
-        }
+        TByteArrayAccess.putInt(array, start + index, value, order == TByteOrder.LITTLE_ENDIAN);
         return this;
     }
 
     @Override
     public TIntBuffer asIntBuffer() {
         int sz = remaining() / 4;
-        if (order == TByteOrder.BIG_ENDIAN) {
-            return new TIntBufferOverByteBufferBigEndian(start + position, sz, this, 0, sz, isReadOnly());
-        } else {
-            return new TIntBufferOverByteBufferLittleEndian(start + position, sz, this, 0, sz, isReadOnly());
-        }
+        TIntBufferOverByteBuffer result = new TIntBufferOverByteBuffer(start + position, sz, this, 0, sz,
+                isReadOnly());
+        result.byteOrder = order;
+        return result;
     }
 
     @Override
@@ -360,20 +275,9 @@ class TByteBufferImpl extends TByteBuffer {
         if (position + 7 >= limit) {
             throw new TBufferUnderflowException();
         }
-        long a = array[start + position] & 0xFF;
-        long b = array[start + position + 1] & 0xFF;
-        long c = array[start + position + 2] & 0xFF;
-        long d = array[start + position + 3] & 0xFF;
-        long e = array[start + position + 4] & 0xFF;
-        long f = array[start + position + 5] & 0xFF;
-        long g = array[start + position + 6] & 0xFF;
-        long h = array[start + position + 7] & 0xFF;
+        long result = TByteArrayAccess.getLong(array, start + position, order == TByteOrder.LITTLE_ENDIAN);
         position += 8;
-        if (order == TByteOrder.BIG_ENDIAN) {
-            return (a << 56) | (b << 48) | (c << 40) | (d << 32) | (e << 24) | (f << 16) | (g << 8) | h;
-        } else {
-            return (h << 56) | (g << 48) | (f << 40) | (e << 32) | (d << 24) | (c << 16) | (b << 8) | a;
-        }
+        return result;
     }
 
     @Override
@@ -384,25 +288,8 @@ class TByteBufferImpl extends TByteBuffer {
         if (position + 7 >= limit) {
             throw new TBufferOverflowException();
         }
-        if (order == TByteOrder.BIG_ENDIAN) {
-            array[start + position++] = (byte) (value >> 56);
-            array[start + position++] = (byte) (value >> 48);
-            array[start + position++] = (byte) (value >> 40);
-            array[start + position++] = (byte) (value >> 32);
-            array[start + position++] = (byte) (value >> 24);
-            array[start + position++] = (byte) (value >> 16);
-            array[start + position++] = (byte) (value >> 8);
-            array[start + position++] = (byte) value;
-        } else {
-            array[start + position++] = (byte) value;
-            array[start + position++] = (byte) (value >> 8);
-            array[start + position++] = (byte) (value >> 16);
-            array[start + position++] = (byte) (value >> 24);
-            array[start + position++] = (byte) (value >> 32);
-            array[start + position++] = (byte) (value >> 40);
-            array[start + position++] = (byte) (value >> 48);
-            array[start + position++] = (byte) (value >> 56);
-        }
+        TByteArrayAccess.putLong(array, start + position, value, order == TByteOrder.LITTLE_ENDIAN);
+        position += 8;
         return this;
     }
 
@@ -411,20 +298,7 @@ class TByteBufferImpl extends TByteBuffer {
         if (index < 0 || index + 7 >= limit) {
             throw new IndexOutOfBoundsException("Index " + index + " is outside of range [0;" + (limit - 7) + ")");
         }
-        long a = array[start + index] & 0xFF;
-        long b = array[start + index + 1] & 0xFF;
-        long c = array[start + index + 2] & 0xFF;
-        long d = array[start + index + 3] & 0xFF;
-        long e = array[start + index + 4] & 0xFF;
-        long f = array[start + index + 5] & 0xFF;
-        long g = array[start + index + 6] & 0xFF;
-        long h = array[start + index + 7] & 0xFF;
-        position += 8;
-        if (order == TByteOrder.BIG_ENDIAN) {
-            return (a << 56) | (b << 48) | (c << 40) | (d << 32) | (e << 24) | (f << 16) | (g << 8) | h;
-        } else {
-            return (h << 56) | (g << 48) | (f << 40) | (e << 32) | (d << 24) | (c << 16) | (b << 8) | a;
-        }
+        return TByteArrayAccess.getLong(array, start + index, order == TByteOrder.LITTLE_ENDIAN);
     }
 
     @Override
@@ -432,49 +306,115 @@ class TByteBufferImpl extends TByteBuffer {
         if (readOnly) {
             throw new TReadOnlyBufferException();
         }
-        if (index < 0 || index + 3 >= limit) {
-            throw new IndexOutOfBoundsException("Index " + index + " is outside of range [0;" + (limit - 3) + ")");
-        }
-        if (order == TByteOrder.BIG_ENDIAN) {
-            array[start + index + 0] = (byte) (value >> 56);
-            array[start + index + 1] = (byte) (value >> 48);
-            array[start + index + 2] = (byte) (value >> 40);
-            array[start + index + 3] = (byte) (value >> 32);
-            array[start + index + 4] = (byte) (value >> 24);
-            array[start + index + 5] = (byte) (value >> 16);
-            array[start + index + 6] = (byte) (value >> 8);
-            array[start + index + 7] = (byte) value;
-        } else {
-            array[start + index + 0] = (byte) value;
-            array[start + index + 1] = (byte) (value >> 8);
-            array[start + index + 2] = (byte) (value >> 16);
-            array[start + index + 3] = (byte) (value >> 24);
-            array[start + index + 4] = (byte) (value >> 24);
-            array[start + index + 5] = (byte) (value >> 24);
-            array[start + index + 6] = (byte) (value >> 24);
-            array[start + index + 7] = (byte) (value >> 24);
+        if (index < 0 || index + 7 >= limit) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside of range [0;" + (limit - 7) + ")");
         }
+        TByteArrayAccess.putLong(array, start + index, value, order == TByteOrder.LITTLE_ENDIAN);
         return this;
     }
 
     @Override
     public TLongBuffer asLongBuffer() {
         int sz = remaining() / 8;
-        if (order == TByteOrder.BIG_ENDIAN) {
-            return new TLongBufferOverByteBufferBigEndian(start + position, sz, this, 0, sz, isReadOnly());
-        } else {
-            return new TLongBufferOverByteBufferLittleEndian(start + position, sz, this, 0, sz, isReadOnly());
+        TLongBufferOverByteBuffer result = new TLongBufferOverByteBuffer(start + position, sz, this, 0, sz,
+                isReadOnly());
+        result.byteOrder = order;
+        return result;
+    }
+
+    @Override
+    public float getFloat() {
+        if (position + 3 >= limit) {
+            throw new TBufferUnderflowException();
         }
+        float result = TByteArrayAccess.getFloat(array, start + position, order == TByteOrder.LITTLE_ENDIAN);
+        position += 4;
+        return result;
+    }
+
+    @Override
+    public TByteBuffer putFloat(float value) {
+        if (readOnly) {
+            throw new TReadOnlyBufferException();
+        }
+        if (position + 3 >= limit) {
+            throw new TBufferOverflowException();
+        }
+        TByteArrayAccess.putFloat(array, start + position, value, order == TByteOrder.LITTLE_ENDIAN);
+        position += 4;
+        return this;
+    }
+
+    @Override
+    public float getFloat(int index) {
+        if (index < 0 || index + 3 >= limit) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside of range [0;" + (limit - 3) + ")");
+        }
+        return TByteArrayAccess.getFloat(array, start + index, order == TByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    public TByteBuffer putFloat(int index, float value) {
+        if (readOnly) {
+            throw new TReadOnlyBufferException();
+        }
+        if (index < 0 || index + 3 >= limit) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside of range [0;" + (limit - 3) + ")");
+        }
+        TByteArrayAccess.putFloat(array, start + index, value, order == TByteOrder.LITTLE_ENDIAN);
+        return this;
     }
 
     @Override
     public TFloatBuffer asFloatBuffer() {
         int sz = remaining() / 4;
-        if (order == TByteOrder.LITTLE_ENDIAN) {
-            return new TFloatBufferOverByteBufferBigEndian(start + position, sz, this, 0, sz, isReadOnly());
-        } else {
-            return new TFloatBufferOverByteBufferLittleEndian(start + position, sz, this, 0, sz, isReadOnly());
+        TFloatBufferOverByteBuffer result = new TFloatBufferOverByteBuffer(start + position, sz, this, 0, sz,
+                isReadOnly());
+        result.byteOrder = order;
+        return result;
+    }
+
+    @Override
+    public double getDouble() {
+        if (position + 7 >= limit) {
+            throw new TBufferUnderflowException();
         }
+        double result = TByteArrayAccess.getDouble(array, start + position, order == TByteOrder.LITTLE_ENDIAN);
+        position += 8;
+        return result;
+    }
+
+    @Override
+    public TByteBuffer putDouble(double value) {
+        if (readOnly) {
+            throw new TReadOnlyBufferException();
+        }
+        if (position + 7 >= limit) {
+            throw new TBufferOverflowException();
+        }
+        TByteArrayAccess.putDouble(array, start + position, value, order == TByteOrder.LITTLE_ENDIAN);
+        position += 8;
+        return this;
+    }
+
+    @Override
+    public double getDouble(int index) {
+        if (index < 0 || index + 7 >= limit) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside of range [0;" + (limit - 7) + ")");
+        }
+        return TByteArrayAccess.getDouble(array, start + index, order == TByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    public TByteBuffer putDouble(int index, double value) {
+        if (readOnly) {
+            throw new TReadOnlyBufferException();
+        }
+        if (index < 0 || index + 7 >= limit) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside of range [0;" + (limit - 7) + ")");
+        }
+        TByteArrayAccess.putDouble(array, start + index, value, order == TByteOrder.LITTLE_ENDIAN);
+        return this;
     }
 
     @Override
@@ -29,7 +29,7 @@ public final class TByteOrder {
     }
 
     public static TByteOrder nativeOrder() {
-        return BIG_ENDIAN;
+        return LITTLE_ENDIAN;
     }
 
     @Override
@@ -19,10 +19,11 @@ package org.teavm.classlib.java.nio;
  *
  * @author Alexey Andreev
  */
-abstract class TCharBufferOverByteBuffer extends TCharBufferImpl {
-    TByteBufferImpl byteByffer;
+class TCharBufferOverByteBuffer extends TCharBufferImpl {
+    private TByteBufferImpl byteByffer;
+    TByteOrder byteOrder = TByteOrder.BIG_ENDIAN;
     boolean readOnly;
-    int start;
+    private int start;
 
     public TCharBufferOverByteBuffer(int start, int capacity, TByteBufferImpl byteBuffer, int position, int limit,
             boolean readOnly) {
@@ -32,6 +33,26 @@ abstract class TCharBufferOverByteBuffer extends TCharBufferImpl {
         this.readOnly = readOnly;
     }
 
+    @Override
+    TCharBuffer duplicate(int start, int capacity, int position, int limit, boolean readOnly) {
+        TCharBufferOverByteBuffer result = new TCharBufferOverByteBuffer(this.start + start * 2, capacity,
+                byteByffer, position, limit, readOnly);
+        result.byteOrder = byteOrder;
+        return result;
+    }
+
+    @Override
+    char getChar(int index) {
+        return (char) TByteArrayAccess.getShort(byteByffer.array, start + index * 2,
+                byteOrder == TByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    void putChar(int index, char value) {
+        TByteArrayAccess.putShort(byteByffer.array, start + index * 2, (short) value,
+                byteOrder == TByteOrder.LITTLE_ENDIAN);
+    }
+
     @Override
     boolean isArrayPresent() {
         return false;
@@ -51,4 +72,9 @@ abstract class TCharBufferOverByteBuffer extends TCharBufferImpl {
     boolean readOnly() {
         return readOnly;
     }
+
+    @Override
+    public TByteOrder order() {
+        return byteOrder;
+    }
 }
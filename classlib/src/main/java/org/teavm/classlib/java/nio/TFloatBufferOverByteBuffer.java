@@ -19,10 +19,11 @@ package org.teavm.classlib.java.nio;
  *
  * @author Alexey Andreev
  */
-abstract class TFloatBufferOverByteBuffer extends TFloatBufferImpl {
-    TByteBufferImpl byteByffer;
+class TFloatBufferOverByteBuffer extends TFloatBufferImpl {
+    private TByteBufferImpl byteByffer;
+    TByteOrder byteOrder = TByteOrder.BIG_ENDIAN;
     boolean readOnly;
-    int start;
+    private int start;
 
     public TFloatBufferOverByteBuffer(int start, int capacity, TByteBufferImpl byteBuffer, int position, int limit,
             boolean readOnly) {
@@ -32,6 +33,24 @@ abstract class TFloatBufferOverByteBuffer extends TFloatBufferImpl {
         this.readOnly = readOnly;
     }
 
+    @Override
+    TFloatBuffer duplicate(int start, int capacity, int position, int limit, boolean readOnly) {
+        TFloatBufferOverByteBuffer result = new TFloatBufferOverByteBuffer(this.start + start * 4, capacity,
+                byteByffer, position, limit, readOnly);
+        result.byteOrder = byteOrder;
+        return result;
+    }
+
+    @Override
+    float getElement(int index) {
+        return TByteArrayAccess.getFloat(byteByffer.array, start + index * 4, byteOrder == TByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    void putElement(int index, float value) {
+        TByteArrayAccess.putFloat(byteByffer.array, start + index * 4, value, byteOrder == TByteOrder.LITTLE_ENDIAN);
+    }
+
     @Override
     boolean isArrayPresent() {
         return false;
@@ -51,4 +70,9 @@ abstract class TFloatBufferOverByteBuffer extends TFloatBufferImpl {
     boolean readOnly() {
         return readOnly;
     }
+
+    @Override
+    public TByteOrder order() {
+        return byteOrder;
+    }
 }
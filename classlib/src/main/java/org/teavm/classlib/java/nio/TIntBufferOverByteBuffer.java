@@ -19,10 +19,11 @@ package org.teavm.classlib.java.nio;
  *
  * @author Alexey Andreev
  */
-abstract class TIntBufferOverByteBuffer extends TIntBufferImpl {
-    TByteBufferImpl byteByffer;
+class TIntBufferOverByteBuffer extends TIntBufferImpl {
+    private TByteBufferImpl byteByffer;
+    TByteOrder byteOrder = TByteOrder.BIG_ENDIAN;
     boolean readOnly;
-    int start;
+    private int start;
 
     public TIntBufferOverByteBuffer(int start, int capacity, TByteBufferImpl byteBuffer, int position, int limit,
             boolean readOnly) {
@@ -32,6 +33,24 @@ abstract class TIntBufferOverByteBuffer extends TIntBufferImpl {
         this.readOnly = readOnly;
     }
 
+    @Override
+    TIntBuffer duplicate(int start, int capacity, int position, int limit, boolean readOnly) {
+        TIntBufferOverByteBuffer result = new TIntBufferOverByteBuffer(this.start + start * 4, capacity,
+                byteByffer, position, limit, readOnly);
+        result.byteOrder = byteOrder;
+        return result;
+    }
+
+    @Override
+    int getElement(int index) {
+        return TByteArrayAccess.getInt(byteByffer.array, start + index * 4, byteOrder == TByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    void putElement(int index, int value) {
+        TByteArrayAccess.putInt(byteByffer.array, start + index * 4, value, byteOrder == TByteOrder.LITTLE_ENDIAN);
+    }
+
     @Override
     boolean isArrayPresent() {
         return false;
@@ -51,4 +70,9 @@ abstract class TIntBufferOverByteBuffer extends TIntBufferImpl {
     boolean readOnly() {
         return readOnly;
     }
+
+    @Override
+    public TByteOrder order() {
+        return byteOrder;
+    }
 }
@@ -19,10 +19,11 @@ package org.teavm.classlib.java.nio;
  *
  * @author Alexey Andreev
  */
-abstract class TLongBufferOverByteBuffer extends TLongBufferImpl {
-    TByteBufferImpl byteByffer;
+class TLongBufferOverByteBuffer extends TLongBufferImpl {
+    private TByteBufferImpl byteByffer;
+    TByteOrder byteOrder = TByteOrder.BIG_ENDIAN;
     boolean readOnly;
-    int start;
+    private int start;
 
     public TLongBufferOverByteBuffer(int start, int capacity, TByteBufferImpl byteBuffer, int position, int limit,
             boolean readOnly) {
@@ -32,6 +33,24 @@ abstract class TLongBufferOverByteBuffer extends TLongBufferImpl {
         this.readOnly = readOnly;
     }
 
+    @Override
+    TLongBuffer duplicate(int start, int capacity, int position, int limit, boolean readOnly) {
+        TLongBufferOverByteBuffer result = new TLongBufferOverByteBuffer(this.start + start * 8, capacity,
+                byteByffer, position, limit, readOnly);
+        result.byteOrder = byteOrder;
+        return result;
+    }
+
+    @Override
+    long getElement(int index) {
+        return TByteArrayAccess.getLong(byteByffer.array, start + index * 8, byteOrder == TByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    void putElement(int index, long value) {
+        TByteArrayAccess.putLong(byteByffer.array, start + index * 8, value, byteOrder == TByteOrder.LITTLE_ENDIAN);
+    }
+
     @Override
     boolean isArrayPresent() {
         return false;
@@ -51,4 +70,9 @@ abstract class TLongBufferOverByteBuffer extends TLongBufferImpl {
     boolean readOnly() {
         return readOnly;
     }
+
+    @Override
+    public TByteOrder order() {
+        return byteOrder;
+    }
 }
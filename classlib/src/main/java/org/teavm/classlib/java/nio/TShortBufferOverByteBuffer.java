@@ -19,10 +19,11 @@ package org.teavm.classlib.java.nio;
  *
  * @author Alexey Andreev
  */
-abstract class TShortBufferOverByteBuffer extends TShortBufferImpl {
-    TByteBufferImpl byteByffer;
+class TShortBufferOverByteBuffer extends TShortBufferImpl {
+    private TByteBufferImpl byteByffer;
+    TByteOrder byteOrder = TByteOrder.BIG_ENDIAN;
     boolean readOnly;
-    int start;
+    private int start;
 
     public TShortBufferOverByteBuffer(int start, int capacity, TByteBufferImpl byteBuffer, int position, int limit,
             boolean readOnly) {
@@ -32,6 +33,24 @@ abstract class TShortBufferOverByteBuffer extends TShortBufferImpl {
         this.readOnly = readOnly;
     }
 
+    @Override
+    TShortBuffer duplicate(int start, int capacity, int position, int limit, boolean readOnly) {
+        TShortBufferOverByteBuffer result = new TShortBufferOverByteBuffer(this.start + start * 2, capacity,
+                byteByffer, position, limit, readOnly);
+        result.byteOrder = byteOrder;
+        return result;
+    }
+
+    @Override
+    short getElement(int index) {
+        return TByteArrayAccess.getShort(byteByffer.array, start + index * 2, byteOrder == TByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    void putElement(int index, short value) {
+        TByteArrayAccess.putShort(byteByffer.array, start + index * 2, value, byteOrder == TByteOrder.LITTLE_ENDIAN);
+    }
+
     @Override
     boolean isArrayPresent() {
         return false;
@@ -51,4 +70,9 @@ abstract class TShortBufferOverByteBuffer extends TShortBufferImpl {
     boolean readOnly() {
         return readOnly;
     }
+
+    @Override
+    public TByteOrder order() {
+        return byteOrder;
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time;
+
+import org.teavm.classlib.java.time.format.TDateTimeTextProvider;
+import org.teavm.classlib.java.time.format.TTextStyle;
+import org.teavm.classlib.java.time.temporal.TChronoField;
+import org.teavm.classlib.java.time.temporal.TTemporal;
+import org.teavm.classlib.java.time.temporal.TTemporalAccessor;
+import org.teavm.classlib.java.time.temporal.TTemporalAdjuster;
+import org.teavm.classlib.java.time.temporal.TTemporalField;
+import org.teavm.classlib.java.time.temporal.TUnsupportedTemporalTypeException;
+import org.teavm.classlib.java.util.TLocale;
+
+public enum TDayOfWeek implements TTemporalAccessor, TTemporalAdjuster {
+    MONDAY,
+    TUESDAY,
+    WEDNESDAY,
+    THURSDAY,
+    FRIDAY,
+    SATURDAY,
+    SUNDAY;
+
+    private static final TDayOfWeek[] VALUES = values();
+
+    public static TDayOfWeek of(int dayOfWeek) {
+        if (dayOfWeek < 1 || dayOfWeek > 7) {
+            throw new TDateTimeException("Invalid value for DayOfWeek: " + dayOfWeek);
+        }
+        return VALUES[dayOfWeek - 1];
+    }
+
+    public static TDayOfWeek from(TTemporalAccessor temporal) {
+        if (temporal instanceof TDayOfWeek) {
+            return (TDayOfWeek) temporal;
+        }
+        return of(temporal.get(TChronoField.DAY_OF_WEEK));
+    }
+
+    public int getValue() {
+        return ordinal() + 1;
+    }
+
+    public String getDisplayName(TTextStyle style, TLocale locale) {
+        return TDateTimeTextProvider.getText(TChronoField.DAY_OF_WEEK, getValue(), style, locale);
+    }
+
+    @Override
+    public boolean isSupported(TTemporalField field) {
+        return field instanceof TChronoField ? field == TChronoField.DAY_OF_WEEK
+                : field != null && field.isSupportedBy(this);
+    }
+
+    @Override
+    public long getLong(TTemporalField field) {
+        if (field == TChronoField.DAY_OF_WEEK) {
+            return getValue();
+        } else if (field instanceof TChronoField) {
+            throw new TUnsupportedTemporalTypeException("Unsupported field: " + field);
+        }
+        return field.getFrom(this);
+    }
+
+    public TDayOfWeek plus(long days) {
+        int amount = (int) (days % 7);
+        return VALUES[(ordinal() + amount + 7) % 7];
+    }
+
+    public TDayOfWeek minus(long days) {
+        return plus(-(days % 7));
+    }
+
+    @Override
+    public TTemporal adjustInto(TTemporal temporal) {
+        return temporal.with(TChronoField.DAY_OF_WEEK, getValue());
+    }
+}
@@ -0,0 +1,509 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.teavm.classlib.java.lang.TComparable;
+import org.teavm.classlib.java.time.format.TDateTimeParseException;
+import org.teavm.classlib.java.time.temporal.TChronoField;
+import org.teavm.classlib.java.time.temporal.TChronoUnit;
+import org.teavm.classlib.java.time.temporal.TTemporal;
+import org.teavm.classlib.java.time.temporal.TTemporalAmount;
+import org.teavm.classlib.java.time.temporal.TTemporalUnit;
+import org.teavm.classlib.java.time.temporal.TUnsupportedTemporalTypeException;
+
+public final class TDuration implements TTemporalAmount, TComparable<TDuration> {
+    public static final TDuration ZERO = new TDuration(0, 0);
+    static final int NANOS_PER_SECOND = 1000_000_000;
+    private static final List<TTemporalUnit> UNITS = Collections.unmodifiableList(Arrays.asList(
+            TChronoUnit.SECONDS, TChronoUnit.NANOS));
+    private final long seconds;
+    private final int nanos;
+
+    private TDuration(long seconds, int nanos) {
+        this.seconds = seconds;
+        this.nanos = nanos;
+    }
+
+    private static TDuration create(long seconds, int nanos) {
+        return (seconds | nanos) == 0 ? ZERO : new TDuration(seconds, nanos);
+    }
+
+    public static TDuration ofDays(long days) {
+        return create(Math.multiplyExact(days, 86400), 0);
+    }
+
+    public static TDuration ofHours(long hours) {
+        return create(Math.multiplyExact(hours, 3600), 0);
+    }
+
+    public static TDuration ofMinutes(long minutes) {
+        return create(Math.multiplyExact(minutes, 60), 0);
+    }
+
+    public static TDuration ofSeconds(long seconds) {
+        return create(seconds, 0);
+    }
+
+    public static TDuration ofSeconds(long seconds, long nanoAdjustment) {
+        long secs = Math.addExact(seconds, Math.floorDiv(nanoAdjustment, NANOS_PER_SECOND));
+        int nos = (int) Math.floorMod(nanoAdjustment, NANOS_PER_SECOND);
+        return create(secs, nos);
+    }
+
+    public static TDuration ofMillis(long millis) {
+        return create(Math.floorDiv(millis, 1000), (int) Math.floorMod(millis, 1000) * 1000_000);
+    }
+
+    public static TDuration ofNanos(long nanos) {
+        return create(Math.floorDiv(nanos, NANOS_PER_SECOND), (int) Math.floorMod(nanos, NANOS_PER_SECOND));
+    }
+
+    public static TDuration of(long amount, TTemporalUnit unit) {
+        return ZERO.plus(amount, unit);
+    }
+
+    public static TDuration from(TTemporalAmount amount) {
+        TDuration duration = ZERO;
+        for (TTemporalUnit unit : amount.getUnits()) {
+            duration = duration.plus(amount.get(unit), unit);
+        }
+        return duration;
+    }
+
+    public static TDuration between(TTemporal startInclusive, TTemporal endExclusive) {
+        long secs = startInclusive.until(endExclusive, TChronoUnit.SECONDS);
+        long nanos = 0;
+        if (startInclusive.isSupported(TChronoField.NANO_OF_SECOND)
+                && endExclusive.isSupported(TChronoField.NANO_OF_SECOND)) {
+            nanos = endExclusive.getLong(TChronoField.NANO_OF_SECOND)
+                    - startInclusive.getLong(TChronoField.NANO_OF_SECOND);
+            if (secs > 0 && nanos < 0) {
+                secs++;
+            } else if (secs < 0 && nanos > 0) {
+                secs--;
+            }
+        }
+        return ofSeconds(secs, nanos);
+    }
+
+    public static TDuration parse(CharSequence text) {
+        int length = text.length();
+        int index = 0;
+        boolean negate = false;
+        if (index < length && (text.charAt(index) == '-' || text.charAt(index) == '+')) {
+            negate = text.charAt(index++) == '-';
+        }
+        if (index >= length || Character.toUpperCase(text.charAt(index++)) != 'P') {
+            throw parseError(text);
+        }
+        long seconds = 0;
+        long nanos = 0;
+        boolean timeSection = false;
+        boolean hasValue = false;
+        while (index < length) {
+            char c = Character.toUpperCase(text.charAt(index));
+            if (c == 'T') {
+                if (timeSection) {
+                    throw parseError(text);
+                }
+                timeSection = true;
+                ++index;
+                if (index == length) {
+                    throw parseError(text);
+                }
+                continue;
+            }
+            int start = index;
+            if (c == '-' || c == '+') {
+                ++index;
+            }
+            int digitsStart = index;
+            while (index < length && text.charAt(index) >= '0' && text.charAt(index) <= '9') {
+                ++index;
+            }
+            if (index == digitsStart || index == length) {
+                throw parseError(text);
+            }
+            long value = parseNumber(text, start, index);
+            char unit = Character.toUpperCase(text.charAt(index));
+            int fractionNanos = 0;
+            if (unit == '.' || unit == ',') {
+                if (!timeSection) {
+                    throw parseError(text);
+                }
+                ++index;
+                int fractionStart = index;
+                while (index < length && text.charAt(index) >= '0' && text.charAt(index) <= '9') {
+                    if (index - fractionStart < 9) {
+                        fractionNanos = fractionNanos * 10 + (text.charAt(index) - '0');
+                    }
+                    ++index;
+                }
+                if (index - fractionStart > 9 || index == length) {
+                    throw parseError(text);
+                }
+                for (int i = index - fractionStart; i < 9; ++i) {
+                    fractionNanos *= 10;
+                }
+                if (text.charAt(start) == '-') {
+                    fractionNanos = -fractionNanos;
+                }
+                unit = Character.toUpperCase(text.charAt(index));
+                if (unit != 'S') {
+                    throw parseError(text);
+                }
+            }
+            ++index;
+            long multiplier;
+            if (!timeSection && unit == 'D') {
+                multiplier = 86400;
+            } else if (timeSection && unit == 'H') {
+                multiplier = 3600;
+            } else if (timeSection && unit == 'M') {
+                multiplier = 60;
+            } else if (timeSection && unit == 'S') {
+                multiplier = 1;
+            } else {
+                throw parseError(text);
+            }
+            try {
+                seconds = Math.addExact(seconds, Math.multiplyExact(value, multiplier));
+            } catch (ArithmeticException e) {
+                throw new TDateTimeParseException("Text cannot be parsed to a Duration: overflow", text, 0, e);
+            }
+            nanos += fractionNanos;
+            hasValue = true;
+        }
+        if (!hasValue) {
+            throw parseError(text);
+        }
+        TDuration result = ofSeconds(seconds, nanos);
+        return negate ? result.negated() : result;
+    }
+
+    private static long parseNumber(CharSequence text, int start, int end) {
+        try {
+            return Long.parseLong(text.subSequence(text.charAt(start) == '+' ? start + 1 : start, end).toString());
+        } catch (NumberFormatException e) {
+            throw new TDateTimeParseException("Text cannot be parsed to a Duration: overflow", text, 0, e);
+        }
+    }
+
+    private static TDateTimeParseException parseError(CharSequence text) {
+        return new TDateTimeParseException("Text cannot be parsed to a Duration", text, 0);
+    }
+
+    @Override
+    public long get(TTemporalUnit unit) {
+        if (unit == TChronoUnit.SECONDS) {
+            return seconds;
+        } else if (unit == TChronoUnit.NANOS) {
+            return nanos;
+        }
+        throw new TUnsupportedTemporalTypeException("Unsupported unit: " + unit);
+    }
+
+    @Override
+    public List<TTemporalUnit> getUnits() {
+        return UNITS;
+    }
+
+    public boolean isZero() {
+        return (seconds | nanos) == 0;
+    }
+
+    public boolean isNegative() {
+        return seconds < 0;
+    }
+
+    public long getSeconds() {
+        return seconds;
+    }
+
+    public int getNano() {
+        return nanos;
+    }
+
+    public TDuration withSeconds(long seconds) {
+        return create(seconds, nanos);
+    }
+
+    public TDuration withNanos(int nanoOfSecond) {
+        TChronoField.NANO_OF_SECOND.checkValidIntValue(nanoOfSecond);
+        return create(seconds, nanoOfSecond);
+    }
+
+    public TDuration plus(TDuration duration) {
+        return plus(duration.seconds, duration.nanos);
+    }
+
+    public TDuration plus(long amountToAdd, TTemporalUnit unit) {
+        if (unit == TChronoUnit.DAYS) {
+            return plus(Math.multiplyExact(amountToAdd, 86400), 0);
+        }
+        if (unit.isDurationEstimated()) {
+            throw new TUnsupportedTemporalTypeException("Unit must not have an estimated duration");
+        }
+        if (amountToAdd == 0) {
+            return this;
+        }
+        if (unit instanceof TChronoUnit) {
+            switch ((TChronoUnit) unit) {
+                case NANOS:
+                    return plusNanos(amountToAdd);
+                case MICROS:
+                    return plusSeconds((amountToAdd / (1000_000L * 1000)) * 1000)
+                            .plusNanos((amountToAdd % (1000_000L * 1000)) * 1000);
+                case MILLIS:
+                    return plusMillis(amountToAdd);
+                case SECONDS:
+                    return plusSeconds(amountToAdd);
+                default:
+                    return plusSeconds(Math.multiplyExact(unit.getDuration().seconds, amountToAdd));
+            }
+        }
+        TDuration duration = unit.getDuration().multipliedBy(amountToAdd);
+        return plusSeconds(duration.getSeconds()).plusNanos(duration.getNano());
+    }
+
+    public TDuration plusDays(long daysToAdd) {
+        return plus(Math.multiplyExact(daysToAdd, 86400), 0);
+    }
+
+    public TDuration plusHours(long hoursToAdd) {
+        return plus(Math.multiplyExact(hoursToAdd, 3600), 0);
+    }
+
+    public TDuration plusMinutes(long minutesToAdd) {
+        return plus(Math.multiplyExact(minutesToAdd, 60), 0);
+    }
+
+    public TDuration plusSeconds(long secondsToAdd) {
+        return plus(secondsToAdd, 0);
+    }
+
+    public TDuration plusMillis(long millisToAdd) {
+        return plus(millisToAdd / 1000, (millisToAdd % 1000) * 1000_000);
+    }
+
+    public TDuration plusNanos(long nanosToAdd) {
+        return plus(0, nanosToAdd);
+    }
+
+    private TDuration plus(long secondsToAdd, long nanosToAdd) {
+        if ((secondsToAdd | nanosToAdd) == 0) {
+            return this;
+        }
+        long epochSec = Math.addExact(seconds, secondsToAdd);
+        epochSec = Math.addExact(epochSec, nanosToAdd / NANOS_PER_SECOND);
+        nanosToAdd = nanosToAdd % NANOS_PER_SECOND;
+        long nanoAdjustment = nanos + nanosToAdd;
+        return ofSeconds(epochSec, nanoAdjustment);
+    }
+
+    public TDuration minus(TDuration duration) {
+        long secsToSubtract = duration.seconds;
+        int nanosToSubtract = duration.nanos;
+        if (secsToSubtract == Long.MIN_VALUE) {
+            return plus(Long.MAX_VALUE, -nanosToSubtract).plus(1, 0);
+        }
+        return plus(-secsToSubtract, -nanosToSubtract);
+    }
+
+    public TDuration minus(long amountToSubtract, TTemporalUnit unit) {
+        return amountToSubtract == Long.MIN_VALUE
+                ? plus(Long.MAX_VALUE, unit).plus(1, unit)
+                : plus(-amountToSubtract, unit);
+    }
+
+    public TDuration minusDays(long daysToSubtract) {
+        return minus(daysToSubtract, TChronoUnit.DAYS);
+    }
+
+    public TDuration minusHours(long hoursToSubtract) {
+        return minus(hoursToSubtract, TChronoUnit.HOURS);
+    }
+
+    public TDuration minusMinutes(long minutesToSubtract) {
+        return minus(minutesToSubtract, TChronoUnit.MINUTES);
+    }
+
+    public TDuration minusSeconds(long secondsToSubtract) {
+        return minus(secondsToSubtract, TChronoUnit.SECONDS);
+    }
+
+    public TDuration minusMillis(long millisToSubtract) {
+        return minus(millisToSubtract, TChronoUnit.MILLIS);
+    }
+
+    public TDuration minusNanos(long nanosToSubtract) {
+        return minus(nanosToSubtract, TChronoUnit.NANOS);
+    }
+
+    public TDuration multipliedBy(long multiplicand) {
+        if (multiplicand == 0) {
+            return ZERO;
+        } else if (multiplicand == 1) {
+            return this;
+        }
+        long nanoProduct = (long) nanos * multiplicand;
+        long secs = Math.addExact(Math.multiplyExact(seconds, multiplicand),
+                Math.floorDiv(nanoProduct, NANOS_PER_SECOND));
+        return create(secs, (int) Math.floorMod(nanoProduct, NANOS_PER_SECOND));
+    }
+
+    public TDuration dividedBy(long divisor) {
+        if (divisor == 0) {
+            throw new ArithmeticException("Cannot divide by zero");
+        } else if (divisor == 1) {
+            return this;
+        }
+        long secs = seconds / divisor;
+        long secondsRemainder = seconds - secs * divisor;
+        long nanosResult = (secondsRemainder * NANOS_PER_SECOND + nanos) / divisor;
+        return ofSeconds(secs, nanosResult);
+    }
+
+    public TDuration negated() {
+        return multipliedBy(-1);
+    }
+
+    public TDuration abs() {
+        return isNegative() ? negated() : this;
+    }
+
+    @Override
+    public TTemporal addTo(TTemporal temporal) {
+        if (seconds != 0) {
+            temporal = temporal.plus(seconds, TChronoUnit.SECONDS);
+        }
+        if (nanos != 0) {
+            temporal = temporal.plus(nanos, TChronoUnit.NANOS);
+        }
+        return temporal;
+    }
+
+    @Override
+    public TTemporal subtractFrom(TTemporal temporal) {
+        if (seconds != 0) {
+            temporal = temporal.minus(seconds, TChronoUnit.SECONDS);
+        }
+        if (nanos != 0) {
+            temporal = temporal.minus(nanos, TChronoUnit.NANOS);
+        }
+        return temporal;
+    }
+
+    public long toDays() {
+        return seconds / 86400;
+    }
+
+    public long toHours() {
+        return seconds / 3600;
+    }
+
+    public long toMinutes() {
+        return seconds / 60;
+    }
+
+    public long toSeconds() {
+        return seconds;
+    }
+
+    public long toMillis() {
+        long millis = Math.multiplyExact(seconds, 1000);
+        return Math.addExact(millis, nanos / 1000_000);
+    }
+
+    public long toNanos() {
+        long totalNanos = Math.multiplyExact(seconds, NANOS_PER_SECOND);
+        return Math.addExact(totalNanos, nanos);
+    }
+
+    @Override
+    public int compareTo(TDuration other) {
+        int cmp = Long.compare(seconds, other.seconds);
+        return cmp != 0 ? cmp : nanos - other.nanos;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof TDuration)) {
+            return false;
+        }
+        TDuration that = (TDuration) other;
+        return seconds == that.seconds && nanos == that.nanos;
+    }
+
+    @Override
+    public int hashCode() {
+        return ((int) (seconds ^ (seconds >>> 32))) + 51 * nanos;
+    }
+
+    @Override
+    public String toString() {
+        if (isZero()) {
+            return "PT0S";
+        }
+        long effectiveTotalSecs = seconds;
+        if (seconds < 0 && nanos > 0) {
+            effectiveTotalSecs++;
+        }
+        long hours = effectiveTotalSecs / 3600;
+        int minutes = (int) ((effectiveTotalSecs % 3600) / 60);
+        int secs = (int) (effectiveTotalSecs % 60);
+        StringBuilder sb = new StringBuilder();
+        sb.append("PT");
+        if (hours != 0) {
+            sb.append(hours).append('H');
+        }
+        if (minutes != 0) {
+            sb.append(minutes).append('M');
+        }
+        if (secs == 0 && nanos == 0 && sb.length() > 2) {
+            return sb.toString();
+        }
+        if (seconds < 0 && nanos > 0) {
+            if (secs == 0) {
+                sb.append("-0");
+            } else {
+                sb.append(secs);
+            }
+        } else {
+            sb.append(secs);
+        }
+        if (nanos > 0) {
+            int pos = sb.length();
+            if (seconds < 0) {
+                sb.append(2L * NANOS_PER_SECOND - nanos);
+            } else {
+                sb.append(nanos + NANOS_PER_SECOND);
+            }
+            while (sb.charAt(sb.length() - 1) == '0') {
+                sb.setLength(sb.length() - 1);
+            }
+            sb.setCharAt(pos, '.');
+        }
+        sb.append('S');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,390 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time;
+
+import org.teavm.classlib.java.lang.TComparable;
+import org.teavm.classlib.java.time.format.TDateTimeFormatter;
+import org.teavm.classlib.java.time.temporal.TChronoField;
+import org.teavm.classlib.java.time.temporal.TChronoUnit;
+import org.teavm.classlib.java.time.temporal.TTemporal;
+import org.teavm.classlib.java.time.temporal.TTemporalAccessor;
+import org.teavm.classlib.java.time.temporal.TTemporalAdjuster;
+import org.teavm.classlib.java.time.temporal.TTemporalAmount;
+import org.teavm.classlib.java.time.temporal.TTemporalField;
+import org.teavm.classlib.java.time.temporal.TTemporalQueries;
+import org.teavm.classlib.java.time.temporal.TTemporalQuery;
+import org.teavm.classlib.java.time.temporal.TTemporalUnit;
+import org.teavm.classlib.java.time.temporal.TUnsupportedTemporalTypeException;
+
+public final class TInstant implements TTemporal, TTemporalAdjuster, TComparable<TInstant> {
+    private static final long MIN_SECOND = -31557014167219200L;
+    private static final long MAX_SECOND = 31556889864403199L;
+    public static final TInstant EPOCH = new TInstant(0, 0);
+    public static final TInstant MIN = new TInstant(MIN_SECOND, 0);
+    public static final TInstant MAX = new TInstant(MAX_SECOND, 999_999_999);
+    private final long seconds;
+    private final int nanos;
+
+    private TInstant(long seconds, int nanos) {
+        this.seconds = seconds;
+        this.nanos = nanos;
+    }
+
+    private static TInstant create(long seconds, int nanoOfSecond) {
+        if ((seconds | nanoOfSecond) == 0) {
+            return EPOCH;
+        }
+        if (seconds < MIN_SECOND || seconds > MAX_SECOND) {
+            throw new TDateTimeException("Instant exceeds minimum or maximum instant");
+        }
+        return new TInstant(seconds, nanoOfSecond);
+    }
+
+    public static TInstant now() {
+        return ofEpochMilli(System.currentTimeMillis());
+    }
+
+    public static TInstant ofEpochSecond(long epochSecond) {
+        return create(epochSecond, 0);
+    }
+
+    public static TInstant ofEpochSecond(long epochSecond, long nanoAdjustment) {
+        long secs = Math.addExact(epochSecond, Math.floorDiv(nanoAdjustment, TDuration.NANOS_PER_SECOND));
+        int nos = (int) Math.floorMod(nanoAdjustment, TDuration.NANOS_PER_SECOND);
+        return create(secs, nos);
+    }
+
+    public static TInstant ofEpochMilli(long epochMilli) {
+        return create(Math.floorDiv(epochMilli, 1000), (int) Math.floorMod(epochMilli, 1000) * 1000_000);
+    }
+
+    public static TInstant from(TTemporalAccessor temporal) {
+        if (temporal instanceof TInstant) {
+            return (TInstant) temporal;
+        }
+        try {
+            long instantSecs = temporal.getLong(TChronoField.INSTANT_SECONDS);
+            int nanoOfSecond = temporal.get(TChronoField.NANO_OF_SECOND);
+            return ofEpochSecond(instantSecs, nanoOfSecond);
+        } catch (TDateTimeException e) {
+            throw new TDateTimeException("Unable to obtain Instant from TemporalAccessor: " + temporal, e);
+        }
+    }
+
+    public static TInstant parse(CharSequence text) {
+        return TDateTimeFormatter.ISO_INSTANT.parse(text, TInstant::from);
+    }
+
+    @Override
+    public boolean isSupported(TTemporalField field) {
+        if (field instanceof TChronoField) {
+            return field == TChronoField.INSTANT_SECONDS || field == TChronoField.NANO_OF_SECOND
+                    || field == TChronoField.MICRO_OF_SECOND || field == TChronoField.MILLI_OF_SECOND;
+        }
+        return field != null && field.isSupportedBy(this);
+    }
+
+    @Override
+    public boolean isSupported(TTemporalUnit unit) {
+        if (unit instanceof TChronoUnit) {
+            return unit.isTimeBased() || unit == TChronoUnit.DAYS;
+        }
+        return unit != null && unit.isSupportedBy(this);
+    }
+
+    @Override
+    public int get(TTemporalField field) {
+        if (field instanceof TChronoField && field != TChronoField.INSTANT_SECONDS) {
+            return (int) getLong(field);
+        }
+        return TTemporal.super.get(field);
+    }
+
+    @Override
+    public long getLong(TTemporalField field) {
+        if (!(field instanceof TChronoField)) {
+            return field.getFrom(this);
+        }
+        switch ((TChronoField) field) {
+            case NANO_OF_SECOND:
+                return nanos;
+            case MICRO_OF_SECOND:
+                return nanos / 1000;
+            case MILLI_OF_SECOND:
+                return nanos / 1000_000;
+            case INSTANT_SECONDS:
+                return seconds;
+            default:
+                throw new TUnsupportedTemporalTypeException("Unsupported field: " + field);
+        }
+    }
+
+    public long getEpochSecond() {
+        return seconds;
+    }
+
+    public int getNano() {
+        return nanos;
+    }
+
+    @Override
+    public TInstant with(TTemporalAdjuster adjuster) {
+        return (TInstant) adjuster.adjustInto(this);
+    }
+
+    @Override
+    public TInstant with(TTemporalField field, long newValue) {
+        if (!(field instanceof TChronoField)) {
+            return field.adjustInto(this, newValue);
+        }
+        TChronoField f = (TChronoField) field;
+        f.checkValidValue(newValue);
+        switch (f) {
+            case MILLI_OF_SECOND:
+                return withNanos((int) newValue * 1000_000);
+            case MICRO_OF_SECOND:
+                return withNanos((int) newValue * 1000);
+            case NANO_OF_SECOND:
+                return withNanos((int) newValue);
+            case INSTANT_SECONDS:
+                return newValue != seconds ? create(newValue, nanos) : this;
+            default:
+                throw new TUnsupportedTemporalTypeException("Unsupported field: " + field);
+        }
+    }
+
+    private TInstant withNanos(int newNanos) {
+        return newNanos != nanos ? create(seconds, newNanos) : this;
+    }
+
+    public TInstant truncatedTo(TTemporalUnit unit) {
+        if (unit == TChronoUnit.NANOS) {
+            return this;
+        }
+        TDuration unitDuration = unit.getDuration();
+        if (unitDuration.getSeconds() > TLocalTime.SECONDS_PER_DAY) {
+            throw new TUnsupportedTemporalTypeException("Unit is too large to be used for truncation");
+        }
+        long dur = unitDuration.toNanos();
+        if (TLocalTime.NANOS_PER_DAY % dur != 0) {
+            throw new TUnsupportedTemporalTypeException("Unit must divide into a standard day without remainder");
+        }
+        long nanoOfDay = Math.floorMod(seconds, TLocalTime.SECONDS_PER_DAY) * TLocalTime.NANOS_PER_SECOND + nanos;
+        long result = Math.floorDiv(nanoOfDay, dur) * dur;
+        return plusNanos(result - nanoOfDay);
+    }
+
+    @Override
+    public TInstant plus(TTemporalAmount amount) {
+        return (TInstant) amount.addTo(this);
+    }
+
+    @Override
+    public TInstant plus(long amountToAdd, TTemporalUnit unit) {
+        if (!(unit instanceof TChronoUnit)) {
+            return unit.addTo(this, amountToAdd);
+        }
+        switch ((TChronoUnit) unit) {
+            case NANOS:
+                return plusNanos(amountToAdd);
+            case MICROS:
+                return plus(amountToAdd / 1000_000, (amountToAdd % 1000_000) * 1000);
+            case MILLIS:
+                return plusMillis(amountToAdd);
+            case SECONDS:
+                return plusSeconds(amountToAdd);
+            case MINUTES:
+                return plusSeconds(Math.multiplyExact(amountToAdd, 60));
+            case HOURS:
+                return plusSeconds(Math.multiplyExact(amountToAdd, 3600));
+            case HALF_DAYS:
+                return plusSeconds(Math.multiplyExact(amountToAdd, TLocalTime.SECONDS_PER_DAY / 2));
+            case DAYS:
+                return plusSeconds(Math.multiplyExact(amountToAdd, TLocalTime.SECONDS_PER_DAY));
+            default:
+                throw new TUnsupportedTemporalTypeException("Unsupported unit: " + unit);
+        }
+    }
+
+    public TInstant plusSeconds(long secondsToAdd) {
+        return plus(secondsToAdd, 0);
+    }
+
+    public TInstant plusMillis(long millisToAdd) {
+        return plus(millisToAdd / 1000, (millisToAdd % 1000) * 1000_000);
+    }
+
+    public TInstant plusNanos(long nanosToAdd) {
+        return plus(0, nanosToAdd);
+    }
+
+    private TInstant plus(long secondsToAdd, long nanosToAdd) {
+        if ((secondsToAdd | nanosToAdd) == 0) {
+            return this;
+        }
+        long epochSec = Math.addExact(seconds, secondsToAdd);
+        epochSec = Math.addExact(epochSec, nanosToAdd / TDuration.NANOS_PER_SECOND);
+        nanosToAdd = nanosToAdd % TDuration.NANOS_PER_SECOND;
+        return ofEpochSecond(epochSec, nanos + nanosToAdd);
+    }
+
+    @Override
+    public TInstant minus(TTemporalAmount amount) {
+        return (TInstant) amount.subtractFrom(this);
+    }
+
+    @Override
+    public TInstant minus(long amountToSubtract, TTemporalUnit unit) {
+        return amountToSubtract == Long.MIN_VALUE
+                ? plus(Long.MAX_VALUE, unit).plus(1, unit)
+                : plus(-amountToSubtract, unit);
+    }
+
+    public TInstant minusSeconds(long secondsToSubtract) {
+        return secondsToSubtract == Long.MIN_VALUE
+                ? plusSeconds(Long.MAX_VALUE).plusSeconds(1)
+                : plusSeconds(-secondsToSubtract);
+    }
+
+    public TInstant minusMillis(long millisToSubtract) {
+        return millisToSubtract == Long.MIN_VALUE
+                ? plusMillis(Long.MAX_VALUE).plusMillis(1)
+                : plusMillis(-millisToSubtract);
+    }
+
+    public TInstant minusNanos(long nanosToSubtract) {
+        return nanosToSubtract == Long.MIN_VALUE
+                ? plusNanos(Long.MAX_VALUE).plusNanos(1)
+                : plusNanos(-nanosToSubtract);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R query(TTemporalQuery<R> query) {
+        if (query == TTemporalQueries.precision()) {
+            return (R) TChronoUnit.NANOS;
+        } else if (query == TTemporalQueries.localDate() || query == TTemporalQueries.localTime()
+                || query == TTemporalQueries.zone() || query == TTemporalQueries.offset()) {
+            return null;
+        }
+        return query.queryFrom(this);
+    }
+
+    @Override
+    public TTemporal adjustInto(TTemporal temporal) {
+        return temporal.with(TChronoField.INSTANT_SECONDS, seconds).with(TChronoField.NANO_OF_SECOND, nanos);
+    }
+
+    @Override
+    public long until(TTemporal endExclusive, TTemporalUnit unit) {
+        TInstant end = from(endExclusive);
+        if (!(unit instanceof TChronoUnit)) {
+            return unit.between(this, end);
+        }
+        switch ((TChronoUnit) unit) {
+            case NANOS:
+                return nanosUntil(end);
+            case MICROS:
+                return nanosUntil(end) / 1000;
+            case MILLIS:
+                return Math.subtractExact(end.toEpochMilli(), toEpochMilli());
+            case SECONDS:
+                return secondsUntil(end);
+            case MINUTES:
+                return secondsUntil(end) / 60;
+            case HOURS:
+                return secondsUntil(end) / 3600;
+            case HALF_DAYS:
+                return secondsUntil(end) / (TLocalTime.SECONDS_PER_DAY / 2);
+            case DAYS:
+                return secondsUntil(end) / TLocalTime.SECONDS_PER_DAY;
+            default:
+                throw new TUnsupportedTemporalTypeException("Unsupported unit: " + unit);
+        }
+    }
+
+    private long nanosUntil(TInstant end) {
+        long secondsDiff = Math.subtractExact(end.seconds, seconds);
+        long totalNanos = Math.multiplyExact(secondsDiff, TDuration.NANOS_PER_SECOND);
+        return Math.addExact(totalNanos, end.nanos - nanos);
+    }
+
+    private long secondsUntil(TInstant end) {
+        long secondsDiff = Math.subtractExact(end.seconds, seconds);
+        long nanosDiff = end.nanos - nanos;
+        if (secondsDiff > 0 && nanosDiff < 0) {
+            secondsDiff--;
+        } else if (secondsDiff < 0 && nanosDiff > 0) {
+            secondsDiff++;
+        }
+        return secondsDiff;
+    }
+
+    public TZonedDateTime atZone(TZoneId zone) {
+        return TZonedDateTime.ofInstant(this, zone);
+    }
+
+    public TOffsetDateTime atOffset(TZoneOffset offset) {
+        return TOffsetDateTime.ofInstant(this, offset);
+    }
+
+    public long toEpochMilli() {
+        if (seconds < 0 && nanos > 0) {
+            long millis = Math.multiplyExact(seconds + 1, 1000);
+            long adjustment = nanos / 1000_000 - 1000;
+            return Math.addExact(millis, adjustment);
+        } else {
+            long millis = Math.multiplyExact(seconds, 1000);
+            return Math.addExact(millis, nanos / 1000_000);
+        }
+    }
+
+    @Override
+    public int compareTo(TInstant otherInstant) {
+        int cmp = Long.compare(seconds, otherInstant.seconds);
+        return cmp != 0 ? cmp : nanos - otherInstant.nanos;
+    }
+
+    public boolean isAfter(TInstant otherInstant) {
+        return compareTo(otherInstant) > 0;
+    }
+
+    public boolean isBefore(TInstant otherInstant) {
+        return compareTo(otherInstant) < 0;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof TInstant)) {
+            return false;
+        }
+        TInstant that = (TInstant) other;
+        return seconds == that.seconds && nanos == that.nanos;
+    }
+
+    @Override
+    public int hashCode() {
+        return ((int) (seconds ^ (seconds >>> 32))) + 51 * nanos;
+    }
+
+    @Override
+    public String toString() {
+        return TDateTimeFormatter.ISO_INSTANT.format(this);
+    }
+}
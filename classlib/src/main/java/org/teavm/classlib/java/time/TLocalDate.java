@@ -0,0 +1,687 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time;
+
+import org.teavm.classlib.java.time.chrono.TChronoLocalDate;
+import org.teavm.classlib.java.time.format.TDateTimeFormatter;
+import org.teavm.classlib.java.time.temporal.TChronoField;
+import org.teavm.classlib.java.time.temporal.TChronoUnit;
+import org.teavm.classlib.java.time.temporal.TTemporal;
+import org.teavm.classlib.java.time.temporal.TTemporalAccessor;
+import org.teavm.classlib.java.time.temporal.TTemporalAdjuster;
+import org.teavm.classlib.java.time.temporal.TTemporalAmount;
+import org.teavm.classlib.java.time.temporal.TTemporalField;
+import org.teavm.classlib.java.time.temporal.TTemporalQueries;
+import org.teavm.classlib.java.time.temporal.TTemporalQuery;
+import org.teavm.classlib.java.time.temporal.TTemporalUnit;
+import org.teavm.classlib.java.time.temporal.TUnsupportedTemporalTypeException;
+import org.teavm.classlib.java.time.temporal.TValueRange;
+
+/**
+ * <p>A date without time zone. Date is stored as year, month and day fields, all conversions to and from
+ * epoch day are performed with integer arithmetic, without going through {@code Calendar}.</p>
+ *
+ * @author Alexey Andreev
+ */
+public final class TLocalDate implements TChronoLocalDate {
+    static final int MIN_YEAR = -999_999_999;
+    static final int MAX_YEAR = 999_999_999;
+    static final int DAYS_PER_CYCLE = 146097;
+    static final long DAYS_0000_TO_1970 = (DAYS_PER_CYCLE * 5L) - (30L * 365L + 7L);
+    // Largest day count (counted from 0000-03-01) for which 400 * day does not overflow int
+    private static final int FAST_DAY_LIMIT = Integer.MAX_VALUE / 400;
+    public static final TLocalDate MIN = new TLocalDate(MIN_YEAR, 1, 1);
+    public static final TLocalDate MAX = new TLocalDate(MAX_YEAR, 12, 31);
+    public static final TLocalDate EPOCH = new TLocalDate(1970, 1, 1);
+    private final int year;
+    private final int month;
+    private final int day;
+
+    private TLocalDate(int year, int month, int day) {
+        this.year = year;
+        this.month = month;
+        this.day = day;
+    }
+
+    public static TLocalDate now() {
+        return now(TZoneId.systemDefault());
+    }
+
+    public static TLocalDate now(TZoneId zone) {
+        return ofInstant(TInstant.now(), zone);
+    }
+
+    public static TLocalDate of(int year, TMonth month, int dayOfMonth) {
+        return of(year, month.getValue(), dayOfMonth);
+    }
+
+    public static TLocalDate of(int year, int month, int dayOfMonth) {
+        TChronoField.YEAR.checkValidValue(year);
+        TChronoField.MONTH_OF_YEAR.checkValidValue(month);
+        TChronoField.DAY_OF_MONTH.checkValidValue(dayOfMonth);
+        if (dayOfMonth > 28 && dayOfMonth > lengthOfMonth(year, month)) {
+            if (dayOfMonth == 29) {
+                throw new TDateTimeException("Invalid date 'February 29' as '" + year + "' is not a leap year");
+            }
+            throw new TDateTimeException("Invalid date '" + TMonth.of(month).name() + " " + dayOfMonth + "'");
+        }
+        return new TLocalDate(year, month, dayOfMonth);
+    }
+
+    public static TLocalDate ofYearDay(int year, int dayOfYear) {
+        TChronoField.YEAR.checkValidValue(year);
+        TChronoField.DAY_OF_YEAR.checkValidValue(dayOfYear);
+        boolean leap = isLeapYear(year);
+        if (dayOfYear == 366 && !leap) {
+            throw new TDateTimeException("Invalid date 'DayOfYear 366' as '" + year + "' is not a leap year");
+        }
+        TMonth month = TMonth.of((dayOfYear - 1) / 31 + 1);
+        int monthEnd = month.firstDayOfYear(leap) + month.length(leap) - 1;
+        if (dayOfYear > monthEnd) {
+            month = month.plus(1);
+        }
+        int dayOfMonth = dayOfYear - month.firstDayOfYear(leap) + 1;
+        return new TLocalDate(year, month.getValue(), dayOfMonth);
+    }
+
+    public static TLocalDate ofInstant(TInstant instant, TZoneId zone) {
+        TZoneOffset offset = zone.getRules().getOffset(instant);
+        long localSecond = instant.getEpochSecond() + offset.getTotalSeconds();
+        return ofEpochDay(Math.floorDiv(localSecond, 86400));
+    }
+
+    public static TLocalDate ofEpochDay(long epochDay) {
+        TChronoField.EPOCH_DAY.checkValidValue(epochDay);
+        long zeroDay = epochDay + DAYS_0000_TO_1970 - 60;
+        if (zeroDay >= 0 && zeroDay < FAST_DAY_LIMIT) {
+            return ofMarchBasedDay((int) zeroDay, 0);
+        }
+        long cycles = Math.floorDiv(zeroDay, DAYS_PER_CYCLE);
+        return ofMarchBasedDay((int) (zeroDay - cycles * DAYS_PER_CYCLE), (int) (cycles * 400));
+    }
+
+    /**
+     * Computes date by the number of days since 0000-03-01. Counting from March puts leap day at the very end
+     * of a year, which makes it possible to find month by a linear formula.
+     */
+    private static TLocalDate ofMarchBasedDay(int zeroDay, int baseYear) {
+        int yearEst = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+        int doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        if (doyEst < 0) {
+            yearEst--;
+            doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        }
+        int marchMonth0 = (doyEst * 5 + 2) / 153;
+        int month = (marchMonth0 + 2) % 12 + 1;
+        int dayOfMonth = doyEst - (marchMonth0 * 306 + 5) / 10 + 1;
+        yearEst += marchMonth0 / 10;
+        return new TLocalDate(baseYear + yearEst, month, dayOfMonth);
+    }
+
+    public static TLocalDate from(TTemporalAccessor temporal) {
+        TLocalDate date = temporal.query(TTemporalQueries.localDate());
+        if (date == null) {
+            throw new TDateTimeException("Unable to obtain LocalDate from TemporalAccessor: " + temporal);
+        }
+        return date;
+    }
+
+    public static TLocalDate parse(CharSequence text) {
+        return parse(text, TDateTimeFormatter.ISO_LOCAL_DATE);
+    }
+
+    public static TLocalDate parse(CharSequence text, TDateTimeFormatter formatter) {
+        return formatter.parse(text, TLocalDate::from);
+    }
+
+    static boolean isLeapYear(long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static TLocalDate resolvePreviousValid(int year, int month, int day) {
+        if (day > 28) {
+            day = Math.min(day, lengthOfMonth(year, month));
+        }
+        return new TLocalDate(year, month, day);
+    }
+
+    @Override
+    public boolean isSupported(TTemporalField field) {
+        if (field instanceof TChronoField) {
+            return field.isDateBased();
+        }
+        return field != null && field.isSupportedBy(this);
+    }
+
+    @Override
+    public boolean isSupported(TTemporalUnit unit) {
+        if (unit instanceof TChronoUnit) {
+            return unit.isDateBased();
+        }
+        return unit != null && unit.isSupportedBy(this);
+    }
+
+    @Override
+    public TValueRange range(TTemporalField field) {
+        if (!(field instanceof TChronoField)) {
+            return field.rangeRefinedBy(this);
+        }
+        if (!field.isDateBased()) {
+            throw new TUnsupportedTemporalTypeException("Unsupported field: " + field);
+        }
+        switch ((TChronoField) field) {
+            case DAY_OF_MONTH:
+                return TValueRange.of(1, lengthOfMonth());
+            case DAY_OF_YEAR:
+                return TValueRange.of(1, lengthOfYear());
+            case ALIGNED_WEEK_OF_MONTH:
+                return TValueRange.of(1, month == 2 && !isLeapYear() ? 4 : 5);
+            case YEAR_OF_ERA:
+                return year <= 0 ? TValueRange.of(1, MAX_YEAR + 1L) : TValueRange.of(1, MAX_YEAR);
+            default:
+                return field.range();
+        }
+    }
+
+    @Override
+    public int get(TTemporalField field) {
+        if (field instanceof TChronoField) {
+            return (int) getField((TChronoField) field);
+        }
+        return TChronoLocalDate.super.get(field);
+    }
+
+    @Override
+    public long getLong(TTemporalField field) {
+        if (field instanceof TChronoField) {
+            if (field == TChronoField.EPOCH_DAY) {
+                return toEpochDay();
+            } else if (field == TChronoField.PROLEPTIC_MONTH) {
+                return getProlepticMonth();
+            }
+            return getField((TChronoField) field);
+        }
+        return field.getFrom(this);
+    }
+
+    private long getField(TChronoField field) {
+        switch (field) {
+            case DAY_OF_WEEK:
+                return getDayOfWeek().getValue();
+            case ALIGNED_DAY_OF_WEEK_IN_MONTH:
+                return ((day - 1) % 7) + 1;
+            case ALIGNED_DAY_OF_WEEK_IN_YEAR:
+                return ((getDayOfYear() - 1) % 7) + 1;
+            case DAY_OF_MONTH:
+                return day;
+            case DAY_OF_YEAR:
+                return getDayOfYear();
+            case EPOCH_DAY:
+                return toEpochDay();
+            case ALIGNED_WEEK_OF_MONTH:
+                return ((day - 1) / 7) + 1;
+            case ALIGNED_WEEK_OF_YEAR:
+                return ((getDayOfYear() - 1) / 7) + 1;
+            case MONTH_OF_YEAR:
+                return month;
+            case PROLEPTIC_MONTH:
+                return getProlepticMonth();
+            case YEAR_OF_ERA:
+                return year >= 1 ? year : 1 - year;
+            case YEAR:
+                return year;
+            case ERA:
+                return year >= 1 ? 1 : 0;
+            default:
+                throw new TUnsupportedTemporalTypeException("Unsupported field: " + field);
+        }
+    }
+
+    private long getProlepticMonth() {
+        return year * 12L + month - 1;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public int getMonthValue() {
+        return month;
+    }
+
+    public TMonth getMonth() {
+        return TMonth.of(month);
+    }
+
+    public int getDayOfMonth() {
+        return day;
+    }
+
+    public int getDayOfYear() {
+        return getMonth().firstDayOfYear(isLeapYear()) + day - 1;
+    }
+
+    public TDayOfWeek getDayOfWeek() {
+        return TDayOfWeek.of((int) Math.floorMod(toEpochDay() + 3, 7) + 1);
+    }
+
+    @Override
+    public boolean isLeapYear() {
+        return isLeapYear(year);
+    }
+
+    @Override
+    public int lengthOfMonth() {
+        return lengthOfMonth(year, month);
+    }
+
+    @Override
+    public int lengthOfYear() {
+        return isLeapYear() ? 366 : 365;
+    }
+
+    @Override
+    public TLocalDate with(TTemporalAdjuster adjuster) {
+        if (adjuster instanceof TLocalDate) {
+            return (TLocalDate) adjuster;
+        }
+        return (TLocalDate) adjuster.adjustInto(this);
+    }
+
+    @Override
+    public TLocalDate with(TTemporalField field, long newValue) {
+        if (!(field instanceof TChronoField)) {
+            return field.adjustInto(this, newValue);
+        }
+        TChronoField f = (TChronoField) field;
+        f.checkValidValue(newValue);
+        switch (f) {
+            case DAY_OF_WEEK:
+                return plusDays(newValue - getDayOfWeek().getValue());
+            case ALIGNED_DAY_OF_WEEK_IN_MONTH:
+            case ALIGNED_DAY_OF_WEEK_IN_YEAR:
+                return plusDays(newValue - getLong(field));
+            case DAY_OF_MONTH:
+                return withDayOfMonth((int) newValue);
+            case DAY_OF_YEAR:
+                return withDayOfYear((int) newValue);
+            case EPOCH_DAY:
+                return ofEpochDay(newValue);
+            case ALIGNED_WEEK_OF_MONTH:
+            case ALIGNED_WEEK_OF_YEAR:
+                return plusWeeks(newValue - getLong(field));
+            case MONTH_OF_YEAR:
+                return withMonth((int) newValue);
+            case PROLEPTIC_MONTH:
+                return plusMonths(newValue - getProlepticMonth());
+            case YEAR_OF_ERA:
+                return withYear((int) (year >= 1 ? newValue : 1 - newValue));
+            case YEAR:
+                return withYear((int) newValue);
+            case ERA:
+                return getLong(TChronoField.ERA) == newValue ? this : withYear(1 - year);
+            default:
+                throw new TUnsupportedTemporalTypeException("Unsupported field: " + field);
+        }
+    }
+
+    public TLocalDate withYear(int year) {
+        if (this.year == year) {
+            return this;
+        }
+        TChronoField.YEAR.checkValidValue(year);
+        return resolvePreviousValid(year, month, day);
+    }
+
+    public TLocalDate withMonth(int month) {
+        if (this.month == month) {
+            return this;
+        }
+        TChronoField.MONTH_OF_YEAR.checkValidValue(month);
+        return resolvePreviousValid(year, month, day);
+    }
+
+    public TLocalDate withDayOfMonth(int dayOfMonth) {
+        return day == dayOfMonth ? this : of(year, month, dayOfMonth);
+    }
+
+    public TLocalDate withDayOfYear(int dayOfYear) {
+        return getDayOfYear() == dayOfYear ? this : ofYearDay(year, dayOfYear);
+    }
+
+    @Override
+    public TLocalDate plus(TTemporalAmount amount) {
+        if (amount instanceof TPeriod) {
+            TPeriod period = (TPeriod) amount;
+            return plusMonths(period.toTotalMonths()).plusDays(period.getDays());
+        }
+        return (TLocalDate) amount.addTo(this);
+    }
+
+    @Override
+    public TLocalDate plus(long amountToAdd, TTemporalUnit unit) {
+        if (!(unit instanceof TChronoUnit)) {
+            return unit.addTo(this, amountToAdd);
+        }
+        switch ((TChronoUnit) unit) {
+            case DAYS:
+                return plusDays(amountToAdd);
+            case WEEKS:
+                return plusWeeks(amountToAdd);
+            case MONTHS:
+                return plusMonths(amountToAdd);
+            case YEARS:
+                return plusYears(amountToAdd);
+            case DECADES:
+                return plusYears(Math.multiplyExact(amountToAdd, 10));
+            case CENTURIES:
+                return plusYears(Math.multiplyExact(amountToAdd, 100));
+            case MILLENNIA:
+                return plusYears(Math.multiplyExact(amountToAdd, 1000));
+            case ERAS:
+                return with(TChronoField.ERA, Math.addExact(getLong(TChronoField.ERA), amountToAdd));
+            default:
+                throw new TUnsupportedTemporalTypeException("Unsupported unit: " + unit);
+        }
+    }
+
+    public TLocalDate plusYears(long yearsToAdd) {
+        if (yearsToAdd == 0) {
+            return this;
+        }
+        int newYear = TChronoField.YEAR.checkValidIntValue(year + yearsToAdd);
+        return resolvePreviousValid(newYear, month, day);
+    }
+
+    public TLocalDate plusMonths(long monthsToAdd) {
+        if (monthsToAdd == 0) {
+            return this;
+        }
+        long calcMonths = getProlepticMonth() + monthsToAdd;
+        int newYear = TChronoField.YEAR.checkValidIntValue(Math.floorDiv(calcMonths, 12));
+        int newMonth = (int) Math.floorMod(calcMonths, 12) + 1;
+        return resolvePreviousValid(newYear, newMonth, day);
+    }
+
+    public TLocalDate plusWeeks(long weeksToAdd) {
+        return plusDays(Math.multiplyExact(weeksToAdd, 7));
+    }
+
+    public TLocalDate plusDays(long daysToAdd) {
+        if (daysToAdd == 0) {
+            return this;
+        }
+        long dayOfMonth = day + daysToAdd;
+        if (dayOfMonth > 0 && dayOfMonth <= 28) {
+            return new TLocalDate(year, month, (int) dayOfMonth);
+        }
+        return ofEpochDay(Math.addExact(toEpochDay(), daysToAdd));
+    }
+
+    @Override
+    public TLocalDate minus(TTemporalAmount amount) {
+        if (amount instanceof TPeriod) {
+            TPeriod period = (TPeriod) amount;
+            return minusMonths(period.toTotalMonths()).minusDays(period.getDays());
+        }
+        return (TLocalDate) amount.subtractFrom(this);
+    }
+
+    @Override
+    public TLocalDate minus(long amountToSubtract, TTemporalUnit unit) {
+        return amountToSubtract == Long.MIN_VALUE
+                ? plus(Long.MAX_VALUE, unit).plus(1, unit)
+                : plus(-amountToSubtract, unit);
+    }
+
+    public TLocalDate minusYears(long yearsToSubtract) {
+        return minus(yearsToSubtract, TChronoUnit.YEARS);
+    }
+
+    public TLocalDate minusMonths(long monthsToSubtract) {
+        return minus(monthsToSubtract, TChronoUnit.MONTHS);
+    }
+
+    public TLocalDate minusWeeks(long weeksToSubtract) {
+        return minus(weeksToSubtract, TChronoUnit.WEEKS);
+    }
+
+    public TLocalDate minusDays(long daysToSubtract) {
+        return minus(daysToSubtract, TChronoUnit.DAYS);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R query(TTemporalQuery<R> query) {
+        if (query == TTemporalQueries.localDate()) {
+            return (R) this;
+        }
+        return TChronoLocalDate.super.query(query);
+    }
+
+    @Override
+    public TTemporal adjustInto(TTemporal temporal) {
+        return temporal.with(TChronoField.EPOCH_DAY, toEpochDay());
+    }
+
+    @Override
+    public long until(TTemporal endExclusive, TTemporalUnit unit) {
+        TLocalDate end = from(endExclusive);
+        if (!(unit instanceof TChronoUnit)) {
+            return unit.between(this, end);
+        }
+        switch ((TChronoUnit) unit) {
+            case DAYS:
+                return end.toEpochDay() - toEpochDay();
+            case WEEKS:
+                return (end.toEpochDay() - toEpochDay()) / 7;
+            case MONTHS:
+                return monthsUntil(end);
+            case YEARS:
+                return monthsUntil(end) / 12;
+            case DECADES:
+                return monthsUntil(end) / 120;
+            case CENTURIES:
+                return monthsUntil(end) / 1200;
+            case MILLENNIA:
+                return monthsUntil(end) / 12000;
+            case ERAS:
+                return end.getLong(TChronoField.ERA) - getLong(TChronoField.ERA);
+            default:
+                throw new TUnsupportedTemporalTypeException("Unsupported unit: " + unit);
+        }
+    }
+
+    private long monthsUntil(TLocalDate end) {
+        long packed1 = getProlepticMonth() * 32L + day;
+        long packed2 = end.getProlepticMonth() * 32L + end.day;
+        return (packed2 - packed1) / 32;
+    }
+
+    public TPeriod until(TChronoLocalDate endDateExclusive) {
+        TLocalDate end = from(endDateExclusive);
+        long totalMonths = end.getProlepticMonth() - getProlepticMonth();
+        int days = end.day - day;
+        if (totalMonths > 0 && days < 0) {
+            totalMonths--;
+            TLocalDate calcDate = plusMonths(totalMonths);
+            days = (int) (end.toEpochDay() - calcDate.toEpochDay());
+        } else if (totalMonths < 0 && days > 0) {
+            totalMonths++;
+            days -= end.lengthOfMonth();
+        }
+        long years = totalMonths / 12;
+        int months = (int) (totalMonths % 12);
+        return TPeriod.of(Math.toIntExact(years), months, days);
+    }
+
+    public String format(TDateTimeFormatter formatter) {
+        return formatter.format(this);
+    }
+
+    public TLocalDateTime atTime(TLocalTime time) {
+        return TLocalDateTime.of(this, time);
+    }
+
+    public TLocalDateTime atTime(int hour, int minute) {
+        return atTime(TLocalTime.of(hour, minute));
+    }
+
+    public TLocalDateTime atTime(int hour, int minute, int second) {
+        return atTime(TLocalTime.of(hour, minute, second));
+    }
+
+    public TLocalDateTime atTime(int hour, int minute, int second, int nanoOfSecond) {
+        return atTime(TLocalTime.of(hour, minute, second, nanoOfSecond));
+    }
+
+    public TLocalDateTime atStartOfDay() {
+        return TLocalDateTime.of(this, TLocalTime.MIDNIGHT);
+    }
+
+    public TZonedDateTime atStartOfDay(TZoneId zone) {
+        return TZonedDateTime.of(atStartOfDay(), zone);
+    }
+
+    @Override
+    public long toEpochDay() {
+        int m = month;
+        long total;
+        if (year >= 0 && year < FAST_DAY_LIMIT / 366) {
+            int y = year;
+            total = 365 * y + (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        } else {
+            long y = year;
+            total = 365 * y;
+            if (y >= 0) {
+                total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+            } else {
+                total -= y / -4 - y / -100 + y / -400;
+            }
+        }
+        total += (367 * m - 362) / 12;
+        total += day - 1;
+        if (m > 2) {
+            total--;
+            if (!isLeapYear()) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    @Override
+    public int compareTo(TChronoLocalDate other) {
+        if (other instanceof TLocalDate) {
+            return compareTo0((TLocalDate) other);
+        }
+        return TChronoLocalDate.super.compareTo(other);
+    }
+
+    int compareTo0(TLocalDate other) {
+        int cmp = Integer.compare(year, other.year);
+        if (cmp == 0) {
+            cmp = Integer.compare(month, other.month);
+            if (cmp == 0) {
+                cmp = Integer.compare(day, other.day);
+            }
+        }
+        return cmp;
+    }
+
+    @Override
+    public boolean isAfter(TChronoLocalDate other) {
+        return compareTo(other) > 0;
+    }
+
+    @Override
+    public boolean isBefore(TChronoLocalDate other) {
+        return compareTo(other) < 0;
+    }
+
+    @Override
+    public boolean isEqual(TChronoLocalDate other) {
+        return compareTo(other) == 0;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TLocalDate)) {
+            return false;
+        }
+        TLocalDate other = (TLocalDate) obj;
+        return year == other.year && month == other.month && day == other.day;
+    }
+
+    @Override
+    public int hashCode() {
+        return (year & 0xFFFFF800) ^ ((year << 11) + (month << 6) + day);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(10);
+        appendTo(sb);
+        return sb.toString();
+    }
+
+    void appendTo(StringBuilder sb) {
+        int absYear = Math.abs(year);
+        if (absYear < 1000) {
+            if (year < 0) {
+                sb.append('-');
+            }
+            appendPadded(sb, absYear, 4);
+        } else {
+            if (year > 9999) {
+                sb.append('+');
+            }
+            sb.append(year);
+        }
+        sb.append('-');
+        appendPadded(sb, month, 2);
+        sb.append('-');
+        appendPadded(sb, day, 2);
+    }
+
+    static void appendPadded(StringBuilder sb, int value, int width) {
+        int limit = 10;
+        for (int i = 1; i < width; ++i) {
+            if (value < limit) {
+                sb.append('0');
+            }
+            limit *= 10;
+        }
+        sb.append(value);
+    }
+}
@@ -0,0 +1,560 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time;
+
+import org.teavm.classlib.java.time.chrono.TChronoLocalDateTime;
+import org.teavm.classlib.java.time.format.TDateTimeFormatter;
+import org.teavm.classlib.java.time.temporal.TChronoField;
+import org.teavm.classlib.java.time.temporal.TChronoUnit;
+import org.teavm.classlib.java.time.temporal.TTemporal;
+import org.teavm.classlib.java.time.temporal.TTemporalAccessor;
+import org.teavm.classlib.java.time.temporal.TTemporalAdjuster;
+import org.teavm.classlib.java.time.temporal.TTemporalAmount;
+import org.teavm.classlib.java.time.temporal.TTemporalField;
+import org.teavm.classlib.java.time.temporal.TTemporalQueries;
+import org.teavm.classlib.java.time.temporal.TTemporalQuery;
+import org.teavm.classlib.java.time.temporal.TTemporalUnit;
+import org.teavm.classlib.java.time.temporal.TValueRange;
+
+public final class TLocalDateTime implements TChronoLocalDateTime<TLocalDate> {
+    public static final TLocalDateTime MIN = new TLocalDateTime(TLocalDate.MIN, TLocalTime.MIN);
+    public static final TLocalDateTime MAX = new TLocalDateTime(TLocalDate.MAX, TLocalTime.MAX);
+    private final TLocalDate date;
+    private final TLocalTime time;
+
+    private TLocalDateTime(TLocalDate date, TLocalTime time) {
+        this.date = date;
+        this.time = time;
+    }
+
+    public static TLocalDateTime now() {
+        return now(TZoneId.systemDefault());
+    }
+
+    public static TLocalDateTime now(TZoneId zone) {
+        return ofInstant(TInstant.now(), zone);
+    }
+
+    public static TLocalDateTime of(int year, TMonth month, int dayOfMonth, int hour, int minute) {
+        return new TLocalDateTime(TLocalDate.of(year, month, dayOfMonth), TLocalTime.of(hour, minute));
+    }
+
+    public static TLocalDateTime of(int year, TMonth month, int dayOfMonth, int hour, int minute, int second) {
+        return new TLocalDateTime(TLocalDate.of(year, month, dayOfMonth), TLocalTime.of(hour, minute, second));
+    }
+
+    public static TLocalDateTime of(int year, TMonth month, int dayOfMonth, int hour, int minute, int second,
+            int nanoOfSecond) {
+        return new TLocalDateTime(TLocalDate.of(year, month, dayOfMonth),
+                TLocalTime.of(hour, minute, second, nanoOfSecond));
+    }
+
+    public static TLocalDateTime of(int year, int month, int dayOfMonth, int hour, int minute) {
+        return new TLocalDateTime(TLocalDate.of(year, month, dayOfMonth), TLocalTime.of(hour, minute));
+    }
+
+    public static TLocalDateTime of(int year, int month, int dayOfMonth, int hour, int minute, int second) {
+        return new TLocalDateTime(TLocalDate.of(year, month, dayOfMonth), TLocalTime.of(hour, minute, second));
+    }
+
+    public static TLocalDateTime of(int year, int month, int dayOfMonth, int hour, int minute, int second,
+            int nanoOfSecond) {
+        return new TLocalDateTime(TLocalDate.of(year, month, dayOfMonth),
+                TLocalTime.of(hour, minute, second, nanoOfSecond));
+    }
+
+    public static TLocalDateTime of(TLocalDate date, TLocalTime time) {
+        if (date == null || time == null) {
+            throw new NullPointerException();
+        }
+        return new TLocalDateTime(date, time);
+    }
+
+    public static TLocalDateTime ofInstant(TInstant instant, TZoneId zone) {
+        TZoneOffset offset = zone.getRules().getOffset(instant);
+        return ofEpochSecond(instant.getEpochSecond(), instant.getNano(), offset);
+    }
+
+    public static TLocalDateTime ofEpochSecond(long epochSecond, int nanoOfSecond, TZoneOffset offset) {
+        TChronoField.NANO_OF_SECOND.checkValidValue(nanoOfSecond);
+        long localSecond = epochSecond + offset.getTotalSeconds();
+        long localEpochDay = Math.floorDiv(localSecond, TLocalTime.SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(localSecond, TLocalTime.SECONDS_PER_DAY);
+        TLocalDate date = TLocalDate.ofEpochDay(localEpochDay);
+        TLocalTime time = TLocalTime.ofNanoOfDay(secondOfDay * TLocalTime.NANOS_PER_SECOND + nanoOfSecond);
+        return new TLocalDateTime(date, time);
+    }
+
+    public static TLocalDateTime from(TTemporalAccessor temporal) {
+        if (temporal instanceof TLocalDateTime) {
+            return (TLocalDateTime) temporal;
+        } else if (temporal instanceof TZonedDateTime) {
+            return ((TZonedDateTime) temporal).toLocalDateTime();
+        }
+        try {
+            return new TLocalDateTime(TLocalDate.from(temporal), TLocalTime.from(temporal));
+        } catch (TDateTimeException e) {
+            throw new TDateTimeException("Unable to obtain LocalDateTime from TemporalAccessor: " + temporal, e);
+        }
+    }
+
+    public static TLocalDateTime parse(CharSequence text) {
+        return parse(text, TDateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+
+    public static TLocalDateTime parse(CharSequence text, TDateTimeFormatter formatter) {
+        return formatter.parse(text, TLocalDateTime::from);
+    }
+
+    private TLocalDateTime with(TLocalDate newDate, TLocalTime newTime) {
+        if (date == newDate && time == newTime) {
+            return this;
+        }
+        return new TLocalDateTime(newDate, newTime);
+    }
+
+    @Override
+    public boolean isSupported(TTemporalField field) {
+        if (field instanceof TChronoField) {
+            return field.isDateBased() || field.isTimeBased();
+        }
+        return field != null && field.isSupportedBy(this);
+    }
+
+    @Override
+    public boolean isSupported(TTemporalUnit unit) {
+        if (unit instanceof TChronoUnit) {
+            return unit != TChronoUnit.FOREVER;
+        }
+        return unit != null && unit.isSupportedBy(this);
+    }
+
+    @Override
+    public TValueRange range(TTemporalField field) {
+        if (field instanceof TChronoField) {
+            return field.isTimeBased() ? time.range(field) : date.range(field);
+        }
+        return field.rangeRefinedBy(this);
+    }
+
+    @Override
+    public int get(TTemporalField field) {
+        if (field instanceof TChronoField) {
+            return field.isTimeBased() ? time.get(field) : date.get(field);
+        }
+        return TChronoLocalDateTime.super.get(field);
+    }
+
+    @Override
+    public long getLong(TTemporalField field) {
+        if (field instanceof TChronoField) {
+            return field.isTimeBased() ? time.getLong(field) : date.getLong(field);
+        }
+        return field.getFrom(this);
+    }
+
+    @Override
+    public TLocalDate toLocalDate() {
+        return date;
+    }
+
+    public int getYear() {
+        return date.getYear();
+    }
+
+    public int getMonthValue() {
+        return date.getMonthValue();
+    }
+
+    public TMonth getMonth() {
+        return date.getMonth();
+    }
+
+    public int getDayOfMonth() {
+        return date.getDayOfMonth();
+    }
+
+    public int getDayOfYear() {
+        return date.getDayOfYear();
+    }
+
+    public TDayOfWeek getDayOfWeek() {
+        return date.getDayOfWeek();
+    }
+
+    @Override
+    public TLocalTime toLocalTime() {
+        return time;
+    }
+
+    public int getHour() {
+        return time.getHour();
+    }
+
+    public int getMinute() {
+        return time.getMinute();
+    }
+
+    public int getSecond() {
+        return time.getSecond();
+    }
+
+    public int getNano() {
+        return time.getNano();
+    }
+
+    @Override
+    public TLocalDateTime with(TTemporalAdjuster adjuster) {
+        if (adjuster instanceof TLocalDate) {
+            return with((TLocalDate) adjuster, time);
+        } else if (adjuster instanceof TLocalTime) {
+            return with(date, (TLocalTime) adjuster);
+        } else if (adjuster instanceof TLocalDateTime) {
+            return (TLocalDateTime) adjuster;
+        }
+        return (TLocalDateTime) adjuster.adjustInto(this);
+    }
+
+    @Override
+    public TLocalDateTime with(TTemporalField field, long newValue) {
+        if (field instanceof TChronoField) {
+            if (field.isTimeBased()) {
+                return with(date, time.with(field, newValue));
+            } else {
+                return with(date.with(field, newValue), time);
+            }
+        }
+        return field.adjustInto(this, newValue);
+    }
+
+    public TLocalDateTime withYear(int year) {
+        return with(date.withYear(year), time);
+    }
+
+    public TLocalDateTime withMonth(int month) {
+        return with(date.withMonth(month), time);
+    }
+
+    public TLocalDateTime withDayOfMonth(int dayOfMonth) {
+        return with(date.withDayOfMonth(dayOfMonth), time);
+    }
+
+    public TLocalDateTime withDayOfYear(int dayOfYear) {
+        return with(date.withDayOfYear(dayOfYear), time);
+    }
+
+    public TLocalDateTime withHour(int hour) {
+        return with(date, time.withHour(hour));
+    }
+
+    public TLocalDateTime withMinute(int minute) {
+        return with(date, time.withMinute(minute));
+    }
+
+    public TLocalDateTime withSecond(int second) {
+        return with(date, time.withSecond(second));
+    }
+
+    public TLocalDateTime withNano(int nanoOfSecond) {
+        return with(date, time.withNano(nanoOfSecond));
+    }
+
+    public TLocalDateTime truncatedTo(TTemporalUnit unit) {
+        return with(date, time.truncatedTo(unit));
+    }
+
+    @Override
+    public TLocalDateTime plus(TTemporalAmount amount) {
+        if (amount instanceof TPeriod) {
+            return with(date.plus(amount), time);
+        }
+        return (TLocalDateTime) amount.addTo(this);
+    }
+
+    @Override
+    public TLocalDateTime plus(long amountToAdd, TTemporalUnit unit) {
+        if (!(unit instanceof TChronoUnit)) {
+            return unit.addTo(this, amountToAdd);
+        }
+        switch ((TChronoUnit) unit) {
+            case NANOS:
+                return plusNanos(amountToAdd);
+            case MICROS:
+                return plusDays(amountToAdd / 86400_000_000L).plusNanos((amountToAdd % 86400_000_000L) * 1000);
+            case MILLIS:
+                return plusDays(amountToAdd / 86400_000L).plusNanos((amountToAdd % 86400_000L) * 1000_000);
+            case SECONDS:
+                return plusSeconds(amountToAdd);
+            case MINUTES:
+                return plusMinutes(amountToAdd);
+            case HOURS:
+                return plusHours(amountToAdd);
+            case HALF_DAYS:
+                return plusDays(amountToAdd / 256).plusHours((amountToAdd % 256) * 12);
+            default:
+                return with(date.plus(amountToAdd, unit), time);
+        }
+    }
+
+    public TLocalDateTime plusYears(long years) {
+        return with(date.plusYears(years), time);
+    }
+
+    public TLocalDateTime plusMonths(long months) {
+        return with(date.plusMonths(months), time);
+    }
+
+    public TLocalDateTime plusWeeks(long weeks) {
+        return with(date.plusWeeks(weeks), time);
+    }
+
+    public TLocalDateTime plusDays(long days) {
+        return with(date.plusDays(days), time);
+    }
+
+    public TLocalDateTime plusHours(long hours) {
+        return plusWithOverflow(date, hours, 0, 0, 0, 1);
+    }
+
+    public TLocalDateTime plusMinutes(long minutes) {
+        return plusWithOverflow(date, 0, minutes, 0, 0, 1);
+    }
+
+    public TLocalDateTime plusSeconds(long seconds) {
+        return plusWithOverflow(date, 0, 0, seconds, 0, 1);
+    }
+
+    public TLocalDateTime plusNanos(long nanos) {
+        return plusWithOverflow(date, 0, 0, 0, nanos, 1);
+    }
+
+    @Override
+    public TLocalDateTime minus(TTemporalAmount amount) {
+        if (amount instanceof TPeriod) {
+            return with(date.minus(amount), time);
+        }
+        return (TLocalDateTime) amount.subtractFrom(this);
+    }
+
+    @Override
+    public TLocalDateTime minus(long amountToSubtract, TTemporalUnit unit) {
+        return amountToSubtract == Long.MIN_VALUE
+                ? plus(Long.MAX_VALUE, unit).plus(1, unit)
+                : plus(-amountToSubtract, unit);
+    }
+
+    public TLocalDateTime minusYears(long years) {
+        return years == Long.MIN_VALUE ? plusYears(Long.MAX_VALUE).plusYears(1) : plusYears(-years);
+    }
+
+    public TLocalDateTime minusMonths(long months) {
+        return months == Long.MIN_VALUE ? plusMonths(Long.MAX_VALUE).plusMonths(1) : plusMonths(-months);
+    }
+
+    public TLocalDateTime minusWeeks(long weeks) {
+        return weeks == Long.MIN_VALUE ? plusWeeks(Long.MAX_VALUE).plusWeeks(1) : plusWeeks(-weeks);
+    }
+
+    public TLocalDateTime minusDays(long days) {
+        return days == Long.MIN_VALUE ? plusDays(Long.MAX_VALUE).plusDays(1) : plusDays(-days);
+    }
+
+    public TLocalDateTime minusHours(long hours) {
+        return plusWithOverflow(date, hours, 0, 0, 0, -1);
+    }
+
+    public TLocalDateTime minusMinutes(long minutes) {
+        return plusWithOverflow(date, 0, minutes, 0, 0, -1);
+    }
+
+    public TLocalDateTime minusSeconds(long seconds) {
+        return plusWithOverflow(date, 0, 0, seconds, 0, -1);
+    }
+
+    public TLocalDateTime minusNanos(long nanos) {
+        return plusWithOverflow(date, 0, 0, 0, nanos, -1);
+    }
+
+    private TLocalDateTime plusWithOverflow(TLocalDate newDate, long hours, long minutes, long seconds,
+            long nanos, int sign) {
+        if ((hours | minutes | seconds | nanos) == 0) {
+            return with(newDate, time);
+        }
+        long totalDays = nanos / TLocalTime.NANOS_PER_DAY + seconds / TLocalTime.SECONDS_PER_DAY
+                + minutes / 1440 + hours / 24;
+        totalDays *= sign;
+        long totalNanos = nanos % TLocalTime.NANOS_PER_DAY
+                + (seconds % TLocalTime.SECONDS_PER_DAY) * TLocalTime.NANOS_PER_SECOND
+                + (minutes % 1440) * TLocalTime.NANOS_PER_MINUTE
+                + (hours % 24) * TLocalTime.NANOS_PER_HOUR;
+        long currentNanoOfDay = time.toNanoOfDay();
+        totalNanos = totalNanos * sign + currentNanoOfDay;
+        totalDays += Math.floorDiv(totalNanos, TLocalTime.NANOS_PER_DAY);
+        long newNanoOfDay = Math.floorMod(totalNanos, TLocalTime.NANOS_PER_DAY);
+        TLocalTime newTime = newNanoOfDay == currentNanoOfDay ? time : TLocalTime.ofNanoOfDay(newNanoOfDay);
+        return with(newDate.plusDays(totalDays), newTime);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R query(TTemporalQuery<R> query) {
+        if (query == TTemporalQueries.localDate()) {
+            return (R) date;
+        } else if (query == TTemporalQueries.localTime()) {
+            return (R) time;
+        }
+        return TChronoLocalDateTime.super.query(query);
+    }
+
+    @Override
+    public long until(TTemporal endExclusive, TTemporalUnit unit) {
+        TLocalDateTime end = from(endExclusive);
+        if (!(unit instanceof TChronoUnit)) {
+            return unit.between(this, end);
+        }
+        if (unit.isTimeBased()) {
+            long amount = end.date.toEpochDay() - date.toEpochDay();
+            if (amount == 0) {
+                return time.until(end.time, unit);
+            }
+            long timePart = end.time.toNanoOfDay() - time.toNanoOfDay();
+            if (amount > 0) {
+                amount--;
+                timePart += TLocalTime.NANOS_PER_DAY;
+            } else {
+                amount++;
+                timePart -= TLocalTime.NANOS_PER_DAY;
+            }
+            switch ((TChronoUnit) unit) {
+                case NANOS:
+                    amount = Math.multiplyExact(amount, TLocalTime.NANOS_PER_DAY);
+                    break;
+                case MICROS:
+                    amount = Math.multiplyExact(amount, TLocalTime.NANOS_PER_DAY / 1000);
+                    timePart = timePart / 1000;
+                    break;
+                case MILLIS:
+                    amount = Math.multiplyExact(amount, TLocalTime.NANOS_PER_DAY / 1000_000);
+                    timePart = timePart / 1000_000;
+                    break;
+                case SECONDS:
+                    amount = Math.multiplyExact(amount, TLocalTime.SECONDS_PER_DAY);
+                    timePart = timePart / TLocalTime.NANOS_PER_SECOND;
+                    break;
+                case MINUTES:
+                    amount = Math.multiplyExact(amount, 1440);
+                    timePart = timePart / TLocalTime.NANOS_PER_MINUTE;
+                    break;
+                case HOURS:
+                    amount = Math.multiplyExact(amount, 24);
+                    timePart = timePart / TLocalTime.NANOS_PER_HOUR;
+                    break;
+                default:
+                    amount = Math.multiplyExact(amount, 2);
+                    timePart = timePart / (TLocalTime.NANOS_PER_HOUR * 12);
+                    break;
+            }
+            return Math.addExact(amount, timePart);
+        }
+        TLocalDate endDate = end.date;
+        if (endDate.isAfter(date) && end.time.isBefore(time)) {
+            endDate = endDate.minusDays(1);
+        } else if (endDate.isBefore(date) && end.time.isAfter(time)) {
+            endDate = endDate.plusDays(1);
+        }
+        return date.until(endDate, unit);
+    }
+
+    public String format(TDateTimeFormatter formatter) {
+        return formatter.format(this);
+    }
+
+    public TZonedDateTime atZone(TZoneId zone) {
+        return TZonedDateTime.of(this, zone);
+    }
+
+    public TOffsetDateTime atOffset(TZoneOffset offset) {
+        return TOffsetDateTime.of(this, offset);
+    }
+
+    @Override
+    public long toEpochSecond(TZoneOffset offset) {
+        return date.toEpochDay() * TLocalTime.SECONDS_PER_DAY + time.toSecondOfDay() - offset.getTotalSeconds();
+    }
+
+    @Override
+    public TInstant toInstant(TZoneOffset offset) {
+        return TInstant.ofEpochSecond(toEpochSecond(offset), time.getNano());
+    }
+
+    @Override
+    public int compareTo(TChronoLocalDateTime<?> other) {
+        if (other instanceof TLocalDateTime) {
+            return compareTo0((TLocalDateTime) other);
+        }
+        return TChronoLocalDateTime.super.compareTo(other);
+    }
+
+    private int compareTo0(TLocalDateTime other) {
+        int cmp = date.compareTo0(other.date);
+        return cmp != 0 ? cmp : time.compareTo(other.time);
+    }
+
+    @Override
+    public boolean isAfter(TChronoLocalDateTime<?> other) {
+        return compareTo(other) > 0;
+    }
+
+    @Override
+    public boolean isBefore(TChronoLocalDateTime<?> other) {
+        return compareTo(other) < 0;
+    }
+
+    @Override
+    public boolean isEqual(TChronoLocalDateTime<?> other) {
+        return compareTo(other) == 0;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TLocalDateTime)) {
+            return false;
+        }
+        TLocalDateTime other = (TLocalDateTime) obj;
+        return date.equals(other.date) && time.equals(other.time);
+    }
+
+    @Override
+    public int hashCode() {
+        return date.hashCode() ^ time.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(29);
+        appendTo(sb);
+        return sb.toString();
+    }
+
+    void appendTo(StringBuilder sb) {
+        date.appendTo(sb);
+        sb.append('T');
+        time.appendTo(sb);
+    }
+}
@@ -0,0 +1,534 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time;
+
+import org.teavm.classlib.java.lang.TComparable;
+import org.teavm.classlib.java.time.format.TDateTimeFormatter;
+import org.teavm.classlib.java.time.temporal.TChronoField;
+import org.teavm.classlib.java.time.temporal.TChronoUnit;
+import org.teavm.classlib.java.time.temporal.TTemporal;
+import org.teavm.classlib.java.time.temporal.TTemporalAccessor;
+import org.teavm.classlib.java.time.temporal.TTemporalAdjuster;
+import org.teavm.classlib.java.time.temporal.TTemporalAmount;
+import org.teavm.classlib.java.time.temporal.TTemporalField;
+import org.teavm.classlib.java.time.temporal.TTemporalQueries;
+import org.teavm.classlib.java.time.temporal.TTemporalQuery;
+import org.teavm.classlib.java.time.temporal.TTemporalUnit;
+import org.teavm.classlib.java.time.temporal.TUnsupportedTemporalTypeException;
+
+public final class TLocalTime implements TTemporal, TTemporalAdjuster, TComparable<TLocalTime> {
+    static final int SECONDS_PER_DAY = 86400;
+    static final long NANOS_PER_SECOND = 1000_000_000L;
+    static final long NANOS_PER_MINUTE = NANOS_PER_SECOND * 60;
+    static final long NANOS_PER_HOUR = NANOS_PER_MINUTE * 60;
+    static final long NANOS_PER_DAY = NANOS_PER_HOUR * 24;
+    public static final TLocalTime MIN = new TLocalTime(0, 0, 0, 0);
+    public static final TLocalTime MAX = new TLocalTime(23, 59, 59, 999_999_999);
+    public static final TLocalTime MIDNIGHT = MIN;
+    public static final TLocalTime NOON = new TLocalTime(12, 0, 0, 0);
+    private final int hour;
+    private final int minute;
+    private final int second;
+    private final int nano;
+
+    private TLocalTime(int hour, int minute, int second, int nano) {
+        this.hour = hour;
+        this.minute = minute;
+        this.second = second;
+        this.nano = nano;
+    }
+
+    private static TLocalTime create(int hour, int minute, int second, int nano) {
+        if ((minute | second | nano) == 0) {
+            if (hour == 0) {
+                return MIDNIGHT;
+            } else if (hour == 12) {
+                return NOON;
+            }
+        }
+        return new TLocalTime(hour, minute, second, nano);
+    }
+
+    public static TLocalTime now() {
+        return now(TZoneId.systemDefault());
+    }
+
+    public static TLocalTime now(TZoneId zone) {
+        TInstant now = TInstant.now();
+        TZoneOffset offset = zone.getRules().getOffset(now);
+        long localSecond = now.getEpochSecond() + offset.getTotalSeconds();
+        int secondOfDay = (int) Math.floorMod(localSecond, SECONDS_PER_DAY);
+        return ofNanoOfDay(secondOfDay * NANOS_PER_SECOND + now.getNano());
+    }
+
+    public static TLocalTime of(int hour, int minute) {
+        TChronoField.HOUR_OF_DAY.checkValidValue(hour);
+        TChronoField.MINUTE_OF_HOUR.checkValidValue(minute);
+        return create(hour, minute, 0, 0);
+    }
+
+    public static TLocalTime of(int hour, int minute, int second) {
+        TChronoField.HOUR_OF_DAY.checkValidValue(hour);
+        TChronoField.MINUTE_OF_HOUR.checkValidValue(minute);
+        TChronoField.SECOND_OF_MINUTE.checkValidValue(second);
+        return create(hour, minute, second, 0);
+    }
+
+    public static TLocalTime of(int hour, int minute, int second, int nanoOfSecond) {
+        TChronoField.HOUR_OF_DAY.checkValidValue(hour);
+        TChronoField.MINUTE_OF_HOUR.checkValidValue(minute);
+        TChronoField.SECOND_OF_MINUTE.checkValidValue(second);
+        TChronoField.NANO_OF_SECOND.checkValidValue(nanoOfSecond);
+        return create(hour, minute, second, nanoOfSecond);
+    }
+
+    public static TLocalTime ofSecondOfDay(long secondOfDay) {
+        TChronoField.SECOND_OF_DAY.checkValidValue(secondOfDay);
+        int seconds = (int) secondOfDay;
+        return create(seconds / 3600, (seconds / 60) % 60, seconds % 60, 0);
+    }
+
+    public static TLocalTime ofNanoOfDay(long nanoOfDay) {
+        TChronoField.NANO_OF_DAY.checkValidValue(nanoOfDay);
+        int seconds = (int) (nanoOfDay / NANOS_PER_SECOND);
+        int nanos = (int) (nanoOfDay - seconds * NANOS_PER_SECOND);
+        return create(seconds / 3600, (seconds / 60) % 60, seconds % 60, nanos);
+    }
+
+    public static TLocalTime from(TTemporalAccessor temporal) {
+        TLocalTime time = temporal.query(TTemporalQueries.localTime());
+        if (time == null) {
+            throw new TDateTimeException("Unable to obtain LocalTime from TemporalAccessor: " + temporal);
+        }
+        return time;
+    }
+
+    public static TLocalTime parse(CharSequence text) {
+        return parse(text, TDateTimeFormatter.ISO_LOCAL_TIME);
+    }
+
+    public static TLocalTime parse(CharSequence text, TDateTimeFormatter formatter) {
+        return formatter.parse(text, TLocalTime::from);
+    }
+
+    @Override
+    public boolean isSupported(TTemporalField field) {
+        if (field instanceof TChronoField) {
+            return field.isTimeBased();
+        }
+        return field != null && field.isSupportedBy(this);
+    }
+
+    @Override
+    public boolean isSupported(TTemporalUnit unit) {
+        if (unit instanceof TChronoUnit) {
+            return unit.isTimeBased();
+        }
+        return unit != null && unit.isSupportedBy(this);
+    }
+
+    @Override
+    public int get(TTemporalField field) {
+        if (field instanceof TChronoField) {
+            return (int) getField((TChronoField) field);
+        }
+        return TTemporal.super.get(field);
+    }
+
+    @Override
+    public long getLong(TTemporalField field) {
+        if (field instanceof TChronoField) {
+            return getField((TChronoField) field);
+        }
+        return field.getFrom(this);
+    }
+
+    private long getField(TChronoField field) {
+        switch (field) {
+            case NANO_OF_SECOND:
+                return nano;
+            case NANO_OF_DAY:
+                return toNanoOfDay();
+            case MICRO_OF_SECOND:
+                return nano / 1000;
+            case MICRO_OF_DAY:
+                return toNanoOfDay() / 1000;
+            case MILLI_OF_SECOND:
+                return nano / 1000_000;
+            case MILLI_OF_DAY:
+                return toNanoOfDay() / 1000_000;
+            case SECOND_OF_MINUTE:
+                return second;
+            case SECOND_OF_DAY:
+                return toSecondOfDay();
+            case MINUTE_OF_HOUR:
+                return minute;
+            case MINUTE_OF_DAY:
+                return hour * 60 + minute;
+            case HOUR_OF_AMPM:
+                return hour % 12;
+            case CLOCK_HOUR_OF_AMPM: {
+                int hourOfAmPm = hour % 12;
+                return hourOfAmPm == 0 ? 12 : hourOfAmPm;
+            }
+            case HOUR_OF_DAY:
+                return hour;
+            case CLOCK_HOUR_OF_DAY:
+                return hour == 0 ? 24 : hour;
+            case AMPM_OF_DAY:
+                return hour / 12;
+            default:
+                throw new TUnsupportedTemporalTypeException("Unsupported field: " + field);
+        }
+    }
+
+    public int getHour() {
+        return hour;
+    }
+
+    public int getMinute() {
+        return minute;
+    }
+
+    public int getSecond() {
+        return second;
+    }
+
+    public int getNano() {
+        return nano;
+    }
+
+    @Override
+    public TLocalTime with(TTemporalAdjuster adjuster) {
+        if (adjuster instanceof TLocalTime) {
+            return (TLocalTime) adjuster;
+        }
+        return (TLocalTime) adjuster.adjustInto(this);
+    }
+
+    @Override
+    public TLocalTime with(TTemporalField field, long newValue) {
+        if (!(field instanceof TChronoField)) {
+            return field.adjustInto(this, newValue);
+        }
+        TChronoField f = (TChronoField) field;
+        f.checkValidValue(newValue);
+        switch (f) {
+            case NANO_OF_SECOND:
+                return withNano((int) newValue);
+            case NANO_OF_DAY:
+                return ofNanoOfDay(newValue);
+            case MICRO_OF_SECOND:
+                return withNano((int) newValue * 1000);
+            case MICRO_OF_DAY:
+                return ofNanoOfDay(newValue * 1000);
+            case MILLI_OF_SECOND:
+                return withNano((int) newValue * 1000_000);
+            case MILLI_OF_DAY:
+                return ofNanoOfDay(newValue * 1000_000);
+            case SECOND_OF_MINUTE:
+                return withSecond((int) newValue);
+            case SECOND_OF_DAY:
+                return plusSeconds(newValue - toSecondOfDay());
+            case MINUTE_OF_HOUR:
+                return withMinute((int) newValue);
+            case MINUTE_OF_DAY:
+                return plusMinutes(newValue - (hour * 60 + minute));
+            case HOUR_OF_AMPM:
+                return plusHours(newValue - (hour % 12));
+            case CLOCK_HOUR_OF_AMPM:
+                return plusHours((newValue == 12 ? 0 : newValue) - (hour % 12));
+            case HOUR_OF_DAY:
+                return withHour((int) newValue);
+            case CLOCK_HOUR_OF_DAY:
+                return withHour((int) (newValue == 24 ? 0 : newValue));
+            case AMPM_OF_DAY:
+                return plusHours((newValue - (hour / 12)) * 12);
+            default:
+                throw new TUnsupportedTemporalTypeException("Unsupported field: " + field);
+        }
+    }
+
+    public TLocalTime withHour(int hour) {
+        if (this.hour == hour) {
+            return this;
+        }
+        TChronoField.HOUR_OF_DAY.checkValidValue(hour);
+        return create(hour, minute, second, nano);
+    }
+
+    public TLocalTime withMinute(int minute) {
+        if (this.minute == minute) {
+            return this;
+        }
+        TChronoField.MINUTE_OF_HOUR.checkValidValue(minute);
+        return create(hour, minute, second, nano);
+    }
+
+    public TLocalTime withSecond(int second) {
+        if (this.second == second) {
+            return this;
+        }
+        TChronoField.SECOND_OF_MINUTE.checkValidValue(second);
+        return create(hour, minute, second, nano);
+    }
+
+    public TLocalTime withNano(int nanoOfSecond) {
+        if (nano == nanoOfSecond) {
+            return this;
+        }
+        TChronoField.NANO_OF_SECOND.checkValidValue(nanoOfSecond);
+        return create(hour, minute, second, nanoOfSecond);
+    }
+
+    public TLocalTime truncatedTo(TTemporalUnit unit) {
+        if (unit == TChronoUnit.NANOS) {
+            return this;
+        }
+        TDuration unitDuration = unit.getDuration();
+        if (unitDuration.getSeconds() > SECONDS_PER_DAY) {
+            throw new TUnsupportedTemporalTypeException("Unit is too large to be used for truncation");
+        }
+        long dur = unitDuration.toNanos();
+        if (NANOS_PER_DAY % dur != 0) {
+            throw new TUnsupportedTemporalTypeException("Unit must divide into a standard day without remainder");
+        }
+        long nanoOfDay = toNanoOfDay();
+        return ofNanoOfDay((nanoOfDay / dur) * dur);
+    }
+
+    @Override
+    public TLocalTime plus(TTemporalAmount amount) {
+        return (TLocalTime) amount.addTo(this);
+    }
+
+    @Override
+    public TLocalTime plus(long amountToAdd, TTemporalUnit unit) {
+        if (!(unit instanceof TChronoUnit)) {
+            return unit.addTo(this, amountToAdd);
+        }
+        switch ((TChronoUnit) unit) {
+            case NANOS:
+                return plusNanos(amountToAdd);
+            case MICROS:
+                return plusNanos((amountToAdd % (NANOS_PER_DAY / 1000)) * 1000);
+            case MILLIS:
+                return plusNanos((amountToAdd % (NANOS_PER_DAY / 1000_000)) * 1000_000);
+            case SECONDS:
+                return plusSeconds(amountToAdd);
+            case MINUTES:
+                return plusMinutes(amountToAdd);
+            case HOURS:
+                return plusHours(amountToAdd);
+            case HALF_DAYS:
+                return plusHours((amountToAdd % 2) * 12);
+            default:
+                throw new TUnsupportedTemporalTypeException("Unsupported unit: " + unit);
+        }
+    }
+
+    public TLocalTime plusHours(long hoursToAdd) {
+        if (hoursToAdd == 0) {
+            return this;
+        }
+        int newHour = ((int) (hoursToAdd % 24) + hour + 24) % 24;
+        return create(newHour, minute, second, nano);
+    }
+
+    public TLocalTime plusMinutes(long minutesToAdd) {
+        if (minutesToAdd == 0) {
+            return this;
+        }
+        int minuteOfDay = hour * 60 + minute;
+        int newMinuteOfDay = ((int) (minutesToAdd % 1440) + minuteOfDay + 1440) % 1440;
+        if (minuteOfDay == newMinuteOfDay) {
+            return this;
+        }
+        return create(newMinuteOfDay / 60, newMinuteOfDay % 60, second, nano);
+    }
+
+    public TLocalTime plusSeconds(long secondsToAdd) {
+        if (secondsToAdd == 0) {
+            return this;
+        }
+        int secondOfDay = toSecondOfDay();
+        int newSecondOfDay = ((int) (secondsToAdd % SECONDS_PER_DAY) + secondOfDay + SECONDS_PER_DAY)
+                % SECONDS_PER_DAY;
+        if (secondOfDay == newSecondOfDay) {
+            return this;
+        }
+        return create(newSecondOfDay / 3600, (newSecondOfDay / 60) % 60, newSecondOfDay % 60, nano);
+    }
+
+    public TLocalTime plusNanos(long nanosToAdd) {
+        if (nanosToAdd == 0) {
+            return this;
+        }
+        long nanoOfDay = toNanoOfDay();
+        long newNanoOfDay = ((nanosToAdd % NANOS_PER_DAY) + nanoOfDay + NANOS_PER_DAY) % NANOS_PER_DAY;
+        if (nanoOfDay == newNanoOfDay) {
+            return this;
+        }
+        return ofNanoOfDay(newNanoOfDay);
+    }
+
+    @Override
+    public TLocalTime minus(TTemporalAmount amount) {
+        return (TLocalTime) amount.subtractFrom(this);
+    }
+
+    @Override
+    public TLocalTime minus(long amountToSubtract, TTemporalUnit unit) {
+        return amountToSubtract == Long.MIN_VALUE
+                ? plus(Long.MAX_VALUE, unit).plus(1, unit)
+                : plus(-amountToSubtract, unit);
+    }
+
+    public TLocalTime minusHours(long hoursToSubtract) {
+        return plusHours(-(hoursToSubtract % 24));
+    }
+
+    public TLocalTime minusMinutes(long minutesToSubtract) {
+        return plusMinutes(-(minutesToSubtract % 1440));
+    }
+
+    public TLocalTime minusSeconds(long secondsToSubtract) {
+        return plusSeconds(-(secondsToSubtract % SECONDS_PER_DAY));
+    }
+
+    public TLocalTime minusNanos(long nanosToSubtract) {
+        return plusNanos(-(nanosToSubtract % NANOS_PER_DAY));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R query(TTemporalQuery<R> query) {
+        if (query == TTemporalQueries.localTime()) {
+            return (R) this;
+        } else if (query == TTemporalQueries.localDate()) {
+            return null;
+        } else if (query == TTemporalQueries.precision()) {
+            return (R) TChronoUnit.NANOS;
+        }
+        return TTemporal.super.query(query);
+    }
+
+    @Override
+    public TTemporal adjustInto(TTemporal temporal) {
+        return temporal.with(TChronoField.NANO_OF_DAY, toNanoOfDay());
+    }
+
+    @Override
+    public long until(TTemporal endExclusive, TTemporalUnit unit) {
+        TLocalTime end = from(endExclusive);
+        if (!(unit instanceof TChronoUnit)) {
+            return unit.between(this, end);
+        }
+        long nanosUntil = end.toNanoOfDay() - toNanoOfDay();
+        switch ((TChronoUnit) unit) {
+            case NANOS:
+                return nanosUntil;
+            case MICROS:
+                return nanosUntil / 1000;
+            case MILLIS:
+                return nanosUntil / 1000_000;
+            case SECONDS:
+                return nanosUntil / NANOS_PER_SECOND;
+            case MINUTES:
+                return nanosUntil / NANOS_PER_MINUTE;
+            case HOURS:
+                return nanosUntil / NANOS_PER_HOUR;
+            case HALF_DAYS:
+                return nanosUntil / (12 * NANOS_PER_HOUR);
+            default:
+                throw new TUnsupportedTemporalTypeException("Unsupported unit: " + unit);
+        }
+    }
+
+    public String format(TDateTimeFormatter formatter) {
+        return formatter.format(this);
+    }
+
+    public TLocalDateTime atDate(TLocalDate date) {
+        return TLocalDateTime.of(date, this);
+    }
+
+    public int toSecondOfDay() {
+        return hour * 3600 + minute * 60 + second;
+    }
+
+    public long toNanoOfDay() {
+        return toSecondOfDay() * NANOS_PER_SECOND + nano;
+    }
+
+    @Override
+    public int compareTo(TLocalTime other) {
+        int cmp = Integer.compare(toSecondOfDay(), other.toSecondOfDay());
+        return cmp != 0 ? cmp : Integer.compare(nano, other.nano);
+    }
+
+    public boolean isAfter(TLocalTime other) {
+        return compareTo(other) > 0;
+    }
+
+    public boolean isBefore(TLocalTime other) {
+        return compareTo(other) < 0;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TLocalTime)) {
+            return false;
+        }
+        TLocalTime other = (TLocalTime) obj;
+        return hour == other.hour && minute == other.minute && second == other.second && nano == other.nano;
+    }
+
+    @Override
+    public int hashCode() {
+        return toSecondOfDay() * 31 + nano;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(18);
+        appendTo(sb);
+        return sb.toString();
+    }
+
+    void appendTo(StringBuilder sb) {
+        TLocalDate.appendPadded(sb, hour, 2);
+        sb.append(':');
+        TLocalDate.appendPadded(sb, minute, 2);
+        if (second > 0 || nano > 0) {
+            sb.append(':');
+            TLocalDate.appendPadded(sb, second, 2);
+            if (nano > 0) {
+                sb.append('.');
+                if (nano % 1000_000 == 0) {
+                    TLocalDate.appendPadded(sb, nano / 1000_000, 3);
+                } else if (nano % 1000 == 0) {
+                    TLocalDate.appendPadded(sb, nano / 1000, 6);
+                } else {
+                    TLocalDate.appendPadded(sb, nano, 9);
+                }
+            }
+        }
+    }
+}
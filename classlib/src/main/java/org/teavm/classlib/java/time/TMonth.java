@@ -0,0 +1,151 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time;
+
+import org.teavm.classlib.java.time.format.TDateTimeTextProvider;
+import org.teavm.classlib.java.time.format.TTextStyle;
+import org.teavm.classlib.java.time.temporal.TChronoField;
+import org.teavm.classlib.java.time.temporal.TTemporal;
+import org.teavm.classlib.java.time.temporal.TTemporalAccessor;
+import org.teavm.classlib.java.time.temporal.TTemporalAdjuster;
+import org.teavm.classlib.java.time.temporal.TTemporalField;
+import org.teavm.classlib.java.time.temporal.TUnsupportedTemporalTypeException;
+import org.teavm.classlib.java.util.TLocale;
+
+public enum TMonth implements TTemporalAccessor, TTemporalAdjuster {
+    JANUARY,
+    FEBRUARY,
+    MARCH,
+    APRIL,
+    MAY,
+    JUNE,
+    JULY,
+    AUGUST,
+    SEPTEMBER,
+    OCTOBER,
+    NOVEMBER,
+    DECEMBER;
+
+    private static final TMonth[] VALUES = values();
+
+    public static TMonth of(int month) {
+        if (month < 1 || month > 12) {
+            throw new TDateTimeException("Invalid value for MonthOfYear: " + month);
+        }
+        return VALUES[month - 1];
+    }
+
+    public static TMonth from(TTemporalAccessor temporal) {
+        if (temporal instanceof TMonth) {
+            return (TMonth) temporal;
+        }
+        return of(temporal.get(TChronoField.MONTH_OF_YEAR));
+    }
+
+    public int getValue() {
+        return ordinal() + 1;
+    }
+
+    public String getDisplayName(TTextStyle style, TLocale locale) {
+        return TDateTimeTextProvider.getText(TChronoField.MONTH_OF_YEAR, getValue(), style, locale);
+    }
+
+    @Override
+    public boolean isSupported(TTemporalField field) {
+        return field instanceof TChronoField ? field == TChronoField.MONTH_OF_YEAR
+                : field != null && field.isSupportedBy(this);
+    }
+
+    @Override
+    public long getLong(TTemporalField field) {
+        if (field == TChronoField.MONTH_OF_YEAR) {
+            return getValue();
+        } else if (field instanceof TChronoField) {
+            throw new TUnsupportedTemporalTypeException("Unsupported field: " + field);
+        }
+        return field.getFrom(this);
+    }
+
+    public TMonth plus(long months) {
+        int amount = (int) (months % 12);
+        return VALUES[(ordinal() + amount + 12) % 12];
+    }
+
+    public TMonth minus(long months) {
+        return plus(-(months % 12));
+    }
+
+    public int length(boolean leapYear) {
+        switch (this) {
+            case FEBRUARY:
+                return leapYear ? 29 : 28;
+            case APRIL:
+            case JUNE:
+            case SEPTEMBER:
+            case NOVEMBER:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    public int minLength() {
+        return length(false);
+    }
+
+    public int maxLength() {
+        return length(true);
+    }
+
+    public int firstDayOfYear(boolean leapYear) {
+        int leap = leapYear ? 1 : 0;
+        switch (this) {
+            case JANUARY:
+                return 1;
+            case FEBRUARY:
+                return 32;
+            case MARCH:
+                return 60 + leap;
+            case APRIL:
+                return 91 + leap;
+            case MAY:
+                return 121 + leap;
+            case JUNE:
+                return 152 + leap;
+            case JULY:
+                return 182 + leap;
+            case AUGUST:
+                return 213 + leap;
+            case SEPTEMBER:
+                return 244 + leap;
+            case OCTOBER:
+                return 274 + leap;
+            case NOVEMBER:
+                return 305 + leap;
+            default:
+                return 335 + leap;
+        }
+    }
+
+    public TMonth firstMonthOfQuarter() {
+        return VALUES[(ordinal() / 3) * 3];
+    }
+
+    @Override
+    public TTemporal adjustInto(TTemporal temporal) {
+        return temporal.with(TChronoField.MONTH_OF_YEAR, getValue());
+    }
+}
@@ -0,0 +1,490 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time;
+
+import org.teavm.classlib.java.lang.TComparable;
+import org.teavm.classlib.java.time.format.TDateTimeFormatter;
+import org.teavm.classlib.java.time.temporal.TChronoField;
+import org.teavm.classlib.java.time.temporal.TChronoUnit;
+import org.teavm.classlib.java.time.temporal.TTemporal;
+import org.teavm.classlib.java.time.temporal.TTemporalAccessor;
+import org.teavm.classlib.java.time.temporal.TTemporalAdjuster;
+import org.teavm.classlib.java.time.temporal.TTemporalAmount;
+import org.teavm.classlib.java.time.temporal.TTemporalField;
+import org.teavm.classlib.java.time.temporal.TTemporalQueries;
+import org.teavm.classlib.java.time.temporal.TTemporalQuery;
+import org.teavm.classlib.java.time.temporal.TTemporalUnit;
+import org.teavm.classlib.java.time.temporal.TUnsupportedTemporalTypeException;
+import org.teavm.classlib.java.time.temporal.TValueRange;
+
+public final class TOffsetDateTime implements TTemporal, TTemporalAdjuster, TComparable<TOffsetDateTime> {
+    private final TLocalDateTime dateTime;
+    private final TZoneOffset offset;
+
+    private TOffsetDateTime(TLocalDateTime dateTime, TZoneOffset offset) {
+        this.dateTime = dateTime;
+        this.offset = offset;
+    }
+
+    public static TOffsetDateTime now() {
+        return now(TZoneId.systemDefault());
+    }
+
+    public static TOffsetDateTime now(TZoneId zone) {
+        return ofInstant(TInstant.now(), zone);
+    }
+
+    public static TOffsetDateTime of(TLocalDate date, TLocalTime time, TZoneOffset offset) {
+        return new TOffsetDateTime(TLocalDateTime.of(date, time), offset);
+    }
+
+    public static TOffsetDateTime of(TLocalDateTime dateTime, TZoneOffset offset) {
+        return new TOffsetDateTime(dateTime, offset);
+    }
+
+    public static TOffsetDateTime of(int year, int month, int dayOfMonth, int hour, int minute, int second,
+            int nanoOfSecond, TZoneOffset offset) {
+        TLocalDateTime dateTime = TLocalDateTime.of(year, month, dayOfMonth, hour, minute, second, nanoOfSecond);
+        return new TOffsetDateTime(dateTime, offset);
+    }
+
+    public static TOffsetDateTime ofInstant(TInstant instant, TZoneId zone) {
+        TZoneOffset offset = zone.getRules().getOffset(instant);
+        TLocalDateTime dateTime = TLocalDateTime.ofEpochSecond(instant.getEpochSecond(), instant.getNano(), offset);
+        return new TOffsetDateTime(dateTime, offset);
+    }
+
+    public static TOffsetDateTime from(TTemporalAccessor temporal) {
+        if (temporal instanceof TOffsetDateTime) {
+            return (TOffsetDateTime) temporal;
+        }
+        try {
+            TZoneOffset offset = TZoneOffset.from(temporal);
+            TLocalDate date = temporal.query(TTemporalQueries.localDate());
+            TLocalTime time = temporal.query(TTemporalQueries.localTime());
+            if (date != null && time != null) {
+                return of(date, time, offset);
+            }
+            return ofInstant(TInstant.from(temporal), offset);
+        } catch (TDateTimeException e) {
+            throw new TDateTimeException("Unable to obtain OffsetDateTime from TemporalAccessor: " + temporal, e);
+        }
+    }
+
+    public static TOffsetDateTime parse(CharSequence text) {
+        return parse(text, TDateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+    public static TOffsetDateTime parse(CharSequence text, TDateTimeFormatter formatter) {
+        return formatter.parse(text, TOffsetDateTime::from);
+    }
+
+    private TOffsetDateTime with(TLocalDateTime dateTime, TZoneOffset offset) {
+        return this.dateTime == dateTime && this.offset.equals(offset) ? this : new TOffsetDateTime(dateTime, offset);
+    }
+
+    @Override
+    public boolean isSupported(TTemporalField field) {
+        return field instanceof TChronoField || field != null && field.isSupportedBy(this);
+    }
+
+    @Override
+    public boolean isSupported(TTemporalUnit unit) {
+        return dateTime.isSupported(unit);
+    }
+
+    @Override
+    public TValueRange range(TTemporalField field) {
+        if (field instanceof TChronoField) {
+            if (field == TChronoField.INSTANT_SECONDS || field == TChronoField.OFFSET_SECONDS) {
+                return field.range();
+            }
+            return dateTime.range(field);
+        }
+        return field.rangeRefinedBy(this);
+    }
+
+    @Override
+    public int get(TTemporalField field) {
+        if (field == TChronoField.INSTANT_SECONDS) {
+            throw new TUnsupportedTemporalTypeException("Invalid field 'InstantSeconds' for get() method, "
+                    + "use getLong() instead");
+        } else if (field == TChronoField.OFFSET_SECONDS) {
+            return offset.getTotalSeconds();
+        } else if (field instanceof TChronoField) {
+            return dateTime.get(field);
+        }
+        return TTemporal.super.get(field);
+    }
+
+    @Override
+    public long getLong(TTemporalField field) {
+        if (field == TChronoField.INSTANT_SECONDS) {
+            return toEpochSecond();
+        } else if (field == TChronoField.OFFSET_SECONDS) {
+            return offset.getTotalSeconds();
+        } else if (field instanceof TChronoField) {
+            return dateTime.getLong(field);
+        }
+        return field.getFrom(this);
+    }
+
+    public TZoneOffset getOffset() {
+        return offset;
+    }
+
+    public TOffsetDateTime withOffsetSameLocal(TZoneOffset offset) {
+        return with(dateTime, offset);
+    }
+
+    public TOffsetDateTime withOffsetSameInstant(TZoneOffset offset) {
+        if (offset.equals(this.offset)) {
+            return this;
+        }
+        int difference = offset.getTotalSeconds() - this.offset.getTotalSeconds();
+        return new TOffsetDateTime(dateTime.plusSeconds(difference), offset);
+    }
+
+    public TLocalDateTime toLocalDateTime() {
+        return dateTime;
+    }
+
+    public TLocalDate toLocalDate() {
+        return dateTime.toLocalDate();
+    }
+
+    public TLocalTime toLocalTime() {
+        return dateTime.toLocalTime();
+    }
+
+    public int getYear() {
+        return dateTime.getYear();
+    }
+
+    public int getMonthValue() {
+        return dateTime.getMonthValue();
+    }
+
+    public TMonth getMonth() {
+        return dateTime.getMonth();
+    }
+
+    public int getDayOfMonth() {
+        return dateTime.getDayOfMonth();
+    }
+
+    public int getDayOfYear() {
+        return dateTime.getDayOfYear();
+    }
+
+    public TDayOfWeek getDayOfWeek() {
+        return dateTime.getDayOfWeek();
+    }
+
+    public int getHour() {
+        return dateTime.getHour();
+    }
+
+    public int getMinute() {
+        return dateTime.getMinute();
+    }
+
+    public int getSecond() {
+        return dateTime.getSecond();
+    }
+
+    public int getNano() {
+        return dateTime.getNano();
+    }
+
+    @Override
+    public TOffsetDateTime with(TTemporalAdjuster adjuster) {
+        if (adjuster instanceof TLocalDate) {
+            return with(TLocalDateTime.of((TLocalDate) adjuster, dateTime.toLocalTime()), offset);
+        } else if (adjuster instanceof TLocalTime) {
+            return with(TLocalDateTime.of(dateTime.toLocalDate(), (TLocalTime) adjuster), offset);
+        } else if (adjuster instanceof TLocalDateTime) {
+            return with((TLocalDateTime) adjuster, offset);
+        } else if (adjuster instanceof TInstant) {
+            return ofInstant((TInstant) adjuster, offset);
+        } else if (adjuster instanceof TZoneOffset) {
+            return with(dateTime, (TZoneOffset) adjuster);
+        }
+        return (TOffsetDateTime) adjuster.adjustInto(this);
+    }
+
+    @Override
+    public TOffsetDateTime with(TTemporalField field, long newValue) {
+        if (!(field instanceof TChronoField)) {
+            return field.adjustInto(this, newValue);
+        }
+        TChronoField f = (TChronoField) field;
+        switch (f) {
+            case INSTANT_SECONDS:
+                return ofInstant(TInstant.ofEpochSecond(newValue, getNano()), offset);
+            case OFFSET_SECONDS:
+                return with(dateTime, TZoneOffset.ofTotalSeconds(f.checkValidIntValue(newValue)));
+            default:
+                return with(dateTime.with(field, newValue), offset);
+        }
+    }
+
+    public TOffsetDateTime withYear(int year) {
+        return with(dateTime.withYear(year), offset);
+    }
+
+    public TOffsetDateTime withMonth(int month) {
+        return with(dateTime.withMonth(month), offset);
+    }
+
+    public TOffsetDateTime withDayOfMonth(int dayOfMonth) {
+        return with(dateTime.withDayOfMonth(dayOfMonth), offset);
+    }
+
+    public TOffsetDateTime withDayOfYear(int dayOfYear) {
+        return with(dateTime.withDayOfYear(dayOfYear), offset);
+    }
+
+    public TOffsetDateTime withHour(int hour) {
+        return with(dateTime.withHour(hour), offset);
+    }
+
+    public TOffsetDateTime withMinute(int minute) {
+        return with(dateTime.withMinute(minute), offset);
+    }
+
+    public TOffsetDateTime withSecond(int second) {
+        return with(dateTime.withSecond(second), offset);
+    }
+
+    public TOffsetDateTime withNano(int nanoOfSecond) {
+        return with(dateTime.withNano(nanoOfSecond), offset);
+    }
+
+    public TOffsetDateTime truncatedTo(TTemporalUnit unit) {
+        return with(dateTime.truncatedTo(unit), offset);
+    }
+
+    @Override
+    public TOffsetDateTime plus(TTemporalAmount amount) {
+        if (amount instanceof TPeriod || amount instanceof TDuration) {
+            return with(dateTime.plus(amount), offset);
+        }
+        return (TOffsetDateTime) amount.addTo(this);
+    }
+
+    @Override
+    public TOffsetDateTime plus(long amountToAdd, TTemporalUnit unit) {
+        if (!(unit instanceof TChronoUnit)) {
+            return unit.addTo(this, amountToAdd);
+        }
+        return with(dateTime.plus(amountToAdd, unit), offset);
+    }
+
+    public TOffsetDateTime plusYears(long years) {
+        return with(dateTime.plusYears(years), offset);
+    }
+
+    public TOffsetDateTime plusMonths(long months) {
+        return with(dateTime.plusMonths(months), offset);
+    }
+
+    public TOffsetDateTime plusWeeks(long weeks) {
+        return with(dateTime.plusWeeks(weeks), offset);
+    }
+
+    public TOffsetDateTime plusDays(long days) {
+        return with(dateTime.plusDays(days), offset);
+    }
+
+    public TOffsetDateTime plusHours(long hours) {
+        return with(dateTime.plusHours(hours), offset);
+    }
+
+    public TOffsetDateTime plusMinutes(long minutes) {
+        return with(dateTime.plusMinutes(minutes), offset);
+    }
+
+    public TOffsetDateTime plusSeconds(long seconds) {
+        return with(dateTime.plusSeconds(seconds), offset);
+    }
+
+    public TOffsetDateTime plusNanos(long nanos) {
+        return with(dateTime.plusNanos(nanos), offset);
+    }
+
+    @Override
+    public TOffsetDateTime minus(TTemporalAmount amount) {
+        if (amount instanceof TPeriod || amount instanceof TDuration) {
+            return with(dateTime.minus(amount), offset);
+        }
+        return (TOffsetDateTime) amount.subtractFrom(this);
+    }
+
+    @Override
+    public TOffsetDateTime minus(long amountToSubtract, TTemporalUnit unit) {
+        return amountToSubtract == Long.MIN_VALUE
+                ? plus(Long.MAX_VALUE, unit).plus(1, unit)
+                : plus(-amountToSubtract, unit);
+    }
+
+    public TOffsetDateTime minusYears(long years) {
+        return with(dateTime.minusYears(years), offset);
+    }
+
+    public TOffsetDateTime minusMonths(long months) {
+        return with(dateTime.minusMonths(months), offset);
+    }
+
+    public TOffsetDateTime minusWeeks(long weeks) {
+        return with(dateTime.minusWeeks(weeks), offset);
+    }
+
+    public TOffsetDateTime minusDays(long days) {
+        return with(dateTime.minusDays(days), offset);
+    }
+
+    public TOffsetDateTime minusHours(long hours) {
+        return with(dateTime.minusHours(hours), offset);
+    }
+
+    public TOffsetDateTime minusMinutes(long minutes) {
+        return with(dateTime.minusMinutes(minutes), offset);
+    }
+
+    public TOffsetDateTime minusSeconds(long seconds) {
+        return with(dateTime.minusSeconds(seconds), offset);
+    }
+
+    public TOffsetDateTime minusNanos(long nanos) {
+        return with(dateTime.minusNanos(nanos), offset);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R query(TTemporalQuery<R> query) {
+        if (query == TTemporalQueries.offset() || query == TTemporalQueries.zone()) {
+            return (R) offset;
+        } else if (query == TTemporalQueries.zoneId()) {
+            return null;
+        } else if (query == TTemporalQueries.localDate()) {
+            return (R) dateTime.toLocalDate();
+        } else if (query == TTemporalQueries.localTime()) {
+            return (R) dateTime.toLocalTime();
+        } else if (query == TTemporalQueries.precision()) {
+            return (R) TChronoUnit.NANOS;
+        }
+        return query.queryFrom(this);
+    }
+
+    @Override
+    public TTemporal adjustInto(TTemporal temporal) {
+        return temporal
+                .with(TChronoField.EPOCH_DAY, toLocalDate().toEpochDay())
+                .with(TChronoField.NANO_OF_DAY, toLocalTime().toNanoOfDay())
+                .with(TChronoField.OFFSET_SECONDS, offset.getTotalSeconds());
+    }
+
+    @Override
+    public long until(TTemporal endExclusive, TTemporalUnit unit) {
+        TOffsetDateTime end = from(endExclusive);
+        if (!(unit instanceof TChronoUnit)) {
+            return unit.between(this, end);
+        }
+        end = end.withOffsetSameInstant(offset);
+        return dateTime.until(end.dateTime, unit);
+    }
+
+    public TZonedDateTime atZoneSameInstant(TZoneId zone) {
+        return TZonedDateTime.ofInstant(dateTime, offset, zone);
+    }
+
+    public TZonedDateTime atZoneSimilarLocal(TZoneId zone) {
+        return TZonedDateTime.ofLocal(dateTime, zone, offset);
+    }
+
+    public TZonedDateTime toZonedDateTime() {
+        return TZonedDateTime.of(dateTime, offset);
+    }
+
+    public String format(TDateTimeFormatter formatter) {
+        return formatter.format(this);
+    }
+
+    public long toEpochSecond() {
+        return dateTime.toEpochSecond(offset);
+    }
+
+    public TInstant toInstant() {
+        return dateTime.toInstant(offset);
+    }
+
+    @Override
+    public int compareTo(TOffsetDateTime other) {
+        if (offset.equals(other.offset)) {
+            return dateTime.compareTo(other.dateTime);
+        }
+        int cmp = Long.compare(toEpochSecond(), other.toEpochSecond());
+        if (cmp == 0) {
+            cmp = Integer.compare(getNano(), other.getNano());
+            if (cmp == 0) {
+                cmp = dateTime.compareTo(other.dateTime);
+            }
+        }
+        return cmp;
+    }
+
+    public boolean isAfter(TOffsetDateTime other) {
+        long seconds = toEpochSecond();
+        long otherSeconds = other.toEpochSecond();
+        return seconds > otherSeconds || seconds == otherSeconds && getNano() > other.getNano();
+    }
+
+    public boolean isBefore(TOffsetDateTime other) {
+        long seconds = toEpochSecond();
+        long otherSeconds = other.toEpochSecond();
+        return seconds < otherSeconds || seconds == otherSeconds && getNano() < other.getNano();
+    }
+
+    public boolean isEqual(TOffsetDateTime other) {
+        return toEpochSecond() == other.toEpochSecond() && getNano() == other.getNano();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TOffsetDateTime)) {
+            return false;
+        }
+        TOffsetDateTime other = (TOffsetDateTime) obj;
+        return dateTime.equals(other.dateTime) && offset.equals(other.offset);
+    }
+
+    @Override
+    public int hashCode() {
+        return dateTime.hashCode() ^ offset.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        dateTime.appendTo(sb);
+        sb.append(offset.getId());
+        return sb.toString();
+    }
+}
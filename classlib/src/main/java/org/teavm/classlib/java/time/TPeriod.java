@@ -0,0 +1,335 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.teavm.classlib.java.time.format.TDateTimeParseException;
+import org.teavm.classlib.java.time.temporal.TChronoUnit;
+import org.teavm.classlib.java.time.temporal.TTemporal;
+import org.teavm.classlib.java.time.temporal.TTemporalAmount;
+import org.teavm.classlib.java.time.temporal.TTemporalUnit;
+import org.teavm.classlib.java.time.temporal.TUnsupportedTemporalTypeException;
+
+public final class TPeriod implements TTemporalAmount {
+    public static final TPeriod ZERO = new TPeriod(0, 0, 0);
+    private static final List<TTemporalUnit> UNITS = Collections.unmodifiableList(Arrays.asList(
+            TChronoUnit.YEARS, TChronoUnit.MONTHS, TChronoUnit.DAYS));
+    private final int years;
+    private final int months;
+    private final int days;
+
+    private TPeriod(int years, int months, int days) {
+        this.years = years;
+        this.months = months;
+        this.days = days;
+    }
+
+    public static TPeriod of(int years, int months, int days) {
+        return (years | months | days) == 0 ? ZERO : new TPeriod(years, months, days);
+    }
+
+    public static TPeriod ofYears(int years) {
+        return of(years, 0, 0);
+    }
+
+    public static TPeriod ofMonths(int months) {
+        return of(0, months, 0);
+    }
+
+    public static TPeriod ofWeeks(int weeks) {
+        return of(0, 0, Math.multiplyExact(weeks, 7));
+    }
+
+    public static TPeriod ofDays(int days) {
+        return of(0, 0, days);
+    }
+
+    public static TPeriod from(TTemporalAmount amount) {
+        if (amount instanceof TPeriod) {
+            return (TPeriod) amount;
+        }
+        int years = 0;
+        int months = 0;
+        int days = 0;
+        for (TTemporalUnit unit : amount.getUnits()) {
+            long value = amount.get(unit);
+            if (unit == TChronoUnit.YEARS) {
+                years = Math.toIntExact(value);
+            } else if (unit == TChronoUnit.MONTHS) {
+                months = Math.toIntExact(value);
+            } else if (unit == TChronoUnit.DAYS) {
+                days = Math.toIntExact(value);
+            } else {
+                throw new TDateTimeException("Unit must be Years, Months or Days, but was " + unit);
+            }
+        }
+        return of(years, months, days);
+    }
+
+    public static TPeriod between(TLocalDate startDateInclusive, TLocalDate endDateExclusive) {
+        return startDateInclusive.until(endDateExclusive);
+    }
+
+    public static TPeriod parse(CharSequence text) {
+        int length = text.length();
+        int index = 0;
+        boolean negate = false;
+        if (index < length && (text.charAt(index) == '-' || text.charAt(index) == '+')) {
+            negate = text.charAt(index++) == '-';
+        }
+        if (index >= length || Character.toUpperCase(text.charAt(index++)) != 'P') {
+            throw parseError(text);
+        }
+        int years = 0;
+        int months = 0;
+        int days = 0;
+        int lastUnit = -1;
+        while (index < length) {
+            int start = index;
+            if (text.charAt(index) == '-' || text.charAt(index) == '+') {
+                ++index;
+            }
+            int digitsStart = index;
+            while (index < length && text.charAt(index) >= '0' && text.charAt(index) <= '9') {
+                ++index;
+            }
+            if (index == digitsStart || index == length) {
+                throw parseError(text);
+            }
+            int value;
+            try {
+                value = Integer.parseInt(text.subSequence(text.charAt(start) == '+' ? start + 1 : start, index)
+                        .toString());
+            } catch (NumberFormatException e) {
+                throw new TDateTimeParseException("Text cannot be parsed to a Period", text, 0, e);
+            }
+            int unit = "YMWD".indexOf(Character.toUpperCase(text.charAt(index++)));
+            if (unit <= lastUnit) {
+                throw parseError(text);
+            }
+            lastUnit = unit;
+            try {
+                switch (unit) {
+                    case 0:
+                        years = value;
+                        break;
+                    case 1:
+                        months = value;
+                        break;
+                    case 2:
+                        days = Math.addExact(days, Math.multiplyExact(value, 7));
+                        break;
+                    default:
+                        days = Math.addExact(days, value);
+                        break;
+                }
+            } catch (ArithmeticException e) {
+                throw new TDateTimeParseException("Text cannot be parsed to a Period", text, 0, e);
+            }
+        }
+        if (lastUnit < 0) {
+            throw parseError(text);
+        }
+        TPeriod result = of(years, months, days);
+        return negate ? result.negated() : result;
+    }
+
+    private static TDateTimeParseException parseError(CharSequence text) {
+        return new TDateTimeParseException("Text cannot be parsed to a Period", text, 0);
+    }
+
+    @Override
+    public long get(TTemporalUnit unit) {
+        if (unit == TChronoUnit.YEARS) {
+            return years;
+        } else if (unit == TChronoUnit.MONTHS) {
+            return months;
+        } else if (unit == TChronoUnit.DAYS) {
+            return days;
+        }
+        throw new TUnsupportedTemporalTypeException("Unsupported unit: " + unit);
+    }
+
+    @Override
+    public List<TTemporalUnit> getUnits() {
+        return UNITS;
+    }
+
+    public boolean isZero() {
+        return this == ZERO;
+    }
+
+    public boolean isNegative() {
+        return years < 0 || months < 0 || days < 0;
+    }
+
+    public int getYears() {
+        return years;
+    }
+
+    public int getMonths() {
+        return months;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public TPeriod withYears(int years) {
+        return of(years, months, days);
+    }
+
+    public TPeriod withMonths(int months) {
+        return of(years, months, days);
+    }
+
+    public TPeriod withDays(int days) {
+        return of(years, months, days);
+    }
+
+    public TPeriod plus(TTemporalAmount amountToAdd) {
+        TPeriod other = from(amountToAdd);
+        return of(Math.addExact(years, other.years), Math.addExact(months, other.months),
+                Math.addExact(days, other.days));
+    }
+
+    public TPeriod plusYears(long yearsToAdd) {
+        return yearsToAdd == 0 ? this : of(Math.toIntExact(Math.addExact(years, yearsToAdd)), months, days);
+    }
+
+    public TPeriod plusMonths(long monthsToAdd) {
+        return monthsToAdd == 0 ? this : of(years, Math.toIntExact(Math.addExact(months, monthsToAdd)), days);
+    }
+
+    public TPeriod plusDays(long daysToAdd) {
+        return daysToAdd == 0 ? this : of(years, months, Math.toIntExact(Math.addExact(days, daysToAdd)));
+    }
+
+    public TPeriod minus(TTemporalAmount amountToSubtract) {
+        TPeriod other = from(amountToSubtract);
+        return of(Math.subtractExact(years, other.years), Math.subtractExact(months, other.months),
+                Math.subtractExact(days, other.days));
+    }
+
+    public TPeriod minusYears(long yearsToSubtract) {
+        return yearsToSubtract == Long.MIN_VALUE ? plusYears(Long.MAX_VALUE).plusYears(1)
+                : plusYears(-yearsToSubtract);
+    }
+
+    public TPeriod minusMonths(long monthsToSubtract) {
+        return monthsToSubtract == Long.MIN_VALUE ? plusMonths(Long.MAX_VALUE).plusMonths(1)
+                : plusMonths(-monthsToSubtract);
+    }
+
+    public TPeriod minusDays(long daysToSubtract) {
+        return daysToSubtract == Long.MIN_VALUE ? plusDays(Long.MAX_VALUE).plusDays(1)
+                : plusDays(-daysToSubtract);
+    }
+
+    public TPeriod multipliedBy(int scalar) {
+        if (this == ZERO || scalar == 1) {
+            return this;
+        }
+        return of(Math.multiplyExact(years, scalar), Math.multiplyExact(months, scalar),
+                Math.multiplyExact(days, scalar));
+    }
+
+    public TPeriod negated() {
+        return multipliedBy(-1);
+    }
+
+    public TPeriod normalized() {
+        long totalMonths = toTotalMonths();
+        long splitYears = totalMonths / 12;
+        int splitMonths = (int) (totalMonths % 12);
+        if (splitYears == years && splitMonths == months) {
+            return this;
+        }
+        return of(Math.toIntExact(splitYears), splitMonths, days);
+    }
+
+    public long toTotalMonths() {
+        return years * 12L + months;
+    }
+
+    @Override
+    public TTemporal addTo(TTemporal temporal) {
+        if (months == 0) {
+            if (years != 0) {
+                temporal = temporal.plus(years, TChronoUnit.YEARS);
+            }
+        } else {
+            temporal = temporal.plus(toTotalMonths(), TChronoUnit.MONTHS);
+        }
+        if (days != 0) {
+            temporal = temporal.plus(days, TChronoUnit.DAYS);
+        }
+        return temporal;
+    }
+
+    @Override
+    public TTemporal subtractFrom(TTemporal temporal) {
+        if (months == 0) {
+            if (years != 0) {
+                temporal = temporal.minus(years, TChronoUnit.YEARS);
+            }
+        } else {
+            temporal = temporal.minus(toTotalMonths(), TChronoUnit.MONTHS);
+        }
+        if (days != 0) {
+            temporal = temporal.minus(days, TChronoUnit.DAYS);
+        }
+        return temporal;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TPeriod)) {
+            return false;
+        }
+        TPeriod other = (TPeriod) obj;
+        return years == other.years && months == other.months && days == other.days;
+    }
+
+    @Override
+    public int hashCode() {
+        return years + Integer.rotateLeft(months, 8) + Integer.rotateLeft(days, 16);
+    }
+
+    @Override
+    public String toString() {
+        if (this == ZERO) {
+            return "P0D";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append('P');
+        if (years != 0) {
+            sb.append(years).append('Y');
+        }
+        if (months != 0) {
+            sb.append(months).append('M');
+        }
+        if (days != 0) {
+            sb.append(days).append('D');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.teavm.classlib.impl.tz.DateTimeZoneProvider;
+import org.teavm.classlib.java.time.format.TTextStyle;
+import org.teavm.classlib.java.time.temporal.TTemporalAccessor;
+import org.teavm.classlib.java.time.temporal.TTemporalQueries;
+import org.teavm.classlib.java.time.zone.TZoneRules;
+import org.teavm.classlib.java.util.TLocale;
+import org.teavm.classlib.java.util.TTimeZone;
+
+public abstract class TZoneId {
+    TZoneId() {
+    }
+
+    public static TZoneId systemDefault() {
+        return of(TTimeZone.getDefault().getID());
+    }
+
+    public static Set<String> getAvailableZoneIds() {
+        return new HashSet<>(Arrays.asList(DateTimeZoneProvider.getIds()));
+    }
+
+    public static TZoneId of(String zoneId) {
+        if (zoneId.length() <= 1 || zoneId.startsWith("+") || zoneId.startsWith("-")) {
+            return TZoneOffset.of(zoneId);
+        } else if (zoneId.startsWith("UTC") || zoneId.startsWith("GMT")) {
+            return ofWithPrefix(zoneId, 3);
+        } else if (zoneId.startsWith("UT")) {
+            return ofWithPrefix(zoneId, 2);
+        }
+        return TZoneRegion.ofId(zoneId);
+    }
+
+    private static TZoneId ofWithPrefix(String zoneId, int prefixLength) {
+        String prefix = zoneId.substring(0, prefixLength);
+        if (zoneId.length() == prefixLength) {
+            return ofOffset(prefix, TZoneOffset.UTC);
+        }
+        char c = zoneId.charAt(prefixLength);
+        if (c != '+' && c != '-') {
+            return TZoneRegion.ofId(zoneId);
+        }
+        try {
+            return ofOffset(prefix, TZoneOffset.of(zoneId.substring(prefixLength)));
+        } catch (TDateTimeException e) {
+            throw new TDateTimeException("Invalid ID for offset-based ZoneId: " + zoneId, e);
+        }
+    }
+
+    public static TZoneId ofOffset(String prefix, TZoneOffset offset) {
+        if (prefix.isEmpty()) {
+            return offset;
+        }
+        if (!prefix.equals("GMT") && !prefix.equals("UTC") && !prefix.equals("UT")) {
+            throw new IllegalArgumentException("prefix should be GMT, UTC or UT, is: " + prefix);
+        }
+        String id = offset.getTotalSeconds() != 0 ? prefix + offset.getId() : prefix;
+        return new TZoneRegion(id, offset.getRules());
+    }
+
+    public static TZoneId from(TTemporalAccessor temporal) {
+        TZoneId zone = temporal.query(TTemporalQueries.zone());
+        if (zone == null) {
+            throw new TDateTimeException("Unable to obtain ZoneId from TemporalAccessor: " + temporal);
+        }
+        return zone;
+    }
+
+    public abstract String getId();
+
+    public abstract TZoneRules getRules();
+
+    public String getDisplayName(TTextStyle style, TLocale locale) {
+        return getId();
+    }
+
+    public TZoneId normalized() {
+        TZoneRules rules = getRules();
+        if (rules.isFixedOffset()) {
+            return rules.getOffset(TInstant.EPOCH);
+        }
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TZoneId)) {
+            return false;
+        }
+        return getId().equals(((TZoneId) obj).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getId().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getId();
+    }
+}
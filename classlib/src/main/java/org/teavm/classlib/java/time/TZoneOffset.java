@@ -0,0 +1,262 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.teavm.classlib.java.lang.TComparable;
+import org.teavm.classlib.java.time.temporal.TChronoField;
+import org.teavm.classlib.java.time.temporal.TTemporal;
+import org.teavm.classlib.java.time.temporal.TTemporalAccessor;
+import org.teavm.classlib.java.time.temporal.TTemporalAdjuster;
+import org.teavm.classlib.java.time.temporal.TTemporalField;
+import org.teavm.classlib.java.time.temporal.TTemporalQueries;
+import org.teavm.classlib.java.time.temporal.TTemporalQuery;
+import org.teavm.classlib.java.time.temporal.TUnsupportedTemporalTypeException;
+import org.teavm.classlib.java.time.zone.TZoneRules;
+
+public final class TZoneOffset extends TZoneId implements TTemporalAccessor, TTemporalAdjuster,
+        TComparable<TZoneOffset> {
+    private static final int MAX_SECONDS = 18 * 3600;
+    private static final Map<Integer, TZoneOffset> cache = new HashMap<>();
+    public static final TZoneOffset UTC = ofTotalSeconds(0);
+    public static final TZoneOffset MIN = ofTotalSeconds(-MAX_SECONDS);
+    public static final TZoneOffset MAX = ofTotalSeconds(MAX_SECONDS);
+    private final int totalSeconds;
+    private final String id;
+    private TZoneRules rules;
+
+    private TZoneOffset(int totalSeconds) {
+        this.totalSeconds = totalSeconds;
+        this.id = buildId(totalSeconds);
+    }
+
+    private static String buildId(int totalSeconds) {
+        if (totalSeconds == 0) {
+            return "Z";
+        }
+        int absTotalSeconds = Math.abs(totalSeconds);
+        StringBuilder sb = new StringBuilder();
+        sb.append(totalSeconds < 0 ? '-' : '+');
+        TLocalDate.appendPadded(sb, absTotalSeconds / 3600, 2);
+        sb.append(':');
+        TLocalDate.appendPadded(sb, (absTotalSeconds / 60) % 60, 2);
+        int seconds = absTotalSeconds % 60;
+        if (seconds != 0) {
+            sb.append(':');
+            TLocalDate.appendPadded(sb, seconds, 2);
+        }
+        return sb.toString();
+    }
+
+    public static TZoneOffset of(String offsetId) {
+        if (offsetId.equals("Z")) {
+            return UTC;
+        }
+        int hours;
+        int minutes = 0;
+        int seconds = 0;
+        switch (offsetId.length()) {
+            case 2:
+                hours = parseNumber(offsetId, 1, 1, false);
+                break;
+            case 3:
+                hours = parseNumber(offsetId, 1, 2, false);
+                break;
+            case 5:
+                hours = parseNumber(offsetId, 1, 2, false);
+                minutes = parseNumber(offsetId, 3, 2, false);
+                break;
+            case 6:
+                hours = parseNumber(offsetId, 1, 2, false);
+                minutes = parseNumber(offsetId, 4, 2, true);
+                break;
+            case 7:
+                hours = parseNumber(offsetId, 1, 2, false);
+                minutes = parseNumber(offsetId, 3, 2, false);
+                seconds = parseNumber(offsetId, 5, 2, false);
+                break;
+            case 9:
+                hours = parseNumber(offsetId, 1, 2, false);
+                minutes = parseNumber(offsetId, 4, 2, true);
+                seconds = parseNumber(offsetId, 7, 2, true);
+                break;
+            default:
+                throw new TDateTimeException("Invalid ID for ZoneOffset, invalid format: " + offsetId);
+        }
+        char first = offsetId.charAt(0);
+        if (first != '+' && first != '-') {
+            throw new TDateTimeException("Invalid ID for ZoneOffset, plus/minus not found when expected: "
+                    + offsetId);
+        }
+        return first == '-'
+                ? ofHoursMinutesSeconds(-hours, -minutes, -seconds)
+                : ofHoursMinutesSeconds(hours, minutes, seconds);
+    }
+
+    private static int parseNumber(String offsetId, int pos, int length, boolean precededByColon) {
+        if (precededByColon && offsetId.charAt(pos - 1) != ':') {
+            throw new TDateTimeException("Invalid ID for ZoneOffset, colon not found when expected: " + offsetId);
+        }
+        int result = 0;
+        for (int i = 0; i < length; ++i) {
+            char c = offsetId.charAt(pos + i);
+            if (c < '0' || c > '9') {
+                throw new TDateTimeException("Invalid ID for ZoneOffset, non numeric characters found: "
+                        + offsetId);
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    public static TZoneOffset ofHours(int hours) {
+        return ofHoursMinutesSeconds(hours, 0, 0);
+    }
+
+    public static TZoneOffset ofHoursMinutes(int hours, int minutes) {
+        return ofHoursMinutesSeconds(hours, minutes, 0);
+    }
+
+    public static TZoneOffset ofHoursMinutesSeconds(int hours, int minutes, int seconds) {
+        if (hours < -18 || hours > 18) {
+            throw new TDateTimeException("Zone offset hours not in valid range: value " + hours
+                    + " is not in the range -18 to 18");
+        }
+        if (hours > 0 && (minutes < 0 || seconds < 0) || hours < 0 && (minutes > 0 || seconds > 0)
+                || hours == 0 && (minutes > 0 && seconds < 0 || minutes < 0 && seconds > 0)) {
+            throw new TDateTimeException("Zone offset minutes and seconds must have the same sign as hours");
+        }
+        if (minutes < -59 || minutes > 59) {
+            throw new TDateTimeException("Zone offset minutes not in valid range: value " + minutes
+                    + " is not in the range -59 to 59");
+        }
+        if (seconds < -59 || seconds > 59) {
+            throw new TDateTimeException("Zone offset seconds not in valid range: value " + seconds
+                    + " is not in the range -59 to 59");
+        }
+        if (Math.abs(hours) == 18 && (minutes | seconds) != 0) {
+            throw new TDateTimeException("Zone offset not in valid range: -18:00 to +18:00");
+        }
+        return ofTotalSeconds(hours * 3600 + minutes * 60 + seconds);
+    }
+
+    public static TZoneOffset ofTotalSeconds(int totalSeconds) {
+        if (totalSeconds < -MAX_SECONDS || totalSeconds > MAX_SECONDS) {
+            throw new TDateTimeException("Zone offset not in valid range: -18:00 to +18:00");
+        }
+        if (totalSeconds % (15 * 60) != 0) {
+            return new TZoneOffset(totalSeconds);
+        }
+        TZoneOffset result = cache.get(totalSeconds);
+        if (result == null) {
+            result = new TZoneOffset(totalSeconds);
+            cache.put(totalSeconds, result);
+        }
+        return result;
+    }
+
+    public static TZoneOffset from(TTemporalAccessor temporal) {
+        TZoneOffset offset = temporal.query(TTemporalQueries.offset());
+        if (offset == null) {
+            throw new TDateTimeException("Unable to obtain ZoneOffset from TemporalAccessor: " + temporal);
+        }
+        return offset;
+    }
+
+    public int getTotalSeconds() {
+        return totalSeconds;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public TZoneRules getRules() {
+        if (rules == null) {
+            rules = TZoneRules.of(this);
+        }
+        return rules;
+    }
+
+    @Override
+    public boolean isSupported(TTemporalField field) {
+        if (field instanceof TChronoField) {
+            return field == TChronoField.OFFSET_SECONDS;
+        }
+        return field != null && field.isSupportedBy(this);
+    }
+
+    @Override
+    public int get(TTemporalField field) {
+        if (field == TChronoField.OFFSET_SECONDS) {
+            return totalSeconds;
+        }
+        return TTemporalAccessor.super.get(field);
+    }
+
+    @Override
+    public long getLong(TTemporalField field) {
+        if (field == TChronoField.OFFSET_SECONDS) {
+            return totalSeconds;
+        } else if (field instanceof TChronoField) {
+            throw new TUnsupportedTemporalTypeException("Unsupported field: " + field);
+        }
+        return field.getFrom(this);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R query(TTemporalQuery<R> query) {
+        if (query == TTemporalQueries.offset() || query == TTemporalQueries.zone()) {
+            return (R) this;
+        }
+        return TTemporalAccessor.super.query(query);
+    }
+
+    @Override
+    public TTemporal adjustInto(TTemporal temporal) {
+        return temporal.with(TChronoField.OFFSET_SECONDS, totalSeconds);
+    }
+
+    @Override
+    public int compareTo(TZoneOffset other) {
+        return other.totalSeconds - totalSeconds;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TZoneOffset)) {
+            return false;
+        }
+        return totalSeconds == ((TZoneOffset) obj).totalSeconds;
+    }
+
+    @Override
+    public int hashCode() {
+        return totalSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time;
+
+import org.teavm.classlib.impl.tz.DateTimeZone;
+import org.teavm.classlib.impl.tz.DateTimeZoneProvider;
+import org.teavm.classlib.java.time.zone.TZoneRules;
+import org.teavm.classlib.java.time.zone.TZoneRulesException;
+
+final class TZoneRegion extends TZoneId {
+    private final String id;
+    private final TZoneRules rules;
+
+    TZoneRegion(String id, TZoneRules rules) {
+        this.id = id;
+        this.rules = rules;
+    }
+
+    static TZoneRegion ofId(String zoneId) {
+        checkName(zoneId);
+        DateTimeZone timeZone = DateTimeZoneProvider.getTimeZone(zoneId);
+        if (timeZone == null) {
+            throw new TZoneRulesException("Unknown time-zone ID: " + zoneId);
+        }
+        return new TZoneRegion(zoneId, TZoneRules.of(timeZone));
+    }
+
+    private static void checkName(String zoneId) {
+        int length = zoneId.length();
+        if (length < 2) {
+            throw new TDateTimeException("Invalid ID for region-based ZoneId, invalid format: " + zoneId);
+        }
+        for (int i = 0; i < length; i++) {
+            char c = zoneId.charAt(i);
+            if (c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z') {
+                continue;
+            }
+            if (i != 0 && (c >= '0' && c <= '9' || c == '~' || c == '.' || c == '_' || c == '+' || c == '-'
+                    || c == '/')) {
+                continue;
+            }
+            throw new TDateTimeException("Invalid ID for region-based ZoneId, invalid format: " + zoneId);
+        }
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public TZoneRules getRules() {
+        return rules;
+    }
+}
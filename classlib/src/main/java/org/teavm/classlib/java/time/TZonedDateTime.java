@@ -0,0 +1,541 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time;
+
+import java.util.List;
+import org.teavm.classlib.java.time.chrono.TChronoZonedDateTime;
+import org.teavm.classlib.java.time.format.TDateTimeFormatter;
+import org.teavm.classlib.java.time.temporal.TChronoField;
+import org.teavm.classlib.java.time.temporal.TChronoUnit;
+import org.teavm.classlib.java.time.temporal.TTemporal;
+import org.teavm.classlib.java.time.temporal.TTemporalAccessor;
+import org.teavm.classlib.java.time.temporal.TTemporalAdjuster;
+import org.teavm.classlib.java.time.temporal.TTemporalAmount;
+import org.teavm.classlib.java.time.temporal.TTemporalField;
+import org.teavm.classlib.java.time.temporal.TTemporalQueries;
+import org.teavm.classlib.java.time.temporal.TTemporalQuery;
+import org.teavm.classlib.java.time.temporal.TTemporalUnit;
+import org.teavm.classlib.java.time.temporal.TUnsupportedTemporalTypeException;
+import org.teavm.classlib.java.time.temporal.TValueRange;
+import org.teavm.classlib.java.time.zone.TZoneRules;
+
+public final class TZonedDateTime implements TChronoZonedDateTime<TLocalDate> {
+    private final TLocalDateTime dateTime;
+    private final TZoneOffset offset;
+    private final TZoneId zone;
+
+    private TZonedDateTime(TLocalDateTime dateTime, TZoneOffset offset, TZoneId zone) {
+        this.dateTime = dateTime;
+        this.offset = offset;
+        this.zone = zone;
+    }
+
+    public static TZonedDateTime now() {
+        return now(TZoneId.systemDefault());
+    }
+
+    public static TZonedDateTime now(TZoneId zone) {
+        return ofInstant(TInstant.now(), zone);
+    }
+
+    public static TZonedDateTime of(TLocalDate date, TLocalTime time, TZoneId zone) {
+        return of(TLocalDateTime.of(date, time), zone);
+    }
+
+    public static TZonedDateTime of(TLocalDateTime localDateTime, TZoneId zone) {
+        return ofLocal(localDateTime, zone, null);
+    }
+
+    public static TZonedDateTime of(int year, int month, int dayOfMonth, int hour, int minute, int second,
+            int nanoOfSecond, TZoneId zone) {
+        TLocalDateTime dateTime = TLocalDateTime.of(year, month, dayOfMonth, hour, minute, second, nanoOfSecond);
+        return ofLocal(dateTime, zone, null);
+    }
+
+    public static TZonedDateTime ofLocal(TLocalDateTime localDateTime, TZoneId zone, TZoneOffset preferredOffset) {
+        if (zone instanceof TZoneOffset) {
+            return new TZonedDateTime(localDateTime, (TZoneOffset) zone, zone);
+        }
+        TZoneRules rules = zone.getRules();
+        List<TZoneOffset> validOffsets = rules.getValidOffsets(localDateTime);
+        TZoneOffset offset;
+        if (validOffsets.size() == 1) {
+            offset = validOffsets.get(0);
+        } else if (validOffsets.isEmpty()) {
+            // Local time falls into a gap, move it forward by the length of the gap
+            TZoneOffset offsetBefore = rules.getOffset(localDateTime);
+            offset = rules.getOffset(localDateTime.toInstant(offsetBefore));
+            localDateTime = localDateTime.plusSeconds(offset.getTotalSeconds() - offsetBefore.getTotalSeconds());
+        } else if (preferredOffset != null && validOffsets.contains(preferredOffset)) {
+            offset = preferredOffset;
+        } else {
+            offset = validOffsets.get(0);
+        }
+        return new TZonedDateTime(localDateTime, offset, zone);
+    }
+
+    public static TZonedDateTime ofInstant(TInstant instant, TZoneId zone) {
+        return create(instant.getEpochSecond(), instant.getNano(), zone);
+    }
+
+    public static TZonedDateTime ofInstant(TLocalDateTime localDateTime, TZoneOffset offset, TZoneId zone) {
+        if (zone.getRules().isValidOffset(localDateTime, offset)) {
+            return new TZonedDateTime(localDateTime, offset, zone);
+        }
+        return create(localDateTime.toEpochSecond(offset), localDateTime.getNano(), zone);
+    }
+
+    private static TZonedDateTime create(long epochSecond, int nanoOfSecond, TZoneId zone) {
+        TZoneOffset offset = zone.getRules().getOffset(TInstant.ofEpochSecond(epochSecond, nanoOfSecond));
+        TLocalDateTime dateTime = TLocalDateTime.ofEpochSecond(epochSecond, nanoOfSecond, offset);
+        return new TZonedDateTime(dateTime, offset, zone);
+    }
+
+    public static TZonedDateTime ofStrict(TLocalDateTime localDateTime, TZoneOffset offset, TZoneId zone) {
+        if (!zone.getRules().isValidOffset(localDateTime, offset)) {
+            throw new TDateTimeException("LocalDateTime '" + localDateTime + "' does not match offset '" + offset
+                    + "' for zone '" + zone + "'");
+        }
+        return new TZonedDateTime(localDateTime, offset, zone);
+    }
+
+    public static TZonedDateTime from(TTemporalAccessor temporal) {
+        if (temporal instanceof TZonedDateTime) {
+            return (TZonedDateTime) temporal;
+        }
+        try {
+            TZoneId zone = TZoneId.from(temporal);
+            if (temporal.isSupported(TChronoField.INSTANT_SECONDS)) {
+                long epochSecond = temporal.getLong(TChronoField.INSTANT_SECONDS);
+                int nanoOfSecond = temporal.get(TChronoField.NANO_OF_SECOND);
+                return create(epochSecond, nanoOfSecond, zone);
+            }
+            return of(TLocalDateTime.from(temporal), zone);
+        } catch (TDateTimeException e) {
+            throw new TDateTimeException("Unable to obtain ZonedDateTime from TemporalAccessor: " + temporal, e);
+        }
+    }
+
+    public static TZonedDateTime parse(CharSequence text) {
+        return parse(text, TDateTimeFormatter.ISO_ZONED_DATE_TIME);
+    }
+
+    public static TZonedDateTime parse(CharSequence text, TDateTimeFormatter formatter) {
+        return formatter.parse(text, TZonedDateTime::from);
+    }
+
+    private TZonedDateTime resolveLocal(TLocalDateTime newDateTime) {
+        return ofLocal(newDateTime, zone, offset);
+    }
+
+    private TZonedDateTime resolveInstant(TLocalDateTime newDateTime) {
+        return ofInstant(newDateTime, offset, zone);
+    }
+
+    private TZonedDateTime resolveOffset(TZoneOffset offset) {
+        if (!offset.equals(this.offset) && zone.getRules().isValidOffset(dateTime, offset)) {
+            return new TZonedDateTime(dateTime, offset, zone);
+        }
+        return this;
+    }
+
+    @Override
+    public boolean isSupported(TTemporalField field) {
+        return field instanceof TChronoField || field != null && field.isSupportedBy(this);
+    }
+
+    @Override
+    public boolean isSupported(TTemporalUnit unit) {
+        return dateTime.isSupported(unit);
+    }
+
+    @Override
+    public TValueRange range(TTemporalField field) {
+        if (field instanceof TChronoField) {
+            if (field == TChronoField.INSTANT_SECONDS || field == TChronoField.OFFSET_SECONDS) {
+                return field.range();
+            }
+            return dateTime.range(field);
+        }
+        return field.rangeRefinedBy(this);
+    }
+
+    @Override
+    public int get(TTemporalField field) {
+        if (field == TChronoField.INSTANT_SECONDS) {
+            throw new TUnsupportedTemporalTypeException("Invalid field 'InstantSeconds' for get() method, "
+                    + "use getLong() instead");
+        } else if (field == TChronoField.OFFSET_SECONDS) {
+            return offset.getTotalSeconds();
+        } else if (field instanceof TChronoField) {
+            return dateTime.get(field);
+        }
+        return TChronoZonedDateTime.super.get(field);
+    }
+
+    @Override
+    public long getLong(TTemporalField field) {
+        if (field == TChronoField.INSTANT_SECONDS) {
+            return toEpochSecond();
+        } else if (field == TChronoField.OFFSET_SECONDS) {
+            return offset.getTotalSeconds();
+        } else if (field instanceof TChronoField) {
+            return dateTime.getLong(field);
+        }
+        return field.getFrom(this);
+    }
+
+    @Override
+    public TZoneOffset getOffset() {
+        return offset;
+    }
+
+    public TZonedDateTime withEarlierOffsetAtOverlap() {
+        List<TZoneOffset> validOffsets = zone.getRules().getValidOffsets(dateTime);
+        if (validOffsets.size() == 2) {
+            TZoneOffset earlierOffset = validOffsets.get(0);
+            if (!earlierOffset.equals(offset)) {
+                return new TZonedDateTime(dateTime, earlierOffset, zone);
+            }
+        }
+        return this;
+    }
+
+    public TZonedDateTime withLaterOffsetAtOverlap() {
+        List<TZoneOffset> validOffsets = zone.getRules().getValidOffsets(dateTime);
+        if (validOffsets.size() == 2) {
+            TZoneOffset laterOffset = validOffsets.get(1);
+            if (!laterOffset.equals(offset)) {
+                return new TZonedDateTime(dateTime, laterOffset, zone);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public TZoneId getZone() {
+        return zone;
+    }
+
+    public TZonedDateTime withZoneSameLocal(TZoneId zone) {
+        return this.zone.equals(zone) ? this : ofLocal(dateTime, zone, offset);
+    }
+
+    public TZonedDateTime withZoneSameInstant(TZoneId zone) {
+        return this.zone.equals(zone) ? this : create(dateTime.toEpochSecond(offset), dateTime.getNano(), zone);
+    }
+
+    public TZonedDateTime withFixedOffsetZone() {
+        return zone.equals(offset) ? this : new TZonedDateTime(dateTime, offset, offset);
+    }
+
+    public TOffsetDateTime toOffsetDateTime() {
+        return TOffsetDateTime.of(dateTime, offset);
+    }
+
+    @Override
+    public TLocalDateTime toLocalDateTime() {
+        return dateTime;
+    }
+
+    @Override
+    public TLocalDate toLocalDate() {
+        return dateTime.toLocalDate();
+    }
+
+    public int getYear() {
+        return dateTime.getYear();
+    }
+
+    public int getMonthValue() {
+        return dateTime.getMonthValue();
+    }
+
+    public TMonth getMonth() {
+        return dateTime.getMonth();
+    }
+
+    public int getDayOfMonth() {
+        return dateTime.getDayOfMonth();
+    }
+
+    public int getDayOfYear() {
+        return dateTime.getDayOfYear();
+    }
+
+    public TDayOfWeek getDayOfWeek() {
+        return dateTime.getDayOfWeek();
+    }
+
+    @Override
+    public TLocalTime toLocalTime() {
+        return dateTime.toLocalTime();
+    }
+
+    public int getHour() {
+        return dateTime.getHour();
+    }
+
+    public int getMinute() {
+        return dateTime.getMinute();
+    }
+
+    public int getSecond() {
+        return dateTime.getSecond();
+    }
+
+    public int getNano() {
+        return dateTime.getNano();
+    }
+
+    @Override
+    public TZonedDateTime with(TTemporalAdjuster adjuster) {
+        if (adjuster instanceof TLocalDate) {
+            return resolveLocal(TLocalDateTime.of((TLocalDate) adjuster, dateTime.toLocalTime()));
+        } else if (adjuster instanceof TLocalTime) {
+            return resolveLocal(TLocalDateTime.of(dateTime.toLocalDate(), (TLocalTime) adjuster));
+        } else if (adjuster instanceof TLocalDateTime) {
+            return resolveLocal((TLocalDateTime) adjuster);
+        } else if (adjuster instanceof TInstant) {
+            TInstant instant = (TInstant) adjuster;
+            return create(instant.getEpochSecond(), instant.getNano(), zone);
+        } else if (adjuster instanceof TZoneOffset) {
+            return resolveOffset((TZoneOffset) adjuster);
+        }
+        return (TZonedDateTime) adjuster.adjustInto(this);
+    }
+
+    @Override
+    public TZonedDateTime with(TTemporalField field, long newValue) {
+        if (!(field instanceof TChronoField)) {
+            return field.adjustInto(this, newValue);
+        }
+        TChronoField f = (TChronoField) field;
+        switch (f) {
+            case INSTANT_SECONDS:
+                return create(newValue, getNano(), zone);
+            case OFFSET_SECONDS:
+                return resolveOffset(TZoneOffset.ofTotalSeconds(f.checkValidIntValue(newValue)));
+            default:
+                return resolveLocal(dateTime.with(field, newValue));
+        }
+    }
+
+    public TZonedDateTime withYear(int year) {
+        return resolveLocal(dateTime.withYear(year));
+    }
+
+    public TZonedDateTime withMonth(int month) {
+        return resolveLocal(dateTime.withMonth(month));
+    }
+
+    public TZonedDateTime withDayOfMonth(int dayOfMonth) {
+        return resolveLocal(dateTime.withDayOfMonth(dayOfMonth));
+    }
+
+    public TZonedDateTime withDayOfYear(int dayOfYear) {
+        return resolveLocal(dateTime.withDayOfYear(dayOfYear));
+    }
+
+    public TZonedDateTime withHour(int hour) {
+        return resolveLocal(dateTime.withHour(hour));
+    }
+
+    public TZonedDateTime withMinute(int minute) {
+        return resolveLocal(dateTime.withMinute(minute));
+    }
+
+    public TZonedDateTime withSecond(int second) {
+        return resolveLocal(dateTime.withSecond(second));
+    }
+
+    public TZonedDateTime withNano(int nanoOfSecond) {
+        return resolveLocal(dateTime.withNano(nanoOfSecond));
+    }
+
+    public TZonedDateTime truncatedTo(TTemporalUnit unit) {
+        return resolveLocal(dateTime.truncatedTo(unit));
+    }
+
+    @Override
+    public TZonedDateTime plus(TTemporalAmount amount) {
+        if (amount instanceof TPeriod) {
+            return resolveLocal(dateTime.plus(amount));
+        }
+        return (TZonedDateTime) amount.addTo(this);
+    }
+
+    @Override
+    public TZonedDateTime plus(long amountToAdd, TTemporalUnit unit) {
+        if (!(unit instanceof TChronoUnit)) {
+            return unit.addTo(this, amountToAdd);
+        }
+        if (unit.isDateBased()) {
+            return resolveLocal(dateTime.plus(amountToAdd, unit));
+        } else {
+            return resolveInstant(dateTime.plus(amountToAdd, unit));
+        }
+    }
+
+    public TZonedDateTime plusYears(long years) {
+        return resolveLocal(dateTime.plusYears(years));
+    }
+
+    public TZonedDateTime plusMonths(long months) {
+        return resolveLocal(dateTime.plusMonths(months));
+    }
+
+    public TZonedDateTime plusWeeks(long weeks) {
+        return resolveLocal(dateTime.plusWeeks(weeks));
+    }
+
+    public TZonedDateTime plusDays(long days) {
+        return resolveLocal(dateTime.plusDays(days));
+    }
+
+    public TZonedDateTime plusHours(long hours) {
+        return resolveInstant(dateTime.plusHours(hours));
+    }
+
+    public TZonedDateTime plusMinutes(long minutes) {
+        return resolveInstant(dateTime.plusMinutes(minutes));
+    }
+
+    public TZonedDateTime plusSeconds(long seconds) {
+        return resolveInstant(dateTime.plusSeconds(seconds));
+    }
+
+    public TZonedDateTime plusNanos(long nanos) {
+        return resolveInstant(dateTime.plusNanos(nanos));
+    }
+
+    @Override
+    public TZonedDateTime minus(TTemporalAmount amount) {
+        if (amount instanceof TPeriod) {
+            return resolveLocal(dateTime.minus(amount));
+        }
+        return (TZonedDateTime) amount.subtractFrom(this);
+    }
+
+    @Override
+    public TZonedDateTime minus(long amountToSubtract, TTemporalUnit unit) {
+        return amountToSubtract == Long.MIN_VALUE
+                ? plus(Long.MAX_VALUE, unit).plus(1, unit)
+                : plus(-amountToSubtract, unit);
+    }
+
+    public TZonedDateTime minusYears(long years) {
+        return resolveLocal(dateTime.minusYears(years));
+    }
+
+    public TZonedDateTime minusMonths(long months) {
+        return resolveLocal(dateTime.minusMonths(months));
+    }
+
+    public TZonedDateTime minusWeeks(long weeks) {
+        return resolveLocal(dateTime.minusWeeks(weeks));
+    }
+
+    public TZonedDateTime minusDays(long days) {
+        return resolveLocal(dateTime.minusDays(days));
+    }
+
+    public TZonedDateTime minusHours(long hours) {
+        return resolveInstant(dateTime.minusHours(hours));
+    }
+
+    public TZonedDateTime minusMinutes(long minutes) {
+        return resolveInstant(dateTime.minusMinutes(minutes));
+    }
+
+    public TZonedDateTime minusSeconds(long seconds) {
+        return resolveInstant(dateTime.minusSeconds(seconds));
+    }
+
+    public TZonedDateTime minusNanos(long nanos) {
+        return resolveInstant(dateTime.minusNanos(nanos));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R query(TTemporalQuery<R> query) {
+        if (query == TTemporalQueries.zoneId() || query == TTemporalQueries.zone()) {
+            return (R) zone;
+        } else if (query == TTemporalQueries.offset()) {
+            return (R) offset;
+        } else if (query == TTemporalQueries.localDate()) {
+            return (R) dateTime.toLocalDate();
+        } else if (query == TTemporalQueries.localTime()) {
+            return (R) dateTime.toLocalTime();
+        }
+        return TChronoZonedDateTime.super.query(query);
+    }
+
+    @Override
+    public long until(TTemporal endExclusive, TTemporalUnit unit) {
+        TZonedDateTime end = from(endExclusive);
+        if (!(unit instanceof TChronoUnit)) {
+            return unit.between(this, end);
+        }
+        end = end.withZoneSameInstant(zone);
+        if (unit.isDateBased()) {
+            return dateTime.until(end.dateTime, unit);
+        }
+        return toInstant().until(end.toInstant(), unit);
+    }
+
+    public String format(TDateTimeFormatter formatter) {
+        return formatter.format(this);
+    }
+
+    @Override
+    public long toEpochSecond() {
+        return dateTime.toEpochSecond(offset);
+    }
+
+    @Override
+    public TInstant toInstant() {
+        return dateTime.toInstant(offset);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TZonedDateTime)) {
+            return false;
+        }
+        TZonedDateTime other = (TZonedDateTime) obj;
+        return dateTime.equals(other.dateTime) && offset.equals(other.offset) && zone.equals(other.zone);
+    }
+
+    @Override
+    public int hashCode() {
+        return dateTime.hashCode() ^ offset.hashCode() ^ Integer.rotateLeft(zone.hashCode(), 3);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        dateTime.appendTo(sb);
+        sb.append(offset.getId());
+        if (offset != zone) {
+            sb.append('[').append(zone.getId()).append(']');
+        }
+        return sb.toString();
+    }
+}
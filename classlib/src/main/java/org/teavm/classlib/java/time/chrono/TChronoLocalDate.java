@@ -0,0 +1,55 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.chrono;
+
+import org.teavm.classlib.java.lang.TComparable;
+import org.teavm.classlib.java.time.temporal.TChronoField;
+import org.teavm.classlib.java.time.temporal.TTemporal;
+import org.teavm.classlib.java.time.temporal.TTemporalAdjuster;
+
+public interface TChronoLocalDate extends TTemporal, TTemporalAdjuster, TComparable<TChronoLocalDate> {
+    boolean isLeapYear();
+
+    int lengthOfMonth();
+
+    int lengthOfYear();
+
+    default long toEpochDay() {
+        return getLong(TChronoField.EPOCH_DAY);
+    }
+
+    @Override
+    default TTemporal adjustInto(TTemporal temporal) {
+        return temporal.with(TChronoField.EPOCH_DAY, toEpochDay());
+    }
+
+    @Override
+    default int compareTo(TChronoLocalDate other) {
+        return Long.compare(toEpochDay(), other.toEpochDay());
+    }
+
+    default boolean isAfter(TChronoLocalDate other) {
+        return toEpochDay() > other.toEpochDay();
+    }
+
+    default boolean isBefore(TChronoLocalDate other) {
+        return toEpochDay() < other.toEpochDay();
+    }
+
+    default boolean isEqual(TChronoLocalDate other) {
+        return toEpochDay() == other.toEpochDay();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.chrono;
+
+import org.teavm.classlib.java.lang.TComparable;
+import org.teavm.classlib.java.time.TInstant;
+import org.teavm.classlib.java.time.TLocalTime;
+import org.teavm.classlib.java.time.TZoneOffset;
+import org.teavm.classlib.java.time.temporal.TChronoField;
+import org.teavm.classlib.java.time.temporal.TTemporal;
+import org.teavm.classlib.java.time.temporal.TTemporalAdjuster;
+
+public interface TChronoLocalDateTime<D extends TChronoLocalDate>
+        extends TTemporal, TTemporalAdjuster, TComparable<TChronoLocalDateTime<?>> {
+    D toLocalDate();
+
+    TLocalTime toLocalTime();
+
+    @Override
+    default TTemporal adjustInto(TTemporal temporal) {
+        return temporal.with(TChronoField.EPOCH_DAY, toLocalDate().toEpochDay())
+                .with(TChronoField.NANO_OF_DAY, toLocalTime().toNanoOfDay());
+    }
+
+    default long toEpochSecond(TZoneOffset offset) {
+        return toLocalDate().toEpochDay() * 86400 + toLocalTime().toSecondOfDay() - offset.getTotalSeconds();
+    }
+
+    default TInstant toInstant(TZoneOffset offset) {
+        return TInstant.ofEpochSecond(toEpochSecond(offset), toLocalTime().getNano());
+    }
+
+    @Override
+    default int compareTo(TChronoLocalDateTime<?> other) {
+        int cmp = toLocalDate().compareTo(other.toLocalDate());
+        if (cmp == 0) {
+            cmp = toLocalTime().compareTo(other.toLocalTime());
+        }
+        return cmp;
+    }
+
+    default boolean isAfter(TChronoLocalDateTime<?> other) {
+        return compareTo(other) > 0;
+    }
+
+    default boolean isBefore(TChronoLocalDateTime<?> other) {
+        return compareTo(other) < 0;
+    }
+
+    default boolean isEqual(TChronoLocalDateTime<?> other) {
+        return compareTo(other) == 0;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.chrono;
+
+import org.teavm.classlib.java.lang.TComparable;
+import org.teavm.classlib.java.time.TInstant;
+import org.teavm.classlib.java.time.TLocalTime;
+import org.teavm.classlib.java.time.TZoneId;
+import org.teavm.classlib.java.time.TZoneOffset;
+import org.teavm.classlib.java.time.temporal.TTemporal;
+
+public interface TChronoZonedDateTime<D extends TChronoLocalDate>
+        extends TTemporal, TComparable<TChronoZonedDateTime<?>> {
+    D toLocalDate();
+
+    TLocalTime toLocalTime();
+
+    TChronoLocalDateTime<D> toLocalDateTime();
+
+    TZoneOffset getOffset();
+
+    TZoneId getZone();
+
+    default long toEpochSecond() {
+        return toLocalDateTime().toEpochSecond(getOffset());
+    }
+
+    default TInstant toInstant() {
+        return TInstant.ofEpochSecond(toEpochSecond(), toLocalTime().getNano());
+    }
+
+    @Override
+    default int compareTo(TChronoZonedDateTime<?> other) {
+        int cmp = Long.compare(toEpochSecond(), other.toEpochSecond());
+        if (cmp == 0) {
+            cmp = Integer.compare(toLocalTime().getNano(), other.toLocalTime().getNano());
+            if (cmp == 0) {
+                cmp = toLocalDateTime().compareTo(other.toLocalDateTime());
+                if (cmp == 0) {
+                    cmp = getZone().getId().compareTo(other.getZone().getId());
+                }
+            }
+        }
+        return cmp;
+    }
+
+    default boolean isAfter(TChronoZonedDateTime<?> other) {
+        long seconds = toEpochSecond();
+        long otherSeconds = other.toEpochSecond();
+        return seconds > otherSeconds || seconds == otherSeconds
+                && toLocalTime().getNano() > other.toLocalTime().getNano();
+    }
+
+    default boolean isBefore(TChronoZonedDateTime<?> other) {
+        long seconds = toEpochSecond();
+        long otherSeconds = other.toEpochSecond();
+        return seconds < otherSeconds || seconds == otherSeconds
+                && toLocalTime().getNano() < other.toLocalTime().getNano();
+    }
+
+    default boolean isEqual(TChronoZonedDateTime<?> other) {
+        return toEpochSecond() == other.toEpochSecond() && toLocalTime().getNano() == other.toLocalTime().getNano();
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.format;
+
+import static org.teavm.classlib.java.time.temporal.TChronoField.DAY_OF_MONTH;
+import static org.teavm.classlib.java.time.temporal.TChronoField.HOUR_OF_DAY;
+import static org.teavm.classlib.java.time.temporal.TChronoField.MINUTE_OF_HOUR;
+import static org.teavm.classlib.java.time.temporal.TChronoField.MONTH_OF_YEAR;
+import static org.teavm.classlib.java.time.temporal.TChronoField.NANO_OF_SECOND;
+import static org.teavm.classlib.java.time.temporal.TChronoField.SECOND_OF_MINUTE;
+import static org.teavm.classlib.java.time.temporal.TChronoField.YEAR;
+import java.io.IOException;
+import org.teavm.classlib.java.time.TDateTimeException;
+import org.teavm.classlib.java.time.TZoneId;
+import org.teavm.classlib.java.time.format.TDateTimeFormatterBuilder.CompositePrinterParser;
+import org.teavm.classlib.java.time.temporal.TTemporalAccessor;
+import org.teavm.classlib.java.time.temporal.TTemporalQuery;
+import org.teavm.classlib.java.util.TLocale;
+
+public final class TDateTimeFormatter {
+    public static final TDateTimeFormatter ISO_LOCAL_DATE = new TDateTimeFormatterBuilder()
+            .appendValue(YEAR, 4, 10, TSignStyle.EXCEEDS_PAD)
+            .appendLiteral('-')
+            .appendValue(MONTH_OF_YEAR, 2)
+            .appendLiteral('-')
+            .appendValue(DAY_OF_MONTH, 2)
+            .toFormatter(TLocale.ROOT);
+
+    public static final TDateTimeFormatter ISO_OFFSET_DATE = new TDateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .append(ISO_LOCAL_DATE)
+            .appendOffsetId()
+            .toFormatter(TLocale.ROOT);
+
+    public static final TDateTimeFormatter ISO_DATE = new TDateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .append(ISO_LOCAL_DATE)
+            .optionalStart()
+            .appendOffsetId()
+            .toFormatter(TLocale.ROOT);
+
+    public static final TDateTimeFormatter ISO_LOCAL_TIME = new TDateTimeFormatterBuilder()
+            .appendValue(HOUR_OF_DAY, 2)
+            .appendLiteral(':')
+            .appendValue(MINUTE_OF_HOUR, 2)
+            .optionalStart()
+            .appendLiteral(':')
+            .appendValue(SECOND_OF_MINUTE, 2)
+            .optionalStart()
+            .appendFraction(NANO_OF_SECOND, 0, 9, true)
+            .toFormatter(TLocale.ROOT);
+
+    public static final TDateTimeFormatter ISO_OFFSET_TIME = new TDateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .append(ISO_LOCAL_TIME)
+            .appendOffsetId()
+            .toFormatter(TLocale.ROOT);
+
+    public static final TDateTimeFormatter ISO_TIME = new TDateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .append(ISO_LOCAL_TIME)
+            .optionalStart()
+            .appendOffsetId()
+            .toFormatter(TLocale.ROOT);
+
+    public static final TDateTimeFormatter ISO_LOCAL_DATE_TIME = new TDateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .append(ISO_LOCAL_DATE)
+            .appendLiteral('T')
+            .append(ISO_LOCAL_TIME)
+            .toFormatter(TLocale.ROOT);
+
+    public static final TDateTimeFormatter ISO_OFFSET_DATE_TIME = new TDateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .append(ISO_LOCAL_DATE_TIME)
+            .appendOffsetId()
+            .toFormatter(TLocale.ROOT);
+
+    public static final TDateTimeFormatter ISO_ZONED_DATE_TIME = new TDateTimeFormatterBuilder()
+            .append(ISO_OFFSET_DATE_TIME)
+            .optionalStart()
+            .appendLiteral('[')
+            .parseCaseSensitive()
+            .appendZoneRegionId()
+            .appendLiteral(']')
+            .toFormatter(TLocale.ROOT);
+
+    public static final TDateTimeFormatter ISO_DATE_TIME = new TDateTimeFormatterBuilder()
+            .append(ISO_LOCAL_DATE_TIME)
+            .optionalStart()
+            .appendOffsetId()
+            .optionalStart()
+            .appendLiteral('[')
+            .parseCaseSensitive()
+            .appendZoneRegionId()
+            .appendLiteral(']')
+            .toFormatter(TLocale.ROOT);
+
+    public static final TDateTimeFormatter ISO_INSTANT = new TDateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .appendInstant()
+            .toFormatter(TLocale.ROOT);
+
+    public static final TDateTimeFormatter BASIC_ISO_DATE = new TDateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .appendValue(YEAR, 4)
+            .appendValue(MONTH_OF_YEAR, 2)
+            .appendValue(DAY_OF_MONTH, 2)
+            .optionalStart()
+            .parseLenient()
+            .appendOffset("+HHMMss", "Z")
+            .parseStrict()
+            .toFormatter(TLocale.ROOT);
+
+    private final CompositePrinterParser printerParser;
+    private final TLocale locale;
+    private final TZoneId zone;
+
+    TDateTimeFormatter(CompositePrinterParser printerParser, TLocale locale, TZoneId zone) {
+        this.printerParser = printerParser;
+        this.locale = locale;
+        this.zone = zone;
+    }
+
+    public static TDateTimeFormatter ofPattern(String pattern) {
+        return new TDateTimeFormatterBuilder().appendPattern(pattern).toFormatter();
+    }
+
+    public static TDateTimeFormatter ofPattern(String pattern, TLocale locale) {
+        return new TDateTimeFormatterBuilder().appendPattern(pattern).toFormatter(locale);
+    }
+
+    public TLocale getLocale() {
+        return locale;
+    }
+
+    public TDateTimeFormatter withLocale(TLocale locale) {
+        if (this.locale.equals(locale)) {
+            return this;
+        }
+        return new TDateTimeFormatter(printerParser, locale, zone);
+    }
+
+    public TZoneId getZone() {
+        return zone;
+    }
+
+    public TDateTimeFormatter withZone(TZoneId zone) {
+        if (this.zone == null ? zone == null : this.zone.equals(zone)) {
+            return this;
+        }
+        return new TDateTimeFormatter(printerParser, locale, zone);
+    }
+
+    public String format(TTemporalAccessor temporal) {
+        StringBuilder sb = new StringBuilder(32);
+        formatTo(temporal, sb);
+        return sb.toString();
+    }
+
+    public void formatTo(TTemporalAccessor temporal, Appendable appendable) {
+        TDateTimePrintContext context = new TDateTimePrintContext(temporal, this);
+        if (appendable instanceof StringBuilder) {
+            printerParser.format(context, (StringBuilder) appendable);
+        } else {
+            StringBuilder sb = new StringBuilder(32);
+            printerParser.format(context, sb);
+            try {
+                appendable.append(sb);
+            } catch (IOException e) {
+                throw new TDateTimeException(e.getMessage(), e);
+            }
+        }
+    }
+
+    public TTemporalAccessor parse(CharSequence text) {
+        try {
+            return parseResolved(text);
+        } catch (TDateTimeParseException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw createError(text, e);
+        }
+    }
+
+    public <T> T parse(CharSequence text, TTemporalQuery<T> query) {
+        try {
+            return parseResolved(text).query(query);
+        } catch (TDateTimeParseException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw createError(text, e);
+        }
+    }
+
+    private TParsed parseResolved(CharSequence text) {
+        TDateTimeParseContext context = new TDateTimeParseContext(this);
+        int pos = printerParser.parse(context, text, 0);
+        if (pos < 0) {
+            throw new TDateTimeParseException("Text '" + abbreviate(text) + "' could not be parsed at index " + ~pos,
+                    text, ~pos);
+        }
+        if (pos < text.length()) {
+            throw new TDateTimeParseException("Text '" + abbreviate(text) + "' could not be parsed, "
+                    + "unparsed text found at index " + pos, text, pos);
+        }
+        return context.toResolved();
+    }
+
+    private static TDateTimeParseException createError(CharSequence text, RuntimeException e) {
+        return new TDateTimeParseException("Text '" + abbreviate(text) + "' could not be parsed: " + e.getMessage(),
+                text, 0, e);
+    }
+
+    private static String abbreviate(CharSequence text) {
+        if (text.length() > 64) {
+            return text.subSequence(0, 64).toString() + "...";
+        }
+        return text.toString();
+    }
+
+    CompositePrinterParser toPrinterParser(boolean optional) {
+        return printerParser.withOptional(optional);
+    }
+
+    @Override
+    public String toString() {
+        String pattern = printerParser.toString();
+        return pattern.startsWith("[") ? pattern : pattern.substring(1, pattern.length() - 1);
+    }
+}
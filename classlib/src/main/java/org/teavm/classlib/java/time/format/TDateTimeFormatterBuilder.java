@@ -0,0 +1,1525 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.format;
+
+import static org.teavm.classlib.java.time.temporal.TChronoField.DAY_OF_MONTH;
+import static org.teavm.classlib.java.time.temporal.TChronoField.HOUR_OF_DAY;
+import static org.teavm.classlib.java.time.temporal.TChronoField.INSTANT_SECONDS;
+import static org.teavm.classlib.java.time.temporal.TChronoField.MINUTE_OF_HOUR;
+import static org.teavm.classlib.java.time.temporal.TChronoField.MONTH_OF_YEAR;
+import static org.teavm.classlib.java.time.temporal.TChronoField.NANO_OF_SECOND;
+import static org.teavm.classlib.java.time.temporal.TChronoField.OFFSET_SECONDS;
+import static org.teavm.classlib.java.time.temporal.TChronoField.SECOND_OF_MINUTE;
+import static org.teavm.classlib.java.time.temporal.TChronoField.YEAR;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.teavm.classlib.java.time.TDateTimeException;
+import org.teavm.classlib.java.time.TLocalDateTime;
+import org.teavm.classlib.java.time.TZoneId;
+import org.teavm.classlib.java.time.TZoneOffset;
+import org.teavm.classlib.java.time.temporal.TChronoField;
+import org.teavm.classlib.java.time.temporal.TTemporalAccessor;
+import org.teavm.classlib.java.time.temporal.TTemporalField;
+import org.teavm.classlib.java.time.temporal.TTemporalQueries;
+import org.teavm.classlib.java.time.temporal.TTemporalQuery;
+import org.teavm.classlib.java.time.temporal.TValueRange;
+import org.teavm.classlib.java.util.TLocale;
+
+/**
+ * <p>Builder of date-time formatters. Follows the structure of the JDK builder: every appended element
+ * becomes a printer-parser, optional sections become nested composite printer-parsers, and adjacent
+ * fixed-width values (like in {@code yyyyMMdd}) are parsed without separators.</p>
+ *
+ * <p>ISO chronology only; padding, week-based and quarter fields are not supported.</p>
+ *
+ * @author Alexey Andreev
+ */
+public final class TDateTimeFormatterBuilder {
+    private static final Map<Character, TTemporalField> FIELD_MAP = new HashMap<>();
+    private static final TTemporalQuery<TZoneId> QUERY_REGION_ONLY = temporal -> {
+        TZoneId zone = temporal.query(TTemporalQueries.zoneId());
+        return zone != null && !(zone instanceof TZoneOffset) ? zone : null;
+    };
+
+    private TDateTimeFormatterBuilder active = this;
+    private final TDateTimeFormatterBuilder parent;
+    private final List<DateTimePrinterParser> printerParsers = new ArrayList<>();
+    private final boolean optional;
+    private int valueParserIndex = -1;
+
+    static {
+        FIELD_MAP.put('G', TChronoField.ERA);
+        FIELD_MAP.put('y', TChronoField.YEAR_OF_ERA);
+        FIELD_MAP.put('u', TChronoField.YEAR);
+        FIELD_MAP.put('D', TChronoField.DAY_OF_YEAR);
+        FIELD_MAP.put('M', TChronoField.MONTH_OF_YEAR);
+        FIELD_MAP.put('L', TChronoField.MONTH_OF_YEAR);
+        FIELD_MAP.put('d', TChronoField.DAY_OF_MONTH);
+        FIELD_MAP.put('E', TChronoField.DAY_OF_WEEK);
+        FIELD_MAP.put('a', TChronoField.AMPM_OF_DAY);
+        FIELD_MAP.put('H', TChronoField.HOUR_OF_DAY);
+        FIELD_MAP.put('k', TChronoField.CLOCK_HOUR_OF_DAY);
+        FIELD_MAP.put('K', TChronoField.HOUR_OF_AMPM);
+        FIELD_MAP.put('h', TChronoField.CLOCK_HOUR_OF_AMPM);
+        FIELD_MAP.put('m', TChronoField.MINUTE_OF_HOUR);
+        FIELD_MAP.put('s', TChronoField.SECOND_OF_MINUTE);
+        FIELD_MAP.put('S', TChronoField.NANO_OF_SECOND);
+        FIELD_MAP.put('A', TChronoField.MILLI_OF_DAY);
+        FIELD_MAP.put('n', TChronoField.NANO_OF_SECOND);
+        FIELD_MAP.put('N', TChronoField.NANO_OF_DAY);
+    }
+
+    public TDateTimeFormatterBuilder() {
+        parent = null;
+        optional = false;
+    }
+
+    private TDateTimeFormatterBuilder(TDateTimeFormatterBuilder parent, boolean optional) {
+        this.parent = parent;
+        this.optional = optional;
+    }
+
+    public TDateTimeFormatterBuilder parseCaseSensitive() {
+        appendInternal(SettingsParser.SENSITIVE);
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder parseCaseInsensitive() {
+        appendInternal(SettingsParser.INSENSITIVE);
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder parseStrict() {
+        appendInternal(SettingsParser.STRICT);
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder parseLenient() {
+        appendInternal(SettingsParser.LENIENT);
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder appendValue(TTemporalField field) {
+        appendValue(new NumberPrinterParser(field, 1, 19, TSignStyle.NORMAL, 0));
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder appendValue(TTemporalField field, int width) {
+        if (width < 1 || width > 19) {
+            throw new IllegalArgumentException("The width must be from 1 to 19 inclusive but was " + width);
+        }
+        appendValue(new NumberPrinterParser(field, width, width, TSignStyle.NOT_NEGATIVE, 0));
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder appendValue(TTemporalField field, int minWidth, int maxWidth,
+            TSignStyle signStyle) {
+        if (minWidth == maxWidth && signStyle == TSignStyle.NOT_NEGATIVE) {
+            return appendValue(field, maxWidth);
+        }
+        if (minWidth < 1 || minWidth > 19) {
+            throw new IllegalArgumentException("The minimum width must be from 1 to 19 inclusive but was "
+                    + minWidth);
+        }
+        if (maxWidth < 1 || maxWidth > 19) {
+            throw new IllegalArgumentException("The maximum width must be from 1 to 19 inclusive but was "
+                    + maxWidth);
+        }
+        if (maxWidth < minWidth) {
+            throw new IllegalArgumentException("The maximum width must exceed or equal the minimum width but "
+                    + maxWidth + " < " + minWidth);
+        }
+        appendValue(new NumberPrinterParser(field, minWidth, maxWidth, signStyle, 0));
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder appendValueReduced(TTemporalField field, int width, int maxWidth,
+            int baseValue) {
+        if (width < 1 || width > 10) {
+            throw new IllegalArgumentException("The minWidth must be from 1 to 10 inclusive but was " + width);
+        }
+        if (maxWidth < 1 || maxWidth > 10) {
+            throw new IllegalArgumentException("The maxWidth must be from 1 to 10 inclusive but was " + maxWidth);
+        }
+        if (maxWidth < width) {
+            throw new IllegalArgumentException("Maximum width must exceed or equal the minimum width but "
+                    + maxWidth + " < " + width);
+        }
+        if (!field.range().isValidValue(baseValue)) {
+            throw new IllegalArgumentException("The base value must be within the range of the field");
+        }
+        if (baseValue + NumberPrinterParser.EXCEED_POINTS[width] > Integer.MAX_VALUE) {
+            throw new TDateTimeException("Unable to add printer-parser as the range exceeds the capacity of an int");
+        }
+        appendValue(new ReducedPrinterParser(field, width, maxWidth, baseValue, 0));
+        return this;
+    }
+
+    private void appendValue(NumberPrinterParser pp) {
+        if (active.valueParserIndex >= 0) {
+            int activeValueParser = active.valueParserIndex;
+            NumberPrinterParser basePP = (NumberPrinterParser) active.printerParsers.get(activeValueParser);
+            if (pp.minWidth == pp.maxWidth && pp.signStyle == TSignStyle.NOT_NEGATIVE) {
+                basePP = basePP.withSubsequentWidth(pp.maxWidth);
+                appendInternal(pp.withFixedWidth());
+                active.valueParserIndex = activeValueParser;
+            } else {
+                basePP = basePP.withFixedWidth();
+                active.valueParserIndex = appendInternal(pp);
+            }
+            active.printerParsers.set(activeValueParser, basePP);
+        } else {
+            active.valueParserIndex = appendInternal(pp);
+        }
+    }
+
+    public TDateTimeFormatterBuilder appendFraction(TTemporalField field, int minWidth, int maxWidth,
+            boolean decimalPoint) {
+        appendInternal(new FractionPrinterParser(field, minWidth, maxWidth, decimalPoint));
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder appendText(TTemporalField field) {
+        return appendText(field, TTextStyle.FULL);
+    }
+
+    public TDateTimeFormatterBuilder appendText(TTemporalField field, TTextStyle textStyle) {
+        appendInternal(new TextPrinterParser(field, textStyle));
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder appendInstant() {
+        appendInternal(new InstantPrinterParser(-2));
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder appendInstant(int fractionalDigits) {
+        if (fractionalDigits < -1 || fractionalDigits > 9) {
+            throw new IllegalArgumentException("The fractional digits must be from -1 to 9 inclusive but was "
+                    + fractionalDigits);
+        }
+        appendInternal(new InstantPrinterParser(fractionalDigits));
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder appendOffsetId() {
+        appendInternal(OffsetIdPrinterParser.INSTANCE_ID_Z);
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder appendOffset(String pattern, String noOffsetText) {
+        appendInternal(new OffsetIdPrinterParser(pattern, noOffsetText));
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder appendLocalizedOffset(TTextStyle style) {
+        if (style != TTextStyle.FULL && style != TTextStyle.SHORT) {
+            throw new IllegalArgumentException("Style must be either full or short");
+        }
+        appendInternal(new LocalizedOffsetIdPrinterParser(style));
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder appendZoneId() {
+        appendInternal(new ZoneIdPrinterParser(TTemporalQueries.zoneId(), "ZoneId()"));
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder appendZoneRegionId() {
+        appendInternal(new ZoneIdPrinterParser(QUERY_REGION_ONLY, "ZoneRegionId()"));
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder appendZoneOrOffsetId() {
+        appendInternal(new ZoneIdPrinterParser(TTemporalQueries.zone(), "ZoneOrOffsetId()"));
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder appendLiteral(char literal) {
+        appendInternal(new CharLiteralPrinterParser(literal));
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder appendLiteral(String literal) {
+        if (literal.length() == 1) {
+            appendInternal(new CharLiteralPrinterParser(literal.charAt(0)));
+        } else if (!literal.isEmpty()) {
+            appendInternal(new StringLiteralPrinterParser(literal));
+        }
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder append(TDateTimeFormatter formatter) {
+        appendInternal(formatter.toPrinterParser(false));
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder appendOptional(TDateTimeFormatter formatter) {
+        appendInternal(formatter.toPrinterParser(true));
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder appendPattern(String pattern) {
+        parsePattern(pattern);
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder optionalStart() {
+        active.valueParserIndex = -1;
+        active = new TDateTimeFormatterBuilder(active, true);
+        return this;
+    }
+
+    public TDateTimeFormatterBuilder optionalEnd() {
+        if (active.parent == null) {
+            throw new IllegalStateException("Cannot call optionalEnd() as there was no previous call to "
+                    + "optionalStart()");
+        }
+        if (!active.printerParsers.isEmpty()) {
+            CompositePrinterParser cpp = new CompositePrinterParser(active.printerParsers, active.optional);
+            active = active.parent;
+            appendInternal(cpp);
+        } else {
+            active = active.parent;
+        }
+        return this;
+    }
+
+    private int appendInternal(DateTimePrinterParser pp) {
+        active.printerParsers.add(pp);
+        active.valueParserIndex = -1;
+        return active.printerParsers.size() - 1;
+    }
+
+    public TDateTimeFormatter toFormatter() {
+        return toFormatter(TLocale.getDefault());
+    }
+
+    public TDateTimeFormatter toFormatter(TLocale locale) {
+        while (active.parent != null) {
+            optionalEnd();
+        }
+        return new TDateTimeFormatter(new CompositePrinterParser(printerParsers, false), locale, null);
+    }
+
+    private void parsePattern(String pattern) {
+        int pos = 0;
+        while (pos < pattern.length()) {
+            char cur = pattern.charAt(pos);
+            if (cur >= 'A' && cur <= 'Z' || cur >= 'a' && cur <= 'z') {
+                int start = pos++;
+                while (pos < pattern.length() && pattern.charAt(pos) == cur) {
+                    pos++;
+                }
+                parseLetter(cur, pos - start);
+                continue;
+            } else if (cur == '\'') {
+                int start = pos++;
+                while (pos < pattern.length()) {
+                    if (pattern.charAt(pos) == '\'') {
+                        if (pos + 1 < pattern.length() && pattern.charAt(pos + 1) == '\'') {
+                            pos++;
+                        } else {
+                            break;
+                        }
+                    }
+                    pos++;
+                }
+                if (pos >= pattern.length()) {
+                    throw new IllegalArgumentException("Pattern ends with an incomplete string literal: " + pattern);
+                }
+                String str = pattern.substring(start + 1, pos);
+                if (str.isEmpty()) {
+                    appendLiteral('\'');
+                } else {
+                    appendLiteral(str.replace("''", "'"));
+                }
+            } else if (cur == '[') {
+                optionalStart();
+            } else if (cur == ']') {
+                if (active.parent == null) {
+                    throw new IllegalArgumentException("Pattern invalid as it contains ] without previous [");
+                }
+                optionalEnd();
+            } else if (cur == '{' || cur == '}' || cur == '#') {
+                throw new IllegalArgumentException("Pattern includes reserved character: '" + cur + "'");
+            } else {
+                appendLiteral(cur);
+            }
+            pos++;
+        }
+    }
+
+    private void parseLetter(char cur, int count) {
+        TTemporalField field = FIELD_MAP.get(cur);
+        if (field != null) {
+            parseField(cur, count, field);
+            return;
+        }
+        switch (cur) {
+            case 'z':
+                // Zone names are not available, print zone identifier instead
+                if (count > 4) {
+                    throw new IllegalArgumentException("Too many pattern letters: " + cur);
+                }
+                appendZoneId();
+                break;
+            case 'V':
+                if (count != 2) {
+                    throw new IllegalArgumentException("Pattern letter count must be 2: " + cur);
+                }
+                appendZoneId();
+                break;
+            case 'Z':
+                if (count < 4) {
+                    appendOffset("+HHMM", "+0000");
+                } else if (count == 4) {
+                    appendLocalizedOffset(TTextStyle.FULL);
+                } else if (count == 5) {
+                    appendOffset("+HH:MM:ss", "Z");
+                } else {
+                    throw new IllegalArgumentException("Too many pattern letters: " + cur);
+                }
+                break;
+            case 'O':
+                if (count == 1) {
+                    appendLocalizedOffset(TTextStyle.SHORT);
+                } else if (count == 4) {
+                    appendLocalizedOffset(TTextStyle.FULL);
+                } else {
+                    throw new IllegalArgumentException("Pattern letter count must be 1 or 4: " + cur);
+                }
+                break;
+            case 'X':
+                if (count > 5) {
+                    throw new IllegalArgumentException("Too many pattern letters: " + cur);
+                }
+                appendOffset(OffsetIdPrinterParser.PATTERNS[count + (count == 1 ? 0 : 1)], "Z");
+                break;
+            case 'x': {
+                if (count > 5) {
+                    throw new IllegalArgumentException("Too many pattern letters: " + cur);
+                }
+                String zero = count == 1 ? "+00" : count % 2 == 0 ? "+0000" : "+00:00";
+                appendOffset(OffsetIdPrinterParser.PATTERNS[count + (count == 1 ? 0 : 1)], zero);
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported pattern letter: " + cur);
+        }
+    }
+
+    private void parseField(char cur, int count, TTemporalField field) {
+        switch (cur) {
+            case 'u':
+            case 'y':
+                if (count == 2) {
+                    appendValueReduced(field, 2, 2, 2000);
+                } else if (count < 4) {
+                    appendValue(field, count, 19, TSignStyle.NORMAL);
+                } else {
+                    appendValue(field, count, 19, TSignStyle.EXCEEDS_PAD);
+                }
+                break;
+            case 'M':
+            case 'L': {
+                boolean standalone = cur == 'L';
+                switch (count) {
+                    case 1:
+                        appendValue(field);
+                        break;
+                    case 2:
+                        appendValue(field, 2);
+                        break;
+                    case 3:
+                        appendText(field, standalone ? TTextStyle.SHORT_STANDALONE : TTextStyle.SHORT);
+                        break;
+                    case 4:
+                        appendText(field, standalone ? TTextStyle.FULL_STANDALONE : TTextStyle.FULL);
+                        break;
+                    case 5:
+                        appendText(field, standalone ? TTextStyle.NARROW_STANDALONE : TTextStyle.NARROW);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Too many pattern letters: " + cur);
+                }
+                break;
+            }
+            case 'a':
+                if (count != 1) {
+                    throw new IllegalArgumentException("Too many pattern letters: " + cur);
+                }
+                appendText(field, TTextStyle.SHORT);
+                break;
+            case 'G':
+            case 'E':
+                if (count <= 3) {
+                    appendText(field, TTextStyle.SHORT);
+                } else if (count == 4) {
+                    appendText(field, TTextStyle.FULL);
+                } else if (count == 5) {
+                    appendText(field, TTextStyle.NARROW);
+                } else {
+                    throw new IllegalArgumentException("Too many pattern letters: " + cur);
+                }
+                break;
+            case 'S':
+                appendFraction(NANO_OF_SECOND, count, count, false);
+                break;
+            case 'd':
+            case 'h':
+            case 'H':
+            case 'k':
+            case 'K':
+            case 'm':
+            case 's':
+                if (count == 1) {
+                    appendValue(field);
+                } else if (count == 2) {
+                    appendValue(field, count);
+                } else {
+                    throw new IllegalArgumentException("Too many pattern letters: " + cur);
+                }
+                break;
+            case 'D':
+                if (count == 1) {
+                    appendValue(field);
+                } else if (count <= 3) {
+                    appendValue(field, count, 3, TSignStyle.NOT_NEGATIVE);
+                } else {
+                    throw new IllegalArgumentException("Too many pattern letters: " + cur);
+                }
+                break;
+            default:
+                if (count == 1) {
+                    appendValue(field);
+                } else {
+                    appendValue(field, count);
+                }
+                break;
+        }
+    }
+
+    interface DateTimePrinterParser {
+        boolean format(TDateTimePrintContext context, StringBuilder buf);
+
+        int parse(TDateTimeParseContext context, CharSequence text, int position);
+    }
+
+    static final class CompositePrinterParser implements DateTimePrinterParser {
+        private final DateTimePrinterParser[] printerParsers;
+        private final boolean optional;
+
+        CompositePrinterParser(List<DateTimePrinterParser> printerParsers, boolean optional) {
+            this(printerParsers.toArray(new DateTimePrinterParser[printerParsers.size()]), optional);
+        }
+
+        CompositePrinterParser(DateTimePrinterParser[] printerParsers, boolean optional) {
+            this.printerParsers = printerParsers;
+            this.optional = optional;
+        }
+
+        CompositePrinterParser withOptional(boolean optional) {
+            return optional == this.optional ? this : new CompositePrinterParser(printerParsers, optional);
+        }
+
+        @Override
+        public boolean format(TDateTimePrintContext context, StringBuilder buf) {
+            int length = buf.length();
+            if (optional) {
+                context.startOptional();
+            }
+            try {
+                for (DateTimePrinterParser pp : printerParsers) {
+                    if (!pp.format(context, buf)) {
+                        buf.setLength(length);
+                        return true;
+                    }
+                }
+            } finally {
+                if (optional) {
+                    context.endOptional();
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int parse(TDateTimeParseContext context, CharSequence text, int position) {
+            if (optional) {
+                context.startOptional();
+                int pos = position;
+                for (DateTimePrinterParser pp : printerParsers) {
+                    pos = pp.parse(context, text, pos);
+                    if (pos < 0) {
+                        context.endOptional(false);
+                        return position;
+                    }
+                }
+                context.endOptional(true);
+                return pos;
+            } else {
+                for (DateTimePrinterParser pp : printerParsers) {
+                    position = pp.parse(context, text, position);
+                    if (position < 0) {
+                        break;
+                    }
+                }
+                return position;
+            }
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(optional ? "[" : "(");
+            for (DateTimePrinterParser pp : printerParsers) {
+                sb.append(pp);
+            }
+            sb.append(optional ? "]" : ")");
+            return sb.toString();
+        }
+    }
+
+    enum SettingsParser implements DateTimePrinterParser {
+        SENSITIVE,
+        INSENSITIVE,
+        STRICT,
+        LENIENT;
+
+        @Override
+        public boolean format(TDateTimePrintContext context, StringBuilder buf) {
+            return true;
+        }
+
+        @Override
+        public int parse(TDateTimeParseContext context, CharSequence text, int position) {
+            switch (this) {
+                case SENSITIVE:
+                    context.setCaseSensitive(true);
+                    break;
+                case INSENSITIVE:
+                    context.setCaseSensitive(false);
+                    break;
+                case STRICT:
+                    context.setStrict(true);
+                    break;
+                case LENIENT:
+                    context.setStrict(false);
+                    break;
+            }
+            return position;
+        }
+
+        @Override
+        public String toString() {
+            switch (this) {
+                case SENSITIVE:
+                    return "ParseCaseSensitive(true)";
+                case INSENSITIVE:
+                    return "ParseCaseSensitive(false)";
+                case STRICT:
+                    return "ParseStrict(true)";
+                default:
+                    return "ParseStrict(false)";
+            }
+        }
+    }
+
+    static final class CharLiteralPrinterParser implements DateTimePrinterParser {
+        private final char literal;
+
+        CharLiteralPrinterParser(char literal) {
+            this.literal = literal;
+        }
+
+        @Override
+        public boolean format(TDateTimePrintContext context, StringBuilder buf) {
+            buf.append(literal);
+            return true;
+        }
+
+        @Override
+        public int parse(TDateTimeParseContext context, CharSequence text, int position) {
+            if (position == text.length() || !context.charEquals(literal, text.charAt(position))) {
+                return ~position;
+            }
+            return position + 1;
+        }
+
+        @Override
+        public String toString() {
+            return literal == '\'' ? "''" : "'" + literal + "'";
+        }
+    }
+
+    static final class StringLiteralPrinterParser implements DateTimePrinterParser {
+        private final String literal;
+
+        StringLiteralPrinterParser(String literal) {
+            this.literal = literal;
+        }
+
+        @Override
+        public boolean format(TDateTimePrintContext context, StringBuilder buf) {
+            buf.append(literal);
+            return true;
+        }
+
+        @Override
+        public int parse(TDateTimeParseContext context, CharSequence text, int position) {
+            if (position > text.length() || !context.subSequenceEquals(text, position, literal, 0, literal.length())) {
+                return ~position;
+            }
+            return position + literal.length();
+        }
+
+        @Override
+        public String toString() {
+            return "'" + literal.replace("'", "''") + "'";
+        }
+    }
+
+    static class NumberPrinterParser implements DateTimePrinterParser {
+        static final long[] EXCEED_POINTS = {
+                0L, 10L, 100L, 1000L, 10_000L, 100_000L, 1000_000L, 10_000_000L, 100_000_000L, 1000_000_000L,
+                10_000_000_000L
+        };
+
+        final TTemporalField field;
+        final int minWidth;
+        final int maxWidth;
+        final TSignStyle signStyle;
+        final int subsequentWidth;
+
+        NumberPrinterParser(TTemporalField field, int minWidth, int maxWidth, TSignStyle signStyle,
+                int subsequentWidth) {
+            this.field = field;
+            this.minWidth = minWidth;
+            this.maxWidth = maxWidth;
+            this.signStyle = signStyle;
+            this.subsequentWidth = subsequentWidth;
+        }
+
+        NumberPrinterParser withFixedWidth() {
+            if (subsequentWidth == -1) {
+                return this;
+            }
+            return new NumberPrinterParser(field, minWidth, maxWidth, signStyle, -1);
+        }
+
+        NumberPrinterParser withSubsequentWidth(int subsequentWidth) {
+            return new NumberPrinterParser(field, minWidth, maxWidth, signStyle,
+                    this.subsequentWidth + subsequentWidth);
+        }
+
+        @Override
+        public boolean format(TDateTimePrintContext context, StringBuilder buf) {
+            Long valueLong = context.getValue(field);
+            if (valueLong == null) {
+                return false;
+            }
+            long value = getValue(valueLong);
+            String str = value == Long.MIN_VALUE ? "9223372036854775808" : Long.toString(Math.abs(value));
+            if (str.length() > maxWidth) {
+                throw new TDateTimeException("Field " + field + " cannot be printed as the value " + value
+                        + " exceeds the maximum print width of " + maxWidth);
+            }
+            if (value >= 0) {
+                if (signStyle == TSignStyle.ALWAYS
+                        || signStyle == TSignStyle.EXCEEDS_PAD && minWidth < 19 && value >= EXCEED_POINTS[minWidth]) {
+                    buf.append('+');
+                }
+            } else {
+                if (signStyle == TSignStyle.NOT_NEGATIVE) {
+                    throw new TDateTimeException("Field " + field + " cannot be printed as the value " + value
+                            + " cannot be negative according to the SignStyle");
+                }
+                if (signStyle != TSignStyle.NEVER) {
+                    buf.append('-');
+                }
+            }
+            for (int i = str.length(); i < minWidth; i++) {
+                buf.append('0');
+            }
+            buf.append(str);
+            return true;
+        }
+
+        long getValue(long value) {
+            return value;
+        }
+
+        boolean isFixedWidth(TDateTimeParseContext context) {
+            return subsequentWidth == -1
+                    || subsequentWidth > 0 && minWidth == maxWidth && signStyle == TSignStyle.NOT_NEGATIVE;
+        }
+
+        @Override
+        public int parse(TDateTimeParseContext context, CharSequence text, int position) {
+            int length = text.length();
+            if (position == length) {
+                return ~position;
+            }
+            char sign = text.charAt(position);
+            boolean negative = false;
+            boolean positive = false;
+            if (sign == '+') {
+                if (!signStyle.parse(true, context.isStrict(), minWidth == maxWidth)) {
+                    return ~position;
+                }
+                positive = true;
+                position++;
+            } else if (sign == '-') {
+                if (!signStyle.parse(false, context.isStrict(), minWidth == maxWidth)) {
+                    return ~position;
+                }
+                negative = true;
+                position++;
+            } else if (signStyle == TSignStyle.ALWAYS && context.isStrict()) {
+                return ~position;
+            }
+            boolean fixed = context.isStrict() || isFixedWidth(context);
+            int effMinWidth = fixed ? minWidth : 1;
+            int minEndPos = position + effMinWidth;
+            if (minEndPos > length) {
+                return ~position;
+            }
+            int effMaxWidth = (fixed ? maxWidth : 9) + Math.max(subsequentWidth, 0);
+            long total = 0;
+            int pos = position;
+            for (int pass = 0; pass < 2; pass++) {
+                int maxEndPos = Math.min(pos + effMaxWidth, length);
+                while (pos < maxEndPos) {
+                    char ch = text.charAt(pos);
+                    if (ch < '0' || ch > '9') {
+                        if (pos < minEndPos) {
+                            return ~position;
+                        }
+                        break;
+                    }
+                    int digit = ch - '0';
+                    if (total > (Long.MAX_VALUE - digit) / 10) {
+                        return ~position;
+                    }
+                    total = total * 10 + digit;
+                    pos++;
+                }
+                if (subsequentWidth > 0 && pass == 0) {
+                    // Leave enough digits for the adjacent values that follow
+                    effMaxWidth = Math.max(effMinWidth, pos - position - subsequentWidth);
+                    pos = position;
+                    total = 0;
+                } else {
+                    break;
+                }
+            }
+            if (negative) {
+                if (total == 0 && context.isStrict()) {
+                    return ~(position - 1);
+                }
+                total = -total;
+            } else if (signStyle == TSignStyle.EXCEEDS_PAD && context.isStrict()) {
+                int parseLength = pos - position;
+                if (positive) {
+                    if (parseLength <= minWidth) {
+                        return ~(position - 1);
+                    }
+                } else if (parseLength > minWidth) {
+                    return ~position;
+                }
+            }
+            return setValue(context, total, position, pos);
+        }
+
+        int setValue(TDateTimeParseContext context, long value, int errorPos, int successPos) {
+            return context.setParsedField(field, value, errorPos, successPos);
+        }
+
+        @Override
+        public String toString() {
+            if (minWidth == 1 && maxWidth == 19 && signStyle == TSignStyle.NORMAL) {
+                return "Value(" + field + ")";
+            }
+            if (minWidth == maxWidth && signStyle == TSignStyle.NOT_NEGATIVE) {
+                return "Value(" + field + "," + minWidth + ")";
+            }
+            return "Value(" + field + "," + minWidth + "," + maxWidth + "," + signStyle + ")";
+        }
+    }
+
+    static final class ReducedPrinterParser extends NumberPrinterParser {
+        private final int baseValue;
+
+        ReducedPrinterParser(TTemporalField field, int minWidth, int maxWidth, int baseValue, int subsequentWidth) {
+            super(field, minWidth, maxWidth, TSignStyle.NOT_NEGATIVE, subsequentWidth);
+            this.baseValue = baseValue;
+        }
+
+        @Override
+        long getValue(long value) {
+            long absValue = Math.abs(value);
+            if (value >= baseValue && value < baseValue + EXCEED_POINTS[minWidth]) {
+                return absValue % EXCEED_POINTS[minWidth];
+            }
+            return absValue % EXCEED_POINTS[maxWidth];
+        }
+
+        @Override
+        int setValue(TDateTimeParseContext context, long value, int errorPos, int successPos) {
+            if (successPos - errorPos == minWidth && value >= 0) {
+                long range = EXCEED_POINTS[minWidth];
+                long lastPart = baseValue % range;
+                long basePart = baseValue - lastPart;
+                value = baseValue > 0 ? basePart + value : basePart - value;
+                if (value < baseValue) {
+                    value += range;
+                }
+            }
+            return context.setParsedField(field, value, errorPos, successPos);
+        }
+
+        @Override
+        NumberPrinterParser withFixedWidth() {
+            if (subsequentWidth == -1) {
+                return this;
+            }
+            return new ReducedPrinterParser(field, minWidth, maxWidth, baseValue, -1);
+        }
+
+        @Override
+        NumberPrinterParser withSubsequentWidth(int subsequentWidth) {
+            return new ReducedPrinterParser(field, minWidth, maxWidth, baseValue,
+                    this.subsequentWidth + subsequentWidth);
+        }
+
+        @Override
+        boolean isFixedWidth(TDateTimeParseContext context) {
+            return context.isStrict() && super.isFixedWidth(context);
+        }
+
+        @Override
+        public String toString() {
+            return "ReducedValue(" + field + "," + minWidth + "," + maxWidth + "," + baseValue + ")";
+        }
+    }
+
+    /**
+     * Prints a field as a decimal fraction of its range. Only fields whose range is a power of ten
+     * (like nano-, micro- and milli-of-second) are supported, which avoids decimal arithmetic.
+     */
+    static final class FractionPrinterParser implements DateTimePrinterParser {
+        private final TTemporalField field;
+        private final int minWidth;
+        private final int maxWidth;
+        private final boolean decimalPoint;
+        private final long minimum;
+        private final int scale;
+
+        FractionPrinterParser(TTemporalField field, int minWidth, int maxWidth, boolean decimalPoint) {
+            TValueRange range = field.range();
+            if (!range.isFixed()) {
+                throw new IllegalArgumentException("Field must have a fixed set of values: " + field);
+            }
+            if (minWidth < 0 || minWidth > 9) {
+                throw new IllegalArgumentException("Minimum width must be from 0 to 9 inclusive but was "
+                        + minWidth);
+            }
+            if (maxWidth < 1 || maxWidth > 9) {
+                throw new IllegalArgumentException("Maximum width must be from 1 to 9 inclusive but was "
+                        + maxWidth);
+            }
+            if (maxWidth < minWidth) {
+                throw new IllegalArgumentException("Maximum width must exceed or equal the minimum width but "
+                        + maxWidth + " < " + minWidth);
+            }
+            long size = range.getMaximum() - range.getMinimum() + 1;
+            int digits = 0;
+            while (size > 1 && size % 10 == 0) {
+                size /= 10;
+                digits++;
+            }
+            if (size != 1) {
+                throw new IllegalArgumentException("Field range must be a power of ten: " + field);
+            }
+            this.field = field;
+            this.minWidth = minWidth;
+            this.maxWidth = maxWidth;
+            this.decimalPoint = decimalPoint;
+            this.minimum = range.getMinimum();
+            this.scale = digits;
+        }
+
+        @Override
+        public boolean format(TDateTimePrintContext context, StringBuilder buf) {
+            Long value = context.getValue(field);
+            if (value == null) {
+                return false;
+            }
+            field.range().checkValidValue(value, field);
+            char[] digits = new char[Math.max(scale, maxWidth)];
+            long fraction = value - minimum;
+            for (int i = scale - 1; i >= 0; --i) {
+                digits[i] = (char) ('0' + fraction % 10);
+                fraction /= 10;
+            }
+            for (int i = scale; i < digits.length; ++i) {
+                digits[i] = '0';
+            }
+            int length = maxWidth;
+            while (length > minWidth && digits[length - 1] == '0') {
+                length--;
+            }
+            if (length == 0) {
+                return true;
+            }
+            if (decimalPoint) {
+                buf.append('.');
+            }
+            buf.append(digits, 0, length);
+            return true;
+        }
+
+        @Override
+        public int parse(TDateTimeParseContext context, CharSequence text, int position) {
+            int effectiveMin = context.isStrict() ? minWidth : 0;
+            int effectiveMax = context.isStrict() ? maxWidth : 9;
+            int length = text.length();
+            if (position == length) {
+                return effectiveMin > 0 ? ~position : position;
+            }
+            if (decimalPoint) {
+                if (text.charAt(position) != '.') {
+                    return effectiveMin > 0 ? ~position : position;
+                }
+                position++;
+            }
+            int minEndPos = position + effectiveMin;
+            if (minEndPos > length) {
+                return ~position;
+            }
+            int maxEndPos = Math.min(position + effectiveMax, length);
+            long total = 0;
+            int pos = position;
+            while (pos < maxEndPos) {
+                char ch = text.charAt(pos);
+                if (ch < '0' || ch > '9') {
+                    if (pos < minEndPos) {
+                        return ~position;
+                    }
+                    break;
+                }
+                total = total * 10 + (ch - '0');
+                pos++;
+            }
+            for (int i = pos - position; i < scale; ++i) {
+                total *= 10;
+            }
+            for (int i = scale; i < pos - position; ++i) {
+                total /= 10;
+            }
+            return context.setParsedField(field, total + minimum, position, pos);
+        }
+
+        @Override
+        public String toString() {
+            return "Fraction(" + field + "," + minWidth + "," + maxWidth + (decimalPoint ? ",DecimalPoint" : "")
+                    + ")";
+        }
+    }
+
+    static final class TextPrinterParser implements DateTimePrinterParser {
+        private final TTemporalField field;
+        private final TTextStyle textStyle;
+        private NumberPrinterParser numberPrinterParser;
+
+        TextPrinterParser(TTemporalField field, TTextStyle textStyle) {
+            this.field = field;
+            this.textStyle = textStyle;
+        }
+
+        @Override
+        public boolean format(TDateTimePrintContext context, StringBuilder buf) {
+            Long value = context.getValue(field);
+            if (value == null) {
+                return false;
+            }
+            String text = TDateTimeTextProvider.getText(field, value, textStyle, context.getLocale());
+            if (text == null) {
+                return numberPrinterParser().format(context, buf);
+            }
+            buf.append(text);
+            return true;
+        }
+
+        @Override
+        public int parse(TDateTimeParseContext context, CharSequence text, int position) {
+            if (TDateTimeTextProvider.isSupported(field)) {
+                long result = TDateTimeTextProvider.parseText(field, textStyle, context.getLocale(), text, position,
+                        context.isCaseSensitive());
+                if (result >= 0) {
+                    return context.setParsedField(field, result >>> 16, position,
+                            position + (int) (result & 0xFFFF));
+                }
+                if (context.isStrict()) {
+                    return ~position;
+                }
+            }
+            return numberPrinterParser().parse(context, text, position);
+        }
+
+        private NumberPrinterParser numberPrinterParser() {
+            if (numberPrinterParser == null) {
+                numberPrinterParser = new NumberPrinterParser(field, 1, 19, TSignStyle.NORMAL, 0);
+            }
+            return numberPrinterParser;
+        }
+
+        @Override
+        public String toString() {
+            if (textStyle == TTextStyle.FULL) {
+                return "Text(" + field + ")";
+            }
+            return "Text(" + field + "," + textStyle + ")";
+        }
+    }
+
+    static final class OffsetIdPrinterParser implements DateTimePrinterParser {
+        static final String[] PATTERNS = {
+                "+HH", "+HHmm", "+HH:mm", "+HHMM", "+HH:MM", "+HHMMss", "+HH:MM:ss", "+HHMMSS", "+HH:MM:SS"
+        };
+        static final OffsetIdPrinterParser INSTANCE_ID_Z = new OffsetIdPrinterParser("+HH:MM:ss", "Z");
+
+        private final String noOffsetText;
+        private final int type;
+
+        OffsetIdPrinterParser(String pattern, String noOffsetText) {
+            this.type = checkPattern(pattern);
+            this.noOffsetText = noOffsetText;
+        }
+
+        private static int checkPattern(String pattern) {
+            for (int i = 0; i < PATTERNS.length; i++) {
+                if (PATTERNS[i].equals(pattern)) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("Invalid zone offset pattern: " + pattern);
+        }
+
+        @Override
+        public boolean format(TDateTimePrintContext context, StringBuilder buf) {
+            Long offsetSecs = context.getValue(OFFSET_SECONDS);
+            if (offsetSecs == null) {
+                return false;
+            }
+            int totalSecs = Math.toIntExact(offsetSecs);
+            if (totalSecs == 0) {
+                buf.append(noOffsetText);
+                return true;
+            }
+            int absHours = Math.abs((totalSecs / 3600) % 100);
+            int absMinutes = Math.abs((totalSecs / 60) % 60);
+            int absSeconds = Math.abs(totalSecs % 60);
+            int bufPos = buf.length();
+            int output = absHours;
+            buf.append(totalSecs < 0 ? '-' : '+');
+            appendTwoDigits(buf, absHours);
+            if (type >= 3 || type >= 1 && absMinutes > 0) {
+                if (type % 2 == 0) {
+                    buf.append(':');
+                }
+                appendTwoDigits(buf, absMinutes);
+                output += absMinutes;
+                if (type >= 7 || type >= 5 && absSeconds > 0) {
+                    if (type % 2 == 0) {
+                        buf.append(':');
+                    }
+                    appendTwoDigits(buf, absSeconds);
+                    output += absSeconds;
+                }
+            }
+            if (output == 0) {
+                buf.setLength(bufPos);
+                buf.append(noOffsetText);
+            }
+            return true;
+        }
+
+        @Override
+        public int parse(TDateTimeParseContext context, CharSequence text, int position) {
+            int length = text.length();
+            int noOffsetLength = noOffsetText.length();
+            if (noOffsetLength == 0) {
+                if (position == length) {
+                    return context.setParsedField(OFFSET_SECONDS, 0, position, position);
+                }
+            } else {
+                if (position == length) {
+                    return ~position;
+                }
+                if (context.subSequenceEquals(text, position, noOffsetText, 0, noOffsetLength)) {
+                    return context.setParsedField(OFFSET_SECONDS, 0, position, position + noOffsetLength);
+                }
+            }
+
+            char sign = text.charAt(position);
+            if (sign == '+' || sign == '-') {
+                int negative = sign == '-' ? -1 : 1;
+                int[] array = new int[4];
+                array[0] = position + 1;
+                if (!(parseNumber(array, 1, text, true) || parseNumber(array, 2, text, type >= 3)
+                        || parseNumber(array, 3, text, false))) {
+                    long offsetSecs = negative * (array[1] * 3600L + array[2] * 60L + array[3]);
+                    return context.setParsedField(OFFSET_SECONDS, offsetSecs, position, array[0]);
+                }
+            }
+            if (noOffsetLength == 0) {
+                return context.setParsedField(OFFSET_SECONDS, 0, position, position);
+            }
+            return ~position;
+        }
+
+        private boolean parseNumber(int[] array, int arrayIndex, CharSequence text, boolean required) {
+            if ((type + 3) / 2 < arrayIndex) {
+                return false;
+            }
+            int pos = array[0];
+            if (type % 2 == 0 && arrayIndex > 1) {
+                if (pos + 1 > text.length() || text.charAt(pos) != ':') {
+                    return required;
+                }
+                pos++;
+            }
+            if (pos + 2 > text.length()) {
+                return required;
+            }
+            char ch1 = text.charAt(pos++);
+            char ch2 = text.charAt(pos++);
+            if (ch1 < '0' || ch1 > '9' || ch2 < '0' || ch2 > '9') {
+                return required;
+            }
+            int value = (ch1 - '0') * 10 + (ch2 - '0');
+            if (value > 59) {
+                return required;
+            }
+            array[arrayIndex] = value;
+            array[0] = pos;
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return "Offset(" + PATTERNS[type] + ",'" + noOffsetText.replace("'", "''") + "')";
+        }
+    }
+
+    static final class LocalizedOffsetIdPrinterParser implements DateTimePrinterParser {
+        private final TTextStyle style;
+
+        LocalizedOffsetIdPrinterParser(TTextStyle style) {
+            this.style = style;
+        }
+
+        @Override
+        public boolean format(TDateTimePrintContext context, StringBuilder buf) {
+            Long offsetSecs = context.getValue(OFFSET_SECONDS);
+            if (offsetSecs == null) {
+                return false;
+            }
+            buf.append("GMT");
+            int totalSecs = Math.toIntExact(offsetSecs);
+            if (totalSecs == 0) {
+                return true;
+            }
+            int absHours = Math.abs((totalSecs / 3600) % 100);
+            int absMinutes = Math.abs((totalSecs / 60) % 60);
+            int absSeconds = Math.abs(totalSecs % 60);
+            buf.append(totalSecs < 0 ? '-' : '+');
+            if (style == TTextStyle.FULL) {
+                appendTwoDigits(buf, absHours);
+                buf.append(':');
+                appendTwoDigits(buf, absMinutes);
+                if (absSeconds != 0) {
+                    buf.append(':');
+                    appendTwoDigits(buf, absSeconds);
+                }
+            } else {
+                buf.append(absHours);
+                if (absMinutes != 0 || absSeconds != 0) {
+                    buf.append(':');
+                    appendTwoDigits(buf, absMinutes);
+                    if (absSeconds != 0) {
+                        buf.append(':');
+                        appendTwoDigits(buf, absSeconds);
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int parse(TDateTimeParseContext context, CharSequence text, int position) {
+            if (!context.subSequenceEquals(text, position, "GMT", 0, 3)) {
+                return ~position;
+            }
+            int pos = position + 3;
+            int end = text.length();
+            if (pos == end) {
+                return context.setParsedField(OFFSET_SECONDS, 0, position, pos);
+            }
+            char sign = text.charAt(pos);
+            if (sign != '+' && sign != '-') {
+                return context.setParsedField(OFFSET_SECONDS, 0, position, pos);
+            }
+            int negative = sign == '-' ? -1 : 1;
+            pos++;
+            int hours = 0;
+            int digits = 0;
+            while (pos < end && digits < 2 && isDigit(text.charAt(pos))) {
+                hours = hours * 10 + (text.charAt(pos++) - '0');
+                digits++;
+            }
+            if (digits == 0 || style == TTextStyle.FULL && digits != 2) {
+                return ~position;
+            }
+            int minutes = 0;
+            int seconds = 0;
+            if (pos + 2 < end && text.charAt(pos) == ':' && isDigit(text.charAt(pos + 1))
+                    && isDigit(text.charAt(pos + 2))) {
+                minutes = (text.charAt(pos + 1) - '0') * 10 + (text.charAt(pos + 2) - '0');
+                pos += 3;
+                if (pos + 2 < end && text.charAt(pos) == ':' && isDigit(text.charAt(pos + 1))
+                        && isDigit(text.charAt(pos + 2))) {
+                    seconds = (text.charAt(pos + 1) - '0') * 10 + (text.charAt(pos + 2) - '0');
+                    pos += 3;
+                }
+            } else if (style == TTextStyle.FULL) {
+                return ~position;
+            }
+            if (minutes > 59 || seconds > 59) {
+                return ~position;
+            }
+            long offsetSecs = negative * (hours * 3600L + minutes * 60L + seconds);
+            return context.setParsedField(OFFSET_SECONDS, offsetSecs, position, pos);
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+
+        @Override
+        public String toString() {
+            return "LocalizedOffset(" + style + ")";
+        }
+    }
+
+    static final class ZoneIdPrinterParser implements DateTimePrinterParser {
+        private final TTemporalQuery<TZoneId> query;
+        private final String description;
+
+        ZoneIdPrinterParser(TTemporalQuery<TZoneId> query, String description) {
+            this.query = query;
+            this.description = description;
+        }
+
+        @Override
+        public boolean format(TDateTimePrintContext context, StringBuilder buf) {
+            TZoneId zone = context.getValue(query);
+            if (zone == null) {
+                return false;
+            }
+            buf.append(zone.getId());
+            return true;
+        }
+
+        @Override
+        public int parse(TDateTimeParseContext context, CharSequence text, int position) {
+            int end = position;
+            while (end < text.length() && isZoneIdChar(text.charAt(end))) {
+                end++;
+            }
+            if (end == position) {
+                return ~position;
+            }
+            String id = text.subSequence(position, end).toString();
+            TZoneId zone;
+            if (id.equals("Z") || id.equals("z")) {
+                zone = TZoneOffset.UTC;
+            } else {
+                try {
+                    zone = TZoneId.of(id);
+                } catch (TDateTimeException e) {
+                    return ~position;
+                }
+            }
+            context.setParsedZone(zone);
+            return end;
+        }
+
+        private static boolean isZoneIdChar(char c) {
+            return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9'
+                    || c == '~' || c == '/' || c == '.' || c == '_' || c == '+' || c == '-' || c == ':';
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    static final class InstantPrinterParser implements DateTimePrinterParser {
+        private static final long SECONDS_PER_10000_YEARS = 146097L * 25L * 86400L;
+        private static final long SECONDS_0000_TO_1970 = ((146097L * 5L) - (30L * 365L + 7L)) * 86400L;
+        private final int fractionalDigits;
+        private CompositePrinterParser parser;
+
+        InstantPrinterParser(int fractionalDigits) {
+            this.fractionalDigits = fractionalDigits;
+        }
+
+        @Override
+        public boolean format(TDateTimePrintContext context, StringBuilder buf) {
+            Long inSecs = context.getValue(INSTANT_SECONDS);
+            if (inSecs == null) {
+                return false;
+            }
+            TTemporalAccessor temporal = context.getTemporal();
+            int inNano = temporal.isSupported(NANO_OF_SECOND)
+                    ? NANO_OF_SECOND.checkValidIntValue(temporal.getLong(NANO_OF_SECOND))
+                    : 0;
+            long inSec = inSecs;
+
+            // Split seconds into 10000-year cycles so that every instant fits LocalDateTime
+            if (inSec >= -SECONDS_0000_TO_1970) {
+                long zeroSecs = inSec - SECONDS_PER_10000_YEARS + SECONDS_0000_TO_1970;
+                long hi = Math.floorDiv(zeroSecs, SECONDS_PER_10000_YEARS) + 1;
+                long lo = Math.floorMod(zeroSecs, SECONDS_PER_10000_YEARS);
+                TLocalDateTime ldt = TLocalDateTime.ofEpochSecond(lo - SECONDS_0000_TO_1970, 0, TZoneOffset.UTC);
+                if (hi > 0) {
+                    buf.append('+').append(hi);
+                }
+                appendDateTime(buf, ldt);
+            } else {
+                long zeroSecs = inSec + SECONDS_0000_TO_1970;
+                long hi = zeroSecs / SECONDS_PER_10000_YEARS;
+                long lo = zeroSecs % SECONDS_PER_10000_YEARS;
+                TLocalDateTime ldt = TLocalDateTime.ofEpochSecond(lo - SECONDS_0000_TO_1970, 0, TZoneOffset.UTC);
+                int pos = buf.length();
+                appendDateTime(buf, ldt);
+                if (hi < 0) {
+                    if (ldt.getYear() == -10_000) {
+                        buf.replace(pos, pos + 2, Long.toString(hi - 1));
+                    } else if (lo == 0) {
+                        buf.insert(pos, hi);
+                    } else {
+                        buf.insert(pos + 1, Math.abs(hi));
+                    }
+                }
+            }
+
+            if (fractionalDigits < 0 && inNano > 0 || fractionalDigits > 0) {
+                buf.append('.');
+                int div = 100_000_000;
+                int i = 0;
+                while (fractionalDigits == -1 && inNano > 0 || fractionalDigits == -2 && (inNano > 0 || i % 3 != 0)
+                        || i < fractionalDigits) {
+                    int digit = inNano / div;
+                    buf.append((char) (digit + '0'));
+                    inNano -= digit * div;
+                    div /= 10;
+                    i++;
+                }
+            }
+            buf.append('Z');
+            return true;
+        }
+
+        private static void appendDateTime(StringBuilder buf, TLocalDateTime ldt) {
+            buf.append(ldt.toLocalDate()).append('T');
+            appendTwoDigits(buf, ldt.getHour());
+            buf.append(':');
+            appendTwoDigits(buf, ldt.getMinute());
+            buf.append(':');
+            appendTwoDigits(buf, ldt.getSecond());
+        }
+
+        @Override
+        public int parse(TDateTimeParseContext context, CharSequence text, int position) {
+            TDateTimeParseContext newContext = context.copy();
+            int pos = getParser().parse(newContext, text, position);
+            if (pos < 0) {
+                return pos;
+            }
+            long yearParsed = newContext.getParsed(YEAR);
+            int month = newContext.getParsed(MONTH_OF_YEAR).intValue();
+            int day = newContext.getParsed(DAY_OF_MONTH).intValue();
+            int hour = newContext.getParsed(HOUR_OF_DAY).intValue();
+            int min = newContext.getParsed(MINUTE_OF_HOUR).intValue();
+            Long secVal = newContext.getParsed(SECOND_OF_MINUTE);
+            Long nanoVal = newContext.getParsed(NANO_OF_SECOND);
+            int sec = secVal != null ? secVal.intValue() : 0;
+            int nano = nanoVal != null ? nanoVal.intValue() : 0;
+            int days = 0;
+            if (hour == 24 && min == 0 && sec == 0 && nano == 0) {
+                hour = 0;
+                days = 1;
+            }
+            int year = (int) yearParsed % 10_000;
+            long instantSecs;
+            try {
+                TLocalDateTime ldt = TLocalDateTime.of(year, month, day, hour, min, sec, 0).plusDays(days);
+                instantSecs = ldt.toEpochSecond(TZoneOffset.UTC);
+                instantSecs += Math.multiplyExact(yearParsed / 10_000L, SECONDS_PER_10000_YEARS);
+            } catch (RuntimeException e) {
+                return ~position;
+            }
+            int successPos = context.setParsedField(INSTANT_SECONDS, instantSecs, position, pos);
+            return context.setParsedField(NANO_OF_SECOND, nano, position, successPos);
+        }
+
+        private CompositePrinterParser getParser() {
+            if (parser == null) {
+                int minDigits = fractionalDigits < 0 ? 0 : fractionalDigits;
+                int maxDigits = fractionalDigits < 0 ? 9 : fractionalDigits;
+                TDateTimeFormatterBuilder builder = new TDateTimeFormatterBuilder()
+                        .append(TDateTimeFormatter.ISO_LOCAL_DATE)
+                        .appendLiteral('T')
+                        .appendValue(HOUR_OF_DAY, 2)
+                        .appendLiteral(':')
+                        .appendValue(MINUTE_OF_HOUR, 2)
+                        .appendLiteral(':')
+                        .appendValue(SECOND_OF_MINUTE, 2);
+                if (maxDigits > 0) {
+                    builder.appendFraction(NANO_OF_SECOND, minDigits, maxDigits, true);
+                }
+                parser = builder.appendLiteral('Z').toFormatter().toPrinterParser(false);
+            }
+            return parser;
+        }
+
+        @Override
+        public String toString() {
+            return "Instant()";
+        }
+    }
+
+    static void appendTwoDigits(StringBuilder buf, int value) {
+        buf.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.format;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.teavm.classlib.java.time.TZoneId;
+import org.teavm.classlib.java.time.temporal.TTemporalField;
+import org.teavm.classlib.java.util.TLocale;
+
+final class TDateTimeParseContext {
+    private final TDateTimeFormatter formatter;
+    private boolean caseSensitive = true;
+    private boolean strict = true;
+    private final List<TParsed> parsed = new ArrayList<>();
+
+    TDateTimeParseContext(TDateTimeFormatter formatter) {
+        this.formatter = formatter;
+        parsed.add(new TParsed());
+    }
+
+    TDateTimeParseContext copy() {
+        TDateTimeParseContext result = new TDateTimeParseContext(formatter);
+        result.caseSensitive = caseSensitive;
+        result.strict = strict;
+        return result;
+    }
+
+    TLocale getLocale() {
+        return formatter.getLocale();
+    }
+
+    boolean isCaseSensitive() {
+        return caseSensitive;
+    }
+
+    void setCaseSensitive(boolean caseSensitive) {
+        this.caseSensitive = caseSensitive;
+    }
+
+    boolean isStrict() {
+        return strict;
+    }
+
+    void setStrict(boolean strict) {
+        this.strict = strict;
+    }
+
+    boolean subSequenceEquals(CharSequence cs1, int offset1, CharSequence cs2, int offset2, int length) {
+        if (offset1 + length > cs1.length() || offset2 + length > cs2.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!charEquals(cs1.charAt(offset1 + i), cs2.charAt(offset2 + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean charEquals(char c1, char c2) {
+        if (c1 == c2) {
+            return true;
+        }
+        return !caseSensitive && (Character.toUpperCase(c1) == Character.toUpperCase(c2)
+                || Character.toLowerCase(c1) == Character.toLowerCase(c2));
+    }
+
+    void startOptional() {
+        parsed.add(currentParsed().copy());
+    }
+
+    void endOptional(boolean successful) {
+        parsed.remove(successful ? parsed.size() - 2 : parsed.size() - 1);
+    }
+
+    private TParsed currentParsed() {
+        return parsed.get(parsed.size() - 1);
+    }
+
+    Long getParsed(TTemporalField field) {
+        return currentParsed().fieldValues.get(field);
+    }
+
+    int setParsedField(TTemporalField field, long value, int errorPos, int successPos) {
+        Long old = currentParsed().fieldValues.put(field, value);
+        return old != null && old != value ? ~errorPos : successPos;
+    }
+
+    void setParsedZone(TZoneId zone) {
+        currentParsed().zone = zone;
+    }
+
+    TParsed toResolved() {
+        TParsed result = currentParsed();
+        if (result.zone == null) {
+            result.zone = formatter.getZone();
+        }
+        result.resolve();
+        return result;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.format;
+
+import org.teavm.classlib.java.time.TDateTimeException;
+import org.teavm.classlib.java.time.TInstant;
+import org.teavm.classlib.java.time.TZoneId;
+import org.teavm.classlib.java.time.TZonedDateTime;
+import org.teavm.classlib.java.time.temporal.TChronoField;
+import org.teavm.classlib.java.time.temporal.TTemporalAccessor;
+import org.teavm.classlib.java.time.temporal.TTemporalField;
+import org.teavm.classlib.java.time.temporal.TTemporalQueries;
+import org.teavm.classlib.java.time.temporal.TTemporalQuery;
+import org.teavm.classlib.java.util.TLocale;
+
+final class TDateTimePrintContext {
+    private TTemporalAccessor temporal;
+    private TLocale locale;
+    private int optional;
+
+    TDateTimePrintContext(TTemporalAccessor temporal, TDateTimeFormatter formatter) {
+        this.temporal = adjust(temporal, formatter.getZone());
+        this.locale = formatter.getLocale();
+    }
+
+    private static TTemporalAccessor adjust(TTemporalAccessor temporal, TZoneId zone) {
+        if (zone == null) {
+            return temporal;
+        }
+        if (zone.equals(temporal.query(TTemporalQueries.zoneId()))) {
+            return temporal;
+        }
+        if (temporal.isSupported(TChronoField.INSTANT_SECONDS)) {
+            return TZonedDateTime.ofInstant(TInstant.from(temporal), zone);
+        }
+        return new ZoneOverlay(temporal, zone);
+    }
+
+    TTemporalAccessor getTemporal() {
+        return temporal;
+    }
+
+    TLocale getLocale() {
+        return locale;
+    }
+
+    void startOptional() {
+        optional++;
+    }
+
+    void endOptional() {
+        optional--;
+    }
+
+    Long getValue(TTemporalField field) {
+        if (optional > 0 && !temporal.isSupported(field)) {
+            return null;
+        }
+        return temporal.getLong(field);
+    }
+
+    <R> R getValue(TTemporalQuery<R> query) {
+        R result = temporal.query(query);
+        if (result == null && optional == 0) {
+            throw new TDateTimeException("Unable to extract value: " + temporal);
+        }
+        return result;
+    }
+
+    static final class ZoneOverlay implements TTemporalAccessor {
+        private final TTemporalAccessor temporal;
+        private final TZoneId zone;
+
+        ZoneOverlay(TTemporalAccessor temporal, TZoneId zone) {
+            this.temporal = temporal;
+            this.zone = zone;
+        }
+
+        @Override
+        public boolean isSupported(TTemporalField field) {
+            return temporal.isSupported(field);
+        }
+
+        @Override
+        public long getLong(TTemporalField field) {
+            return temporal.getLong(field);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <R> R query(TTemporalQuery<R> query) {
+            if (query == TTemporalQueries.zoneId() || query == TTemporalQueries.zone()) {
+                return (R) zone;
+            }
+            return temporal.query(query);
+        }
+
+        @Override
+        public String toString() {
+            return temporal + " with zone " + zone;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.format;
+
+import org.teavm.classlib.java.text.TDateFormatSymbols;
+import org.teavm.classlib.java.time.temporal.TChronoField;
+import org.teavm.classlib.java.time.temporal.TTemporalField;
+import org.teavm.classlib.java.util.TLocale;
+
+/**
+ * Provides localized names of months, days of week, AM/PM markers and eras. Names are taken from
+ * the same CLDR data that backs {@link TDateFormatSymbols}.
+ */
+public final class TDateTimeTextProvider {
+    private static TLocale lastLocale;
+    private static TDateFormatSymbols lastSymbols;
+
+    private TDateTimeTextProvider() {
+    }
+
+    public static boolean isSupported(TTemporalField field) {
+        return field == TChronoField.MONTH_OF_YEAR || field == TChronoField.DAY_OF_WEEK
+                || field == TChronoField.AMPM_OF_DAY || field == TChronoField.ERA;
+    }
+
+    public static String getText(TTemporalField field, long value, TTextStyle style, TLocale locale) {
+        String[] names = getNames(field, style, locale);
+        if (names == null) {
+            return null;
+        }
+        int index = toIndex(field, value);
+        if (index < 0 || index >= names.length) {
+            return null;
+        }
+        String text = names[index];
+        if (style.asNormal() == TTextStyle.NARROW && !text.isEmpty()) {
+            text = text.substring(0, 1);
+        }
+        return text;
+    }
+
+    /**
+     * Finds the longest name that matches text at given position.
+     *
+     * @return value of the field, shifted left by 16 bits and combined with the length of the matched name,
+     * or -1 if nothing matches.
+     */
+    public static long parseText(TTemporalField field, TTextStyle style, TLocale locale, CharSequence text,
+            int position, boolean caseSensitive) {
+        String[] names = getNames(field, style, locale);
+        if (names == null) {
+            return -1;
+        }
+        int bestIndex = -1;
+        int bestLength = 0;
+        for (int i = 0; i < names.length; ++i) {
+            String name = names[i];
+            if (style.asNormal() == TTextStyle.NARROW && !name.isEmpty()) {
+                name = name.substring(0, 1);
+            }
+            if (name.length() > bestLength && matches(text, position, name, caseSensitive)) {
+                bestIndex = i;
+                bestLength = name.length();
+            }
+        }
+        if (bestIndex < 0) {
+            return -1;
+        }
+        return (fromIndex(field, bestIndex) << 16) | bestLength;
+    }
+
+    private static boolean matches(CharSequence text, int position, String name, boolean caseSensitive) {
+        if (name.isEmpty() || position + name.length() > text.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); ++i) {
+            char a = text.charAt(position + i);
+            char b = name.charAt(i);
+            if (a != b && (caseSensitive || Character.toLowerCase(a) != Character.toLowerCase(b))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String[] getNames(TTemporalField field, TTextStyle style, TLocale locale) {
+        TDateFormatSymbols symbols = getSymbols(locale);
+        boolean full = style.asNormal() != TTextStyle.SHORT;
+        if (field == TChronoField.MONTH_OF_YEAR) {
+            return full ? symbols.getMonths() : symbols.getShortMonths();
+        } else if (field == TChronoField.DAY_OF_WEEK) {
+            return full ? symbols.getWeekdays() : symbols.getShortWeekdays();
+        } else if (field == TChronoField.AMPM_OF_DAY) {
+            return symbols.getAmPmStrings();
+        } else if (field == TChronoField.ERA) {
+            return symbols.getEras();
+        }
+        return null;
+    }
+
+    private static int toIndex(TTemporalField field, long value) {
+        if (field == TChronoField.MONTH_OF_YEAR) {
+            return (int) value - 1;
+        } else if (field == TChronoField.DAY_OF_WEEK) {
+            // DateFormatSymbols follow Calendar, where index 1 is Sunday
+            return (int) (value % 7) + 1;
+        }
+        return (int) value;
+    }
+
+    private static long fromIndex(TTemporalField field, int index) {
+        if (field == TChronoField.MONTH_OF_YEAR) {
+            return index + 1;
+        } else if (field == TChronoField.DAY_OF_WEEK) {
+            return index == 1 ? 7 : index - 1;
+        }
+        return index;
+    }
+
+    private static TDateFormatSymbols getSymbols(TLocale locale) {
+        if (lastSymbols == null || !lastLocale.equals(locale)) {
+            lastSymbols = new TDateFormatSymbols(locale);
+            lastLocale = locale;
+        }
+        return lastSymbols;
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.format;
+
+import static org.teavm.classlib.java.time.temporal.TChronoField.AMPM_OF_DAY;
+import static org.teavm.classlib.java.time.temporal.TChronoField.CLOCK_HOUR_OF_AMPM;
+import static org.teavm.classlib.java.time.temporal.TChronoField.CLOCK_HOUR_OF_DAY;
+import static org.teavm.classlib.java.time.temporal.TChronoField.DAY_OF_MONTH;
+import static org.teavm.classlib.java.time.temporal.TChronoField.DAY_OF_WEEK;
+import static org.teavm.classlib.java.time.temporal.TChronoField.DAY_OF_YEAR;
+import static org.teavm.classlib.java.time.temporal.TChronoField.EPOCH_DAY;
+import static org.teavm.classlib.java.time.temporal.TChronoField.ERA;
+import static org.teavm.classlib.java.time.temporal.TChronoField.HOUR_OF_AMPM;
+import static org.teavm.classlib.java.time.temporal.TChronoField.HOUR_OF_DAY;
+import static org.teavm.classlib.java.time.temporal.TChronoField.INSTANT_SECONDS;
+import static org.teavm.classlib.java.time.temporal.TChronoField.MICRO_OF_SECOND;
+import static org.teavm.classlib.java.time.temporal.TChronoField.MILLI_OF_DAY;
+import static org.teavm.classlib.java.time.temporal.TChronoField.MILLI_OF_SECOND;
+import static org.teavm.classlib.java.time.temporal.TChronoField.MINUTE_OF_HOUR;
+import static org.teavm.classlib.java.time.temporal.TChronoField.MONTH_OF_YEAR;
+import static org.teavm.classlib.java.time.temporal.TChronoField.NANO_OF_DAY;
+import static org.teavm.classlib.java.time.temporal.TChronoField.NANO_OF_SECOND;
+import static org.teavm.classlib.java.time.temporal.TChronoField.OFFSET_SECONDS;
+import static org.teavm.classlib.java.time.temporal.TChronoField.SECOND_OF_DAY;
+import static org.teavm.classlib.java.time.temporal.TChronoField.SECOND_OF_MINUTE;
+import static org.teavm.classlib.java.time.temporal.TChronoField.YEAR;
+import static org.teavm.classlib.java.time.temporal.TChronoField.YEAR_OF_ERA;
+import java.util.HashMap;
+import java.util.Map;
+import org.teavm.classlib.java.time.TDateTimeException;
+import org.teavm.classlib.java.time.TInstant;
+import org.teavm.classlib.java.time.TLocalDate;
+import org.teavm.classlib.java.time.TLocalDateTime;
+import org.teavm.classlib.java.time.TLocalTime;
+import org.teavm.classlib.java.time.TZoneId;
+import org.teavm.classlib.java.time.TZoneOffset;
+import org.teavm.classlib.java.time.TZonedDateTime;
+import org.teavm.classlib.java.time.temporal.TChronoField;
+import org.teavm.classlib.java.time.temporal.TTemporalAccessor;
+import org.teavm.classlib.java.time.temporal.TTemporalField;
+import org.teavm.classlib.java.time.temporal.TTemporalQueries;
+import org.teavm.classlib.java.time.temporal.TTemporalQuery;
+import org.teavm.classlib.java.time.temporal.TUnsupportedTemporalTypeException;
+
+/**
+ * <p>Result of parsing. Raw field values are combined into a date, a time and an instant (when enough
+ * information is available), following the rules of {@code ResolverStyle.SMART}.</p>
+ *
+ * @author Alexey Andreev
+ */
+final class TParsed implements TTemporalAccessor {
+    final Map<TTemporalField, Long> fieldValues = new HashMap<>();
+    TZoneId zone;
+    private TLocalDate date;
+    private TLocalTime time;
+
+    TParsed copy() {
+        TParsed result = new TParsed();
+        result.fieldValues.putAll(fieldValues);
+        result.zone = zone;
+        return result;
+    }
+
+    void resolve() {
+        resolveDate();
+        int excessDays = resolveTime();
+        if (date != null && time != null && excessDays != 0) {
+            date = date.plusDays(excessDays);
+        }
+        resolveInstant();
+    }
+
+    private void resolveDate() {
+        Long yearOfEra = fieldValues.remove(YEAR_OF_ERA);
+        if (yearOfEra != null) {
+            Long era = fieldValues.remove(ERA);
+            long year = era == null || era == 1 ? yearOfEra : 1 - yearOfEra;
+            updateField(YEAR, year);
+        }
+        if (fieldValues.containsKey(YEAR)) {
+            if (fieldValues.containsKey(MONTH_OF_YEAR) && fieldValues.containsKey(DAY_OF_MONTH)) {
+                int year = YEAR.checkValidIntValue(fieldValues.remove(YEAR));
+                int month = MONTH_OF_YEAR.checkValidIntValue(fieldValues.remove(MONTH_OF_YEAR));
+                int day = DAY_OF_MONTH.checkValidIntValue(fieldValues.remove(DAY_OF_MONTH));
+                updateDate(TLocalDate.of(year, month, day));
+            } else if (fieldValues.containsKey(DAY_OF_YEAR)) {
+                int year = YEAR.checkValidIntValue(fieldValues.remove(YEAR));
+                int dayOfYear = DAY_OF_YEAR.checkValidIntValue(fieldValues.remove(DAY_OF_YEAR));
+                updateDate(TLocalDate.ofYearDay(year, dayOfYear));
+            }
+        }
+        Long epochDay = fieldValues.remove(EPOCH_DAY);
+        if (epochDay != null) {
+            updateDate(TLocalDate.ofEpochDay(epochDay));
+        }
+        if (date != null) {
+            Long dayOfWeek = fieldValues.remove(DAY_OF_WEEK);
+            if (dayOfWeek != null && date.getDayOfWeek().getValue() != dayOfWeek) {
+                throw new TDateTimeException("Conflict found: Field " + DAY_OF_WEEK + " "
+                        + date.getDayOfWeek().getValue() + " differs from " + DAY_OF_WEEK + " " + dayOfWeek
+                        + " derived from " + date);
+            }
+        }
+    }
+
+    private void updateDate(TLocalDate newDate) {
+        if (date != null && !date.equals(newDate)) {
+            throw new TDateTimeException("Conflict found: Fields resolved to two different dates: " + date + " "
+                    + newDate);
+        }
+        date = newDate;
+    }
+
+    private void updateField(TChronoField field, long value) {
+        Long old = fieldValues.put(field, value);
+        if (old != null && old != value) {
+            throw new TDateTimeException("Conflict found: " + field + " " + old + " differs from " + field + " "
+                    + value);
+        }
+    }
+
+    private int resolveTime() {
+        Long clockHourOfDay = fieldValues.remove(CLOCK_HOUR_OF_DAY);
+        if (clockHourOfDay != null) {
+            CLOCK_HOUR_OF_DAY.checkValidValue(clockHourOfDay);
+            updateField(HOUR_OF_DAY, clockHourOfDay == 24 ? 0 : clockHourOfDay);
+        }
+        Long clockHourOfAmPm = fieldValues.remove(CLOCK_HOUR_OF_AMPM);
+        if (clockHourOfAmPm != null) {
+            CLOCK_HOUR_OF_AMPM.checkValidValue(clockHourOfAmPm);
+            updateField(HOUR_OF_AMPM, clockHourOfAmPm == 12 ? 0 : clockHourOfAmPm);
+        }
+        if (fieldValues.containsKey(AMPM_OF_DAY) && fieldValues.containsKey(HOUR_OF_AMPM)) {
+            long amPm = AMPM_OF_DAY.checkValidValue(fieldValues.remove(AMPM_OF_DAY));
+            long hourOfAmPm = HOUR_OF_AMPM.checkValidValue(fieldValues.remove(HOUR_OF_AMPM));
+            updateField(HOUR_OF_DAY, amPm * 12 + hourOfAmPm);
+        }
+        if (!fieldValues.containsKey(NANO_OF_SECOND)) {
+            Long micros = fieldValues.remove(MICRO_OF_SECOND);
+            Long millis = fieldValues.remove(MILLI_OF_SECOND);
+            if (micros != null) {
+                updateField(NANO_OF_SECOND, MICRO_OF_SECOND.checkValidValue(micros) * 1000);
+            } else if (millis != null) {
+                updateField(NANO_OF_SECOND, MILLI_OF_SECOND.checkValidValue(millis) * 1000_000);
+            }
+        }
+
+        Long nanoOfDay = fieldValues.remove(NANO_OF_DAY);
+        if (nanoOfDay != null) {
+            time = TLocalTime.ofNanoOfDay(nanoOfDay);
+            return 0;
+        }
+        Long milliOfDay = fieldValues.remove(MILLI_OF_DAY);
+        if (milliOfDay != null) {
+            time = TLocalTime.ofNanoOfDay(MILLI_OF_DAY.checkValidValue(milliOfDay) * 1000_000);
+            return 0;
+        }
+        Long secondOfDay = fieldValues.remove(SECOND_OF_DAY);
+        if (secondOfDay != null) {
+            Long nanos = fieldValues.remove(NANO_OF_SECOND);
+            time = TLocalTime.ofSecondOfDay(secondOfDay);
+            if (nanos != null) {
+                time = time.withNano(NANO_OF_SECOND.checkValidIntValue(nanos));
+            }
+            return 0;
+        }
+
+        Long hour = fieldValues.get(HOUR_OF_DAY);
+        if (hour == null) {
+            return 0;
+        }
+        Long minute = fieldValues.get(MINUTE_OF_HOUR);
+        Long second = fieldValues.get(SECOND_OF_MINUTE);
+        Long nano = fieldValues.get(NANO_OF_SECOND);
+        if (minute == null && (second != null || nano != null) || minute != null && second == null && nano != null) {
+            return 0;
+        }
+        fieldValues.remove(HOUR_OF_DAY);
+        fieldValues.remove(MINUTE_OF_HOUR);
+        fieldValues.remove(SECOND_OF_MINUTE);
+        fieldValues.remove(NANO_OF_SECOND);
+        long minuteValue = minute != null ? minute : 0;
+        long secondValue = second != null ? second : 0;
+        long nanoValue = nano != null ? nano : 0;
+        int excessDays = 0;
+        if (hour == 24 && (minuteValue | secondValue | nanoValue) == 0) {
+            hour = 0L;
+            excessDays = 1;
+        }
+        time = TLocalTime.of(HOUR_OF_DAY.checkValidIntValue(hour), MINUTE_OF_HOUR.checkValidIntValue(minuteValue),
+                SECOND_OF_MINUTE.checkValidIntValue(secondValue), NANO_OF_SECOND.checkValidIntValue(nanoValue));
+        return excessDays;
+    }
+
+    private void resolveInstant() {
+        Long offsetSeconds = fieldValues.get(OFFSET_SECONDS);
+        if (date != null && time != null) {
+            TLocalDateTime dateTime = TLocalDateTime.of(date, time);
+            if (offsetSeconds != null) {
+                TZoneOffset offset = TZoneOffset.ofTotalSeconds(offsetSeconds.intValue());
+                updateField(INSTANT_SECONDS, dateTime.toEpochSecond(offset));
+            } else if (zone != null) {
+                updateField(INSTANT_SECONDS, TZonedDateTime.of(dateTime, zone).toEpochSecond());
+            }
+        } else if (date == null && time == null && fieldValues.containsKey(INSTANT_SECONDS)) {
+            TZoneId instantZone = zone;
+            if (offsetSeconds != null) {
+                instantZone = TZoneOffset.ofTotalSeconds(offsetSeconds.intValue());
+            }
+            if (instantZone != null) {
+                Long nanos = fieldValues.get(NANO_OF_SECOND);
+                TInstant instant = TInstant.ofEpochSecond(fieldValues.get(INSTANT_SECONDS),
+                        nanos != null ? nanos : 0);
+                TZonedDateTime dateTime = TZonedDateTime.ofInstant(instant, instantZone);
+                date = dateTime.toLocalDate();
+                time = dateTime.toLocalTime();
+                fieldValues.remove(NANO_OF_SECOND);
+                if (offsetSeconds == null) {
+                    fieldValues.put(OFFSET_SECONDS, (long) dateTime.getOffset().getTotalSeconds());
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isSupported(TTemporalField field) {
+        if (fieldValues.containsKey(field)) {
+            return true;
+        }
+        return date != null && date.isSupported(field) || time != null && time.isSupported(field);
+    }
+
+    @Override
+    public long getLong(TTemporalField field) {
+        Long value = fieldValues.get(field);
+        if (value != null) {
+            return value;
+        }
+        if (date != null && date.isSupported(field)) {
+            return date.getLong(field);
+        }
+        if (time != null && time.isSupported(field)) {
+            return time.getLong(field);
+        }
+        throw new TUnsupportedTemporalTypeException("Unsupported field: " + field);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R query(TTemporalQuery<R> query) {
+        if (query == TTemporalQueries.zoneId()) {
+            return (R) zone;
+        } else if (query == TTemporalQueries.zone() || query == TTemporalQueries.offset()) {
+            Long offsetSeconds = fieldValues.get(OFFSET_SECONDS);
+            if (offsetSeconds != null && (query == TTemporalQueries.offset() || zone == null)) {
+                return (R) TZoneOffset.ofTotalSeconds(offsetSeconds.intValue());
+            }
+            if (query == TTemporalQueries.offset()) {
+                return zone instanceof TZoneOffset ? (R) zone : null;
+            }
+            return (R) zone;
+        } else if (query == TTemporalQueries.localDate()) {
+            return (R) date;
+        } else if (query == TTemporalQueries.localTime()) {
+            return (R) time;
+        }
+        return query.queryFrom(this);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(fieldValues);
+        if (zone != null) {
+            sb.append(',').append(zone);
+        }
+        if (date != null || time != null) {
+            sb.append(" resolved to ");
+            if (date != null) {
+                sb.append(date);
+                if (time != null) {
+                    sb.append('T').append(time);
+                }
+            } else {
+                sb.append(time);
+            }
+        }
+        return sb.toString();
+    }
+}
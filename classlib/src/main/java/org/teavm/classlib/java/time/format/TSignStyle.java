@@ -0,0 +1,36 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.format;
+
+public enum TSignStyle {
+    NORMAL,
+    ALWAYS,
+    NEVER,
+    NOT_NEGATIVE,
+    EXCEEDS_PAD;
+
+    boolean parse(boolean positive, boolean strict, boolean fixedWidth) {
+        switch (this) {
+            case NORMAL:
+                return !positive || !strict;
+            case ALWAYS:
+            case EXCEEDS_PAD:
+                return true;
+            default:
+                return !strict && !fixedWidth;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.format;
+
+public enum TTextStyle {
+    FULL,
+    FULL_STANDALONE,
+    SHORT,
+    SHORT_STANDALONE,
+    NARROW,
+    NARROW_STANDALONE;
+
+    public boolean isStandalone() {
+        return (ordinal() & 1) == 1;
+    }
+
+    public TTextStyle asStandalone() {
+        return values()[ordinal() | 1];
+    }
+
+    public TTextStyle asNormal() {
+        return values()[ordinal() & ~1];
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.temporal;
+
+import static org.teavm.classlib.java.time.temporal.TChronoUnit.DAYS;
+import static org.teavm.classlib.java.time.temporal.TChronoUnit.ERAS;
+import static org.teavm.classlib.java.time.temporal.TChronoUnit.FOREVER;
+import static org.teavm.classlib.java.time.temporal.TChronoUnit.HALF_DAYS;
+import static org.teavm.classlib.java.time.temporal.TChronoUnit.HOURS;
+import static org.teavm.classlib.java.time.temporal.TChronoUnit.MICROS;
+import static org.teavm.classlib.java.time.temporal.TChronoUnit.MILLIS;
+import static org.teavm.classlib.java.time.temporal.TChronoUnit.MINUTES;
+import static org.teavm.classlib.java.time.temporal.TChronoUnit.MONTHS;
+import static org.teavm.classlib.java.time.temporal.TChronoUnit.NANOS;
+import static org.teavm.classlib.java.time.temporal.TChronoUnit.SECONDS;
+import static org.teavm.classlib.java.time.temporal.TChronoUnit.WEEKS;
+import static org.teavm.classlib.java.time.temporal.TChronoUnit.YEARS;
+
+public enum TChronoField implements TTemporalField {
+    NANO_OF_SECOND("NanoOfSecond", NANOS, SECONDS, TValueRange.of(0, 999_999_999)),
+    NANO_OF_DAY("NanoOfDay", NANOS, DAYS, TValueRange.of(0, 86400L * 1000_000_000L - 1)),
+    MICRO_OF_SECOND("MicroOfSecond", MICROS, SECONDS, TValueRange.of(0, 999_999)),
+    MICRO_OF_DAY("MicroOfDay", MICROS, DAYS, TValueRange.of(0, 86400L * 1000_000L - 1)),
+    MILLI_OF_SECOND("MilliOfSecond", MILLIS, SECONDS, TValueRange.of(0, 999)),
+    MILLI_OF_DAY("MilliOfDay", MILLIS, DAYS, TValueRange.of(0, 86400L * 1000L - 1)),
+    SECOND_OF_MINUTE("SecondOfMinute", SECONDS, MINUTES, TValueRange.of(0, 59)),
+    SECOND_OF_DAY("SecondOfDay", SECONDS, DAYS, TValueRange.of(0, 86400L - 1)),
+    MINUTE_OF_HOUR("MinuteOfHour", MINUTES, HOURS, TValueRange.of(0, 59)),
+    MINUTE_OF_DAY("MinuteOfDay", MINUTES, DAYS, TValueRange.of(0, (24 * 60) - 1)),
+    HOUR_OF_AMPM("HourOfAmPm", HOURS, HALF_DAYS, TValueRange.of(0, 11)),
+    CLOCK_HOUR_OF_AMPM("ClockHourOfAmPm", HOURS, HALF_DAYS, TValueRange.of(1, 12)),
+    HOUR_OF_DAY("HourOfDay", HOURS, DAYS, TValueRange.of(0, 23)),
+    CLOCK_HOUR_OF_DAY("ClockHourOfDay", HOURS, DAYS, TValueRange.of(1, 24)),
+    AMPM_OF_DAY("AmPmOfDay", HALF_DAYS, DAYS, TValueRange.of(0, 1)),
+    DAY_OF_WEEK("DayOfWeek", DAYS, WEEKS, TValueRange.of(1, 7)),
+    ALIGNED_DAY_OF_WEEK_IN_MONTH("AlignedDayOfWeekInMonth", DAYS, WEEKS, TValueRange.of(1, 7)),
+    ALIGNED_DAY_OF_WEEK_IN_YEAR("AlignedDayOfWeekInYear", DAYS, WEEKS, TValueRange.of(1, 7)),
+    DAY_OF_MONTH("DayOfMonth", DAYS, MONTHS, TValueRange.of(1, 28, 31)),
+    DAY_OF_YEAR("DayOfYear", DAYS, YEARS, TValueRange.of(1, 365, 366)),
+    EPOCH_DAY("EpochDay", DAYS, FOREVER, TValueRange.of(-365243219162L, 365241780471L)),
+    ALIGNED_WEEK_OF_MONTH("AlignedWeekOfMonth", WEEKS, MONTHS, TValueRange.of(1, 4, 5)),
+    ALIGNED_WEEK_OF_YEAR("AlignedWeekOfYear", WEEKS, YEARS, TValueRange.of(1, 53)),
+    MONTH_OF_YEAR("MonthOfYear", MONTHS, YEARS, TValueRange.of(1, 12)),
+    PROLEPTIC_MONTH("ProlepticMonth", MONTHS, FOREVER, TValueRange.of(-999999999L * 12, 999999999L * 12 + 11)),
+    YEAR_OF_ERA("YearOfEra", YEARS, ERAS, TValueRange.of(1, 999999999, 1000000000)),
+    YEAR("Year", YEARS, FOREVER, TValueRange.of(-999999999, 999999999)),
+    ERA("Era", ERAS, FOREVER, TValueRange.of(0, 1)),
+    INSTANT_SECONDS("InstantSeconds", SECONDS, FOREVER, TValueRange.of(Long.MIN_VALUE, Long.MAX_VALUE)),
+    OFFSET_SECONDS("OffsetSeconds", SECONDS, FOREVER, TValueRange.of(-18 * 3600, 18 * 3600));
+
+    private final String name;
+    private final TTemporalUnit baseUnit;
+    private final TTemporalUnit rangeUnit;
+    private final TValueRange range;
+
+    TChronoField(String name, TTemporalUnit baseUnit, TTemporalUnit rangeUnit, TValueRange range) {
+        this.name = name;
+        this.baseUnit = baseUnit;
+        this.rangeUnit = rangeUnit;
+        this.range = range;
+    }
+
+    @Override
+    public TTemporalUnit getBaseUnit() {
+        return baseUnit;
+    }
+
+    @Override
+    public TTemporalUnit getRangeUnit() {
+        return rangeUnit;
+    }
+
+    @Override
+    public TValueRange range() {
+        return range;
+    }
+
+    @Override
+    public boolean isDateBased() {
+        return ordinal() >= DAY_OF_WEEK.ordinal() && ordinal() <= ERA.ordinal();
+    }
+
+    @Override
+    public boolean isTimeBased() {
+        return ordinal() < DAY_OF_WEEK.ordinal();
+    }
+
+    public long checkValidValue(long value) {
+        return range.checkValidValue(value, this);
+    }
+
+    public int checkValidIntValue(long value) {
+        return range.checkValidIntValue(value, this);
+    }
+
+    @Override
+    public boolean isSupportedBy(TTemporalAccessor temporal) {
+        return temporal.isSupported(this);
+    }
+
+    @Override
+    public TValueRange rangeRefinedBy(TTemporalAccessor temporal) {
+        return temporal.range(this);
+    }
+
+    @Override
+    public long getFrom(TTemporalAccessor temporal) {
+        return temporal.getLong(this);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R extends TTemporal> R adjustInto(R temporal, long newValue) {
+        return (R) temporal.with(this, newValue);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.temporal;
+
+import org.teavm.classlib.java.time.TDuration;
+
+public enum TChronoUnit implements TTemporalUnit {
+    NANOS("Nanos", 0, 1),
+    MICROS("Micros", 0, 1000),
+    MILLIS("Millis", 0, 1000_000),
+    SECONDS("Seconds", 1, 0),
+    MINUTES("Minutes", 60, 0),
+    HOURS("Hours", 3600, 0),
+    HALF_DAYS("HalfDays", 43200, 0),
+    DAYS("Days", 86400, 0),
+    WEEKS("Weeks", 7 * 86400L, 0),
+    MONTHS("Months", 31556952L / 12, 0),
+    YEARS("Years", 31556952L, 0),
+    DECADES("Decades", 31556952L * 10L, 0),
+    CENTURIES("Centuries", 31556952L * 100L, 0),
+    MILLENNIA("Millennia", 31556952L * 1000L, 0),
+    ERAS("Eras", 31556952L * 1000_000_000L, 0),
+    FOREVER("Forever", Long.MAX_VALUE, 999_999_999);
+
+    private final String name;
+    private final long seconds;
+    private final int nanos;
+    private TDuration duration;
+
+    TChronoUnit(String name, long seconds, int nanos) {
+        this.name = name;
+        this.seconds = seconds;
+        this.nanos = nanos;
+    }
+
+    @Override
+    public TDuration getDuration() {
+        if (duration == null) {
+            duration = TDuration.ofSeconds(seconds, nanos);
+        }
+        return duration;
+    }
+
+    @Override
+    public boolean isDurationEstimated() {
+        return compareTo(DAYS) >= 0;
+    }
+
+    @Override
+    public boolean isDateBased() {
+        return compareTo(DAYS) >= 0 && this != FOREVER;
+    }
+
+    @Override
+    public boolean isTimeBased() {
+        return compareTo(DAYS) < 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R extends TTemporal> R addTo(R temporal, long amount) {
+        return (R) temporal.plus(amount, this);
+    }
+
+    @Override
+    public long between(TTemporal temporal1Inclusive, TTemporal temporal2Exclusive) {
+        return temporal1Inclusive.until(temporal2Exclusive, this);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
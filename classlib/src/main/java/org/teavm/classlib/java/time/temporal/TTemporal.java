@@ -0,0 +1,44 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.temporal;
+
+public interface TTemporal extends TTemporalAccessor {
+    boolean isSupported(TTemporalUnit unit);
+
+    default TTemporal with(TTemporalAdjuster adjuster) {
+        return adjuster.adjustInto(this);
+    }
+
+    TTemporal with(TTemporalField field, long newValue);
+
+    default TTemporal plus(TTemporalAmount amount) {
+        return amount.addTo(this);
+    }
+
+    TTemporal plus(long amountToAdd, TTemporalUnit unit);
+
+    default TTemporal minus(TTemporalAmount amount) {
+        return amount.subtractFrom(this);
+    }
+
+    default TTemporal minus(long amountToSubtract, TTemporalUnit unit) {
+        return amountToSubtract == Long.MIN_VALUE
+                ? plus(Long.MAX_VALUE, unit).plus(1, unit)
+                : plus(-amountToSubtract, unit);
+    }
+
+    long until(TTemporal endExclusive, TTemporalUnit unit);
+}
@@ -0,0 +1,48 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.temporal;
+
+public interface TTemporalAccessor {
+    boolean isSupported(TTemporalField field);
+
+    default TValueRange range(TTemporalField field) {
+        if (field instanceof TChronoField) {
+            if (isSupported(field)) {
+                return field.range();
+            }
+            throw new TUnsupportedTemporalTypeException("Unsupported field: " + field);
+        }
+        return field.rangeRefinedBy(this);
+    }
+
+    default int get(TTemporalField field) {
+        TValueRange range = range(field);
+        long value = getLong(field);
+        if (!range.isValidIntValue(value)) {
+            throw new TUnsupportedTemporalTypeException("Invalid value for " + field + ": " + value);
+        }
+        return (int) value;
+    }
+
+    long getLong(TTemporalField field);
+
+    default <R> R query(TTemporalQuery<R> query) {
+        if (query == TTemporalQueries.zoneId()) {
+            return null;
+        }
+        return query.queryFrom(this);
+    }
+}
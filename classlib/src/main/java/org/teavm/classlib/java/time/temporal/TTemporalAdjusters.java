@@ -0,0 +1,85 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.temporal;
+
+import static org.teavm.classlib.java.time.temporal.TChronoField.DAY_OF_MONTH;
+import static org.teavm.classlib.java.time.temporal.TChronoField.DAY_OF_WEEK;
+import static org.teavm.classlib.java.time.temporal.TChronoField.DAY_OF_YEAR;
+import static org.teavm.classlib.java.time.temporal.TChronoUnit.DAYS;
+import static org.teavm.classlib.java.time.temporal.TChronoUnit.MONTHS;
+import static org.teavm.classlib.java.time.temporal.TChronoUnit.YEARS;
+import org.teavm.classlib.java.time.TDayOfWeek;
+
+public final class TTemporalAdjusters {
+    private TTemporalAdjusters() {
+    }
+
+    public static TTemporalAdjuster firstDayOfMonth() {
+        return temporal -> temporal.with(DAY_OF_MONTH, 1);
+    }
+
+    public static TTemporalAdjuster lastDayOfMonth() {
+        return temporal -> temporal.with(DAY_OF_MONTH, temporal.range(DAY_OF_MONTH).getMaximum());
+    }
+
+    public static TTemporalAdjuster firstDayOfNextMonth() {
+        return temporal -> temporal.with(DAY_OF_MONTH, 1).plus(1, MONTHS);
+    }
+
+    public static TTemporalAdjuster firstDayOfYear() {
+        return temporal -> temporal.with(DAY_OF_YEAR, 1);
+    }
+
+    public static TTemporalAdjuster lastDayOfYear() {
+        return temporal -> temporal.with(DAY_OF_YEAR, temporal.range(DAY_OF_YEAR).getMaximum());
+    }
+
+    public static TTemporalAdjuster firstDayOfNextYear() {
+        return temporal -> temporal.with(DAY_OF_YEAR, 1).plus(1, YEARS);
+    }
+
+    public static TTemporalAdjuster next(TDayOfWeek dayOfWeek) {
+        int target = dayOfWeek.getValue();
+        return temporal -> {
+            int diff = target - temporal.get(DAY_OF_WEEK);
+            return temporal.plus(diff > 0 ? diff : diff + 7, DAYS);
+        };
+    }
+
+    public static TTemporalAdjuster nextOrSame(TDayOfWeek dayOfWeek) {
+        int target = dayOfWeek.getValue();
+        return temporal -> {
+            int diff = target - temporal.get(DAY_OF_WEEK);
+            return diff == 0 ? temporal : temporal.plus(diff > 0 ? diff : diff + 7, DAYS);
+        };
+    }
+
+    public static TTemporalAdjuster previous(TDayOfWeek dayOfWeek) {
+        int target = dayOfWeek.getValue();
+        return temporal -> {
+            int diff = temporal.get(DAY_OF_WEEK) - target;
+            return temporal.minus(diff > 0 ? diff : diff + 7, DAYS);
+        };
+    }
+
+    public static TTemporalAdjuster previousOrSame(TDayOfWeek dayOfWeek) {
+        int target = dayOfWeek.getValue();
+        return temporal -> {
+            int diff = temporal.get(DAY_OF_WEEK) - target;
+            return diff == 0 ? temporal : temporal.minus(diff > 0 ? diff : diff + 7, DAYS);
+        };
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.temporal;
+
+public interface TTemporalField {
+    TTemporalUnit getBaseUnit();
+
+    TTemporalUnit getRangeUnit();
+
+    TValueRange range();
+
+    boolean isDateBased();
+
+    boolean isTimeBased();
+
+    boolean isSupportedBy(TTemporalAccessor temporal);
+
+    TValueRange rangeRefinedBy(TTemporalAccessor temporal);
+
+    long getFrom(TTemporalAccessor temporal);
+
+    <R extends TTemporal> R adjustInto(R temporal, long newValue);
+}
@@ -0,0 +1,64 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.temporal;
+
+import org.teavm.classlib.java.time.TLocalDate;
+import org.teavm.classlib.java.time.TLocalTime;
+import org.teavm.classlib.java.time.TZoneId;
+import org.teavm.classlib.java.time.TZoneOffset;
+
+public final class TTemporalQueries {
+    private static final TTemporalQuery<TZoneId> ZONE_ID = temporal -> temporal.query(TTemporalQueries.ZONE_ID);
+    private static final TTemporalQuery<TZoneOffset> OFFSET = temporal -> temporal.isSupported(
+            TChronoField.OFFSET_SECONDS) ? TZoneOffset.ofTotalSeconds(temporal.get(TChronoField.OFFSET_SECONDS))
+            : null;
+    private static final TTemporalQuery<TZoneId> ZONE = temporal -> {
+        TZoneId zone = temporal.query(ZONE_ID);
+        return zone != null ? zone : temporal.query(OFFSET);
+    };
+    private static final TTemporalQuery<TLocalDate> LOCAL_DATE = temporal -> temporal.isSupported(
+            TChronoField.EPOCH_DAY) ? TLocalDate.ofEpochDay(temporal.getLong(TChronoField.EPOCH_DAY)) : null;
+    private static final TTemporalQuery<TLocalTime> LOCAL_TIME = temporal -> temporal.isSupported(
+            TChronoField.NANO_OF_DAY) ? TLocalTime.ofNanoOfDay(temporal.getLong(TChronoField.NANO_OF_DAY)) : null;
+    private static final TTemporalQuery<TTemporalUnit> PRECISION = temporal -> null;
+
+    private TTemporalQueries() {
+    }
+
+    public static TTemporalQuery<TZoneId> zoneId() {
+        return ZONE_ID;
+    }
+
+    public static TTemporalQuery<TZoneId> zone() {
+        return ZONE;
+    }
+
+    public static TTemporalQuery<TZoneOffset> offset() {
+        return OFFSET;
+    }
+
+    public static TTemporalQuery<TLocalDate> localDate() {
+        return LOCAL_DATE;
+    }
+
+    public static TTemporalQuery<TLocalTime> localTime() {
+        return LOCAL_TIME;
+    }
+
+    public static TTemporalQuery<TTemporalUnit> precision() {
+        return PRECISION;
+    }
+}
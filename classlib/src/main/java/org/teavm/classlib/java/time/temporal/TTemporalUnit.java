@@ -0,0 +1,36 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.temporal;
+
+import org.teavm.classlib.java.time.TDuration;
+
+public interface TTemporalUnit {
+    TDuration getDuration();
+
+    boolean isDurationEstimated();
+
+    boolean isDateBased();
+
+    boolean isTimeBased();
+
+    default boolean isSupportedBy(TTemporal temporal) {
+        return temporal.isSupported(this);
+    }
+
+    <R extends TTemporal> R addTo(R temporal, long amount);
+
+    long between(TTemporal temporal1Inclusive, TTemporal temporal2Exclusive);
+}
@@ -0,0 +1,130 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.temporal;
+
+import org.teavm.classlib.java.time.TDateTimeException;
+
+public final class TValueRange {
+    private final long minSmallest;
+    private final long minLargest;
+    private final long maxSmallest;
+    private final long maxLargest;
+
+    private TValueRange(long minSmallest, long minLargest, long maxSmallest, long maxLargest) {
+        this.minSmallest = minSmallest;
+        this.minLargest = minLargest;
+        this.maxSmallest = maxSmallest;
+        this.maxLargest = maxLargest;
+    }
+
+    public static TValueRange of(long min, long max) {
+        if (min > max) {
+            throw new IllegalArgumentException("Minimum value must be less than maximum value");
+        }
+        return new TValueRange(min, min, max, max);
+    }
+
+    public static TValueRange of(long min, long maxSmallest, long maxLargest) {
+        return of(min, min, maxSmallest, maxLargest);
+    }
+
+    public static TValueRange of(long minSmallest, long minLargest, long maxSmallest, long maxLargest) {
+        if (minSmallest > minLargest || maxSmallest > maxLargest || minLargest > maxLargest) {
+            throw new IllegalArgumentException("Invalid value range");
+        }
+        return new TValueRange(minSmallest, minLargest, maxSmallest, maxLargest);
+    }
+
+    public boolean isFixed() {
+        return minSmallest == minLargest && maxSmallest == maxLargest;
+    }
+
+    public long getMinimum() {
+        return minSmallest;
+    }
+
+    public long getLargestMinimum() {
+        return minLargest;
+    }
+
+    public long getSmallestMaximum() {
+        return maxSmallest;
+    }
+
+    public long getMaximum() {
+        return maxLargest;
+    }
+
+    public boolean isIntValue() {
+        return minSmallest >= Integer.MIN_VALUE && maxLargest <= Integer.MAX_VALUE;
+    }
+
+    public boolean isValidValue(long value) {
+        return value >= minSmallest && value <= maxLargest;
+    }
+
+    public boolean isValidIntValue(long value) {
+        return isIntValue() && isValidValue(value);
+    }
+
+    public long checkValidValue(long value, TTemporalField field) {
+        if (!isValidValue(value)) {
+            throw new TDateTimeException("Invalid value for " + field + " (valid values " + this + "): " + value);
+        }
+        return value;
+    }
+
+    public int checkValidIntValue(long value, TTemporalField field) {
+        if (!isValidIntValue(value)) {
+            throw new TDateTimeException("Invalid value for " + field + " (valid values " + this + "): " + value);
+        }
+        return (int) value;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TValueRange)) {
+            return false;
+        }
+        TValueRange other = (TValueRange) obj;
+        return minSmallest == other.minSmallest && minLargest == other.minLargest
+                && maxSmallest == other.maxSmallest && maxLargest == other.maxLargest;
+    }
+
+    @Override
+    public int hashCode() {
+        long hash = minSmallest + (minLargest << 16) + (minLargest >> 48) + (maxSmallest << 32)
+                + (maxSmallest >> 32) + (maxLargest << 48) + (maxLargest >> 16);
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(minSmallest);
+        if (minSmallest != minLargest) {
+            sb.append('/').append(minLargest);
+        }
+        sb.append(" - ").append(maxSmallest);
+        if (maxSmallest != maxLargest) {
+            sb.append('/').append(maxLargest);
+        }
+        return sb.toString();
+    }
+}
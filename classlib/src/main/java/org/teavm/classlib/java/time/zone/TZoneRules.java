@@ -0,0 +1,166 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.zone;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.teavm.classlib.impl.tz.DateTimeZone;
+import org.teavm.classlib.java.time.TDuration;
+import org.teavm.classlib.java.time.TInstant;
+import org.teavm.classlib.java.time.TLocalDateTime;
+import org.teavm.classlib.java.time.TZoneOffset;
+
+/**
+ * <p>Offset rules of a time zone. Region-based rules delegate to {@link DateTimeZone} provided by
+ * {@link org.teavm.classlib.impl.tz.DateTimeZoneProvider}, i.e. to the same compiled tz database
+ * that backs {@code java.util.TimeZone}.</p>
+ *
+ * @author Alexey Andreev
+ */
+public final class TZoneRules {
+    private static final long MAX_OFFSET_MILLIS = 18 * 3600 * 1000L;
+    private static final long MAX_MILLIS_SECOND = Long.MAX_VALUE / 1000 - 1;
+    private final DateTimeZone timeZone;
+    private final TZoneOffset fixedOffset;
+
+    private TZoneRules(DateTimeZone timeZone, TZoneOffset fixedOffset) {
+        this.timeZone = timeZone;
+        this.fixedOffset = fixedOffset;
+    }
+
+    public static TZoneRules of(TZoneOffset offset) {
+        return new TZoneRules(null, offset);
+    }
+
+    public static TZoneRules of(DateTimeZone timeZone) {
+        TZoneOffset fixedOffset = timeZone.isFixed() ? toOffset(timeZone.getOffset(0)) : null;
+        return new TZoneRules(timeZone, fixedOffset);
+    }
+
+    private static TZoneOffset toOffset(int offsetMillis) {
+        return TZoneOffset.ofTotalSeconds(offsetMillis / 1000);
+    }
+
+    private static long toMillis(TInstant instant) {
+        long seconds = Math.max(-MAX_MILLIS_SECOND, Math.min(MAX_MILLIS_SECOND, instant.getEpochSecond()));
+        return seconds * 1000 + instant.getNano() / 1000_000;
+    }
+
+    private static long toLocalMillis(TLocalDateTime localDateTime) {
+        long seconds = localDateTime.toEpochSecond(TZoneOffset.UTC);
+        seconds = Math.max(-MAX_MILLIS_SECOND, Math.min(MAX_MILLIS_SECOND, seconds));
+        return seconds * 1000 + localDateTime.getNano() / 1000_000;
+    }
+
+    public boolean isFixedOffset() {
+        return fixedOffset != null;
+    }
+
+    public TZoneOffset getOffset(TInstant instant) {
+        if (fixedOffset != null) {
+            return fixedOffset;
+        }
+        return toOffset(timeZone.getOffset(toMillis(instant)));
+    }
+
+    /**
+     * Returns the offset for the local date-time. In a gap the offset before the transition is returned,
+     * in an overlap the earlier offset is returned.
+     */
+    public TZoneOffset getOffset(TLocalDateTime localDateTime) {
+        if (fixedOffset != null) {
+            return fixedOffset;
+        }
+        return toOffset(timeZone.getOffsetFromLocal(toLocalMillis(localDateTime)));
+    }
+
+    public List<TZoneOffset> getValidOffsets(TLocalDateTime localDateTime) {
+        if (fixedOffset != null) {
+            return Collections.singletonList(fixedOffset);
+        }
+        long localMillis = toLocalMillis(localDateTime);
+        // All instants that can correspond to the local time lie within +/-18 hours of it,
+        // so the only candidates are offsets in effect at the ends of this window
+        int first = timeZone.getOffset(localMillis - MAX_OFFSET_MILLIS);
+        int second = timeZone.getOffset(localMillis + MAX_OFFSET_MILLIS);
+        int third = timeZone.getOffsetFromLocal(localMillis);
+        List<TZoneOffset> result = new ArrayList<>(2);
+        int[] candidates = { Math.max(first, second), Math.min(first, second), third };
+        for (int i = 0; i < candidates.length; ++i) {
+            int candidate = candidates[i];
+            if (timeZone.getOffset(localMillis - candidate) == candidate) {
+                TZoneOffset offset = toOffset(candidate);
+                if (!result.contains(offset)) {
+                    result.add(offset);
+                }
+            }
+        }
+        if (result.size() > 1 && result.get(0).getTotalSeconds() < result.get(1).getTotalSeconds()) {
+            Collections.reverse(result);
+        }
+        return result;
+    }
+
+    public boolean isValidOffset(TLocalDateTime localDateTime, TZoneOffset offset) {
+        return getValidOffsets(localDateTime).contains(offset);
+    }
+
+    public TZoneOffset getStandardOffset(TInstant instant) {
+        if (fixedOffset != null) {
+            return fixedOffset;
+        }
+        return toOffset(timeZone.getStandardOffset(toMillis(instant)));
+    }
+
+    public TDuration getDaylightSavings(TInstant instant) {
+        if (fixedOffset != null) {
+            return TDuration.ZERO;
+        }
+        long millis = toMillis(instant);
+        return TDuration.ofMillis(timeZone.getOffset(millis) - timeZone.getStandardOffset(millis));
+    }
+
+    public boolean isDaylightSavings(TInstant instant) {
+        return !getStandardOffset(instant).equals(getOffset(instant));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TZoneRules)) {
+            return false;
+        }
+        TZoneRules other = (TZoneRules) obj;
+        if (timeZone == null || other.timeZone == null) {
+            return timeZone == other.timeZone && fixedOffset.equals(other.fixedOffset);
+        }
+        return timeZone.getID().equals(other.timeZone.getID());
+    }
+
+    @Override
+    public int hashCode() {
+        return timeZone != null ? timeZone.getID().hashCode() : fixedOffset.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return timeZone != null ? "ZoneRules[timeZone=" + timeZone.getID() + "]"
+                : "ZoneRules[currentStandardOffset=" + fixedOffset + "]";
+    }
+}
@@ -18,6 +18,7 @@ package org.teavm.classlib.java.util;
 import java.lang.reflect.Array;
 import java.util.Objects;
 import java.util.RandomAccess;
+import org.teavm.classlib.java.lang.TArrayIndexOutOfBoundsException;
 import org.teavm.classlib.java.lang.TClass;
 import org.teavm.classlib.java.lang.TComparable;
 import org.teavm.classlib.java.lang.TDouble;
@@ -29,87 +30,85 @@ import org.teavm.classlib.java.lang.TObject;
 import org.teavm.classlib.java.lang.TString;
 import org.teavm.classlib.java.lang.TStringBuilder;
 import org.teavm.classlib.java.lang.reflect.TArray;
+import org.teavm.classlib.java.util.stream.TDoubleStream;
+import org.teavm.classlib.java.util.stream.TIntStream;
+import org.teavm.classlib.java.util.stream.TLongStream;
+import org.teavm.classlib.java.util.stream.TStream;
+import org.teavm.classlib.java.util.stream.impl.TSimpleDoubleStreamImpl;
+import org.teavm.classlib.java.util.stream.impl.TSimpleIntStreamImpl;
+import org.teavm.classlib.java.util.stream.impl.TSimpleLongStreamImpl;
+import org.teavm.classlib.java.util.stream.impl.TSimpleStreamImpl;
+import org.teavm.interop.Address;
+import org.teavm.interop.DelegateTo;
+import org.teavm.interop.Unmanaged;
+import org.teavm.jso.JSBody;
+import org.teavm.jso.JSByRef;
+import org.teavm.runtime.Allocator;
+import org.teavm.runtime.RuntimeArray;
 
 public class TArrays extends TObject {
+    // Some engines still lack TypedArray.prototype.fill, so fall back to a plain loop there
+    private static final String FILL_SCRIPT = ""
+            + "if (a.fill) {"
+                + "a.fill(val, fromIndex, toIndex);"
+            + "} else {"
+                + "for (var i = fromIndex; i < toIndex; ++i) {"
+                    + "a[i] = val;"
+                + "}"
+            + "}";
+
     public static char[] copyOf(char[] array, int length) {
         char[] result = new char[length];
-        int sz = TMath.min(length, array.length);
-        for (int i = 0; i < sz; ++i) {
-            result[i] = array[i];
-        }
+        System.arraycopy(array, 0, result, 0, TMath.min(length, array.length));
         return result;
     }
 
     public static byte[] copyOf(byte[] array, int length) {
         byte[] result = new byte[length];
-        int sz = TMath.min(length, array.length);
-        for (int i = 0; i < sz; ++i) {
-            result[i] = array[i];
-        }
+        System.arraycopy(array, 0, result, 0, TMath.min(length, array.length));
         return result;
     }
 
     public static short[] copyOf(short[] array, int length) {
         short[] result = new short[length];
-        int sz = TMath.min(length, array.length);
-        for (int i = 0; i < sz; ++i) {
-            result[i] = array[i];
-        }
+        System.arraycopy(array, 0, result, 0, TMath.min(length, array.length));
         return result;
     }
 
     public static int[] copyOf(int[] array, int length) {
         int[] result = new int[length];
-        int sz = TMath.min(length, array.length);
-        for (int i = 0; i < sz; ++i) {
-            result[i] = array[i];
-        }
+        System.arraycopy(array, 0, result, 0, TMath.min(length, array.length));
         return result;
     }
 
     public static long[] copyOf(long[] array, int length) {
         long[] result = new long[length];
-        int sz = TMath.min(length, array.length);
-        for (int i = 0; i < sz; ++i) {
-            result[i] = array[i];
-        }
+        System.arraycopy(array, 0, result, 0, TMath.min(length, array.length));
         return result;
     }
 
     public static float[] copyOf(float[] array, int length) {
         float[] result = new float[length];
-        int sz = TMath.min(length, array.length);
-        for (int i = 0; i < sz; ++i) {
-            result[i] = array[i];
-        }
+        System.arraycopy(array, 0, result, 0, TMath.min(length, array.length));
         return result;
     }
 
     public static double[] copyOf(double[] array, int length) {
         double[] result = new double[length];
-        int sz = TMath.min(length, array.length);
-        for (int i = 0; i < sz; ++i) {
-            result[i] = array[i];
-        }
+        System.arraycopy(array, 0, result, 0, TMath.min(length, array.length));
         return result;
     }
 
     public static boolean[] copyOf(boolean[] array, int length) {
         boolean[] result = new boolean[length];
-        int sz = TMath.min(length, array.length);
-        for (int i = 0; i < sz; ++i) {
-            result[i] = array[i];
-        }
+        System.arraycopy(array, 0, result, 0, TMath.min(length, array.length));
         return result;
     }
 
     public static <T> T[] copyOf(T[] original, int newLength) {
         @SuppressWarnings("unchecked")
         T[] result = (T[]) Array.newInstance(original.getClass().getComponentType(), newLength);
-        int sz = TMath.min(newLength, original.length);
-        for (int i = 0; i < sz; ++i) {
-            result[i] = original[i];
-        }
+        System.arraycopy(original, 0, result, 0, TMath.min(newLength, original.length));
         return result;
     }
 
@@ -126,74 +125,56 @@ public class TArrays extends TObject {
 
     public static boolean[] copyOfRange(boolean[] array, int from, int to) {
         boolean[] result = new boolean[to - from];
-        for (int i = from; i < to; ++i) {
-            result[i - from] = array[i];
-        }
+        System.arraycopy(array, from, result, 0, TMath.min(to, array.length) - from);
         return result;
     }
 
     public static byte[] copyOfRange(byte[] array, int from, int to) {
         byte[] result = new byte[to - from];
-        for (int i = from; i < to; ++i) {
-            result[i - from] = array[i];
-        }
+        System.arraycopy(array, from, result, 0, TMath.min(to, array.length) - from);
         return result;
     }
 
     public static char[] copyOfRange(char[] array, int from, int to) {
         char[] result = new char[to - from];
-        for (int i = from; i < to; ++i) {
-            result[i - from] = array[i];
-        }
+        System.arraycopy(array, from, result, 0, TMath.min(to, array.length) - from);
         return result;
     }
 
     public static short[] copyOfRange(short[] array, int from, int to) {
         short[] result = new short[to - from];
-        for (int i = from; i < to; ++i) {
-            result[i - from] = array[i];
-        }
+        System.arraycopy(array, from, result, 0, TMath.min(to, array.length) - from);
         return result;
     }
 
     public static int[] copyOfRange(int[] array, int from, int to) {
         int[] result = new int[to - from];
-        for (int i = from; i < to; ++i) {
-            result[i - from] = array[i];
-        }
+        System.arraycopy(array, from, result, 0, TMath.min(to, array.length) - from);
         return result;
     }
 
     public static long[] copyOfRange(long[] array, int from, int to) {
         long[] result = new long[to - from];
-        for (int i = from; i < to; ++i) {
-            result[i - from] = array[i];
-        }
+        System.arraycopy(array, from, result, 0, TMath.min(to, array.length) - from);
         return result;
     }
 
     public static float[] copyOfRange(float[] array, int from, int to) {
         float[] result = new float[to - from];
-        for (int i = from; i < to; ++i) {
-            result[i - from] = array[i];
-        }
+        System.arraycopy(array, from, result, 0, TMath.min(to, array.length) - from);
         return result;
     }
 
     public static double[] copyOfRange(double[] array, int from, int to) {
         double[] result = new double[to - from];
-        for (int i = from; i < to; ++i) {
-            result[i - from] = array[i];
-        }
+        System.arraycopy(array, from, result, 0, TMath.min(to, array.length) - from);
         return result;
     }
 
     public static <T> T[] copyOfRange(T[] original, int from, int to) {
         @SuppressWarnings("unchecked")
         T[] result = (T[]) Array.newInstance(original.getClass().getComponentType(), to - from);
-        for (int i = from; i < to; ++i) {
-            result[i - from] = original[i];
-        }
+        System.arraycopy(original, from, result, 0, TMath.min(to, original.length) - from);
         return result;
     }
 
@@ -341,9 +322,19 @@ public class TArrays extends TObject {
         if (fromIndex > toIndex) {
             throw new TIllegalArgumentException();
         }
-        while (fromIndex < toIndex) {
-            a[fromIndex++] = val;
+        if (fromIndex < 0 || toIndex > a.length) {
+            throw new TArrayIndexOutOfBoundsException();
         }
+        fillImpl(a, fromIndex, toIndex, val);
+    }
+
+    @JSBody(params = { "a", "fromIndex", "toIndex", "val" }, script = FILL_SCRIPT)
+    @DelegateTo("fillIntLowLevel")
+    private static native void fillImpl(@JSByRef int[] a, int fromIndex, int toIndex, int val);
+
+    @Unmanaged
+    private static void fillIntLowLevel(RuntimeArray a, int fromIndex, int toIndex, int val) {
+        Allocator.fillInt(elementAddress(a, 4, fromIndex), val, toIndex - fromIndex);
     }
 
     public static void fill(int[] a, int val) {
@@ -354,8 +345,22 @@ public class TArrays extends TObject {
         if (fromIndex > toIndex) {
             throw new TIllegalArgumentException();
         }
-        while (fromIndex < toIndex) {
-            a[fromIndex++] = val;
+        if (fromIndex < 0 || toIndex > a.length) {
+            throw new TArrayIndexOutOfBoundsException();
+        }
+        fillImpl(a, fromIndex, toIndex, val);
+    }
+
+    @JSBody(params = { "a", "fromIndex", "toIndex", "val" }, script = FILL_SCRIPT)
+    @DelegateTo("fillShortLowLevel")
+    private static native void fillImpl(@JSByRef short[] a, int fromIndex, int toIndex, short val);
+
+    @Unmanaged
+    private static void fillShortLowLevel(RuntimeArray a, int fromIndex, int toIndex, short val) {
+        Address address = elementAddress(a, 2, fromIndex);
+        while (fromIndex++ < toIndex) {
+            address.putShort(val);
+            address = address.add(2);
         }
     }
 
@@ -367,8 +372,22 @@ public class TArrays extends TObject {
         if (fromIndex > toIndex) {
             throw new TIllegalArgumentException();
         }
-        while (fromIndex < toIndex) {
-            a[fromIndex++] = val;
+        if (fromIndex < 0 || toIndex > a.length) {
+            throw new TArrayIndexOutOfBoundsException();
+        }
+        fillImpl(a, fromIndex, toIndex, val);
+    }
+
+    @JSBody(params = { "a", "fromIndex", "toIndex", "val" }, script = FILL_SCRIPT)
+    @DelegateTo("fillCharLowLevel")
+    private static native void fillImpl(@JSByRef char[] a, int fromIndex, int toIndex, char val);
+
+    @Unmanaged
+    private static void fillCharLowLevel(RuntimeArray a, int fromIndex, int toIndex, char val) {
+        Address address = elementAddress(a, 2, fromIndex);
+        while (fromIndex++ < toIndex) {
+            address.putChar(val);
+            address = address.add(2);
         }
     }
 
@@ -380,9 +399,19 @@ public class TArrays extends TObject {
         if (fromIndex > toIndex) {
             throw new TIllegalArgumentException();
         }
-        while (fromIndex < toIndex) {
-            a[fromIndex++] = val;
+        if (fromIndex < 0 || toIndex > a.length) {
+            throw new TArrayIndexOutOfBoundsException();
         }
+        fillImpl(a, fromIndex, toIndex, val);
+    }
+
+    @JSBody(params = { "a", "fromIndex", "toIndex", "val" }, script = FILL_SCRIPT)
+    @DelegateTo("fillByteLowLevel")
+    private static native void fillImpl(@JSByRef byte[] a, int fromIndex, int toIndex, byte val);
+
+    @Unmanaged
+    private static void fillByteLowLevel(RuntimeArray a, int fromIndex, int toIndex, byte val) {
+        Allocator.fill(elementAddress(a, 1, fromIndex), val, toIndex - fromIndex);
     }
 
     public static void fill(byte[] a, byte val) {
@@ -393,11 +422,24 @@ public class TArrays extends TObject {
         if (fromIndex > toIndex) {
             throw new TIllegalArgumentException();
         }
+        if (fromIndex < 0 || toIndex > a.length) {
+            throw new TArrayIndexOutOfBoundsException();
+        }
+        fillImpl(a, fromIndex, toIndex, val);
+    }
+
+    @DelegateTo("fillBooleanLowLevel")
+    private static void fillImpl(boolean[] a, int fromIndex, int toIndex, boolean val) {
         while (fromIndex < toIndex) {
             a[fromIndex++] = val;
         }
     }
 
+    @Unmanaged
+    private static void fillBooleanLowLevel(RuntimeArray a, int fromIndex, int toIndex, boolean val) {
+        Allocator.fill(elementAddress(a, 1, fromIndex), val ? (byte) 1 : 0, toIndex - fromIndex);
+    }
+
     public static void fill(boolean[] a, boolean val) {
         fill(a, 0, a.length, val);
     }
@@ -406,21 +448,50 @@ public class TArrays extends TObject {
         if (fromIndex > toIndex) {
             throw new TIllegalArgumentException();
         }
-        while (fromIndex < toIndex) {
-            a[fromIndex++] = val;
+        if (fromIndex < 0 || toIndex > a.length) {
+            throw new TArrayIndexOutOfBoundsException();
         }
+        fillImpl(a, fromIndex, toIndex, val);
+    }
+
+    @JSBody(params = { "a", "fromIndex", "toIndex", "val" }, script = FILL_SCRIPT)
+    @DelegateTo("fillFloatLowLevel")
+    private static native void fillImpl(@JSByRef float[] a, int fromIndex, int toIndex, float val);
+
+    @Unmanaged
+    private static void fillFloatLowLevel(RuntimeArray a, int fromIndex, int toIndex, float val) {
+        Allocator.fillInt(elementAddress(a, 4, fromIndex), Float.floatToRawIntBits(val), toIndex - fromIndex);
     }
 
     public static void fill(float[] a, float val) {
         fill(a, 0, a.length, val);
     }
 
+    @Unmanaged
+    private static Address elementAddress(RuntimeArray array, int itemSize, int index) {
+        return Address.align(array.toAddress().add(RuntimeArray.class, 1), itemSize).add(itemSize * index);
+    }
+
     public static void fill(double[] a, int fromIndex, int toIndex, double val) {
         if (fromIndex > toIndex) {
             throw new TIllegalArgumentException();
         }
-        while (fromIndex < toIndex) {
-            a[fromIndex++] = val;
+        if (fromIndex < 0 || toIndex > a.length) {
+            throw new TArrayIndexOutOfBoundsException();
+        }
+        fillImpl(a, fromIndex, toIndex, val);
+    }
+
+    @JSBody(params = { "a", "fromIndex", "toIndex", "val" }, script = FILL_SCRIPT)
+    @DelegateTo("fillDoubleLowLevel")
+    private static native void fillImpl(@JSByRef double[] a, int fromIndex, int toIndex, double val);
+
+    @Unmanaged
+    private static void fillDoubleLowLevel(RuntimeArray a, int fromIndex, int toIndex, double val) {
+        Address address = elementAddress(a, 8, fromIndex);
+        while (fromIndex++ < toIndex) {
+            address.putDouble(val);
+            address = address.add(8);
         }
     }
 
@@ -1548,4 +1619,48 @@ public class TArrays extends TObject {
             out.append(TObject.wrap(a));
         }
     }
+
+    public static <T> TStream<T> stream(T[] array) {
+        return TSimpleStreamImpl.ofArray(array, 0, array.length);
+    }
+
+    public static <T> TStream<T> stream(T[] array, int startInclusive, int endExclusive) {
+        if (startInclusive < 0 || endExclusive > array.length || startInclusive > endExclusive) {
+            throw new TArrayIndexOutOfBoundsException();
+        }
+        return TSimpleStreamImpl.ofArray(array, startInclusive, endExclusive);
+    }
+
+    public static TIntStream stream(int[] array) {
+        return TSimpleIntStreamImpl.ofArray(array, 0, array.length);
+    }
+
+    public static TIntStream stream(int[] array, int startInclusive, int endExclusive) {
+        if (startInclusive < 0 || endExclusive > array.length || startInclusive > endExclusive) {
+            throw new TArrayIndexOutOfBoundsException();
+        }
+        return TSimpleIntStreamImpl.ofArray(array, startInclusive, endExclusive);
+    }
+
+    public static TLongStream stream(long[] array) {
+        return TSimpleLongStreamImpl.ofArray(array, 0, array.length);
+    }
+
+    public static TLongStream stream(long[] array, int startInclusive, int endExclusive) {
+        if (startInclusive < 0 || endExclusive > array.length || startInclusive > endExclusive) {
+            throw new TArrayIndexOutOfBoundsException();
+        }
+        return TSimpleLongStreamImpl.ofArray(array, startInclusive, endExclusive);
+    }
+
+    public static TDoubleStream stream(double[] array) {
+        return TSimpleDoubleStreamImpl.ofArray(array, 0, array.length);
+    }
+
+    public static TDoubleStream stream(double[] array, int startInclusive, int endExclusive) {
+        if (startInclusive < 0 || endExclusive > array.length || startInclusive > endExclusive) {
+            throw new TArrayIndexOutOfBoundsException();
+        }
+        return TSimpleDoubleStreamImpl.ofArray(array, startInclusive, endExclusive);
+    }
 }
@@ -16,6 +16,8 @@
 package org.teavm.classlib.java.util;
 
 import org.teavm.classlib.java.lang.TIterable;
+import org.teavm.classlib.java.util.stream.TStream;
+import org.teavm.classlib.java.util.stream.impl.TSimpleStreamImpl;
 
 /**
  *
@@ -46,4 +48,16 @@ public interface TCollection<E> extends TIterable<E> {
     boolean retainAll(TCollection<?> c);
 
     void clear();
+
+    @SuppressWarnings("unchecked")
+    default TStream<E> stream() {
+        if (this instanceof TList && this instanceof TRandomAccess) {
+            return TSimpleStreamImpl.ofList((TList<E>) this);
+        }
+        return TSimpleStreamImpl.ofCollection(this);
+    }
+
+    default TStream<E> parallelStream() {
+        return stream();
+    }
 }
@@ -604,7 +604,10 @@ public class THashMap<K, V> extends TAbstractMap<K, V> implements TCloneable, TS
     }
 
     static int computeHashCode(Object key) {
-        return key.hashCode();
+        // Bucket index is taken from low bits, so mix high bits in to keep chains short for keys
+        // whose hash codes differ only in upper bits (e.g. boxed floating-point numbers)
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
     }
 
     static boolean areEqualKeys(Object key1, Object key2) {
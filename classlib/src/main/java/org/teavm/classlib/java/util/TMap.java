@@ -15,6 +15,7 @@
  */
 package org.teavm.classlib.java.util;
 
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -56,7 +57,37 @@ public interface TMap<K, V> {
     TCollection<V> values();
 
     TSet<Entry<K, V>> entrySet();
-    
+
+    default V getOrDefault(Object key, V defaultValue) {
+        V v = get(key);
+        return v != null || containsKey(key) ? v : defaultValue;
+    }
+
+    default V putIfAbsent(K key, V value) {
+        V v = get(key);
+        if (v == null) {
+            v = put(key, value);
+        }
+        return v;
+    }
+
+    default boolean remove(Object key, Object value) {
+        if (containsKey(key) && TObjects.equals(get(key), value)) {
+            remove(key);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    default void forEach(BiConsumer<? super K, ? super V> action) {
+        TIterator<Entry<K, V>> iterator = entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry<K, V> entry = iterator.next();
+            action.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
     default boolean replace(K key, V value, V newValue) {
         if (containsKey(key) && TObjects.equals(get(key), value)) {
             put(key, newValue);
@@ -0,0 +1,121 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util;
+
+import org.teavm.classlib.java.util.function.TConsumer;
+import org.teavm.classlib.java.util.function.TFunction;
+import org.teavm.classlib.java.util.function.TPredicate;
+import org.teavm.classlib.java.util.function.TSupplier;
+
+public final class TOptional<T> {
+    private static TOptional<?> emptyInstance;
+    private final T value;
+
+    private TOptional(T value) {
+        this.value = value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> TOptional<T> empty() {
+        if (emptyInstance == null) {
+            emptyInstance = new TOptional<>(null);
+        }
+        return (TOptional<T>) emptyInstance;
+    }
+
+    public static <T> TOptional<T> of(T value) {
+        return new TOptional<>(TObjects.requireNonNull(value));
+    }
+
+    public static <T> TOptional<T> ofNullable(T value) {
+        return value != null ? of(value) : empty();
+    }
+
+    public T get() {
+        if (value == null) {
+            throw new TNoSuchElementException();
+        }
+        return value;
+    }
+
+    public boolean isPresent() {
+        return value != null;
+    }
+
+    public void ifPresent(TConsumer<? super T> consumer) {
+        if (value != null) {
+            consumer.accept(value);
+        }
+    }
+
+    public TOptional<T> filter(TPredicate<? super T> predicate) {
+        if (value == null) {
+            return this;
+        }
+        return predicate.test(value) ? this : empty();
+    }
+
+    public <U> TOptional<U> map(TFunction<? super T, ? extends U> mapper) {
+        if (value == null) {
+            return empty();
+        }
+        return ofNullable(mapper.apply(value));
+    }
+
+    public <U> TOptional<U> flatMap(TFunction<? super T, TOptional<U>> mapper) {
+        if (value == null) {
+            return empty();
+        }
+        return TObjects.requireNonNull(mapper.apply(value));
+    }
+
+    public T orElse(T other) {
+        return value != null ? value : other;
+    }
+
+    public T orElseGet(TSupplier<? extends T> other) {
+        return value != null ? value : other.get();
+    }
+
+    public <X extends Throwable> T orElseThrow(TSupplier<? extends X> exceptionSupplier) throws X {
+        if (value == null) {
+            throw exceptionSupplier.get();
+        }
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TOptional)) {
+            return false;
+        }
+
+        return TObjects.equals(((TOptional<?>) obj).value, value);
+    }
+
+    @Override
+    public int hashCode() {
+        return TObjects.hashCode(value);
+    }
+
+    @Override
+    public String toString() {
+        return value != null ? "Optional[" + value + "]" : "Optional.empty";
+    }
+}
@@ -0,0 +1,685 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent;
+
+import org.teavm.classlib.java.lang.TRunnable;
+import org.teavm.classlib.java.util.TArrayList;
+import org.teavm.classlib.java.util.function.TBiConsumer;
+import org.teavm.classlib.java.util.function.TBiFunction;
+import org.teavm.classlib.java.util.function.TConsumer;
+import org.teavm.classlib.java.util.function.TFunction;
+import org.teavm.classlib.java.util.function.TSupplier;
+
+/**
+ * <p>Dependent stages are kept in a plain list and run synchronously when the future completes.
+ * Since green threads are only switched on explicit suspension points, no locking is needed for that;
+ * a monitor is only entered by threads that block in {@link #get()} or {@link #join()}.
+ * Asynchronous stages without an explicit executor share one unbounded executor, so a burst of stages
+ * is run by the workers that are already started instead of a new green thread per stage.</p>
+ *
+ * @author Alexey Andreev
+ * @param <T>
+ */
+public class TCompletableFuture<T> implements TFuture<T>, TCompletionStage<T> {
+    private static final Object NULL_VALUE = new Object();
+    private static final TExecutor ASYNC_EXECUTOR = new TSimpleExecutorService(Integer.MAX_VALUE);
+    private Object result;
+    private TArrayList<TRunnable> dependents;
+    private boolean waiting;
+
+    public TCompletableFuture() {
+    }
+
+    public static <U> TCompletableFuture<U> supplyAsync(TSupplier<U> supplier) {
+        return supplyAsync(supplier, ASYNC_EXECUTOR);
+    }
+
+    public static <U> TCompletableFuture<U> supplyAsync(TSupplier<U> supplier, TExecutor executor) {
+        TCompletableFuture<U> future = new TCompletableFuture<>();
+        future.runTask(executor, supplier);
+        return future;
+    }
+
+    public static TCompletableFuture<Void> runAsync(TRunnable runnable) {
+        return runAsync(runnable, ASYNC_EXECUTOR);
+    }
+
+    public static TCompletableFuture<Void> runAsync(TRunnable runnable, TExecutor executor) {
+        return supplyAsync(() -> {
+            runnable.run();
+            return null;
+        }, executor);
+    }
+
+    public static <U> TCompletableFuture<U> completedFuture(U value) {
+        TCompletableFuture<U> future = new TCompletableFuture<>();
+        future.complete(value);
+        return future;
+    }
+
+    public static TCompletableFuture<Void> allOf(TCompletableFuture<?>... cfs) {
+        TCompletableFuture<Void> target = new TCompletableFuture<>();
+        int[] remaining = { cfs.length };
+        if (cfs.length == 0) {
+            target.complete(null);
+        }
+        for (TCompletableFuture<?> cf : cfs) {
+            cf.onComplete(() -> {
+                if (--remaining[0] > 0) {
+                    return;
+                }
+                for (TCompletableFuture<?> other : cfs) {
+                    Throwable exception = exceptionOf(other.result);
+                    if (exception != null) {
+                        target.completeResult(encodeThrowable(exception));
+                        return;
+                    }
+                }
+                target.complete(null);
+            });
+        }
+        return target;
+    }
+
+    public static TCompletableFuture<Object> anyOf(TCompletableFuture<?>... cfs) {
+        TCompletableFuture<Object> target = new TCompletableFuture<>();
+        for (TCompletableFuture<?> cf : cfs) {
+            cf.onComplete(() -> target.relay(cf.result));
+        }
+        return target;
+    }
+
+    @Override
+    public boolean isDone() {
+        return result != null;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return exceptionOf(result) instanceof TCancellationException;
+    }
+
+    public boolean isCompletedExceptionally() {
+        return exceptionOf(result) != null;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        completeResult(new ExceptionalResult(new TCancellationException()));
+        return isCancelled();
+    }
+
+    public boolean complete(T value) {
+        return completeResult(value != null ? value : NULL_VALUE);
+    }
+
+    public boolean completeExceptionally(Throwable ex) {
+        if (ex == null) {
+            throw new NullPointerException();
+        }
+        return completeResult(new ExceptionalResult(ex));
+    }
+
+    public int getNumberOfDependents() {
+        return dependents != null ? dependents.size() : 0;
+    }
+
+    @Override
+    public T get() throws InterruptedException, TExecutionException {
+        if (result == null) {
+            synchronized (this) {
+                waiting = true;
+                while (result == null) {
+                    wait();
+                }
+            }
+        }
+        return reportGet();
+    }
+
+    @Override
+    public T get(long timeout, TTimeUnit unit) throws InterruptedException, TExecutionException,
+            TTimeoutException {
+        if (result == null) {
+            long deadline = System.currentTimeMillis() + unit.toMillis(timeout);
+            synchronized (this) {
+                waiting = true;
+                while (result == null) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        throw new TTimeoutException();
+                    }
+                    wait(remaining);
+                }
+            }
+        }
+        return reportGet();
+    }
+
+    public T join() {
+        if (result == null) {
+            try {
+                synchronized (this) {
+                    waiting = true;
+                    while (result == null) {
+                        wait();
+                    }
+                }
+            } catch (InterruptedException e) {
+                throw new TCompletionException(e);
+            }
+        }
+        return reportJoin();
+    }
+
+    public T getNow(T valueIfAbsent) {
+        return result == null ? valueIfAbsent : reportJoin();
+    }
+
+    private T reportGet() throws TExecutionException {
+        Throwable exception = exceptionOf(result);
+        if (exception == null) {
+            return decodeValue(result);
+        }
+        if (exception instanceof TCancellationException) {
+            throw (TCancellationException) exception;
+        }
+        if (exception instanceof TCompletionException && exception.getCause() != null) {
+            exception = exception.getCause();
+        }
+        throw new TExecutionException(exception);
+    }
+
+    private T reportJoin() {
+        Throwable exception = exceptionOf(result);
+        if (exception == null) {
+            return decodeValue(result);
+        }
+        if (exception instanceof TCancellationException) {
+            throw (TCancellationException) exception;
+        }
+        throw wrap(exception);
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> thenApply(TFunction<? super T, ? extends U> fn) {
+        return uniStage(null, false, (value, exception) -> fn.apply(value));
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> thenApplyAsync(TFunction<? super T, ? extends U> fn) {
+        return uniStage(ASYNC_EXECUTOR, false, (value, exception) -> fn.apply(value));
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> thenApplyAsync(TFunction<? super T, ? extends U> fn, TExecutor executor) {
+        return uniStage(executor, false, (value, exception) -> fn.apply(value));
+    }
+
+    @Override
+    public TCompletableFuture<Void> thenAccept(TConsumer<? super T> action) {
+        return uniStage(null, false, (value, exception) -> {
+            action.accept(value);
+            return null;
+        });
+    }
+
+    @Override
+    public TCompletableFuture<Void> thenAcceptAsync(TConsumer<? super T> action) {
+        return uniStage(ASYNC_EXECUTOR, false, (value, exception) -> {
+            action.accept(value);
+            return null;
+        });
+    }
+
+    @Override
+    public TCompletableFuture<Void> thenAcceptAsync(TConsumer<? super T> action, TExecutor executor) {
+        return uniStage(executor, false, (value, exception) -> {
+            action.accept(value);
+            return null;
+        });
+    }
+
+    @Override
+    public TCompletableFuture<Void> thenRun(TRunnable action) {
+        return uniStage(null, false, (value, exception) -> {
+            action.run();
+            return null;
+        });
+    }
+
+    @Override
+    public TCompletableFuture<Void> thenRunAsync(TRunnable action) {
+        return uniStage(ASYNC_EXECUTOR, false, (value, exception) -> {
+            action.run();
+            return null;
+        });
+    }
+
+    @Override
+    public TCompletableFuture<Void> thenRunAsync(TRunnable action, TExecutor executor) {
+        return uniStage(executor, false, (value, exception) -> {
+            action.run();
+            return null;
+        });
+    }
+
+    @Override
+    public <U, V> TCompletableFuture<V> thenCombine(TCompletionStage<? extends U> other,
+            TBiFunction<? super T, ? super U, ? extends V> fn) {
+        return biStage(other, null, fn);
+    }
+
+    @Override
+    public <U, V> TCompletableFuture<V> thenCombineAsync(TCompletionStage<? extends U> other,
+            TBiFunction<? super T, ? super U, ? extends V> fn) {
+        return biStage(other, ASYNC_EXECUTOR, fn);
+    }
+
+    @Override
+    public <U, V> TCompletableFuture<V> thenCombineAsync(TCompletionStage<? extends U> other,
+            TBiFunction<? super T, ? super U, ? extends V> fn, TExecutor executor) {
+        return biStage(other, executor, fn);
+    }
+
+    @Override
+    public <U> TCompletableFuture<Void> thenAcceptBoth(TCompletionStage<? extends U> other,
+            TBiConsumer<? super T, ? super U> action) {
+        return biStage(other, null, (a, b) -> {
+            action.accept(a, b);
+            return null;
+        });
+    }
+
+    @Override
+    public <U> TCompletableFuture<Void> thenAcceptBothAsync(TCompletionStage<? extends U> other,
+            TBiConsumer<? super T, ? super U> action) {
+        return biStage(other, ASYNC_EXECUTOR, (a, b) -> {
+            action.accept(a, b);
+            return null;
+        });
+    }
+
+    @Override
+    public <U> TCompletableFuture<Void> thenAcceptBothAsync(TCompletionStage<? extends U> other,
+            TBiConsumer<? super T, ? super U> action, TExecutor executor) {
+        return biStage(other, executor, (a, b) -> {
+            action.accept(a, b);
+            return null;
+        });
+    }
+
+    @Override
+    public TCompletableFuture<Void> runAfterBoth(TCompletionStage<?> other, TRunnable action) {
+        return biStage(other, null, (a, b) -> {
+            action.run();
+            return null;
+        });
+    }
+
+    @Override
+    public TCompletableFuture<Void> runAfterBothAsync(TCompletionStage<?> other, TRunnable action) {
+        return biStage(other, ASYNC_EXECUTOR, (a, b) -> {
+            action.run();
+            return null;
+        });
+    }
+
+    @Override
+    public TCompletableFuture<Void> runAfterBothAsync(TCompletionStage<?> other, TRunnable action, TExecutor executor) {
+        return biStage(other, executor, (a, b) -> {
+            action.run();
+            return null;
+        });
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> applyToEither(TCompletionStage<? extends T> other,
+            TFunction<? super T, U> fn) {
+        return eitherStage(other, null, fn);
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> applyToEitherAsync(TCompletionStage<? extends T> other,
+            TFunction<? super T, U> fn) {
+        return eitherStage(other, ASYNC_EXECUTOR, fn);
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> applyToEitherAsync(TCompletionStage<? extends T> other,
+            TFunction<? super T, U> fn, TExecutor executor) {
+        return eitherStage(other, executor, fn);
+    }
+
+    @Override
+    public TCompletableFuture<Void> acceptEither(TCompletionStage<? extends T> other,
+            TConsumer<? super T> action) {
+        return eitherStage(other, null, value -> {
+            action.accept(value);
+            return null;
+        });
+    }
+
+    @Override
+    public TCompletableFuture<Void> acceptEitherAsync(TCompletionStage<? extends T> other,
+            TConsumer<? super T> action) {
+        return eitherStage(other, ASYNC_EXECUTOR, value -> {
+            action.accept(value);
+            return null;
+        });
+    }
+
+    @Override
+    public TCompletableFuture<Void> acceptEitherAsync(TCompletionStage<? extends T> other,
+            TConsumer<? super T> action, TExecutor executor) {
+        return eitherStage(other, executor, value -> {
+            action.accept(value);
+            return null;
+        });
+    }
+
+    @Override
+    public TCompletableFuture<Void> runAfterEither(TCompletionStage<?> other, TRunnable action) {
+        return this.<Object, Void>eitherStage(other, null, value -> {
+            action.run();
+            return null;
+        });
+    }
+
+    @Override
+    public TCompletableFuture<Void> runAfterEitherAsync(TCompletionStage<?> other, TRunnable action) {
+        return this.<Object, Void>eitherStage(other, ASYNC_EXECUTOR, value -> {
+            action.run();
+            return null;
+        });
+    }
+
+    @Override
+    public TCompletableFuture<Void> runAfterEitherAsync(TCompletionStage<?> other, TRunnable action,
+            TExecutor executor) {
+        return this.<Object, Void>eitherStage(other, executor, value -> {
+            action.run();
+            return null;
+        });
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> thenCompose(TFunction<? super T, ? extends TCompletionStage<U>> fn) {
+        return composeStage(null, fn);
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> thenComposeAsync(TFunction<? super T, ? extends TCompletionStage<U>> fn) {
+        return composeStage(ASYNC_EXECUTOR, fn);
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> thenComposeAsync(TFunction<? super T, ? extends TCompletionStage<U>> fn,
+            TExecutor executor) {
+        return composeStage(executor, fn);
+    }
+
+    @Override
+    public TCompletableFuture<T> exceptionally(TFunction<Throwable, ? extends T> fn) {
+        return uniStage(null, true, (value, exception) -> exception == null ? value : fn.apply(exception));
+    }
+
+    @Override
+    public TCompletableFuture<T> whenComplete(TBiConsumer<? super T, ? super Throwable> action) {
+        return uniStage(null, true, (value, exception) -> {
+            try {
+                action.accept(value, exception);
+            } catch (RuntimeException e) {
+                if (exception == null) {
+                    throw e;
+                }
+            }
+            if (exception != null) {
+                throw wrap(exception);
+            }
+            return value;
+        });
+    }
+
+    @Override
+    public TCompletableFuture<T> whenCompleteAsync(TBiConsumer<? super T, ? super Throwable> action) {
+        return uniStage(ASYNC_EXECUTOR, true, (value, exception) -> {
+            try {
+                action.accept(value, exception);
+            } catch (RuntimeException e) {
+                if (exception == null) {
+                    throw e;
+                }
+            }
+            if (exception != null) {
+                throw wrap(exception);
+            }
+            return value;
+        });
+    }
+
+    @Override
+    public TCompletableFuture<T> whenCompleteAsync(TBiConsumer<? super T, ? super Throwable> action,
+            TExecutor executor) {
+        return uniStage(executor, true, (value, exception) -> {
+            try {
+                action.accept(value, exception);
+            } catch (RuntimeException e) {
+                if (exception == null) {
+                    throw e;
+                }
+            }
+            if (exception != null) {
+                throw wrap(exception);
+            }
+            return value;
+        });
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> handle(TBiFunction<? super T, Throwable, ? extends U> fn) {
+        return uniStage(null, true, fn);
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> handleAsync(TBiFunction<? super T, Throwable, ? extends U> fn) {
+        return uniStage(ASYNC_EXECUTOR, true, fn);
+    }
+
+    @Override
+    public <U> TCompletableFuture<U> handleAsync(TBiFunction<? super T, Throwable, ? extends U> fn,
+            TExecutor executor) {
+        return uniStage(executor, true, fn);
+    }
+
+    @Override
+    public TCompletableFuture<T> toCompletableFuture() {
+        return this;
+    }
+
+    private <U> TCompletableFuture<U> uniStage(TExecutor executor, boolean handlesException,
+            TBiFunction<? super T, Throwable, ? extends U> fn) {
+        TCompletableFuture<U> target = new TCompletableFuture<>();
+        onComplete(() -> {
+            Throwable exception = exceptionOf(result);
+            if (exception != null && !handlesException) {
+                target.completeResult(encodeThrowable(exception));
+                return;
+            }
+            T value = exception == null ? decodeValue(result) : null;
+            target.runTask(executor, () -> fn.apply(value, exception));
+        });
+        return target;
+    }
+
+    private <U, V> TCompletableFuture<V> biStage(TCompletionStage<? extends U> other, TExecutor executor,
+            TBiFunction<? super T, ? super U, ? extends V> fn) {
+        TCompletableFuture<? extends U> second = other.toCompletableFuture();
+        TCompletableFuture<V> target = new TCompletableFuture<>();
+        onComplete(() -> second.onComplete(() -> {
+            Throwable exception = exceptionOf(result);
+            if (exception == null) {
+                exception = exceptionOf(second.result);
+            }
+            if (exception != null) {
+                target.completeResult(encodeThrowable(exception));
+                return;
+            }
+            T first = decodeValue(result);
+            U last = decodeValue(second.result);
+            target.runTask(executor, () -> fn.apply(first, last));
+        }));
+        return target;
+    }
+
+    private <S, U> TCompletableFuture<U> eitherStage(TCompletionStage<? extends S> other, TExecutor executor,
+            TFunction<? super S, U> fn) {
+        TCompletableFuture<?> second = other.toCompletableFuture();
+        TCompletableFuture<U> target = new TCompletableFuture<>();
+        boolean[] fired = new boolean[1];
+        onComplete(() -> target.fireEither(result, fired, executor, fn));
+        second.onComplete(() -> target.fireEither(second.result, fired, executor, fn));
+        return target;
+    }
+
+    private <S> void fireEither(Object source, boolean[] fired, TExecutor executor,
+            TFunction<? super S, ? extends T> fn) {
+        if (fired[0]) {
+            return;
+        }
+        fired[0] = true;
+        Throwable exception = exceptionOf(source);
+        if (exception != null) {
+            completeResult(encodeThrowable(exception));
+            return;
+        }
+        S value = decodeValue(source);
+        runTask(executor, () -> fn.apply(value));
+    }
+
+    private <U> TCompletableFuture<U> composeStage(TExecutor executor,
+            TFunction<? super T, ? extends TCompletionStage<U>> fn) {
+        TCompletableFuture<U> target = new TCompletableFuture<>();
+        TCompletableFuture<TCompletionStage<U>> stage = uniStage(executor, false,
+                (value, exception) -> fn.apply(value));
+        stage.onComplete(() -> {
+            Throwable exception = exceptionOf(stage.result);
+            if (exception != null) {
+                target.completeResult(encodeThrowable(exception));
+                return;
+            }
+            TCompletionStage<U> innerStage = decodeValue(stage.result);
+            if (innerStage == null) {
+                target.completeResult(encodeThrowable(new NullPointerException()));
+                return;
+            }
+            TCompletableFuture<U> inner = innerStage.toCompletableFuture();
+            inner.onComplete(() -> target.relay(inner.result));
+        });
+        return target;
+    }
+
+    private void runTask(TExecutor executor, TSupplier<? extends T> task) {
+        TRunnable runnable = () -> {
+            try {
+                complete(task.get());
+            } catch (Throwable e) {
+                completeResult(encodeThrowable(e));
+            }
+        };
+        if (executor == null) {
+            runnable.run();
+        } else {
+            executor.execute(runnable);
+        }
+    }
+
+    private void onComplete(TRunnable action) {
+        if (result != null) {
+            action.run();
+        } else {
+            if (dependents == null) {
+                dependents = new TArrayList<>();
+            }
+            dependents.add(action);
+        }
+    }
+
+    private void relay(Object source) {
+        Throwable exception = exceptionOf(source);
+        completeResult(exception != null ? encodeThrowable(exception) : source);
+    }
+
+    private boolean completeResult(Object value) {
+        if (result != null) {
+            return false;
+        }
+        result = value;
+        if (waiting) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+        TArrayList<TRunnable> actions = dependents;
+        if (actions != null) {
+            dependents = null;
+            for (int i = 0; i < actions.size(); ++i) {
+                actions.get(i).run();
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <U> U decodeValue(Object value) {
+        return value == NULL_VALUE ? null : (U) value;
+    }
+
+    private static Throwable exceptionOf(Object value) {
+        return value instanceof ExceptionalResult ? ((ExceptionalResult) value).exception : null;
+    }
+
+    private static Object encodeThrowable(Throwable exception) {
+        return new ExceptionalResult(wrap(exception));
+    }
+
+    private static TCompletionException wrap(Throwable exception) {
+        return exception instanceof TCompletionException
+                ? (TCompletionException) exception
+                : new TCompletionException(exception);
+    }
+
+    @Override
+    public String toString() {
+        String state;
+        if (result == null) {
+            state = "[Incomplete]";
+        } else if (result instanceof ExceptionalResult) {
+            state = "[Completed exceptionally]";
+        } else {
+            state = "[Completed normally]";
+        }
+        return super.toString() + state;
+    }
+
+    private static class ExceptionalResult {
+        final Throwable exception;
+
+        ExceptionalResult(Throwable exception) {
+            this.exception = exception;
+        }
+    }
+}
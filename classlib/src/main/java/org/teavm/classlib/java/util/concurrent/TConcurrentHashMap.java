@@ -0,0 +1,232 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent;
+
+import org.teavm.classlib.java.io.TSerializable;
+import org.teavm.classlib.java.lang.TIllegalStateException;
+import org.teavm.classlib.java.lang.TNullPointerException;
+import org.teavm.classlib.java.util.TAbstractMap;
+import org.teavm.classlib.java.util.TAbstractSet;
+import org.teavm.classlib.java.util.THashMap;
+import org.teavm.classlib.java.util.TIterator;
+import org.teavm.classlib.java.util.TMap;
+import org.teavm.classlib.java.util.TNoSuchElementException;
+import org.teavm.classlib.java.util.TSet;
+
+/**
+ * <p>Threads in TeaVM are green threads that are only switched at explicit suspension points, i.e. on calls
+ * to async methods. None of the operations of this map suspends, so each of them is atomic without any
+ * locking and this class is a thin wrapper over a plain hash map.</p>
+ *
+ * <p>Iterators are weakly consistent: they walk through a snapshot of entries taken when iteration starts
+ * and never throw {@link java.util.ConcurrentModificationException}.</p>
+ *
+ * @author Alexey Andreev
+ * @param <K>
+ * @param <V>
+ */
+public class TConcurrentHashMap<K, V> extends TAbstractMap<K, V> implements TConcurrentMap<K, V>, TSerializable {
+    private THashMap<K, V> map;
+    private TSet<TMap.Entry<K, V>> entrySet;
+
+    public TConcurrentHashMap() {
+        map = new THashMap<>();
+    }
+
+    public TConcurrentHashMap(int initialCapacity) {
+        map = new THashMap<>(initialCapacity);
+    }
+
+    public TConcurrentHashMap(int initialCapacity, float loadFactor) {
+        map = new THashMap<>(initialCapacity, loadFactor);
+    }
+
+    public TConcurrentHashMap(TMap<? extends K, ? extends V> m) {
+        this(Math.max(m.size() * 2, 16));
+        putAll(m);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (key == null) {
+            throw new TNullPointerException();
+        }
+        return map.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        if (value == null) {
+            throw new TNullPointerException();
+        }
+        return map.containsValue(value);
+    }
+
+    @Override
+    public V get(Object key) {
+        if (key == null) {
+            throw new TNullPointerException();
+        }
+        return map.get(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new TNullPointerException();
+        }
+        return map.put(key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (key == null) {
+            throw new TNullPointerException();
+        }
+        return map.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        if (key == null || value == null) {
+            throw new TNullPointerException();
+        }
+        V existing = map.get(key);
+        if (existing == null) {
+            map.put(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        if (key == null) {
+            throw new TNullPointerException();
+        }
+        V existing = map.get(key);
+        if (existing != null && existing.equals(value)) {
+            map.remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        if (key == null || oldValue == null || newValue == null) {
+            throw new TNullPointerException();
+        }
+        V existing = map.get(key);
+        if (existing != null && existing.equals(oldValue)) {
+            map.put(key, newValue);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        if (key == null || value == null) {
+            throw new TNullPointerException();
+        }
+        V existing = map.get(key);
+        if (existing != null) {
+            map.put(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public TSet<TMap.Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    class EntrySet extends TAbstractSet<TMap.Entry<K, V>> {
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public TIterator<TMap.Entry<K, V>> iterator() {
+            Object[] snapshot = map.entrySet().toArray();
+            return new TIterator<TMap.Entry<K, V>>() {
+                int index;
+                K lastKey;
+
+                @Override
+                public boolean hasNext() {
+                    return index < snapshot.length;
+                }
+
+                @Override
+                public TMap.Entry<K, V> next() {
+                    if (index >= snapshot.length) {
+                        throw new TNoSuchElementException();
+                    }
+                    TMap.Entry<K, V> entry = (TMap.Entry<K, V>) snapshot[index++];
+                    lastKey = entry.getKey();
+                    return new MapEntry(lastKey, entry.getValue());
+                }
+
+                @Override
+                public void remove() {
+                    if (lastKey == null) {
+                        throw new TIllegalStateException();
+                    }
+                    map.remove(lastKey);
+                    lastKey = null;
+                }
+            };
+        }
+    }
+
+    class MapEntry extends TAbstractMap.SimpleEntry<K, V> {
+        MapEntry(K key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(V value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+}
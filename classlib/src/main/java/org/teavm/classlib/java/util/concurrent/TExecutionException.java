@@ -0,0 +1,40 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent;
+
+/**
+ *
+ * @author Alexey Andreev
+ */
+public class TExecutionException extends Exception {
+    private static final long serialVersionUID = 7830266012832686185L;
+
+    public TExecutionException() {
+        super();
+    }
+
+    public TExecutionException(String message) {
+        super(message);
+    }
+
+    public TExecutionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public TExecutionException(Throwable cause) {
+        super(cause);
+    }
+}
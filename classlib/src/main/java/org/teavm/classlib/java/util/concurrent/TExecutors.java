@@ -0,0 +1,61 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent;
+
+import org.teavm.classlib.java.lang.TRunnable;
+
+/**
+ *
+ * @author Alexey Andreev
+ */
+public class TExecutors {
+    private TExecutors() {
+    }
+
+    public static TExecutorService newFixedThreadPool(int nThreads) {
+        return new TSimpleExecutorService(nThreads);
+    }
+
+    public static TExecutorService newSingleThreadExecutor() {
+        return new TSimpleExecutorService(1);
+    }
+
+    public static TExecutorService newCachedThreadPool() {
+        return new TSimpleExecutorService(Integer.MAX_VALUE);
+    }
+
+    public static TExecutorService newWorkStealingPool() {
+        return new TSimpleExecutorService(Integer.MAX_VALUE);
+    }
+
+    public static TExecutorService newWorkStealingPool(int parallelism) {
+        return new TSimpleExecutorService(parallelism);
+    }
+
+    public static <T> TCallable<T> callable(TRunnable task, T result) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        return () -> {
+            task.run();
+            return result;
+        };
+    }
+
+    public static TCallable<Object> callable(TRunnable task) {
+        return callable(task, null);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent;
+
+import org.teavm.classlib.java.lang.TRunnable;
+import org.teavm.classlib.java.lang.TThread;
+
+/**
+ *
+ * @author Alexey Andreev
+ * @param <V>
+ */
+public class TFutureTask<V> implements TRunnableFuture<V> {
+    private static final int NEW = 0;
+    private static final int COMPLETED = 1;
+    private static final int FAILED = 2;
+    private static final int CANCELLED = 3;
+    private TCallable<V> callable;
+    private int state;
+    private Object outcome;
+    private TThread runner;
+    private boolean waiting;
+
+    public TFutureTask(TCallable<V> callable) {
+        if (callable == null) {
+            throw new NullPointerException();
+        }
+        this.callable = callable;
+    }
+
+    public TFutureTask(TRunnable runnable, V result) {
+        this(TExecutors.callable(runnable, result));
+    }
+
+    @Override
+    public void run() {
+        if (state != NEW) {
+            return;
+        }
+        runner = TThread.currentThread();
+        try {
+            set(callable.call());
+        } catch (Throwable e) {
+            setException(e);
+        } finally {
+            runner = null;
+        }
+    }
+
+    protected void set(V v) {
+        finish(COMPLETED, v);
+    }
+
+    protected void setException(Throwable t) {
+        finish(FAILED, t);
+    }
+
+    protected void done() {
+    }
+
+    private boolean finish(int newState, Object value) {
+        if (state != NEW) {
+            return false;
+        }
+        state = newState;
+        outcome = value;
+        callable = null;
+        if (waiting) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+        done();
+        return true;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        TThread thread = runner;
+        if (!finish(CANCELLED, null)) {
+            return false;
+        }
+        if (mayInterruptIfRunning && thread != null) {
+            thread.interrupt();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return state == CANCELLED;
+    }
+
+    @Override
+    public boolean isDone() {
+        return state != NEW;
+    }
+
+    @Override
+    public V get() throws InterruptedException, TExecutionException {
+        if (state == NEW) {
+            synchronized (this) {
+                waiting = true;
+                while (state == NEW) {
+                    wait();
+                }
+            }
+        }
+        return report();
+    }
+
+    @Override
+    public V get(long timeout, TTimeUnit unit) throws InterruptedException, TExecutionException,
+            TTimeoutException {
+        if (state == NEW) {
+            long deadline = System.currentTimeMillis() + unit.toMillis(timeout);
+            synchronized (this) {
+                waiting = true;
+                while (state == NEW) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        throw new TTimeoutException();
+                    }
+                    wait(remaining);
+                }
+            }
+        }
+        return report();
+    }
+
+    @SuppressWarnings("unchecked")
+    private V report() throws TExecutionException {
+        switch (state) {
+            case COMPLETED:
+                return (V) outcome;
+            case CANCELLED:
+                throw new TCancellationException();
+            default:
+                throw new TExecutionException((Throwable) outcome);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent;
+
+import org.teavm.classlib.java.lang.TRunnable;
+import org.teavm.classlib.java.lang.TThread;
+import org.teavm.classlib.java.util.TArrayDeque;
+import org.teavm.classlib.java.util.TArrayList;
+import org.teavm.classlib.java.util.TList;
+
+/**
+ * <p>Executes tasks on at most given number of green threads. A worker thread is started when a task is submitted,
+ * every started worker is busy and there are less than maximum number of workers; a worker finishes as soon
+ * as the queue is empty, so an idle executor costs nothing.</p>
+ *
+ * <p>A task passed to {@link #execute(TRunnable)} that throws terminates its worker, so the exception reaches
+ * the thread's {@link TThread.UncaughtExceptionHandler}; a new worker is started for the remaining tasks.
+ * Tasks passed to <code>submit</code> report exceptions through the returned future instead.</p>
+ *
+ * @author Alexey Andreev
+ */
+class TSimpleExecutorService implements TExecutorService {
+    private int maxThreads;
+    private int activeThreads;
+    private int busyThreads;
+    private TArrayDeque<TRunnable> queue = new TArrayDeque<>();
+    private boolean shutdown;
+    private boolean waiting;
+
+    TSimpleExecutorService(int maxThreads) {
+        if (maxThreads <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.maxThreads = maxThreads;
+    }
+
+    @Override
+    public void execute(TRunnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        if (shutdown) {
+            throw new TRejectedExecutionException();
+        }
+        queue.add(command);
+        startWorkerIfNeeded();
+    }
+
+    private void startWorkerIfNeeded() {
+        if (!queue.isEmpty() && busyThreads == activeThreads && activeThreads < maxThreads) {
+            activeThreads++;
+            new TThread(this::work).start();
+        }
+    }
+
+    private void work() {
+        try {
+            while (true) {
+                TRunnable task = queue.poll();
+                if (task == null) {
+                    break;
+                }
+                busyThreads++;
+                startWorkerIfNeeded();
+                try {
+                    task.run();
+                } finally {
+                    busyThreads--;
+                }
+            }
+        } finally {
+            activeThreads--;
+            startWorkerIfNeeded();
+            if (waiting && isTerminated()) {
+                synchronized (this) {
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    @Override
+    public TList<TRunnable> shutdownNow() {
+        shutdown = true;
+        TList<TRunnable> result = new TArrayList<>(queue);
+        queue.clear();
+        return result;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && activeThreads == 0 && queue.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TTimeUnit unit) throws InterruptedException {
+        if (isTerminated()) {
+            return true;
+        }
+        long deadline = System.currentTimeMillis() + unit.toMillis(timeout);
+        synchronized (this) {
+            waiting = true;
+            while (!isTerminated()) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public <T> TFuture<T> submit(TCallable<T> task) {
+        TFutureTask<T> future = new TFutureTask<>(task);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public <T> TFuture<T> submit(TRunnable task, T result) {
+        TFutureTask<T> future = new TFutureTask<>(task, result);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public TFuture<?> submit(TRunnable task) {
+        return submit(task, null);
+    }
+}
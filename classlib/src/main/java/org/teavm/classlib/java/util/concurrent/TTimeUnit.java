@@ -0,0 +1,88 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent;
+
+/**
+ *
+ * @author Alexey Andreev
+ */
+public enum TTimeUnit {
+    NANOSECONDS(1L),
+    MICROSECONDS(1000L),
+    MILLISECONDS(1000000L),
+    SECONDS(1000000000L),
+    MINUTES(60000000000L),
+    HOURS(3600000000000L),
+    DAYS(86400000000000L);
+
+    private final long nanos;
+
+    TTimeUnit(long nanos) {
+        this.nanos = nanos;
+    }
+
+    public long convert(long sourceDuration, TTimeUnit sourceUnit) {
+        if (sourceUnit.nanos > nanos) {
+            return scale(sourceDuration, sourceUnit.nanos / nanos);
+        } else {
+            return sourceDuration / (nanos / sourceUnit.nanos);
+        }
+    }
+
+    public long toNanos(long duration) {
+        return NANOSECONDS.convert(duration, this);
+    }
+
+    public long toMicros(long duration) {
+        return MICROSECONDS.convert(duration, this);
+    }
+
+    public long toMillis(long duration) {
+        return MILLISECONDS.convert(duration, this);
+    }
+
+    public long toSeconds(long duration) {
+        return SECONDS.convert(duration, this);
+    }
+
+    public long toMinutes(long duration) {
+        return MINUTES.convert(duration, this);
+    }
+
+    public long toHours(long duration) {
+        return HOURS.convert(duration, this);
+    }
+
+    public long toDays(long duration) {
+        return DAYS.convert(duration, this);
+    }
+
+    public void sleep(long timeout) throws InterruptedException {
+        if (timeout > 0) {
+            Thread.sleep(toMillis(timeout));
+        }
+    }
+
+    private static long scale(long duration, long factor) {
+        long limit = Long.MAX_VALUE / factor;
+        if (duration > limit) {
+            return Long.MAX_VALUE;
+        } else if (duration < -limit) {
+            return Long.MIN_VALUE;
+        }
+        return duration * factor;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent.atomic;
+
+import org.teavm.classlib.java.io.TSerializable;
+import org.teavm.classlib.java.lang.TNumber;
+import org.teavm.classlib.java.util.function.TLongBinaryOperator;
+import org.teavm.classlib.java.util.function.TLongUnaryOperator;
+
+/**
+ * <p>Green threads are never switched inside these methods, so plain field access is atomic.</p>
+ *
+ * @author Alexey Andreev
+ */
+public class TAtomicLong extends TNumber implements TSerializable {
+    private long value;
+
+    public TAtomicLong() {
+    }
+
+    public TAtomicLong(long value) {
+        this.value = value;
+    }
+
+    public final long get() {
+        return value;
+    }
+
+    public final void set(long newValue) {
+        value = newValue;
+    }
+
+    public final void lazySet(long newValue) {
+        value = newValue;
+    }
+
+    public final long getAndSet(long newValue) {
+        long result = value;
+        value = newValue;
+        return result;
+    }
+
+    public final boolean compareAndSet(long expect, long update) {
+        if (value != expect) {
+            return false;
+        }
+        value = update;
+        return true;
+    }
+
+    public final boolean weakCompareAndSet(long expect, long update) {
+        return compareAndSet(expect, update);
+    }
+
+    public final long getAndIncrement() {
+        return value++;
+    }
+
+    public final long getAndDecrement() {
+        return value--;
+    }
+
+    public final long getAndAdd(long delta) {
+        long result = value;
+        value += delta;
+        return result;
+    }
+
+    public final long incrementAndGet() {
+        return ++value;
+    }
+
+    public final long decrementAndGet() {
+        return --value;
+    }
+
+    public final long addAndGet(long delta) {
+        value += delta;
+        return value;
+    }
+
+    public final long getAndUpdate(TLongUnaryOperator updateFunction) {
+        long result = value;
+        value = updateFunction.applyAsLong(result);
+        return result;
+    }
+
+    public final long updateAndGet(TLongUnaryOperator updateFunction) {
+        value = updateFunction.applyAsLong(value);
+        return value;
+    }
+
+    public final long getAndAccumulate(long x, TLongBinaryOperator accumulatorFunction) {
+        long result = value;
+        value = accumulatorFunction.applyAsLong(result, x);
+        return result;
+    }
+
+    public final long accumulateAndGet(long x, TLongBinaryOperator accumulatorFunction) {
+        value = accumulatorFunction.applyAsLong(value, x);
+        return value;
+    }
+
+    @Override
+    public int intValue() {
+        return (int) value;
+    }
+
+    @Override
+    public long longValue() {
+        return value;
+    }
+
+    @Override
+    public float floatValue() {
+        return value;
+    }
+
+    @Override
+    public double doubleValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(value);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent.atomic;
+
+import org.teavm.classlib.java.io.TSerializable;
+import org.teavm.classlib.java.util.function.TBinaryOperator;
+import org.teavm.classlib.java.util.function.TUnaryOperator;
+
+/**
+ *
+ * @author Alexey Andreev
+ * @param <V>
+ */
+public class TAtomicReference<V> implements TSerializable {
+    private V value;
+
+    public TAtomicReference() {
+    }
+
+    public TAtomicReference(V value) {
+        this.value = value;
+    }
+
+    public final V get() {
+        return value;
+    }
+
+    public final void set(V newValue) {
+        value = newValue;
+    }
+
+    public final void lazySet(V newValue) {
+        value = newValue;
+    }
+
+    public final V getAndSet(V newValue) {
+        V result = value;
+        value = newValue;
+        return result;
+    }
+
+    public final boolean compareAndSet(V expect, V update) {
+        if (value != expect) {
+            return false;
+        }
+        value = update;
+        return true;
+    }
+
+    public final boolean weakCompareAndSet(V expect, V update) {
+        return compareAndSet(expect, update);
+    }
+
+    public final V getAndUpdate(TUnaryOperator<V> updateFunction) {
+        V result = value;
+        value = updateFunction.apply(result);
+        return result;
+    }
+
+    public final V updateAndGet(TUnaryOperator<V> updateFunction) {
+        value = updateFunction.apply(value);
+        return value;
+    }
+
+    public final V getAndAccumulate(V x, TBinaryOperator<V> accumulatorFunction) {
+        V result = value;
+        value = accumulatorFunction.apply(result, x);
+        return result;
+    }
+
+    public final V accumulateAndGet(V x, TBinaryOperator<V> accumulatorFunction) {
+        value = accumulatorFunction.apply(value, x);
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(value);
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.regex;
+
+import org.teavm.model.MethodReference;
+import org.teavm.platform.metadata.BooleanResource;
+import org.teavm.platform.metadata.MetadataGenerator;
+import org.teavm.platform.metadata.MetadataGeneratorContext;
+import org.teavm.platform.metadata.Resource;
+
+/**
+ *
+ * @author Alexey Andreev
+ */
+public class NativeRegexMetadataGenerator implements MetadataGenerator {
+    @Override
+    public Resource generateMetadata(MetadataGeneratorContext context, MethodReference method) {
+        BooleanResource result = context.createResource(BooleanResource.class);
+        result.setValue(Boolean.parseBoolean(context.getProperties().getProperty("java.util.regex.native",
+                "false")));
+        return result;
+    }
+}
@@ -87,6 +87,10 @@ class TCharClass extends TAbstractCharClass {
                 } else {
                     bits.clear(TPattern.getSupplement((char)ch));
                 }
+                if (uci) {
+                    // characters like KELVIN SIGN fold to ASCII letters
+                    hasUCI = true;
+                }
             } else if (uci && ch > 128) {
                 hasUCI = true;
                 ch = Character.toLowerCase(Character.toUpperCase(ch));
@@ -18,6 +18,7 @@
 package org.teavm.classlib.java.util.regex;
 
 import java.util.ArrayList;
+import org.teavm.interop.DelegateTo;
 
 /**
  * Provides a means of matching regular expressions against a given input,
@@ -154,10 +155,14 @@ public final class TMatcher implements TMatchResult {
 
                                 @Override
                                 public String toString() {
-                                    return group(grN);
+                                    String group = group(grN);
+                                    return group != null ? group : "";
                                 }
                             });
                             String group = group(gr);
+                            if (group == null) {
+                                group = "";
+                            }
                             replacementPos += group.length();
                             res.append(group);
 
@@ -266,7 +271,16 @@ public final class TMatcher implements TMatchResult {
      *            the replacement text.
      * @return the modified input string.
      */
+    @DelegateTo("replaceFirstImpl")
     public String replaceFirst(String replacement) {
+        TNativeRegex nativeRegex = pat.getNativeRegex(string);
+        if (nativeRegex != null) {
+            return nativeRegex.replace(string.toString(), replacement, false);
+        }
+        return replaceFirstImpl(replacement);
+    }
+
+    private String replaceFirstImpl(String replacement) {
         reset();
         if (find()) {
             StringBuffer sb = new StringBuffer();
@@ -286,7 +300,16 @@ public final class TMatcher implements TMatchResult {
      *            the replacement text.
      * @return the modified input string.
      */
+    @DelegateTo("replaceAllImpl")
     public String replaceAll(String replacement) {
+        TNativeRegex nativeRegex = pat.getNativeRegex(string);
+        if (nativeRegex != null) {
+            return nativeRegex.replace(string.toString(), replacement, true);
+        }
+        return replaceAllImpl(replacement);
+    }
+
+    private String replaceAllImpl(String replacement) {
         StringBuffer sb = new StringBuffer();
         reset();
         while (find()) {
@@ -432,7 +455,20 @@ public final class TMatcher implements TMatchResult {
      * @return true if (and only if) the {@code Pattern} matches the entire
      *         region.
      */
+    @DelegateTo("matchesImpl")
     public boolean matches() {
+        TNativeRegex nativeRegex = pat.getNativeRegex(string);
+        if (nativeRegex != null && leftBound == 0 && rightBound == string.length()
+                && !nativeRegex.matches(string.toString())) {
+            matchResult.reset();
+            matchResult.setMode(TMatcher.MODE_MATCH);
+            matchResult.setStartIndex(leftBound);
+            return false;
+        }
+        return matchesImpl();
+    }
+
+    private boolean matchesImpl() {
         return lookingAt(leftBound, TMatcher.MODE_MATCH);
     }
 
@@ -0,0 +1,426 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.regex;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.teavm.jso.JSBody;
+import org.teavm.jso.JSObject;
+import org.teavm.platform.metadata.BooleanResource;
+import org.teavm.platform.metadata.MetadataProvider;
+
+/**
+ * <p>Runs patterns on the native {@code RegExp} engine of the JavaScript runtime. Only a conservative subset
+ * of Java syntax is translated, i.e. constructs that have identical semantics in both engines. For any other
+ * pattern {@link #create(String, int)} returns {@code null} and the caller should fall back to the regular
+ * engine.</p>
+ *
+ * <p>Java engine works on UTF-16 code units and may match between two halves of a surrogate pair, while
+ * RegExp with <code>u</code> flag can't, so inputs containing surrogates are always matched by Java engine.</p>
+ *
+ * <p>This mode is only used by JavaScript backend and only if {@code java.util.regex.native} property
+ * is set to {@code true}.</p>
+ *
+ * @author Alexey Andreev
+ */
+final class TNativeRegex {
+    private static final String LINE_TERMINATORS = "\\n\\r\\u0085\\u2028\\u2029";
+    private static final String WHITESPACE = "\\t\\n\\x0B\\f\\r ";
+    private static final String SYNTAX_CHARACTERS = "^$\\.*+?()[]{}|/";
+    private static Boolean enabled;
+    private JSObject globalRegex;
+    private JSObject fullRegex;
+
+    private TNativeRegex(JSObject globalRegex, JSObject fullRegex) {
+        this.globalRegex = globalRegex;
+        this.fullRegex = fullRegex;
+    }
+
+    static boolean isEnabled() {
+        if (enabled == null) {
+            enabled = obtainEnabled().getValue();
+        }
+        return enabled;
+    }
+
+    @MetadataProvider(NativeRegexMetadataGenerator.class)
+    private static native BooleanResource obtainEnabled();
+
+    static TNativeRegex create(String pattern, int flags) {
+        String jsFlags = "gu";
+        if ((flags & TPattern.CASE_INSENSITIVE) != 0) {
+            if ((flags & TPattern.UNICODE_CASE) == 0) {
+                return null;
+            }
+            jsFlags += "i";
+        }
+        if ((flags & ~(TPattern.CASE_INSENSITIVE | TPattern.UNICODE_CASE | TPattern.DOTALL)) != 0) {
+            return null;
+        }
+        String source = translate(pattern, (flags & TPattern.DOTALL) != 0);
+        if (source == null) {
+            return null;
+        }
+        JSObject globalRegex = createRegex(source, jsFlags);
+        JSObject fullRegex = createRegex("^(?:" + source + ")$", jsFlags.substring(1));
+        if (globalRegex == null || fullRegex == null) {
+            return null;
+        }
+        return new TNativeRegex(globalRegex, fullRegex);
+    }
+
+    static boolean accepts(CharSequence input) {
+        for (int i = 0; i < input.length(); ++i) {
+            char c = input.charAt(i);
+            if (Character.isHighSurrogate(c) || Character.isLowSurrogate(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String translate(String pattern, boolean dotAll) {
+        StringBuilder sb = new StringBuilder();
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i++);
+            switch (c) {
+                case '\\': {
+                    if (i == pattern.length()) {
+                        return null;
+                    }
+                    char next = pattern.charAt(i++);
+                    if (next >= '1' && next <= '9') {
+                        if (i < pattern.length() && Character.isDigit(pattern.charAt(i))) {
+                            return null;
+                        }
+                        sb.append('\\').append(next);
+                    } else if (next == 's') {
+                        sb.append("[" + WHITESPACE + "]");
+                    } else if (next == 'S') {
+                        sb.append("[^" + WHITESPACE + "]");
+                    } else if (!translateEscape(pattern, i - 1, sb, false)) {
+                        return null;
+                    } else {
+                        i += escapeLength(next);
+                    }
+                    break;
+                }
+                case '[':
+                    i = translateClass(pattern, i, sb);
+                    if (i < 0) {
+                        return null;
+                    }
+                    break;
+                case '(':
+                    if (i < pattern.length() && pattern.charAt(i) == '?') {
+                        if (i + 1 >= pattern.length()) {
+                            return null;
+                        }
+                        char kind = pattern.charAt(i + 1);
+                        if (kind != ':' && kind != '=' && kind != '!') {
+                            return null;
+                        }
+                        sb.append("(?").append(kind);
+                        i += 2;
+                    } else {
+                        sb.append('(');
+                    }
+                    break;
+                case '*':
+                case '+':
+                case '?':
+                    sb.append(c);
+                    if (i < pattern.length()) {
+                        char modifier = pattern.charAt(i);
+                        if (modifier == '+') {
+                            return null;
+                        } else if (modifier == '?') {
+                            sb.append('?');
+                            i++;
+                        }
+                    }
+                    break;
+                case '{': {
+                    int end = pattern.indexOf('}', i);
+                    if (end < 0 || !isQuantifierBody(pattern.substring(i, end))) {
+                        return null;
+                    }
+                    sb.append(pattern, i - 1, end + 1);
+                    i = end + 1;
+                    if (i < pattern.length() && pattern.charAt(i) == '+') {
+                        return null;
+                    }
+                    break;
+                }
+                case '.':
+                    sb.append(dotAll ? "[\\s\\S]" : "[^" + LINE_TERMINATORS + "]");
+                    break;
+                case '$':
+                    sb.append("(?=(?:\\r\\n|[" + LINE_TERMINATORS + "])?$)");
+                    break;
+                case ']':
+                case '}':
+                    sb.append('\\').append(c);
+                    break;
+                default:
+                    sb.append(c);
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean translateEscape(String pattern, int index, StringBuilder sb, boolean inClass) {
+        char c = pattern.charAt(index);
+        switch (c) {
+            case 'd':
+            case 'D':
+            case 'w':
+            case 'W':
+            case 't':
+            case 'n':
+            case 'r':
+            case 'f':
+                sb.append('\\').append(c);
+                return true;
+            case 'x':
+                if (!isHex(pattern, index + 1, 2)) {
+                    return false;
+                }
+                sb.append('\\').append(pattern, index, index + 3);
+                return true;
+            case 'u':
+                if (!isHex(pattern, index + 1, 4)) {
+                    return false;
+                }
+                sb.append('\\').append(pattern, index, index + 5);
+                return true;
+            default:
+                if (Character.isLetterOrDigit(c)) {
+                    return false;
+                }
+                if (SYNTAX_CHARACTERS.indexOf(c) >= 0 || inClass && c == '-') {
+                    sb.append('\\');
+                }
+                sb.append(c);
+                return true;
+        }
+    }
+
+    private static int escapeLength(char c) {
+        switch (c) {
+            case 'x':
+                return 2;
+            case 'u':
+                return 4;
+            default:
+                return 0;
+        }
+    }
+
+    private static int translateClass(String pattern, int index, StringBuilder sb) {
+        sb.append('[');
+        if (index < pattern.length() && pattern.charAt(index) == '^') {
+            sb.append('^');
+            index++;
+        }
+        if (index < pattern.length() && pattern.charAt(index) == ']') {
+            return -1;
+        }
+        while (index < pattern.length()) {
+            char c = pattern.charAt(index++);
+            switch (c) {
+                case ']':
+                    sb.append(']');
+                    return index;
+                case '[':
+                    return -1;
+                case '&':
+                    if (index < pattern.length() && pattern.charAt(index) == '&') {
+                        return -1;
+                    }
+                    sb.append(c);
+                    break;
+                case '\\': {
+                    if (index == pattern.length()) {
+                        return -1;
+                    }
+                    char next = pattern.charAt(index);
+                    if (next == 's') {
+                        sb.append(WHITESPACE);
+                        index++;
+                    } else if (Character.isDigit(next) || next == 'S') {
+                        return -1;
+                    } else if (!translateEscape(pattern, index, sb, true)) {
+                        return -1;
+                    } else {
+                        index += 1 + escapeLength(next);
+                    }
+                    break;
+                }
+                default:
+                    sb.append(c);
+                    break;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isQuantifierBody(String body) {
+        int comma = body.indexOf(',');
+        if (comma < 0) {
+            return isNumber(body);
+        }
+        return isNumber(body.substring(0, comma))
+                && (comma == body.length() - 1 || isNumber(body.substring(comma + 1)));
+    }
+
+    private static boolean isNumber(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); ++i) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isHex(String text, int index, int count) {
+        if (index + count > text.length()) {
+            return false;
+        }
+        for (int i = index; i < index + count; ++i) {
+            char c = text.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean matches(String input) {
+        return test(fullRegex, input);
+    }
+
+    String[] split(String input, int limit) {
+        if (input.isEmpty()) {
+            return new String[] { "" };
+        }
+        List<String> result = new ArrayList<>();
+        int index = 0;
+        int currentPosition = 0;
+        int searchPosition = 0;
+        while (index + 1 < limit || limit <= 0) {
+            JSObject match = exec(globalRegex, input, searchPosition);
+            if (match == null) {
+                break;
+            }
+            int start = matchStart(match);
+            int end = matchEnd(match);
+            result.add(input.substring(currentPosition, start));
+            currentPosition = end;
+            searchPosition = start == end ? end + 1 : end;
+            index++;
+            if (searchPosition > input.length()) {
+                break;
+            }
+        }
+        result.add(input.substring(currentPosition));
+        index++;
+        if (limit == 0) {
+            while (--index >= 0 && result.get(index).isEmpty()) {
+                result.remove(index);
+            }
+        }
+        return result.toArray(new String[index >= 0 ? index : 0]);
+    }
+
+    String replace(String input, String replacement, boolean all) {
+        StringBuilder sb = new StringBuilder();
+        int appendPosition = 0;
+        int searchPosition = 0;
+        while (searchPosition <= input.length()) {
+            JSObject match = exec(globalRegex, input, searchPosition);
+            if (match == null) {
+                break;
+            }
+            int start = matchStart(match);
+            int end = matchEnd(match);
+            sb.append(input, appendPosition, start);
+            appendReplacement(sb, match, replacement);
+            appendPosition = end;
+            if (!all) {
+                break;
+            }
+            searchPosition = start == end ? end + 1 : end;
+        }
+        sb.append(input, appendPosition, input.length());
+        return sb.toString();
+    }
+
+    private static void appendReplacement(StringBuilder sb, JSObject match, String replacement) {
+        int i = 0;
+        while (i < replacement.length()) {
+            char c = replacement.charAt(i++);
+            if (c == '\\') {
+                if (i == replacement.length()) {
+                    throw new IndexOutOfBoundsException();
+                }
+                sb.append(replacement.charAt(i++));
+            } else if (c == '$') {
+                if (i == replacement.length()) {
+                    throw new IllegalArgumentException("");
+                }
+                int group = replacement.charAt(i++) - '0';
+                if (group < 0 || group > 9 || group > groupCount(match)) {
+                    throw new IllegalArgumentException("");
+                }
+                String value = group(match, group);
+                if (value != null) {
+                    sb.append(value);
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+    }
+
+    @JSBody(params = { "source", "flags" }, script = ""
+            + "try { return new RegExp(source, flags); } catch (e) { return null; }")
+    private static native JSObject createRegex(String source, String flags);
+
+    @JSBody(params = { "regex", "input" }, script = "return regex.test(input);")
+    private static native boolean test(JSObject regex, String input);
+
+    @JSBody(params = { "regex", "input", "from" }, script = "regex.lastIndex = from; return regex.exec(input);")
+    private static native JSObject exec(JSObject regex, String input, int from);
+
+    @JSBody(params = "match", script = "return match.index;")
+    private static native int matchStart(JSObject match);
+
+    @JSBody(params = "match", script = "return match.index + match[0].length;")
+    private static native int matchEnd(JSObject match);
+
+    @JSBody(params = "match", script = "return match.length - 1;")
+    private static native int groupCount(JSObject match);
+
+    @JSBody(params = { "match", "index" }, script = "var g = match[index]; return g === undefined ? null : g;")
+    private static native String group(JSObject match, int index);
+}
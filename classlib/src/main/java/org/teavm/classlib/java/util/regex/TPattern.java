@@ -22,6 +22,7 @@ package org.teavm.classlib.java.util.regex;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import org.teavm.interop.DelegateTo;
 
 /**
  * Represents a pattern used for matching, searching, or replacing strings.
@@ -131,6 +132,10 @@ public final class TPattern implements Serializable {
      */
     private int flags = 0;
 
+    private TNativeRegex nativeRegex;
+
+    private boolean nativeRegexResolved;
+
     /*
      * All backreferences that may be used in pattern.
      */
@@ -191,7 +196,16 @@ public final class TPattern implements Serializable {
      *
      * @return the resulting array.
      */
+    @DelegateTo("splitImpl")
     public String[] split(CharSequence inputSeq, int limit) {
+        TNativeRegex nativeRegex = getNativeRegex(inputSeq);
+        if (nativeRegex != null) {
+            return nativeRegex.split(inputSeq.toString(), limit);
+        }
+        return splitImpl(inputSeq, limit);
+    }
+
+    private String[] splitImpl(CharSequence inputSeq, int limit) {
         ArrayList<String> res = new ArrayList<>();
         TMatcher mat = matcher(inputSeq);
         int index = 0;
@@ -235,6 +249,16 @@ public final class TPattern implements Serializable {
         return split(input, 0);
     }
 
+    TNativeRegex getNativeRegex(CharSequence input) {
+        if (!nativeRegexResolved) {
+            nativeRegexResolved = true;
+            if (TNativeRegex.isEnabled()) {
+                nativeRegex = TNativeRegex.create(pattern(), flags());
+            }
+        }
+        return nativeRegex != null && TNativeRegex.accepts(input) ? nativeRegex : null;
+    }
+
     /**
      * Returns the regular expression that was compiled into this
      * {@code Pattern}.
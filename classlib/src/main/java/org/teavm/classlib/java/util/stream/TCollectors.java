@@ -0,0 +1,263 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.stream;
+
+import org.teavm.classlib.java.util.TArrayList;
+import org.teavm.classlib.java.util.TCollection;
+import org.teavm.classlib.java.util.TIterator;
+import org.teavm.classlib.java.util.TComparator;
+import org.teavm.classlib.java.util.THashMap;
+import org.teavm.classlib.java.util.THashSet;
+import org.teavm.classlib.java.util.TList;
+import org.teavm.classlib.java.util.TMap;
+import org.teavm.classlib.java.util.TOptional;
+import org.teavm.classlib.java.util.TSet;
+import org.teavm.classlib.java.util.function.TBiConsumer;
+import org.teavm.classlib.java.util.function.TBinaryOperator;
+import org.teavm.classlib.java.util.function.TFunction;
+import org.teavm.classlib.java.util.function.TPredicate;
+import org.teavm.classlib.java.util.function.TSupplier;
+import org.teavm.classlib.java.util.function.TToDoubleFunction;
+import org.teavm.classlib.java.util.function.TToIntFunction;
+import org.teavm.classlib.java.util.function.TToLongFunction;
+
+public final class TCollectors {
+    private TCollectors() {
+    }
+
+    public static <T, C extends TCollection<T>> TCollector<T, ?, C> toCollection(TSupplier<C> collectionFactory) {
+        return TCollector.of(collectionFactory, TCollection::add, (a, b) -> {
+            a.addAll(b);
+            return a;
+        });
+    }
+
+    public static <T> TCollector<T, ?, TList<T>> toList() {
+        return toCollection(TArrayList::new);
+    }
+
+    public static <T> TCollector<T, ?, TSet<T>> toSet() {
+        return toCollection(THashSet::new);
+    }
+
+    public static TCollector<CharSequence, ?, String> joining() {
+        return joining("", "", "");
+    }
+
+    public static TCollector<CharSequence, ?, String> joining(CharSequence delimiter) {
+        return joining(delimiter, "", "");
+    }
+
+    public static TCollector<CharSequence, ?, String> joining(CharSequence delimiter, CharSequence prefix,
+            CharSequence suffix) {
+        return TCollector.of(JoiningState::new, (state, item) -> state.add(item, delimiter), (a, b) -> a,
+                state -> state.result(prefix, suffix));
+    }
+
+    private static class JoiningState {
+        StringBuilder sb = new StringBuilder();
+        boolean first = true;
+
+        void add(CharSequence item, CharSequence delimiter) {
+            if (!first) {
+                sb.append(delimiter);
+            }
+            first = false;
+            sb.append(item);
+        }
+
+        String result(CharSequence prefix, CharSequence suffix) {
+            return prefix.toString() + sb + suffix;
+        }
+    }
+
+    public static <T, U, A, R> TCollector<T, ?, R> mapping(TFunction<? super T, ? extends U> mapper,
+            TCollector<? super U, A, R> downstream) {
+        TBiConsumer<A, ? super U> downstreamAccumulator = downstream.accumulator();
+        return TCollector.of(downstream.supplier(), (a, t) -> downstreamAccumulator.accept(a, mapper.apply(t)),
+                downstream.combiner(), downstream.finisher());
+    }
+
+    public static <T, A, R, RR> TCollector<T, A, RR> collectingAndThen(TCollector<T, A, R> downstream,
+            TFunction<R, RR> finisher) {
+        TFunction<A, R> downstreamFinisher = downstream.finisher();
+        return TCollector.of(downstream.supplier(), downstream.accumulator(), downstream.combiner(),
+                a -> finisher.apply(downstreamFinisher.apply(a)));
+    }
+
+    public static <T> TCollector<T, ?, Long> counting() {
+        return TCollector.of(() -> new long[1], (a, t) -> a[0]++, (a, b) -> {
+            a[0] += b[0];
+            return a;
+        }, a -> a[0]);
+    }
+
+    public static <T> TCollector<T, ?, Integer> summingInt(TToIntFunction<? super T> mapper) {
+        return TCollector.of(() -> new int[1], (a, t) -> a[0] += mapper.applyAsInt(t), (a, b) -> {
+            a[0] += b[0];
+            return a;
+        }, a -> a[0]);
+    }
+
+    public static <T> TCollector<T, ?, Long> summingLong(TToLongFunction<? super T> mapper) {
+        return TCollector.of(() -> new long[1], (a, t) -> a[0] += mapper.applyAsLong(t), (a, b) -> {
+            a[0] += b[0];
+            return a;
+        }, a -> a[0]);
+    }
+
+    public static <T> TCollector<T, ?, Double> summingDouble(TToDoubleFunction<? super T> mapper) {
+        return TCollector.of(() -> new double[1], (a, t) -> a[0] += mapper.applyAsDouble(t), (a, b) -> {
+            a[0] += b[0];
+            return a;
+        }, a -> a[0]);
+    }
+
+    public static <T> TCollector<T, ?, Double> averagingInt(TToIntFunction<? super T> mapper) {
+        return averagingDouble(t -> mapper.applyAsInt(t));
+    }
+
+    public static <T> TCollector<T, ?, Double> averagingLong(TToLongFunction<? super T> mapper) {
+        return averagingDouble(t -> mapper.applyAsLong(t));
+    }
+
+    public static <T> TCollector<T, ?, Double> averagingDouble(TToDoubleFunction<? super T> mapper) {
+        return TCollector.of(() -> new double[2], (a, t) -> {
+            a[0] += mapper.applyAsDouble(t);
+            a[1]++;
+        }, (a, b) -> {
+            a[0] += b[0];
+            a[1] += b[1];
+            return a;
+        }, a -> a[1] == 0 ? 0 : a[0] / a[1]);
+    }
+
+    public static <T> TCollector<T, ?, TOptional<T>> minBy(TComparator<? super T> comparator) {
+        return reducing((a, b) -> comparator.compare(a, b) <= 0 ? a : b);
+    }
+
+    public static <T> TCollector<T, ?, TOptional<T>> maxBy(TComparator<? super T> comparator) {
+        return reducing((a, b) -> comparator.compare(a, b) >= 0 ? a : b);
+    }
+
+    public static <T> TCollector<T, ?, T> reducing(T identity, TBinaryOperator<T> op) {
+        return TCollector.of(() -> new ReducingState<>(identity, true), (a, t) -> a.add(t, op), (a, b) -> a,
+                a -> a.value);
+    }
+
+    public static <T> TCollector<T, ?, TOptional<T>> reducing(TBinaryOperator<T> op) {
+        return TCollector.of(() -> new ReducingState<T>(null, false), (a, t) -> a.add(t, op), (a, b) -> a,
+                a -> a.present ? TOptional.of(a.value) : TOptional.empty());
+    }
+
+    private static class ReducingState<T> {
+        T value;
+        boolean present;
+
+        ReducingState(T value, boolean present) {
+            this.value = value;
+            this.present = present;
+        }
+
+        void add(T t, TBinaryOperator<T> op) {
+            value = present ? op.apply(value, t) : t;
+            present = true;
+        }
+    }
+
+    public static <T, K> TCollector<T, ?, TMap<K, TList<T>>> groupingBy(TFunction<? super T, ? extends K> classifier) {
+        return groupingBy(classifier, toList());
+    }
+
+    public static <T, K, A, D> TCollector<T, ?, TMap<K, D>> groupingBy(TFunction<? super T, ? extends K> classifier,
+            TCollector<? super T, A, D> downstream) {
+        return groupingBy(classifier, THashMap::new, downstream);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T, K, D, A, M extends TMap<K, D>> TCollector<T, ?, M> groupingBy(
+            TFunction<? super T, ? extends K> classifier, TSupplier<M> mapFactory,
+            TCollector<? super T, A, D> downstream) {
+        TSupplier<A> downstreamSupplier = downstream.supplier();
+        TBiConsumer<A, ? super T> downstreamAccumulator = downstream.accumulator();
+        TFunction<A, D> downstreamFinisher = downstream.finisher();
+        TBiConsumer<TMap<K, A>, T> accumulator = (map, t) -> {
+            K key = classifier.apply(t);
+            A container = map.get(key);
+            if (container == null) {
+                container = downstreamSupplier.get();
+                map.put(key, container);
+            }
+            downstreamAccumulator.accept(container, t);
+        };
+        TFunction<TMap<K, A>, M> finisher = map -> {
+            TIterator<TMap.Entry<K, A>> iter = map.entrySet().iterator();
+            while (iter.hasNext()) {
+                TMap.Entry<K, Object> entry = (TMap.Entry<K, Object>) (TMap.Entry<K, ?>) iter.next();
+                entry.setValue(downstreamFinisher.apply((A) entry.getValue()));
+            }
+            return (M) map;
+        };
+        return TCollector.of((TSupplier<TMap<K, A>>) (TSupplier<?>) mapFactory, accumulator, (a, b) -> a, finisher);
+    }
+
+    public static <T> TCollector<T, ?, TMap<Boolean, TList<T>>> partitioningBy(TPredicate<? super T> predicate) {
+        return partitioningBy(predicate, toList());
+    }
+
+    public static <T, D, A> TCollector<T, ?, TMap<Boolean, D>> partitioningBy(TPredicate<? super T> predicate,
+            TCollector<? super T, A, D> downstream) {
+        TSupplier<A> downstreamSupplier = downstream.supplier();
+        TBiConsumer<A, ? super T> downstreamAccumulator = downstream.accumulator();
+        TFunction<A, D> downstreamFinisher = downstream.finisher();
+        return TCollector.of(() -> {
+            TMap<Boolean, A> map = new THashMap<>();
+            map.put(false, downstreamSupplier.get());
+            map.put(true, downstreamSupplier.get());
+            return map;
+        }, (map, t) -> downstreamAccumulator.accept(map.get(predicate.test(t)), t), (a, b) -> a, map -> {
+            TMap<Boolean, D> result = new THashMap<>();
+            result.put(false, downstreamFinisher.apply(map.get(false)));
+            result.put(true, downstreamFinisher.apply(map.get(true)));
+            return result;
+        });
+    }
+
+    public static <T, K, U> TCollector<T, ?, TMap<K, U>> toMap(TFunction<? super T, ? extends K> keyMapper,
+            TFunction<? super T, ? extends U> valueMapper) {
+        return toMap(keyMapper, valueMapper, (a, b) -> {
+            throw new IllegalStateException("Duplicate key " + a);
+        });
+    }
+
+    public static <T, K, U> TCollector<T, ?, TMap<K, U>> toMap(TFunction<? super T, ? extends K> keyMapper,
+            TFunction<? super T, ? extends U> valueMapper, TBinaryOperator<U> mergeFunction) {
+        return toMap(keyMapper, valueMapper, mergeFunction, THashMap::new);
+    }
+
+    public static <T, K, U, M extends TMap<K, U>> TCollector<T, ?, M> toMap(
+            TFunction<? super T, ? extends K> keyMapper, TFunction<? super T, ? extends U> valueMapper,
+            TBinaryOperator<U> mergeFunction, TSupplier<M> mapFactory) {
+        return TCollector.of(mapFactory, (map, t) -> {
+            K key = keyMapper.apply(t);
+            U value = valueMapper.apply(t);
+            if (map.containsKey(key)) {
+                value = mergeFunction.apply(map.get(key), value);
+            }
+            map.put(key, value);
+        }, (a, b) -> a);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.stream;
+
+import org.teavm.classlib.java.util.TOptionalDouble;
+import org.teavm.classlib.java.util.TPrimitiveIterator;
+import org.teavm.classlib.java.util.function.TBiConsumer;
+import org.teavm.classlib.java.util.function.TDoubleBinaryOperator;
+import org.teavm.classlib.java.util.function.TDoubleConsumer;
+import org.teavm.classlib.java.util.function.TDoubleFunction;
+import org.teavm.classlib.java.util.function.TDoublePredicate;
+import org.teavm.classlib.java.util.function.TDoubleSupplier;
+import org.teavm.classlib.java.util.function.TDoubleToIntFunction;
+import org.teavm.classlib.java.util.function.TDoubleToLongFunction;
+import org.teavm.classlib.java.util.function.TDoubleUnaryOperator;
+import org.teavm.classlib.java.util.function.TObjDoubleConsumer;
+import org.teavm.classlib.java.util.function.TSupplier;
+import org.teavm.classlib.java.util.stream.impl.TSimpleDoubleStreamImpl;
+
+public interface TDoubleStream extends TBaseStream<Double, TDoubleStream> {
+    @Override
+    TPrimitiveIterator.OfDouble iterator();
+
+    TDoubleStream filter(TDoublePredicate predicate);
+
+    TDoubleStream map(TDoubleUnaryOperator mapper);
+
+    <U> TStream<U> mapToObj(TDoubleFunction<? extends U> mapper);
+
+    TIntStream mapToInt(TDoubleToIntFunction mapper);
+
+    TLongStream mapToLong(TDoubleToLongFunction mapper);
+
+    TDoubleStream flatMap(TDoubleFunction<? extends TDoubleStream> mapper);
+
+    TDoubleStream distinct();
+
+    TDoubleStream sorted();
+
+    TDoubleStream peek(TDoubleConsumer action);
+
+    TDoubleStream limit(long maxSize);
+
+    TDoubleStream skip(long n);
+
+    void forEach(TDoubleConsumer action);
+
+    void forEachOrdered(TDoubleConsumer action);
+
+    double[] toArray();
+
+    double reduce(double identity, TDoubleBinaryOperator accumulator);
+
+    TOptionalDouble reduce(TDoubleBinaryOperator op);
+
+    <R> R collect(TSupplier<R> supplier, TObjDoubleConsumer<R> accumulator, TBiConsumer<R, R> combiner);
+
+    double sum();
+
+    TOptionalDouble min();
+
+    TOptionalDouble max();
+
+    long count();
+
+    TOptionalDouble average();
+
+    boolean anyMatch(TDoublePredicate predicate);
+
+    boolean allMatch(TDoublePredicate predicate);
+
+    boolean noneMatch(TDoublePredicate predicate);
+
+    TOptionalDouble findFirst();
+
+    TOptionalDouble findAny();
+
+    TStream<Double> boxed();
+
+    static TDoubleStream empty() {
+        return TSimpleDoubleStreamImpl.empty();
+    }
+
+    static TDoubleStream of(double t) {
+        return TSimpleDoubleStreamImpl.ofArray(new double[] { t }, 0, 1);
+    }
+
+    static TDoubleStream of(double... values) {
+        return TSimpleDoubleStreamImpl.ofArray(values, 0, values.length);
+    }
+
+    static TDoubleStream iterate(double seed, TDoubleUnaryOperator f) {
+        return TSimpleDoubleStreamImpl.iterate(seed, f);
+    }
+
+    static TDoubleStream generate(TDoubleSupplier s) {
+        return TSimpleDoubleStreamImpl.generate(s);
+    }
+
+    static TDoubleStream concat(TDoubleStream a, TDoubleStream b) {
+        return TSimpleDoubleStreamImpl.concat(a, b);
+    }
+}
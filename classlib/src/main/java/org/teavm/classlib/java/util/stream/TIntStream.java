@@ -0,0 +1,129 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.stream;
+
+import org.teavm.classlib.java.util.TOptionalDouble;
+import org.teavm.classlib.java.util.TOptionalInt;
+import org.teavm.classlib.java.util.TPrimitiveIterator;
+import org.teavm.classlib.java.util.function.TBiConsumer;
+import org.teavm.classlib.java.util.function.TIntBinaryOperator;
+import org.teavm.classlib.java.util.function.TIntConsumer;
+import org.teavm.classlib.java.util.function.TIntFunction;
+import org.teavm.classlib.java.util.function.TIntPredicate;
+import org.teavm.classlib.java.util.function.TIntSupplier;
+import org.teavm.classlib.java.util.function.TIntToDoubleFunction;
+import org.teavm.classlib.java.util.function.TIntToLongFunction;
+import org.teavm.classlib.java.util.function.TIntUnaryOperator;
+import org.teavm.classlib.java.util.function.TObjIntConsumer;
+import org.teavm.classlib.java.util.function.TSupplier;
+import org.teavm.classlib.java.util.stream.impl.TSimpleIntStreamImpl;
+
+public interface TIntStream extends TBaseStream<Integer, TIntStream> {
+    @Override
+    TPrimitiveIterator.OfInt iterator();
+
+    TIntStream filter(TIntPredicate predicate);
+
+    TIntStream map(TIntUnaryOperator mapper);
+
+    <U> TStream<U> mapToObj(TIntFunction<? extends U> mapper);
+
+    TLongStream mapToLong(TIntToLongFunction mapper);
+
+    TDoubleStream mapToDouble(TIntToDoubleFunction mapper);
+
+    TIntStream flatMap(TIntFunction<? extends TIntStream> mapper);
+
+    TIntStream distinct();
+
+    TIntStream sorted();
+
+    TIntStream peek(TIntConsumer action);
+
+    TIntStream limit(long maxSize);
+
+    TIntStream skip(long n);
+
+    void forEach(TIntConsumer action);
+
+    void forEachOrdered(TIntConsumer action);
+
+    int[] toArray();
+
+    int reduce(int identity, TIntBinaryOperator accumulator);
+
+    TOptionalInt reduce(TIntBinaryOperator op);
+
+    <R> R collect(TSupplier<R> supplier, TObjIntConsumer<R> accumulator, TBiConsumer<R, R> combiner);
+
+    int sum();
+
+    TOptionalInt min();
+
+    TOptionalInt max();
+
+    long count();
+
+    TOptionalDouble average();
+
+    boolean anyMatch(TIntPredicate predicate);
+
+    boolean allMatch(TIntPredicate predicate);
+
+    boolean noneMatch(TIntPredicate predicate);
+
+    TOptionalInt findFirst();
+
+    TOptionalInt findAny();
+
+    TLongStream asLongStream();
+
+    TDoubleStream asDoubleStream();
+
+    TStream<Integer> boxed();
+
+    static TIntStream empty() {
+        return TSimpleIntStreamImpl.empty();
+    }
+
+    static TIntStream of(int t) {
+        return TSimpleIntStreamImpl.ofArray(new int[] { t }, 0, 1);
+    }
+
+    static TIntStream of(int... values) {
+        return TSimpleIntStreamImpl.ofArray(values, 0, values.length);
+    }
+
+    static TIntStream iterate(int seed, TIntUnaryOperator f) {
+        return TSimpleIntStreamImpl.iterate(seed, f);
+    }
+
+    static TIntStream generate(TIntSupplier s) {
+        return TSimpleIntStreamImpl.generate(s);
+    }
+
+    static TIntStream range(int startInclusive, int endExclusive) {
+        return TSimpleIntStreamImpl.range(startInclusive, endExclusive);
+    }
+
+    static TIntStream rangeClosed(int startInclusive, int endInclusive) {
+        return TSimpleIntStreamImpl.rangeClosed(startInclusive, endInclusive);
+    }
+
+    static TIntStream concat(TIntStream a, TIntStream b) {
+        return TSimpleIntStreamImpl.concat(a, b);
+    }
+}
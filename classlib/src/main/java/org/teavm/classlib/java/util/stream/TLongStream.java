@@ -0,0 +1,127 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.stream;
+
+import org.teavm.classlib.java.util.TOptionalDouble;
+import org.teavm.classlib.java.util.TOptionalLong;
+import org.teavm.classlib.java.util.TPrimitiveIterator;
+import org.teavm.classlib.java.util.function.TBiConsumer;
+import org.teavm.classlib.java.util.function.TLongBinaryOperator;
+import org.teavm.classlib.java.util.function.TLongConsumer;
+import org.teavm.classlib.java.util.function.TLongFunction;
+import org.teavm.classlib.java.util.function.TLongPredicate;
+import org.teavm.classlib.java.util.function.TLongSupplier;
+import org.teavm.classlib.java.util.function.TLongToDoubleFunction;
+import org.teavm.classlib.java.util.function.TLongToIntFunction;
+import org.teavm.classlib.java.util.function.TLongUnaryOperator;
+import org.teavm.classlib.java.util.function.TObjLongConsumer;
+import org.teavm.classlib.java.util.function.TSupplier;
+import org.teavm.classlib.java.util.stream.impl.TSimpleLongStreamImpl;
+
+public interface TLongStream extends TBaseStream<Long, TLongStream> {
+    @Override
+    TPrimitiveIterator.OfLong iterator();
+
+    TLongStream filter(TLongPredicate predicate);
+
+    TLongStream map(TLongUnaryOperator mapper);
+
+    <U> TStream<U> mapToObj(TLongFunction<? extends U> mapper);
+
+    TIntStream mapToInt(TLongToIntFunction mapper);
+
+    TDoubleStream mapToDouble(TLongToDoubleFunction mapper);
+
+    TLongStream flatMap(TLongFunction<? extends TLongStream> mapper);
+
+    TLongStream distinct();
+
+    TLongStream sorted();
+
+    TLongStream peek(TLongConsumer action);
+
+    TLongStream limit(long maxSize);
+
+    TLongStream skip(long n);
+
+    void forEach(TLongConsumer action);
+
+    void forEachOrdered(TLongConsumer action);
+
+    long[] toArray();
+
+    long reduce(long identity, TLongBinaryOperator accumulator);
+
+    TOptionalLong reduce(TLongBinaryOperator op);
+
+    <R> R collect(TSupplier<R> supplier, TObjLongConsumer<R> accumulator, TBiConsumer<R, R> combiner);
+
+    long sum();
+
+    TOptionalLong min();
+
+    TOptionalLong max();
+
+    long count();
+
+    TOptionalDouble average();
+
+    boolean anyMatch(TLongPredicate predicate);
+
+    boolean allMatch(TLongPredicate predicate);
+
+    boolean noneMatch(TLongPredicate predicate);
+
+    TOptionalLong findFirst();
+
+    TOptionalLong findAny();
+
+    TDoubleStream asDoubleStream();
+
+    TStream<Long> boxed();
+
+    static TLongStream empty() {
+        return TSimpleLongStreamImpl.empty();
+    }
+
+    static TLongStream of(long t) {
+        return TSimpleLongStreamImpl.ofArray(new long[] { t }, 0, 1);
+    }
+
+    static TLongStream of(long... values) {
+        return TSimpleLongStreamImpl.ofArray(values, 0, values.length);
+    }
+
+    static TLongStream iterate(long seed, TLongUnaryOperator f) {
+        return TSimpleLongStreamImpl.iterate(seed, f);
+    }
+
+    static TLongStream generate(TLongSupplier s) {
+        return TSimpleLongStreamImpl.generate(s);
+    }
+
+    static TLongStream range(long startInclusive, long endExclusive) {
+        return TSimpleLongStreamImpl.range(startInclusive, endExclusive);
+    }
+
+    static TLongStream rangeClosed(long startInclusive, long endInclusive) {
+        return TSimpleLongStreamImpl.rangeClosed(startInclusive, endInclusive);
+    }
+
+    static TLongStream concat(TLongStream a, TLongStream b) {
+        return TSimpleLongStreamImpl.concat(a, b);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.stream;
+
+import org.teavm.classlib.java.util.TComparator;
+import org.teavm.classlib.java.util.TOptional;
+import org.teavm.classlib.java.util.function.TBiConsumer;
+import org.teavm.classlib.java.util.function.TBiFunction;
+import org.teavm.classlib.java.util.function.TBinaryOperator;
+import org.teavm.classlib.java.util.function.TConsumer;
+import org.teavm.classlib.java.util.function.TFunction;
+import org.teavm.classlib.java.util.function.TIntFunction;
+import org.teavm.classlib.java.util.function.TPredicate;
+import org.teavm.classlib.java.util.function.TSupplier;
+import org.teavm.classlib.java.util.function.TToDoubleFunction;
+import org.teavm.classlib.java.util.function.TToIntFunction;
+import org.teavm.classlib.java.util.function.TToLongFunction;
+import org.teavm.classlib.java.util.function.TUnaryOperator;
+import org.teavm.classlib.java.util.stream.impl.TSimpleStreamImpl;
+
+public interface TStream<T> extends TBaseStream<T, TStream<T>> {
+    TStream<T> filter(TPredicate<? super T> predicate);
+
+    <R> TStream<R> map(TFunction<? super T, ? extends R> mapper);
+
+    TIntStream mapToInt(TToIntFunction<? super T> mapper);
+
+    TLongStream mapToLong(TToLongFunction<? super T> mapper);
+
+    TDoubleStream mapToDouble(TToDoubleFunction<? super T> mapper);
+
+    <R> TStream<R> flatMap(TFunction<? super T, ? extends TStream<? extends R>> mapper);
+
+    TIntStream flatMapToInt(TFunction<? super T, ? extends TIntStream> mapper);
+
+    TLongStream flatMapToLong(TFunction<? super T, ? extends TLongStream> mapper);
+
+    TDoubleStream flatMapToDouble(TFunction<? super T, ? extends TDoubleStream> mapper);
+
+    TStream<T> distinct();
+
+    TStream<T> sorted();
+
+    TStream<T> sorted(TComparator<? super T> comparator);
+
+    TStream<T> peek(TConsumer<? super T> action);
+
+    TStream<T> limit(long maxSize);
+
+    TStream<T> skip(long n);
+
+    void forEach(TConsumer<? super T> action);
+
+    void forEachOrdered(TConsumer<? super T> action);
+
+    Object[] toArray();
+
+    <A> A[] toArray(TIntFunction<A[]> generator);
+
+    T reduce(T identity, TBinaryOperator<T> accumulator);
+
+    TOptional<T> reduce(TBinaryOperator<T> accumulator);
+
+    <U> U reduce(U identity, TBiFunction<U, ? super T, U> accumulator, TBinaryOperator<U> combiner);
+
+    <R> R collect(TSupplier<R> supplier, TBiConsumer<R, ? super T> accumulator, TBiConsumer<R, R> combiner);
+
+    <R, A> R collect(TCollector<? super T, A, R> collector);
+
+    TOptional<T> min(TComparator<? super T> comparator);
+
+    TOptional<T> max(TComparator<? super T> comparator);
+
+    long count();
+
+    boolean anyMatch(TPredicate<? super T> predicate);
+
+    boolean allMatch(TPredicate<? super T> predicate);
+
+    boolean noneMatch(TPredicate<? super T> predicate);
+
+    TOptional<T> findFirst();
+
+    TOptional<T> findAny();
+
+    static <T> TStream<T> empty() {
+        return TSimpleStreamImpl.empty();
+    }
+
+    static <T> TStream<T> of(T t) {
+        return TSimpleStreamImpl.ofSingle(t);
+    }
+
+    @SafeVarargs
+    static <T> TStream<T> of(T... values) {
+        return TSimpleStreamImpl.ofArray(values, 0, values.length);
+    }
+
+    static <T> TStream<T> iterate(T seed, TUnaryOperator<T> f) {
+        return TSimpleStreamImpl.iterate(seed, f);
+    }
+
+    static <T> TStream<T> generate(TSupplier<T> s) {
+        return TSimpleStreamImpl.generate(s);
+    }
+
+    static <T> TStream<T> concat(TStream<? extends T> a, TStream<? extends T> b) {
+        return TSimpleStreamImpl.concat(a, b);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.stream.impl;
+
+import org.teavm.classlib.java.util.TArrayList;
+import org.teavm.classlib.java.util.TList;
+
+/**
+ * Close handlers registered on any stage of a stream pipeline. All stages of a pipeline share the same instance.
+ */
+public final class TCloseHandlers {
+    private TList<Runnable> handlers;
+
+    public void add(Runnable handler) {
+        if (handlers == null) {
+            handlers = new TArrayList<>();
+        }
+        handlers.add(handler);
+    }
+
+    public void close() {
+        if (handlers == null) {
+            return;
+        }
+        TList<Runnable> handlersToRun = handlers;
+        handlers = null;
+        RuntimeException exception = null;
+        for (int i = 0; i < handlersToRun.size(); ++i) {
+            try {
+                handlersToRun.get(i).run();
+            } catch (RuntimeException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+}
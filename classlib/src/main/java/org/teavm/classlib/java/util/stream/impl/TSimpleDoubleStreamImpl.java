@@ -0,0 +1,551 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.stream.impl;
+
+import org.teavm.classlib.java.util.TArrays;
+import org.teavm.classlib.java.util.THashSet;
+import org.teavm.classlib.java.util.TNoSuchElementException;
+import org.teavm.classlib.java.util.TOptionalDouble;
+import org.teavm.classlib.java.util.TPrimitiveIterator;
+import org.teavm.classlib.java.util.TSet;
+import org.teavm.classlib.java.util.function.TBiConsumer;
+import org.teavm.classlib.java.util.function.TDoubleBinaryOperator;
+import org.teavm.classlib.java.util.function.TDoubleConsumer;
+import org.teavm.classlib.java.util.function.TDoubleFunction;
+import org.teavm.classlib.java.util.function.TDoublePredicate;
+import org.teavm.classlib.java.util.function.TDoubleSupplier;
+import org.teavm.classlib.java.util.function.TDoubleToIntFunction;
+import org.teavm.classlib.java.util.function.TDoubleToLongFunction;
+import org.teavm.classlib.java.util.function.TDoubleUnaryOperator;
+import org.teavm.classlib.java.util.function.TIntPredicate;
+import org.teavm.classlib.java.util.function.TLongPredicate;
+import org.teavm.classlib.java.util.function.TObjDoubleConsumer;
+import org.teavm.classlib.java.util.function.TPredicate;
+import org.teavm.classlib.java.util.function.TSupplier;
+import org.teavm.classlib.java.util.stream.TDoubleStream;
+import org.teavm.classlib.java.util.stream.TIntStream;
+import org.teavm.classlib.java.util.stream.TLongStream;
+import org.teavm.classlib.java.util.stream.TStream;
+
+public abstract class TSimpleDoubleStreamImpl implements TDoubleStream {
+    final TCloseHandlers closeHandlers;
+
+    protected TSimpleDoubleStreamImpl() {
+        this(new TCloseHandlers());
+    }
+
+    protected TSimpleDoubleStreamImpl(TCloseHandlers closeHandlers) {
+        this.closeHandlers = closeHandlers;
+    }
+
+    /**
+     * Feeds elements of this stream to the consumer until either the consumer returns {@code false}
+     * or the stream is exhausted.
+     *
+     * @return {@code true} if the consumer requested to stop, {@code false} if the stream got exhausted.
+     * @see TSimpleStreamImpl#next(TPredicate)
+     */
+    public abstract boolean next(TDoublePredicate consumer);
+
+    public static TSimpleDoubleStreamImpl empty() {
+        return new TSimpleDoubleStreamImpl() {
+            @Override
+            public boolean next(TDoublePredicate consumer) {
+                return false;
+            }
+        };
+    }
+
+    public static TSimpleDoubleStreamImpl ofArray(double[] array, int start, int end) {
+        return new TSimpleDoubleStreamImpl() {
+            int index = start;
+
+            @Override
+            public boolean next(TDoublePredicate consumer) {
+                while (index < end) {
+                    if (!consumer.test(array[index++])) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    public static TSimpleDoubleStreamImpl iterate(double seed, TDoubleUnaryOperator f) {
+        return new TSimpleDoubleStreamImpl() {
+            double value = seed;
+            boolean started;
+
+            @Override
+            public boolean next(TDoublePredicate consumer) {
+                while (true) {
+                    if (started) {
+                        value = f.applyAsDouble(value);
+                    }
+                    started = true;
+                    if (!consumer.test(value)) {
+                        return true;
+                    }
+                }
+            }
+        };
+    }
+
+    public static TSimpleDoubleStreamImpl generate(TDoubleSupplier s) {
+        return new TSimpleDoubleStreamImpl() {
+            @Override
+            public boolean next(TDoublePredicate consumer) {
+                while (consumer.test(s.getAsDouble())) {
+                    // continue until consumer is satisfied
+                }
+                return true;
+            }
+        };
+    }
+
+    public static TSimpleDoubleStreamImpl concat(TDoubleStream a, TDoubleStream b) {
+        TSimpleDoubleStreamImpl first = (TSimpleDoubleStreamImpl) a;
+        TSimpleDoubleStreamImpl second = (TSimpleDoubleStreamImpl) b;
+        TCloseHandlers closeHandlers = new TCloseHandlers();
+        closeHandlers.add(first::close);
+        closeHandlers.add(second::close);
+        return new TSimpleDoubleStreamImpl(closeHandlers) {
+            boolean firstExhausted;
+
+            @Override
+            public boolean next(TDoublePredicate consumer) {
+                if (!firstExhausted) {
+                    if (first.next(consumer)) {
+                        return true;
+                    }
+                    firstExhausted = true;
+                }
+                return second.next(consumer);
+            }
+        };
+    }
+
+    static TSimpleDoubleStreamImpl flatten(TStream<? extends TDoubleStream> streams) {
+        TSimpleStreamImpl<? extends TDoubleStream> source = (TSimpleStreamImpl<? extends TDoubleStream>) streams;
+        return new TSimpleDoubleStreamImpl(source.closeHandlers) {
+            TSimpleDoubleStreamImpl current;
+
+            @Override
+            public boolean next(TDoublePredicate consumer) {
+                while (true) {
+                    if (current != null) {
+                        if (current.next(consumer)) {
+                            return true;
+                        }
+                        current.close();
+                        current = null;
+                    }
+                    boolean hasMore = source.next(e -> {
+                        current = (TSimpleDoubleStreamImpl) e;
+                        return current == null;
+                    });
+                    if (!hasMore) {
+                        return false;
+                    }
+                }
+            }
+        };
+    }
+
+    @Override
+    public TDoubleStream filter(TDoublePredicate predicate) {
+        return new TSimpleDoubleStreamImpl(closeHandlers) {
+            @Override
+            public boolean next(TDoublePredicate consumer) {
+                return TSimpleDoubleStreamImpl.this.next(e -> !predicate.test(e) || consumer.test(e));
+            }
+        };
+    }
+
+    @Override
+    public TDoubleStream map(TDoubleUnaryOperator mapper) {
+        return new TSimpleDoubleStreamImpl(closeHandlers) {
+            @Override
+            public boolean next(TDoublePredicate consumer) {
+                return TSimpleDoubleStreamImpl.this.next(e -> consumer.test(mapper.applyAsDouble(e)));
+            }
+        };
+    }
+
+    @Override
+    public <U> TStream<U> mapToObj(TDoubleFunction<? extends U> mapper) {
+        return new TSimpleStreamImpl<U>(closeHandlers) {
+            @Override
+            public boolean next(TPredicate<? super U> consumer) {
+                return TSimpleDoubleStreamImpl.this.next(e -> consumer.test(mapper.apply(e)));
+            }
+        };
+    }
+
+    @Override
+    public TIntStream mapToInt(TDoubleToIntFunction mapper) {
+        return new TSimpleIntStreamImpl(closeHandlers) {
+            @Override
+            public boolean next(TIntPredicate consumer) {
+                return TSimpleDoubleStreamImpl.this.next(e -> consumer.test(mapper.applyAsInt(e)));
+            }
+        };
+    }
+
+    @Override
+    public TLongStream mapToLong(TDoubleToLongFunction mapper) {
+        return new TSimpleLongStreamImpl(closeHandlers) {
+            @Override
+            public boolean next(TLongPredicate consumer) {
+                return TSimpleDoubleStreamImpl.this.next(e -> consumer.test(mapper.applyAsLong(e)));
+            }
+        };
+    }
+
+    @Override
+    public TStream<Double> boxed() {
+        return mapToObj(Double::valueOf);
+    }
+
+    @Override
+    public TDoubleStream flatMap(TDoubleFunction<? extends TDoubleStream> mapper) {
+        return flatten(mapToObj(mapper));
+    }
+
+    @Override
+    public TDoubleStream distinct() {
+        return new TSimpleDoubleStreamImpl(closeHandlers) {
+            TSet<Double> seen = new THashSet<>();
+
+            @Override
+            public boolean next(TDoublePredicate consumer) {
+                return TSimpleDoubleStreamImpl.this.next(e -> !seen.add(e) || consumer.test(e));
+            }
+        };
+    }
+
+    @Override
+    public TDoubleStream sorted() {
+        return new TSimpleDoubleStreamImpl(closeHandlers) {
+            double[] array;
+            int index;
+
+            @Override
+            public boolean next(TDoublePredicate consumer) {
+                if (array == null) {
+                    array = TSimpleDoubleStreamImpl.this.toArray();
+                    TArrays.sort(array);
+                }
+                while (index < array.length) {
+                    if (!consumer.test(array[index++])) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public TDoubleStream peek(TDoubleConsumer action) {
+        return new TSimpleDoubleStreamImpl(closeHandlers) {
+            @Override
+            public boolean next(TDoublePredicate consumer) {
+                return TSimpleDoubleStreamImpl.this.next(e -> {
+                    action.accept(e);
+                    return consumer.test(e);
+                });
+            }
+        };
+    }
+
+    @Override
+    public TDoubleStream limit(long maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException();
+        }
+        return new TSimpleDoubleStreamImpl(closeHandlers) {
+            long remaining = maxSize;
+            boolean stopped;
+
+            @Override
+            public boolean next(TDoublePredicate consumer) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                stopped = false;
+                TSimpleDoubleStreamImpl.this.next(e -> {
+                    --remaining;
+                    if (!consumer.test(e)) {
+                        stopped = true;
+                        return false;
+                    }
+                    return remaining > 0;
+                });
+                return stopped;
+            }
+        };
+    }
+
+    @Override
+    public TDoubleStream skip(long n) {
+        if (n < 0) {
+            throw new IllegalArgumentException();
+        }
+        return new TSimpleDoubleStreamImpl(closeHandlers) {
+            long remaining = n;
+
+            @Override
+            public boolean next(TDoublePredicate consumer) {
+                return TSimpleDoubleStreamImpl.this.next(e -> {
+                    if (remaining > 0) {
+                        remaining--;
+                        return true;
+                    }
+                    return consumer.test(e);
+                });
+            }
+        };
+    }
+
+    @Override
+    public void forEach(TDoubleConsumer action) {
+        forEachOrdered(action);
+    }
+
+    @Override
+    public void forEachOrdered(TDoubleConsumer action) {
+        while (next(e -> {
+            action.accept(e);
+            return true;
+        })) {
+            // continue until stream is exhausted
+        }
+    }
+
+    @Override
+    public double[] toArray() {
+        ArrayCollector collector = new ArrayCollector();
+        forEachOrdered(collector);
+        return TArrays.copyOf(collector.data, collector.size);
+    }
+
+    @Override
+    public double reduce(double identity, TDoubleBinaryOperator accumulator) {
+        ReducingConsumer consumer = new ReducingConsumer(accumulator);
+        consumer.result = identity;
+        forEachOrdered(consumer);
+        return consumer.result;
+    }
+
+    @Override
+    public TOptionalDouble reduce(TDoubleBinaryOperator op) {
+        ReducingConsumer consumer = new ReducingConsumer(op);
+        consumer.empty = true;
+        forEachOrdered(consumer);
+        return consumer.empty ? TOptionalDouble.empty() : TOptionalDouble.of(consumer.result);
+    }
+
+    @Override
+    public <R> R collect(TSupplier<R> supplier, TObjDoubleConsumer<R> accumulator, TBiConsumer<R, R> combiner) {
+        R collection = supplier.get();
+        forEachOrdered(e -> accumulator.accept(collection, e));
+        return collection;
+    }
+
+    @Override
+    public double sum() {
+        SumConsumer consumer = new SumConsumer();
+        forEachOrdered(consumer);
+        return consumer.sum;
+    }
+
+    @Override
+    public TOptionalDouble min() {
+        return reduce(Math::min);
+    }
+
+    @Override
+    public TOptionalDouble max() {
+        return reduce(Math::max);
+    }
+
+    @Override
+    public long count() {
+        SumConsumer consumer = new SumConsumer();
+        forEachOrdered(consumer);
+        return consumer.count;
+    }
+
+    @Override
+    public TOptionalDouble average() {
+        SumConsumer consumer = new SumConsumer();
+        forEachOrdered(consumer);
+        return consumer.count > 0
+                ? TOptionalDouble.of((double) consumer.sum / consumer.count)
+                : TOptionalDouble.empty();
+    }
+
+    @Override
+    public boolean anyMatch(TDoublePredicate predicate) {
+        return next(e -> !predicate.test(e));
+    }
+
+    @Override
+    public boolean allMatch(TDoublePredicate predicate) {
+        return !next(predicate);
+    }
+
+    @Override
+    public boolean noneMatch(TDoublePredicate predicate) {
+        return !anyMatch(predicate);
+    }
+
+    @Override
+    public TOptionalDouble findFirst() {
+        FindFirstConsumer consumer = new FindFirstConsumer();
+        next(consumer);
+        return consumer.found ? TOptionalDouble.of(consumer.result) : TOptionalDouble.empty();
+    }
+
+    @Override
+    public TOptionalDouble findAny() {
+        return findFirst();
+    }
+
+    @Override
+    public TPrimitiveIterator.OfDouble iterator() {
+        return new TPrimitiveIterator.OfDouble() {
+            double lookahead;
+            boolean hasLookahead;
+            boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                while (!hasLookahead && !exhausted) {
+                    exhausted = !TSimpleDoubleStreamImpl.this.next(e -> {
+                        lookahead = e;
+                        hasLookahead = true;
+                        return false;
+                    });
+                }
+                return hasLookahead;
+            }
+
+            @Override
+            public double nextDouble() {
+                if (!hasNext()) {
+                    throw new TNoSuchElementException();
+                }
+                hasLookahead = false;
+                return lookahead;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public boolean isParallel() {
+        return false;
+    }
+
+    @Override
+    public TDoubleStream sequential() {
+        return this;
+    }
+
+    @Override
+    public TDoubleStream parallel() {
+        return this;
+    }
+
+    @Override
+    public TDoubleStream unordered() {
+        return this;
+    }
+
+    @Override
+    public TDoubleStream onClose(Runnable closeHandler) {
+        closeHandlers.add(closeHandler);
+        return this;
+    }
+
+    @Override
+    public void close() {
+        closeHandlers.close();
+    }
+
+    private static class ArrayCollector implements TDoubleConsumer {
+        double[] data = new double[16];
+        int size;
+
+        @Override
+        public void accept(double value) {
+            if (size == data.length) {
+                data = TArrays.copyOf(data, data.length * 2);
+            }
+            data[size++] = value;
+        }
+    }
+
+    private static class ReducingConsumer implements TDoubleConsumer {
+        double result;
+        boolean empty;
+        private TDoubleBinaryOperator accumulator;
+
+        ReducingConsumer(TDoubleBinaryOperator accumulator) {
+            this.accumulator = accumulator;
+        }
+
+        @Override
+        public void accept(double value) {
+            if (empty) {
+                result = value;
+                empty = false;
+            } else {
+                result = accumulator.applyAsDouble(result, value);
+            }
+        }
+    }
+
+    private static class SumConsumer implements TDoubleConsumer {
+        double sum;
+        long count;
+
+        @Override
+        public void accept(double value) {
+            sum += value;
+            count++;
+        }
+    }
+
+    private static class FindFirstConsumer implements TDoublePredicate {
+        double result;
+        boolean found;
+
+        @Override
+        public boolean test(double value) {
+            result = value;
+            found = true;
+            return false;
+        }
+    }
+}
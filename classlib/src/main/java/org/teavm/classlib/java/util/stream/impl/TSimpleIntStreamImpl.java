@@ -0,0 +1,614 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.stream.impl;
+
+import org.teavm.classlib.java.util.TArrays;
+import org.teavm.classlib.java.util.THashSet;
+import org.teavm.classlib.java.util.TNoSuchElementException;
+import org.teavm.classlib.java.util.TOptionalDouble;
+import org.teavm.classlib.java.util.TOptionalInt;
+import org.teavm.classlib.java.util.TPrimitiveIterator;
+import org.teavm.classlib.java.util.TSet;
+import org.teavm.classlib.java.util.function.TBiConsumer;
+import org.teavm.classlib.java.util.function.TDoublePredicate;
+import org.teavm.classlib.java.util.function.TIntBinaryOperator;
+import org.teavm.classlib.java.util.function.TIntConsumer;
+import org.teavm.classlib.java.util.function.TIntFunction;
+import org.teavm.classlib.java.util.function.TIntPredicate;
+import org.teavm.classlib.java.util.function.TIntSupplier;
+import org.teavm.classlib.java.util.function.TIntToDoubleFunction;
+import org.teavm.classlib.java.util.function.TIntToLongFunction;
+import org.teavm.classlib.java.util.function.TIntUnaryOperator;
+import org.teavm.classlib.java.util.function.TLongPredicate;
+import org.teavm.classlib.java.util.function.TObjIntConsumer;
+import org.teavm.classlib.java.util.function.TPredicate;
+import org.teavm.classlib.java.util.function.TSupplier;
+import org.teavm.classlib.java.util.stream.TDoubleStream;
+import org.teavm.classlib.java.util.stream.TIntStream;
+import org.teavm.classlib.java.util.stream.TLongStream;
+import org.teavm.classlib.java.util.stream.TStream;
+
+public abstract class TSimpleIntStreamImpl implements TIntStream {
+    final TCloseHandlers closeHandlers;
+
+    protected TSimpleIntStreamImpl() {
+        this(new TCloseHandlers());
+    }
+
+    protected TSimpleIntStreamImpl(TCloseHandlers closeHandlers) {
+        this.closeHandlers = closeHandlers;
+    }
+
+    /**
+     * Feeds elements of this stream to the consumer until either the consumer returns {@code false}
+     * or the stream is exhausted.
+     *
+     * @return {@code true} if the consumer requested to stop, {@code false} if the stream got exhausted.
+     * @see TSimpleStreamImpl#next(TPredicate)
+     */
+    public abstract boolean next(TIntPredicate consumer);
+
+    public static TSimpleIntStreamImpl empty() {
+        return new TSimpleIntStreamImpl() {
+            @Override
+            public boolean next(TIntPredicate consumer) {
+                return false;
+            }
+        };
+    }
+
+    public static TSimpleIntStreamImpl ofArray(int[] array, int start, int end) {
+        return new TSimpleIntStreamImpl() {
+            int index = start;
+
+            @Override
+            public boolean next(TIntPredicate consumer) {
+                while (index < end) {
+                    if (!consumer.test(array[index++])) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    public static TSimpleIntStreamImpl range(int startInclusive, int endExclusive) {
+        return new TSimpleIntStreamImpl() {
+            int current = startInclusive;
+
+            @Override
+            public boolean next(TIntPredicate consumer) {
+                while (current < endExclusive) {
+                    if (!consumer.test(current++)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    public static TSimpleIntStreamImpl rangeClosed(int startInclusive, int endInclusive) {
+        if (startInclusive > endInclusive) {
+            return empty();
+        }
+        return new TSimpleIntStreamImpl() {
+            int current = startInclusive;
+            boolean done;
+
+            @Override
+            public boolean next(TIntPredicate consumer) {
+                while (!done) {
+                    int value = current;
+                    if (value == endInclusive) {
+                        done = true;
+                    } else {
+                        current++;
+                    }
+                    if (!consumer.test(value)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    public static TSimpleIntStreamImpl iterate(int seed, TIntUnaryOperator f) {
+        return new TSimpleIntStreamImpl() {
+            int value = seed;
+            boolean started;
+
+            @Override
+            public boolean next(TIntPredicate consumer) {
+                while (true) {
+                    if (started) {
+                        value = f.applyAsInt(value);
+                    }
+                    started = true;
+                    if (!consumer.test(value)) {
+                        return true;
+                    }
+                }
+            }
+        };
+    }
+
+    public static TSimpleIntStreamImpl generate(TIntSupplier s) {
+        return new TSimpleIntStreamImpl() {
+            @Override
+            public boolean next(TIntPredicate consumer) {
+                while (consumer.test(s.getAsInt())) {
+                    // continue until consumer is satisfied
+                }
+                return true;
+            }
+        };
+    }
+
+    public static TSimpleIntStreamImpl concat(TIntStream a, TIntStream b) {
+        TSimpleIntStreamImpl first = (TSimpleIntStreamImpl) a;
+        TSimpleIntStreamImpl second = (TSimpleIntStreamImpl) b;
+        TCloseHandlers closeHandlers = new TCloseHandlers();
+        closeHandlers.add(first::close);
+        closeHandlers.add(second::close);
+        return new TSimpleIntStreamImpl(closeHandlers) {
+            boolean firstExhausted;
+
+            @Override
+            public boolean next(TIntPredicate consumer) {
+                if (!firstExhausted) {
+                    if (first.next(consumer)) {
+                        return true;
+                    }
+                    firstExhausted = true;
+                }
+                return second.next(consumer);
+            }
+        };
+    }
+
+    static TSimpleIntStreamImpl flatten(TStream<? extends TIntStream> streams) {
+        TSimpleStreamImpl<? extends TIntStream> source = (TSimpleStreamImpl<? extends TIntStream>) streams;
+        return new TSimpleIntStreamImpl(source.closeHandlers) {
+            TSimpleIntStreamImpl current;
+
+            @Override
+            public boolean next(TIntPredicate consumer) {
+                while (true) {
+                    if (current != null) {
+                        if (current.next(consumer)) {
+                            return true;
+                        }
+                        current.close();
+                        current = null;
+                    }
+                    boolean hasMore = source.next(e -> {
+                        current = (TSimpleIntStreamImpl) e;
+                        return current == null;
+                    });
+                    if (!hasMore) {
+                        return false;
+                    }
+                }
+            }
+        };
+    }
+
+    @Override
+    public TIntStream filter(TIntPredicate predicate) {
+        return new TSimpleIntStreamImpl(closeHandlers) {
+            @Override
+            public boolean next(TIntPredicate consumer) {
+                return TSimpleIntStreamImpl.this.next(e -> !predicate.test(e) || consumer.test(e));
+            }
+        };
+    }
+
+    @Override
+    public TIntStream map(TIntUnaryOperator mapper) {
+        return new TSimpleIntStreamImpl(closeHandlers) {
+            @Override
+            public boolean next(TIntPredicate consumer) {
+                return TSimpleIntStreamImpl.this.next(e -> consumer.test(mapper.applyAsInt(e)));
+            }
+        };
+    }
+
+    @Override
+    public <U> TStream<U> mapToObj(TIntFunction<? extends U> mapper) {
+        return new TSimpleStreamImpl<U>(closeHandlers) {
+            @Override
+            public boolean next(TPredicate<? super U> consumer) {
+                return TSimpleIntStreamImpl.this.next(e -> consumer.test(mapper.apply(e)));
+            }
+        };
+    }
+
+    @Override
+    public TLongStream mapToLong(TIntToLongFunction mapper) {
+        return new TSimpleLongStreamImpl(closeHandlers) {
+            @Override
+            public boolean next(TLongPredicate consumer) {
+                return TSimpleIntStreamImpl.this.next(e -> consumer.test(mapper.applyAsLong(e)));
+            }
+        };
+    }
+
+    @Override
+    public TDoubleStream mapToDouble(TIntToDoubleFunction mapper) {
+        return new TSimpleDoubleStreamImpl(closeHandlers) {
+            @Override
+            public boolean next(TDoublePredicate consumer) {
+                return TSimpleIntStreamImpl.this.next(e -> consumer.test(mapper.applyAsDouble(e)));
+            }
+        };
+    }
+
+    @Override
+    public TLongStream asLongStream() {
+        return new TSimpleLongStreamImpl(closeHandlers) {
+            @Override
+            public boolean next(TLongPredicate consumer) {
+                return TSimpleIntStreamImpl.this.next(e -> consumer.test(e));
+            }
+        };
+    }
+
+    @Override
+    public TDoubleStream asDoubleStream() {
+        return new TSimpleDoubleStreamImpl(closeHandlers) {
+            @Override
+            public boolean next(TDoublePredicate consumer) {
+                return TSimpleIntStreamImpl.this.next(e -> consumer.test(e));
+            }
+        };
+    }
+
+    @Override
+    public TStream<Integer> boxed() {
+        return mapToObj(Integer::valueOf);
+    }
+
+    @Override
+    public TIntStream flatMap(TIntFunction<? extends TIntStream> mapper) {
+        return flatten(mapToObj(mapper));
+    }
+
+    @Override
+    public TIntStream distinct() {
+        return new TSimpleIntStreamImpl(closeHandlers) {
+            TSet<Integer> seen = new THashSet<>();
+
+            @Override
+            public boolean next(TIntPredicate consumer) {
+                return TSimpleIntStreamImpl.this.next(e -> !seen.add(e) || consumer.test(e));
+            }
+        };
+    }
+
+    @Override
+    public TIntStream sorted() {
+        return new TSimpleIntStreamImpl(closeHandlers) {
+            int[] array;
+            int index;
+
+            @Override
+            public boolean next(TIntPredicate consumer) {
+                if (array == null) {
+                    array = TSimpleIntStreamImpl.this.toArray();
+                    TArrays.sort(array);
+                }
+                while (index < array.length) {
+                    if (!consumer.test(array[index++])) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public TIntStream peek(TIntConsumer action) {
+        return new TSimpleIntStreamImpl(closeHandlers) {
+            @Override
+            public boolean next(TIntPredicate consumer) {
+                return TSimpleIntStreamImpl.this.next(e -> {
+                    action.accept(e);
+                    return consumer.test(e);
+                });
+            }
+        };
+    }
+
+    @Override
+    public TIntStream limit(long maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException();
+        }
+        return new TSimpleIntStreamImpl(closeHandlers) {
+            long remaining = maxSize;
+            boolean stopped;
+
+            @Override
+            public boolean next(TIntPredicate consumer) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                stopped = false;
+                TSimpleIntStreamImpl.this.next(e -> {
+                    --remaining;
+                    if (!consumer.test(e)) {
+                        stopped = true;
+                        return false;
+                    }
+                    return remaining > 0;
+                });
+                return stopped;
+            }
+        };
+    }
+
+    @Override
+    public TIntStream skip(long n) {
+        if (n < 0) {
+            throw new IllegalArgumentException();
+        }
+        return new TSimpleIntStreamImpl(closeHandlers) {
+            long remaining = n;
+
+            @Override
+            public boolean next(TIntPredicate consumer) {
+                return TSimpleIntStreamImpl.this.next(e -> {
+                    if (remaining > 0) {
+                        remaining--;
+                        return true;
+                    }
+                    return consumer.test(e);
+                });
+            }
+        };
+    }
+
+    @Override
+    public void forEach(TIntConsumer action) {
+        forEachOrdered(action);
+    }
+
+    @Override
+    public void forEachOrdered(TIntConsumer action) {
+        while (next(e -> {
+            action.accept(e);
+            return true;
+        })) {
+            // continue until stream is exhausted
+        }
+    }
+
+    @Override
+    public int[] toArray() {
+        ArrayCollector collector = new ArrayCollector();
+        forEachOrdered(collector);
+        return TArrays.copyOf(collector.data, collector.size);
+    }
+
+    @Override
+    public int reduce(int identity, TIntBinaryOperator accumulator) {
+        ReducingConsumer consumer = new ReducingConsumer(accumulator);
+        consumer.result = identity;
+        forEachOrdered(consumer);
+        return consumer.result;
+    }
+
+    @Override
+    public TOptionalInt reduce(TIntBinaryOperator op) {
+        ReducingConsumer consumer = new ReducingConsumer(op);
+        consumer.empty = true;
+        forEachOrdered(consumer);
+        return consumer.empty ? TOptionalInt.empty() : TOptionalInt.of(consumer.result);
+    }
+
+    @Override
+    public <R> R collect(TSupplier<R> supplier, TObjIntConsumer<R> accumulator, TBiConsumer<R, R> combiner) {
+        R collection = supplier.get();
+        forEachOrdered(e -> accumulator.accept(collection, e));
+        return collection;
+    }
+
+    @Override
+    public int sum() {
+        SumConsumer consumer = new SumConsumer();
+        forEachOrdered(consumer);
+        return (int) consumer.sum;
+    }
+
+    @Override
+    public TOptionalInt min() {
+        return reduce(Math::min);
+    }
+
+    @Override
+    public TOptionalInt max() {
+        return reduce(Math::max);
+    }
+
+    @Override
+    public long count() {
+        SumConsumer consumer = new SumConsumer();
+        forEachOrdered(consumer);
+        return consumer.count;
+    }
+
+    @Override
+    public TOptionalDouble average() {
+        SumConsumer consumer = new SumConsumer();
+        forEachOrdered(consumer);
+        return consumer.count > 0
+                ? TOptionalDouble.of((double) consumer.sum / consumer.count)
+                : TOptionalDouble.empty();
+    }
+
+    @Override
+    public boolean anyMatch(TIntPredicate predicate) {
+        return next(e -> !predicate.test(e));
+    }
+
+    @Override
+    public boolean allMatch(TIntPredicate predicate) {
+        return !next(predicate);
+    }
+
+    @Override
+    public boolean noneMatch(TIntPredicate predicate) {
+        return !anyMatch(predicate);
+    }
+
+    @Override
+    public TOptionalInt findFirst() {
+        FindFirstConsumer consumer = new FindFirstConsumer();
+        next(consumer);
+        return consumer.found ? TOptionalInt.of(consumer.result) : TOptionalInt.empty();
+    }
+
+    @Override
+    public TOptionalInt findAny() {
+        return findFirst();
+    }
+
+    @Override
+    public TPrimitiveIterator.OfInt iterator() {
+        return new TPrimitiveIterator.OfInt() {
+            int lookahead;
+            boolean hasLookahead;
+            boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                while (!hasLookahead && !exhausted) {
+                    exhausted = !TSimpleIntStreamImpl.this.next(e -> {
+                        lookahead = e;
+                        hasLookahead = true;
+                        return false;
+                    });
+                }
+                return hasLookahead;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new TNoSuchElementException();
+                }
+                hasLookahead = false;
+                return lookahead;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public boolean isParallel() {
+        return false;
+    }
+
+    @Override
+    public TIntStream sequential() {
+        return this;
+    }
+
+    @Override
+    public TIntStream parallel() {
+        return this;
+    }
+
+    @Override
+    public TIntStream unordered() {
+        return this;
+    }
+
+    @Override
+    public TIntStream onClose(Runnable closeHandler) {
+        closeHandlers.add(closeHandler);
+        return this;
+    }
+
+    @Override
+    public void close() {
+        closeHandlers.close();
+    }
+
+    private static class ArrayCollector implements TIntConsumer {
+        int[] data = new int[16];
+        int size;
+
+        @Override
+        public void accept(int value) {
+            if (size == data.length) {
+                data = TArrays.copyOf(data, data.length * 2);
+            }
+            data[size++] = value;
+        }
+    }
+
+    private static class ReducingConsumer implements TIntConsumer {
+        int result;
+        boolean empty;
+        private TIntBinaryOperator accumulator;
+
+        ReducingConsumer(TIntBinaryOperator accumulator) {
+            this.accumulator = accumulator;
+        }
+
+        @Override
+        public void accept(int value) {
+            if (empty) {
+                result = value;
+                empty = false;
+            } else {
+                result = accumulator.applyAsInt(result, value);
+            }
+        }
+    }
+
+    private static class SumConsumer implements TIntConsumer {
+        long sum;
+        long count;
+
+        @Override
+        public void accept(int value) {
+            sum += value;
+            count++;
+        }
+    }
+
+    private static class FindFirstConsumer implements TIntPredicate {
+        int result;
+        boolean found;
+
+        @Override
+        public boolean test(int value) {
+            result = value;
+            found = true;
+            return false;
+        }
+    }
+}
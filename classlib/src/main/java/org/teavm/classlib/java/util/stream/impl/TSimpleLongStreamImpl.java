@@ -0,0 +1,604 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.stream.impl;
+
+import org.teavm.classlib.java.util.TArrays;
+import org.teavm.classlib.java.util.THashSet;
+import org.teavm.classlib.java.util.TNoSuchElementException;
+import org.teavm.classlib.java.util.TOptionalDouble;
+import org.teavm.classlib.java.util.TOptionalLong;
+import org.teavm.classlib.java.util.TPrimitiveIterator;
+import org.teavm.classlib.java.util.TSet;
+import org.teavm.classlib.java.util.function.TBiConsumer;
+import org.teavm.classlib.java.util.function.TDoublePredicate;
+import org.teavm.classlib.java.util.function.TIntPredicate;
+import org.teavm.classlib.java.util.function.TLongBinaryOperator;
+import org.teavm.classlib.java.util.function.TLongConsumer;
+import org.teavm.classlib.java.util.function.TLongFunction;
+import org.teavm.classlib.java.util.function.TLongPredicate;
+import org.teavm.classlib.java.util.function.TLongSupplier;
+import org.teavm.classlib.java.util.function.TLongToDoubleFunction;
+import org.teavm.classlib.java.util.function.TLongToIntFunction;
+import org.teavm.classlib.java.util.function.TLongUnaryOperator;
+import org.teavm.classlib.java.util.function.TObjLongConsumer;
+import org.teavm.classlib.java.util.function.TPredicate;
+import org.teavm.classlib.java.util.function.TSupplier;
+import org.teavm.classlib.java.util.stream.TDoubleStream;
+import org.teavm.classlib.java.util.stream.TIntStream;
+import org.teavm.classlib.java.util.stream.TLongStream;
+import org.teavm.classlib.java.util.stream.TStream;
+
+public abstract class TSimpleLongStreamImpl implements TLongStream {
+    final TCloseHandlers closeHandlers;
+
+    protected TSimpleLongStreamImpl() {
+        this(new TCloseHandlers());
+    }
+
+    protected TSimpleLongStreamImpl(TCloseHandlers closeHandlers) {
+        this.closeHandlers = closeHandlers;
+    }
+
+    /**
+     * Feeds elements of this stream to the consumer until either the consumer returns {@code false}
+     * or the stream is exhausted.
+     *
+     * @return {@code true} if the consumer requested to stop, {@code false} if the stream got exhausted.
+     * @see TSimpleStreamImpl#next(TPredicate)
+     */
+    public abstract boolean next(TLongPredicate consumer);
+
+    public static TSimpleLongStreamImpl empty() {
+        return new TSimpleLongStreamImpl() {
+            @Override
+            public boolean next(TLongPredicate consumer) {
+                return false;
+            }
+        };
+    }
+
+    public static TSimpleLongStreamImpl ofArray(long[] array, int start, int end) {
+        return new TSimpleLongStreamImpl() {
+            int index = start;
+
+            @Override
+            public boolean next(TLongPredicate consumer) {
+                while (index < end) {
+                    if (!consumer.test(array[index++])) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    public static TSimpleLongStreamImpl range(long startInclusive, long endExclusive) {
+        return new TSimpleLongStreamImpl() {
+            long current = startInclusive;
+
+            @Override
+            public boolean next(TLongPredicate consumer) {
+                while (current < endExclusive) {
+                    if (!consumer.test(current++)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    public static TSimpleLongStreamImpl rangeClosed(long startInclusive, long endInclusive) {
+        if (startInclusive > endInclusive) {
+            return empty();
+        }
+        return new TSimpleLongStreamImpl() {
+            long current = startInclusive;
+            boolean done;
+
+            @Override
+            public boolean next(TLongPredicate consumer) {
+                while (!done) {
+                    long value = current;
+                    if (value == endInclusive) {
+                        done = true;
+                    } else {
+                        current++;
+                    }
+                    if (!consumer.test(value)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    public static TSimpleLongStreamImpl iterate(long seed, TLongUnaryOperator f) {
+        return new TSimpleLongStreamImpl() {
+            long value = seed;
+            boolean started;
+
+            @Override
+            public boolean next(TLongPredicate consumer) {
+                while (true) {
+                    if (started) {
+                        value = f.applyAsLong(value);
+                    }
+                    started = true;
+                    if (!consumer.test(value)) {
+                        return true;
+                    }
+                }
+            }
+        };
+    }
+
+    public static TSimpleLongStreamImpl generate(TLongSupplier s) {
+        return new TSimpleLongStreamImpl() {
+            @Override
+            public boolean next(TLongPredicate consumer) {
+                while (consumer.test(s.getAsLong())) {
+                    // continue until consumer is satisfied
+                }
+                return true;
+            }
+        };
+    }
+
+    public static TSimpleLongStreamImpl concat(TLongStream a, TLongStream b) {
+        TSimpleLongStreamImpl first = (TSimpleLongStreamImpl) a;
+        TSimpleLongStreamImpl second = (TSimpleLongStreamImpl) b;
+        TCloseHandlers closeHandlers = new TCloseHandlers();
+        closeHandlers.add(first::close);
+        closeHandlers.add(second::close);
+        return new TSimpleLongStreamImpl(closeHandlers) {
+            boolean firstExhausted;
+
+            @Override
+            public boolean next(TLongPredicate consumer) {
+                if (!firstExhausted) {
+                    if (first.next(consumer)) {
+                        return true;
+                    }
+                    firstExhausted = true;
+                }
+                return second.next(consumer);
+            }
+        };
+    }
+
+    static TSimpleLongStreamImpl flatten(TStream<? extends TLongStream> streams) {
+        TSimpleStreamImpl<? extends TLongStream> source = (TSimpleStreamImpl<? extends TLongStream>) streams;
+        return new TSimpleLongStreamImpl(source.closeHandlers) {
+            TSimpleLongStreamImpl current;
+
+            @Override
+            public boolean next(TLongPredicate consumer) {
+                while (true) {
+                    if (current != null) {
+                        if (current.next(consumer)) {
+                            return true;
+                        }
+                        current.close();
+                        current = null;
+                    }
+                    boolean hasMore = source.next(e -> {
+                        current = (TSimpleLongStreamImpl) e;
+                        return current == null;
+                    });
+                    if (!hasMore) {
+                        return false;
+                    }
+                }
+            }
+        };
+    }
+
+    @Override
+    public TLongStream filter(TLongPredicate predicate) {
+        return new TSimpleLongStreamImpl(closeHandlers) {
+            @Override
+            public boolean next(TLongPredicate consumer) {
+                return TSimpleLongStreamImpl.this.next(e -> !predicate.test(e) || consumer.test(e));
+            }
+        };
+    }
+
+    @Override
+    public TLongStream map(TLongUnaryOperator mapper) {
+        return new TSimpleLongStreamImpl(closeHandlers) {
+            @Override
+            public boolean next(TLongPredicate consumer) {
+                return TSimpleLongStreamImpl.this.next(e -> consumer.test(mapper.applyAsLong(e)));
+            }
+        };
+    }
+
+    @Override
+    public <U> TStream<U> mapToObj(TLongFunction<? extends U> mapper) {
+        return new TSimpleStreamImpl<U>(closeHandlers) {
+            @Override
+            public boolean next(TPredicate<? super U> consumer) {
+                return TSimpleLongStreamImpl.this.next(e -> consumer.test(mapper.apply(e)));
+            }
+        };
+    }
+
+    @Override
+    public TIntStream mapToInt(TLongToIntFunction mapper) {
+        return new TSimpleIntStreamImpl(closeHandlers) {
+            @Override
+            public boolean next(TIntPredicate consumer) {
+                return TSimpleLongStreamImpl.this.next(e -> consumer.test(mapper.applyAsInt(e)));
+            }
+        };
+    }
+
+    @Override
+    public TDoubleStream mapToDouble(TLongToDoubleFunction mapper) {
+        return new TSimpleDoubleStreamImpl(closeHandlers) {
+            @Override
+            public boolean next(TDoublePredicate consumer) {
+                return TSimpleLongStreamImpl.this.next(e -> consumer.test(mapper.applyAsDouble(e)));
+            }
+        };
+    }
+
+    @Override
+    public TDoubleStream asDoubleStream() {
+        return new TSimpleDoubleStreamImpl(closeHandlers) {
+            @Override
+            public boolean next(TDoublePredicate consumer) {
+                return TSimpleLongStreamImpl.this.next(e -> consumer.test(e));
+            }
+        };
+    }
+
+    @Override
+    public TStream<Long> boxed() {
+        return mapToObj(Long::valueOf);
+    }
+
+    @Override
+    public TLongStream flatMap(TLongFunction<? extends TLongStream> mapper) {
+        return flatten(mapToObj(mapper));
+    }
+
+    @Override
+    public TLongStream distinct() {
+        return new TSimpleLongStreamImpl(closeHandlers) {
+            TSet<Long> seen = new THashSet<>();
+
+            @Override
+            public boolean next(TLongPredicate consumer) {
+                return TSimpleLongStreamImpl.this.next(e -> !seen.add(e) || consumer.test(e));
+            }
+        };
+    }
+
+    @Override
+    public TLongStream sorted() {
+        return new TSimpleLongStreamImpl(closeHandlers) {
+            long[] array;
+            int index;
+
+            @Override
+            public boolean next(TLongPredicate consumer) {
+                if (array == null) {
+                    array = TSimpleLongStreamImpl.this.toArray();
+                    TArrays.sort(array);
+                }
+                while (index < array.length) {
+                    if (!consumer.test(array[index++])) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public TLongStream peek(TLongConsumer action) {
+        return new TSimpleLongStreamImpl(closeHandlers) {
+            @Override
+            public boolean next(TLongPredicate consumer) {
+                return TSimpleLongStreamImpl.this.next(e -> {
+                    action.accept(e);
+                    return consumer.test(e);
+                });
+            }
+        };
+    }
+
+    @Override
+    public TLongStream limit(long maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException();
+        }
+        return new TSimpleLongStreamImpl(closeHandlers) {
+            long remaining = maxSize;
+            boolean stopped;
+
+            @Override
+            public boolean next(TLongPredicate consumer) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                stopped = false;
+                TSimpleLongStreamImpl.this.next(e -> {
+                    --remaining;
+                    if (!consumer.test(e)) {
+                        stopped = true;
+                        return false;
+                    }
+                    return remaining > 0;
+                });
+                return stopped;
+            }
+        };
+    }
+
+    @Override
+    public TLongStream skip(long n) {
+        if (n < 0) {
+            throw new IllegalArgumentException();
+        }
+        return new TSimpleLongStreamImpl(closeHandlers) {
+            long remaining = n;
+
+            @Override
+            public boolean next(TLongPredicate consumer) {
+                return TSimpleLongStreamImpl.this.next(e -> {
+                    if (remaining > 0) {
+                        remaining--;
+                        return true;
+                    }
+                    return consumer.test(e);
+                });
+            }
+        };
+    }
+
+    @Override
+    public void forEach(TLongConsumer action) {
+        forEachOrdered(action);
+    }
+
+    @Override
+    public void forEachOrdered(TLongConsumer action) {
+        while (next(e -> {
+            action.accept(e);
+            return true;
+        })) {
+            // continue until stream is exhausted
+        }
+    }
+
+    @Override
+    public long[] toArray() {
+        ArrayCollector collector = new ArrayCollector();
+        forEachOrdered(collector);
+        return TArrays.copyOf(collector.data, collector.size);
+    }
+
+    @Override
+    public long reduce(long identity, TLongBinaryOperator accumulator) {
+        ReducingConsumer consumer = new ReducingConsumer(accumulator);
+        consumer.result = identity;
+        forEachOrdered(consumer);
+        return consumer.result;
+    }
+
+    @Override
+    public TOptionalLong reduce(TLongBinaryOperator op) {
+        ReducingConsumer consumer = new ReducingConsumer(op);
+        consumer.empty = true;
+        forEachOrdered(consumer);
+        return consumer.empty ? TOptionalLong.empty() : TOptionalLong.of(consumer.result);
+    }
+
+    @Override
+    public <R> R collect(TSupplier<R> supplier, TObjLongConsumer<R> accumulator, TBiConsumer<R, R> combiner) {
+        R collection = supplier.get();
+        forEachOrdered(e -> accumulator.accept(collection, e));
+        return collection;
+    }
+
+    @Override
+    public long sum() {
+        SumConsumer consumer = new SumConsumer();
+        forEachOrdered(consumer);
+        return consumer.sum;
+    }
+
+    @Override
+    public TOptionalLong min() {
+        return reduce(Math::min);
+    }
+
+    @Override
+    public TOptionalLong max() {
+        return reduce(Math::max);
+    }
+
+    @Override
+    public long count() {
+        SumConsumer consumer = new SumConsumer();
+        forEachOrdered(consumer);
+        return consumer.count;
+    }
+
+    @Override
+    public TOptionalDouble average() {
+        SumConsumer consumer = new SumConsumer();
+        forEachOrdered(consumer);
+        return consumer.count > 0
+                ? TOptionalDouble.of((double) consumer.sum / consumer.count)
+                : TOptionalDouble.empty();
+    }
+
+    @Override
+    public boolean anyMatch(TLongPredicate predicate) {
+        return next(e -> !predicate.test(e));
+    }
+
+    @Override
+    public boolean allMatch(TLongPredicate predicate) {
+        return !next(predicate);
+    }
+
+    @Override
+    public boolean noneMatch(TLongPredicate predicate) {
+        return !anyMatch(predicate);
+    }
+
+    @Override
+    public TOptionalLong findFirst() {
+        FindFirstConsumer consumer = new FindFirstConsumer();
+        next(consumer);
+        return consumer.found ? TOptionalLong.of(consumer.result) : TOptionalLong.empty();
+    }
+
+    @Override
+    public TOptionalLong findAny() {
+        return findFirst();
+    }
+
+    @Override
+    public TPrimitiveIterator.OfLong iterator() {
+        return new TPrimitiveIterator.OfLong() {
+            long lookahead;
+            boolean hasLookahead;
+            boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                while (!hasLookahead && !exhausted) {
+                    exhausted = !TSimpleLongStreamImpl.this.next(e -> {
+                        lookahead = e;
+                        hasLookahead = true;
+                        return false;
+                    });
+                }
+                return hasLookahead;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new TNoSuchElementException();
+                }
+                hasLookahead = false;
+                return lookahead;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public boolean isParallel() {
+        return false;
+    }
+
+    @Override
+    public TLongStream sequential() {
+        return this;
+    }
+
+    @Override
+    public TLongStream parallel() {
+        return this;
+    }
+
+    @Override
+    public TLongStream unordered() {
+        return this;
+    }
+
+    @Override
+    public TLongStream onClose(Runnable closeHandler) {
+        closeHandlers.add(closeHandler);
+        return this;
+    }
+
+    @Override
+    public void close() {
+        closeHandlers.close();
+    }
+
+    private static class ArrayCollector implements TLongConsumer {
+        long[] data = new long[16];
+        int size;
+
+        @Override
+        public void accept(long value) {
+            if (size == data.length) {
+                data = TArrays.copyOf(data, data.length * 2);
+            }
+            data[size++] = value;
+        }
+    }
+
+    private static class ReducingConsumer implements TLongConsumer {
+        long result;
+        boolean empty;
+        private TLongBinaryOperator accumulator;
+
+        ReducingConsumer(TLongBinaryOperator accumulator) {
+            this.accumulator = accumulator;
+        }
+
+        @Override
+        public void accept(long value) {
+            if (empty) {
+                result = value;
+                empty = false;
+            } else {
+                result = accumulator.applyAsLong(result, value);
+            }
+        }
+    }
+
+    private static class SumConsumer implements TLongConsumer {
+        long sum;
+        long count;
+
+        @Override
+        public void accept(long value) {
+            sum += value;
+            count++;
+        }
+    }
+
+    private static class FindFirstConsumer implements TLongPredicate {
+        long result;
+        boolean found;
+
+        @Override
+        public boolean test(long value) {
+            result = value;
+            found = true;
+            return false;
+        }
+    }
+}
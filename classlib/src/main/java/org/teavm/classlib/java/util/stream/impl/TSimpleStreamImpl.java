@@ -0,0 +1,644 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.stream.impl;
+
+import org.teavm.classlib.java.util.TArrays;
+import org.teavm.classlib.java.util.TCollection;
+import org.teavm.classlib.java.util.TComparator;
+import org.teavm.classlib.java.util.THashSet;
+import org.teavm.classlib.java.util.TIterator;
+import org.teavm.classlib.java.util.TList;
+import org.teavm.classlib.java.util.TNoSuchElementException;
+import org.teavm.classlib.java.util.TOptional;
+import org.teavm.classlib.java.util.TSet;
+import org.teavm.classlib.java.util.function.TBiConsumer;
+import org.teavm.classlib.java.util.function.TBiFunction;
+import org.teavm.classlib.java.util.function.TBinaryOperator;
+import org.teavm.classlib.java.util.function.TConsumer;
+import org.teavm.classlib.java.util.function.TDoublePredicate;
+import org.teavm.classlib.java.util.function.TFunction;
+import org.teavm.classlib.java.util.function.TIntFunction;
+import org.teavm.classlib.java.util.function.TIntPredicate;
+import org.teavm.classlib.java.util.function.TLongPredicate;
+import org.teavm.classlib.java.util.function.TPredicate;
+import org.teavm.classlib.java.util.function.TSupplier;
+import org.teavm.classlib.java.util.function.TToDoubleFunction;
+import org.teavm.classlib.java.util.function.TToIntFunction;
+import org.teavm.classlib.java.util.function.TToLongFunction;
+import org.teavm.classlib.java.util.function.TUnaryOperator;
+import org.teavm.classlib.java.util.stream.TCollector;
+import org.teavm.classlib.java.util.stream.TDoubleStream;
+import org.teavm.classlib.java.util.stream.TIntStream;
+import org.teavm.classlib.java.util.stream.TLongStream;
+import org.teavm.classlib.java.util.stream.TStream;
+
+/**
+ * <p>Sequential push-style implementation of {@link TStream}.</p>
+ *
+ * <p>Each stage implements the only method {@link #next(TPredicate)}, which feeds elements to a consumer.
+ * Intermediate stages wrap the consumer of the downstream stage and pass it to the upstream stage, so the whole
+ * pipeline runs as a single loop in its source, without intermediate collections, iterators
+ * or per-element allocations.</p>
+ */
+public abstract class TSimpleStreamImpl<T> implements TStream<T> {
+    final TCloseHandlers closeHandlers;
+
+    protected TSimpleStreamImpl() {
+        this(new TCloseHandlers());
+    }
+
+    protected TSimpleStreamImpl(TCloseHandlers closeHandlers) {
+        this.closeHandlers = closeHandlers;
+    }
+
+    /**
+     * Feeds elements of this stream to the consumer until either the consumer returns {@code false}
+     * or the stream is exhausted. Subsequent call continues with the element that follows the last fed one.
+     *
+     * @return {@code true} if the consumer requested to stop, {@code false} if the stream got exhausted.
+     */
+    public abstract boolean next(TPredicate<? super T> consumer);
+
+    public static <T> TSimpleStreamImpl<T> empty() {
+        return new TSimpleStreamImpl<T>() {
+            @Override
+            public boolean next(TPredicate<? super T> consumer) {
+                return false;
+            }
+        };
+    }
+
+    public static <T> TSimpleStreamImpl<T> ofSingle(T value) {
+        return new TSimpleStreamImpl<T>() {
+            boolean consumed;
+
+            @Override
+            public boolean next(TPredicate<? super T> consumer) {
+                if (consumed) {
+                    return false;
+                }
+                consumed = true;
+                return !consumer.test(value);
+            }
+        };
+    }
+
+    public static <T> TSimpleStreamImpl<T> ofArray(T[] array, int start, int end) {
+        return new TSimpleStreamImpl<T>() {
+            int index = start;
+
+            @Override
+            public boolean next(TPredicate<? super T> consumer) {
+                while (index < end) {
+                    if (!consumer.test(array[index++])) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Creates a stream over a random access list. Elements are read by index, which is cheaper than iteration.
+     */
+    public static <T> TSimpleStreamImpl<T> ofList(TList<T> list) {
+        return new TSimpleStreamImpl<T>() {
+            int index;
+
+            @Override
+            public boolean next(TPredicate<? super T> consumer) {
+                while (index < list.size()) {
+                    if (!consumer.test(list.get(index++))) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    public static <T> TSimpleStreamImpl<T> ofCollection(TCollection<T> collection) {
+        return new TSimpleStreamImpl<T>() {
+            TIterator<T> iterator;
+
+            @Override
+            public boolean next(TPredicate<? super T> consumer) {
+                if (iterator == null) {
+                    iterator = collection.iterator();
+                }
+                while (iterator.hasNext()) {
+                    if (!consumer.test(iterator.next())) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    public static <T> TSimpleStreamImpl<T> iterate(T seed, TUnaryOperator<T> f) {
+        return new TSimpleStreamImpl<T>() {
+            T value = seed;
+            boolean started;
+
+            @Override
+            public boolean next(TPredicate<? super T> consumer) {
+                while (true) {
+                    if (started) {
+                        value = f.apply(value);
+                    }
+                    started = true;
+                    if (!consumer.test(value)) {
+                        return true;
+                    }
+                }
+            }
+        };
+    }
+
+    public static <T> TSimpleStreamImpl<T> generate(TSupplier<T> s) {
+        return new TSimpleStreamImpl<T>() {
+            @Override
+            public boolean next(TPredicate<? super T> consumer) {
+                while (consumer.test(s.get())) {
+                    // continue until consumer is satisfied
+                }
+                return true;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> TSimpleStreamImpl<T> concat(TStream<? extends T> a, TStream<? extends T> b) {
+        TSimpleStreamImpl<T> first = (TSimpleStreamImpl<T>) a;
+        TSimpleStreamImpl<T> second = (TSimpleStreamImpl<T>) b;
+        TCloseHandlers closeHandlers = new TCloseHandlers();
+        closeHandlers.add(first::close);
+        closeHandlers.add(second::close);
+        return new TSimpleStreamImpl<T>(closeHandlers) {
+            boolean firstExhausted;
+
+            @Override
+            public boolean next(TPredicate<? super T> consumer) {
+                if (!firstExhausted) {
+                    if (first.next(consumer)) {
+                        return true;
+                    }
+                    firstExhausted = true;
+                }
+                return second.next(consumer);
+            }
+        };
+    }
+
+    @Override
+    public TStream<T> filter(TPredicate<? super T> predicate) {
+        return new TSimpleStreamImpl<T>(closeHandlers) {
+            @Override
+            public boolean next(TPredicate<? super T> consumer) {
+                return TSimpleStreamImpl.this.next(e -> !predicate.test(e) || consumer.test(e));
+            }
+        };
+    }
+
+    @Override
+    public <R> TStream<R> map(TFunction<? super T, ? extends R> mapper) {
+        return new TSimpleStreamImpl<R>(closeHandlers) {
+            @Override
+            public boolean next(TPredicate<? super R> consumer) {
+                return TSimpleStreamImpl.this.next(e -> consumer.test(mapper.apply(e)));
+            }
+        };
+    }
+
+    @Override
+    public TIntStream mapToInt(TToIntFunction<? super T> mapper) {
+        return new TSimpleIntStreamImpl(closeHandlers) {
+            @Override
+            public boolean next(TIntPredicate consumer) {
+                return TSimpleStreamImpl.this.next(e -> consumer.test(mapper.applyAsInt(e)));
+            }
+        };
+    }
+
+    @Override
+    public TLongStream mapToLong(TToLongFunction<? super T> mapper) {
+        return new TSimpleLongStreamImpl(closeHandlers) {
+            @Override
+            public boolean next(TLongPredicate consumer) {
+                return TSimpleStreamImpl.this.next(e -> consumer.test(mapper.applyAsLong(e)));
+            }
+        };
+    }
+
+    @Override
+    public TDoubleStream mapToDouble(TToDoubleFunction<? super T> mapper) {
+        return new TSimpleDoubleStreamImpl(closeHandlers) {
+            @Override
+            public boolean next(TDoublePredicate consumer) {
+                return TSimpleStreamImpl.this.next(e -> consumer.test(mapper.applyAsDouble(e)));
+            }
+        };
+    }
+
+    @Override
+    public <R> TStream<R> flatMap(TFunction<? super T, ? extends TStream<? extends R>> mapper) {
+        return new TSimpleStreamImpl<R>(closeHandlers) {
+            TSimpleStreamImpl<? extends R> current;
+
+            @Override
+            public boolean next(TPredicate<? super R> consumer) {
+                while (true) {
+                    if (current != null) {
+                        if (current.next(consumer)) {
+                            return true;
+                        }
+                        current.close();
+                        current = null;
+                    }
+                    boolean hasMore = TSimpleStreamImpl.this.next(e -> {
+                        current = (TSimpleStreamImpl<? extends R>) mapper.apply(e);
+                        return current == null;
+                    });
+                    if (!hasMore) {
+                        return false;
+                    }
+                }
+            }
+        };
+    }
+
+    @Override
+    public TIntStream flatMapToInt(TFunction<? super T, ? extends TIntStream> mapper) {
+        return TSimpleIntStreamImpl.flatten(map(mapper));
+    }
+
+    @Override
+    public TLongStream flatMapToLong(TFunction<? super T, ? extends TLongStream> mapper) {
+        return TSimpleLongStreamImpl.flatten(map(mapper));
+    }
+
+    @Override
+    public TDoubleStream flatMapToDouble(TFunction<? super T, ? extends TDoubleStream> mapper) {
+        return TSimpleDoubleStreamImpl.flatten(map(mapper));
+    }
+
+    @Override
+    public TStream<T> distinct() {
+        return new TSimpleStreamImpl<T>(closeHandlers) {
+            TSet<T> seen = new THashSet<>();
+
+            @Override
+            public boolean next(TPredicate<? super T> consumer) {
+                return TSimpleStreamImpl.this.next(e -> !seen.add(e) || consumer.test(e));
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public TStream<T> sorted() {
+        return sorted((TComparator<? super T>) null);
+    }
+
+    @Override
+    public TStream<T> sorted(TComparator<? super T> comparator) {
+        return new TSimpleStreamImpl<T>(closeHandlers) {
+            T[] array;
+            int index;
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean next(TPredicate<? super T> consumer) {
+                if (array == null) {
+                    array = (T[]) TSimpleStreamImpl.this.toArray();
+                    if (comparator != null) {
+                        TArrays.sort(array, comparator);
+                    } else {
+                        TArrays.sort(array);
+                    }
+                }
+                while (index < array.length) {
+                    if (!consumer.test(array[index++])) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public TStream<T> peek(TConsumer<? super T> action) {
+        return new TSimpleStreamImpl<T>(closeHandlers) {
+            @Override
+            public boolean next(TPredicate<? super T> consumer) {
+                return TSimpleStreamImpl.this.next(e -> {
+                    action.accept(e);
+                    return consumer.test(e);
+                });
+            }
+        };
+    }
+
+    @Override
+    public TStream<T> limit(long maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException();
+        }
+        return new TSimpleStreamImpl<T>(closeHandlers) {
+            long remaining = maxSize;
+            boolean stopped;
+
+            @Override
+            public boolean next(TPredicate<? super T> consumer) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                stopped = false;
+                TSimpleStreamImpl.this.next(e -> {
+                    --remaining;
+                    if (!consumer.test(e)) {
+                        stopped = true;
+                        return false;
+                    }
+                    return remaining > 0;
+                });
+                return stopped;
+            }
+        };
+    }
+
+    @Override
+    public TStream<T> skip(long n) {
+        if (n < 0) {
+            throw new IllegalArgumentException();
+        }
+        return new TSimpleStreamImpl<T>(closeHandlers) {
+            long remaining = n;
+
+            @Override
+            public boolean next(TPredicate<? super T> consumer) {
+                return TSimpleStreamImpl.this.next(e -> {
+                    if (remaining > 0) {
+                        remaining--;
+                        return true;
+                    }
+                    return consumer.test(e);
+                });
+            }
+        };
+    }
+
+    @Override
+    public void forEach(TConsumer<? super T> action) {
+        forEachOrdered(action);
+    }
+
+    @Override
+    public void forEachOrdered(TConsumer<? super T> action) {
+        while (next(e -> {
+            action.accept(e);
+            return true;
+        })) {
+            // continue until stream is exhausted
+        }
+    }
+
+    @Override
+    public Object[] toArray() {
+        return toArray(Object[]::new);
+    }
+
+    @Override
+    public <A> A[] toArray(TIntFunction<A[]> generator) {
+        ArrayCollector<T> collector = new ArrayCollector<>();
+        forEachOrdered(collector);
+        A[] result = generator.apply(collector.size);
+        System.arraycopy(collector.data, 0, result, 0, collector.size);
+        return result;
+    }
+
+    @Override
+    public T reduce(T identity, TBinaryOperator<T> accumulator) {
+        ReducingConsumer<T, T> consumer = new ReducingConsumer<>(identity, accumulator);
+        forEachOrdered(consumer);
+        return consumer.result;
+    }
+
+    @Override
+    public TOptional<T> reduce(TBinaryOperator<T> accumulator) {
+        ReducingConsumer<T, T> consumer = new ReducingConsumer<>(null, accumulator);
+        consumer.empty = true;
+        forEachOrdered(consumer);
+        return consumer.empty ? TOptional.empty() : TOptional.of(consumer.result);
+    }
+
+    @Override
+    public <U> U reduce(U identity, TBiFunction<U, ? super T, U> accumulator, TBinaryOperator<U> combiner) {
+        ReducingConsumer<T, U> consumer = new ReducingConsumer<>(identity, accumulator);
+        forEachOrdered(consumer);
+        return consumer.result;
+    }
+
+    @Override
+    public <R> R collect(TSupplier<R> supplier, TBiConsumer<R, ? super T> accumulator,
+            TBiConsumer<R, R> combiner) {
+        R collection = supplier.get();
+        forEachOrdered(e -> accumulator.accept(collection, e));
+        return collection;
+    }
+
+    @Override
+    public <R, A> R collect(TCollector<? super T, A, R> collector) {
+        A collection = collector.supplier().get();
+        TBiConsumer<A, ? super T> accumulator = collector.accumulator();
+        forEachOrdered(e -> accumulator.accept(collection, e));
+        return collector.finisher().apply(collection);
+    }
+
+    @Override
+    public TOptional<T> min(TComparator<? super T> comparator) {
+        return reduce((a, b) -> comparator.compare(a, b) <= 0 ? a : b);
+    }
+
+    @Override
+    public TOptional<T> max(TComparator<? super T> comparator) {
+        return reduce((a, b) -> comparator.compare(a, b) >= 0 ? a : b);
+    }
+
+    @Override
+    public long count() {
+        CountingConsumer<T> consumer = new CountingConsumer<>();
+        while (next(consumer)) {
+            // continue until stream is exhausted
+        }
+        return consumer.count;
+    }
+
+    @Override
+    public boolean anyMatch(TPredicate<? super T> predicate) {
+        return next(e -> !predicate.test(e));
+    }
+
+    @Override
+    public boolean allMatch(TPredicate<? super T> predicate) {
+        return !next(predicate);
+    }
+
+    @Override
+    public boolean noneMatch(TPredicate<? super T> predicate) {
+        return !anyMatch(predicate);
+    }
+
+    @Override
+    public TOptional<T> findFirst() {
+        FindFirstConsumer<T> consumer = new FindFirstConsumer<>();
+        next(consumer);
+        return consumer.found ? TOptional.of(consumer.result) : TOptional.empty();
+    }
+
+    @Override
+    public TOptional<T> findAny() {
+        return findFirst();
+    }
+
+    @Override
+    public TIterator<T> iterator() {
+        return new TIterator<T>() {
+            T lookahead;
+            boolean hasLookahead;
+            boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                while (!hasLookahead && !exhausted) {
+                    exhausted = !TSimpleStreamImpl.this.next(e -> {
+                        lookahead = e;
+                        hasLookahead = true;
+                        return false;
+                    });
+                }
+                return hasLookahead;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new TNoSuchElementException();
+                }
+                T result = lookahead;
+                lookahead = null;
+                hasLookahead = false;
+                return result;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public boolean isParallel() {
+        return false;
+    }
+
+    @Override
+    public TStream<T> sequential() {
+        return this;
+    }
+
+    @Override
+    public TStream<T> parallel() {
+        return this;
+    }
+
+    @Override
+    public TStream<T> unordered() {
+        return this;
+    }
+
+    @Override
+    public TStream<T> onClose(Runnable closeHandler) {
+        closeHandlers.add(closeHandler);
+        return this;
+    }
+
+    @Override
+    public void close() {
+        closeHandlers.close();
+    }
+
+    private static class ArrayCollector<T> implements TConsumer<T> {
+        Object[] data = new Object[16];
+        int size;
+
+        @Override
+        public void accept(T t) {
+            if (size == data.length) {
+                data = TArrays.copyOf(data, data.length * 2);
+            }
+            data[size++] = t;
+        }
+    }
+
+    private static class ReducingConsumer<T, U> implements TConsumer<T> {
+        U result;
+        boolean empty;
+        private TBiFunction<U, ? super T, U> accumulator;
+
+        ReducingConsumer(U identity, TBiFunction<U, ? super T, U> accumulator) {
+            this.result = identity;
+            this.accumulator = accumulator;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void accept(T t) {
+            if (empty) {
+                result = (U) t;
+                empty = false;
+            } else {
+                result = accumulator.apply(result, t);
+            }
+        }
+    }
+
+    private static class CountingConsumer<T> implements TPredicate<T> {
+        long count;
+
+        @Override
+        public boolean test(T t) {
+            count++;
+            return true;
+        }
+    }
+
+    private static class FindFirstConsumer<T> implements TPredicate<T> {
+        T result;
+        boolean found;
+
+        @Override
+        public boolean test(T t) {
+            result = t;
+            found = true;
+            return false;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.teavm.model.MethodReference;
 public class RegularMethodNode extends MethodNode {
     private Statement body;
     private List<VariableNode> variables = new ArrayList<>();
+    private boolean async;
 
     public RegularMethodNode(MethodReference reference) {
         super(reference);
@@ -47,6 +48,10 @@ public class RegularMethodNode extends MethodNode {
 
     @Override
     public boolean isAsync() {
-        return false;
+        return async;
+    }
+
+    public void setAsync(boolean async) {
+        this.async = async;
     }
 }
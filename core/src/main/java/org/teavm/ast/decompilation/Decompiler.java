@@ -88,6 +88,7 @@ public class Decompiler {
     private MethodNodeCache regularMethodCache;
     private Set<MethodReference> asyncMethods;
     private Set<MethodReference> splitMethods = new HashSet<>();
+    private boolean asyncSplitting = true;
     private List<TryCatchBookmark> tryCatchBookmarks = new ArrayList<>();
     private Deque<Block> stack;
     private Program program;
@@ -109,6 +110,19 @@ public class Decompiler {
         this.regularMethodCache = regularMethodCache;
     }
 
+    public boolean isAsyncSplitting() {
+        return asyncSplitting;
+    }
+
+    /**
+     * Specifies whether async methods should be split into parts at each call that can suspend.
+     * When splitting is disabled, async methods are decompiled as regular methods marked as async,
+     * so that a backend can rely on the suspension mechanism of the target platform.
+     */
+    public void setAsyncSplitting(boolean asyncSplitting) {
+        this.asyncSplitting = asyncSplitting;
+    }
+
     public int getGraphSize() {
         return this.graph.size();
     }
@@ -211,8 +225,16 @@ public class Decompiler {
     }
 
     public MethodNode decompile(MethodHolder method) {
-        return method.getModifiers().contains(ElementModifier.NATIVE) ? decompileNative(method)
-                : !asyncMethods.contains(method.getReference()) ? decompileRegular(method) : decompileAsync(method);
+        if (method.getModifiers().contains(ElementModifier.NATIVE)) {
+            return decompileNative(method);
+        }
+        boolean async = asyncMethods.contains(method.getReference());
+        if (async && asyncSplitting) {
+            return decompileAsync(method);
+        }
+        RegularMethodNode node = decompileRegular(method);
+        node.setAsync(async);
+        return node;
     }
 
     public NativeMethodNode decompileNative(MethodHolder method) {
@@ -81,6 +81,8 @@ import org.teavm.vm.spi.TeaVMHostExtension;
 public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
     private TeaVMTargetController controller;
     private boolean minifying = true;
+    private boolean asyncGenerators;
+    private boolean methodProfiling;
     private final Map<MethodReference, Generator> methodGenerators = new HashMap<>();
     private final Map<MethodReference, Injector> methodInjectors = new HashMap<>();
     private final List<RendererListener> rendererListeners = new ArrayList<>();
@@ -141,6 +143,55 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
         this.minifying = minifying;
     }
 
+    /**
+     * Reports whether async methods are emitted as native JavaScript generators.
+     *
+     * @see #setAsyncGenerators(boolean)
+     * @return whether async methods are emitted as generators.
+     */
+    public boolean isAsyncGenerators() {
+        return asyncGenerators;
+    }
+
+    /**
+     * <p>Specifies whether async methods should be emitted as native JavaScript generators
+     * (<code>function*</code>/<code>yield*</code>) instead of state machines that spill and restore
+     * their locals on the thread stack at each suspension point.</p>
+     *
+     * <p>Generated code is smaller and faster, but requires an ES2015-capable runtime.</p>
+     *
+     * @see #isAsyncGenerators()
+     * @param asyncGenerators whether async methods should be emitted as generators.
+     */
+    public void setAsyncGenerators(boolean asyncGenerators) {
+        this.asyncGenerators = asyncGenerators;
+    }
+
+    /**
+     * Reports whether generated code counts method invocations.
+     *
+     * @see #setMethodProfiling(boolean)
+     * @return whether generated code counts method invocations.
+     */
+    public boolean isMethodProfiling() {
+        return methodProfiling;
+    }
+
+    /**
+     * <p>Specifies whether generated code should count invocations of each method. Counts can be obtained
+     * by calling <code>$rt_profileDump()</code> function, which returns them in the format
+     * that {@link org.teavm.model.optimization.MethodProfile#read(java.io.Reader)} expects.
+     * Such profile can be fed to {@link org.teavm.vm.TeaVM#setMethodProfile} in the subsequent build.</p>
+     *
+     * <p>Instrumentation slows code down, so this option should be only used to collect profile.</p>
+     *
+     * @see #isMethodProfiling()
+     * @param methodProfiling whether generated code should count method invocations.
+     */
+    public void setMethodProfiling(boolean methodProfiling) {
+        this.methodProfiling = methodProfiling;
+    }
+
     public MethodNodeCache getAstCache() {
         return astCache;
     }
@@ -238,6 +289,8 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
         RenderingContext renderingContext = new RenderingContext(debugEmitterToUse, classes,
                 controller.getClassLoader(), controller.getServices(), controller.getProperties(), naming);
         renderingContext.setMinifying(minifying);
+        renderingContext.setAsyncGenerators(asyncGenerators);
+        renderingContext.setMethodProfiling(methodProfiling);
         Renderer renderer = new Renderer(sourceWriter, asyncMethods, asyncFamilyMethods,
                 controller.getDiagnostics(), renderingContext);
         renderer.setProperties(controller.getProperties());
@@ -296,6 +349,7 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
 
         Decompiler decompiler = new Decompiler(classes, controller.getClassLoader(), asyncMethods, asyncFamilyMethods);
         decompiler.setRegularMethodCache(controller.isIncremental() ? astCache : null);
+        decompiler.setAsyncSplitting(!asyncGenerators);
 
         for (Map.Entry<MethodReference, Generator> entry : methodGenerators.entrySet()) {
             decompiler.addGenerator(entry.getKey(), entry.getValue());
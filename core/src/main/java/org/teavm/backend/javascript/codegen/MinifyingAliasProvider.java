@@ -34,7 +34,8 @@ public class MinifyingAliasProvider implements AliasProvider {
         String result;
         do {
             result = RenderingUtil.indexToId(lastVirtual++, startVirtualLetters);
-        } while (!usedAliases.add(result) || RenderingUtil.KEYWORDS.contains(result));
+        } while (!usedAliases.add(result) || RenderingUtil.KEYWORDS.contains(result)
+                || RenderingUtil.ARRAY_MEMBERS.contains(result));
         return result;
     }
 
@@ -57,7 +58,8 @@ public class MinifyingAliasProvider implements AliasProvider {
         String result;
         do {
             result = RenderingUtil.indexToId(lastVirtual++, startVirtualLetters);
-        } while (!usedAliases.add(result) || RenderingUtil.KEYWORDS.contains(result));
+        } while (!usedAliases.add(result) || RenderingUtil.KEYWORDS.contains(result)
+                || RenderingUtil.ARRAY_MEMBERS.contains(result));
         return result;
     }
 
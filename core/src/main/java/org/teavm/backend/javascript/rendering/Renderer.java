@@ -17,6 +17,7 @@ package org.teavm.backend.javascript.rendering;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
@@ -163,6 +164,12 @@ public class Renderer implements RenderingManager {
             renderRuntimeNullCheck();
             renderRuntimeIntern();
             renderRuntimeThreads();
+            if (context.isAsyncGenerators()) {
+                renderRuntimeGenerators();
+            }
+            if (context.isMethodProfiling()) {
+                renderRuntimeProfiling();
+            }
         } catch (NamingException e) {
             throw new RenderingException("Error rendering runtime methods. See a cause for details", e);
         } catch (IOException e) {
@@ -170,6 +177,34 @@ public class Renderer implements RenderingManager {
         }
     }
 
+    private void renderRuntimeProfiling() throws IOException {
+        writer.append("var $rt_profileCounts").ws().append("=").ws().append("Object.create(null);").newLine();
+
+        writer.append("function $rt_profileEnter(method)").ws().append("{").indent().softNewLine();
+        writer.append("$rt_profileCounts[method]").ws().append("=").ws()
+                .append("($rt_profileCounts[method]").ws().append("||").ws().append("0)").ws().append("+")
+                .ws().append("1;").softNewLine();
+        writer.outdent().append("}").newLine();
+
+        writer.append("function $rt_profileDump()").ws().append("{").indent().softNewLine();
+        writer.append("var result").ws().append("=").ws().append("\"\";").softNewLine();
+        writer.append("for").ws().append("(var method in $rt_profileCounts)").ws().append("{").indent()
+                .softNewLine();
+        writer.append("result").ws().append("+=").ws().append("$rt_profileCounts[method]").ws().append("+")
+                .ws().append("\" \"").ws().append("+").ws().append("method").ws().append("+").ws()
+                .append("\"\\n\";").softNewLine();
+        writer.outdent().append("}").softNewLine();
+        writer.append("return result;").softNewLine();
+        writer.outdent().append("}").newLine();
+    }
+
+    private void renderProfileEnter(MethodReference method) throws IOException {
+        if (context.isMethodProfiling()) {
+            writer.append("$rt_profileEnter(\"").append(RenderingUtil.escapeString(method.toString()))
+                    .append("\");").softNewLine();
+        }
+    }
+
     private void renderRuntimeCls() throws IOException {
         writer.append("function $rt_cls(cls)").ws().append("{").softNewLine().indent();
         writer.append("return ").appendMethodBody("java.lang.Class", "getClass",
@@ -186,9 +221,8 @@ public class Renderer implements RenderingManager {
         writer.append("return null;").softNewLine();
         writer.outdent().append("}").softNewLine();
         writer.append("var characters = $rt_createCharArray(str.length);").softNewLine();
-        writer.append("var charsBuffer = characters.data;").softNewLine();
         writer.append("for (var i = 0; i < str.length; i = (i + 1) | 0) {").indent().softNewLine();
-        writer.append("charsBuffer[i] = str.charCodeAt(i) & 0xFFFF;").softNewLine();
+        writer.append("characters[i] = str.charCodeAt(i) & 0xFFFF;").softNewLine();
         writer.outdent().append("}").softNewLine();
         writer.append("return ").append(naming.getNameForInit(stringCons)).append("(characters);").softNewLine();
         writer.outdent().append("}").newLine();
@@ -207,7 +241,7 @@ public class Renderer implements RenderingManager {
         writer.append("var array = $rt_createCharArray(sz);").softNewLine();
         writer.appendMethodBody(getChars).append("(str, 0, sz, array, 0);").softNewLine();
         writer.append("for (var i = 0; i < sz; i = (i + 1) | 0) {").indent().softNewLine();
-        writer.append("result += String.fromCharCode(array.data[i]);").softNewLine();
+        writer.append("result += String.fromCharCode(array[i]);").softNewLine();
         writer.outdent().append("}").softNewLine();
         writer.append("return result;").softNewLine();
         writer.outdent().append("}").newLine();
@@ -246,10 +280,87 @@ public class Renderer implements RenderingManager {
         writer.outdent().append("}").newLine();
     }
 
+    private void renderRuntimeGenerators() throws IOException {
+        writer.append("var $rt_generatorPrototype").ws().append("=").ws()
+                .append("Object.getPrototypeOf(Object.getPrototypeOf((function*()").ws().append("{})()));")
+                .newLine();
+
+        writer.append("function $rt_isGenerator(value)").ws().append("{").indent().softNewLine();
+        writer.append("return value").ws().append("!==").ws().append("null").ws().append("&&").ws()
+                .append("typeof value").ws().append("===").ws().append("'object'").ws().append("&&").ws()
+                .append("$rt_generatorPrototype.isPrototypeOf(value);").softNewLine();
+        writer.outdent().append("}").newLine();
+
+        writer.append("function $rt_runSync(value)").ws().append("{").indent().softNewLine();
+        writer.append("if").ws().append("(!$rt_isGenerator(value))").ws().append("{").indent().softNewLine();
+        writer.append("return value;").softNewLine();
+        writer.outdent().append("}").softNewLine();
+        writer.append("var step").ws().append("=").ws().append("value.next();").softNewLine();
+        writer.append("if").ws().append("(!step.done)").ws().append("{").indent().softNewLine();
+        writer.append("throw new Error(\"Can't suspend in synchronous context\");").softNewLine();
+        writer.outdent().append("}").softNewLine();
+        writer.append("return step.value;").softNewLine();
+        writer.outdent().append("}").newLine();
+
+        writer.append("function $rt_threadStarter(f)").ws().append("{").indent().softNewLine();
+        writer.append("return function()").ws().append("{").indent().softNewLine();
+        writer.append("var args").ws().append("=").ws().append("Array.prototype.slice.apply(arguments);")
+                .softNewLine();
+        writer.append("$rt_startThread(function()").ws().append("{").indent().softNewLine();
+        writer.append("return f.apply(this,").ws().append("args);").softNewLine();
+        writer.outdent().append("});").softNewLine();
+        writer.outdent().append("};").softNewLine();
+        writer.outdent().append("}").newLine();
+
+        writer.append("TeaVMThread.prototype.run").ws().append("=").ws().append("function()").ws().append("{")
+                .indent().softNewLine();
+        writer.append("$rt_currentNativeThread").ws().append("=").ws().append("this;").softNewLine();
+        writer.append("var result;").softNewLine();
+        writer.append("try").ws().append("{").indent().softNewLine();
+        writer.append("if").ws().append("(!this.generator)").ws().append("{").indent().softNewLine();
+        writer.append("result").ws().append("=").ws().append("this.runner();").softNewLine();
+        writer.append("this.generator").ws().append("=").ws().append("$rt_isGenerator(result)").ws()
+                .append("?").ws().append("result").ws().append(":").ws().append("null;").softNewLine();
+        writer.outdent().append("}").softNewLine();
+        writer.append("if").ws().append("(this.generator)").ws().append("{").indent().softNewLine();
+        writer.append("this.status").ws().append("=").ws().append("0;").softNewLine();
+        writer.append("var step").ws().append("=").ws().append("this.generator.next();").softNewLine();
+        writer.append("if").ws().append("(step.done)").ws().append("{").indent().softNewLine();
+        writer.append("this.generator").ws().append("=").ws().append("null;").softNewLine();
+        writer.append("result").ws().append("=").ws().append("step.value;").softNewLine();
+        writer.outdent().append("}").ws().append("else").ws().append("{").indent().softNewLine();
+        writer.append("this.suspendCallback").ws().append("=").ws().append("step.value;").softNewLine();
+        writer.outdent().append("}").softNewLine();
+        writer.outdent().append("}").softNewLine();
+        writer.outdent().append("}").ws().append("catch").ws().append("(e)").ws().append("{").indent()
+                .softNewLine();
+        writer.append("this.generator").ws().append("=").ws().append("null;").softNewLine();
+        writer.append("result").ws().append("=").ws().append("e;").softNewLine();
+        writer.outdent().append("}").ws().append("finally").ws().append("{").indent().softNewLine();
+        writer.append("$rt_currentNativeThread").ws().append("=").ws().append("null;").softNewLine();
+        writer.outdent().append("}").softNewLine();
+        writer.append("if").ws().append("(this.suspendCallback").ws().append("!==").ws().append("null)").ws()
+                .append("{").indent().softNewLine();
+        writer.append("var self").ws().append("=").ws().append("this;").softNewLine();
+        writer.append("var callback").ws().append("=").ws().append("this.suspendCallback;").softNewLine();
+        writer.append("this.suspendCallback").ws().append("=").ws().append("null;").softNewLine();
+        writer.append("callback(function()").ws().append("{").indent().softNewLine();
+        writer.append("self.resume();").softNewLine();
+        writer.outdent().append("});").softNewLine();
+        writer.outdent().append("}").ws().append("else if").ws().append("(this.status").ws().append("===")
+                .ws().append("0)").ws().append("{").indent().softNewLine();
+        writer.append("this.completeCallback(result);").softNewLine();
+        writer.outdent().append("}").softNewLine();
+        writer.outdent().append("};").newLine();
+    }
+
     private void renderRuntimeAliases() throws IOException {
-        String[] names = { "$rt_throw", "$rt_compare", "$rt_nullCheck", "$rt_cls", "$rt_createArray",
-                "$rt_isInstance", "$rt_nativeThread", "$rt_suspending", "$rt_resuming", "$rt_invalidPointer",
-                "$rt_s" };
+        List<String> names = new ArrayList<>(Arrays.asList("$rt_throw", "$rt_compare", "$rt_nullCheck", "$rt_cls",
+                "$rt_createArray", "$rt_isInstance", "$rt_nativeThread", "$rt_suspending", "$rt_resuming",
+                "$rt_invalidPointer", "$rt_s"));
+        if (context.isAsyncGenerators()) {
+            names.add("$rt_isGenerator");
+        }
         boolean first = true;
         for (String name : names) {
             if (!first) {
@@ -382,6 +493,10 @@ public class Renderer implements RenderingManager {
     private void renderCallClinit(MethodReader clinit, ClassNode cls)
             throws IOException {
         boolean isAsync = asyncMethods.contains(clinit.getReference());
+        if (isAsync && context.isAsyncGenerators()) {
+            renderCallClinitGenerator(clinit, cls);
+            return;
+        }
 
         if (isAsync) {
             writer.append("var ").appendClass(cls.getName()).append("_$clinitCalled").ws().append("=").ws()
@@ -436,6 +551,16 @@ public class Renderer implements RenderingManager {
         writer.outdent().append("}").newLine();
     }
 
+    private void renderCallClinitGenerator(MethodReader clinit, ClassNode cls) throws IOException {
+        writer.append("function* ").appendClass(cls.getName()).append("_$callClinit()").ws()
+                .append("{").softNewLine().indent();
+        writer.appendClass(cls.getName()).append("_$callClinit").ws().append("=").ws()
+                .append("function*(){};").softNewLine();
+        writer.append("yield* ").appendMethodBody(new MethodReference(cls.getName(), clinit.getDescriptor()))
+                .append("();").softNewLine();
+        writer.outdent().append("}").newLine();
+    }
+
     private void renderEraseClinit(ClassNode cls) throws IOException {
         writer.appendClass(cls.getName()).append("_$callClinit").ws().append("=").ws()
                 .append("function(){};").newLine();
@@ -474,19 +599,25 @@ public class Renderer implements RenderingManager {
                 writer.append(flags).append(',').ws();
                 MethodReader clinit = classSource.get(cls.getName()).getMethod(
                         new MethodDescriptor("<clinit>", ValueType.VOID));
-                if (clinit != null) {
+                if (clinit != null && context.isAsyncGenerators() && asyncMethods.contains(clinit.getReference())) {
+                    writer.append("function()").ws().append("{").ws().append("$rt_runSync(")
+                            .appendClass(cls.getName()).append("_$callClinit());").ws().append("}");
+                } else if (clinit != null) {
                     writer.appendClass(cls.getName()).append("_$callClinit");
                 } else {
                     writer.append('0');
                 }
                 writer.append(',').ws();
 
-                List<MethodNode> virtualMethods = new ArrayList<>();
+                List<MethodReference> virtualMethods = new ArrayList<>();
                 for (MethodNode method : cls.getMethods()) {
                     if (!method.getModifiers().contains(ElementModifier.STATIC)) {
-                        virtualMethods.add(method);
+                        virtualMethods.add(method.getReference());
                     }
                 }
+                if (!cls.getModifiers().contains(ElementModifier.INTERFACE)) {
+                    collectDefaultMethods(cls, virtualMethods);
+                }
 
                 renderVirtualDeclarations(virtualMethods);
             }
@@ -525,8 +656,9 @@ public class Renderer implements RenderingManager {
 
     private void renderInitializer(MethodNode method) throws IOException {
         MethodReference ref = method.getReference();
+        boolean generator = context.isAsyncGenerators() && asyncMethods.contains(ref);
         debugEmitter.emitMethod(ref.getDescriptor());
-        writer.append("function ").append(naming.getNameForInit(ref)).append("(");
+        writer.append(generator ? "function* " : "function ").append(naming.getNameForInit(ref)).append("(");
         for (int i = 1; i <= ref.parameterCount(); ++i) {
             if (i > 1) {
                 writer.append(",").ws();
@@ -536,6 +668,9 @@ public class Renderer implements RenderingManager {
         writer.append(")").ws().append("{").softNewLine().indent();
         writer.append("var $r").ws().append("=").ws().append("new ").appendClass(
                 ref.getClassName()).append("();").softNewLine();
+        if (generator) {
+            writer.append("yield* ");
+        }
         writer.append(naming.getFullNameFor(ref)).append("($r");
         for (int i = 1; i <= ref.parameterCount(); ++i) {
             writer.append(",").ws();
@@ -551,12 +686,43 @@ public class Renderer implements RenderingManager {
         return minifying ? RenderingUtil.indexToId(index) : "var_" + index;
     }
 
-    private void renderVirtualDeclarations(List<MethodNode> methods) throws NamingException, IOException {
+    /**
+     * Adds default methods that the class inherits from its interfaces. Prototypes are only chained through
+     * superclasses, so each class that is the first to implement an interface has to declare its defaults.
+     */
+    private void collectDefaultMethods(ClassNode cls, List<MethodReference> virtualMethods) {
+        Set<MethodDescriptor> descriptors = new HashSet<>();
+        for (MethodReference method : virtualMethods) {
+            descriptors.add(method.getDescriptor());
+        }
+        classSource.getAncestors(cls.getName())
+                .filter(ancestor -> ancestor.hasModifier(ElementModifier.INTERFACE))
+                .flatMap(ancestor -> ancestor.getMethods().stream())
+                .filter(method -> !method.hasModifier(ElementModifier.STATIC)
+                        && !method.hasModifier(ElementModifier.ABSTRACT))
+                .map(MethodReader::getDescriptor)
+                .filter(descriptors::add)
+                .forEach(descriptor -> {
+                    MethodReader implementation = classSource.resolve(new MethodReference(cls.getName(),
+                            descriptor));
+                    if (implementation == null || implementation.hasModifier(ElementModifier.ABSTRACT)
+                            || !classSource.get(implementation.getOwnerName()).hasModifier(
+                                    ElementModifier.INTERFACE)) {
+                        return;
+                    }
+                    if (cls.getParentName() != null && classSource.resolve(new MethodReference(
+                            cls.getParentName(), descriptor)) == implementation) {
+                        return;
+                    }
+                    virtualMethods.add(implementation.getReference());
+                });
+    }
+
+    private void renderVirtualDeclarations(List<MethodReference> methods) throws NamingException, IOException {
         writer.append("[");
         boolean first = true;
-        for (MethodNode method : methods) {
-            debugEmitter.emitMethod(method.getReference().getDescriptor());
-            MethodReference ref = method.getReference();
+        for (MethodReference ref : methods) {
+            debugEmitter.emitMethod(ref.getDescriptor());
             if (!first) {
                 writer.append(",").ws();
             }
@@ -596,12 +762,14 @@ public class Renderer implements RenderingManager {
     private void renderBody(MethodNode method) throws IOException {
         StatementRenderer statementRenderer = new StatementRenderer(context, writer);
         statementRenderer.setCurrentMethod(method);
+        statementRenderer.setAsyncMethods(asyncMethods, asyncFamilyMethods);
 
         MethodReference ref = method.getReference();
         debugEmitter.emitMethod(ref.getDescriptor());
         String name = naming.getFullNameFor(ref);
 
-        writer.append("function ").append(name).append("(");
+        boolean generator = context.isAsyncGenerators() && method.isAsync();
+        writer.append(generator ? "function* " : "function ").append(name).append("(");
         int startParam = 0;
         if (method.getModifiers().contains(ElementModifier.STATIC)) {
             startParam = 1;
@@ -646,6 +814,14 @@ public class Renderer implements RenderingManager {
             try {
                 this.async = methodNode.isAsync();
                 statementRenderer.setAsync(methodNode.isAsync());
+                if (context.isMethodProfiling() && methodNode.isAsync() && !context.isAsyncGenerators()) {
+                    writer.append("if").ws().append("(!").appendFunction("$rt_resuming").append("())").ws()
+                            .append("{").indent().softNewLine();
+                    renderProfileEnter(methodNode.getReference());
+                    writer.outdent().append("}").softNewLine();
+                } else {
+                    renderProfileEnter(methodNode.getReference());
+                }
                 methodNode.getGenerator().generate(this, writer, methodNode.getReference());
             } catch (IOException e) {
                 throw new RenderingException("IO error occurred", e);
@@ -655,8 +831,8 @@ public class Renderer implements RenderingManager {
         @Override
         public void visit(RegularMethodNode method) {
             try {
-                statementRenderer.setAsync(false);
-                this.async = false;
+                statementRenderer.setAsync(method.isAsync());
+                this.async = method.isAsync();
                 MethodReference ref = method.getReference();
                 for (int i = 0; i < method.getVariables().size(); ++i) {
                     debugEmitter.emitVariable(new String[] { method.getVariables().get(i).getName() },
@@ -677,6 +853,9 @@ public class Renderer implements RenderingManager {
                 if (hasTryCatch) {
                     variableNames.add("$$je");
                 }
+                if (method.isAsync()) {
+                    variableNames.add(context.tempVarName());
+                }
                 if (!variableNames.isEmpty()) {
                     writer.append("var ");
                     for (int i = 0; i < variableNames.size(); ++i) {
@@ -687,10 +866,35 @@ public class Renderer implements RenderingManager {
                     }
                     writer.append(";").softNewLine();
                 }
+                renderProfileEnter(ref);
+
+                boolean synchronizedMethod = method.isAsync()
+                        && method.getModifiers().contains(ElementModifier.SYNCHRONIZED);
+                if (synchronizedMethod) {
+                    MethodReference monitorEnterRef = new MethodReference(Object.class, "monitorEnter",
+                            Object.class, void.class);
+                    if (asyncMethods.contains(monitorEnterRef)) {
+                        writer.append("yield* ");
+                    }
+                    writer.appendMethodBody(monitorEnterRef).append("(");
+                    appendMonitor(statementRenderer, method);
+                    writer.append(");").softNewLine();
+                    writer.append("try").ws().append('{').indent().softNewLine();
+                }
 
                 statementRenderer.setEnd(true);
                 statementRenderer.setCurrentPart(0);
                 method.getBody().acceptVisitor(statementRenderer);
+
+                if (synchronizedMethod) {
+                    writer.outdent().append("}").ws().append("finally").ws().append('{').indent().softNewLine();
+                    writer.appendMethodBody(new MethodReference(Object.class, "monitorExit",
+                            Object.class, void.class));
+                    writer.append("(");
+                    appendMonitor(statementRenderer, method);
+                    writer.append(");").softNewLine();
+                    writer.outdent().append('}').softNewLine();
+                }
             } catch (IOException e) {
                 throw new RenderingException("IO error occurred", e);
             }
@@ -756,7 +960,13 @@ public class Renderer implements RenderingManager {
                             .append(".").append(popName).append("();");
                 }
                 writer.softNewLine();
-                writer.outdent().append("}").softNewLine();
+                writer.outdent().append("}");
+                if (context.isMethodProfiling()) {
+                    writer.ws().append("else").ws().append("{").indent().softNewLine();
+                    renderProfileEnter(ref);
+                    writer.outdent().append("}");
+                }
+                writer.softNewLine();
 
                 if (methodNode.getModifiers().contains(ElementModifier.SYNCHRONIZED)) {
                     writer.append("try").ws().append('{').indent().softNewLine();
@@ -845,6 +1055,11 @@ public class Renderer implements RenderingManager {
             return asyncFamilyMethods.contains(method);
         }
 
+        @Override
+        public boolean isAsyncGenerators() {
+            return context.isAsyncGenerators();
+        }
+
         @Override
         public Diagnostics getDiagnostics() {
             return diagnostics;
@@ -51,6 +51,8 @@ public class RenderingContext {
     private final List<String> readonlyStringPool = Collections.unmodifiableList(stringPool);
     private final Map<MethodReference, InjectorHolder> injectorMap = new HashMap<>();
     private boolean minifying;
+    private boolean asyncGenerators;
+    private boolean methodProfiling;
 
     public RenderingContext(DebugInformationEmitter debugEmitter, ListableClassReaderSource classSource,
             ClassLoader classLoader, ServiceRepository services, Properties properties,
@@ -87,6 +89,22 @@ public class RenderingContext {
         this.minifying = minifying;
     }
 
+    public boolean isAsyncGenerators() {
+        return asyncGenerators;
+    }
+
+    public void setAsyncGenerators(boolean asyncGenerators) {
+        this.asyncGenerators = asyncGenerators;
+    }
+
+    public boolean isMethodProfiling() {
+        return methodProfiling;
+    }
+
+    public void setMethodProfiling(boolean methodProfiling) {
+        this.methodProfiling = methodProfiling;
+    }
+
     public DebugInformationEmitter getDebugEmitter() {
         return debugEmitter;
     }
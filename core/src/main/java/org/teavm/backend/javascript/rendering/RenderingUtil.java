@@ -25,6 +25,13 @@ public final class RenderingUtil {
             "catch", "class", "const", "continue", "debugger", "default", "delete", "do", "else", "export",
             "extends", "finally", "for", "function", "if", "import", "in", "instanceof", "new", "return",
             "super", "switch", "this", "throw", "try", "typeof", "var", "void", "while", "with", "yield")));
+    public static final Set<String> ARRAY_MEMBERS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList("at",
+            "buffer", "byteLength", "byteOffset", "concat", "constructor", "copyWithin", "entries", "every", "fill",
+            "filter", "find", "findIndex", "findLast", "findLastIndex", "flat", "flatMap", "forEach", "includes",
+            "indexOf", "join", "keys", "lastIndexOf", "length", "map", "pop", "push", "reduce", "reduceRight",
+            "reverse", "set", "shift", "slice", "some", "sort", "splice", "subarray", "toLocaleString", "toReversed",
+            "toSorted", "toSpliced", "toString", "unshift", "values", "valueOf", "with", "hasOwnProperty",
+            "isPrototypeOf", "propertyIsEnumerable")));
     public static final String VARIABLE_START_CHARS = "abcdefghijklmnopqrstuvwxyz";
     public static final String VARIABLE_PART_CHARS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
 
@@ -67,7 +74,8 @@ public final class RenderingUtil {
                     if (c < ' ') {
                         sb.append("\\u00").append(Character.forDigit(c / 16, 16))
                                 .append(Character.forDigit(c % 16, 16));
-                    } else if (Character.isLowSurrogate(c) || Character.isHighSurrogate(c)) {
+                    } else if (Character.isLowSurrogate(c) || Character.isHighSurrogate(c)
+                            || c == '\u2028' || c == '\u2029') {
                         sb.append("\\u")
                                 .append(Character.forDigit(c / 0x1000, 0x10))
                                 .append(Character.forDigit((c / 0x100) % 0x10, 0x10))
@@ -102,6 +102,8 @@ public class StatementRenderer implements ExprVisitor, StatementVisitor {
     private int currentPart;
     private List<String> blockIds = new ArrayList<>();
     private IntIndexedContainer blockIndexMap = new IntArrayList();
+    private Set<MethodReference> asyncMethods = Collections.emptySet();
+    private Set<MethodReference> asyncFamilyMethods = Collections.emptySet();
 
     public StatementRenderer(RenderingContext context, SourceWriter writer) {
         this.context = context;
@@ -110,6 +112,10 @@ public class StatementRenderer implements ExprVisitor, StatementVisitor {
         this.minifying = context.isMinifying();
         this.naming = context.getNaming();
         this.debugEmitter = context.getDebugEmitter();
+        usedVariableNames.add(context.pointerName());
+        usedVariableNames.add(context.tempVarName());
+        usedVariableNames.add(context.threadName());
+        usedVariableNames.add("$$je");
     }
 
     public boolean isAsync() {
@@ -120,6 +126,15 @@ public class StatementRenderer implements ExprVisitor, StatementVisitor {
         this.async = async;
     }
 
+    public void setAsyncMethods(Set<MethodReference> asyncMethods, Set<MethodReference> asyncFamilyMethods) {
+        this.asyncMethods = asyncMethods;
+        this.asyncFamilyMethods = asyncFamilyMethods;
+    }
+
+    private boolean isGenerator() {
+        return async && context.isAsyncGenerators();
+    }
+
     public void setCurrentMethod(MethodNode currentMethod) {
         this.currentMethod = currentMethod;
     }
@@ -437,6 +452,9 @@ public class StatementRenderer implements ExprVisitor, StatementVisitor {
             if (statement.getLocation() != null) {
                 pushLocation(statement.getLocation());
             }
+            if (isGenerator() && asyncMethods.contains(method.getReference())) {
+                writer.append("yield* ");
+            }
             writer.appendClass(statement.getClassName()).append("_$callClinit();").softNewLine();
             if (statement.isAsync()) {
                 emitSuspendChecker();
@@ -1016,18 +1034,13 @@ public class StatementRenderer implements ExprVisitor, StatementVisitor {
 
     @Override
     public void visit(UnwrapArrayExpr expr) {
-        try {
-            if (expr.getLocation() != null) {
-                pushLocation(expr.getLocation());
-            }
-            precedence = Precedence.MEMBER_ACCESS;
-            expr.getArray().acceptVisitor(this);
-            writer.append(".data");
-            if (expr.getLocation() != null) {
-                popLocation();
-            }
-        } catch (IOException e) {
-            throw new RenderingException("IO error occurred", e);
+        // Java arrays are represented by JavaScript arrays themselves, so there is nothing to unwrap
+        if (expr.getLocation() != null) {
+            pushLocation(expr.getLocation());
+        }
+        expr.getArray().acceptVisitor(this);
+        if (expr.getLocation() != null) {
+            popLocation();
         }
     }
 
@@ -1041,6 +1054,22 @@ public class StatementRenderer implements ExprVisitor, StatementVisitor {
             if (injector != null) {
                 injector.generate(new InjectorContextImpl(expr.getArguments()), expr.getMethod());
             } else {
+                boolean generatorCall = false;
+                boolean guardedGeneratorCall = false;
+                if (isGenerator()) {
+                    if (expr.getType() == InvocationType.DYNAMIC) {
+                        guardedGeneratorCall = asyncMethods.contains(expr.getMethod())
+                                || asyncFamilyMethods.contains(expr.getMethod());
+                    } else {
+                        generatorCall = asyncMethods.contains(expr.getMethod());
+                    }
+                }
+                if (generatorCall) {
+                    writer.append("(yield* ");
+                } else if (guardedGeneratorCall) {
+                    writer.append("(").appendFunction("$rt_isGenerator").append("(").append(context.tempVarName())
+                            .ws().append("=").ws();
+                }
                 if (expr.getType() == InvocationType.DYNAMIC) {
                     precedence = Precedence.MEMBER_ACCESS;
                     expr.getArguments().get(0).acceptVisitor(this);
@@ -1101,6 +1130,12 @@ public class StatementRenderer implements ExprVisitor, StatementVisitor {
                         break;
                 }
                 writer.append(')');
+                if (generatorCall) {
+                    writer.append(')');
+                } else if (guardedGeneratorCall) {
+                    writer.append(")").ws().append("?").ws().append("yield* ").append(context.tempVarName())
+                            .ws().append(":").ws().append(context.tempVarName()).append(")");
+                }
                 if (lastCallSite != null) {
                     if (virtual) {
                         lastCallSite.setVirtualMethod(expr.getMethod());
@@ -1412,7 +1447,17 @@ public class StatementRenderer implements ExprVisitor, StatementVisitor {
     @Override
     public void visit(MonitorEnterStatement statement) {
         try {
-            if (async) {
+            if (isGenerator()) {
+                MethodReference monitorEnterRef = new MethodReference(
+                        Object.class, "monitorEnter", Object.class, void.class);
+                if (asyncMethods.contains(monitorEnterRef)) {
+                    writer.append("yield* ");
+                }
+                writer.appendMethodBody(monitorEnterRef).append("(");
+                precedence = Precedence.min();
+                statement.getObjectRef().acceptVisitor(this);
+                writer.append(");").softNewLine();
+            } else if (async) {
                 MethodReference monitorEnterRef = new MethodReference(
                         Object.class, "monitorEnter", Object.class, void.class);
                 writer.appendMethodBody(monitorEnterRef).append("(");
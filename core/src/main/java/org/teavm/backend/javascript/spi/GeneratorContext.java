@@ -37,6 +37,13 @@ public interface GeneratorContext extends ServiceRepository {
 
     boolean isAsyncFamily(MethodReference method);
 
+    /**
+     * Tells whether async methods are rendered as JavaScript generator functions. In this case
+     * a generated async method should suspend with {@code yield} and call other async methods
+     * with {@code yield*} instead of saving its state in a native thread.
+     */
+    boolean isAsyncGenerators();
+
     Diagnostics getDiagnostics();
 
     String typeToClassString(ValueType type);
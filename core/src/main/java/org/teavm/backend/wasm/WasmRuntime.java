@@ -126,9 +126,55 @@ public final class WasmRuntime {
         }
     }
 
+    public static void fill(Address address, byte value, int count) {
+        Address end = address.add(count);
+        while ((address.toInt() & 3) != 0 && address.isLessThan(end)) {
+            address.putByte(value);
+            address = address.add(1);
+        }
+
+        int alignedEnd = end.toInt() >>> 2 << 2;
+        if (address.toInt() < alignedEnd) {
+            int pattern = value & 0xFF;
+            pattern |= pattern << 8;
+            pattern |= pattern << 16;
+            fillInt(address, pattern, (alignedEnd - address.toInt()) >> 2);
+            address = Address.fromInt(alignedEnd);
+        }
+
+        while (address.isLessThan(end)) {
+            address.putByte(value);
+            address = address.add(1);
+        }
+    }
+
+    public static void fillInt(Address address, int value, int count) {
+        Address end = address.add(count << 2);
+        if (isSimdSupported()) {
+            Address vectorEnd = address.add(count >>> 2 << 4);
+            while (address.isLessThan(vectorEnd)) {
+                storeInt32x4(address, value);
+                address = address.add(16);
+            }
+        }
+        while (address.isLessThan(end)) {
+            address.putInt(value);
+            address = address.add(4);
+        }
+    }
+
+    private static native boolean isSimdSupported();
+
+    /**
+     * Stores four copies of {@code value} at {@code address}. Must only be called when
+     * {@link #isSimdSupported()} is {@code true}.
+     */
+    private static native void storeInt32x4(Address address, int value);
+
     public static void moveMemoryBlock(Address source, Address target, int count) {
         if (count < 8) {
             slowMemoryMove(source, target, count);
+            return;
         }
         int diff = source.toInt() - target.toInt();
         if (diff == 0) {
@@ -233,8 +279,8 @@ public final class WasmRuntime {
                 source = source.add(1);
             }
         } else {
-            source.add(count);
-            target.add(count);
+            source = source.add(count);
+            target = target.add(count);
             while (count-- > 0) {
                 target = target.add(-1);
                 source = source.add(-1);
@@ -76,6 +76,7 @@ import org.teavm.backend.wasm.render.WasmCRenderer;
 import org.teavm.backend.wasm.render.WasmRenderer;
 import org.teavm.backend.wasm.transformation.IndirectCallTraceTransformation;
 import org.teavm.backend.wasm.transformation.MemoryAccessTraceTransformation;
+import org.teavm.backend.wasm.transformation.MethodProfileTransformation;
 import org.teavm.dependency.ClassDependency;
 import org.teavm.dependency.DependencyChecker;
 import org.teavm.dependency.DependencyListener;
@@ -132,13 +133,16 @@ public class WasmTarget implements TeaVMTarget {
     private ClassInitializerTransformer classInitializerTransformer;
     private ShadowStackTransformer shadowStackTransformer;
     private WasmBinaryVersion version = WasmBinaryVersion.V_0x1;
+    private boolean nativeExceptions;
+    private boolean methodProfiling;
 
     @Override
     public void setController(TeaVMTargetController controller) {
         this.controller = controller;
         classInitializerEliminator = new ClassInitializerEliminator(controller.getUnprocessedClassSource());
         classInitializerTransformer = new ClassInitializerTransformer();
-        shadowStackTransformer = new ShadowStackTransformer(controller.getUnprocessedClassSource());
+        shadowStackTransformer = new ShadowStackTransformer(controller.getUnprocessedClassSource(),
+                controller.getDependencyInfo(), nativeExceptions);
         clinitInsertionTransformer = new ClassInitializerInsertionTransformer(controller.getUnprocessedClassSource());
     }
 
@@ -199,6 +203,35 @@ public class WasmTarget implements TeaVMTarget {
         this.version = version;
     }
 
+    public boolean isNativeExceptions() {
+        return nativeExceptions;
+    }
+
+    /**
+     * Makes exceptions use <code>try</code>/<code>throw</code> instructions of WebAssembly exception handling
+     * proposal (and <code>setjmp</code>/<code>longjmp</code> in generated C code) instead of checking for
+     * exception after every call. Calls that don't throw cost nothing, however stack traces are not available
+     * in this mode.
+     *
+     * <p>Must be set before the target is passed to TeaVM.</p>
+     */
+    public void setNativeExceptions(boolean nativeExceptions) {
+        this.nativeExceptions = nativeExceptions;
+    }
+
+    public boolean isMethodProfiling() {
+        return methodProfiling;
+    }
+
+    /**
+     * Makes every method call imported <code>profile.enterMethod(name, length)</code> function on entry,
+     * passing address and length of UTF-8 encoded method reference. Host is expected to count invocations
+     * and to write them in the format that {@link org.teavm.model.optimization.MethodProfile} reads.
+     */
+    public void setMethodProfiling(boolean methodProfiling) {
+        this.methodProfiling = methodProfiling;
+    }
+
     @Override
     public void contributeDependencies(DependencyChecker dependencyChecker) {
         for (Class<?> type : Arrays.asList(int.class, long.class, float.class, double.class)) {
@@ -214,6 +247,10 @@ public class WasmTarget implements TeaVMTarget {
                 Address.class), null).use();
         dependencyChecker.linkMethod(new MethodReference(WasmRuntime.class, "fillZero", Address.class, int.class,
                 void.class), null).use();
+        dependencyChecker.linkMethod(new MethodReference(WasmRuntime.class, "fill", Address.class, byte.class,
+                int.class, void.class), null).use();
+        dependencyChecker.linkMethod(new MethodReference(WasmRuntime.class, "fillInt", Address.class, int.class,
+                int.class, void.class), null).use();
         dependencyChecker.linkMethod(new MethodReference(WasmRuntime.class, "moveMemoryBlock", Address.class,
                 Address.class, int.class, void.class), null).use();
         dependencyChecker.linkMethod(new MethodReference(WasmRuntime.class, "allocStack",
@@ -245,6 +282,10 @@ public class WasmTarget implements TeaVMTarget {
 
         dependencyChecker.linkMethod(new MethodReference(ExceptionHandling.class, "catchException",
                 Throwable.class), null).use();
+        if (nativeExceptions) {
+            dependencyChecker.linkMethod(new MethodReference(ExceptionHandling.class, "throwNativeException",
+                    Throwable.class, void.class), null).use();
+        }
 
         dependencyChecker.linkField(new FieldReference("java.lang.Object", "monitor"), null);
 
@@ -285,13 +326,14 @@ public class WasmTarget implements TeaVMTarget {
         WasmStringPool stringPool = classGenerator.getStringPool();
         WasmGenerationContext context = new WasmGenerationContext(classes, module, controller.getDiagnostics(),
                 vtableProvider, tagRegistry, stringPool);
+        context.setNativeExceptions(nativeExceptions);
 
         context.addIntrinsic(new AddressIntrinsic(classGenerator));
         context.addIntrinsic(new StructureIntrinsic(classGenerator));
         context.addIntrinsic(new FunctionIntrinsic(classGenerator));
-        WasmRuntimeIntrinsic wasmRuntimeIntrinsic = new WasmRuntimeIntrinsic();
+        WasmRuntimeIntrinsic wasmRuntimeIntrinsic = new WasmRuntimeIntrinsic(version);
         context.addIntrinsic(wasmRuntimeIntrinsic);
-        context.addIntrinsic(new AllocatorIntrinsic(classGenerator));
+        context.addIntrinsic(new AllocatorIntrinsic(classGenerator, version));
         context.addIntrinsic(new PlatformIntrinsic());
         context.addIntrinsic(new PlatformClassIntrinsic());
         context.addIntrinsic(new PlatformObjectIntrinsic(classGenerator));
@@ -302,7 +344,7 @@ public class WasmTarget implements TeaVMTarget {
         context.addIntrinsic(mutatorIntrinsic);
         context.addIntrinsic(new ShadowStackIntrinsic());
         ExceptionHandlingIntrinsic exceptionHandlingIntrinsic = new ExceptionHandlingIntrinsic(binaryWriter,
-                classGenerator, stringPool);
+                classGenerator, stringPool, nativeExceptions);
         context.addIntrinsic(exceptionHandlingIntrinsic);
 
         WasmGenerator generator = new WasmGenerator(decompiler, classes, context, classGenerator, binaryWriter);
@@ -313,6 +355,9 @@ public class WasmTarget implements TeaVMTarget {
         generateIsSupertypeFunctions(tagRegistry, module, classGenerator);
         classGenerator.postProcess();
         mutatorIntrinsic.setStaticGcRootsAddress(classGenerator.getStaticGcRootsAddress());
+        if (methodProfiling) {
+            new MethodProfileTransformation(module, binaryWriter, classes).apply();
+        }
 
         WasmMemorySegment dataSegment = new WasmMemorySegment();
         dataSegment.setData(binaryWriter.getData());
@@ -46,6 +46,7 @@ public class WasmGenerationContext {
     private Map<MethodReference, ImportedMethod> importedMethods = new HashMap<>();
     private List<WasmIntrinsic> intrinsics = new ArrayList<>();
     private Map<MethodReference, WasmIntrinsicHolder> intrinsicCache = new HashMap<>();
+    private boolean nativeExceptions;
 
     public WasmGenerationContext(ClassReaderSource classSource, WasmModule module, Diagnostics diagnostics,
             VirtualTableProvider vtableProvider, TagRegistry tagRegistry, WasmStringPool stringPool) {
@@ -131,6 +132,14 @@ public class WasmGenerationContext {
         return diagnostics;
     }
 
+    public boolean isNativeExceptions() {
+        return nativeExceptions;
+    }
+
+    public void setNativeExceptions(boolean nativeExceptions) {
+        this.nativeExceptions = nativeExceptions;
+    }
+
     public class ImportedMethod {
         public final String name;
         public final String module;
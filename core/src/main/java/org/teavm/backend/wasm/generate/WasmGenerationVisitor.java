@@ -105,6 +105,7 @@ import org.teavm.backend.wasm.model.expression.WasmStoreFloat64;
 import org.teavm.backend.wasm.model.expression.WasmStoreInt32;
 import org.teavm.backend.wasm.model.expression.WasmStoreInt64;
 import org.teavm.backend.wasm.model.expression.WasmSwitch;
+import org.teavm.backend.wasm.model.expression.WasmTry;
 import org.teavm.backend.wasm.model.expression.WasmUnreachable;
 import org.teavm.backend.wasm.render.WasmTypeInference;
 import org.teavm.interop.Address;
@@ -115,6 +116,7 @@ import org.teavm.model.ValueType;
 import org.teavm.model.classes.TagRegistry;
 import org.teavm.model.classes.VirtualTableEntry;
 import org.teavm.runtime.Allocator;
+import org.teavm.runtime.ExceptionHandling;
 import org.teavm.runtime.RuntimeArray;
 import org.teavm.runtime.RuntimeClass;
 import org.teavm.runtime.ShadowStack;
@@ -122,6 +124,10 @@ import org.teavm.runtime.ShadowStack;
 class WasmGenerationVisitor implements StatementVisitor, ExprVisitor {
     private static FieldReference tagField = new FieldReference(RuntimeClass.class.getName(), "tag");
     private static final int SWITCH_TABLE_THRESHOLD = 256;
+    static final MethodReference THROW_NATIVE_EXCEPTION_METHOD = new MethodReference(ExceptionHandling.class,
+            "throwNativeException", Throwable.class, void.class);
+    private static final MethodReference CATCH_EXCEPTION_METHOD = new MethodReference(ExceptionHandling.class,
+            "catchException", Throwable.class);
     private WasmGenerationContext context;
     private WasmClassGenerator classGenerator;
     private WasmTypeInference typeInference;
@@ -134,6 +140,8 @@ class WasmGenerationVisitor implements StatementVisitor, ExprVisitor {
     private Set<WasmBlock> usedBlocks = new HashSet<>();
     private List<Deque<WasmLocal>> temporaryVariablesByType = new ArrayList<>();
     private WasmLocal stackVariable;
+    private WasmBlock stackAllocation;
+    private WasmLocal stackTopVariable;
     private BinaryWriter binaryWriter;
     WasmExpression result;
 
@@ -995,7 +1003,22 @@ class WasmGenerationVisitor implements StatementVisitor, ExprVisitor {
         expr.getArguments().add(sizeExpr);
         expr.acceptVisitor(this);
 
-        result = new WasmSetLocal(stackVariable, result);
+        stackAllocation = new WasmBlock(false);
+        stackAllocation.getBody().add(new WasmSetLocal(stackVariable, result));
+        result = stackAllocation;
+    }
+
+    private WasmExpression getStackTopAfterAllocation() {
+        if (stackTopVariable == null) {
+            stackTopVariable = getTemporary(WasmType.INT32);
+            stackAllocation.getBody().add(new WasmSetLocal(stackTopVariable, generateLoadStackTop()));
+        }
+        return new WasmGetLocal(stackTopVariable);
+    }
+
+    private WasmExpression generateLoadStackTop() {
+        int offset = classGenerator.getFieldOffset(new FieldReference(WasmRuntime.class.getName(), "stack"));
+        return new WasmLoadInt32(4, new WasmInt32Constant(offset), WasmInt32Subtype.INT32);
     }
 
     private void generateReleaseStack() {
@@ -1268,20 +1291,31 @@ class WasmGenerationVisitor implements StatementVisitor, ExprVisitor {
     @Override
     public void visit(InstanceOfExpr expr) {
         accept(expr.getExpr());
+        result = generateInstanceOf(result, expr.getType(), expr.getLocation());
+    }
 
-        if (expr.getType() instanceof ValueType.Object) {
-            ValueType.Object cls = (ValueType.Object) expr.getType();
+    private WasmExpression generateInstanceOf(WasmExpression value, ValueType type, TextLocation location) {
+        if (type instanceof ValueType.Object) {
+            ValueType.Object cls = (ValueType.Object) type;
             List<TagRegistry.Range> ranges = context.getTagRegistry().getRanges(cls.getClassName());
+            if (ranges.isEmpty()) {
+                WasmBlock block = new WasmBlock(false);
+                block.setType(WasmType.INT32);
+                block.setLocation(location);
+                block.getBody().add(new WasmDrop(value));
+                block.getBody().add(new WasmInt32Constant(0));
+                return block;
+            }
             ranges.sort(Comparator.comparingInt(range -> range.lower));
 
             WasmBlock block = new WasmBlock(false);
             block.setType(WasmType.INT32);
-            block.setLocation(expr.getLocation());
+            block.setLocation(location);
 
             WasmLocal tagVar = getTemporary(WasmType.INT32);
             int tagOffset = classGenerator.getFieldOffset(tagField);
             WasmExpression tagPtr = new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.ADD,
-                    getReferenceToClass(result), new WasmInt32Constant(tagOffset));
+                    getReferenceToClass(value), new WasmInt32Constant(tagOffset));
             block.getBody().add(new WasmSetLocal(tagVar, new WasmLoadInt32(4, tagPtr, WasmInt32Subtype.INT32)));
 
             WasmExpression lowerThanMinCond = new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.LT_SIGNED,
@@ -1315,8 +1349,8 @@ class WasmGenerationVisitor implements StatementVisitor, ExprVisitor {
             block.getBody().add(new WasmInt32Constant(1));
             releaseTemporary(tagVar);
 
-            result = block;
-        } else if (expr.getType() instanceof ValueType.Array) {
+            return block;
+        } else if (type instanceof ValueType.Array) {
             throw new UnsupportedOperationException();
         } else {
             throw new AssertionError();
@@ -1328,13 +1362,26 @@ class WasmGenerationVisitor implements StatementVisitor, ExprVisitor {
         WasmBlock block = new WasmBlock(false);
         block.setLocation(statement.getLocation());
         accept(statement.getException());
-        block.getBody().add(result);
+        if (context.isNativeExceptions()) {
+            block.getBody().add(generateThrow(result, statement.getLocation()));
+        } else {
+            // Shadow stack lowering has already replaced throws with calls to ExceptionHandling.throwException
+            // followed by a jump to the handler or a return, so there's nothing to unwind here
+            block.getBody().add(result);
+        }
 
         block.getBody().add(new WasmUnreachable());
 
         result = block;
     }
 
+    private WasmExpression generateThrow(WasmExpression exception, TextLocation location) {
+        WasmCall call = new WasmCall(WasmMangling.mangleMethod(THROW_NATIVE_EXCEPTION_METHOD));
+        call.getArguments().add(exception);
+        call.setLocation(location);
+        return call;
+    }
+
     @Override
     public void visit(CastExpr expr) {
         accept(expr.getValue());
@@ -1361,12 +1408,106 @@ class WasmGenerationVisitor implements StatementVisitor, ExprVisitor {
     @Override
     public void visit(TryCatchStatement statement) {
         WasmBlock block = new WasmBlock(false);
-        for (Statement bodyPart : statement.getProtectedBody()) {
+        if (!context.isNativeExceptions()) {
+            // Exception edges are explicit jumps after each call, generated by shadow stack lowering
+            for (Statement bodyPart : statement.getProtectedBody()) {
+                accept(bodyPart);
+                if (result != null) {
+                    block.getBody().add(result);
+                }
+            }
+            result = block;
+            return;
+        }
+
+        // Native unwinding skips the code that releases shadow stack frames of the callees,
+        // so the handler restores the stack pointer as it was in this method. Without own frame
+        // it's the value on entry to the protected block, otherwise the value right after the frame allocation,
+        // which can happen inside the protected block
+        WasmLocal savedStack = stackVariable == null ? getTemporary(WasmType.INT32) : null;
+        if (savedStack != null) {
+            block.getBody().add(new WasmSetLocal(savedStack, generateLoadStackTop()));
+        }
+
+        // Directly nested try/catch statements are alternative handlers of the same protected body,
+        // outer one is checked first
+        List<TryCatchStatement> sequence = new ArrayList<>();
+        sequence.add(statement);
+        List<Statement> protectedBody = statement.getProtectedBody();
+        while (protectedBody.size() == 1 && protectedBody.get(0) instanceof TryCatchStatement) {
+            TryCatchStatement nextStatement = (TryCatchStatement) protectedBody.get(0);
+            sequence.add(nextStatement);
+            protectedBody = nextStatement.getProtectedBody();
+        }
+
+        WasmTry tryExpr = new WasmTry();
+        for (Statement bodyPart : protectedBody) {
             accept(bodyPart);
             if (result != null) {
-                block.getBody().add(result);
+                tryExpr.getBody().getBody().add(result);
+            }
+        }
+
+        List<WasmExpression> handler = tryExpr.getCatchBlock().getBody();
+        int stackOffset = classGenerator.getFieldOffset(new FieldReference(WasmRuntime.class.getName(), "stack"));
+        WasmExpression stackTop;
+        if (stackVariable != null) {
+            stackTop = getStackTopAfterAllocation();
+            if (savedStack != null) {
+                block.getBody().remove(0);
             }
+        } else {
+            stackTop = new WasmGetLocal(savedStack);
         }
+        handler.add(new WasmStoreInt32(4, new WasmInt32Constant(stackOffset), stackTop, WasmInt32Subtype.INT32));
+        if (savedStack != null) {
+            releaseTemporary(savedStack);
+        }
+
+        WasmLocal exceptionVar = getTemporary(WasmType.INT32);
+        handler.add(new WasmSetLocal(exceptionVar, new WasmCall(WasmMangling.mangleMethod(
+                CATCH_EXCEPTION_METHOD))));
+
+        WasmBlock handled = new WasmBlock(false);
+        boolean catchesAll = false;
+        for (TryCatchStatement catchClause : sequence) {
+            List<WasmExpression> clauseBody;
+            if (catchClause.getExceptionType() != null) {
+                WasmExpression isInstance = generateInstanceOf(new WasmGetLocal(exceptionVar),
+                        ValueType.object(catchClause.getExceptionType()), null);
+                WasmConditional conditional = new WasmConditional(isInstance);
+                handled.getBody().add(conditional);
+                clauseBody = conditional.getThenBlock().getBody();
+            } else {
+                clauseBody = handled.getBody();
+            }
+
+            if (catchClause.getExceptionVariable() != null) {
+                WasmLocal local = function.getLocalVariables().get(catchClause.getExceptionVariable()
+                        - firstVariable);
+                clauseBody.add(new WasmSetLocal(local, new WasmGetLocal(exceptionVar)));
+            }
+            for (Statement handlerPart : catchClause.getHandler()) {
+                accept(handlerPart);
+                if (result != null) {
+                    clauseBody.add(result);
+                }
+            }
+
+            if (catchClause.getExceptionType() == null) {
+                catchesAll = true;
+                break;
+            }
+            clauseBody.add(new WasmBreak(handled));
+        }
+        if (!catchesAll) {
+            handled.getBody().add(generateThrow(new WasmGetLocal(exceptionVar), null));
+            handled.getBody().add(new WasmUnreachable());
+        }
+        releaseTemporary(exceptionVar);
+        handler.add(handled);
+
+        block.getBody().add(tryExpr);
         result = block;
     }
 
@@ -15,6 +15,7 @@
  */
 package org.teavm.backend.wasm.generate;
 
+import java.util.List;
 import org.teavm.ast.RegularMethodNode;
 import org.teavm.ast.VariableNode;
 import org.teavm.ast.decompilation.Decompiler;
@@ -23,6 +24,9 @@ import org.teavm.backend.wasm.model.WasmFunction;
 import org.teavm.backend.wasm.model.WasmLocal;
 import org.teavm.backend.wasm.model.WasmType;
 import org.teavm.backend.wasm.model.expression.WasmBlock;
+import org.teavm.backend.wasm.model.expression.WasmExpression;
+import org.teavm.backend.wasm.model.expression.WasmReturn;
+import org.teavm.backend.wasm.model.expression.WasmUnreachable;
 import org.teavm.interop.Export;
 import org.teavm.model.AnnotationReader;
 import org.teavm.model.ClassHolder;
@@ -85,7 +89,15 @@ public class WasmGenerator {
                 firstVariable);
         methodAst.getBody().acceptVisitor(visitor);
         if (visitor.result instanceof WasmBlock) {
-            ((WasmBlock) visitor.result).setType(function.getResult());
+            WasmBlock body = (WasmBlock) visitor.result;
+            body.setType(function.getResult());
+            List<WasmExpression> parts = body.getBody();
+            if (function.getResult() != null && !parts.isEmpty()
+                    && !(parts.get(parts.size() - 1) instanceof WasmReturn)) {
+                // Body can end with a throw or with try/catch that leaves the method in both parts,
+                // they don't produce value, although never complete normally
+                parts.add(new WasmUnreachable());
+            }
         }
         function.getBody().add(visitor.result);
 
@@ -21,13 +21,16 @@ import org.teavm.backend.wasm.WasmRuntime;
 import org.teavm.backend.wasm.generate.WasmClassGenerator;
 import org.teavm.backend.wasm.generate.WasmMangling;
 import org.teavm.backend.wasm.model.expression.WasmCall;
+import org.teavm.backend.wasm.model.expression.WasmCopyMemory;
 import org.teavm.backend.wasm.model.expression.WasmExpression;
+import org.teavm.backend.wasm.model.expression.WasmFillMemory;
 import org.teavm.backend.wasm.model.expression.WasmInt32Constant;
 import org.teavm.backend.wasm.model.expression.WasmInt32Subtype;
 import org.teavm.backend.wasm.model.expression.WasmIntBinary;
 import org.teavm.backend.wasm.model.expression.WasmIntBinaryOperation;
 import org.teavm.backend.wasm.model.expression.WasmIntType;
 import org.teavm.backend.wasm.model.expression.WasmLoadInt32;
+import org.teavm.backend.wasm.render.WasmBinaryVersion;
 import org.teavm.model.FieldReference;
 import org.teavm.model.MethodReference;
 import org.teavm.runtime.Allocator;
@@ -36,9 +39,11 @@ import org.teavm.runtime.RuntimeClass;
 public class AllocatorIntrinsic implements WasmIntrinsic {
     private static final FieldReference flagsField = new FieldReference(RuntimeClass.class.getName(), "flags");
     private int flagsFieldOffset;
+    private WasmBinaryVersion version;
 
-    public AllocatorIntrinsic(WasmClassGenerator classGenerator) {
+    public AllocatorIntrinsic(WasmClassGenerator classGenerator, WasmBinaryVersion version) {
         flagsFieldOffset = classGenerator.getFieldOffset(flagsField);
+        this.version = version;
     }
 
     @Override
@@ -48,6 +53,8 @@ public class AllocatorIntrinsic implements WasmIntrinsic {
         }
         switch (methodReference.getName()) {
             case "fillZero":
+            case "fill":
+            case "fillInt":
             case "moveMemoryBlock":
             case "isInitialized":
                 return true;
@@ -60,15 +67,27 @@ public class AllocatorIntrinsic implements WasmIntrinsic {
     public WasmExpression apply(InvocationExpr invocation, WasmIntrinsicManager manager) {
         switch (invocation.getMethod().getName()) {
             case "fillZero":
-            case "moveMemoryBlock": {
-                MethodReference delegateMethod = new MethodReference(WasmRuntime.class.getName(),
-                        invocation.getMethod().getDescriptor());
-                WasmCall call = new WasmCall(WasmMangling.mangleMethod(delegateMethod));
-                call.getArguments().addAll(invocation.getArguments().stream()
-                        .map(manager::generate)
-                        .collect(Collectors.toList()));
-                return call;
-            }
+                if (version.supportsBulkMemory()) {
+                    return new WasmFillMemory(manager.generate(invocation.getArguments().get(0)),
+                            new WasmInt32Constant(0), manager.generate(invocation.getArguments().get(1)));
+                }
+                return callRuntime(invocation, manager);
+            case "fill":
+                if (version.supportsBulkMemory()) {
+                    return new WasmFillMemory(manager.generate(invocation.getArguments().get(0)),
+                            manager.generate(invocation.getArguments().get(1)),
+                            manager.generate(invocation.getArguments().get(2)));
+                }
+                return callRuntime(invocation, manager);
+            case "moveMemoryBlock":
+                if (version.supportsBulkMemory()) {
+                    return new WasmCopyMemory(manager.generate(invocation.getArguments().get(0)),
+                            manager.generate(invocation.getArguments().get(1)),
+                            manager.generate(invocation.getArguments().get(2)));
+                }
+                return callRuntime(invocation, manager);
+            case "fillInt":
+                return callRuntime(invocation, manager);
             case "isInitialized": {
                 WasmExpression pointer = manager.generate(invocation.getArguments().get(0));
                 if (pointer instanceof WasmInt32Constant) {
@@ -86,4 +105,14 @@ public class AllocatorIntrinsic implements WasmIntrinsic {
                 throw new IllegalArgumentException(invocation.getMethod().toString());
         }
     }
+
+    private static WasmExpression callRuntime(InvocationExpr invocation, WasmIntrinsicManager manager) {
+        MethodReference delegateMethod = new MethodReference(WasmRuntime.class.getName(),
+                invocation.getMethod().getDescriptor());
+        WasmCall call = new WasmCall(WasmMangling.mangleMethod(delegateMethod));
+        call.getArguments().addAll(invocation.getArguments().stream()
+                .map(manager::generate)
+                .collect(Collectors.toList()));
+        return call;
+    }
 }
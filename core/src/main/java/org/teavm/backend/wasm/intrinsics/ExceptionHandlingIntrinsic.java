@@ -22,11 +22,13 @@ import org.teavm.backend.wasm.binary.BinaryWriter;
 import org.teavm.backend.wasm.generate.CallSiteBinaryGenerator;
 import org.teavm.backend.wasm.generate.WasmClassGenerator;
 import org.teavm.backend.wasm.generate.WasmStringPool;
+import org.teavm.backend.wasm.model.expression.WasmBlock;
 import org.teavm.backend.wasm.model.expression.WasmExpression;
 import org.teavm.backend.wasm.model.expression.WasmInt32Constant;
 import org.teavm.backend.wasm.model.expression.WasmIntBinary;
 import org.teavm.backend.wasm.model.expression.WasmIntBinaryOperation;
 import org.teavm.backend.wasm.model.expression.WasmIntType;
+import org.teavm.backend.wasm.model.expression.WasmThrow;
 import org.teavm.model.MethodReference;
 import org.teavm.model.lowlevel.CallSiteDescriptor;
 import org.teavm.runtime.CallSite;
@@ -36,11 +38,13 @@ public class ExceptionHandlingIntrinsic implements WasmIntrinsic {
     private CallSiteBinaryGenerator callSiteBinaryGenerator;
     private WasmClassGenerator classGenerator;
     private List<WasmInt32Constant> constants = new ArrayList<>();
+    private boolean nativeExceptions;
 
     public ExceptionHandlingIntrinsic(BinaryWriter binaryWriter, WasmClassGenerator classGenerator,
-            WasmStringPool stringPool) {
+            WasmStringPool stringPool, boolean nativeExceptions) {
         callSiteBinaryGenerator = new CallSiteBinaryGenerator(binaryWriter, classGenerator, stringPool);
         this.classGenerator = classGenerator;
+        this.nativeExceptions = nativeExceptions;
     }
 
     @Override
@@ -50,7 +54,11 @@ public class ExceptionHandlingIntrinsic implements WasmIntrinsic {
         }
         switch (methodReference.getName()) {
             case "findCallSiteById":
+            case "raise":
                 return true;
+            case "callStackSize":
+            case "fillStackTrace":
+                return nativeExceptions;
         }
         return false;
     }
@@ -64,6 +72,16 @@ public class ExceptionHandlingIntrinsic implements WasmIntrinsic {
 
     @Override
     public WasmExpression apply(InvocationExpr invocation, WasmIntrinsicManager manager) {
+        switch (invocation.getMethod().getName()) {
+            case "raise":
+                return new WasmThrow();
+            case "callStackSize":
+                // Call sites are not registered in shadow stack with native exceptions, so stack trace is empty
+                return new WasmInt32Constant(0);
+            case "fillStackTrace":
+                return new WasmBlock(false);
+        }
+
         WasmInt32Constant constant = new WasmInt32Constant(0);
         constant.setLocation(invocation.getLocation());
         constants.add(constant);
@@ -29,11 +29,21 @@ import org.teavm.backend.wasm.model.expression.WasmInt32Constant;
 import org.teavm.backend.wasm.model.expression.WasmIntBinary;
 import org.teavm.backend.wasm.model.expression.WasmIntBinaryOperation;
 import org.teavm.backend.wasm.model.expression.WasmIntType;
+import org.teavm.backend.wasm.model.expression.WasmStoreVector128;
+import org.teavm.backend.wasm.model.expression.WasmUnreachable;
+import org.teavm.backend.wasm.model.expression.WasmVectorShape;
+import org.teavm.backend.wasm.model.expression.WasmVectorSplat;
+import org.teavm.backend.wasm.render.WasmBinaryVersion;
 import org.teavm.model.MethodReference;
 
 public class WasmRuntimeIntrinsic implements WasmIntrinsic {
+    private WasmBinaryVersion version;
     private List<WasmInt32Constant> stackExpressions = new ArrayList<>();
 
+    public WasmRuntimeIntrinsic(WasmBinaryVersion version) {
+        this.version = version;
+    }
+
     @Override
     public boolean isApplicable(MethodReference methodReference) {
         if (!methodReference.getClassName().equals(WasmRuntime.class.getName())) {
@@ -43,6 +53,8 @@ public class WasmRuntimeIntrinsic implements WasmIntrinsic {
             case "gt":
             case "lt":
             case "initStack":
+            case "isSimdSupported":
+            case "storeInt32x4":
                 return true;
             default:
                 return false;
@@ -69,6 +81,16 @@ public class WasmRuntimeIntrinsic implements WasmIntrinsic {
                 stackExpressions.add(constant);
                 return constant;
             }
+            case "isSimdSupported":
+                return new WasmInt32Constant(version.supportsSimd() ? 1 : 0);
+            case "storeInt32x4": {
+                if (!version.supportsSimd()) {
+                    return new WasmUnreachable();
+                }
+                WasmExpression address = manager.generate(invocation.getArguments().get(0));
+                WasmExpression value = manager.generate(invocation.getArguments().get(1));
+                return new WasmStoreVector128(4, address, new WasmVectorSplat(WasmVectorShape.INT32X4, value));
+            }
             default:
                 throw new IllegalArgumentException(invocation.getMethod().getName());
         }
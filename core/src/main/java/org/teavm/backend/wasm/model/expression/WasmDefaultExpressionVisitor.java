@@ -180,4 +180,48 @@ public class WasmDefaultExpressionVisitor implements WasmExpressionVisitor {
         expression.getIndex().acceptVisitor(this);
         expression.getValue().acceptVisitor(this);
     }
+
+    @Override
+    public void visit(WasmFillMemory expression) {
+        expression.getIndex().acceptVisitor(this);
+        expression.getValue().acceptVisitor(this);
+        expression.getCount().acceptVisitor(this);
+    }
+
+    @Override
+    public void visit(WasmCopyMemory expression) {
+        expression.getSourceIndex().acceptVisitor(this);
+        expression.getDestinationIndex().acceptVisitor(this);
+        expression.getCount().acceptVisitor(this);
+    }
+
+    @Override
+    public void visit(WasmVectorSplat expression) {
+        expression.getValue().acceptVisitor(this);
+    }
+
+    @Override
+    public void visit(WasmLoadVector128 expression) {
+        expression.getIndex().acceptVisitor(this);
+    }
+
+    @Override
+    public void visit(WasmStoreVector128 expression) {
+        expression.getIndex().acceptVisitor(this);
+        expression.getValue().acceptVisitor(this);
+    }
+
+    @Override
+    public void visit(WasmTry expression) {
+        for (WasmExpression part : expression.getBody().getBody()) {
+            part.acceptVisitor(this);
+        }
+        for (WasmExpression part : expression.getCatchBlock().getBody()) {
+            part.acceptVisitor(this);
+        }
+    }
+
+    @Override
+    public void visit(WasmThrow expression) {
+    }
 }
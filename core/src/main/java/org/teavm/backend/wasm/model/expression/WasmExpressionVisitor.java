@@ -73,4 +73,18 @@ public interface WasmExpressionVisitor {
     void visit(WasmStoreFloat32 expression);
 
     void visit(WasmStoreFloat64 expression);
+
+    void visit(WasmFillMemory expression);
+
+    void visit(WasmCopyMemory expression);
+
+    void visit(WasmVectorSplat expression);
+
+    void visit(WasmLoadVector128 expression);
+
+    void visit(WasmStoreVector128 expression);
+
+    void visit(WasmTry expression);
+
+    void visit(WasmThrow expression);
 }
@@ -221,4 +221,54 @@ public class WasmReplacingExpressionVisitor implements WasmExpressionVisitor {
         expression.getValue().acceptVisitor(this);
         expression.setValue(mapper.apply(expression.getValue()));
     }
+
+    @Override
+    public void visit(WasmFillMemory expression) {
+        expression.getIndex().acceptVisitor(this);
+        expression.setIndex(mapper.apply(expression.getIndex()));
+        expression.getValue().acceptVisitor(this);
+        expression.setValue(mapper.apply(expression.getValue()));
+        expression.getCount().acceptVisitor(this);
+        expression.setCount(mapper.apply(expression.getCount()));
+    }
+
+    @Override
+    public void visit(WasmCopyMemory expression) {
+        expression.getSourceIndex().acceptVisitor(this);
+        expression.setSourceIndex(mapper.apply(expression.getSourceIndex()));
+        expression.getDestinationIndex().acceptVisitor(this);
+        expression.setDestinationIndex(mapper.apply(expression.getDestinationIndex()));
+        expression.getCount().acceptVisitor(this);
+        expression.setCount(mapper.apply(expression.getCount()));
+    }
+
+    @Override
+    public void visit(WasmVectorSplat expression) {
+        expression.getValue().acceptVisitor(this);
+        expression.setValue(mapper.apply(expression.getValue()));
+    }
+
+    @Override
+    public void visit(WasmLoadVector128 expression) {
+        expression.getIndex().acceptVisitor(this);
+        expression.setIndex(mapper.apply(expression.getIndex()));
+    }
+
+    @Override
+    public void visit(WasmStoreVector128 expression) {
+        expression.getIndex().acceptVisitor(this);
+        expression.setIndex(mapper.apply(expression.getIndex()));
+        expression.getValue().acceptVisitor(this);
+        expression.setValue(mapper.apply(expression.getValue()));
+    }
+
+    @Override
+    public void visit(WasmTry expression) {
+        replaceExpressions(expression.getBody().getBody());
+        replaceExpressions(expression.getCatchBlock().getBody());
+    }
+
+    @Override
+    public void visit(WasmThrow expression) {
+    }
 }
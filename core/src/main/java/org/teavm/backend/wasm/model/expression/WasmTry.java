@@ -0,0 +1,39 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.model.expression;
+
+/**
+ * Block that transfers control to its catch block when a Java exception is thrown from its body,
+ * either directly by {@link WasmThrow} or by any function called from the body.
+ * The exception object itself is not passed along, it is kept by the runtime.
+ */
+public class WasmTry extends WasmExpression {
+    private WasmBlock body = new WasmBlock(false);
+    private WasmBlock catchBlock = new WasmBlock(false);
+
+    public WasmBlock getBody() {
+        return body;
+    }
+
+    public WasmBlock getCatchBlock() {
+        return catchBlock;
+    }
+
+    @Override
+    public void acceptVisitor(WasmExpressionVisitor visitor) {
+        visitor.visit(this);
+    }
+}
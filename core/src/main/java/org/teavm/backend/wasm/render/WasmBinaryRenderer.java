@@ -39,6 +39,7 @@ public class WasmBinaryRenderer {
     private static final int SECTION_ELEMENT = 9;
     private static final int SECTION_CODE = 10;
     private static final int SECTION_DATA = 11;
+    private static final int SECTION_TAG = 13;
 
     private static final int EXTERNAL_KIND_FUNCTION = 0;
     private static final int EXTERNAL_KIND_MEMORY = 2;
@@ -49,6 +50,7 @@ public class WasmBinaryRenderer {
     private Map<WasmSignature, Integer> signatureIndexes = new HashMap<>();
     private Map<String, Integer> importIndexes = new HashMap<>();
     private Map<String, Integer> functionIndexes = new HashMap<>();
+    private WasmSignature exceptionTagSignature;
 
     public WasmBinaryRenderer(WasmBinaryWriter output, WasmBinaryVersion version) {
         this.output = output;
@@ -59,6 +61,7 @@ public class WasmBinaryRenderer {
         output.writeInt32(0x6d736100);
         switch (version) {
             case V_0x1:
+            case V_0x1_SIMD:
                 output.writeInt32(0x01);
                 break;
         }
@@ -68,6 +71,7 @@ public class WasmBinaryRenderer {
         renderFunctions(module);
         renderTable(module);
         renderMemory(module);
+        renderTags();
         renderExport(module);
         renderStart(module);
         renderElement(module);
@@ -86,6 +90,10 @@ public class WasmBinaryRenderer {
                 part.acceptVisitor(signatureCollector);
             }
         }
+        if (WasmExceptionTagDetector.isUsedIn(module)) {
+            exceptionTagSignature = new WasmSignature(new WasmType[] { null });
+            registerSignature(exceptionTagSignature);
+        }
 
         section.writeLEB(signatures.size());
         for (WasmSignature signature : signatures) {
@@ -186,6 +194,21 @@ public class WasmBinaryRenderer {
         writeSection(SECTION_MEMORY, "memory", section.getData());
     }
 
+    private void renderTags() {
+        if (exceptionTagSignature == null) {
+            return;
+        }
+
+        // Java exceptions are represented by a single tag without parameters,
+        // the exception object is passed aside by the runtime
+        WasmBinaryWriter section = new WasmBinaryWriter();
+        section.writeLEB(1);
+        section.writeByte(0);
+        section.writeLEB(signatureIndexes.get(exceptionTagSignature));
+
+        writeSection(SECTION_TAG, "tag", section.getData());
+    }
+
     private void renderExport(WasmModule module) {
 
         // https://github.com/WebAssembly/design/blob/master/BinaryEncoding.md#export-section
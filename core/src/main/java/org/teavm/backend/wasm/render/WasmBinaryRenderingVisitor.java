@@ -24,9 +24,11 @@ import org.teavm.backend.wasm.model.expression.WasmBreak;
 import org.teavm.backend.wasm.model.expression.WasmCall;
 import org.teavm.backend.wasm.model.expression.WasmConditional;
 import org.teavm.backend.wasm.model.expression.WasmConversion;
+import org.teavm.backend.wasm.model.expression.WasmCopyMemory;
 import org.teavm.backend.wasm.model.expression.WasmDrop;
 import org.teavm.backend.wasm.model.expression.WasmExpression;
 import org.teavm.backend.wasm.model.expression.WasmExpressionVisitor;
+import org.teavm.backend.wasm.model.expression.WasmFillMemory;
 import org.teavm.backend.wasm.model.expression.WasmFloat32Constant;
 import org.teavm.backend.wasm.model.expression.WasmFloat64Constant;
 import org.teavm.backend.wasm.model.expression.WasmFloatBinary;
@@ -41,14 +43,19 @@ import org.teavm.backend.wasm.model.expression.WasmLoadFloat32;
 import org.teavm.backend.wasm.model.expression.WasmLoadFloat64;
 import org.teavm.backend.wasm.model.expression.WasmLoadInt32;
 import org.teavm.backend.wasm.model.expression.WasmLoadInt64;
+import org.teavm.backend.wasm.model.expression.WasmLoadVector128;
 import org.teavm.backend.wasm.model.expression.WasmReturn;
 import org.teavm.backend.wasm.model.expression.WasmSetLocal;
 import org.teavm.backend.wasm.model.expression.WasmStoreFloat32;
 import org.teavm.backend.wasm.model.expression.WasmStoreFloat64;
 import org.teavm.backend.wasm.model.expression.WasmStoreInt32;
 import org.teavm.backend.wasm.model.expression.WasmStoreInt64;
+import org.teavm.backend.wasm.model.expression.WasmStoreVector128;
 import org.teavm.backend.wasm.model.expression.WasmSwitch;
+import org.teavm.backend.wasm.model.expression.WasmThrow;
+import org.teavm.backend.wasm.model.expression.WasmTry;
 import org.teavm.backend.wasm.model.expression.WasmUnreachable;
+import org.teavm.backend.wasm.model.expression.WasmVectorSplat;
 
 class WasmBinaryRenderingVisitor implements WasmExpressionVisitor {
     private WasmBinaryWriter writer;
@@ -154,6 +161,36 @@ class WasmBinaryRenderingVisitor implements WasmExpressionVisitor {
         writer.writeByte(0x0B);
     }
 
+    @Override
+    public void visit(WasmTry expression) {
+        writer.writeByte(0x06);
+        writeBlockType(null);
+
+        ++depth;
+        blockDepths.put(expression.getBody(), depth);
+        for (WasmExpression part : expression.getBody().getBody()) {
+            part.acceptVisitor(this);
+        }
+        blockDepths.remove(expression.getBody());
+
+        writer.writeByte(0x07);
+        writer.writeLEB(0);
+        blockDepths.put(expression.getCatchBlock(), depth);
+        for (WasmExpression part : expression.getCatchBlock().getBody()) {
+            part.acceptVisitor(this);
+        }
+        blockDepths.remove(expression.getCatchBlock());
+        --depth;
+
+        writer.writeByte(0x0B);
+    }
+
+    @Override
+    public void visit(WasmThrow expression) {
+        writer.writeByte(0x08);
+        writer.writeLEB(0);
+    }
+
     @Override
     public void visit(WasmReturn expression) {
         if (expression.getValue() != null) {
@@ -248,10 +285,10 @@ class WasmBinaryRenderingVisitor implements WasmExpressionVisitor {
                     case SHL:
                         writer.writeByte(0x74);
                         break;
-                    case SHR_UNSIGNED:
+                    case SHR_SIGNED:
                         writer.writeByte(0x75);
                         break;
-                    case SHR_SIGNED:
+                    case SHR_UNSIGNED:
                         writer.writeByte(0x76);
                         break;
                     case ROTR:
@@ -327,10 +364,10 @@ class WasmBinaryRenderingVisitor implements WasmExpressionVisitor {
                     case SHL:
                         writer.writeByte(0x86);
                         break;
-                    case SHR_UNSIGNED:
+                    case SHR_SIGNED:
                         writer.writeByte(0x87);
                         break;
-                    case SHR_SIGNED:
+                    case SHR_UNSIGNED:
                         writer.writeByte(0x88);
                         break;
                     case ROTR:
@@ -812,6 +849,72 @@ class WasmBinaryRenderingVisitor implements WasmExpressionVisitor {
         writer.writeLEB(expression.getOffset());
     }
 
+    @Override
+    public void visit(WasmFillMemory expression) {
+        expression.getIndex().acceptVisitor(this);
+        expression.getValue().acceptVisitor(this);
+        expression.getCount().acceptVisitor(this);
+        writer.writeByte(0xFC);
+        writer.writeLEB(11);
+        writer.writeByte(0);
+    }
+
+    @Override
+    public void visit(WasmCopyMemory expression) {
+        expression.getDestinationIndex().acceptVisitor(this);
+        expression.getSourceIndex().acceptVisitor(this);
+        expression.getCount().acceptVisitor(this);
+        writer.writeByte(0xFC);
+        writer.writeLEB(10);
+        writer.writeByte(0);
+        writer.writeByte(0);
+    }
+
+    @Override
+    public void visit(WasmVectorSplat expression) {
+        expression.getValue().acceptVisitor(this);
+        writer.writeByte(0xFD);
+        switch (expression.getShape()) {
+            case INT8X16:
+                writer.writeLEB(15);
+                break;
+            case INT16X8:
+                writer.writeLEB(16);
+                break;
+            case INT32X4:
+                writer.writeLEB(17);
+                break;
+            case INT64X2:
+                writer.writeLEB(18);
+                break;
+            case FLOAT32X4:
+                writer.writeLEB(19);
+                break;
+            case FLOAT64X2:
+                writer.writeLEB(20);
+                break;
+        }
+    }
+
+    @Override
+    public void visit(WasmLoadVector128 expression) {
+        expression.getIndex().acceptVisitor(this);
+        writer.writeByte(0xFD);
+        writer.writeLEB(0);
+        writer.writeByte(alignment(expression.getAlignment()));
+        writer.writeLEB(expression.getOffset());
+    }
+
+    @Override
+    public void visit(WasmStoreVector128 expression) {
+        expression.getIndex().acceptVisitor(this);
+        expression.getValue().acceptVisitor(this);
+        writer.writeByte(0xFD);
+        writer.writeLEB(11);
+        writer.writeByte(alignment(expression.getAlignment()));
+        writer.writeLEB(expression.getOffset());
+    }
+
     private int alignment(int value) {
         return 31 - Integer.numberOfLeadingZeros(Math.max(1, value));
     }
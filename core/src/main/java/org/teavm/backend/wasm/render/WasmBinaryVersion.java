@@ -16,5 +16,19 @@
 package org.teavm.backend.wasm.render;
 
 public enum WasmBinaryVersion {
-    V_0x1
+    V_0x1,
+
+    /**
+     * Version 1 extended with bulk memory operations ({@code memory.fill}, {@code memory.copy})
+     * and 128-bit SIMD instructions.
+     */
+    V_0x1_SIMD;
+
+    public boolean supportsBulkMemory() {
+        return this == V_0x1_SIMD;
+    }
+
+    public boolean supportsSimd() {
+        return this == V_0x1_SIMD;
+    }
 }
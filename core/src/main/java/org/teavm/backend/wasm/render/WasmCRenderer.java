@@ -22,6 +22,7 @@ import org.teavm.backend.wasm.model.WasmLocal;
 import org.teavm.backend.wasm.model.WasmMemorySegment;
 import org.teavm.backend.wasm.model.WasmModule;
 import org.teavm.backend.wasm.model.expression.WasmExpression;
+import org.teavm.backend.wasm.model.expression.WasmVectorShape;
 import org.teavm.model.TextLocation;
 
 public class WasmCRenderer {
@@ -69,7 +70,15 @@ public class WasmCRenderer {
         line("#include <string.h>");
         line("#include <stdlib.h>");
         line("#include <assert.h>");
+        boolean exceptionsUsed = WasmExceptionTagDetector.isUsedIn(module);
+        if (exceptionsUsed) {
+            line("#include <setjmp.h>");
+        }
         line("");
+        renderVectorSupport();
+        if (exceptionsUsed) {
+            renderExceptionSupport();
+        }
 
         renderFunctionDeclarations(module);
         line("static int8_t *wasm_heap;");
@@ -100,9 +109,60 @@ public class WasmCRenderer {
         line("}");
     }
 
+    private void renderVectorSupport() {
+        line("#ifdef __GNUC__");
+        line("typedef int64_t wasm_v128 __attribute__((vector_size(16)));");
+        for (WasmVectorShape shape : WasmVectorShape.values()) {
+            String name = WasmCRenderingVisitor.shapeName(shape);
+            String elementType = WasmCRenderingVisitor.mapType(WasmCRenderingVisitor.scalarType(shape));
+            int count = Integer.parseInt(name.substring(name.indexOf('x') + 1));
+            String vectorElementType = elementType;
+            if (shape == WasmVectorShape.INT8X16) {
+                vectorElementType = "int8_t";
+            } else if (shape == WasmVectorShape.INT16X8) {
+                vectorElementType = "int16_t";
+            }
+            line("typedef " + vectorElementType + " wasm_" + name + " __attribute__((vector_size(16)));");
+            StringBuilder elements = new StringBuilder();
+            for (int i = 0; i < count; ++i) {
+                if (i > 0) {
+                    elements.append(", ");
+                }
+                elements.append("(" + vectorElementType + ") v");
+            }
+            line("static inline wasm_v128 wasm_" + name + "_splat(" + elementType + " v) { return (wasm_v128) (wasm_"
+                    + name + ") { " + elements + " }; }");
+        }
+        line("static inline wasm_v128 wasm_v128_load(void *p) { wasm_v128 v; memcpy(&v, p, 16); return v; }");
+        line("static inline void wasm_v128_store(void *p, wasm_v128 v) { memcpy(p, &v, 16); }");
+        line("#endif");
+        line("");
+    }
+
+    private void renderExceptionSupport() {
+        line("typedef struct wasm_exception_handler {");
+        indent();
+        line("jmp_buf buffer;");
+        line("struct wasm_exception_handler *next;");
+        outdent();
+        line("} wasm_exception_handler;");
+        line("static wasm_exception_handler *wasm_exception_handlers;");
+        line("static void wasm_throw() {");
+        indent();
+        line("if (wasm_exception_handlers == NULL) {");
+        indent();
+        line("abort();");
+        outdent();
+        line("}");
+        line("longjmp(wasm_exception_handlers->buffer, 1);");
+        outdent();
+        line("}");
+        line("");
+    }
+
     private void renderHeap(WasmModule module) {
         line("wasm_heap_size = " + 65536 * module.getMemorySize() + ";");
-        line("wasm_heap = malloc(" + 65536 * module.getMemorySize() + ");");
+        line("wasm_heap = calloc(1, " + 65536 * module.getMemorySize() + ");");
         for (WasmMemorySegment segment : module.getSegments()) {
             line("memcpy(wasm_heap + " + segment.getOffset() + ",");
             indent();
@@ -152,6 +212,10 @@ public class WasmCRenderer {
                 function.getLocalVariables().size(), function.getModule());
         visitor.setMemoryAccessChecked(memoryAccessChecked);
 
+        // Locals may be modified in the protected part and then read after longjmp, so they must not
+        // be kept in registers
+        String localModifier = WasmExceptionTagDetector.hasTryIn(function) ? "volatile " : "";
+
         StringBuilder declaration = new StringBuilder();
         renderFunctionModifiers(declaration, function);
         declaration.append(WasmCRenderingVisitor.mapType(function.getResult())).append(' ');
@@ -160,6 +224,7 @@ public class WasmCRenderer {
             if (i > 0) {
                 declaration.append(", ");
             }
+            declaration.append(localModifier);
             declaration.append(WasmCRenderingVisitor.mapType(function.getParameters().get(i)));
             WasmLocal var = function.getLocalVariables().get(i);
             declaration.append(' ').append(visitor.getVariableName(var));
@@ -171,7 +236,8 @@ public class WasmCRenderer {
         List<WasmLocal> variables = function.getLocalVariables().subList(function.getParameters().size(),
                 function.getLocalVariables().size());
         for (WasmLocal variable : variables) {
-            line(WasmCRenderingVisitor.mapType(variable.getType()) + " " + visitor.getVariableName(variable) + ";");
+            line(localModifier + WasmCRenderingVisitor.mapType(variable.getType()) + " "
+                    + visitor.getVariableName(variable) + ";");
         }
 
         List<WasmExpression> body = function.getBody();
@@ -32,9 +32,11 @@ import org.teavm.backend.wasm.model.expression.WasmBreak;
 import org.teavm.backend.wasm.model.expression.WasmCall;
 import org.teavm.backend.wasm.model.expression.WasmConditional;
 import org.teavm.backend.wasm.model.expression.WasmConversion;
+import org.teavm.backend.wasm.model.expression.WasmCopyMemory;
 import org.teavm.backend.wasm.model.expression.WasmDrop;
 import org.teavm.backend.wasm.model.expression.WasmExpression;
 import org.teavm.backend.wasm.model.expression.WasmExpressionVisitor;
+import org.teavm.backend.wasm.model.expression.WasmFillMemory;
 import org.teavm.backend.wasm.model.expression.WasmFloat32Constant;
 import org.teavm.backend.wasm.model.expression.WasmFloat64Constant;
 import org.teavm.backend.wasm.model.expression.WasmFloatBinary;
@@ -51,14 +53,20 @@ import org.teavm.backend.wasm.model.expression.WasmLoadFloat32;
 import org.teavm.backend.wasm.model.expression.WasmLoadFloat64;
 import org.teavm.backend.wasm.model.expression.WasmLoadInt32;
 import org.teavm.backend.wasm.model.expression.WasmLoadInt64;
+import org.teavm.backend.wasm.model.expression.WasmLoadVector128;
 import org.teavm.backend.wasm.model.expression.WasmReturn;
 import org.teavm.backend.wasm.model.expression.WasmSetLocal;
 import org.teavm.backend.wasm.model.expression.WasmStoreFloat32;
 import org.teavm.backend.wasm.model.expression.WasmStoreFloat64;
 import org.teavm.backend.wasm.model.expression.WasmStoreInt32;
 import org.teavm.backend.wasm.model.expression.WasmStoreInt64;
+import org.teavm.backend.wasm.model.expression.WasmStoreVector128;
 import org.teavm.backend.wasm.model.expression.WasmSwitch;
+import org.teavm.backend.wasm.model.expression.WasmThrow;
+import org.teavm.backend.wasm.model.expression.WasmTry;
 import org.teavm.backend.wasm.model.expression.WasmUnreachable;
+import org.teavm.backend.wasm.model.expression.WasmVectorShape;
+import org.teavm.backend.wasm.model.expression.WasmVectorSplat;
 import org.teavm.model.TextLocation;
 
 class WasmCRenderingVisitor implements WasmExpressionVisitor {
@@ -72,6 +80,8 @@ class WasmCRenderingVisitor implements WasmExpressionVisitor {
     private String[] localVariableNames;
     private Set<String> usedVariableNames = new HashSet<>();
     private boolean memoryAccessChecked;
+    private List<String> exceptionHandlers = new ArrayList<>();
+    private int exceptionHandlerIndex;
 
     WasmCRenderingVisitor(WasmType functionType, int variableCount, WasmModule module) {
         localVariableNames = new String[variableCount];
@@ -100,6 +110,7 @@ class WasmCRenderingVisitor implements WasmExpressionVisitor {
         BlockInfo info = new BlockInfo();
         info.type = requiredType;
         info.index = blockInfoMap.size();
+        info.exceptionHandlerCount = exceptionHandlers.size();
         blockInfoMap.put(expression, info);
 
         List<WasmExpression> body = expression.getBody();
@@ -183,11 +194,22 @@ class WasmCRenderingVisitor implements WasmExpressionVisitor {
             lines.add(new CSingleLine(targetInfo.temporaryVariable + " = " + value.getText() + ";",
                     result.getLocation()));
         }
+        String unwind = unwindExceptionHandlers(targetInfo.exceptionHandlerCount);
+        if (unwind != null) {
+            lines.add(new CSingleLine(unwind));
+        }
         lines.add(new CSingleLine("goto " + getLabel(targetInfo) + ";", location));
 
         return lines;
     }
 
+    private String unwindExceptionHandlers(int remainingCount) {
+        if (exceptionHandlers.size() <= remainingCount) {
+            return null;
+        }
+        return "wasm_exception_handlers = " + exceptionHandlers.get(remainingCount) + ".next;";
+    }
+
     private String getLabel(BlockInfo blockInfo) {
         if (blockInfo.label == null) {
             blockInfo.label = "block_" + blockIndex++;
@@ -208,17 +230,23 @@ class WasmCRenderingVisitor implements WasmExpressionVisitor {
         result.getLines().add(switchBlock);
         for (int i = 0; i < expression.getTargets().size(); ++i) {
             BlockInfo targetInfo = blockInfoMap.get(expression.getTargets().get(i));
-            switchBlock.getLines().add(new CSingleLine("case " + i + ": goto " + getLabel(targetInfo) + ";"));
+            switchBlock.getLines().add(new CSingleLine("case " + i + ": " + switchJump(targetInfo)));
         }
 
         BlockInfo defaultTargetInfo = blockInfoMap.get(expression.getDefaultTarget());
-        switchBlock.getLines().add(new CSingleLine("default: goto " + getLabel(defaultTargetInfo) + ";"));
+        switchBlock.getLines().add(new CSingleLine("default: " + switchJump(defaultTargetInfo)));
 
         result.getLines().add(new CSingleLine("}"));
 
         value = result;
     }
 
+    private String switchJump(BlockInfo targetInfo) {
+        String jump = "goto " + getLabel(targetInfo) + ";";
+        String unwind = unwindExceptionHandlers(targetInfo.exceptionHandlerCount);
+        return unwind != null ? "{ " + unwind + " " + jump + " }" : jump;
+    }
+
     @Override
     public void visit(WasmConditional expression) {
         WasmType type = requiredType;
@@ -277,18 +305,66 @@ class WasmCRenderingVisitor implements WasmExpressionVisitor {
     @Override
     public void visit(WasmReturn expression) {
         CExpression result = new CExpression();
+        String unwind = unwindExceptionHandlers(0);
         if (expression.getValue() != null) {
             requiredType = functionType;
             expression.getValue().acceptVisitor(this);
             result.getLines().addAll(value.getLines());
-            result.addLine("return " + value.getText() + ";", expression.getLocation());
+            String returnValue = value.getText();
+            if (unwind != null) {
+                returnValue = "tmp_" + temporaryIndex++;
+                result.getLines().add(declareVariable(returnValue, functionType));
+                result.addLine(returnValue + " = " + value.getText() + ";");
+                result.addLine(unwind);
+            }
+            result.addLine("return " + returnValue + ";", expression.getLocation());
         } else {
+            if (unwind != null) {
+                result.addLine(unwind);
+            }
             result.addLine("return;", expression.getLocation());
         }
 
         value = result;
     }
 
+    @Override
+    public void visit(WasmTry expression) {
+        CExpression result = new CExpression();
+
+        String handler = "handler_" + exceptionHandlerIndex++;
+        result.addLine("wasm_exception_handler " + handler + ";", expression.getLocation());
+        result.addLine(handler + ".next = wasm_exception_handlers;");
+        result.addLine("wasm_exception_handlers = &" + handler + ";");
+        result.addLine("if (!setjmp(" + handler + ".buffer)) {");
+
+        exceptionHandlers.add(handler);
+        requiredType = null;
+        expression.getBody().acceptVisitor(this);
+        exceptionHandlers.remove(exceptionHandlers.size() - 1);
+        CBlock body = new CBlock(value.getLines());
+        body.getLines().add(new CSingleLine("wasm_exception_handlers = " + handler + ".next;"));
+        result.getLines().add(body);
+
+        result.addLine("} else {");
+        requiredType = null;
+        expression.getCatchBlock().acceptVisitor(this);
+        CBlock catchBlock = new CBlock();
+        catchBlock.getLines().add(new CSingleLine("wasm_exception_handlers = " + handler + ".next;"));
+        catchBlock.getLines().addAll(value.getLines());
+        result.getLines().add(catchBlock);
+        result.addLine("}");
+
+        value = result;
+    }
+
+    @Override
+    public void visit(WasmThrow expression) {
+        CExpression result = new CExpression();
+        result.addLine("wasm_throw();", expression.getLocation());
+        value = result;
+    }
+
     @Override
     public void visit(WasmUnreachable expression) {
         CExpression result = new CExpression();
@@ -1010,6 +1086,145 @@ class WasmCRenderingVisitor implements WasmExpressionVisitor {
         value = result;
     }
 
+    @Override
+    public void visit(WasmFillMemory expression) {
+        CExpression result = new CExpression();
+
+        requiredType = WasmType.INT32;
+        expression.getIndex().acceptVisitor(this);
+        CExpression index = checkAddress(value);
+
+        requiredType = WasmType.INT32;
+        expression.getValue().acceptVisitor(this);
+        CExpression fillValue = value;
+
+        requiredType = WasmType.INT32;
+        expression.getCount().acceptVisitor(this);
+        CExpression count = value;
+
+        result.getLines().addAll(index.getLines());
+        result.getLines().addAll(fillValue.getLines());
+        result.getLines().addAll(count.getLines());
+        result.addLine("memset(&wasm_heap[" + index.getText() + "], " + fillValue.getText() + ", "
+                + count.getText() + ");", expression.getLocation());
+
+        value = result;
+    }
+
+    @Override
+    public void visit(WasmCopyMemory expression) {
+        CExpression result = new CExpression();
+
+        requiredType = WasmType.INT32;
+        expression.getSourceIndex().acceptVisitor(this);
+        CExpression source = checkAddress(value);
+
+        requiredType = WasmType.INT32;
+        expression.getDestinationIndex().acceptVisitor(this);
+        CExpression destination = checkAddress(value);
+
+        requiredType = WasmType.INT32;
+        expression.getCount().acceptVisitor(this);
+        CExpression count = value;
+
+        result.getLines().addAll(source.getLines());
+        result.getLines().addAll(destination.getLines());
+        result.getLines().addAll(count.getLines());
+        result.addLine("memmove(&wasm_heap[" + destination.getText() + "], &wasm_heap[" + source.getText() + "], "
+                + count.getText() + ");", expression.getLocation());
+
+        value = result;
+    }
+
+    @Override
+    public void visit(WasmVectorSplat expression) {
+        WasmType type = requiredType;
+
+        requiredType = scalarType(expression.getShape());
+        expression.getValue().acceptVisitor(this);
+        if (type == null) {
+            return;
+        }
+
+        CExpression result = new CExpression();
+        result.getLines().addAll(value.getLines());
+        result.setText("wasm_" + shapeName(expression.getShape()) + "_splat(" + value.getText() + ")");
+        value = result;
+    }
+
+    @Override
+    public void visit(WasmLoadVector128 expression) {
+        CExpression result = new CExpression();
+        WasmType type = requiredType;
+
+        requiredType = WasmType.INT32;
+        expression.getIndex().acceptVisitor(this);
+        CExpression index = checkAddress(value);
+        if (type == null) {
+            value = index;
+            return;
+        }
+
+        result.getLines().addAll(index.getLines());
+        result.setText("wasm_v128_load(&wasm_heap[" + index.getText() + " + " + expression.getOffset() + "])");
+
+        value = result;
+    }
+
+    @Override
+    public void visit(WasmStoreVector128 expression) {
+        CExpression result = new CExpression();
+
+        requiredType = WasmType.INT32;
+        expression.getIndex().acceptVisitor(this);
+        CExpression index = checkAddress(value);
+
+        requiredType = WasmType.V128;
+        expression.getValue().acceptVisitor(this);
+        CExpression valueToStore = value;
+
+        result.getLines().addAll(index.getLines());
+        result.getLines().addAll(valueToStore.getLines());
+        result.addLine("wasm_v128_store(&wasm_heap[" + index.getText() + " + " + expression.getOffset() + "], "
+                + valueToStore.getText() + ");", expression.getLocation());
+
+        value = result;
+    }
+
+    static WasmType scalarType(WasmVectorShape shape) {
+        switch (shape) {
+            case INT8X16:
+            case INT16X8:
+            case INT32X4:
+                return WasmType.INT32;
+            case INT64X2:
+                return WasmType.INT64;
+            case FLOAT32X4:
+                return WasmType.FLOAT32;
+            case FLOAT64X2:
+                return WasmType.FLOAT64;
+        }
+        throw new AssertionError(shape.toString());
+    }
+
+    static String shapeName(WasmVectorShape shape) {
+        switch (shape) {
+            case INT8X16:
+                return "i8x16";
+            case INT16X8:
+                return "i16x8";
+            case INT32X4:
+                return "i32x4";
+            case INT64X2:
+                return "i64x2";
+            case FLOAT32X4:
+                return "f32x4";
+            case FLOAT64X2:
+                return "f64x2";
+        }
+        throw new AssertionError(shape.toString());
+    }
+
     private CExpression checkAddress(CExpression index) {
         if (!memoryAccessChecked) {
             return index;
@@ -1048,6 +1263,8 @@ class WasmCRenderingVisitor implements WasmExpressionVisitor {
                 return "float";
             case FLOAT64:
                 return "double";
+            case V128:
+                return "wasm_v128";
         }
         throw new AssertionError(type.toString());
     }
@@ -1077,6 +1294,7 @@ class WasmCRenderingVisitor implements WasmExpressionVisitor {
         String label;
         String temporaryVariable;
         WasmType type;
+        int exceptionHandlerCount;
     }
 
     String getVariableName(WasmLocal local) {
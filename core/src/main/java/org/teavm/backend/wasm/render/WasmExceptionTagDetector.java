@@ -0,0 +1,66 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.render;
+
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.WasmModule;
+import org.teavm.backend.wasm.model.expression.WasmDefaultExpressionVisitor;
+import org.teavm.backend.wasm.model.expression.WasmExpression;
+import org.teavm.backend.wasm.model.expression.WasmThrow;
+import org.teavm.backend.wasm.model.expression.WasmTry;
+
+final class WasmExceptionTagDetector extends WasmDefaultExpressionVisitor {
+    private boolean used;
+    private boolean tryUsed;
+
+    private WasmExceptionTagDetector() {
+    }
+
+    static boolean isUsedIn(WasmModule module) {
+        WasmExceptionTagDetector detector = new WasmExceptionTagDetector();
+        for (WasmFunction function : module.getFunctions().values()) {
+            for (WasmExpression part : function.getBody()) {
+                part.acceptVisitor(detector);
+                if (detector.used) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static boolean hasTryIn(WasmFunction function) {
+        WasmExceptionTagDetector detector = new WasmExceptionTagDetector();
+        for (WasmExpression part : function.getBody()) {
+            part.acceptVisitor(detector);
+            if (detector.tryUsed) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void visit(WasmTry expression) {
+        used = true;
+        tryUsed = true;
+    }
+
+    @Override
+    public void visit(WasmThrow expression) {
+        used = true;
+    }
+}
@@ -56,6 +56,7 @@ public class WasmRenderer {
     public void render(WasmModule module) {
         visitor.open().append("module");
         renderTypes(module);
+        renderTags(module);
 
         for (WasmFunction function : module.getFunctions().values()) {
             if (function.getImportName() != null) {
@@ -79,6 +80,13 @@ public class WasmRenderer {
         visitor.close().lf();
     }
 
+    private void renderTags(WasmModule module) {
+        if (WasmExceptionTagDetector.isUsedIn(module)) {
+            visitor.lf();
+            visitor.open().append("tag $" + WasmRenderingVisitor.JAVA_EXCEPTION_TAG).close().lf();
+        }
+    }
+
     public void renderMemory(WasmModule module) {
         visitor.lf();
         visitor.open().append("memory (export \"memory\") " + module.getMemorySize()).close().lf();
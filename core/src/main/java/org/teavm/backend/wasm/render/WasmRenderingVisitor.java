@@ -27,10 +27,12 @@ import org.teavm.backend.wasm.model.expression.WasmBreak;
 import org.teavm.backend.wasm.model.expression.WasmCall;
 import org.teavm.backend.wasm.model.expression.WasmConditional;
 import org.teavm.backend.wasm.model.expression.WasmConversion;
+import org.teavm.backend.wasm.model.expression.WasmCopyMemory;
 import org.teavm.backend.wasm.model.expression.WasmDefaultExpressionVisitor;
 import org.teavm.backend.wasm.model.expression.WasmDrop;
 import org.teavm.backend.wasm.model.expression.WasmExpression;
 import org.teavm.backend.wasm.model.expression.WasmExpressionVisitor;
+import org.teavm.backend.wasm.model.expression.WasmFillMemory;
 import org.teavm.backend.wasm.model.expression.WasmFloat32Constant;
 import org.teavm.backend.wasm.model.expression.WasmFloat64Constant;
 import org.teavm.backend.wasm.model.expression.WasmFloatBinary;
@@ -51,16 +53,23 @@ import org.teavm.backend.wasm.model.expression.WasmLoadFloat32;
 import org.teavm.backend.wasm.model.expression.WasmLoadFloat64;
 import org.teavm.backend.wasm.model.expression.WasmLoadInt32;
 import org.teavm.backend.wasm.model.expression.WasmLoadInt64;
+import org.teavm.backend.wasm.model.expression.WasmLoadVector128;
 import org.teavm.backend.wasm.model.expression.WasmReturn;
 import org.teavm.backend.wasm.model.expression.WasmSetLocal;
 import org.teavm.backend.wasm.model.expression.WasmStoreFloat32;
 import org.teavm.backend.wasm.model.expression.WasmStoreFloat64;
 import org.teavm.backend.wasm.model.expression.WasmStoreInt32;
 import org.teavm.backend.wasm.model.expression.WasmStoreInt64;
+import org.teavm.backend.wasm.model.expression.WasmStoreVector128;
 import org.teavm.backend.wasm.model.expression.WasmSwitch;
+import org.teavm.backend.wasm.model.expression.WasmThrow;
+import org.teavm.backend.wasm.model.expression.WasmTry;
 import org.teavm.backend.wasm.model.expression.WasmUnreachable;
+import org.teavm.backend.wasm.model.expression.WasmVectorShape;
+import org.teavm.backend.wasm.model.expression.WasmVectorSplat;
 
 class WasmRenderingVisitor implements WasmExpressionVisitor {
+    static final String JAVA_EXCEPTION_TAG = "java_exception";
     StringBuilder sb = new StringBuilder();
     private Map<WasmBlock, String> blockIdentifiers = new HashMap<>();
     private int indentLevel;
@@ -578,6 +587,87 @@ class WasmRenderingVisitor implements WasmExpressionVisitor {
         close();
     }
 
+    @Override
+    public void visit(WasmFillMemory expression) {
+        open().append("memory.fill");
+        line(expression.getIndex());
+        line(expression.getValue());
+        line(expression.getCount());
+        close();
+    }
+
+    @Override
+    public void visit(WasmCopyMemory expression) {
+        open().append("memory.copy");
+        line(expression.getDestinationIndex());
+        line(expression.getSourceIndex());
+        line(expression.getCount());
+        close();
+    }
+
+    @Override
+    public void visit(WasmVectorSplat expression) {
+        open().append(shape(expression.getShape()) + ".splat");
+        line(expression.getValue());
+        close();
+    }
+
+    @Override
+    public void visit(WasmLoadVector128 expression) {
+        open().append("v128.load");
+        if (expression.getOffset() > 0) {
+            append(" offset=" + expression.getOffset());
+        }
+        append(" align=" + expression.getAlignment());
+        line(expression.getIndex());
+        close();
+    }
+
+    @Override
+    public void visit(WasmStoreVector128 expression) {
+        open().append("v128.store");
+        if (expression.getOffset() > 0) {
+            append(" offset=" + expression.getOffset());
+        }
+        append(" align=" + expression.getAlignment());
+        line(expression.getIndex());
+        line(expression.getValue());
+        close();
+    }
+
+    @Override
+    public void visit(WasmTry expression) {
+        open().append("try");
+        lf();
+        renderBlock(expression.getBody(), "do", false);
+        lf();
+        renderBlock(expression.getCatchBlock(), "catch $" + JAVA_EXCEPTION_TAG, false);
+        close();
+    }
+
+    @Override
+    public void visit(WasmThrow expression) {
+        open().append("throw $" + JAVA_EXCEPTION_TAG).close();
+    }
+
+    private String shape(WasmVectorShape shape) {
+        switch (shape) {
+            case INT8X16:
+                return "i8x16";
+            case INT16X8:
+                return "i16x8";
+            case INT32X4:
+                return "i32x4";
+            case INT64X2:
+                return "i64x2";
+            case FLOAT32X4:
+                return "f32x4";
+            case FLOAT64X2:
+                return "f64x2";
+        }
+        throw new AssertionError(shape.toString());
+    }
+
     private String type(WasmType type) {
         switch (type) {
             case INT32:
@@ -588,6 +678,8 @@ class WasmRenderingVisitor implements WasmExpressionVisitor {
                 return "f32";
             case FLOAT64:
                 return "f64";
+            case V128:
+                return "v128";
         }
         throw new AssertionError(type.toString());
     }
@@ -24,8 +24,10 @@ import org.teavm.backend.wasm.model.expression.WasmBreak;
 import org.teavm.backend.wasm.model.expression.WasmCall;
 import org.teavm.backend.wasm.model.expression.WasmConditional;
 import org.teavm.backend.wasm.model.expression.WasmConversion;
+import org.teavm.backend.wasm.model.expression.WasmCopyMemory;
 import org.teavm.backend.wasm.model.expression.WasmDrop;
 import org.teavm.backend.wasm.model.expression.WasmExpressionVisitor;
+import org.teavm.backend.wasm.model.expression.WasmFillMemory;
 import org.teavm.backend.wasm.model.expression.WasmFloat32Constant;
 import org.teavm.backend.wasm.model.expression.WasmFloat64Constant;
 import org.teavm.backend.wasm.model.expression.WasmFloatBinary;
@@ -42,14 +44,19 @@ import org.teavm.backend.wasm.model.expression.WasmLoadFloat32;
 import org.teavm.backend.wasm.model.expression.WasmLoadFloat64;
 import org.teavm.backend.wasm.model.expression.WasmLoadInt32;
 import org.teavm.backend.wasm.model.expression.WasmLoadInt64;
+import org.teavm.backend.wasm.model.expression.WasmLoadVector128;
 import org.teavm.backend.wasm.model.expression.WasmReturn;
 import org.teavm.backend.wasm.model.expression.WasmSetLocal;
 import org.teavm.backend.wasm.model.expression.WasmStoreFloat32;
 import org.teavm.backend.wasm.model.expression.WasmStoreFloat64;
 import org.teavm.backend.wasm.model.expression.WasmStoreInt32;
 import org.teavm.backend.wasm.model.expression.WasmStoreInt64;
+import org.teavm.backend.wasm.model.expression.WasmStoreVector128;
 import org.teavm.backend.wasm.model.expression.WasmSwitch;
+import org.teavm.backend.wasm.model.expression.WasmThrow;
+import org.teavm.backend.wasm.model.expression.WasmTry;
 import org.teavm.backend.wasm.model.expression.WasmUnreachable;
+import org.teavm.backend.wasm.model.expression.WasmVectorSplat;
 
 public class WasmTypeInference implements WasmExpressionVisitor {
     private WasmGenerationContext context;
@@ -209,6 +216,41 @@ public class WasmTypeInference implements WasmExpressionVisitor {
         result = null;
     }
 
+    @Override
+    public void visit(WasmFillMemory expression) {
+        result = null;
+    }
+
+    @Override
+    public void visit(WasmCopyMemory expression) {
+        result = null;
+    }
+
+    @Override
+    public void visit(WasmVectorSplat expression) {
+        result = WasmType.V128;
+    }
+
+    @Override
+    public void visit(WasmLoadVector128 expression) {
+        result = WasmType.V128;
+    }
+
+    @Override
+    public void visit(WasmStoreVector128 expression) {
+        result = null;
+    }
+
+    @Override
+    public void visit(WasmTry expression) {
+        result = null;
+    }
+
+    @Override
+    public void visit(WasmThrow expression) {
+        result = null;
+    }
+
     private static WasmType map(WasmIntType type) {
         switch (type) {
             case INT32:
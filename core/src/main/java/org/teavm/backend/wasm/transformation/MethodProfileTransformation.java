@@ -0,0 +1,78 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.transformation;
+
+import java.nio.charset.StandardCharsets;
+import org.teavm.backend.wasm.binary.BinaryWriter;
+import org.teavm.backend.wasm.binary.DataArray;
+import org.teavm.backend.wasm.binary.DataPrimitives;
+import org.teavm.backend.wasm.binary.DataValue;
+import org.teavm.backend.wasm.generate.WasmMangling;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.WasmModule;
+import org.teavm.backend.wasm.model.WasmType;
+import org.teavm.backend.wasm.model.expression.WasmCall;
+import org.teavm.backend.wasm.model.expression.WasmInt32Constant;
+import org.teavm.model.ListableClassReaderSource;
+import org.teavm.model.MethodReader;
+
+/**
+ * Inserts call of imported <code>profile.enterMethod(name, length)</code> function at the beginning
+ * of every function generated from Java method. Method reference is passed as address and length of
+ * UTF-8 string that is placed into data segment, so that host can decode it and count invocations.
+ */
+public class MethodProfileTransformation {
+    private WasmModule module;
+    private BinaryWriter binaryWriter;
+    private ListableClassReaderSource classes;
+
+    public MethodProfileTransformation(WasmModule module, BinaryWriter binaryWriter,
+            ListableClassReaderSource classes) {
+        this.module = module;
+        this.binaryWriter = binaryWriter;
+        this.classes = classes;
+    }
+
+    public void apply() {
+        WasmFunction enterFunction = new WasmFunction("profileEnterMethod");
+        enterFunction.setImportModule("profile");
+        enterFunction.setImportName("enterMethod");
+        enterFunction.getParameters().add(WasmType.INT32);
+        enterFunction.getParameters().add(WasmType.INT32);
+        module.add(enterFunction);
+
+        for (String className : classes.getClassNames()) {
+            for (MethodReader method : classes.get(className).getMethods()) {
+                WasmFunction function = module.getFunctions().get(WasmMangling.mangleMethod(method.getReference()));
+                if (function == null || function.getImportName() != null) {
+                    continue;
+                }
+
+                byte[] name = method.getReference().toString().getBytes(StandardCharsets.UTF_8);
+                DataValue nameData = new DataArray(DataPrimitives.BYTE, name.length).createValue();
+                for (int i = 0; i < name.length; ++i) {
+                    nameData.setByte(i, name[i]);
+                }
+                int address = binaryWriter.append(nameData);
+
+                WasmCall call = new WasmCall(enterFunction.getName(), true);
+                call.getArguments().add(new WasmInt32Constant(address));
+                call.getArguments().add(new WasmInt32Constant(name.length));
+                function.getBody().add(0, call);
+            }
+        }
+    }
+}
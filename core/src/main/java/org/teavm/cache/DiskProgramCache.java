@@ -27,6 +27,7 @@ public class DiskProgramCache implements ProgramCache {
     private Map<MethodReference, Item> cache = new HashMap<>();
     private Set<MethodReference> newMethods = new HashSet<>();
     private ClassDateProvider classDateProvider;
+    private String key = "";
 
     public DiskProgramCache(File directory, SymbolTable symbolTable, SymbolTable fileTable,
             ClassDateProvider classDateProvider) {
@@ -35,6 +36,20 @@ public class DiskProgramCache implements ProgramCache {
         this.classDateProvider = classDateProvider;
     }
 
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * <p>Sets a string that identifies build settings which affect optimized programs, like a loaded method
+     * profile. Cached programs stored with a different key are considered stale.</p>
+     *
+     * @param key settings key, must not be <code>null</code>.
+     */
+    public void setKey(String key) {
+        this.key = key;
+    }
+
     @Override
     public Program get(MethodReference method) {
         Item item = cache.get(method);
@@ -45,6 +60,9 @@ public class DiskProgramCache implements ProgramCache {
             if (file.exists()) {
                 try (InputStream stream = new BufferedInputStream(new FileInputStream(file))) {
                     DataInput input = new DataInputStream(stream);
+                    if (!input.readUTF().equals(key)) {
+                        return null;
+                    }
                     int depCount = input.readShort();
                     boolean dependenciesChanged = false;
                     for (int i = 0; i < depCount; ++i) {
@@ -89,6 +107,7 @@ public class DiskProgramCache implements ProgramCache {
             file.getParentFile().mkdirs();
             try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(file))) {
                 DataOutput output = new DataOutputStream(stream);
+                output.writeUTF(key);
                 output.writeShort(analyzer.dependencies.size());
                 for (String dep : analyzer.dependencies) {
                     output.writeUTF(dep);
@@ -0,0 +1,74 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.cache;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.teavm.model.ClassHolder;
+import org.teavm.model.ClassHolderSource;
+import org.teavm.parsing.ClassDateProvider;
+
+/**
+ * <p>Keeps parsed classes in memory between subsequent builds performed by the same process.</p>
+ *
+ * <p>Before each build, {@link #update(ClassHolderSource, ClassDateProvider)} should be called with fresh
+ * inner source. A cached class is reused as long as the modification date of its class file reported by
+ * the date provider stays the same, otherwise it is taken from the inner source again.
+ * Classes returned by this source are shared between builds and must not be modified by consumers.</p>
+ */
+public class MemoryCachedClassHolderSource implements ClassHolderSource {
+    private ClassHolderSource innerSource;
+    private ClassDateProvider classDateProvider;
+    private Map<String, Item> cache = new HashMap<>();
+    private Set<String> validated = new HashSet<>();
+
+    public void update(ClassHolderSource innerSource, ClassDateProvider classDateProvider) {
+        this.innerSource = innerSource;
+        this.classDateProvider = classDateProvider;
+        validated.clear();
+    }
+
+    @Override
+    public ClassHolder get(String name) {
+        Item item = cache.get(name);
+        if (item != null && validated.contains(name)) {
+            return item.cls;
+        }
+
+        Date date = classDateProvider.getModificationDate(name);
+        if (item == null || date == null || !Objects.equals(date, item.date)) {
+            item = new Item();
+            item.cls = innerSource.get(name);
+            item.date = date;
+            if (item.cls != null) {
+                cache.put(name, item);
+            } else {
+                cache.remove(name);
+            }
+        }
+        validated.add(name);
+        return item.cls;
+    }
+
+    private static class Item {
+        ClassHolder cls;
+        Date date;
+    }
+}
@@ -16,6 +16,8 @@
 package org.teavm.cache;
 
 import java.io.*;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import org.teavm.model.*;
 import org.teavm.model.instructions.*;
@@ -90,6 +92,7 @@ public class ProgramIO {
     public Program read(InputStream input) throws IOException {
         DataInput data = new DataInputStream(input);
         Program program = new Program();
+        Map<TextLocation, TextLocation> locations = new HashMap<>();
         int varCount = data.readShort();
         int basicBlockCount = data.readShort();
         for (int i = 0; i < varCount; ++i) {
@@ -148,7 +151,7 @@ public class ProgramIO {
                     case -3: {
                         String file = fileTable.at(data.readShort());
                         short line = data.readShort();
-                        location = new TextLocation(file, line);
+                        location = locations.computeIfAbsent(new TextLocation(file, line), k -> k);
                         break;
                     }
                     default: {
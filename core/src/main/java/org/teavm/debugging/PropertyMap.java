@@ -63,14 +63,10 @@ class PropertyMap extends AbstractMap<String, Variable> {
         for (Map.Entry<String, JavaScriptVariable> entry : jsVariables.entrySet()) {
             JavaScriptVariable jsVar = entry.getValue();
             String name;
-            if (className.endsWith("[]")) {
-                if (entry.getKey().equals("data")) {
-                    name = entry.getKey();
-                } else {
-                    continue;
-                }
-            } else if (isNumeric(entry.getKey())) {
+            if (isNumeric(entry.getKey())) {
                 name = entry.getKey();
+            } else if (className.endsWith("[]")) {
+                continue;
             } else {
                 name = debugger.mapField(className, entry.getKey());
                 if (name == null) {
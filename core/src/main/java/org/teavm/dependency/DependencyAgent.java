@@ -61,9 +61,14 @@ public class DependencyAgent implements DependencyInfo, ServiceRepository {
     }
 
     public FieldDependency linkField(FieldReference fieldRef, CallLocation callLocation) {
+        checker.preserveField(fieldRef);
         return checker.linkField(fieldRef, callLocation);
     }
 
+    public void preserveField(FieldReference fieldRef) {
+        checker.preserveField(fieldRef);
+    }
+
     public Diagnostics getDiagnostics() {
         return checker.getDiagnostics();
     }
@@ -18,6 +18,7 @@ package org.teavm.dependency;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -77,10 +78,17 @@ public class DependencyChecker implements DependencyInfo {
     private DependencyAgent agent;
     Map<MethodReference, BootstrapMethodSubstitutor> bootstrapMethodSubstitutors = new HashMap<>();
     private boolean completing;
+    private ReferenceCache referenceCache;
 
     public DependencyChecker(ClassReaderSource classSource, ClassLoader classLoader, ServiceRepository services,
             Diagnostics diagnostics) {
+        this(classSource, classLoader, services, diagnostics, new ReferenceCache());
+    }
+
+    public DependencyChecker(ClassReaderSource classSource, ClassLoader classLoader, ServiceRepository services,
+            Diagnostics diagnostics, ReferenceCache referenceCache) {
         this.diagnostics = diagnostics;
+        this.referenceCache = referenceCache;
         this.classSource = new DependencyClassSource(classSource, diagnostics);
         this.classLoader = classLoader;
         this.services = services;
@@ -154,7 +162,7 @@ public class DependencyChecker implements DependencyInfo {
         ClassNode node = new ClassNode();
         org.objectweb.asm.ClassReader reader = new org.objectweb.asm.ClassReader(data);
         reader.accept(node, 0);
-        submitClass(new Parser(new ReferenceCache()).parseClass(node));
+        submitClass(new Parser(referenceCache).parseClass(node));
         return node.name;
     }
 
@@ -416,6 +424,23 @@ public class DependencyChecker implements DependencyInfo {
     }
 
     private Set<FieldReference> fieldsAddedByRoot = new HashSet<>();
+    private Set<FieldReference> preservedFields = new HashSet<>();
+
+    /**
+     * <p>Declares that field is accessed by code that is not represented by method programs, for example
+     * by code emitted by generators and intrinsics. Optimizations must not remove such fields even if
+     * method programs never read them. Fields linked by plugins or without call location are preserved
+     * implicitly.</p>
+     *
+     * @param fieldRef field to preserve.
+     */
+    public void preserveField(FieldReference fieldRef) {
+        preservedFields.add(fieldRef);
+    }
+
+    public Set<FieldReference> getPreservedFields() {
+        return Collections.unmodifiableSet(preservedFields);
+    }
 
     public FieldDependency linkField(FieldReference fieldRef, CallLocation location) {
         if (completing) {
@@ -426,6 +451,7 @@ public class DependencyChecker implements DependencyInfo {
             added = callGraph.getNode(location.getMethod()).addFieldAccess(fieldRef, location.getSourceLocation());
         } else {
             added = fieldsAddedByRoot.add(fieldRef);
+            preservedFields.add(fieldRef);
         }
         FieldDependency dep = fieldCache.map(fieldRef);
         if (!dep.isMissing()) {
@@ -44,7 +44,12 @@ class DependencyClassSource implements ClassHolderSource {
 
     @Override
     public ClassHolder get(String name) {
-        return cache.computeIfAbsent(name, this::findAndTransformClass);
+        if (cache.containsKey(name)) {
+            return cache.get(name);
+        }
+        ClassHolder cls = findAndTransformClass(name);
+        cache.put(name, cls);
+        return cls;
     }
 
     public void submit(ClassHolder cls) {
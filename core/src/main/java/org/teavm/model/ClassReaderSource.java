@@ -19,8 +19,10 @@ import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -86,11 +88,36 @@ public interface ClassReaderSource {
         }).spliterator(), false);
     }
 
+    /**
+     * Resolves method as JVM does: methods of superclasses take precedence over methods of interfaces,
+     * and among interface methods the one declared by the most specific interface wins, with non-abstract
+     * (i.e. default) methods preferred over abstract ones.
+     */
     default MethodReader resolve(MethodReference method) {
-        return getAncestors(method.getClassName())
+        MethodReader classMethod = getAncestorClasses(method.getClassName())
                 .map(cls -> cls.getMethod(method.getDescriptor()))
                 .filter(candidate -> candidate != null)
                 .findFirst().orElse(null);
+        if (classMethod != null) {
+            return classMethod;
+        }
+        List<MethodReader> candidates = getAncestors(method.getClassName())
+                .map(cls -> cls.getMethod(method.getDescriptor()))
+                .filter(candidate -> candidate != null)
+                .collect(Collectors.toList());
+        if (candidates.size() <= 1) {
+            return candidates.isEmpty() ? null : candidates.get(0);
+        }
+        MethodReader result = null;
+        for (MethodReader candidate : candidates) {
+            boolean overridden = candidates.stream().anyMatch(other -> other != candidate
+                    && isSuperType(candidate.getOwnerName(), other.getOwnerName()).orElse(false));
+            if (!overridden && (result == null || result.hasModifier(ElementModifier.ABSTRACT)
+                    && !candidate.hasModifier(ElementModifier.ABSTRACT))) {
+                result = candidate;
+            }
+        }
+        return result != null ? result : candidates.get(0);
     }
 
     default FieldReader resolve(FieldReference field) {
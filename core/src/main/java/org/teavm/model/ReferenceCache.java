@@ -15,18 +15,47 @@
  */
 package org.teavm.model;
 
-import java.util.HashMap;
+import java.lang.ref.WeakReference;
 import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
+/**
+ * <p>Interns model references, so that equal references share a single instance.</p>
+ *
+ * <p>The cache is safe to share between threads. By default it holds interned references strongly.
+ * A weak cache (see {@link #ReferenceCache(boolean)}) lets unused references be collected,
+ * which suits long-lived processes that run many builds.</p>
+ */
 public class ReferenceCache {
-    private Map<MethodReference, MethodReference> referenceCache = new HashMap<>();
-    private Map<FieldReference, FieldReference> fieldRefenceCache = new HashMap<>();
-    private Map<MethodDescriptor, MethodDescriptor> descriptorCache = new HashMap<>();
-    private Map<ValueType, ValueType> valueTypeCache = new HashMap<>();
-    private Map<String, String> classCache = new HashMap<>();
-    private Map<String, MethodReference> referenceParseCache = new HashMap<>();
-    private Map<String, MethodDescriptor> descriptorParseCache = new HashMap<>();
-    private Map<String, ValueType> valueTypeParseCache = new HashMap<>();
+    private final Interner<MethodReference> referenceCache;
+    private final Interner<FieldReference> fieldRefenceCache;
+    private final Interner<MethodDescriptor> descriptorCache;
+    private final Interner<ValueType> valueTypeCache;
+    private final Interner<String> classCache;
+    private final Map<String, MethodReference> referenceParseCache;
+    private final Map<String, MethodDescriptor> descriptorParseCache;
+    private final Map<String, ValueType> valueTypeParseCache;
+
+    public ReferenceCache() {
+        this(false);
+    }
+
+    public ReferenceCache(boolean weak) {
+        referenceCache = createInterner(weak);
+        fieldRefenceCache = createInterner(weak);
+        descriptorCache = createInterner(weak);
+        valueTypeCache = createInterner(weak);
+        classCache = createInterner(weak);
+        referenceParseCache = weak ? null : new ConcurrentHashMap<>();
+        descriptorParseCache = weak ? null : new ConcurrentHashMap<>();
+        valueTypeParseCache = weak ? null : new ConcurrentHashMap<>();
+    }
+
+    private static <T> Interner<T> createInterner(boolean weak) {
+        return weak ? new WeakInterner<>() : new StrongInterner<>();
+    }
 
     public MethodReference getCached(MethodReference reference) {
         MethodReference result = referenceCache.get(reference);
@@ -38,7 +67,7 @@ public class ReferenceCache {
             } else {
                 result = reference;
             }
-            referenceCache.put(result, result);
+            result = referenceCache.putIfAbsent(result);
         }
         return result;
     }
@@ -63,7 +92,7 @@ public class ReferenceCache {
             if (signatureChanged) {
                 result = new MethodDescriptor(descriptor.getName(), signature);
             }
-            descriptorCache.put(result, result);
+            result = descriptorCache.putIfAbsent(result);
         }
         return result;
     }
@@ -77,7 +106,7 @@ public class ReferenceCache {
             if (classNameCached != reference.getClassName() || fieldNameCached != reference.getFieldName()) {
                 result = new FieldReference(classNameCached, fieldNameCached);
             }
-            fieldRefenceCache.put(result, result);
+            result = fieldRefenceCache.putIfAbsent(result);
         }
         return result;
     }
@@ -103,7 +132,7 @@ public class ReferenceCache {
                     result = ValueType.arrayOf(cachedItem);
                 }
             }
-            valueTypeCache.put(result, result);
+            result = valueTypeCache.putIfAbsent(result);
         }
         return result;
     }
@@ -111,36 +140,114 @@ public class ReferenceCache {
     public String getCached(String className) {
         String result = classCache.get(className);
         if (result == null) {
-            result = className;
-            classCache.put(result, result);
+            result = classCache.putIfAbsent(className);
         }
         return result;
     }
 
+    /*
+     * A weak cache does not memoize parsing: weak entries keyed by a source string would be dropped as soon
+     * as the caller discards that string. Parsed values are interned instead, and the interners are keyed
+     * by the interned values themselves, so their entries live exactly as long as the values are used.
+     */
+
     public MethodReference parseReferenceCached(String value) {
-        MethodReference result = referenceParseCache.get(value);
-        if (result == null) {
-            result = getCached(MethodReference.parse(value));
-            referenceParseCache.put(value, result);
+        if (referenceParseCache == null) {
+            return getCached(MethodReference.parse(value));
         }
-        return result;
+        return computeIfAbsent(referenceParseCache, value, v -> getCached(MethodReference.parse(v)));
     }
 
     public MethodDescriptor parseDescriptorCached(String value) {
-        MethodDescriptor result = descriptorParseCache.get(value);
-        if (result == null) {
-            result = getCached(MethodDescriptor.parse(value));
-            descriptorParseCache.put(value, result);
+        if (descriptorParseCache == null) {
+            return getCached(MethodDescriptor.parse(value));
         }
-        return result;
+        return computeIfAbsent(descriptorParseCache, value, v -> getCached(MethodDescriptor.parse(v)));
     }
 
     public ValueType parseValueTypeCached(String value) {
-        ValueType result = valueTypeParseCache.get(value);
+        if (valueTypeParseCache == null) {
+            return getCached(ValueType.parse(value));
+        }
+        return computeIfAbsent(valueTypeParseCache, value, v -> getCached(ValueType.parse(v)));
+    }
+
+    private static <T> T computeIfAbsent(Map<String, T> cache, String key, Function<String, T> producer) {
+        T result = cache.get(key);
         if (result == null) {
-            result = getCached(ValueType.parse(value));
-            valueTypeParseCache.put(value, result);
+            result = producer.apply(key);
+            T existing = cache.putIfAbsent(key, result);
+            if (existing != null) {
+                result = existing;
+            }
         }
         return result;
     }
+
+    private interface Interner<T> {
+        T get(T value);
+
+        /**
+         * Stores the value unless an equal one is already present. The stored value is its own key.
+         *
+         * @return the value that ends up in the interner.
+         */
+        T putIfAbsent(T value);
+    }
+
+    private static class StrongInterner<T> implements Interner<T> {
+        private final ConcurrentHashMap<T, T> map = new ConcurrentHashMap<>();
+
+        @Override
+        public T get(T value) {
+            return map.get(value);
+        }
+
+        @Override
+        public T putIfAbsent(T value) {
+            T existing = map.putIfAbsent(value, value);
+            return existing != null ? existing : value;
+        }
+    }
+
+    private static class WeakInterner<T> implements Interner<T> {
+        private static final int STRIPE_COUNT = 16;
+        @SuppressWarnings("unchecked")
+        private final Map<T, WeakReference<T>>[] stripes = new Map[STRIPE_COUNT];
+
+        WeakInterner() {
+            for (int i = 0; i < STRIPE_COUNT; ++i) {
+                stripes[i] = new WeakHashMap<>();
+            }
+        }
+
+        private Map<T, WeakReference<T>> stripe(T value) {
+            int hash = value.hashCode();
+            hash ^= hash >>> 16;
+            return stripes[hash & (STRIPE_COUNT - 1)];
+        }
+
+        @Override
+        public T get(T value) {
+            Map<T, WeakReference<T>> stripe = stripe(value);
+            synchronized (stripe) {
+                WeakReference<T> ref = stripe.get(value);
+                return ref != null ? ref.get() : null;
+            }
+        }
+
+        @Override
+        public T putIfAbsent(T value) {
+            Map<T, WeakReference<T>> stripe = stripe(value);
+            synchronized (stripe) {
+                WeakReference<T> ref = stripe.get(value);
+                T existing = ref != null ? ref.get() : null;
+                if (existing != null) {
+                    return existing;
+                }
+                stripe.put(value, new WeakReference<>(value));
+                return value;
+            }
+        }
+    }
 }
@@ -52,10 +52,9 @@ import org.teavm.model.instructions.CloneArrayInstruction;
 import org.teavm.model.instructions.ExitInstruction;
 import org.teavm.model.instructions.GetElementInstruction;
 import org.teavm.model.instructions.GetFieldInstruction;
+import org.teavm.model.instructions.InvocationType;
 import org.teavm.model.instructions.InvokeInstruction;
 import org.teavm.model.instructions.IsInstanceInstruction;
-import org.teavm.model.instructions.MonitorEnterInstruction;
-import org.teavm.model.instructions.MonitorExitInstruction;
 import org.teavm.model.instructions.NullCheckInstruction;
 import org.teavm.model.instructions.NullConstantInstruction;
 import org.teavm.model.instructions.PutElementInstruction;
@@ -70,13 +69,32 @@ import org.teavm.model.util.UsageExtractor;
 public class EscapeAnalysis {
     private int[] definitionClasses;
     private boolean[] escapingVars;
+    private boolean[] methodEscapingVars;
     private FieldReference[][] fields;
     private Map<FieldReference, ValueType> fieldTypes;
 
     public void analyze(Program program, MethodReference methodReference) {
-        InstructionEscapeVisitor visitor = new InstructionEscapeVisitor(program.variableCount());
-        for (int i = 0; i <= methodReference.parameterCount(); ++i) {
-            visitor.escapingVars[i] = true;
+        analyze(program, methodReference, null);
+    }
+
+    /**
+     * @param parameterEscapeAnalysis when not null, tells which arguments of exact calls don't escape callee.
+     * Objects that are only passed to such arguments still escape, but don't escape this method,
+     * see {@link #escapesMethod(int)}.
+     */
+    public void analyze(Program program, MethodReference methodReference,
+            ParameterEscapeAnalysis parameterEscapeAnalysis) {
+        analyze(program, methodReference, parameterEscapeAnalysis, true);
+    }
+
+    void analyze(Program program, MethodReference methodReference, ParameterEscapeAnalysis parameterEscapeAnalysis,
+            boolean parametersEscape) {
+        InstructionEscapeVisitor visitor = new InstructionEscapeVisitor(program.variableCount(),
+                parameterEscapeAnalysis);
+        if (parametersEscape) {
+            for (int i = 0; i <= methodReference.parameterCount(); ++i) {
+                visitor.escapingVars[i] = true;
+            }
         }
 
         for (BasicBlock block : program.getBasicBlocks()) {
@@ -90,13 +108,27 @@ public class EscapeAnalysis {
 
         definitionClasses = visitor.definitionClasses.pack(program.variableCount());
         escapingVars = new boolean[program.variableCount()];
+        methodEscapingVars = new boolean[program.variableCount()];
         fieldTypes = visitor.fieldTypes;
+        boolean hasPassedVars = false;
         for (int i = 0; i < program.variableCount(); ++i) {
             if (visitor.escapingVars[i]) {
                 escapingVars[definitionClasses[i]] = true;
+                methodEscapingVars[definitionClasses[i]] = true;
+            } else if (visitor.passedVars[i]) {
+                escapingVars[definitionClasses[i]] = true;
+                hasPassedVars = true;
             }
         }
-        analyzePhis(program);
+
+        LivenessAnalyzer livenessAnalyzer = new LivenessAnalyzer();
+        livenessAnalyzer.analyze(program);
+        analyzePhis(program, livenessAnalyzer, escapingVars);
+        if (hasPassedVars) {
+            analyzePhis(program, livenessAnalyzer, methodEscapingVars);
+        } else {
+            methodEscapingVars = escapingVars;
+        }
 
         propagateFields(program, visitor.fields);
         fields = packFields(visitor.fields);
@@ -106,6 +138,14 @@ public class EscapeAnalysis {
         return escapingVars[definitionClasses[var]];
     }
 
+    /**
+     * Tells whether object can be reached by any code outside of the method. Unlike {@link #escapes(int)},
+     * does not count objects passed to arguments of callees that are known not to let them escape.
+     */
+    public boolean escapesMethod(int var) {
+        return methodEscapingVars[definitionClasses[var]];
+    }
+
     public ValueType getFieldType(FieldReference field) {
         return fieldTypes.get(field);
     }
@@ -115,23 +155,21 @@ public class EscapeAnalysis {
         return varFields != null ? varFields.clone() : null;
     }
 
-    private void analyzePhis(Program program) {
-        LivenessAnalyzer livenessAnalyzer = new LivenessAnalyzer();
-        livenessAnalyzer.analyze(program);
-
+    private void analyzePhis(Program program, LivenessAnalyzer livenessAnalyzer, boolean[] escapingClasses) {
         GraphBuilder graphBuilder = new GraphBuilder(program.variableCount());
         IntDeque queue = new IntArrayDeque();
         for (BasicBlock block : program.getBasicBlocks()) {
             IntSet sharedIncomingVars = new IntOpenHashSet();
             BitSet usedVars = getUsedVarsInBlock(livenessAnalyzer, block);
             for (Phi phi : block.getPhis()) {
-                if (escapes(phi.getReceiver().getIndex())) {
+                if (escapingClasses[definitionClasses[phi.getReceiver().getIndex()]]) {
                     queue.addLast(phi.getReceiver().getIndex());
                 }
                 for (Incoming incoming : phi.getIncomings()) {
                     int var = incoming.getValue().getIndex();
                     graphBuilder.addEdge(var, phi.getReceiver().getIndex());
-                    if (escapes(var) || !sharedIncomingVars.add(var) || usedVars.get(var)) {
+                    if (escapingClasses[definitionClasses[var]] || !sharedIncomingVars.add(var)
+                            || usedVars.get(var)) {
                         queue.addLast(var);
                     }
                 }
@@ -143,7 +181,7 @@ public class EscapeAnalysis {
         while (!queue.isEmpty()) {
             int var = queue.removeFirst();
             if (visited.add(var)) {
-                escapingVars[definitionClasses[var]] = true;
+                escapingClasses[definitionClasses[var]] = true;
                 for (int successor : graph.outgoingEdges(var)) {
                     queue.addLast(successor);
                 }
@@ -249,16 +287,20 @@ public class EscapeAnalysis {
     private static class InstructionEscapeVisitor extends AbstractInstructionVisitor {
         DisjointSet definitionClasses;
         boolean[] escapingVars;
+        boolean[] passedVars;
         List<Set<FieldReference>> fields;
         Map<FieldReference, ValueType> fieldTypes = new HashMap<>();
+        ParameterEscapeAnalysis parameterEscapeAnalysis;
 
-        public InstructionEscapeVisitor(int variableCount) {
+        public InstructionEscapeVisitor(int variableCount, ParameterEscapeAnalysis parameterEscapeAnalysis) {
+            this.parameterEscapeAnalysis = parameterEscapeAnalysis;
             fields = new ArrayList<>(Collections.nCopies(variableCount, null));
             definitionClasses = new DisjointSet();
             for (int i = 0; i < variableCount; ++i) {
                 definitionClasses.create();
             }
             escapingVars = new boolean[variableCount];
+            passedVars = new boolean[variableCount];
         }
 
         @Override
@@ -348,16 +390,25 @@ public class EscapeAnalysis {
         @Override
         public void visit(InvokeInstruction insn) {
             if (insn.getInstance() != null) {
-                escapingVars[insn.getInstance().getIndex()] = true;
+                passArgument(insn, insn.getInstance(), 0);
             }
-            for (Variable arg : insn.getArguments()) {
-                escapingVars[arg.getIndex()] = true;
+            for (int i = 0; i < insn.getArguments().size(); ++i) {
+                passArgument(insn, insn.getArguments().get(i), i + 1);
             }
             if (insn.getReceiver() != null) {
                 escapingVars[insn.getReceiver().getIndex()] = true;
             }
         }
 
+        private void passArgument(InvokeInstruction insn, Variable arg, int index) {
+            if (parameterEscapeAnalysis != null && insn.getType() == InvocationType.SPECIAL
+                    && !parameterEscapeAnalysis.escapes(insn.getMethod(), index)) {
+                passedVars[arg.getIndex()] = true;
+            } else {
+                escapingVars[arg.getIndex()] = true;
+            }
+        }
+
         @Override
         public void visit(IsInstanceInstruction insn) {
             escapingVars[insn.getValue().getIndex()] = true;
@@ -368,16 +419,6 @@ public class EscapeAnalysis {
             definitionClasses.union(insn.getValue().getIndex(), insn.getReceiver().getIndex());
         }
 
-        @Override
-        public void visit(MonitorEnterInstruction insn) {
-            escapingVars[insn.getObjectRef().getIndex()] = true;
-        }
-
-        @Override
-        public void visit(MonitorExitInstruction insn) {
-            escapingVars[insn.getObjectRef().getIndex()] = true;
-        }
-
         @Override
         public void visit(BranchingInstruction insn) {
             switch (insn.getCondition()) {
@@ -0,0 +1,125 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.model.analysis;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import org.teavm.model.BasicBlock;
+import org.teavm.model.ClassHolder;
+import org.teavm.model.Instruction;
+import org.teavm.model.ListableClassHolderSource;
+import org.teavm.model.MethodHolder;
+import org.teavm.model.MethodReference;
+import org.teavm.model.Program;
+import org.teavm.model.instructions.InvocationType;
+import org.teavm.model.instructions.InvokeInstruction;
+
+/**
+ * <p>Finds out which parameters of methods can escape them, i.e. be stored in a field or array, returned,
+ * thrown or passed to another method that lets them escape. Parameters are numbered the same way as
+ * variables of a program, i.e. <code>this</code> has index 0 and the first argument has index 1.</p>
+ *
+ * <p>Analysis is interprocedural, so it requires the whole set of classes. Only exact calls are tracked,
+ * any object passed to a virtual call is considered escaping. Parameters of methods without programs escape.</p>
+ */
+public class ParameterEscapeAnalysis {
+    private ListableClassHolderSource classSource;
+    private Map<MethodReference, boolean[]> escapingParameters;
+
+    public ParameterEscapeAnalysis(ListableClassHolderSource classSource) {
+        this.classSource = classSource;
+    }
+
+    public boolean escapes(MethodReference method, int parameter) {
+        if (escapingParameters == null) {
+            analyze();
+        }
+        boolean[] parameters = escapingParameters.get(method);
+        return parameters == null || parameter >= parameters.length || parameters[parameter];
+    }
+
+    private void analyze() {
+        escapingParameters = new HashMap<>();
+        Map<MethodReference, Program> programs = new LinkedHashMap<>();
+        Map<MethodReference, Set<MethodReference>> callers = new HashMap<>();
+        for (String className : classSource.getClassNames()) {
+            ClassHolder cls = classSource.get(className);
+            for (MethodHolder method : cls.getMethods()) {
+                Program program = method.getProgram();
+                if (program == null || program.basicBlockCount() == 0) {
+                    continue;
+                }
+                MethodReference methodRef = method.getReference();
+                programs.put(methodRef, program);
+                escapingParameters.put(methodRef, new boolean[methodRef.parameterCount() + 1]);
+                for (MethodReference callee : getExactCallees(program)) {
+                    callers.computeIfAbsent(callee, k -> new HashSet<>()).add(methodRef);
+                }
+            }
+        }
+
+        // Initially no parameter escapes. Whenever a parameter is found to escape, callers of the method
+        // are analyzed again, until a fixed point is reached.
+        Queue<MethodReference> queue = new ArrayDeque<>(programs.keySet());
+        Set<MethodReference> queued = new HashSet<>(programs.keySet());
+        while (!queue.isEmpty()) {
+            MethodReference methodRef = queue.remove();
+            queued.remove(methodRef);
+            Program program = programs.get(methodRef);
+
+            EscapeAnalysis escapeAnalysis = new EscapeAnalysis();
+            escapeAnalysis.analyze(program, methodRef, this, false);
+
+            boolean[] parameters = escapingParameters.get(methodRef);
+            boolean changed = false;
+            for (int i = 0; i < parameters.length && i < program.variableCount(); ++i) {
+                if (!parameters[i] && escapeAnalysis.escapesMethod(i)) {
+                    parameters[i] = true;
+                    changed = true;
+                }
+            }
+
+            if (changed) {
+                for (MethodReference caller : callers.getOrDefault(methodRef, Collections.emptySet())) {
+                    if (queued.add(caller)) {
+                        queue.add(caller);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Set<MethodReference> getExactCallees(Program program) {
+        Set<MethodReference> callees = new HashSet<>();
+        for (BasicBlock block : program.getBasicBlocks()) {
+            for (Instruction instruction : block) {
+                if (instruction instanceof InvokeInstruction) {
+                    InvokeInstruction invoke = (InvokeInstruction) instruction;
+                    if (invoke.getType() == InvocationType.SPECIAL) {
+                        callees.add(invoke.getMethod());
+                    }
+                }
+            }
+        }
+        return callees;
+    }
+}
@@ -87,6 +87,17 @@ public class VirtualTableProvider {
                 entry.implementor = method.getReference();
             }
         }
+
+        if (!cls.hasModifier(ElementModifier.INTERFACE)) {
+            for (VirtualTableEntry entry : table.entries.values()) {
+                if (entry.implementor == null) {
+                    MethodReader method = classSource.resolve(new MethodReference(className, entry.getMethod()));
+                    if (method != null && !method.hasModifier(ElementModifier.ABSTRACT)) {
+                        entry.implementor = method.getReference();
+                    }
+                }
+            }
+        }
     }
 
     public VirtualTableEntry lookup(MethodReference method) {
@@ -0,0 +1,198 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.model.lowlevel;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import org.teavm.callgraph.CallGraph;
+import org.teavm.callgraph.CallGraphNode;
+import org.teavm.callgraph.CallSite;
+import org.teavm.dependency.DependencyInfo;
+import org.teavm.interop.Import;
+import org.teavm.model.ClassReader;
+import org.teavm.model.ClassReaderSource;
+import org.teavm.model.ElementModifier;
+import org.teavm.model.FieldReference;
+import org.teavm.model.MethodDescriptor;
+import org.teavm.model.MethodHandle;
+import org.teavm.model.MethodReader;
+import org.teavm.model.MethodReference;
+import org.teavm.model.ProgramReader;
+import org.teavm.model.RuntimeConstant;
+import org.teavm.model.ValueType;
+import org.teavm.model.VariableReader;
+import org.teavm.model.instructions.AbstractInstructionReader;
+
+/**
+ * <p>Finds methods that can't trigger garbage collection, neither directly nor through any method they call.
+ * Live references don't need to be stored in shadow stack across calls of such methods.</p>
+ *
+ * <p>A method can trigger GC when it allocates objects or arrays, may run a class initializer, has no
+ * bytecode (except for imported functions) or calls another method that can trigger GC. Information is
+ * propagated through the call graph that dependency analyzer produces, so that methods that are unknown
+ * to the call graph are always considered to trigger GC.</p>
+ */
+public class GCFreeMethodRepository {
+    private static final MethodDescriptor CLINIT = new MethodDescriptor("<clinit>", void.class);
+    private DependencyInfo dependencyInfo;
+    private Set<MethodReference> gcMethods;
+
+    public GCFreeMethodRepository(DependencyInfo dependencyInfo) {
+        this.dependencyInfo = dependencyInfo;
+    }
+
+    public boolean isGCFree(MethodReference method) {
+        if (gcMethods == null) {
+            gcMethods = findGCMethods();
+        }
+        return dependencyInfo.getCallGraph().getNode(method) != null && !gcMethods.contains(method);
+    }
+
+    private Set<MethodReference> findGCMethods() {
+        ClassReaderSource classSource = dependencyInfo.getClassSource();
+        Set<MethodReference> result = new HashSet<>();
+        Queue<MethodReference> queue = new ArrayDeque<>();
+        for (MethodReference methodRef : dependencyInfo.getReachableMethods()) {
+            if (canTriggerGC(classSource, methodRef)) {
+                result.add(methodRef);
+                queue.add(methodRef);
+            }
+        }
+
+        CallGraph callGraph = dependencyInfo.getCallGraph();
+        while (!queue.isEmpty()) {
+            CallGraphNode node = callGraph.getNode(queue.remove());
+            if (node == null) {
+                continue;
+            }
+            for (CallSite callerSite : node.getCallerCallSites()) {
+                MethodReference caller = callerSite.getCaller().getMethod();
+                if (result.add(caller)) {
+                    queue.add(caller);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean canTriggerGC(ClassReaderSource classSource, MethodReference methodRef) {
+        MethodReader method = classSource.resolve(methodRef);
+        if (method == null) {
+            return true;
+        }
+        if (method.hasModifier(ElementModifier.ABSTRACT)) {
+            return false;
+        }
+        if (!method.getName().equals("<clinit>") && (method.getName().equals("<init>")
+                || method.hasModifier(ElementModifier.STATIC)) && hasClinit(classSource, method.getOwnerName())) {
+            return true;
+        }
+
+        ProgramReader program = method.getProgram();
+        if (program == null) {
+            return method.getAnnotations().get(Import.class.getName()) == null;
+        }
+
+        AllocationFinder finder = new AllocationFinder(classSource, method.getOwnerName());
+        for (int i = 0; i < program.basicBlockCount() && !finder.found; ++i) {
+            program.basicBlockAt(i).readAllInstructions(finder);
+        }
+        return finder.found;
+    }
+
+    private static boolean hasClinit(ClassReaderSource classSource, String className) {
+        ClassReader cls = classSource.get(className);
+        return cls == null || cls.getMethod(CLINIT) != null;
+    }
+
+    static class AllocationFinder extends AbstractInstructionReader {
+        private ClassReaderSource classSource;
+        private String ownerName;
+        boolean found;
+
+        AllocationFinder(ClassReaderSource classSource, String ownerName) {
+            this.classSource = classSource;
+            this.ownerName = ownerName;
+        }
+
+        @Override
+        public void create(VariableReader receiver, String type) {
+            found = true;
+        }
+
+        @Override
+        public void createArray(VariableReader receiver, ValueType itemType, VariableReader size) {
+            found = true;
+        }
+
+        @Override
+        public void createArray(VariableReader receiver, ValueType itemType,
+                List<? extends VariableReader> dimensions) {
+            found = true;
+        }
+
+        @Override
+        public void cloneArray(VariableReader receiver, VariableReader array) {
+            found = true;
+        }
+
+        @Override
+        public void initClass(String className) {
+            found = true;
+        }
+
+        @Override
+        public void monitorEnter(VariableReader objectRef) {
+            found = true;
+        }
+
+        @Override
+        public void monitorExit(VariableReader objectRef) {
+            found = true;
+        }
+
+        @Override
+        public void invokeDynamic(VariableReader receiver, VariableReader instance, MethodDescriptor method,
+                List<? extends VariableReader> arguments, MethodHandle bootstrapMethod,
+                List<RuntimeConstant> bootstrapArguments) {
+            found = true;
+        }
+
+        @Override
+        public void getField(VariableReader receiver, VariableReader instance, FieldReference field,
+                ValueType fieldType) {
+            checkStaticField(instance, field);
+        }
+
+        @Override
+        public void putField(VariableReader instance, FieldReference field, VariableReader value,
+                ValueType fieldType) {
+            checkStaticField(instance, field);
+        }
+
+        private void checkStaticField(VariableReader instance, FieldReference field) {
+            // Linker puts class initialization before access to static fields of other classes
+            if (instance == null && !field.getClassName().equals(ownerName)
+                    && hasClinit(classSource, field.getClassName())) {
+                found = true;
+            }
+        }
+    }
+}
@@ -22,7 +22,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -40,6 +39,7 @@ import org.teavm.model.MethodReader;
 import org.teavm.model.MethodReference;
 import org.teavm.model.Phi;
 import org.teavm.model.Program;
+import org.teavm.model.TryCatchBlock;
 import org.teavm.model.Variable;
 import org.teavm.model.instructions.CloneArrayInstruction;
 import org.teavm.model.instructions.ConstructArrayInstruction;
@@ -61,9 +61,16 @@ import org.teavm.runtime.ShadowStack;
 
 public class GCShadowStackContributor {
     private ManagedMethodRepository managedMethodRepository;
+    private GCFreeMethodRepository gcFreeMethodRepository;
 
     public GCShadowStackContributor(ManagedMethodRepository managedMethodRepository) {
+        this(managedMethodRepository, null);
+    }
+
+    public GCShadowStackContributor(ManagedMethodRepository managedMethodRepository,
+            GCFreeMethodRepository gcFreeMethodRepository) {
         this.managedMethodRepository = managedMethodRepository;
+        this.gcFreeMethodRepository = gcFreeMethodRepository;
     }
 
     public int contribute(Program program, MethodReader method) {
@@ -86,16 +93,7 @@ public class GCShadowStackContributor {
             return 0;
         }
 
-        // If a variable is spilled to stack, then phi which input this variable also spilled to stack
-        // If all of phi inputs are spilled to stack, then we don't need to insert spilling instruction
-        // for this phi.
-        List<Set<Phi>> destinationPhis = getDestinationPhis(program);
-        int[] inputCount = getInputCount(program);
-        boolean[] autoSpilled = new boolean[spilled.length];
-        for (int i = 0; i < spilled.length; ++i) {
-            findAutoSpilledPhis(spilled, destinationPhis, inputCount, autoSpilled, i);
-        }
-
+        boolean[] autoSpilled = findAutoSpilledPhis(program, liveInInformation, spilled, colors);
         List<Map<Instruction, int[]>> liveInStores = reduceGCRootStores(program, usedColors, liveInInformation,
                 colors, autoSpilled);
         putLiveInGCRoots(program, liveInStores);
@@ -103,23 +101,61 @@ public class GCShadowStackContributor {
         return usedColors;
     }
 
-    private void findAutoSpilledPhis(boolean[] spilled, List<Set<Phi>> destinationPhis, int[] inputCount,
-            boolean[] autoSpilled, int i) {
-        if (spilled[i]) {
-            Set<Phi> phis = destinationPhis.get(i);
-            if (phis != null) {
-                for (Phi phi : destinationPhis.get(i)) {
-                    int destination = phi.getReceiver().getIndex();
-                    autoSpilled[destination] = --inputCount[destination] == 0;
-                    if (!spilled[destination]) {
-                        spilled[destination] = true;
-                        if (i > destination) {
-                            findAutoSpilledPhis(spilled, destinationPhis, inputCount, autoSpilled, destination);
+    // Phi doesn't need own store when each input is already kept in the same slot at the end of the incoming
+    // block. It's true when the input is live across a GC point of the incoming block, since it's stored there
+    // or earlier on every path, or when the input is such phi itself. Exception handlers are not considered, as
+    // their incoming values are taken from the middle of the protected block.
+    private boolean[] findAutoSpilledPhis(Program program, List<Map<Instruction, BitSet>> liveInInformation,
+            boolean[] spilled, int[] colors) {
+        boolean[] autoSpilled = new boolean[spilled.length];
+        Set<BasicBlock> exceptionHandlers = new HashSet<>();
+        for (int i = 0; i < program.basicBlockCount(); ++i) {
+            for (TryCatchBlock tryCatch : program.basicBlockAt(i).getTryCatchBlocks()) {
+                exceptionHandlers.add(tryCatch.getHandler());
+            }
+        }
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < program.basicBlockCount(); ++i) {
+                BasicBlock block = program.basicBlockAt(i);
+                if (exceptionHandlers.contains(block)) {
+                    continue;
+                }
+                for (Phi phi : block.getPhis()) {
+                    int receiver = phi.getReceiver().getIndex();
+                    if (!spilled[receiver] || autoSpilled[receiver]) {
+                        continue;
+                    }
+                    boolean allInputsSpilled = true;
+                    for (Incoming incoming : phi.getIncomings()) {
+                        int input = incoming.getValue().getIndex();
+                        if (!spilled[input] || colors[input] != colors[receiver]
+                                || !autoSpilled[input] && !isLiveAtCallSite(liveInInformation.get(
+                                        incoming.getSource().getIndex()), input)) {
+                            allInputsSpilled = false;
+                            break;
                         }
                     }
+                    if (allInputsSpilled) {
+                        autoSpilled[receiver] = true;
+                        changed = true;
+                    }
                 }
             }
         }
+
+        return autoSpilled;
+    }
+
+    private static boolean isLiveAtCallSite(Map<Instruction, BitSet> callSites, int var) {
+        for (BitSet liveVars : callSites.values()) {
+            if (liveVars.get(var)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private List<Map<Instruction, BitSet>> findCallSiteLiveIns(Program program, MethodReader method) {
@@ -140,6 +176,15 @@ public class GCShadowStackContributor {
             BitSet currentLiveOut = new BitSet();
             for (int successor : cfg.outgoingEdges(i)) {
                 currentLiveOut.or(livenessAnalyzer.liveIn(successor));
+                // Phi inputs are live at the end of incoming block, but liveness analyzer accounts them
+                // only when they are defined in other blocks
+                for (Phi phi : program.basicBlockAt(successor).getPhis()) {
+                    for (Incoming incoming : phi.getIncomings()) {
+                        if (incoming.getSource() == block) {
+                            currentLiveOut.set(incoming.getValue().getIndex());
+                        }
+                    }
+                }
             }
 
             for (Instruction insn = block.getLastInstruction(); insn != null; insn = insn.getPrevious()) {
@@ -155,8 +200,7 @@ public class GCShadowStackContributor {
                         || insn instanceof ConstructInstruction || insn instanceof ConstructArrayInstruction
                         || insn instanceof ConstructMultiArrayInstruction
                         || insn instanceof CloneArrayInstruction || insn instanceof RaiseInstruction) {
-                    if (insn instanceof InvokeInstruction
-                            && !managedMethodRepository.isManaged(((InvokeInstruction) insn).getMethod())) {
+                    if (insn instanceof InvokeInstruction && !isGCPoint((InvokeInstruction) insn)) {
                         continue;
                     }
 
@@ -178,6 +222,15 @@ public class GCShadowStackContributor {
         return liveInInformation;
     }
 
+    private boolean isGCPoint(InvokeInstruction invoke) {
+        if (!managedMethodRepository.isManaged(invoke.getMethod())) {
+            return false;
+        }
+        // Virtual call may reach overriding methods that are not known here, so only exact calls are checked
+        return gcFreeMethodRepository == null || invoke.getType() != InvocationType.SPECIAL
+                || !gcFreeMethodRepository.isGCFree(invoke.getMethod());
+    }
+
     private Graph buildInterferenceGraph(List<Map<Instruction, BitSet>> liveInInformation, Program program) {
         GraphBuilder builder = new GraphBuilder(program.variableCount());
         for (Map<Instruction, BitSet> blockLiveIn : liveInInformation) {
@@ -210,40 +263,6 @@ public class GCShadowStackContributor {
         return affectedVariables;
     }
 
-    private List<Set<Phi>> getDestinationPhis(Program program) {
-        List<Set<Phi>> destinationPhis = new ArrayList<>();
-        destinationPhis.addAll(Collections.nCopies(program.variableCount(), null));
-
-        for (int i = 0; i < program.basicBlockCount(); ++i) {
-            BasicBlock block = program.basicBlockAt(i);
-            for (Phi phi : block.getPhis()) {
-                for (Incoming incoming : phi.getIncomings()) {
-                    Set<Phi> phis = destinationPhis.get(incoming.getValue().getIndex());
-                    if (phis == null) {
-                        phis = new HashSet<>();
-                        destinationPhis.set(incoming.getValue().getIndex(), phis);
-                    }
-                    phis.add(phi);
-                }
-            }
-        }
-
-        return destinationPhis;
-    }
-
-    private int[] getInputCount(Program program) {
-        int[] inputCount = new int[program.variableCount()];
-
-        for (int i = 0; i < program.basicBlockCount(); ++i) {
-            BasicBlock block = program.basicBlockAt(i);
-            for (Phi phi : block.getPhis()) {
-                inputCount[phi.getReceiver().getIndex()] = phi.getIncomings().size();
-            }
-        }
-
-        return inputCount;
-    }
-
     private List<Map<Instruction, int[]>> reduceGCRootStores(Program program, int usedColors,
             List<Map<Instruction, BitSet>> liveInInformation, int[] colors, boolean[] autoSpilled) {
         class Step {
@@ -341,7 +360,7 @@ public class GCShadowStackContributor {
             Instruction[] callSiteLocations = updatesByIndex.keySet().toArray(new Instruction[0]);
             ObjectIntMap<Instruction> instructionIndexes = getInstructionIndexes(block);
             Arrays.sort(callSiteLocations, Comparator.comparing(instructionIndexes::get));
-            for (Instruction callSiteLocation : updatesByIndex.keySet()) {
+            for (Instruction callSiteLocation : callSiteLocations) {
                 int[] updates = updatesByIndex.get(callSiteLocation);
                 storeLiveIns(block, callSiteLocation, updates);
             }
@@ -17,6 +17,7 @@ package org.teavm.model.lowlevel;
 
 import java.util.ArrayList;
 import java.util.List;
+import org.teavm.dependency.DependencyInfo;
 import org.teavm.model.BasicBlock;
 import org.teavm.model.ClassReaderSource;
 import org.teavm.model.Incoming;
@@ -37,10 +38,28 @@ public class ShadowStackTransformer {
     private ManagedMethodRepository managedMethodRepository;
     private GCShadowStackContributor gcContributor;
     private List<CallSiteDescriptor> callSites = new ArrayList<>();
+    private boolean nativeExceptions;
 
     public ShadowStackTransformer(ClassReaderSource classSource) {
+        this(classSource, false);
+    }
+
+    public ShadowStackTransformer(ClassReaderSource classSource, boolean nativeExceptions) {
+        this(classSource, null, nativeExceptions);
+    }
+
+    /**
+     * @param dependencyInfo when not null, its call graph is used to find calls that can't trigger GC,
+     * so that live references don't have to be stored in shadow stack across them.
+     */
+    public ShadowStackTransformer(ClassReaderSource classSource, DependencyInfo dependencyInfo,
+            boolean nativeExceptions) {
         managedMethodRepository = new ManagedMethodRepository(classSource);
-        gcContributor = new GCShadowStackContributor(managedMethodRepository);
+        GCFreeMethodRepository gcFreeMethodRepository = dependencyInfo != null
+                ? new GCFreeMethodRepository(dependencyInfo)
+                : null;
+        gcContributor = new GCShadowStackContributor(managedMethodRepository, gcFreeMethodRepository);
+        this.nativeExceptions = nativeExceptions;
     }
 
     public List<CallSiteDescriptor> getCallSites() {
@@ -53,8 +72,8 @@ public class ShadowStackTransformer {
         }
 
         int shadowStackSize = gcContributor.contribute(program, method);
-        boolean exceptions = new ExceptionHandlingShadowStackContributor(managedMethodRepository, callSites,
-                method.getReference(), program).contribute();
+        boolean exceptions = !nativeExceptions && new ExceptionHandlingShadowStackContributor(
+                managedMethodRepository, callSites, method.getReference(), program).contribute();
 
         if (shadowStackSize > 0 || exceptions) {
             addStackAllocation(program, shadowStackSize);
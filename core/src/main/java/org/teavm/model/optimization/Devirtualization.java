@@ -15,30 +15,62 @@
  */
 package org.teavm.model.optimization;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import org.teavm.dependency.DependencyInfo;
 import org.teavm.dependency.MethodDependencyInfo;
 import org.teavm.dependency.ValueDependencyInfo;
 import org.teavm.model.*;
+import org.teavm.model.instructions.BranchingCondition;
+import org.teavm.model.instructions.BranchingInstruction;
 import org.teavm.model.instructions.InvocationType;
 import org.teavm.model.instructions.InvokeInstruction;
+import org.teavm.model.instructions.IsInstanceInstruction;
+import org.teavm.model.instructions.JumpInstruction;
+import org.teavm.model.util.InstructionTransitionExtractor;
 
 public class Devirtualization {
+    private static final int MAX_GUARDED_IMPLEMENTATIONS = 3;
     private DependencyInfo dependency;
     private ClassReaderSource classSource;
+    private boolean guarded;
+    private MethodProfile profile;
 
     public Devirtualization(DependencyInfo dependency, ClassReaderSource classSource) {
         this.dependency = dependency;
         this.classSource = classSource;
     }
 
+    /**
+     * @param guarded whether virtual calls with two or three possible implementations should be replaced
+     * by a chain of receiver class checks, each followed by direct call of corresponding implementation.
+     * The original virtual call is kept as a fallback only if some receiver types don't resolve
+     * to these implementations. Direct calls can later be inlined. Should only be enabled for targets
+     * where class checks are cheap.
+     * @param profile when not null, guarded calls are ordered by invocation count of implementations
+     * and are not produced in methods that were never executed.
+     */
+    public Devirtualization(DependencyInfo dependency, ClassReaderSource classSource, boolean guarded,
+            MethodProfile profile) {
+        this(dependency, classSource);
+        this.guarded = guarded;
+        this.profile = profile;
+    }
+
     public void apply(MethodHolder method) {
         MethodDependencyInfo methodDep = dependency.getMethod(method.getReference());
         if (methodDep == null) {
             return;
         }
         Program program = method.getProgram();
+        boolean guardingAllowed = guarded && (profile == null || !profile.isCold(method.getReference()));
+        List<InvokeInstruction> guardedInvocations = new ArrayList<>();
+        List<List<MethodReference>> guardedImplementations = new ArrayList<>();
+        List<Boolean> guardedComplete = new ArrayList<>();
         for (int i = 0; i < program.basicBlockCount(); ++i) {
             BasicBlock block = program.basicBlockAt(i);
             for (Instruction insn : block) {
@@ -55,9 +87,18 @@ public class Devirtualization {
                 if (implementations.size() == 1) {
                     invoke.setType(InvocationType.SPECIAL);
                     invoke.setMethod(implementations.iterator().next());
+                } else if (guardingAllowed && block.getTryCatchBlocks().isEmpty()
+                        && canGuard(var.getTypes(), implementations)) {
+                    guardedInvocations.add(invoke);
+                    guardedImplementations.add(orderImplementations(implementations));
+                    guardedComplete.add(resolvesAll(var.getTypes(), invoke.getMethod()));
                 }
             }
         }
+
+        for (int i = 0; i < guardedInvocations.size(); ++i) {
+            guard(program, guardedInvocations.get(i), guardedImplementations.get(i), guardedComplete.get(i));
+        }
     }
 
     private Set<MethodReference> getImplementations(String[] classNames, MethodReference ref) {
@@ -78,4 +119,160 @@ public class Devirtualization {
         }
         return methods;
     }
+
+    private boolean resolvesAll(String[] classNames, MethodReference ref) {
+        for (String className : classNames) {
+            ClassReader cls = classSource.get(className);
+            if (cls == null || !classSource.isSuperType(ref.getClassName(), cls.getName()).orElse(false)) {
+                return false;
+            }
+            if (dependency.getMethodImplementation(new MethodReference(className, ref.getDescriptor())) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean canGuard(String[] classNames, Set<MethodReference> implementations) {
+        if (implementations.size() < 2 || implementations.size() > MAX_GUARDED_IMPLEMENTATIONS) {
+            return false;
+        }
+        if (Arrays.stream(classNames).anyMatch(className -> className.startsWith("["))) {
+            return false;
+        }
+
+        // Checking receiver against class that declares implementation is only correct when
+        // implementations come from a single class hierarchy, which is not true for default methods
+        for (MethodReference implementation : implementations) {
+            ClassReader cls = classSource.get(implementation.getClassName());
+            if (cls == null || cls.hasModifier(ElementModifier.INTERFACE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<MethodReference> orderImplementations(Set<MethodReference> implementations) {
+        List<MethodReference> candidates = new ArrayList<>(implementations);
+        Comparator<MethodReference> comparator = Comparator.comparing(MethodReference::toString);
+        if (profile != null) {
+            comparator = Comparator.<MethodReference>comparingLong(profile::getInvocationCount).reversed()
+                    .thenComparing(comparator);
+        }
+        candidates.sort(comparator);
+
+        // An override must be checked before the method it overrides, since receivers that reach
+        // the override are instances of both declaring classes
+        List<MethodReference> result = new ArrayList<>();
+        while (!candidates.isEmpty()) {
+            MethodReference next = candidates.stream()
+                    .filter(candidate -> candidates.stream().noneMatch(other -> other != candidate
+                            && isSubclass(other.getClassName(), candidate.getClassName())))
+                    .findFirst()
+                    .get();
+            candidates.remove(next);
+            result.add(next);
+        }
+        return result;
+    }
+
+    private boolean isSubclass(String subclass, String superclass) {
+        return classSource.isSuperType(superclass, subclass).orElse(false);
+    }
+
+    private void guard(Program program, InvokeInstruction invoke, List<MethodReference> implementations,
+            boolean complete) {
+        BasicBlock block = invoke.getBasicBlock();
+        BasicBlock joint = program.createBasicBlock();
+        while (invoke.getNext() != null) {
+            Instruction insn = invoke.getNext();
+            insn.delete();
+            joint.add(insn);
+        }
+        moveOutgoingPhis(block, joint);
+        invoke.delete();
+
+        Phi resultPhi = null;
+        if (invoke.getReceiver() != null) {
+            resultPhi = new Phi();
+            resultPhi.setReceiver(invoke.getReceiver());
+            joint.getPhis().add(resultPhi);
+        }
+
+        // When every possible receiver type resolves to one of implementations, receivers that
+        // pass all checks but the last one can only reach the last implementation
+        int checkCount = complete ? implementations.size() - 1 : implementations.size();
+        BasicBlock current = block;
+        for (MethodReference implementation : implementations.subList(0, checkCount)) {
+            IsInstanceInstruction isInstance = new IsInstanceInstruction();
+            isInstance.setValue(invoke.getInstance());
+            isInstance.setType(ValueType.object(implementation.getClassName()));
+            isInstance.setReceiver(program.createVariable());
+            isInstance.setLocation(invoke.getLocation());
+            current.add(isInstance);
+
+            BasicBlock callBlock = program.createBasicBlock();
+            BasicBlock nextBlock = program.createBasicBlock();
+            BranchingInstruction branch = new BranchingInstruction(BranchingCondition.NOT_EQUAL);
+            branch.setOperand(isInstance.getReceiver());
+            branch.setConsequent(callBlock);
+            branch.setAlternative(nextBlock);
+            branch.setLocation(invoke.getLocation());
+            current.add(branch);
+
+            emitCall(program, invoke, InvocationType.SPECIAL, implementation, callBlock, joint, resultPhi);
+            current = nextBlock;
+        }
+        if (complete) {
+            emitCall(program, invoke, InvocationType.SPECIAL, implementations.get(checkCount), current, joint,
+                    resultPhi);
+        } else {
+            emitCall(program, invoke, InvocationType.VIRTUAL, invoke.getMethod(), current, joint, resultPhi);
+        }
+    }
+
+    private void emitCall(Program program, InvokeInstruction original, InvocationType type, MethodReference method,
+            BasicBlock block, BasicBlock joint, Phi resultPhi) {
+        InvokeInstruction invoke = new InvokeInstruction();
+        invoke.setType(type);
+        invoke.setMethod(method);
+        invoke.setInstance(original.getInstance());
+        invoke.getArguments().addAll(original.getArguments());
+        invoke.setLocation(original.getLocation());
+        block.add(invoke);
+
+        if (resultPhi != null) {
+            invoke.setReceiver(program.createVariable());
+            Incoming incoming = new Incoming();
+            incoming.setSource(block);
+            incoming.setValue(invoke.getReceiver());
+            resultPhi.getIncomings().add(incoming);
+        }
+
+        JumpInstruction jump = new JumpInstruction();
+        jump.setTarget(joint);
+        jump.setLocation(original.getLocation());
+        block.add(jump);
+    }
+
+    private void moveOutgoingPhis(BasicBlock block, BasicBlock newSource) {
+        Instruction lastInsn = newSource.getLastInstruction();
+        if (lastInsn == null) {
+            return;
+        }
+        InstructionTransitionExtractor transitionExtractor = new InstructionTransitionExtractor();
+        lastInsn.acceptVisitor(transitionExtractor);
+        if (transitionExtractor.getTargets() == null) {
+            return;
+        }
+        for (BasicBlock target : transitionExtractor.getTargets()) {
+            for (Phi phi : target.getPhis()) {
+                for (Incoming incoming : phi.getIncomings()) {
+                    if (incoming.getSource() == block) {
+                        incoming.setSource(newSource);
+                    }
+                }
+            }
+        }
+    }
 }
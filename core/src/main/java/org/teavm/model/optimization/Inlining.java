@@ -18,15 +18,19 @@ package org.teavm.model.optimization;
 import com.carrotsearch.hppc.IntArrayList;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.teavm.dependency.DependencyInfo;
 import org.teavm.model.BasicBlock;
 import org.teavm.model.ClassReader;
 import org.teavm.model.ClassReaderSource;
+import org.teavm.model.ElementModifier;
 import org.teavm.model.Incoming;
 import org.teavm.model.Instruction;
 import org.teavm.model.MethodReader;
@@ -34,10 +38,14 @@ import org.teavm.model.MethodReference;
 import org.teavm.model.Phi;
 import org.teavm.model.Program;
 import org.teavm.model.TryCatchBlock;
+import org.teavm.model.Variable;
 import org.teavm.model.analysis.ClassInference;
+import org.teavm.model.analysis.EscapeAnalysis;
+import org.teavm.model.analysis.ParameterEscapeAnalysis;
 import org.teavm.model.instructions.AssignInstruction;
 import org.teavm.model.instructions.BinaryBranchingInstruction;
 import org.teavm.model.instructions.BranchingInstruction;
+import org.teavm.model.instructions.ConstructInstruction;
 import org.teavm.model.instructions.EmptyInstruction;
 import org.teavm.model.instructions.ExitInstruction;
 import org.teavm.model.instructions.InitClassInstruction;
@@ -53,8 +61,29 @@ import org.teavm.model.util.ProgramUtils;
 public class Inlining {
     private static final int DEFAULT_THRESHOLD = 17;
     private static final int MAX_DEPTH = 7;
+    private static final int LOCAL_ALLOCATION_BONUS = DEFAULT_THRESHOLD * 2;
+    private static final int HOT_METHOD_BONUS = DEFAULT_THRESHOLD * 2;
     private IntArrayList depthsByBlock;
     private Set<Instruction> instructionsToSkip;
+    private BitSet callerLocalAllocations;
+    private Map<MethodReference, BitSet> calleeLocalAllocations;
+    private ParameterEscapeAnalysis parameterEscapeAnalysis;
+    private MethodProfile profile;
+
+    public Inlining() {
+    }
+
+    /**
+     * @param parameterEscapeAnalysis when not null, allows to inline bigger methods that take objects
+     * allocated by caller, if these objects don't escape otherwise. Once inlined, such objects can be
+     * replaced by scalars.
+     * @param profile when not null, allows to inline bigger methods that are hot according to the profile
+     * and prevents growing methods that were never executed.
+     */
+    public Inlining(ParameterEscapeAnalysis parameterEscapeAnalysis, MethodProfile profile) {
+        this.parameterEscapeAnalysis = parameterEscapeAnalysis;
+        this.profile = profile;
+    }
 
     public void apply(Program program, MethodReference method, ClassReaderSource classes,
             DependencyInfo dependencyInfo) {
@@ -63,22 +92,26 @@ public class Inlining {
             depthsByBlock.add(0);
         }
         instructionsToSkip = new HashSet<>();
+        calleeLocalAllocations = new HashMap<>();
 
-        while (applyOnce(program, classes)) {
+        while (applyOnce(program, method, classes)) {
             devirtualize(program, method, dependencyInfo);
         }
         depthsByBlock = null;
         instructionsToSkip = null;
+        callerLocalAllocations = null;
+        calleeLocalAllocations = null;
 
         new UnreachableBasicBlockEliminator().optimize(program);
     }
 
-    private boolean applyOnce(Program program, ClassReaderSource classSource) {
-        List<PlanEntry> plan = buildPlan(program, classSource, 0);
+    private boolean applyOnce(Program program, MethodReference method, ClassReaderSource classSource) {
+        List<PlanEntry> plan = buildPlan(program, method, classSource, 0);
         if (plan.isEmpty()) {
             return false;
         }
         execPlan(program, plan, 0);
+        callerLocalAllocations = null;
         return true;
     }
 
@@ -210,12 +243,14 @@ public class Inlining {
         execPlan(program, planEntry.innerPlan, firstInlineBlock.getIndex());
     }
 
-    private List<PlanEntry> buildPlan(Program program, ClassReaderSource classSource, int depth) {
+    private List<PlanEntry> buildPlan(Program program, MethodReference method, ClassReaderSource classSource,
+            int depth) {
         if (depth >= MAX_DEPTH) {
             return Collections.emptyList();
         }
         List<PlanEntry> plan = new ArrayList<>();
         int ownComplexity = getComplexity(program);
+        boolean cold = profile != null && profile.isCold(method);
         int originalDepth = depth;
 
         for (BasicBlock block : program.getBasicBlocks()) {
@@ -245,7 +280,8 @@ public class Inlining {
 
                 MethodReader invokedMethod = getMethod(classSource, invoke.getMethod());
                 if (invokedMethod == null || invokedMethod.getProgram() == null
-                        || invokedMethod.getProgram().basicBlockCount() == 0) {
+                        || invokedMethod.getProgram().basicBlockCount() == 0
+                        || invokedMethod.hasModifier(ElementModifier.SYNCHRONIZED)) {
                     instructionsToSkip.add(insn);
                     continue;
                 }
@@ -255,7 +291,19 @@ public class Inlining {
                 if (ownComplexity < DEFAULT_THRESHOLD) {
                     complexityThreshold += DEFAULT_THRESHOLD;
                 }
-                if (getComplexity(invokedProgram) > complexityThreshold) {
+                if (profile != null && profile.isHot(invokedMethod.getReference())) {
+                    complexityThreshold += HOT_METHOD_BONUS;
+                }
+                if (cold) {
+                    complexityThreshold = Math.min(complexityThreshold, DEFAULT_THRESHOLD);
+                }
+                int complexity = getComplexity(invokedProgram);
+                if (!cold && complexity > complexityThreshold
+                        && complexity <= complexityThreshold + LOCAL_ALLOCATION_BONUS
+                        && passesLocalAllocation(invoke, getLocalAllocations(program, method, originalDepth))) {
+                    complexityThreshold += LOCAL_ALLOCATION_BONUS;
+                }
+                if (complexity > complexityThreshold) {
                     instructionsToSkip.add(insn);
                     continue;
                 }
@@ -264,7 +312,8 @@ public class Inlining {
                 entry.targetBlock = block.getIndex();
                 entry.targetInstruction = insn;
                 entry.program = invokedProgram;
-                entry.innerPlan.addAll(buildPlan(invokedProgram, classSource, depth + 1));
+                entry.innerPlan.addAll(buildPlan(invokedProgram, invokedMethod.getReference(), classSource,
+                        depth + 1));
                 entry.depth = depth;
                 plan.add(entry);
             }
@@ -274,6 +323,61 @@ public class Inlining {
         return plan;
     }
 
+    private BitSet getLocalAllocations(Program program, MethodReference method, int depth) {
+        if (depth == 0) {
+            if (callerLocalAllocations == null) {
+                callerLocalAllocations = findLocalAllocations(program, method);
+            }
+            return callerLocalAllocations;
+        }
+
+        // Callee programs are fresh copies of unmodified method bodies, so their variables stay the same
+        BitSet allocations = calleeLocalAllocations.get(method);
+        if (allocations == null) {
+            allocations = findLocalAllocations(program, method);
+            calleeLocalAllocations.put(method, allocations);
+        }
+        return allocations;
+    }
+
+    private BitSet findLocalAllocations(Program program, MethodReference method) {
+        BitSet allocations = new BitSet();
+        if (parameterEscapeAnalysis == null) {
+            return allocations;
+        }
+        for (BasicBlock block : program.getBasicBlocks()) {
+            for (Instruction insn : block) {
+                if (insn instanceof ConstructInstruction) {
+                    allocations.set(((ConstructInstruction) insn).getReceiver().getIndex());
+                }
+            }
+        }
+        if (allocations.isEmpty()) {
+            return allocations;
+        }
+
+        EscapeAnalysis escapeAnalysis = new EscapeAnalysis();
+        escapeAnalysis.analyze(program, method, parameterEscapeAnalysis);
+        for (int var = allocations.nextSetBit(0); var >= 0; var = allocations.nextSetBit(var + 1)) {
+            if (escapeAnalysis.escapesMethod(var)) {
+                allocations.clear(var);
+            }
+        }
+        return allocations;
+    }
+
+    private boolean passesLocalAllocation(InvokeInstruction invoke, BitSet localAllocations) {
+        if (invoke.getInstance() != null && localAllocations.get(invoke.getInstance().getIndex())) {
+            return true;
+        }
+        for (Variable arg : invoke.getArguments()) {
+            if (localAllocations.get(arg.getIndex())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private MethodReader getMethod(ClassReaderSource classSource, MethodReference methodRef) {
         ClassReader cls = classSource.get(methodRef.getClassName());
         return cls != null ? cls.getMethod(methodRef.getDescriptor()) : null;
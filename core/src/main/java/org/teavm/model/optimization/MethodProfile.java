@@ -0,0 +1,102 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.model.optimization;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.teavm.model.MethodReference;
+
+/**
+ * <p>Invocation counts of methods, collected by running an instrumented build of application.
+ * Optimizations use profile to spend their budget on hot methods and to avoid growing methods
+ * that were never executed.</p>
+ *
+ * <p>Profile is stored as text, one method per line: invocation count followed by space and
+ * method reference in form that {@link MethodReference#parse(String)} accepts. Empty lines and lines that
+ * start with <code>#</code> are ignored. Counts of repeating methods are summed up,
+ * so that profiles of several runs can be simply concatenated.</p>
+ */
+public class MethodProfile {
+    private static final int HOT_RATIO = 100;
+    private Map<MethodReference, Long> invocationCounts = new HashMap<>();
+    private long maxInvocationCount;
+
+    public long getInvocationCount(MethodReference method) {
+        Long count = invocationCounts.get(method);
+        return count != null ? count : 0;
+    }
+
+    public void addInvocations(MethodReference method, long count) {
+        long newCount = getInvocationCount(method) + count;
+        invocationCounts.put(method, newCount);
+        maxInvocationCount = Math.max(maxInvocationCount, newCount);
+    }
+
+    public boolean isHot(MethodReference method) {
+        long count = getInvocationCount(method);
+        return count > 0 && count * HOT_RATIO >= maxInvocationCount;
+    }
+
+    public boolean isCold(MethodReference method) {
+        return !invocationCounts.isEmpty() && getInvocationCount(method) == 0;
+    }
+
+    public static MethodProfile read(Reader reader) throws IOException {
+        MethodProfile profile = new MethodProfile();
+        BufferedReader input = new BufferedReader(reader);
+        int lineNumber = 0;
+        while (true) {
+            String line = input.readLine();
+            if (line == null) {
+                break;
+            }
+            ++lineNumber;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.indexOf(' ');
+            if (separator < 0) {
+                throw new IOException("Wrong method profile entry at line " + lineNumber + ": " + line);
+            }
+            long count;
+            MethodReference method;
+            try {
+                count = Long.parseLong(line.substring(0, separator));
+                method = MethodReference.parse(line.substring(separator + 1).trim());
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Wrong method profile entry at line " + lineNumber + ": " + line, e);
+            }
+            profile.addInvocations(method, count);
+        }
+        return profile;
+    }
+
+    public void write(Writer writer) throws IOException {
+        List<Map.Entry<MethodReference, Long>> entries = new ArrayList<>(invocationCounts.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+        for (Map.Entry<MethodReference, Long> entry : entries) {
+            writer.write(entry.getValue() + " " + entry.getKey() + "\n");
+        }
+        writer.flush();
+    }
+}
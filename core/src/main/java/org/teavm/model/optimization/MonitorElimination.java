@@ -0,0 +1,110 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.model.optimization;
+
+import org.teavm.dependency.DependencyInfo;
+import org.teavm.dependency.MethodDependencyInfo;
+import org.teavm.model.BasicBlock;
+import org.teavm.model.Instruction;
+import org.teavm.model.MethodReference;
+import org.teavm.model.Program;
+import org.teavm.model.ValueType;
+import org.teavm.model.Variable;
+import org.teavm.model.analysis.EscapeAnalysis;
+import org.teavm.model.instructions.MonitorEnterInstruction;
+import org.teavm.model.instructions.MonitorExitInstruction;
+
+/**
+ * <p>Removes {@code monitorenter}/{@code monitorexit} instructions that can never be contended.</p>
+ *
+ * <p>When the whole program is known to be single-threaded (see {@link #isSingleThreaded(DependencyInfo)}),
+ * every monitor instruction is removed. Otherwise only monitors on objects that do not escape
+ * the method are removed, which usually happens after inlining of constructors.</p>
+ */
+public class MonitorElimination implements MethodOptimization {
+    private static final MethodReference[] THREADING_METHODS = {
+            new MethodReference(Thread.class, "start", void.class),
+            new MethodReference(Thread.class, "holdsLock", Object.class, boolean.class),
+            new MethodReference(Object.class, "wait", void.class),
+            new MethodReference(Object.class, "wait", long.class, void.class),
+            new MethodReference(Object.class, "wait", long.class, int.class, void.class),
+            new MethodReference(Object.class, "notify", void.class),
+            new MethodReference(Object.class, "notifyAll", void.class),
+            new MethodReference("org.teavm.platform.Platform", "startThread",
+                    ValueType.object("org.teavm.platform.PlatformRunnable"), ValueType.VOID)
+    };
+    private boolean singleThreaded;
+
+    public MonitorElimination(boolean singleThreaded) {
+        this.singleThreaded = singleThreaded;
+    }
+
+    /**
+     * Checks whether no second thread can ever be started by the program and nothing observes
+     * monitor ownership. In this case no monitor can be contended, so all of them can be safely removed.
+     */
+    public static boolean isSingleThreaded(DependencyInfo dependency) {
+        for (MethodReference method : THREADING_METHODS) {
+            MethodDependencyInfo methodDep = dependency.getMethod(method);
+            if (methodDep != null && methodDep.isUsed()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean optimize(MethodOptimizationContext context, Program program) {
+        EscapeAnalysis escapeAnalysis = null;
+        if (!singleThreaded) {
+            if (!hasMonitors(program)) {
+                return false;
+            }
+            escapeAnalysis = new EscapeAnalysis();
+            escapeAnalysis.analyze(program, context.getMethod().getReference());
+        }
+
+        boolean changed = false;
+        for (BasicBlock block : program.getBasicBlocks()) {
+            for (Instruction insn : block) {
+                Variable objectRef;
+                if (insn instanceof MonitorEnterInstruction) {
+                    objectRef = ((MonitorEnterInstruction) insn).getObjectRef();
+                } else if (insn instanceof MonitorExitInstruction) {
+                    objectRef = ((MonitorExitInstruction) insn).getObjectRef();
+                } else {
+                    continue;
+                }
+                if (escapeAnalysis == null || !escapeAnalysis.escapes(objectRef.getIndex())) {
+                    insn.delete();
+                    changed = true;
+                }
+            }
+        }
+        return changed;
+    }
+
+    private static boolean hasMonitors(Program program) {
+        for (BasicBlock block : program.getBasicBlocks()) {
+            for (Instruction insn : block) {
+                if (insn instanceof MonitorEnterInstruction || insn instanceof MonitorExitInstruction) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
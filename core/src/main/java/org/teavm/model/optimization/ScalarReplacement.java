@@ -38,6 +38,9 @@ import org.teavm.model.instructions.FloatConstantInstruction;
 import org.teavm.model.instructions.GetFieldInstruction;
 import org.teavm.model.instructions.IntegerConstantInstruction;
 import org.teavm.model.instructions.LongConstantInstruction;
+import org.teavm.model.instructions.MonitorEnterInstruction;
+import org.teavm.model.instructions.MonitorExitInstruction;
+import org.teavm.model.instructions.NullCheckInstruction;
 import org.teavm.model.instructions.NullConstantInstruction;
 import org.teavm.model.instructions.PutFieldInstruction;
 import org.teavm.model.util.PhiUpdater;
@@ -188,20 +191,30 @@ public class ScalarReplacement implements MethodOptimization {
 
         @Override
         public void visit(AssignInstruction insn) {
-            if (escapeAnalysis.escapes(insn.getAssignee().getIndex())) {
+            replaceCopy(insn, insn.getAssignee(), insn.getReceiver());
+        }
+
+        @Override
+        public void visit(NullCheckInstruction insn) {
+            // Non-escaping object is created by this method, so it's never null
+            replaceCopy(insn, insn.getValue(), insn.getReceiver());
+        }
+
+        private void replaceCopy(Instruction insn, Variable value, Variable copy) {
+            if (escapeAnalysis.escapes(value.getIndex())) {
                 return;
             }
 
-            FieldReference[] fields = escapeAnalysis.getFields(insn.getReceiver().getIndex());
+            FieldReference[] fields = escapeAnalysis.getFields(copy.getIndex());
             if (fields == null) {
                 return;
             }
             for (FieldReference field : fields) {
-                Variable assignee = fieldMappings.get(insn.getAssignee().getIndex()).get(field);
+                Variable assignee = fieldMappings.get(value.getIndex()).get(field);
                 if (assignee == null) {
                     continue;
                 }
-                Variable receiver = fieldMappings.get(insn.getReceiver().getIndex()).get(field);
+                Variable receiver = fieldMappings.get(copy.getIndex()).get(field);
                 AssignInstruction assignment = new AssignInstruction();
                 assignment.setReceiver(receiver);
                 assignment.setAssignee(assignee);
@@ -211,6 +224,20 @@ public class ScalarReplacement implements MethodOptimization {
             insn.delete();
         }
 
+        @Override
+        public void visit(MonitorEnterInstruction insn) {
+            if (!escapeAnalysis.escapes(insn.getObjectRef().getIndex())) {
+                insn.delete();
+            }
+        }
+
+        @Override
+        public void visit(MonitorExitInstruction insn) {
+            if (!escapeAnalysis.escapes(insn.getObjectRef().getIndex())) {
+                insn.delete();
+            }
+        }
+
         private Instruction generateDefaultValue(ValueType type, Variable receiver) {
             if (type instanceof ValueType.Primitive) {
                 switch (((ValueType.Primitive) type).getKind()) {
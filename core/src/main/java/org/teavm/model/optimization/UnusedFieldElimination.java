@@ -0,0 +1,313 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.model.optimization;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.teavm.interop.Structure;
+import org.teavm.model.BasicBlock;
+import org.teavm.model.ClassHolder;
+import org.teavm.model.ElementModifier;
+import org.teavm.model.FieldHolder;
+import org.teavm.model.FieldReference;
+import org.teavm.model.Instruction;
+import org.teavm.model.ListableClassHolderSource;
+import org.teavm.model.MethodHolder;
+import org.teavm.model.Program;
+import org.teavm.model.ValueType;
+import org.teavm.model.Variable;
+import org.teavm.model.analysis.NullnessInformation;
+import org.teavm.model.instructions.DoubleConstantInstruction;
+import org.teavm.model.instructions.FloatConstantInstruction;
+import org.teavm.model.instructions.GetFieldInstruction;
+import org.teavm.model.instructions.IntegerConstantInstruction;
+import org.teavm.model.instructions.LongConstantInstruction;
+import org.teavm.model.instructions.NullCheckInstruction;
+import org.teavm.model.instructions.NullConstantInstruction;
+import org.teavm.model.instructions.PutFieldInstruction;
+
+/**
+ * <p>Whole-program removal of instance fields that don't need to be stored in objects. This includes
+ * fields that are written but never read, and fields that are never written anything but their default
+ * value (zero, <code>false</code> or <code>null</code>). Writes to such fields are removed, reads are
+ * replaced by default value, and the fields are removed from their classes, making objects smaller.
+ * Access through a receiver that may be <code>null</code> is replaced by null check.</p>
+ *
+ * <p>Only fields that are accessed by instructions of some method are considered. Fields that are
+ * also accessed by generated code must be passed to {@link #keep(FieldReference)}. Fields of classes
+ * with native methods, classes with layout known to backends, and annotated fields are kept as well.</p>
+ *
+ * <p>Must be applied to the whole set of linked classes at once.</p>
+ */
+public class UnusedFieldElimination {
+    private ListableClassHolderSource classes;
+    private Set<FieldReference> accessedFields = new HashSet<>();
+    private Set<FieldReference> readFields = new HashSet<>();
+    private Set<FieldReference> fieldsWithValue = new HashSet<>();
+    private Set<FieldReference> keptFields = new HashSet<>();
+    private Map<String, Boolean> classesWithFixedLayout = new HashMap<>();
+
+    public UnusedFieldElimination(ListableClassHolderSource classes) {
+        this.classes = classes;
+    }
+
+    public void keep(FieldReference field) {
+        keptFields.add(field);
+    }
+
+    public void apply() {
+        for (String className : classes.getClassNames()) {
+            for (MethodHolder method : classes.get(className).getMethods()) {
+                if (method.getProgram() != null) {
+                    collectFieldUsages(method.getProgram());
+                }
+            }
+        }
+
+        Set<FieldReference> unreadFields = new HashSet<>();
+        Set<FieldReference> defaultValueFields = new HashSet<>();
+        for (FieldReference fieldRef : accessedFields) {
+            if (!isRemovable(fieldRef)) {
+                continue;
+            }
+            if (!readFields.contains(fieldRef)) {
+                unreadFields.add(fieldRef);
+            } else if (!fieldsWithValue.contains(fieldRef)) {
+                defaultValueFields.add(fieldRef);
+            }
+        }
+        if (unreadFields.isEmpty() && defaultValueFields.isEmpty()) {
+            return;
+        }
+
+        for (String className : classes.getClassNames()) {
+            for (MethodHolder method : classes.get(className).getMethods()) {
+                if (method.getProgram() != null) {
+                    removeFieldUsages(method, unreadFields, defaultValueFields);
+                }
+            }
+        }
+        removeFields(unreadFields);
+        removeFields(defaultValueFields);
+    }
+
+    private void collectFieldUsages(Program program) {
+        boolean[] defaultConstants = findDefaultConstants(program);
+        for (BasicBlock block : program.getBasicBlocks()) {
+            for (Instruction insn : block) {
+                if (insn instanceof GetFieldInstruction) {
+                    GetFieldInstruction getField = (GetFieldInstruction) insn;
+                    if (getField.getInstance() != null) {
+                        accessedFields.add(getField.getField());
+                        readFields.add(getField.getField());
+                    }
+                } else if (insn instanceof PutFieldInstruction) {
+                    PutFieldInstruction putField = (PutFieldInstruction) insn;
+                    if (putField.getInstance() != null) {
+                        accessedFields.add(putField.getField());
+                        if (!defaultConstants[putField.getValue().getIndex()]) {
+                            fieldsWithValue.add(putField.getField());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean[] findDefaultConstants(Program program) {
+        boolean[] defaultConstants = new boolean[program.variableCount()];
+        for (BasicBlock block : program.getBasicBlocks()) {
+            for (Instruction insn : block) {
+                if (insn instanceof NullConstantInstruction) {
+                    defaultConstants[((NullConstantInstruction) insn).getReceiver().getIndex()] = true;
+                } else if (insn instanceof IntegerConstantInstruction) {
+                    IntegerConstantInstruction constant = (IntegerConstantInstruction) insn;
+                    defaultConstants[constant.getReceiver().getIndex()] = constant.getConstant() == 0;
+                } else if (insn instanceof LongConstantInstruction) {
+                    LongConstantInstruction constant = (LongConstantInstruction) insn;
+                    defaultConstants[constant.getReceiver().getIndex()] = constant.getConstant() == 0;
+                } else if (insn instanceof FloatConstantInstruction) {
+                    // Positive zero only, since storing -0.0 is observable
+                    FloatConstantInstruction constant = (FloatConstantInstruction) insn;
+                    defaultConstants[constant.getReceiver().getIndex()] =
+                            Float.floatToIntBits(constant.getConstant()) == 0;
+                } else if (insn instanceof DoubleConstantInstruction) {
+                    DoubleConstantInstruction constant = (DoubleConstantInstruction) insn;
+                    defaultConstants[constant.getReceiver().getIndex()] =
+                            Double.doubleToLongBits(constant.getConstant()) == 0;
+                }
+            }
+        }
+        return defaultConstants;
+    }
+
+    private boolean isRemovable(FieldReference fieldRef) {
+        if (keptFields.contains(fieldRef)) {
+            return false;
+        }
+        ClassHolder cls = classes.get(fieldRef.getClassName());
+        if (cls == null) {
+            return false;
+        }
+        FieldHolder field = cls.getField(fieldRef.getFieldName());
+        if (field == null || field.hasModifier(ElementModifier.STATIC)
+                || field.getAnnotations().all().iterator().hasNext()) {
+            return false;
+        }
+        return !classesWithFixedLayout.computeIfAbsent(cls.getName(), k -> hasFixedLayout(cls));
+    }
+
+    private boolean hasFixedLayout(ClassHolder cls) {
+        switch (cls.getName()) {
+            case "java.lang.Object":
+            case "java.lang.String":
+            case "java.lang.Class":
+                // Backends rely on layout of these classes in runtime code and in generated constants
+                return true;
+        }
+        if (classes.isSuperType(Structure.class.getName(), cls.getName()).orElse(false)) {
+            return true;
+        }
+        for (MethodHolder method : cls.getMethods()) {
+            if (method.getProgram() == null && !method.hasModifier(ElementModifier.ABSTRACT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void removeFieldUsages(MethodHolder method, Set<FieldReference> unreadFields,
+            Set<FieldReference> defaultValueFields) {
+        Program program = method.getProgram();
+        if (!hasFieldUsages(program, unreadFields, defaultValueFields)) {
+            return;
+        }
+
+        // Nullness information adds temporary variables, so program is only modified after disposing it
+        NullnessInformation nullness = NullnessInformation.build(program, method.getDescriptor());
+        List<Instruction> usages = new ArrayList<>();
+        BitSet nullableUsages = new BitSet();
+        for (BasicBlock block : program.getBasicBlocks()) {
+            for (Instruction insn : block) {
+                Variable instance;
+                if (insn instanceof PutFieldInstruction) {
+                    PutFieldInstruction putField = (PutFieldInstruction) insn;
+                    FieldReference field = putField.getField();
+                    if (putField.getInstance() == null
+                            || !unreadFields.contains(field) && !defaultValueFields.contains(field)) {
+                        continue;
+                    }
+                    instance = putField.getInstance();
+                } else if (insn instanceof GetFieldInstruction) {
+                    GetFieldInstruction getField = (GetFieldInstruction) insn;
+                    if (getField.getInstance() == null || !defaultValueFields.contains(getField.getField())) {
+                        continue;
+                    }
+                    instance = getField.getInstance();
+                } else {
+                    continue;
+                }
+                nullableUsages.set(usages.size(), !nullness.isNotNull(instance));
+                usages.add(insn);
+            }
+        }
+        nullness.dispose();
+
+        for (int i = 0; i < usages.size(); ++i) {
+            Instruction insn = usages.get(i);
+            if (nullableUsages.get(i)) {
+                NullCheckInstruction nullCheck = new NullCheckInstruction();
+                nullCheck.setValue(insn instanceof PutFieldInstruction
+                        ? ((PutFieldInstruction) insn).getInstance()
+                        : ((GetFieldInstruction) insn).getInstance());
+                nullCheck.setReceiver(program.createVariable());
+                nullCheck.setLocation(insn.getLocation());
+                insn.insertPrevious(nullCheck);
+            }
+            if (insn instanceof GetFieldInstruction) {
+                Instruction constant = createDefaultValue((GetFieldInstruction) insn);
+                constant.setLocation(insn.getLocation());
+                insn.replace(constant);
+            } else {
+                insn.delete();
+            }
+        }
+    }
+
+    private boolean hasFieldUsages(Program program, Set<FieldReference> unreadFields,
+            Set<FieldReference> defaultValueFields) {
+        for (BasicBlock block : program.getBasicBlocks()) {
+            for (Instruction insn : block) {
+                if (insn instanceof PutFieldInstruction) {
+                    PutFieldInstruction putField = (PutFieldInstruction) insn;
+                    if (putField.getInstance() != null && (unreadFields.contains(putField.getField())
+                            || defaultValueFields.contains(putField.getField()))) {
+                        return true;
+                    }
+                } else if (insn instanceof GetFieldInstruction) {
+                    GetFieldInstruction getField = (GetFieldInstruction) insn;
+                    if (getField.getInstance() != null && defaultValueFields.contains(getField.getField())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Instruction createDefaultValue(GetFieldInstruction getField) {
+        ValueType type = getField.getFieldType();
+        if (type instanceof ValueType.Primitive) {
+            switch (((ValueType.Primitive) type).getKind()) {
+                case LONG: {
+                    LongConstantInstruction constant = new LongConstantInstruction();
+                    constant.setReceiver(getField.getReceiver());
+                    return constant;
+                }
+                case FLOAT: {
+                    FloatConstantInstruction constant = new FloatConstantInstruction();
+                    constant.setReceiver(getField.getReceiver());
+                    return constant;
+                }
+                case DOUBLE: {
+                    DoubleConstantInstruction constant = new DoubleConstantInstruction();
+                    constant.setReceiver(getField.getReceiver());
+                    return constant;
+                }
+                default: {
+                    IntegerConstantInstruction constant = new IntegerConstantInstruction();
+                    constant.setReceiver(getField.getReceiver());
+                    return constant;
+                }
+            }
+        }
+        NullConstantInstruction constant = new NullConstantInstruction();
+        constant.setReceiver(getField.getReceiver());
+        return constant;
+    }
+
+    private void removeFields(Set<FieldReference> fields) {
+        for (FieldReference fieldRef : fields) {
+            ClassHolder cls = classes.get(fieldRef.getClassName());
+            cls.removeField(cls.getField(fieldRef.getFieldName()));
+        }
+    }
+}
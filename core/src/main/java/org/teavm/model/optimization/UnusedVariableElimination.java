@@ -44,7 +44,6 @@ import org.teavm.model.instructions.InvokeInstruction;
 import org.teavm.model.instructions.IsInstanceInstruction;
 import org.teavm.model.instructions.LongConstantInstruction;
 import org.teavm.model.instructions.NegateInstruction;
-import org.teavm.model.instructions.NullCheckInstruction;
 import org.teavm.model.instructions.NullConstantInstruction;
 import org.teavm.model.instructions.StringConstantInstruction;
 import org.teavm.model.instructions.UnwrapArrayInstruction;
@@ -258,10 +257,5 @@ public class UnusedVariableElimination implements MethodOptimization {
         public void visit(IsInstanceInstruction insn) {
             requestUsage(insn.getReceiver());
         }
-
-        @Override
-        public void visit(NullCheckInstruction insn) {
-            requestUsage(insn.getReceiver());
-        }
     }
 }
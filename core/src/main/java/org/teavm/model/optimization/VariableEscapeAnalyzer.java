@@ -113,5 +113,11 @@ public final class VariableEscapeAnalyzer {
         public void visit(MonitorExitInstruction insn) {
             escaping[insn.getObjectRef().getIndex()] = true;
         }
+
+        @Override
+        public void visit(NullCheckInstruction insn) {
+            escaping[insn.getValue().getIndex()] = true;
+            escaping[insn.getReceiver().getIndex()] = true;
+        }
     }
 }
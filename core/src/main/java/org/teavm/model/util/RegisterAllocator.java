@@ -31,6 +31,7 @@ import org.teavm.model.MethodReference;
 import org.teavm.model.Phi;
 import org.teavm.model.Program;
 import org.teavm.model.ProgramReader;
+import org.teavm.model.TryCatchBlock;
 import org.teavm.model.Variable;
 import org.teavm.model.instructions.AssignInstruction;
 import org.teavm.model.instructions.JumpInstruction;
@@ -158,6 +159,11 @@ public class RegisterAllocator {
         } else {
             incoming.setSource(source);
         }
+        if (isExceptionHandler(source, phi.getBasicBlock())) {
+            insertExceptionHandlerCopy(source, copyInstruction);
+            incoming.setValue(copyInstruction.getReceiver());
+            return;
+        }
         if (!(incoming.getSource().getLastInstruction() instanceof JumpInstruction)) {
             final BasicBlock copyBlock = program.createBasicBlock();
             JumpInstruction jumpInstruction = new JumpInstruction();
@@ -173,6 +179,32 @@ public class RegisterAllocator {
         incoming.setValue(copyInstruction.getReceiver());
     }
 
+    private static boolean isExceptionHandler(BasicBlock source, BasicBlock target) {
+        for (TryCatchBlock tryCatch : source.getTryCatchBlocks()) {
+            if (tryCatch.getHandler() == target) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void insertExceptionHandlerCopy(BasicBlock source, AssignInstruction copyInstruction) {
+        // Any instruction of protected block can throw exception, so copy should be made as soon as value is
+        // available, not at the end of the block
+        Variable value = copyInstruction.getAssignee();
+        DefinitionExtractor defExtractor = new DefinitionExtractor();
+        for (Instruction insn = source.getFirstInstruction(); insn != null; insn = insn.getNext()) {
+            insn.acceptVisitor(defExtractor);
+            for (Variable definedVar : defExtractor.getDefinedVariables()) {
+                if (definedVar == value) {
+                    insn.insertNext(copyInstruction);
+                    return;
+                }
+            }
+        }
+        source.getFirstInstruction().insertPrevious(copyInstruction);
+    }
+
     private void removeRedundantCopies(Program program, List<MutableGraphNode> interferenceGraph,
             DisjointSet congruenceClasses) {
         for (int i = 0; i < program.basicBlockCount(); ++i) {
@@ -85,6 +85,9 @@ public class ClassRefsRenamer implements InstructionVisitor {
         renamedMethod.setLevel(method.getLevel());
         renamedMethod.setProgram(method.getProgram());
         rename(method.getAnnotations(), renamedMethod.getAnnotations());
+        for (int i = 0; i < method.parameterCount(); ++i) {
+            rename(method.parameterAnnotation(i), renamedMethod.parameterAnnotation(i));
+        }
         rename(renamedMethod.getProgram());
         return renamedMethod;
     }
@@ -18,6 +18,7 @@ package org.teavm.parsing;
 import java.util.Date;
 import org.teavm.model.ClassHolder;
 import org.teavm.model.ClassHolderSource;
+import org.teavm.model.ReferenceCache;
 import org.teavm.parsing.resource.ClasspathResourceReader;
 import org.teavm.parsing.resource.MapperClassHolderSource;
 import org.teavm.parsing.resource.ResourceClassHolderMapper;
@@ -27,8 +28,12 @@ public class ClasspathClassHolderSource implements ClassHolderSource, ClassDateP
     private ClasspathResourceMapper classPathMapper;
 
     public ClasspathClassHolderSource(ClassLoader classLoader) {
+        this(classLoader, new ReferenceCache());
+    }
+
+    public ClasspathClassHolderSource(ClassLoader classLoader, ReferenceCache referenceCache) {
         ClasspathResourceReader reader = new ClasspathResourceReader(classLoader);
-        ResourceClassHolderMapper rawMapper = new ResourceClassHolderMapper(reader);
+        ResourceClassHolderMapper rawMapper = new ResourceClassHolderMapper(reader, referenceCache);
         classPathMapper = new ClasspathResourceMapper(classLoader, rawMapper);
         innerClassSource = new MapperClassHolderSource(classPathMapper);
     }
@@ -265,6 +265,7 @@ public class ProgramParser {
         Map<Integer, String> accumulatedDebugNames = new HashMap<>();
         Integer lastLineNumber = null;
         TextLocation lastLocation = null;
+        Map<Integer, TextLocation> locations = new HashMap<>();
         for (int i = 0; i < basicBlocks.size(); ++i) {
             BasicBlock newBasicBlock = basicBlocks.get(i);
             if (newBasicBlock != null) {
@@ -298,7 +299,7 @@ public class ProgramParser {
                 Integer lineNumber = lineNumbers.get(label);
                 if (lineNumber != null && !lineNumber.equals(lastLineNumber)) {
                     lastLineNumber = lineNumber;
-                    lastLocation = new TextLocation(fileName, lastLineNumber);
+                    lastLocation = locations.computeIfAbsent(lineNumber, line -> new TextLocation(fileName, line));
                 }
             }
             if (builtInstructions != null) {
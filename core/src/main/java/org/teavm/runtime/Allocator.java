@@ -27,7 +27,6 @@ public final class Allocator {
 
     public static Address allocate(RuntimeClass tag) {
         RuntimeObject object = GC.alloc(tag.size);
-        fillZero(object.toAddress(), tag.size);
         object.classReference = tag.toAddress().toInt() >> 3;
         return object.toAddress();
     }
@@ -38,7 +37,6 @@ public final class Allocator {
         sizeInBytes += itemSize * size;
         sizeInBytes = Address.align(Address.fromInt(sizeInBytes), 4).toInt();
         Address result = GC.alloc(sizeInBytes).toAddress();
-        fillZero(result, sizeInBytes);
 
         RuntimeArray array = result.toStructure();
         array.classReference = tag.toAddress().toInt() >> 3;
@@ -65,6 +63,12 @@ public final class Allocator {
     @Unmanaged
     public static native void fillZero(Address address, int count);
 
+    @Unmanaged
+    public static native void fill(Address address, byte value, int count);
+
+    @Unmanaged
+    public static native void fillInt(Address address, int value, int count);
+
     @Unmanaged
     public static native void moveMemoryBlock(Address source, Address target, int count);
 
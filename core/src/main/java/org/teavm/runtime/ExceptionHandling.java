@@ -44,7 +44,6 @@ public final class ExceptionHandling {
 
         RuntimeObject exceptionPtr = Address.ofObject(exception).toStructure();
         RuntimeClass exceptionClass = RuntimeClass.getClass(exceptionPtr);
-        IsSupertypeFunction isExceptionSupertype = exceptionClass.isSupertypeOf;
 
         Address stackFrame = ShadowStack.getStackTop();
         stackLoop: while (stackFrame != null) {
@@ -53,7 +52,7 @@ public final class ExceptionHandling {
             ExceptionHandler handler = callSite.firstHandler;
 
             for (int i = 0; i < callSite.handlerCount; ++i) {
-                if (handler.exceptionClass == null || isExceptionSupertype.apply(handler.exceptionClass)) {
+                if (handler.exceptionClass == null || handler.exceptionClass.isSupertypeOf.apply(exceptionClass)) {
                     ShadowStack.setExceptionHandlerId(stackFrame, handler.id);
                     break stackLoop;
                 }
@@ -66,6 +65,19 @@ public final class ExceptionHandling {
         }
     }
 
+    /**
+     * Throws exception when exceptions are lowered to native exception handling of the target.
+     * Instead of searching for a handler in the shadow stack, unwinds the native stack up to the nearest
+     * enclosing handler, which then takes the exception by calling {@link #catchException()}.
+     */
+    @Unmanaged
+    public static void throwNativeException(Throwable exception) {
+        thrownException = exception;
+        raise();
+    }
+
+    private static native void raise();
+
     @Unmanaged
     public static int callStackSize() {
         Address stackFrame = ShadowStack.getStackTop();
@@ -61,6 +61,11 @@ public final class GC {
         getAvailableChunkIfPossible(0);
     }
 
+    /**
+     * Allocates a block of memory of the given size. Free space is kept zeroed by {@link #sweep()},
+     * and fresh heap memory is zero, so the returned block contains only zeroes, except for the first
+     * word, which is supposed to be overwritten by the caller with the class reference.
+     */
     public static RuntimeObject alloc(int size) {
         FreeChunk current = currentChunk;
         Address next = currentChunk.toAddress().add(size);
@@ -80,6 +85,9 @@ public final class GC {
         }
         currentChunk.classReference = 0;
         freeMemory -= size;
+        if (size >= Structure.sizeOf(FreeChunk.class)) {
+            current.size = 0;
+        }
         return current;
     }
 
@@ -200,12 +208,18 @@ public final class GC {
         }
     }
 
+    /**
+     * Reclaims memory occupied by unmarked objects. Every reclaimed chunk is filled with zeroes, so that
+     * {@link #alloc(int)} does not have to clear memory on each allocation. Free chunks that survived from
+     * the previous collection and were not merged with anything else are already zeroed and are left as is.
+     */
     private static void sweep() {
         FreeChunkHolder freeChunkPtr = gcStorageAddress().toStructure();
         freeChunks = 0;
 
         RuntimeObject object = heapAddress().toStructure();
         FreeChunk lastFreeSpace = null;
+        boolean lastFreeSpaceZeroed = false;
         long heapSize = availableBytes();
         long reclaimedSpace = 0;
         long maxFreeChunk = 0;
@@ -230,6 +244,9 @@ public final class GC {
             if (free) {
                 if (lastFreeSpace == null) {
                     lastFreeSpace = (FreeChunk) object;
+                    lastFreeSpaceZeroed = tag == 0;
+                } else {
+                    lastFreeSpaceZeroed = false;
                 }
 
                 if (!object.toAddress().isLessThan(currentRegionEnd)) {
@@ -239,6 +256,7 @@ public final class GC {
                         do {
                             if (++currentRegionIndex == regionsCount) {
                                 object = limit.toStructure();
+                                lastFreeSpaceZeroed = false;
                                 break loop;
                             }
                             currentRegion = Structure.add(Region.class, regionsAddress(), currentRegionIndex);
@@ -248,7 +266,11 @@ public final class GC {
                 }
             } else {
                 if (lastFreeSpace != null) {
-                    lastFreeSpace.size = (int) (object.toAddress().toLong() - lastFreeSpace.toAddress().toLong());
+                    int freeSize = (int) (object.toAddress().toLong() - lastFreeSpace.toAddress().toLong());
+                    if (!lastFreeSpaceZeroed) {
+                        Allocator.fillZero(lastFreeSpace.toAddress(), freeSize);
+                    }
+                    lastFreeSpace.size = freeSize;
                     freeChunkPtr.value = lastFreeSpace;
                     freeChunkPtr = Structure.add(FreeChunkHolder.class, freeChunkPtr, 1);
                     freeChunks++;
@@ -266,6 +288,9 @@ public final class GC {
 
         if (lastFreeSpace != null) {
             int freeSize = (int) (object.toAddress().toLong() - lastFreeSpace.toAddress().toLong());
+            if (!lastFreeSpaceZeroed) {
+                Allocator.fillZero(lastFreeSpace.toAddress(), freeSize);
+            }
             lastFreeSpace.size = freeSize;
             freeChunkPtr.value = lastFreeSpace;
             freeChunkPtr = Structure.add(FreeChunkHolder.class, freeChunkPtr, 1);
@@ -42,6 +42,7 @@ import org.teavm.model.ClassHolderSource;
 import org.teavm.model.ClassHolderTransformer;
 import org.teavm.model.ClassReader;
 import org.teavm.model.ClassReaderSource;
+import org.teavm.model.ElementModifier;
 import org.teavm.model.ListableClassHolderSource;
 import org.teavm.model.ListableClassReaderSource;
 import org.teavm.model.MethodHolder;
@@ -50,6 +51,7 @@ import org.teavm.model.MethodReference;
 import org.teavm.model.MutableClassHolderSource;
 import org.teavm.model.Program;
 import org.teavm.model.ProgramCache;
+import org.teavm.model.analysis.ParameterEscapeAnalysis;
 import org.teavm.model.optimization.ArrayUnwrapMotion;
 import org.teavm.model.optimization.ClassInitElimination;
 import org.teavm.model.optimization.ConstantConditionElimination;
@@ -59,9 +61,12 @@ import org.teavm.model.optimization.Inlining;
 import org.teavm.model.optimization.LoopInvariantMotion;
 import org.teavm.model.optimization.MethodOptimization;
 import org.teavm.model.optimization.MethodOptimizationContext;
+import org.teavm.model.optimization.MethodProfile;
+import org.teavm.model.optimization.MonitorElimination;
 import org.teavm.model.optimization.RedundantJumpElimination;
 import org.teavm.model.optimization.ScalarReplacement;
 import org.teavm.model.optimization.UnreachableBasicBlockElimination;
+import org.teavm.model.optimization.UnusedFieldElimination;
 import org.teavm.model.optimization.UnusedVariableElimination;
 import org.teavm.model.text.ListingBuilder;
 import org.teavm.model.util.MissingItemsProcessor;
@@ -120,12 +125,16 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
     private ListableClassHolderSource writtenClasses;
     private TeaVMTarget target;
     private Map<Class<?>, TeaVMHostExtension> extensions = new HashMap<>();
+    private boolean singleThreaded;
+    private MethodProfile methodProfile;
+    private boolean guardedDevirtualization;
 
     TeaVM(TeaVMBuilder builder) {
         target = builder.target;
         classSource = builder.classSource;
         classLoader = builder.classLoader;
-        dependencyChecker = new DependencyChecker(this.classSource, classLoader, this, diagnostics);
+        dependencyChecker = new DependencyChecker(this.classSource, classLoader, this, diagnostics,
+                builder.referenceCache);
         progressListener = new TeaVMProgressListener() {
             @Override public TeaVMProgressFeedback progressReached(int progress) {
                 return TeaVMProgressFeedback.CONTINUE;
@@ -212,6 +221,36 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
         this.optimizationLevel = optimizationLevel;
     }
 
+    public MethodProfile getMethodProfile() {
+        return methodProfile;
+    }
+
+    /**
+     * <p>Specifies invocation counts collected by an instrumented build of the same application.
+     * Profile guides inlining and guarded devirtualization, so it only takes effect on
+     * {@link TeaVMOptimizationLevel#FULL} level.</p>
+     *
+     * @param methodProfile profile or <code>null</code> to rely on static heuristics only.
+     */
+    public void setMethodProfile(MethodProfile methodProfile) {
+        this.methodProfile = methodProfile;
+    }
+
+    public boolean isGuardedDevirtualization() {
+        return guardedDevirtualization;
+    }
+
+    /**
+     * <p>Specifies whether virtual calls with two or three possible implementations should be replaced
+     * by receiver type checks followed by direct calls. Only makes sense for targets that check types
+     * in constant time, i.e. WebAssembly and C. Takes effect on {@link TeaVMOptimizationLevel#FULL} level.</p>
+     *
+     * @param guardedDevirtualization whether guarded devirtualization is enabled, <code>false</code> by default.
+     */
+    public void setGuardedDevirtualization(boolean guardedDevirtualization) {
+        this.guardedDevirtualization = guardedDevirtualization;
+    }
+
     public TeaVMProgressListener getProgressListener() {
         return progressListener;
     }
@@ -363,6 +402,11 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
         // Optimize and allocate registers
         reportPhase(TeaVMPhase.OPTIMIZATION, 1);
 
+        singleThreaded = !incremental && MonitorElimination.isSingleThreaded(dependencyChecker);
+        if (singleThreaded) {
+            removeSynchronization(classSet);
+        }
+
         if (!incremental) {
             devirtualize(classSet, dependencyChecker);
             if (wasCancelled()) {
@@ -373,6 +417,11 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
             if (wasCancelled()) {
                 return;
             }
+
+            eliminateUnusedFields(classSet);
+            if (wasCancelled()) {
+                return;
+            }
         }
 
         optimize(classSet);
@@ -418,11 +467,21 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
         }
     }
 
+    private void removeSynchronization(ListableClassHolderSource classes) {
+        for (String className : classes.getClassNames()) {
+            ClassHolder cls = classes.get(className);
+            for (MethodHolder method : cls.getMethods()) {
+                method.getModifiers().remove(ElementModifier.SYNCHRONIZED);
+            }
+        }
+    }
+
     private void devirtualize(ListableClassHolderSource classes, DependencyInfo dependency) {
         if (wasCancelled()) {
             return;
         }
-        Devirtualization devirtualization = new Devirtualization(dependency, classes);
+        Devirtualization devirtualization = new Devirtualization(dependency, classes,
+                guardedDevirtualization && optimizationLevel == TeaVMOptimizationLevel.FULL, methodProfile);
         for (String className : classes.getClassNames()) {
             ClassHolder cls = classes.get(className);
             for (final MethodHolder method : cls.getMethods()) {
@@ -436,13 +495,22 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
         }
     }
 
+    private void eliminateUnusedFields(ListableClassHolderSource classes) {
+        if (optimizationLevel == TeaVMOptimizationLevel.SIMPLE) {
+            return;
+        }
+        UnusedFieldElimination elimination = new UnusedFieldElimination(classes);
+        dependencyChecker.getPreservedFields().forEach(elimination::keep);
+        elimination.apply();
+    }
+
     private void inline(ListableClassHolderSource classes, DependencyInfo dependencyInfo) {
         if (optimizationLevel != TeaVMOptimizationLevel.FULL) {
             return;
         }
 
         Map<MethodReference, Program> inlinedPrograms = new HashMap<>();
-        Inlining inlining = new Inlining();
+        Inlining inlining = new Inlining(new ParameterEscapeAnalysis(classes), methodProfile);
         for (String className : classes.getClassNames()) {
             ClassHolder cls = classes.get(className);
             for (MethodHolder method : cls.getMethods()) {
@@ -551,6 +619,9 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
         List<MethodOptimization> optimizations = new ArrayList<>();
         optimizations.add(new RedundantJumpElimination());
         optimizations.add(new ArrayUnwrapMotion());
+        if (singleThreaded || optimizationLevel.ordinal() >= TeaVMOptimizationLevel.ADVANCED.ordinal()) {
+            optimizations.add(new MonitorElimination(singleThreaded));
+        }
         if (optimizationLevel.ordinal() >= TeaVMOptimizationLevel.ADVANCED.ordinal()) {
             optimizations.add(new ScalarReplacement());
             //optimizations.add(new LoopInversion());
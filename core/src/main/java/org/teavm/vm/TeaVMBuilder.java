@@ -16,12 +16,14 @@
 package org.teavm.vm;
 
 import org.teavm.model.ClassHolderSource;
+import org.teavm.model.ReferenceCache;
 import org.teavm.parsing.ClasspathClassHolderSource;
 
 public class TeaVMBuilder {
     TeaVMTarget target;
     ClassHolderSource classSource;
     ClassLoader classLoader;
+    ReferenceCache referenceCache = new ReferenceCache();
 
     public TeaVMBuilder(TeaVMTarget target) {
         this.target = target;
@@ -47,6 +49,15 @@ public class TeaVMBuilder {
         return this;
     }
 
+    public ReferenceCache getReferenceCache() {
+        return referenceCache;
+    }
+
+    public TeaVMBuilder setReferenceCache(ReferenceCache referenceCache) {
+        this.referenceCache = referenceCache;
+        return this;
+    }
+
     public TeaVM build() {
         return new TeaVM(this);
     }
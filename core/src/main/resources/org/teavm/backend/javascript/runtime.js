@@ -43,31 +43,45 @@ function $rt_isAssignable(from, to) {
     return false;
 }
 function $rt_createArray(cls, sz) {
-    var data = new Array(sz);
-    var arr = new ($rt_arraycls(cls))(data);
+    var arr = $rt_newArray($rt_arraycls(cls), Array, sz);
     if (sz > 0) {
         var i = 0;
         do {
-            data[i] = null;
+            arr[i] = null;
             i = (i + 1) | 0;
         } while (i < sz);
     }
     return arr;
 }
 function $rt_wrapArray(cls, data) {
-    return new ($rt_arraycls(cls))(data);
+    var arr = $rt_newArray($rt_arraycls(cls), Array, data.length);
+    for (var i = 0; i < data.length; i = (i + 1) | 0) {
+        arr[i] = data[i];
+    }
+    return arr;
 }
 function $rt_createUnfilledArray(cls, sz) {
-    return new ($rt_arraycls(cls))(new Array(sz));
+    return $rt_newArray($rt_arraycls(cls), Array, sz);
 }
 function $rt_createLongArray(sz) {
-    var data = new Array(sz);
-    var arr = new ($rt_arraycls($rt_longcls()))(data);
+    var arr = $rt_newArray($rt_arraycls($rt_longcls()), Array, sz);
     for (var i = 0; i < sz; i = (i + 1) | 0) {
-        data[i] = Long_ZERO;
+        arr[i] = Long_ZERO;
     }
     return arr;
 }
+var $rt_newArray = typeof Reflect === 'object' && typeof Reflect.construct === 'function'
+    ? function(arraycls, nativeCls, sz) {
+        return Reflect.construct(nativeCls, [sz], arraycls);
+    }
+    : function(arraycls, nativeCls, sz) {
+        var arr = new nativeCls(sz);
+        arr.__proto__ = arraycls.prototype;
+        return arr;
+    };
+// Older engines lack copyWithin or compute subarray bounds incorrectly
+var $rt_bulkArrayCopy = typeof Int16Array !== 'undefined' && typeof Int16Array.prototype.copyWithin === 'function'
+        && typeof Array.prototype.copyWithin === 'function' && new Int16Array(4).subarray(1, 3).length === 2;
 var $rt_createNumericArray;
 var $rt_createCharArray;
 var $rt_createByteArray;
@@ -76,37 +90,36 @@ var $rt_createIntArray;
 var $rt_createBooleanArray;
 var $rt_createFloatArray;
 var $rt_createDoubleArray;
-if (typeof 'ArrayBuffer' !== 'undefined') {
-    $rt_createNumericArray = function(cls, nativeArray) {
-        return new ($rt_arraycls(cls))(nativeArray);
+if (typeof ArrayBuffer !== 'undefined') {
+    $rt_createNumericArray = function(cls, nativeCls, sz) {
+        return $rt_newArray($rt_arraycls(cls), nativeCls, sz);
     };
     $rt_createCharArray = function(sz) {
-        return $rt_createNumericArray($rt_charcls(), new Uint16Array(sz));
+        return $rt_createNumericArray($rt_charcls(), Uint16Array, sz);
     };
     $rt_createByteArray = function(sz) {
-        return $rt_createNumericArray($rt_bytecls(), new Int8Array(sz));
+        return $rt_createNumericArray($rt_bytecls(), Int8Array, sz);
     };
     $rt_createShortArray = function(sz) {
-        return $rt_createNumericArray($rt_shortcls(), new Int16Array(sz));
+        return $rt_createNumericArray($rt_shortcls(), Int16Array, sz);
     };
     $rt_createIntArray = function(sz) {
-        return $rt_createNumericArray($rt_intcls(), new Int32Array(sz));
+        return $rt_createNumericArray($rt_intcls(), Int32Array, sz);
     };
     $rt_createBooleanArray = function(sz) {
-        return $rt_createNumericArray($rt_booleancls(), new Int8Array(sz));
+        return $rt_createNumericArray($rt_booleancls(), Int8Array, sz);
     };
     $rt_createFloatArray = function(sz) {
-        return $rt_createNumericArray($rt_floatcls(), new Float32Array(sz));
+        return $rt_createNumericArray($rt_floatcls(), Float32Array, sz);
     };
     $rt_createDoubleArray = function(sz) {
-        return $rt_createNumericArray($rt_doublecls(), new Float64Array(sz));
+        return $rt_createNumericArray($rt_doublecls(), Float64Array, sz);
     };
 } else {
     $rt_createNumericArray = function(cls, sz) {
-      var data = new Array(sz);
-      var arr = new ($rt_arraycls(cls))(data);
+      var arr = $rt_newArray($rt_arraycls(cls), Array, sz);
       for (var i = 0; i < sz; i = (i + 1) | 0) {
-          data[i] = 0;
+          arr[i] = 0;
       }
       return arr;
     };
@@ -121,33 +134,75 @@ if (typeof 'ArrayBuffer' !== 'undefined') {
 function $rt_arraycls(cls) {
     var result = cls.$array;
     if (result === null) {
-        var arraycls = function(data) {
-            this.data = data;
-            this.$id = 0;
-        };
-        arraycls.prototype = new ($rt_objcls())();
-        arraycls.prototype.constructor = arraycls;
-        arraycls.prototype.toString = function() {
-            var str = "[";
-            for (var i = 0; i < this.data.length; ++i) {
-                if (i > 0) {
-                    str += ", ";
-                }
-                str += this.data[i].toString();
-            }
-            str += "]";
-            return str;
-        };
+        var arraycls = function() {};
         var name = "[" + cls.$meta.binaryName;
         arraycls.$meta = { item : cls, supertypes : [$rt_objcls()], primitive : false, superclass : $rt_objcls(),
                 name : name, binaryName : name, enum : false };
         arraycls.classObject = null;
         arraycls.$array = null;
+        arraycls.prototype = $rt_createArrayPrototype(arraycls, $rt_nativeArrayCls(cls));
         result = arraycls;
         cls.$array = arraycls;
     }
     return result;
 }
+function $rt_nativeArrayCls(cls) {
+    if (cls.$meta.primitive && typeof ArrayBuffer !== 'undefined') {
+        switch (cls.$meta.binaryName) {
+            case "Z":
+            case "B":
+                return Int8Array;
+            case "S":
+                return Int16Array;
+            case "C":
+                return Uint16Array;
+            case "I":
+                return Int32Array;
+            case "F":
+                return Float32Array;
+            case "D":
+                return Float64Array;
+        }
+    }
+    return Array;
+}
+function $rt_createArrayPrototype(arraycls, nativeCls) {
+    var objcls = $rt_objcls();
+    var proto = Object.create(nativeCls.prototype);
+    var template = new objcls();
+    for (var name in objcls.prototype) {
+        $rt_defineHidden(proto, name, objcls.prototype[name]);
+    }
+    for (name in template) {
+        if (template.hasOwnProperty(name)) {
+            $rt_defineHidden(proto, name, template[name]);
+        }
+    }
+    $rt_defineHidden(proto, "constructor", arraycls);
+    $rt_defineHidden(proto, "toString", function() {
+        var str = "[";
+        for (var i = 0; i < this.length; ++i) {
+            if (i > 0) {
+                str += ", ";
+            }
+            str += this[i].toString();
+        }
+        str += "]";
+        return str;
+    });
+    return proto;
+}
+function $rt_defineHidden(obj, name, value) {
+    Object.defineProperty(obj, name, { value : value, writable : true, configurable : true });
+}
+function $rt_cloneArray(arr) {
+    var arraycls = arr.constructor;
+    var copy = $rt_newArray(arraycls, Object.getPrototypeOf(arraycls.prototype).constructor, arr.length);
+    for (var i = 0; i < arr.length; i = (i + 1) | 0) {
+        copy[i] = arr[i];
+    }
+    return copy;
+}
 function $rt_createcls() {
     return {
         $array : null,
@@ -378,7 +433,7 @@ function $rt_createMultiArrayImpl(cls, arrays, dimensions, start) {
         while (index < limit) {
             var arr = $rt_createUnfilledArray(cls, dim);
             for (var j = 0; j < dim; j = (j + 1) | 0) {
-                arr.data[j] = arrays[index];
+                arr[j] = arrays[index];
                 index = (index + 1) | 0;
             }
             arrays[packedIndex] = arr;
@@ -471,7 +526,7 @@ function $rt_mainStarter(f) {
         }
         var javaArgs = $rt_createArray($rt_objcls(), args.length);
         for (var i = 0; i < args.length; ++i) {
-            javaArgs.data[i] = $rt_str(args[i]);
+            javaArgs[i] = $rt_str(args[i]);
         }
         $rt_threadStarter(f)(javaArgs);
     };
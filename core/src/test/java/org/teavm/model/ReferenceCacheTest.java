@@ -0,0 +1,92 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+public class ReferenceCacheTest {
+    @Test
+    public void internsEqualReferences() {
+        for (ReferenceCache cache : new ReferenceCache[] { new ReferenceCache(), new ReferenceCache(true) }) {
+            MethodReference first = cache.getCached(new MethodReference("foo.Bar", "baz", ValueType.object("foo.Bar"),
+                    ValueType.VOID));
+            MethodReference second = cache.getCached(new MethodReference(new String("foo.Bar"), "baz",
+                    ValueType.object(new String("foo.Bar")), ValueType.VOID));
+            assertSame(first, second);
+            assertSame(first.getClassName(), cache.getCached(new String("foo.Bar")));
+            assertSame(first.getClassName(), ((ValueType.Object) first.parameterType(0)).getClassName());
+            assertSame(first, cache.parseReferenceCached("foo.Bar.baz(Lfoo/Bar;)V"));
+            assertSame(first.getDescriptor(), cache.parseDescriptorCached(new String("baz(Lfoo/Bar;)V")));
+            assertSame(first.parameterType(0), cache.parseValueTypeCached("Lfoo/Bar;"));
+
+            FieldReference field = cache.getCached(new FieldReference(new String("foo.Bar"), "x"));
+            assertSame(first.getClassName(), field.getClassName());
+            assertSame(field, cache.getCached(new FieldReference("foo.Bar", new String("x"))));
+        }
+    }
+
+    @Test
+    public void internsConcurrently() throws Exception {
+        for (ReferenceCache cache : new ReferenceCache[] { new ReferenceCache(), new ReferenceCache(true) }) {
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<List<MethodReference>>> futures = new ArrayList<>();
+                for (int i = 0; i < 4; ++i) {
+                    futures.add(executor.submit(() -> {
+                        List<MethodReference> result = new ArrayList<>();
+                        for (int j = 0; j < 1000; ++j) {
+                            result.add(cache.parseReferenceCached("foo.Bar" + j % 50 + ".m" + j + "(I)V"));
+                        }
+                        return result;
+                    }));
+                }
+                List<MethodReference> expected = futures.get(0).get();
+                for (Future<List<MethodReference>> future : futures) {
+                    List<MethodReference> actual = future.get();
+                    for (int j = 0; j < expected.size(); ++j) {
+                        assertSame(expected.get(j), actual.get(j));
+                    }
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void weakCacheReleasesUnusedReferences() {
+        ReferenceCache cache = new ReferenceCache(true);
+        WeakReference<MethodReference> ref = new WeakReference<>(cache.getCached(
+                new MethodReference(new String("foo.Unused"), "m", ValueType.VOID)));
+        for (int i = 0; i < 50 && ref.get() != null; ++i) {
+            System.gc();
+        }
+        assertNull(ref.get());
+
+        MethodReference reference = cache.getCached(new MethodReference("foo.Unused", "m", ValueType.VOID));
+        assertEquals("foo.Unused", reference.getClassName());
+        assertSame(reference, cache.getCached(new MethodReference("foo.Unused", "m", ValueType.VOID)));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.model.analysis.test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import org.teavm.model.ClassHolder;
+import org.teavm.model.ElementModifier;
+import org.teavm.model.ListingParseUtils;
+import org.teavm.model.MethodDescriptor;
+import org.teavm.model.MethodHolder;
+import org.teavm.model.MethodReference;
+import org.teavm.model.MutableClassHolderSource;
+import org.teavm.model.analysis.ParameterEscapeAnalysis;
+
+public class ParameterEscapeAnalysisTest {
+    private static final String PREFIX = "model/analysis/parameter-escape/";
+    private static final String[] METHODS = { "read(LTest;)I", "leak(LTest;)LTest;", "passToRead(LTest;)I",
+            "passToLeak(LTest;)V", "recursive(LTest;)I", "virtual(LTest;)V" };
+    private ParameterEscapeAnalysis analysis = createAnalysis();
+
+    @Test
+    public void fieldRead() {
+        assertFalse(escapes("read(LTest;)I"));
+    }
+
+    @Test
+    public void returned() {
+        assertTrue(escapes("leak(LTest;)LTest;"));
+    }
+
+    @Test
+    public void passedToNonEscapingParameter() {
+        assertFalse(escapes("passToRead(LTest;)I"));
+    }
+
+    @Test
+    public void passedToEscapingParameter() {
+        assertTrue(escapes("passToLeak(LTest;)V"));
+    }
+
+    @Test
+    public void recursive() {
+        assertFalse(escapes("recursive(LTest;)I"));
+    }
+
+    @Test
+    public void virtualCall() {
+        assertTrue(escapes("virtual(LTest;)V"));
+    }
+
+    private boolean escapes(String method) {
+        return analysis.escapes(new MethodReference("Test", MethodDescriptor.parse(method)), 1);
+    }
+
+    private static ParameterEscapeAnalysis createAnalysis() {
+        ClassHolder cls = new ClassHolder("Test");
+        for (String methodText : METHODS) {
+            MethodHolder method = new MethodHolder(MethodDescriptor.parse(methodText));
+            method.getModifiers().add(ElementModifier.STATIC);
+            method.setProgram(ListingParseUtils.parseFromResource(PREFIX + method.getName() + ".txt"));
+            cls.addMethod(method);
+        }
+        MutableClassHolderSource classSource = new MutableClassHolderSource();
+        classSource.putClassHolder(cls);
+        return new ParameterEscapeAnalysis(classSource);
+    }
+}
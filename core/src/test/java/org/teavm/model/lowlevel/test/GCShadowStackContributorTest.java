@@ -0,0 +1,228 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.model.lowlevel.test;
+
+import static org.junit.Assert.assertEquals;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+import org.teavm.callgraph.CallGraph;
+import org.teavm.callgraph.DefaultCallGraph;
+import org.teavm.dependency.ClassDependencyInfo;
+import org.teavm.dependency.DependencyInfo;
+import org.teavm.dependency.FieldDependencyInfo;
+import org.teavm.dependency.MethodDependencyInfo;
+import org.teavm.model.ClassHolder;
+import org.teavm.model.ClassReaderSource;
+import org.teavm.model.ElementModifier;
+import org.teavm.model.FieldReference;
+import org.teavm.model.ListingParseUtils;
+import org.teavm.model.MethodHolder;
+import org.teavm.model.MethodReference;
+import org.teavm.model.MutableClassHolderSource;
+import org.teavm.model.Program;
+import org.teavm.model.ValueType;
+import org.teavm.model.lowlevel.GCFreeMethodRepository;
+import org.teavm.model.lowlevel.GCShadowStackContributor;
+import org.teavm.model.lowlevel.ManagedMethodRepository;
+import org.teavm.model.text.ListingBuilder;
+import org.teavm.model.text.ListingParseException;
+import org.teavm.model.text.ListingParser;
+
+public class GCShadowStackContributorTest {
+    private static final String PREFIX = "model/lowlevel/gc-shadow-stack/";
+    private static final ValueType OBJECT = ValueType.object("java.lang.Object");
+    @Rule
+    public TestName name = new TestName();
+
+    @Test
+    public void gcFreeCall() {
+        doTest();
+    }
+
+    @Test
+    public void virtualCall() {
+        doTest();
+    }
+
+    @Test
+    public void clinitCall() {
+        doTest();
+    }
+
+    @Test
+    public void throwingCall() {
+        doTest();
+    }
+
+    @Test
+    public void phiOfUnstoredInput() {
+        doTest();
+    }
+
+    @Test
+    public void phiOfStoredInputs() {
+        doTest();
+    }
+
+    private void doTest() {
+        String originalPath = PREFIX + name.getMethodName() + ".original.txt";
+        String expectedPath = PREFIX + name.getMethodName() + ".expected.txt";
+        Program original = ListingParseUtils.parseFromResource(originalPath);
+        Program expected = ListingParseUtils.parseFromResource(expectedPath);
+
+        MutableClassHolderSource classes = new MutableClassHolderSource();
+        classes.putClassHolder(createClass("java.lang.Object", null));
+
+        ClassHolder foo = createClass("Foo", "java.lang.Object");
+        addMethod(foo, true, "$start\n    @r := new java.lang.Object\n    return @r", "alloc", OBJECT);
+        addMethod(foo, true, "$start\n    @r := new Derived\n    return @r", "create", ValueType.object("Base"));
+        addMethod(foo, true, "var @this as this\nvar @p as p\n\n$start\n    @r := 0\n    return @r",
+                "pure", OBJECT, ValueType.INTEGER);
+        addMethod(foo, true, "var @this as this\nvar @p as p\n\n$start\n    throw @p", "fail", OBJECT,
+                ValueType.VOID);
+        classes.putClassHolder(foo);
+
+        ClassHolder bar = createClass("Bar", "java.lang.Object");
+        addMethod(bar, true, "$start\n    @r := 0\n    return @r", "get", ValueType.INTEGER);
+        addMethod(bar, true, "$start\n    return", "<clinit>", ValueType.VOID);
+        classes.putClassHolder(bar);
+
+        ClassHolder base = createClass("Base", "java.lang.Object");
+        addMethod(base, false, "$start\n    @r := 0\n    return @r", "foo", ValueType.INTEGER);
+        classes.putClassHolder(base);
+
+        ClassHolder derived = createClass("Derived", "Base");
+        addMethod(derived, false, "$start\n    @o := new java.lang.Object\n    @r := 1\n    return @r", "foo",
+                ValueType.INTEGER);
+        classes.putClassHolder(derived);
+
+        ClassHolder testClass = createClass("Test", "java.lang.Object");
+        MethodHolder testMethod = new MethodHolder("test", OBJECT);
+        testMethod.getModifiers().add(ElementModifier.STATIC);
+        testMethod.setProgram(original);
+        testClass.addMethod(testMethod);
+        classes.putClassHolder(testClass);
+
+        DefaultCallGraph callGraph = new DefaultCallGraph();
+        List<MethodReference> reachableMethods = new ArrayList<>();
+        reachableMethods.add(testMethod.getReference());
+        for (String className : classes.getClassNames()) {
+            for (MethodHolder method : classes.get(className).getMethods()) {
+                if (method != testMethod) {
+                    reachableMethods.add(method.getReference());
+                    callGraph.getNode(testMethod.getReference()).addCallSite(method.getReference());
+                }
+            }
+        }
+
+        DependencyInfo dependency = new DependencyInfoStub(classes, reachableMethods, callGraph);
+        new GCShadowStackContributor(new ManagedMethodRepository(classes), new GCFreeMethodRepository(dependency))
+                .contribute(original, testMethod);
+
+        String originalText = new ListingBuilder().buildListing(original, "");
+        String expectedText = new ListingBuilder().buildListing(expected, "");
+        assertEquals(expectedText, originalText);
+    }
+
+    private static ClassHolder createClass(String name, String parent) {
+        ClassHolder cls = new ClassHolder(name);
+        cls.setParent(parent);
+        return cls;
+    }
+
+    private static void addMethod(ClassHolder cls, boolean isStatic, String listing, String name,
+            ValueType... signature) {
+        MethodHolder method = new MethodHolder(name, signature);
+        if (isStatic) {
+            method.getModifiers().add(ElementModifier.STATIC);
+        }
+        try {
+            method.setProgram(new ListingParser().parse(new StringReader(listing)));
+        } catch (IOException | ListingParseException e) {
+            throw new RuntimeException(e);
+        }
+        cls.addMethod(method);
+    }
+
+    static class DependencyInfoStub implements DependencyInfo {
+        private ClassReaderSource classes;
+        private Collection<MethodReference> reachableMethods;
+        private CallGraph callGraph;
+
+        DependencyInfoStub(ClassReaderSource classes, Collection<MethodReference> reachableMethods,
+                CallGraph callGraph) {
+            this.classes = classes;
+            this.reachableMethods = reachableMethods;
+            this.callGraph = callGraph;
+        }
+
+        @Override
+        public ClassReaderSource getClassSource() {
+            return classes;
+        }
+
+        @Override
+        public ClassLoader getClassLoader() {
+            return GCShadowStackContributorTest.class.getClassLoader();
+        }
+
+        @Override
+        public Collection<MethodReference> getReachableMethods() {
+            return reachableMethods;
+        }
+
+        @Override
+        public Collection<FieldReference> getReachableFields() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Collection<String> getReachableClasses() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public FieldDependencyInfo getField(FieldReference fieldRef) {
+            return null;
+        }
+
+        @Override
+        public MethodDependencyInfo getMethod(MethodReference methodRef) {
+            return null;
+        }
+
+        @Override
+        public MethodDependencyInfo getMethodImplementation(MethodReference methodRef) {
+            return null;
+        }
+
+        @Override
+        public ClassDependencyInfo getClass(String className) {
+            return null;
+        }
+
+        @Override
+        public CallGraph getCallGraph() {
+            return callGraph;
+        }
+    }
+}
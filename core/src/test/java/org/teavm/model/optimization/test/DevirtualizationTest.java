@@ -0,0 +1,262 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.model.optimization.test;
+
+import static org.junit.Assert.assertEquals;
+import java.util.Arrays;
+import java.util.Collection;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+import org.teavm.callgraph.CallGraph;
+import org.teavm.dependency.ClassDependencyInfo;
+import org.teavm.dependency.DependencyInfo;
+import org.teavm.dependency.FieldDependencyInfo;
+import org.teavm.dependency.MethodDependencyInfo;
+import org.teavm.dependency.ValueDependencyInfo;
+import org.teavm.model.ClassHolder;
+import org.teavm.model.ClassReaderSource;
+import org.teavm.model.ElementModifier;
+import org.teavm.model.FieldReference;
+import org.teavm.model.ListingParseUtils;
+import org.teavm.model.MethodHolder;
+import org.teavm.model.MethodReader;
+import org.teavm.model.MethodReference;
+import org.teavm.model.MutableClassHolderSource;
+import org.teavm.model.Program;
+import org.teavm.model.ValueType;
+import org.teavm.model.optimization.Devirtualization;
+import org.teavm.model.text.ListingBuilder;
+
+public class DevirtualizationTest {
+    private static final String PREFIX = "model/optimization/devirtualization/";
+    @Rule
+    public TestName name = new TestName();
+
+    @Test
+    public void bimorphic() {
+        doTest(true, "B", "C");
+    }
+
+    @Test
+    public void trimorphic() {
+        doTest(true, "B", "C", "D");
+    }
+
+    @Test
+    public void incompleteTypes() {
+        doTest(true, "B", "C", "X");
+    }
+
+    @Test
+    public void override() {
+        doTest(true, "A", "B");
+    }
+
+    @Test
+    public void disabled() {
+        doTest(false, "B", "C");
+    }
+
+    private void doTest(boolean guarded, String... receiverTypes) {
+        String originalPath = PREFIX + name.getMethodName() + ".original.txt";
+        String expectedPath = PREFIX + name.getMethodName() + ".expected.txt";
+        Program original = ListingParseUtils.parseFromResource(originalPath);
+        Program expected = ListingParseUtils.parseFromResource(expectedPath);
+
+        MutableClassHolderSource classes = new MutableClassHolderSource();
+        classes.putClassHolder(createClass("java.lang.Object", null, false));
+        classes.putClassHolder(createClass("A", "java.lang.Object", true));
+        classes.putClassHolder(createClass("B", "A", true));
+        classes.putClassHolder(createClass("C", "A", true));
+        classes.putClassHolder(createClass("D", "A", true));
+        classes.putClassHolder(createClass("X", "java.lang.Object", false));
+
+        ClassHolder testClass = createClass("Test", "java.lang.Object", false);
+        MethodHolder testMethod = new MethodHolder("test", ValueType.object("A"), ValueType.INTEGER);
+        testMethod.getModifiers().add(ElementModifier.STATIC);
+        testMethod.setProgram(original);
+        testClass.addMethod(testMethod);
+        classes.putClassHolder(testClass);
+
+        DependencyInfo dependency = new DependencyInfoStub(classes, receiverTypes);
+        new Devirtualization(dependency, classes, guarded, null).apply(testMethod);
+
+        String originalText = new ListingBuilder().buildListing(original, "");
+        String expectedText = new ListingBuilder().buildListing(expected, "");
+        assertEquals(expectedText, originalText);
+    }
+
+    private static ClassHolder createClass(String name, String parent, boolean withMethod) {
+        ClassHolder cls = new ClassHolder(name);
+        cls.setParent(parent);
+        if (withMethod) {
+            MethodHolder method = new MethodHolder("foo", ValueType.INTEGER);
+            method.setProgram(new Program());
+            cls.addMethod(method);
+        }
+        return cls;
+    }
+
+    static class DependencyInfoStub implements DependencyInfo {
+        private ClassReaderSource classes;
+        private String[] receiverTypes;
+
+        DependencyInfoStub(ClassReaderSource classes, String[] receiverTypes) {
+            this.classes = classes;
+            this.receiverTypes = receiverTypes;
+        }
+
+        @Override
+        public ClassReaderSource getClassSource() {
+            return classes;
+        }
+
+        @Override
+        public ClassLoader getClassLoader() {
+            return DevirtualizationTest.class.getClassLoader();
+        }
+
+        @Override
+        public Collection<MethodReference> getReachableMethods() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Collection<FieldReference> getReachableFields() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Collection<String> getReachableClasses() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public FieldDependencyInfo getField(FieldReference fieldRef) {
+            return null;
+        }
+
+        @Override
+        public MethodDependencyInfo getMethod(MethodReference methodRef) {
+            return new MethodDependencyInfoStub(methodRef, receiverTypes);
+        }
+
+        @Override
+        public MethodDependencyInfo getMethodImplementation(MethodReference methodRef) {
+            MethodReader method = classes.resolve(methodRef);
+            return method != null ? new MethodDependencyInfoStub(method.getReference(), new String[0]) : null;
+        }
+
+        @Override
+        public ClassDependencyInfo getClass(String className) {
+            return null;
+        }
+
+        @Override
+        public CallGraph getCallGraph() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    static class MethodDependencyInfoStub implements MethodDependencyInfo {
+        private MethodReference reference;
+        private ValueDependencyInfo variable;
+
+        MethodDependencyInfoStub(MethodReference reference, String[] types) {
+            this.reference = reference;
+            variable = new ValueDependencyInfoStub(types);
+        }
+
+        @Override
+        public ValueDependencyInfo[] getVariables() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getVariableCount() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ValueDependencyInfo getVariable(int index) {
+            return variable;
+        }
+
+        @Override
+        public int getParameterCount() {
+            return reference.parameterCount();
+        }
+
+        @Override
+        public ValueDependencyInfo getResult() {
+            return null;
+        }
+
+        @Override
+        public ValueDependencyInfo getThrown() {
+            return null;
+        }
+
+        @Override
+        public MethodReference getReference() {
+            return reference;
+        }
+
+        @Override
+        public boolean isUsed() {
+            return true;
+        }
+
+        @Override
+        public boolean isMissing() {
+            return false;
+        }
+    }
+
+    static class ValueDependencyInfoStub implements ValueDependencyInfo {
+        private String[] types;
+
+        ValueDependencyInfoStub(String[] types) {
+            this.types = types;
+        }
+
+        @Override
+        public String[] getTypes() {
+            return types.clone();
+        }
+
+        @Override
+        public boolean hasType(String type) {
+            return Arrays.asList(types).contains(type);
+        }
+
+        @Override
+        public boolean hasArrayType() {
+            return false;
+        }
+
+        @Override
+        public ValueDependencyInfo getArrayItem() {
+            return null;
+        }
+
+        @Override
+        public ValueDependencyInfo getClassValueNode() {
+            return null;
+        }
+    }
+}
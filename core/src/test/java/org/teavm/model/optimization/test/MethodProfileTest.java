@@ -0,0 +1,75 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.model.optimization.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import org.junit.Test;
+import org.teavm.model.MethodReference;
+import org.teavm.model.optimization.MethodProfile;
+
+public class MethodProfileTest {
+    private static final MethodReference HOT = MethodReference.parse("foo.A.hot(ILjava/lang/String;)V");
+    private static final MethodReference WARM = MethodReference.parse("foo.A.warm()I");
+    private static final MethodReference COLD = MethodReference.parse("foo.B.<init>()V");
+
+    @Test
+    public void readsAndSumsEntries() throws IOException {
+        MethodProfile profile = MethodProfile.read(new StringReader(""
+                + "# collected by instrumented build\n"
+                + "1000 foo.A.hot(ILjava/lang/String;)V\n"
+                + "\n"
+                + "5 foo.A.warm()I\n"
+                + "500 foo.A.hot(ILjava/lang/String;)V\n"));
+
+        assertEquals(1500, profile.getInvocationCount(HOT));
+        assertEquals(5, profile.getInvocationCount(WARM));
+        assertEquals(0, profile.getInvocationCount(COLD));
+        assertTrue(profile.isHot(HOT));
+        assertFalse(profile.isHot(WARM));
+        assertFalse(profile.isCold(WARM));
+        assertTrue(profile.isCold(COLD));
+    }
+
+    @Test
+    public void writtenProfileReadBack() throws IOException {
+        MethodProfile profile = new MethodProfile();
+        profile.addInvocations(HOT, 42);
+        profile.addInvocations(WARM, 7);
+
+        StringWriter writer = new StringWriter();
+        profile.write(writer);
+        assertEquals("42 " + HOT + "\n7 " + WARM + "\n", writer.toString());
+
+        MethodProfile readProfile = MethodProfile.read(new StringReader(writer.toString()));
+        assertEquals(42, readProfile.getInvocationCount(HOT));
+        assertEquals(7, readProfile.getInvocationCount(WARM));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsMalformedEntry() throws IOException {
+        MethodProfile.read(new StringReader("foo.A.hot()V\n"));
+    }
+
+    @Test
+    public void emptyProfileHasNoColdMethods() {
+        assertFalse(new MethodProfile().isCold(COLD));
+    }
+}
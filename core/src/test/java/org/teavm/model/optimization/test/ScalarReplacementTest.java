@@ -72,6 +72,16 @@ public class ScalarReplacementTest {
         doTest();
     }
 
+    @Test
+    public void monitor() {
+        doTest();
+    }
+
+    @Test
+    public void nullCheck() {
+        doTest();
+    }
+
     private void doTest() {
         String originalPath = PREFIX + name.getMethodName() + ".original.txt";
         String expectedPath = PREFIX + name.getMethodName() + ".expected.txt";
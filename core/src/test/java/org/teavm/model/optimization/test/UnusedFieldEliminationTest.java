@@ -0,0 +1,113 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.model.optimization.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+import org.teavm.model.AnnotationHolder;
+import org.teavm.model.ClassHolder;
+import org.teavm.model.ElementModifier;
+import org.teavm.model.FieldHolder;
+import org.teavm.model.FieldReference;
+import org.teavm.model.ListingParseUtils;
+import org.teavm.model.MethodHolder;
+import org.teavm.model.MutableClassHolderSource;
+import org.teavm.model.Program;
+import org.teavm.model.ValueType;
+import org.teavm.model.optimization.UnusedFieldElimination;
+import org.teavm.model.text.ListingBuilder;
+
+public class UnusedFieldEliminationTest {
+    private static final String PREFIX = "model/optimization/unused-field-elimination/";
+    @Rule
+    public TestName name = new TestName();
+
+    @Test
+    public void simple() {
+        ClassHolder cls = doTest();
+        assertNull(cls.getField("name"));
+        assertNull(cls.getField("next"));
+        assertNotNull(cls.getField("count"));
+        assertNotNull(cls.getField("annotated"));
+    }
+
+    @Test
+    public void nullableReceiver() {
+        ClassHolder cls = doTest();
+        assertNull(cls.getField("name"));
+        assertNull(cls.getField("count"));
+    }
+
+    @Test
+    public void staticField() {
+        ClassHolder cls = doTest();
+        assertNotNull(cls.getField("total"));
+        assertNotNull(cls.getField("zero"));
+    }
+
+    @Test
+    public void keptField() {
+        ClassHolder cls = doTest();
+        assertNotNull(cls.getField("kept"));
+        assertNull(cls.getField("count"));
+    }
+
+    private ClassHolder doTest() {
+        String originalPath = PREFIX + name.getMethodName() + ".original.txt";
+        String expectedPath = PREFIX + name.getMethodName() + ".expected.txt";
+        Program original = ListingParseUtils.parseFromResource(originalPath);
+        Program expected = ListingParseUtils.parseFromResource(expectedPath);
+
+        MutableClassHolderSource classes = new MutableClassHolderSource();
+        ClassHolder cls = new ClassHolder("Foo");
+        cls.addField(createField("name", ValueType.object("java.lang.String")));
+        cls.addField(createField("count", ValueType.INTEGER));
+        cls.addField(createField("next", ValueType.object("Foo")));
+        FieldHolder annotatedField = createField("annotated", ValueType.INTEGER);
+        annotatedField.getAnnotations().add(new AnnotationHolder("Bar"));
+        cls.addField(annotatedField);
+        cls.addField(createField("kept", ValueType.INTEGER));
+        FieldHolder staticField = createField("total", ValueType.INTEGER);
+        staticField.getModifiers().add(ElementModifier.STATIC);
+        cls.addField(staticField);
+        FieldHolder zeroStaticField = createField("zero", ValueType.INTEGER);
+        zeroStaticField.getModifiers().add(ElementModifier.STATIC);
+        cls.addField(zeroStaticField);
+        MethodHolder method = new MethodHolder("test", ValueType.INTEGER);
+        method.setProgram(original);
+        cls.addMethod(method);
+        classes.putClassHolder(cls);
+
+        UnusedFieldElimination elimination = new UnusedFieldElimination(classes);
+        elimination.keep(new FieldReference("Foo", "kept"));
+        elimination.apply();
+
+        String originalText = new ListingBuilder().buildListing(original, "");
+        String expectedText = new ListingBuilder().buildListing(expected, "");
+        assertEquals(expectedText, originalText);
+        return cls;
+    }
+
+    private static FieldHolder createField(String name, ValueType type) {
+        FieldHolder field = new FieldHolder(name);
+        field.setType(type);
+        return field;
+    }
+}
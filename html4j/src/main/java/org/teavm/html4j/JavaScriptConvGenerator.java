@@ -73,9 +73,9 @@ public class JavaScriptConvGenerator implements Generator {
 
         writer.outdent().append("} else if (" + obj + ".constructor.$meta && " + obj + ".constructor.$meta.item) {")
                 .indent().softNewLine();
-        writer.append("var arr = new Array(" + obj + ".data.length);").softNewLine();
+        writer.append("var arr = new Array(" + obj + ".length);").softNewLine();
         writer.append("for (var i = 0; i < arr.length; ++i) {").indent().softNewLine();
-        writer.append("arr[i] = ").appendMethodBody(toJsMethod).append("(" + obj + ".data[i]);").softNewLine();
+        writer.append("arr[i] = ").appendMethodBody(toJsMethod).append("(" + obj + "[i]);").softNewLine();
         writer.outdent().append("}").softNewLine();
         writer.append("return arr;").softNewLine();
 
@@ -121,8 +121,8 @@ public class JavaScriptConvGenerator implements Generator {
         writer.append("return " + obj + ";").softNewLine();
         writer.outdent().append("} else if (" + type + ".$meta.item) {").indent().softNewLine();
         writer.append("var arr = $rt_createArray(" + type + ".$meta.item, " + obj + ".length);").softNewLine();
-        writer.append("for (var i = 0; i < arr.data.length; ++i) {").indent().softNewLine();
-        writer.append("arr.data[i] = ").appendMethodBody(fromJsMethod).append("(" + obj + "[i], "
+        writer.append("for (var i = 0; i < arr.length; ++i) {").indent().softNewLine();
+        writer.append("arr[i] = ").appendMethodBody(fromJsMethod).append("(" + obj + "[i], "
                 + type + ".$meta.item);").softNewLine();
         writer.outdent().append("}").softNewLine();
         writer.append("return arr;").softNewLine();
@@ -174,10 +174,11 @@ public class JavaScriptConvGenerator implements Generator {
         writer.outdent().append("} else if (" + type + " === $rt_booleancls()) {").indent().softNewLine();
         writer.append("return " + obj + "?1:0;").softNewLine();
 
-        writer.outdent().append("} else if (" + obj + " instanceof Array) {").indent().softNewLine();
+        writer.outdent().append("} else if (" + obj + " instanceof Array && !" + obj + ".constructor.$meta) {")
+                .indent().softNewLine();
         writer.append("var arr = $rt_createArray($rt_objcls(), " + obj + ".length);").softNewLine();
-        writer.append("for (var i = 0; i < arr.data.length; ++i) {").indent().softNewLine();
-        writer.append("arr.data[i] = ").appendMethodBody(fromJsMethod).append("(" + obj + "[i], $rt_objcls());")
+        writer.append("for (var i = 0; i < arr.length; ++i) {").indent().softNewLine();
+        writer.append("arr[i] = ").appendMethodBody(fromJsMethod).append("(" + obj + "[i], $rt_objcls());")
                 .softNewLine();
         writer.outdent().append("}").softNewLine();
         writer.append("return arr;").softNewLine();
@@ -203,7 +204,7 @@ public class JavaScriptConvGenerator implements Generator {
         FieldReference charsField = new FieldReference("java.lang.String", "characters");
         writer.append("var result = \"\";").softNewLine();
         writer.append("var data = ").append(context.getParameterName(1)).append('.')
-                .appendField(charsField).append(".data;").softNewLine();
+                .appendField(charsField).append(";").softNewLine();
         writer.append("for (var i = 0; i < data.length; i = (i + 1) | 0) {").indent().softNewLine();
         writer.append("result += String.fromCharCode(data[i]);").softNewLine();
         writer.outdent().append("}").softNewLine();
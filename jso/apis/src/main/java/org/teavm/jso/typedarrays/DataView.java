@@ -15,7 +15,9 @@
  */
 package org.teavm.jso.typedarrays;
 
+import java.nio.ByteBuffer;
 import org.teavm.jso.JSBody;
+import org.teavm.jso.JSByRef;
 
 public abstract class DataView extends ArrayBufferView {
     public abstract byte getInt8(int byteOffset);
@@ -79,4 +81,16 @@ public abstract class DataView extends ArrayBufferView {
 
     @JSBody(params = {"buffer", "offset", "length"}, script = "return new DataView(buffer, offset, length);")
     public static native DataView create(ArrayBuffer buffer, int offset, int length);
+
+    /**
+     * Creates a view over remaining bytes of the given buffer without copying them.
+     * Changes made through the view are visible in the buffer and vice versa.
+     */
+    public static DataView create(ByteBuffer buffer) {
+        return createView(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+    }
+
+    @JSBody(params = { "array", "offset", "length" }, script = ""
+            + "return new DataView(array.buffer, array.byteOffset + offset, length);")
+    private static native DataView createView(@JSByRef byte[] array, int offset, int length);
 }
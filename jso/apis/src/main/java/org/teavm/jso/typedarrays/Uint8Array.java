@@ -15,7 +15,9 @@
  */
 package org.teavm.jso.typedarrays;
 
+import java.nio.ByteBuffer;
 import org.teavm.jso.JSBody;
+import org.teavm.jso.JSByRef;
 import org.teavm.jso.JSIndexer;
 
 public abstract class Uint8Array extends ArrayBufferView {
@@ -33,4 +35,16 @@ public abstract class Uint8Array extends ArrayBufferView {
 
     @JSBody(params = { "buffer", "offset", "length" }, script = "return new Uint8Array(buffer, offset, length);")
     public static native Uint8Array create(ArrayBuffer buffer, int offset, int length);
+
+    /**
+     * Creates a view over remaining bytes of the given buffer without copying them.
+     * Changes made through the view are visible in the buffer and vice versa.
+     */
+    public static Uint8Array create(ByteBuffer buffer) {
+        return createView(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+    }
+
+    @JSBody(params = { "array", "offset", "length" }, script = ""
+            + "return new Uint8Array(array.buffer, array.byteOffset + offset, length);")
+    private static native Uint8Array createView(@JSByRef byte[] array, int offset, int length);
 }
@@ -73,8 +73,7 @@ public class JSNativeGenerator implements Injector, DependencyPlugin, Generator
         SourceWriter writer = context.getWriter();
         switch (methodRef.getName()) {
             case "arrayData":
-                context.writeExpr(context.getArgument(0));
-                writer.append(".data");
+                context.writeExpr(context.getArgument(0), context.getPrecedence());
                 break;
             case "get":
                 context.writeExpr(context.getArgument(0), Precedence.MEMBER_ACCESS);
@@ -34,12 +34,21 @@ class JSTypeHelper {
     }
 
     public boolean isJavaScriptClass(String className) {
-        return knownJavaScriptClasses.computeIfAbsent(className, k -> examineIfJavaScriptClass(className));
+        Boolean known = knownJavaScriptClasses.get(className);
+        if (known == null) {
+            known = examineIfJavaScriptClass(className);
+            knownJavaScriptClasses.put(className, known);
+        }
+        return known;
     }
 
     public boolean isJavaScriptImplementation(String className) {
-        return knownJavaScriptImplementations
-                .computeIfAbsent(className, k -> examineIfJavaScriptImplementation(className));
+        Boolean known = knownJavaScriptImplementations.get(className);
+        if (known == null) {
+            known = examineIfJavaScriptImplementation(className);
+            knownJavaScriptImplementations.put(className, known);
+        }
+        return known;
     }
 
     private boolean examineIfJavaScriptClass(String className) {
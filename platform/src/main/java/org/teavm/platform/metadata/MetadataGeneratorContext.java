@@ -89,4 +89,13 @@ public interface MetadataGeneratorContext extends ServiceRepository {
      * @return a new resource.
      */
     <T extends Resource> ResourceMap<T> createResourceMap();
+
+    /**
+     * Creates a new resource map, which values are not built until the first access at run time.
+     * This is useful for maps that hold large data for many keys, while a program usually needs
+     * only few of them (for example, per-locale data).
+     *
+     * @return a new resource.
+     */
+    <T extends Resource> ResourceMap<T> createLazyResourceMap();
 }
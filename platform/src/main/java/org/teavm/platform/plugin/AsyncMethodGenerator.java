@@ -45,6 +45,18 @@ public class AsyncMethodGenerator implements Generator, DependencyPlugin {
         MethodReference asyncRef = getAsyncReference(methodRef);
         writer.append("var thread").ws().append('=').ws().append("$rt_nativeThread();").softNewLine();
         writer.append("var javaThread").ws().append('=').ws().append("$rt_getThread();").softNewLine();
+        if (context.isAsyncGenerators()) {
+            generateCallback(writer);
+            writer.append("yield function()").ws().append("{").indent().softNewLine();
+            generateAsyncCall(context, writer, methodRef, asyncRef);
+            writer.outdent().append("};").softNewLine();
+            writer.append("var result").ws().append("=").ws().append("thread.attribute;").softNewLine();
+            writer.append("if").ws().append("(result instanceof Error)").ws().append("{").indent().softNewLine();
+            writer.append("throw result;").softNewLine();
+            writer.outdent().append("}").softNewLine();
+            writer.append("return result;").softNewLine();
+            return;
+        }
         writer.append("if").ws().append("(thread.isResuming())").ws().append("{").indent().softNewLine();
         writer.append("thread.status").ws().append("=").ws().append("0;").softNewLine();
         writer.append("var result").ws().append("=").ws().append("thread.attribute;").softNewLine();
@@ -54,6 +66,13 @@ public class AsyncMethodGenerator implements Generator, DependencyPlugin {
         writer.append("return result;").softNewLine();
         writer.outdent().append("}").softNewLine();
 
+        generateCallback(writer);
+        writer.append("return thread.suspend(function()").ws().append("{").indent().softNewLine();
+        generateAsyncCall(context, writer, methodRef, asyncRef);
+        writer.outdent().append("});").softNewLine();
+    }
+
+    private void generateCallback(SourceWriter writer) throws IOException {
         writer.append("var callback").ws().append("=").ws().append("function()").ws().append("{};").softNewLine();
         writer.append("callback.").appendMethod(completeMethod.getDescriptor()).ws().append("=").ws()
                 .append("function(val)").ws().append("{").indent().softNewLine();
@@ -69,7 +88,10 @@ public class AsyncMethodGenerator implements Generator, DependencyPlugin {
         writer.outdent().append("};").softNewLine();
         writer.append("callback").ws().append("=").ws().appendMethodBody(AsyncCallbackWrapper.class, "create",
                 AsyncCallback.class, AsyncCallbackWrapper.class).append("(callback);").softNewLine();
-        writer.append("return thread.suspend(function()").ws().append("{").indent().softNewLine();
+    }
+
+    private void generateAsyncCall(GeneratorContext context, SourceWriter writer, MethodReference methodRef,
+            MethodReference asyncRef) throws IOException {
         writer.append("try").ws().append("{").indent().softNewLine();
         writer.appendMethodBody(asyncRef).append('(');
         ClassReader cls = context.getClassSource().get(methodRef.getClassName());
@@ -84,7 +106,6 @@ public class AsyncMethodGenerator implements Generator, DependencyPlugin {
         writer.append("callback.").appendMethod(errorMethod.getDescriptor()).append("($rt_exception($e));")
                 .softNewLine();
         writer.outdent().append("}").softNewLine();
-        writer.outdent().append("});").softNewLine();
     }
 
     private MethodReference getAsyncReference(MethodReference methodRef) {
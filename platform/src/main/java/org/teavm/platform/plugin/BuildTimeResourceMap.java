@@ -28,6 +28,11 @@ import org.teavm.platform.metadata.ResourceMap;
  */
 class BuildTimeResourceMap<T extends Resource> implements ResourceMap<T>, ResourceWriter {
     private Map<String, T> data = new HashMap<>();
+    private boolean lazy;
+
+    BuildTimeResourceMap(boolean lazy) {
+        this.lazy = lazy;
+    }
 
     @Override
     public boolean has(String key) {
@@ -53,13 +58,33 @@ class BuildTimeResourceMap<T extends Resource> implements ResourceMap<T>, Resour
                 writer.append(",").ws();
             }
             first = false;
-            ResourceWriterHelper.writeString(writer, entry.getKey());
-            writer.ws().append(':').ws();
-            ResourceWriterHelper.write(writer, entry.getValue());
+            if (lazy) {
+                writeLazyEntry(writer, entry.getKey(), entry.getValue());
+            } else {
+                ResourceWriterHelper.writeString(writer, entry.getKey());
+                writer.ws().append(':').ws();
+                ResourceWriterHelper.write(writer, entry.getValue());
+            }
         }
         writer.append('}').tokenBoundary();
     }
 
+    // Emits a getter that builds the value on first access and then replaces itself with plain property
+    private static void writeLazyEntry(SourceWriter writer, String key, Object value) throws IOException {
+        writer.append("get ");
+        ResourceWriterHelper.writeString(writer, key);
+        writer.append("()").ws().append('{').indent().softNewLine();
+        writer.append("var v").ws().append('=').ws();
+        ResourceWriterHelper.write(writer, value);
+        writer.append(';').softNewLine();
+        writer.append("Object.defineProperty(this,").ws();
+        ResourceWriterHelper.writeString(writer, key);
+        writer.append(',').ws().append("{").ws().append("value").ws().append(':').ws().append("v").ws().append("});")
+                .softNewLine();
+        writer.append("return v;").softNewLine();
+        writer.outdent().append('}');
+    }
+
     @Override
     public String[] keys() {
         return data.keySet().toArray(new String[data.size()]);
@@ -80,7 +80,12 @@ class DefaultMetadataGeneratorContext implements MetadataGeneratorContext {
 
     @Override
     public <T extends Resource> ResourceMap<T> createResourceMap() {
-        return new BuildTimeResourceMap<>();
+        return new BuildTimeResourceMap<>(false);
+    }
+
+    @Override
+    public <T extends Resource> ResourceMap<T> createLazyResourceMap() {
+        return new BuildTimeResourceMap<>(true);
     }
 
     @Override
@@ -122,6 +122,25 @@ public class PlatformGenerator implements Generator, Injector, DependencyPlugin
     private void generateNewInstance(GeneratorContext context, SourceWriter writer) throws IOException {
         String cls = context.getParameterName(1);
 
+        if (context.isAsyncGenerators()) {
+            writer.append("if").ws().append("(!").append(cls).append(".hasOwnProperty('$$constructor$$'))")
+                    .ws().append("{").indent().softNewLine();
+            writer.append("return null;").softNewLine();
+            writer.outdent().append("}").softNewLine();
+            writer.append("var $r").ws().append('=').ws().append("new ").append(cls).append("();").softNewLine();
+            if (context.isAsync()) {
+                writer.append("var $c").ws().append('=').ws().append(cls).append(".$$constructor$$($r);")
+                        .softNewLine();
+                writer.append("if").ws().append("($rt_isGenerator($c))").ws().append("{").indent().softNewLine();
+                writer.append("yield* $c;").softNewLine();
+                writer.outdent().append("}").softNewLine();
+            } else {
+                writer.append(cls).append(".$$constructor$$($r);").softNewLine();
+            }
+            writer.append("return $r;").softNewLine();
+            return;
+        }
+
         writer.append("if").ws().append("($rt_resuming())").ws().append("{").indent().softNewLine();
         writer.append("var $r = $rt_nativeThread().pop();").softNewLine();
         writer.append(cls + ".$$constructor$$($r);").softNewLine();
@@ -157,6 +176,10 @@ public class PlatformGenerator implements Generator, Injector, DependencyPlugin
 
     private void generateClone(GeneratorContext context, SourceWriter writer) throws IOException {
         String obj = context.getParameterName(1);
+        writer.append("if").ws().append("(" + obj + ".constructor.$meta.item)").ws().append("{").softNewLine()
+                .indent();
+        writer.append("return $rt_cloneArray(" + obj + ");").softNewLine();
+        writer.outdent().append("}").softNewLine();
         writer.append("var copy").ws().append("=").ws().append("new ").append(obj).append(".constructor();")
                 .softNewLine();
         writer.append("for").ws().append("(var field in " + obj + ")").ws().append("{").softNewLine().indent();
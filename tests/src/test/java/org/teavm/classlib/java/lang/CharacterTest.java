@@ -39,4 +39,16 @@ public class CharacterTest {
         assertEquals(Character.NON_SPACING_MARK, Character.getType(0xFE25));
         assertEquals(Character.DECIMAL_DIGIT_NUMBER, Character.getType(0x1D7D9));
     }
+
+    @Test
+    public void caseMapped() {
+        assertEquals('a', Character.toLowerCase('A'));
+        assertEquals('\u00E9', Character.toLowerCase('\u00C9'));
+        assertEquals('\u00DF', Character.toUpperCase('\u00DF'));
+        assertEquals('\u0178', Character.toUpperCase('\u00FF'));
+        assertEquals('\u0434', Character.toLowerCase('\u0414'));
+        assertEquals('I', Character.toUpperCase('\u0131'));
+        assertEquals(0x10428, Character.toLowerCase(0x10400));
+        assertEquals('1', Character.toUpperCase('1'));
+    }
 }
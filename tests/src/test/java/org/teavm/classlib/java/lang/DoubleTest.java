@@ -35,6 +35,25 @@ public class DoubleTest {
         assertEquals(23, Double.parseDouble("2300000000000000000000e-20"), 1E-12);
     }
 
+    @Test
+    public void parsedWithCorrectRounding() {
+        assertEquals(0x3FB999999999999AL, Double.doubleToLongBits(Double.parseDouble("0.1")));
+        assertEquals(0x44B52D02C7E14AF6L, Double.doubleToLongBits(Double.parseDouble("1e23")));
+        assertEquals(Double.MAX_VALUE, Double.parseDouble("1.7976931348623157e308"), 0);
+        assertEquals(Double.POSITIVE_INFINITY, Double.parseDouble("1.7976931348623159e308"), 0);
+        assertEquals(Double.MIN_VALUE, Double.parseDouble("4.9e-324"), 0);
+        assertEquals(Double.MIN_VALUE, Double.parseDouble("2.4703282292062328e-324"), 0);
+        assertEquals(0, Double.parseDouble("2.4703282292062327e-324"), 0);
+        assertEquals(1.0, Double.parseDouble("1.00000000000000011102230246251565404236316680908203125"), 0);
+        assertEquals(Math.nextUp(1.0),
+                Double.parseDouble("1.00000000000000011102230246251565404236316680908203126"), 0);
+        assertEquals(9007199254740992.0, Double.parseDouble("9007199254740993"), 0);
+        assertEquals(1.5, Double.parseDouble(" +1.5d "), 0);
+        assertEquals(0.5, Double.parseDouble(".5"), 0);
+        assertEquals(Double.NEGATIVE_INFINITY, Double.parseDouble("-Infinity"), 0);
+        assertTrue(Double.isNaN(Double.parseDouble("NaN")));
+    }
+
     @Test
     public void negativeParsed() {
         assertEquals(-23, Double.parseDouble("-23"), 1E-12);
@@ -55,7 +74,13 @@ public class DoubleTest {
 
     @Test
     public void longBitsExtracted2() {
-        assertEquals(0x3FE1C28F5C28F5C3L >>> 3, Double.doubleToLongBits(0.555) >>> 3);
+        assertEquals(0x3FE1C28F5C28F5C3L, Double.doubleToLongBits(0.555));
+    }
+
+    @Test
+    public void oddMantissaLongBitsExtracted() {
+        assertEquals(0x0807060504030201L, Double.doubleToLongBits(Double.longBitsToDouble(0x0807060504030201L)));
+        assertEquals(0x3FF0000000000001L, Double.doubleToLongBits(1 + Math.ulp(1.0)));
     }
 
     @Test
@@ -30,6 +30,10 @@ public class EnumTest {
         D, E
     }
 
+    private enum Colliding {
+        Aa, BB
+    }
+
     @Test
     public void sameConstantsAreEqual() {
         assertEquals(Foo.A, Foo.A);
@@ -69,4 +73,15 @@ public class EnumTest {
     public void valueOfReturnsConstant() {
         assertEquals("A", Enum.valueOf(Foo.class, "A").name());
     }
+
+    @Test
+    public void valueOfDistinguishesNamesWithSameHashCode() {
+        assertEquals(Colliding.Aa, Enum.valueOf(Colliding.class, "Aa"));
+        assertEquals(Colliding.BB, Enum.valueOf(Colliding.class, "BB"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void valueOfFailsForUnknownName() {
+        Enum.valueOf(Foo.class, "D");
+    }
 }
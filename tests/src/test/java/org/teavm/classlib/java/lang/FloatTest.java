@@ -58,6 +58,12 @@ public class FloatTest {
         assertEquals(0x800000, Float.floatToIntBits((float)Math.pow(2, -126)));
     }
 
+    @Test
+    public void oddMantissaFloatBitsExtracted() {
+        assertEquals(0x08070605, Float.floatToIntBits(Float.intBitsToFloat(0x08070605)));
+        assertEquals(0x3F800001, Float.floatToIntBits(1 + Math.ulp(1.0f)));
+    }
+
     @Test
     public void subNormalFloatBitsExtracted() {
         assertEquals(0x000092, Float.floatToIntBits(0x0.000123p-126f));
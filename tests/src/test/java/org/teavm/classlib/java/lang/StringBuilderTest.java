@@ -18,6 +18,7 @@ package org.teavm.classlib.java.lang;
 import static org.junit.Assert.assertEquals;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.teavm.junit.SkipJVM;
 import org.teavm.junit.TeaVMTestRunner;
 
 @RunWith(TeaVMTestRunner.class)
@@ -255,6 +256,48 @@ public class StringBuilderTest {
         assertEquals("1.0E-12", sb.toString());
     }
 
+    @Test
+    @SkipJVM
+    public void shortestDoubleAppended() {
+        // JDK before 19 does not always choose the shortest representation, e.g. for 1e23
+        StringBuilder sb = new StringBuilder();
+        sb.append(0.1 + 0.2);
+        assertEquals("0.30000000000000004", sb.toString());
+        sb.setLength(0);
+        sb.append(1e23);
+        assertEquals("1.0E23", sb.toString());
+        sb.setLength(0);
+        sb.append(2e23);
+        assertEquals("2.0E23", sb.toString());
+        sb.setLength(0);
+        sb.append(9999999.0);
+        assertEquals("9999999.0", sb.toString());
+        sb.setLength(0);
+        sb.append(1e7);
+        assertEquals("1.0E7", sb.toString());
+        sb.setLength(0);
+        sb.append(0.002);
+        assertEquals("0.002", sb.toString());
+        sb.setLength(0);
+        sb.append(Double.MIN_VALUE);
+        assertEquals("4.9E-324", sb.toString());
+        sb.setLength(0);
+        sb.append(Double.MAX_VALUE);
+        assertEquals("1.7976931348623157E308", sb.toString());
+        sb.setLength(0);
+        sb.append(-0.0);
+        assertEquals("-0.0", sb.toString());
+        sb.setLength(0);
+        sb.append(Float.MAX_VALUE);
+        assertEquals("3.4028235E38", sb.toString());
+        sb.setLength(0);
+        sb.append(Float.MIN_VALUE);
+        assertEquals("1.4E-45", sb.toString());
+        sb.setLength(0);
+        sb.append(16777216f);
+        assertEquals("1.6777216E7", sb.toString());
+    }
+
     @Test
     public void negativeDoubleAppended() {
         StringBuilder sb = new StringBuilder();
@@ -285,4 +285,13 @@ public class StringTest {
     public void internsConstants() {
         assertSame("abc", ("a" + "bc").intern());
     }
+
+    @Test
+    public void internsStringsWithSameHashCode() {
+        String a = new String("Aa");
+        String b = new String("BB");
+        assertSame(a.intern(), new String("Aa").intern());
+        assertSame(b.intern(), new String("BB").intern());
+        assertNotSame(a.intern(), b.intern());
+    }
 }
@@ -44,6 +44,46 @@ public class SystemTest {
         assertEquals(25, dest[2]);
     }
 
+    @Test
+    public void copiesLargeOverlappingRanges() {
+        int[] array = new int[100];
+        for (int i = 0; i < array.length; ++i) {
+            array[i] = i;
+        }
+        System.arraycopy(array, 10, array, 20, 50);
+        assertEquals(19, array[19]);
+        assertEquals(10, array[20]);
+        assertEquals(59, array[69]);
+        assertEquals(70, array[70]);
+
+        System.arraycopy(array, 20, array, 0, 50);
+        assertEquals(10, array[0]);
+        assertEquals(59, array[49]);
+
+        String[] strings = new String[40];
+        for (int i = 0; i < strings.length; ++i) {
+            strings[i] = String.valueOf(i);
+        }
+        System.arraycopy(strings, 0, strings, 5, 30);
+        assertEquals("0", strings[5]);
+        assertEquals("29", strings[34]);
+        assertEquals("35", strings[35]);
+    }
+
+    @Test
+    public void copiesLargePrimitiveArray() {
+        short[] src = new short[64];
+        for (int i = 0; i < src.length; ++i) {
+            src[i] = (short) (i * 3);
+        }
+        short[] dest = new short[80];
+        System.arraycopy(src, 4, dest, 10, 60);
+        assertEquals(0, dest[9]);
+        assertEquals(12, dest[10]);
+        assertEquals(189, dest[69]);
+        assertEquals(0, dest[70]);
+    }
+
     @Test
     public void copiesToSubclassArray() {
         String[] src = { "foo", "bar", "baz" };
@@ -95,6 +135,11 @@ public class SystemTest {
         System.arraycopy(new Object[1], 0, new int[1], 0, 1);
     }
 
+    @Test(expected = ArrayStoreException.class)
+    public void failsToCopyBetweenDifferentPrimitiveArrays() {
+        System.arraycopy(new int[1], 0, new byte[1], 0, 1);
+    }
+
     @Test(expected = NullPointerException.class)
     public void failsToCopyFromNullSource() {
         System.arraycopy(null, 0, new int[1], 0, 1);
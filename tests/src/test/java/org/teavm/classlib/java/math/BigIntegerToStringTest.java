@@ -159,4 +159,25 @@ public class BigIntegerToStringTest {
         String result = aNumber.toString(radix);
         assertTrue(result.equals(value));
     }
+
+    /**
+     * test round trip of a long decimal number through arithmetic
+     */
+    @Test
+    public void testLongDecimalArithmetic() {
+        BigInteger factorial = BigInteger.ONE;
+        for (int i = 2; i <= 50; i++) {
+            factorial = factorial.multiply(BigInteger.valueOf(i));
+        }
+        String value = "30414093201713378043612608166064768844377641568960512000000000000";
+        assertEquals(value, factorial.toString());
+        assertEquals(factorial, new BigInteger(value));
+        assertEquals(factorial.negate(), new BigInteger("-" + value));
+        BigInteger divisor = new BigInteger("-1234567890123456789012345");
+        BigInteger[] qr = factorial.divideAndRemainder(divisor);
+        assertEquals(factorial, qr[0].multiply(divisor).add(qr[1]));
+        assertEquals(qr[0], factorial.divide(divisor));
+        assertEquals(qr[1], factorial.remainder(divisor));
+        assertEquals(factorial, new BigInteger(factorial.toString(16).toUpperCase(), 16));
+    }
 }
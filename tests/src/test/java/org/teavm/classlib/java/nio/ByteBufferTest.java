@@ -1,6 +1,7 @@
 package org.teavm.classlib.java.nio;
 
 import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import java.nio.*;
@@ -603,4 +604,94 @@ public class ByteBufferTest {
             // expected
         }
     }
+
+    @Test
+    public void putsFloatingPointValues() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putFloat(3.14159f);
+        buffer.putDouble(2.718281828459045);
+        assertThat(buffer.get(0), is((byte)0x40));
+        assertThat(buffer.get(1), is((byte)0x49));
+        assertThat(buffer.get(2), is((byte)0x0F));
+        assertThat(buffer.get(3), is((byte)0xD0));
+        assertThat(buffer.getFloat(0), is(3.14159f));
+        assertThat(buffer.getDouble(4), is(2.718281828459045));
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putFloat(0, 3.14159f);
+        assertThat(buffer.get(0), is((byte)0xD0));
+        assertThat(buffer.get(3), is((byte)0x40));
+        buffer.rewind();
+        assertThat(buffer.asFloatBuffer().get(0), is(3.14159f));
+        try {
+            buffer.getDouble(10);
+            fail("Exception expected");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void getsMultiByteValuesInBothOrders() {
+        byte[] bytes = { 1, 2, 3, 4, 5, 6, 7, 8 };
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        assertThat(buffer.getInt(0), is(0x01020304));
+        assertThat(buffer.getInt(4), is(0x05060708));
+        assertThat(buffer.getLong(0), is(0x0102030405060708L));
+        assertThat(buffer.getDouble(0), is(Double.longBitsToDouble(0x0102030405060708L)));
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(buffer.getInt(0), is(0x04030201));
+        assertThat(buffer.getInt(4), is(0x08070605));
+        assertThat(buffer.getLong(0), is(0x0807060504030201L));
+        assertThat(buffer.getDouble(0), is(Double.longBitsToDouble(0x0807060504030201L)));
+    }
+
+    @Test
+    public void putsMultiByteValuesInBothOrders() {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        buffer.putLong(0, 0x0102030405060708L);
+        assertArrayEquals(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }, buffer.array());
+        buffer.putInt(4, 0x0A0B0C0D);
+        assertArrayEquals(new byte[] { 1, 2, 3, 4, 10, 11, 12, 13 }, buffer.array());
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putLong(0, 0x0102030405060708L);
+        assertArrayEquals(new byte[] { 8, 7, 6, 5, 4, 3, 2, 1 }, buffer.array());
+        buffer.putInt(0, 0x0A0B0C0D);
+        assertArrayEquals(new byte[] { 13, 12, 11, 10, 4, 3, 2, 1 }, buffer.array());
+        buffer.putDouble(0, 1.5);
+        assertThat(buffer.order(ByteOrder.BIG_ENDIAN).getLong(0), is(Long.reverseBytes(Double.doubleToLongBits(1.5))));
+    }
+
+    @Test
+    public void getsMultiByteValuesFromSlice() {
+        byte[] bytes = { 0, 0, 0, 1, 2, 3, 4, 5, 6, 7, 8 };
+        ByteBuffer slice = ByteBuffer.wrap(bytes, 3, 8).slice();
+        assertThat(slice.getInt(0), is(0x01020304));
+        assertThat(slice.getLong(0), is(0x0102030405060708L));
+        assertThat(slice.getDouble(0), is(Double.longBitsToDouble(0x0102030405060708L)));
+        slice.order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(slice.getInt(1), is(0x05040302));
+        assertThat(slice.getLong(0), is(0x0807060504030201L));
+
+        slice.putInt(0, 0x11223344);
+        assertThat(bytes[3], is((byte) 0x44));
+        assertThat(bytes[6], is((byte) 0x11));
+    }
+
+    @Test
+    public void getsMultiByteValuesFromWrappedArrayWithOffset() {
+        byte[] bytes = { 9, 9, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, 8);
+        assertThat(buffer.getInt(), is(0x01020304));
+        assertThat(buffer.getInt(2), is(0x01020304));
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(buffer.getInt(), is(0x08070605));
+        assertThat(buffer.getLong(2), is(0x0807060504030201L));
+        assertThat(buffer.getDouble(2), is(Double.longBitsToDouble(0x0807060504030201L)));
+
+        buffer.putLong(2, 0x0102030405060708L);
+        assertThat(bytes[0], is((byte) 9));
+        assertThat(bytes[2], is((byte) 8));
+        assertThat(bytes[9], is((byte) 1));
+        assertThat(bytes[10], is((byte) 9));
+    }
 }
@@ -0,0 +1,94 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.teavm.junit.TeaVMTestRunner;
+
+@RunWith(TeaVMTestRunner.class)
+public class DurationTest {
+    @Test
+    public void normalizesNanos() {
+        Duration duration = Duration.ofSeconds(3, -1);
+        assertEquals(2, duration.getSeconds());
+        assertEquals(999999999, duration.getNano());
+        assertEquals(-1, Duration.ofNanos(-1).getSeconds());
+        assertEquals(999999999, Duration.ofNanos(-1).getNano());
+        assertEquals(-1500, Duration.ofMillis(-1500).toMillis());
+        assertEquals(Duration.ofMinutes(90), Duration.ofHours(1).plusMinutes(30));
+        assertEquals(Duration.ofDays(1), Duration.of(24, ChronoUnit.HOURS));
+    }
+
+    @Test
+    public void parsesAndFormats() {
+        assertEquals("PT0S", Duration.ZERO.toString());
+        assertEquals("PT48H", Duration.ofDays(2).toString());
+        assertEquals("PT0.000000001S", Duration.ofNanos(1).toString());
+        assertEquals("PT-0.5S", Duration.ofMillis(-500).toString());
+        assertEquals("PT-1M-0.5S", Duration.ofMillis(-60500).toString());
+        assertEquals(Duration.ofSeconds(183900), Duration.parse("P2DT3H5M"));
+        assertEquals(Duration.ofSeconds(-7, -200000000), Duration.parse("-PT7.2S"));
+        assertEquals(Duration.ofMinutes(-54), Duration.parse("PT-1H+6M"));
+        for (String text : new String[] { "PT1H30M5.25S", "PT-0.001S", "PT-48H" }) {
+            assertEquals(text, Duration.parse(text).toString());
+        }
+        try {
+            Duration.parse("P1Y");
+            assertTrue(false);
+        } catch (DateTimeParseException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void computesArithmetic() {
+        Duration duration = Duration.ofSeconds(10, 500000000);
+        assertEquals(Duration.ofSeconds(31, 500000000), duration.multipliedBy(3));
+        assertEquals(Duration.ofSeconds(2, 100000000), duration.dividedBy(5));
+        assertEquals(Duration.ofSeconds(-10, -500000000), duration.negated());
+        assertEquals(duration, duration.negated().abs());
+        assertEquals(Duration.ofMillis(10499), duration.minusNanos(1000000));
+        assertTrue(duration.compareTo(Duration.ofSeconds(10)) > 0);
+        assertTrue(Duration.ofNanos(-1).isNegative());
+        assertTrue(Duration.ofSeconds(1).minusSeconds(1).isZero());
+        try {
+            Duration.ofSeconds(Long.MAX_VALUE).plusSeconds(1);
+            assertTrue(false);
+        } catch (ArithmeticException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void measuresBetweenTemporals() {
+        assertEquals(Duration.ofSeconds(3600, 1),
+                Duration.between(Instant.EPOCH, Instant.ofEpochSecond(3600, 1)));
+        assertEquals(Duration.ofMinutes(-90), Duration.between(LocalTime.of(12, 0), LocalTime.of(10, 30)));
+        LocalDateTime start = LocalDateTime.of(2017, 1, 1, 0, 0);
+        assertEquals(start.plusHours(36), start.plus(Duration.ofHours(36)));
+        assertEquals(start.minusNanos(1), start.minus(Duration.ofNanos(1)));
+        assertEquals(36, Duration.between(start, start.plusHours(36)).toHours());
+    }
+}
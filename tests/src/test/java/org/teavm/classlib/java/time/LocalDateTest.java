@@ -0,0 +1,88 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.teavm.junit.TeaVMTestRunner;
+
+@RunWith(TeaVMTestRunner.class)
+public class LocalDateTest {
+    @Test
+    public void convertsEpochDay() {
+        assertEquals(LocalDate.of(1970, 1, 1), LocalDate.ofEpochDay(0));
+        assertEquals(LocalDate.of(2000, 2, 29), LocalDate.ofEpochDay(11016));
+        assertEquals(-1000000, LocalDate.ofEpochDay(-1000000).toEpochDay());
+        assertEquals("-0005-01-01", LocalDate.of(-5, 1, 1).toString());
+        assertEquals("+12345-01-01", LocalDate.of(12345, 1, 1).toString());
+    }
+
+    @Test
+    public void parsesIsoText() {
+        assertEquals(LocalDate.of(2017, 4, 4), LocalDate.parse("2017-03-15").plusDays(20));
+        assertEquals(LocalDateTime.of(2017, 3, 15, 10, 15, 30, 123000000),
+                LocalDateTime.parse("2017-03-15T10:15:30.123"));
+        assertEquals(LocalTime.of(0, 1), LocalTime.parse("23:59").plusMinutes(2));
+        assertEquals(1500000000123L, Instant.parse("2017-07-14T02:40:00.123Z").toEpochMilli());
+        assertEquals("2017-03-15T10:15:30+01:00", ZonedDateTime.parse("2017-03-15T10:15:30+01:00").toString());
+    }
+
+    @Test
+    public void rejectsInvalidText() {
+        try {
+            LocalDate.parse("2017-02-30");
+            assertTrue(false);
+        } catch (DateTimeParseException e) {
+            // expected
+        }
+        try {
+            LocalDate.parse("2017-02-3x");
+            assertTrue(false);
+        } catch (DateTimeParseException e) {
+            assertEquals(8, e.getErrorIndex());
+        }
+    }
+
+    @Test
+    public void formatsPatterns() {
+        ZonedDateTime dateTime = ZonedDateTime.of(LocalDateTime.of(2017, 1, 1, 1, 2, 3, 456000000),
+                ZoneOffset.ofHours(-5));
+        assertEquals("01:02:03.456 -05:00", DateTimeFormatter.ofPattern("HH:mm:ss.SSS xxx").format(dateTime));
+        assertEquals(LocalDateTime.of(2017, 3, 15, 10, 15),
+                LocalDateTime.parse("201703151015", DateTimeFormatter.ofPattern("yyyyMMddHHmm")));
+        assertEquals(LocalDate.of(2017, 3, 15), LocalDate.parse("15/03/17", DateTimeFormatter.ofPattern("dd/MM/yy")));
+    }
+
+    @Test
+    public void computesAmounts() {
+        assertEquals("PT1H30M5S", Duration.parse("PT1H30M").plusSeconds(5).toString());
+        assertEquals("PT-1.5S", Duration.ofMillis(-1500).toString());
+        assertEquals("P1Y2M3D", Period.parse("P1Y2M3D").toString());
+        assertEquals(Period.of(1, 1, 1), LocalDate.of(2016, 2, 28).until(LocalDate.of(2017, 3, 29)));
+    }
+}
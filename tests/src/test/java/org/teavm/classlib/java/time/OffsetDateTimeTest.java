@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.teavm.junit.TeaVMTestRunner;
+
+@RunWith(TeaVMTestRunner.class)
+public class OffsetDateTimeTest {
+    @Test
+    public void convertsInstants() {
+        OffsetDateTime dateTime = OffsetDateTime.of(2017, 7, 14, 4, 40, 0, 0, ZoneOffset.ofHours(2));
+        assertEquals(1500000000L, dateTime.toEpochSecond());
+        assertEquals(Instant.parse("2017-07-14T02:40:00Z"), dateTime.toInstant());
+        assertEquals(dateTime, Instant.parse("2017-07-14T02:40:00Z").atOffset(ZoneOffset.ofHours(2)));
+        assertEquals(dateTime, OffsetDateTime.ofInstant(dateTime.toInstant(), ZoneId.of("Europe/Berlin")));
+        assertEquals(1500000000L, dateTime.getLong(ChronoField.INSTANT_SECONDS));
+        assertEquals(7200, dateTime.get(ChronoField.OFFSET_SECONDS));
+    }
+
+    @Test
+    public void changesOffset() {
+        OffsetDateTime dateTime = LocalDateTime.of(2017, 1, 1, 1, 30).atOffset(ZoneOffset.ofHours(3));
+        OffsetDateTime utc = dateTime.withOffsetSameInstant(ZoneOffset.UTC);
+        assertEquals(LocalDateTime.of(2016, 12, 31, 22, 30), utc.toLocalDateTime());
+        assertTrue(dateTime.isEqual(utc));
+        assertFalse(dateTime.equals(utc));
+        assertEquals(0, dateTime.compareTo(dateTime));
+        assertTrue(dateTime.compareTo(utc) > 0);
+
+        OffsetDateTime local = dateTime.withOffsetSameLocal(ZoneOffset.UTC);
+        assertEquals(dateTime.toLocalDateTime(), local.toLocalDateTime());
+        assertTrue(local.isAfter(dateTime));
+        assertTrue(dateTime.isBefore(local));
+        assertEquals(3, dateTime.until(local, ChronoUnit.HOURS));
+    }
+
+    @Test
+    public void convertsToZonedDateTime() {
+        OffsetDateTime dateTime = OffsetDateTime.of(2017, 10, 29, 0, 30, 0, 0, ZoneOffset.UTC);
+        ZonedDateTime zoned = dateTime.atZoneSameInstant(ZoneId.of("Europe/Berlin"));
+        assertEquals(LocalDateTime.of(2017, 10, 29, 2, 30), zoned.toLocalDateTime());
+        assertEquals(ZoneOffset.ofHours(2), zoned.getOffset());
+        assertEquals(dateTime.withOffsetSameInstant(ZoneOffset.ofHours(2)), zoned.toOffsetDateTime());
+        assertEquals(ZoneOffset.UTC, dateTime.toZonedDateTime().getZone());
+    }
+
+    @Test
+    public void addsAmounts() {
+        OffsetDateTime dateTime = OffsetDateTime.of(2016, 1, 31, 23, 0, 0, 0, ZoneOffset.ofHours(-5));
+        assertEquals(OffsetDateTime.of(2016, 2, 29, 23, 0, 0, 0, ZoneOffset.ofHours(-5)), dateTime.plusMonths(1));
+        assertEquals(OffsetDateTime.of(2016, 2, 1, 1, 0, 0, 0, ZoneOffset.ofHours(-5)), dateTime.plusHours(2));
+        assertEquals(dateTime, dateTime.plusHours(2).minus(2, ChronoUnit.HOURS));
+        assertEquals(OffsetDateTime.of(2016, 1, 31, 0, 0, 0, 0, ZoneOffset.ofHours(-5)),
+                dateTime.truncatedTo(ChronoUnit.DAYS));
+    }
+
+    @Test
+    public void parsesAndFormats() {
+        OffsetDateTime dateTime = OffsetDateTime.parse("2017-03-15T10:15:30.5-07:30");
+        assertEquals(LocalDateTime.of(2017, 3, 15, 10, 15, 30, 500000000), dateTime.toLocalDateTime());
+        assertEquals(ZoneOffset.ofHoursMinutes(-7, -30), dateTime.getOffset());
+        assertEquals("2017-03-15T10:15:30.500-07:30", dateTime.toString());
+        assertEquals("2017-03-15T10:15:30Z", OffsetDateTime.parse("2017-03-15T10:15:30Z").toString());
+        assertEquals(dateTime, OffsetDateTime.parse(dateTime.toString()));
+        assertEquals(dateTime, OffsetDateTime.from(ZonedDateTime.parse("2017-03-15T10:15:30.5-07:30")));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.teavm.junit.TeaVMTestRunner;
+
+@RunWith(TeaVMTestRunner.class)
+public class PeriodTest {
+    @Test
+    public void parsesAndFormats() {
+        assertEquals("P0D", Period.ZERO.toString());
+        assertEquals("P14D", Period.ofWeeks(2).toString());
+        assertEquals("P-1Y2M", Period.of(-1, 2, 0).toString());
+        assertEquals(Period.of(1, 2, 17), Period.parse("P1Y2M2W3D"));
+        assertEquals(Period.of(-1, -2, -3), Period.parse("-P1Y2M3D"));
+        assertEquals(Period.ofDays(-5), Period.parse("P-5D"));
+        try {
+            Period.parse("P1H");
+            assertTrue(false);
+        } catch (DateTimeParseException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void normalizes() {
+        assertEquals(Period.of(2, 3, 40), Period.of(1, 15, 40).normalized());
+        assertEquals(Period.of(0, -11, 0), Period.of(1, -23, 0).normalized());
+        assertEquals(27, Period.of(2, 3, 40).toTotalMonths());
+        assertEquals(Period.of(2, 4, 6), Period.of(1, 2, 3).multipliedBy(2));
+        assertEquals(Period.of(-1, -2, -3), Period.of(1, 2, 3).negated());
+        assertEquals(Period.of(1, 3, 2), Period.of(1, 2, 3).plusMonths(1).minusDays(1));
+        assertTrue(Period.ofDays(-1).isNegative());
+        assertEquals(2, Period.of(1, 2, 3).get(ChronoUnit.MONTHS));
+    }
+
+    @Test
+    public void measuresBetweenDates() {
+        assertEquals(Period.of(0, 1, 1), Period.between(LocalDate.of(2017, 1, 31), LocalDate.of(2017, 3, 1)));
+        assertEquals(Period.of(0, 0, 29), Period.between(LocalDate.of(2016, 1, 31), LocalDate.of(2016, 2, 29)));
+        assertEquals(Period.of(-1, -1, -2), Period.between(LocalDate.of(2017, 3, 3), LocalDate.of(2016, 2, 1)));
+        assertEquals(Period.ZERO, Period.between(LocalDate.of(2017, 3, 3), LocalDate.of(2017, 3, 3)));
+    }
+
+    @Test
+    public void addsToDates() {
+        LocalDate date = LocalDate.of(2016, 1, 31);
+        assertEquals(LocalDate.of(2016, 2, 29), date.plus(Period.ofMonths(1)));
+        assertEquals(LocalDate.of(2017, 3, 1), date.plus(Period.of(1, 1, 1)));
+        assertEquals(LocalDate.of(2015, 2, 28), date.minus(Period.of(0, 11, 0)));
+        assertEquals(date, date.plus(Period.ofDays(10)).minus(Period.ofDays(10)));
+    }
+}
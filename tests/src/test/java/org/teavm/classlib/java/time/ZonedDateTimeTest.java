@@ -0,0 +1,117 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.teavm.junit.TeaVMTestRunner;
+
+@RunWith(TeaVMTestRunner.class)
+public class ZonedDateTimeTest {
+    private static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    @Test
+    public void convertsInstants() {
+        ZonedDateTime dateTime = Instant.parse("2017-07-14T02:40:00Z").atZone(BERLIN);
+        assertEquals(LocalDateTime.of(2017, 7, 14, 4, 40), dateTime.toLocalDateTime());
+        assertEquals(ZoneOffset.ofHours(2), dateTime.getOffset());
+        assertEquals("2017-07-14T04:40+02:00[Europe/Berlin]", dateTime.toString());
+        assertEquals(1500000000L, dateTime.toEpochSecond());
+
+        ZonedDateTime other = dateTime.withZoneSameInstant(NEW_YORK);
+        assertEquals(LocalDateTime.of(2017, 7, 13, 22, 40), other.toLocalDateTime());
+        assertTrue(dateTime.isEqual(other));
+        assertEquals(dateTime.toInstant(), other.toInstant());
+    }
+
+    @Test
+    public void movesLocalTimeForwardInGap() {
+        ZonedDateTime dateTime = ZonedDateTime.of(LocalDateTime.of(2017, 3, 26, 2, 30), BERLIN);
+        assertEquals(LocalDateTime.of(2017, 3, 26, 3, 30), dateTime.toLocalDateTime());
+        assertEquals(ZoneOffset.ofHours(2), dateTime.getOffset());
+
+        dateTime = ZonedDateTime.of(LocalDateTime.of(2017, 3, 12, 2, 15), NEW_YORK);
+        assertEquals(LocalDateTime.of(2017, 3, 12, 3, 15), dateTime.toLocalDateTime());
+        assertEquals(ZoneOffset.ofHours(-4), dateTime.getOffset());
+    }
+
+    @Test
+    public void choosesOffsetInOverlap() {
+        LocalDateTime local = LocalDateTime.of(2017, 10, 29, 2, 30);
+        ZonedDateTime earlier = ZonedDateTime.of(local, BERLIN);
+        assertEquals(ZoneOffset.ofHours(2), earlier.getOffset());
+        ZonedDateTime later = earlier.withLaterOffsetAtOverlap();
+        assertEquals(ZoneOffset.ofHours(1), later.getOffset());
+        assertEquals(local, later.toLocalDateTime());
+        assertEquals(Duration.ofHours(1), Duration.between(earlier, later));
+        assertEquals(earlier, later.withEarlierOffsetAtOverlap());
+        assertEquals(later, ZonedDateTime.ofLocal(local, BERLIN, ZoneOffset.ofHours(1)));
+        assertEquals(earlier, ZonedDateTime.ofLocal(local, BERLIN, ZoneOffset.ofHours(5)));
+
+        ZonedDateTime outside = ZonedDateTime.of(LocalDateTime.of(2017, 10, 28, 2, 30), BERLIN);
+        assertSame(outside, outside.withLaterOffsetAtOverlap());
+    }
+
+    @Test
+    public void addsAcrossTransitions() {
+        ZonedDateTime beforeGap = ZonedDateTime.of(LocalDateTime.of(2017, 3, 26, 1, 30), BERLIN);
+        assertEquals(LocalDateTime.of(2017, 3, 26, 3, 30), beforeGap.plusHours(1).toLocalDateTime());
+        assertEquals(LocalDateTime.of(2017, 3, 27, 1, 30), beforeGap.plusDays(1).toLocalDateTime());
+        assertEquals(23, beforeGap.until(beforeGap.plusDays(1), ChronoUnit.HOURS));
+
+        ZonedDateTime beforeOverlap = ZonedDateTime.of(LocalDateTime.of(2017, 10, 29, 1, 30), BERLIN);
+        ZonedDateTime inOverlap = beforeOverlap.plusHours(2);
+        assertEquals(LocalDateTime.of(2017, 10, 29, 2, 30), inOverlap.toLocalDateTime());
+        assertEquals(ZoneOffset.ofHours(1), inOverlap.getOffset());
+        assertEquals(ZoneOffset.ofHours(2), beforeOverlap.plusHours(1).getOffset());
+        assertEquals(25, beforeOverlap.until(beforeOverlap.plusDays(1), ChronoUnit.HOURS));
+        assertEquals(1, beforeOverlap.until(beforeOverlap.plusDays(1), ChronoUnit.DAYS));
+        assertEquals(beforeOverlap, inOverlap.minusHours(2));
+    }
+
+    @Test
+    public void validatesStrictOffset() {
+        LocalDateTime local = LocalDateTime.of(2017, 7, 1, 12, 0);
+        assertEquals(ZoneOffset.ofHours(2), ZonedDateTime.ofStrict(local, ZoneOffset.ofHours(2), BERLIN).getOffset());
+        try {
+            ZonedDateTime.ofStrict(local, ZoneOffset.ofHours(1), BERLIN);
+            assertTrue(false);
+        } catch (DateTimeException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void parsesRegionIds() {
+        ZonedDateTime dateTime = ZonedDateTime.parse("2017-10-29T02:30+01:00[Europe/Berlin]");
+        assertEquals(BERLIN, dateTime.getZone());
+        assertEquals(ZoneOffset.ofHours(1), dateTime.getOffset());
+        assertEquals("2017-10-29T02:30+01:00[Europe/Berlin]", dateTime.toString());
+        assertEquals(dateTime, ZonedDateTime.parse(dateTime.toString()));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.format;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQuery;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.teavm.junit.TeaVMTestRunner;
+
+@RunWith(TeaVMTestRunner.class)
+public class DateTimeFormatterTest {
+    @Test
+    public void roundTripsIsoFormats() {
+        LocalDateTime local = LocalDateTime.of(2017, 3, 5, 7, 8, 9, 10000000);
+        checkRoundTrip(DateTimeFormatter.ISO_LOCAL_DATE, "2017-03-05", local.toLocalDate(), LocalDate::from);
+        checkRoundTrip(DateTimeFormatter.ISO_LOCAL_TIME, "07:08:09.01", local.toLocalTime(), LocalTime::from);
+        checkRoundTrip(DateTimeFormatter.ISO_LOCAL_DATE_TIME, "2017-03-05T07:08:09.01", local,
+                LocalDateTime::from);
+        checkRoundTrip(DateTimeFormatter.BASIC_ISO_DATE, "20170305", local.toLocalDate(), LocalDate::from);
+
+        OffsetDateTime offset = local.atOffset(ZoneOffset.ofHoursMinutes(5, 45));
+        checkRoundTrip(DateTimeFormatter.ISO_OFFSET_DATE_TIME, "2017-03-05T07:08:09.01+05:45", offset,
+                OffsetDateTime::from);
+
+        ZonedDateTime zoned = local.atZone(ZoneId.of("America/New_York"));
+        checkRoundTrip(DateTimeFormatter.ISO_ZONED_DATE_TIME, "2017-03-05T07:08:09.01-05:00[America/New_York]",
+                zoned, ZonedDateTime::from);
+        checkRoundTrip(DateTimeFormatter.ISO_INSTANT, "2017-03-05T12:08:09.010Z", zoned.toInstant(),
+                Instant::from);
+    }
+
+    @Test
+    public void roundTripsPatterns() {
+        LocalDateTime local = LocalDateTime.of(2017, 11, 5, 13, 4, 5);
+        checkRoundTrip(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss"), "05.11.2017 13:04:05", local,
+                LocalDateTime::from);
+        checkRoundTrip(DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss"), "20171105T130405", local,
+                LocalDateTime::from);
+        checkRoundTrip(DateTimeFormatter.ofPattern("d/M/uuuu"), "5/11/2017", local.toLocalDate(),
+                LocalDate::from);
+        checkRoundTrip(DateTimeFormatter.ofPattern("HH:mm:ss.SSS"), "13:04:05.000", local.toLocalTime(),
+                LocalTime::from);
+
+        ZonedDateTime zoned = local.withSecond(0).atZone(ZoneId.of("America/New_York"));
+        checkRoundTrip(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm xxx"), "2017-11-05 13:04 -05:00",
+                zoned.toOffsetDateTime(), OffsetDateTime::from);
+        checkRoundTrip(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm VV"), "2017-11-05 13:04 America/New_York",
+                zoned, ZonedDateTime::from);
+    }
+
+    @Test
+    public void parsesOverlapWithOffset() {
+        DateTimeFormatter formatter = DateTimeFormatter.ISO_ZONED_DATE_TIME;
+        ZonedDateTime earlier = ZonedDateTime.parse("2017-11-05T01:30-04:00[America/New_York]", formatter);
+        ZonedDateTime later = ZonedDateTime.parse("2017-11-05T01:30-05:00[America/New_York]", formatter);
+        assertEquals(earlier.toLocalDateTime(), later.toLocalDateTime());
+        assertEquals(3600, later.toEpochSecond() - earlier.toEpochSecond());
+        assertEquals("2017-11-05T01:30:00-05:00[America/New_York]", formatter.format(later));
+    }
+
+    @Test
+    public void reportsParseErrorPosition() {
+        try {
+            LocalDateTime.parse("2017-03-05 07:08", DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+            assertTrue(false);
+        } catch (DateTimeParseException e) {
+            assertEquals(10, e.getErrorIndex());
+            assertEquals("2017-03-05 07:08", e.getParsedString());
+        }
+        try {
+            OffsetDateTime.parse("2017-03-05T07:08");
+            assertTrue(false);
+        } catch (DateTimeParseException e) {
+            assertEquals(16, e.getErrorIndex());
+        }
+    }
+
+    private static <T extends TemporalAccessor> void checkRoundTrip(DateTimeFormatter formatter, String text,
+            T value, TemporalQuery<T> query) {
+        assertEquals(text, formatter.format(value));
+        assertEquals(value, formatter.parse(text, query));
+    }
+}
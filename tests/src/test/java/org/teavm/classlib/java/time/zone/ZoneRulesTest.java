@@ -0,0 +1,110 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.time.zone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.teavm.junit.TeaVMTestRunner;
+
+@RunWith(TeaVMTestRunner.class)
+public class ZoneRulesTest {
+    private static final ZoneOffset CET = ZoneOffset.ofHours(1);
+    private static final ZoneOffset CEST = ZoneOffset.ofHours(2);
+    private static final ZoneOffset EST = ZoneOffset.ofHours(-5);
+    private static final ZoneOffset EDT = ZoneOffset.ofHours(-4);
+
+    @Test
+    public void offsetChangesAtTransitionInstant() {
+        ZoneRules rules = ZoneId.of("Europe/Berlin").getRules();
+        Instant springForward = Instant.parse("2017-03-26T01:00:00Z");
+        assertEquals(CET, rules.getOffset(springForward.minusSeconds(1)));
+        assertEquals(CEST, rules.getOffset(springForward));
+        Instant fallBack = Instant.parse("2017-10-29T01:00:00Z");
+        assertEquals(CEST, rules.getOffset(fallBack.minusSeconds(1)));
+        assertEquals(CET, rules.getOffset(fallBack));
+
+        rules = ZoneId.of("America/New_York").getRules();
+        springForward = Instant.parse("2017-03-12T07:00:00Z");
+        assertEquals(EST, rules.getOffset(springForward.minusSeconds(1)));
+        assertEquals(EDT, rules.getOffset(springForward));
+    }
+
+    @Test
+    public void noValidOffsetsInGap() {
+        ZoneRules rules = ZoneId.of("Europe/Berlin").getRules();
+        assertEquals(Collections.singletonList(CET), rules.getValidOffsets(LocalDateTime.of(2017, 3, 26, 1, 59)));
+        assertEquals(Collections.emptyList(), rules.getValidOffsets(LocalDateTime.of(2017, 3, 26, 2, 0)));
+        assertEquals(Collections.emptyList(), rules.getValidOffsets(LocalDateTime.of(2017, 3, 26, 2, 59, 59)));
+        assertEquals(Collections.singletonList(CEST), rules.getValidOffsets(LocalDateTime.of(2017, 3, 26, 3, 0)));
+        assertEquals(CET, rules.getOffset(LocalDateTime.of(2017, 3, 26, 2, 30)));
+        assertFalse(rules.isValidOffset(LocalDateTime.of(2017, 3, 26, 2, 30), CET));
+        assertFalse(rules.isValidOffset(LocalDateTime.of(2017, 3, 26, 2, 30), CEST));
+
+        rules = ZoneId.of("America/New_York").getRules();
+        assertEquals(Collections.emptyList(), rules.getValidOffsets(LocalDateTime.of(2017, 3, 12, 2, 30)));
+        assertEquals(EST, rules.getOffset(LocalDateTime.of(2017, 3, 12, 2, 30)));
+    }
+
+    @Test
+    public void twoValidOffsetsInOverlap() {
+        ZoneRules rules = ZoneId.of("Europe/Berlin").getRules();
+        assertEquals(Collections.singletonList(CEST), rules.getValidOffsets(LocalDateTime.of(2017, 10, 29, 1, 59)));
+        assertEquals(Arrays.asList(CEST, CET), rules.getValidOffsets(LocalDateTime.of(2017, 10, 29, 2, 0)));
+        assertEquals(Arrays.asList(CEST, CET), rules.getValidOffsets(LocalDateTime.of(2017, 10, 29, 2, 59)));
+        assertEquals(Collections.singletonList(CET), rules.getValidOffsets(LocalDateTime.of(2017, 10, 29, 3, 0)));
+        assertEquals(CEST, rules.getOffset(LocalDateTime.of(2017, 10, 29, 2, 30)));
+        assertTrue(rules.isValidOffset(LocalDateTime.of(2017, 10, 29, 2, 30), CET));
+        assertTrue(rules.isValidOffset(LocalDateTime.of(2017, 10, 29, 2, 30), CEST));
+
+        rules = ZoneId.of("America/New_York").getRules();
+        assertEquals(Arrays.asList(EDT, EST), rules.getValidOffsets(LocalDateTime.of(2017, 11, 5, 1, 30)));
+        assertEquals(EDT, rules.getOffset(LocalDateTime.of(2017, 11, 5, 1, 30)));
+    }
+
+    @Test
+    public void reportsDaylightSavings() {
+        ZoneRules rules = ZoneId.of("Europe/Berlin").getRules();
+        Instant winter = Instant.parse("2017-01-15T12:00:00Z");
+        Instant summer = Instant.parse("2017-07-15T12:00:00Z");
+        assertFalse(rules.isDaylightSavings(winter));
+        assertTrue(rules.isDaylightSavings(summer));
+        assertEquals(CET, rules.getStandardOffset(summer));
+        assertEquals(Duration.ZERO, rules.getDaylightSavings(winter));
+        assertEquals(Duration.ofHours(1), rules.getDaylightSavings(summer));
+    }
+
+    @Test
+    public void fixedOffsetRules() {
+        ZoneRules rules = ZoneOffset.ofHoursMinutes(5, 30).getRules();
+        assertTrue(rules.isFixedOffset());
+        assertEquals(ZoneOffset.ofHoursMinutes(5, 30), rules.getOffset(Instant.EPOCH));
+        assertEquals(Collections.singletonList(ZoneOffset.ofHoursMinutes(5, 30)),
+                rules.getValidOffsets(LocalDateTime.of(2017, 3, 26, 2, 30)));
+        assertFalse(rules.isDaylightSavings(Instant.EPOCH));
+        assertFalse(ZoneId.of("Europe/Berlin").getRules().isFixedOffset());
+    }
+}
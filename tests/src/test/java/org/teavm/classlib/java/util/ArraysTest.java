@@ -63,4 +63,51 @@ public class ArraysTest {
         array[3] = array;
         assertEquals("[1, 2, null, [...], foo]", Arrays.deepToString(array));
     }
+
+    @Test
+    public void arrayRangeFilled() {
+        int[] ints = new int[11];
+        Arrays.fill(ints, 1, 10, 0x12345678);
+        assertEquals(0, ints[0]);
+        assertEquals(0x12345678, ints[1]);
+        assertEquals(0x12345678, ints[9]);
+        assertEquals(0, ints[10]);
+
+        byte[] bytes = new byte[23];
+        Arrays.fill(bytes, 3, 21, (byte) -2);
+        assertEquals(0, bytes[2]);
+        assertEquals(-2, bytes[3]);
+        assertEquals(-2, bytes[20]);
+        assertEquals(0, bytes[21]);
+
+        float[] floats = new float[5];
+        Arrays.fill(floats, 1.5f);
+        assertEquals(1.5f, floats[4], 0f);
+
+        char[] chars = new char[6];
+        Arrays.fill(chars, 2, 5, 'x');
+        assertEquals("\0\0xxx\0", new String(chars));
+
+        double[] doubles = new double[4];
+        Arrays.fill(doubles, 1, 3, -0.25);
+        assertEquals(0, doubles[0], 0);
+        assertEquals(-0.25, doubles[2], 0);
+        assertEquals(0, doubles[3], 0);
+    }
+
+    @Test
+    public void arrayCopiedWithPadding() {
+        int[] ints = { 1, 2, 3 };
+        assertArrayEquals(new int[] { 1, 2, 3, 0, 0 }, Arrays.copyOf(ints, 5));
+        assertArrayEquals(new int[] { 1, 2 }, Arrays.copyOf(ints, 2));
+        assertArrayEquals(new int[] { 2, 3, 0 }, Arrays.copyOfRange(ints, 1, 4));
+
+        String[] strings = { "a", "b", "c" };
+        assertArrayEquals(new String[] { "b", "c", null }, Arrays.copyOfRange(strings, 1, 4));
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void arrayFillChecksBounds() {
+        Arrays.fill(new int[3], 0, 4, 1);
+    }
 }
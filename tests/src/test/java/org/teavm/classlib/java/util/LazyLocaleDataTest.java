@@ -0,0 +1,50 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util;
+
+import static org.junit.Assert.assertEquals;
+import java.text.DateFormatSymbols;
+import java.util.Locale;
+import java.util.TimeZone;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.teavm.junit.TeaVMProperties;
+import org.teavm.junit.TeaVMProperty;
+import org.teavm.junit.TeaVMTestRunner;
+
+@RunWith(TeaVMTestRunner.class)
+@TeaVMProperties({
+        @TeaVMProperty(key = "java.util.Locale.available", value = "en, en_US, ru, ru_RU"),
+        @TeaVMProperty(key = "java.util.Locale.lazy", value = "true"),
+        @TeaVMProperty(key = "java.util.TimeZone.lazy", value = "true")
+})
+public class LazyLocaleDataTest {
+    @Test
+    public void localeDataLoaded() {
+        Locale english = new Locale("en", "US");
+        Locale russian = new Locale("ru", "RU");
+        assertEquals("Russian", russian.getDisplayLanguage(english));
+        assertEquals("русский", russian.getDisplayLanguage(russian));
+        assertEquals("January", new DateFormatSymbols(english).getMonths()[0]);
+        assertEquals("января", new DateFormatSymbols(russian).getMonths()[0]);
+    }
+
+    @Test
+    public void timeZoneDataLoaded() {
+        assertEquals("Europe/Moscow", TimeZone.getTimeZone("Europe/Moscow").getID());
+        assertEquals(3 * 3600_000, TimeZone.getTimeZone("Europe/Moscow").getRawOffset());
+    }
+}
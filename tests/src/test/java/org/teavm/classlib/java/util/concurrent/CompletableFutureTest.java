@@ -0,0 +1,80 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.teavm.junit.TeaVMTestRunner;
+
+@RunWith(TeaVMTestRunner.class)
+public class CompletableFutureTest {
+    @Test
+    public void dependentStagesRunOnCompletion() {
+        CompletableFuture<Integer> source = new CompletableFuture<>();
+        CompletableFuture<String> result = source.thenApply(n -> n * 2).thenApply(String::valueOf);
+        assertFalse(result.isDone());
+        source.complete(21);
+        assertEquals("42", result.join());
+    }
+
+    @Test
+    public void exceptionPropagates() {
+        CompletableFuture<Integer> source = new CompletableFuture<>();
+        CompletableFuture<Integer> result = source.thenApply(n -> n + 1).exceptionally(e -> -1);
+        source.completeExceptionally(new IllegalStateException());
+        assertEquals(Integer.valueOf(-1), result.join());
+    }
+
+    @Test
+    public void combinesAndComposes() {
+        CompletableFuture<Integer> a = CompletableFuture.completedFuture(2);
+        CompletableFuture<Integer> b = CompletableFuture.completedFuture(3);
+        assertEquals(Integer.valueOf(5), a.thenCombine(b, Integer::sum).join());
+        assertEquals(Integer.valueOf(6), a.thenCompose(x -> b.thenApply(y -> x * y)).join());
+    }
+
+    @Test
+    public void supplyAsyncCompletesOnAnotherThread() throws Exception {
+        CompletableFuture<String> future = CompletableFuture.supplyAsync(() -> "done");
+        assertEquals("done", future.get());
+    }
+
+    @Test
+    public void executorRunsTasks() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<Integer> future = executor.submit(() -> 23);
+        assertEquals(Integer.valueOf(23), future.get());
+        Future<?> failed = executor.submit(() -> {
+            throw new IllegalArgumentException();
+        });
+        try {
+            failed.get();
+            fail("Exception expected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+        executor.shutdown();
+    }
+}
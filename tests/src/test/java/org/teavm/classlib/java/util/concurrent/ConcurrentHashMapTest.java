@@ -0,0 +1,103 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.teavm.junit.TeaVMTestRunner;
+
+@RunWith(TeaVMTestRunner.class)
+public class ConcurrentHashMapTest {
+    @Test
+    public void putsAndRemoves() {
+        Map<String, Integer> map = new ConcurrentHashMap<>();
+        for (int i = 0; i < 100; ++i) {
+            assertNull(map.put("k" + i, i));
+        }
+        assertEquals(100, map.size());
+        assertEquals(Integer.valueOf(42), map.get("k42"));
+        assertEquals(Integer.valueOf(42), map.put("k42", -42));
+        assertEquals(Integer.valueOf(-42), map.remove("k42"));
+        assertFalse(map.containsKey("k42"));
+        assertTrue(map.containsValue(99));
+        assertEquals(99, map.size());
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void atomicOperations() {
+        ConcurrentMap<String, Integer> map = new ConcurrentHashMap<>();
+        assertNull(map.putIfAbsent("a", 1));
+        assertEquals(Integer.valueOf(1), map.putIfAbsent("a", 2));
+        assertFalse(map.replace("a", 2, 3));
+        assertTrue(map.replace("a", 1, 3));
+        assertEquals(Integer.valueOf(3), map.replace("a", 4));
+        assertNull(map.replace("b", 4));
+        assertFalse(map.remove("a", 3));
+        assertTrue(map.remove("a", 4));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void rejectsNulls() {
+        Map<String, String> map = new ConcurrentHashMap<>();
+        try {
+            map.put(null, "a");
+            fail("NullPointerException expected");
+        } catch (NullPointerException e) {
+            // expected
+        }
+        try {
+            map.put("a", null);
+            fail("NullPointerException expected");
+        } catch (NullPointerException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void iteratesEntries() {
+        Map<Integer, String> source = new HashMap<>();
+        for (int i = 0; i < 10; ++i) {
+            source.put(i, String.valueOf(i));
+        }
+        Map<Integer, String> map = new ConcurrentHashMap<>(source);
+        assertEquals(source, map);
+        Iterator<Map.Entry<Integer, String>> iter = map.entrySet().iterator();
+        while (iter.hasNext()) {
+            Map.Entry<Integer, String> entry = iter.next();
+            if (entry.getKey() % 2 == 0) {
+                iter.remove();
+            } else {
+                entry.setValue("odd");
+            }
+        }
+        assertEquals(5, map.size());
+        assertEquals("odd", map.get(3));
+        assertNull(map.get(4));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.concurrent.atomic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.teavm.junit.TeaVMTestRunner;
+
+@RunWith(TeaVMTestRunner.class)
+public class AtomicTest {
+    @Test
+    public void integerArithmetic() {
+        AtomicInteger value = new AtomicInteger(5);
+        assertEquals(5, value.getAndIncrement());
+        assertEquals(7, value.incrementAndGet());
+        assertEquals(7, value.getAndAdd(3));
+        assertEquals(9, value.decrementAndGet());
+        assertEquals(12, value.addAndGet(3));
+        assertEquals(24, value.updateAndGet(x -> x * 2));
+        assertEquals(24, value.getAndAccumulate(6, Math::max));
+        assertEquals(30, value.accumulateAndGet(6, Integer::sum));
+        assertEquals(30, value.getAndSet(1));
+        assertEquals("1", value.toString());
+        assertEquals(1L, value.longValue());
+    }
+
+    @Test
+    public void integerCompareAndSet() {
+        AtomicInteger value = new AtomicInteger();
+        assertFalse(value.compareAndSet(1, 2));
+        assertEquals(0, value.get());
+        assertTrue(value.compareAndSet(0, 2));
+        assertEquals(2, value.get());
+        assertTrue(value.weakCompareAndSet(2, 3));
+        value.lazySet(4);
+        assertEquals(4, value.get());
+    }
+
+    @Test
+    public void longArithmetic() {
+        AtomicLong value = new AtomicLong(Integer.MAX_VALUE);
+        assertEquals(Integer.MAX_VALUE + 1L, value.incrementAndGet());
+        assertEquals(Integer.MAX_VALUE + 1L, value.getAndAdd(Integer.MAX_VALUE));
+        assertEquals(0xFFFFFFFFL, value.get());
+        assertEquals(0x1FFFFFFFEL, value.updateAndGet(x -> x * 2));
+        assertEquals(0x1FFFFFFFFL, value.accumulateAndGet(1, Long::sum));
+        assertTrue(value.compareAndSet(0x1FFFFFFFFL, -1));
+        assertFalse(value.compareAndSet(0x1FFFFFFFFL, 0));
+        assertEquals(-1, value.getAndIncrement());
+        assertEquals(0, value.get());
+    }
+
+    @Test
+    public void booleanCompareAndSet() {
+        AtomicBoolean value = new AtomicBoolean();
+        assertFalse(value.get());
+        assertFalse(value.compareAndSet(true, false));
+        assertTrue(value.compareAndSet(false, true));
+        assertTrue(value.getAndSet(false));
+        assertEquals("false", value.toString());
+    }
+
+    @Test
+    public void referenceUsesIdentity() {
+        String first = new String("a");
+        String second = new String("a");
+        AtomicReference<String> value = new AtomicReference<>(first);
+        assertFalse(value.compareAndSet(second, "b"));
+        assertSame(first, value.get());
+        assertTrue(value.compareAndSet(first, "b"));
+        assertEquals("bc", value.updateAndGet(s -> s + "c"));
+        assertEquals("bc", value.getAndAccumulate("d", String::concat));
+        assertEquals("bcd", value.getAndSet(null));
+        assertEquals("null", value.toString());
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.regex;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import java.util.regex.Pattern;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.teavm.junit.TeaVMProperties;
+import org.teavm.junit.TeaVMProperty;
+import org.teavm.junit.TeaVMTestRunner;
+
+/**
+ * Runs patterns in native RegExp mode and compares results with the Java engine. The reference pattern is
+ * compiled with {@link Pattern#COMMENTS}, which is never translated to RegExp, and patterns below contain
+ * neither whitespace nor <code>#</code>, so the flag does not change their meaning.
+ */
+@RunWith(TeaVMTestRunner.class)
+@TeaVMProperties(@TeaVMProperty(key = "java.util.regex.native", value = "true"))
+public class NativeRegexTest {
+    @Test
+    public void literalsAndQuantifiers() {
+        check("ab+c?", "abbc", "ac", "xabbbcy", "");
+        check("a{2,3}", "aaaa", "a", "aaaaaaa");
+        check("a{2,}?b", "aaab", "ab", "aaaaab,aab");
+        check("x*", "axxb", "", "xxx");
+        check("\\.\\*\\{\\}\\(\\)\\[\\]\\|\\/", "a.*{}()[]|/b");
+    }
+
+    @Test
+    public void predefinedClasses() {
+        check("\\d+", "a1b22c333", "\u0661\u0662", "12");
+        check("\\D+", "a1b22c333", "12");
+        check("\\w+", "foo_bar-baz42", "\u00E9t\u00E9", "\u0444");
+        check("\\W", "a,b;c", "\u00E9");
+        check("\\s+", "a \tb\nc\u000Bd\fe\rf", "a\u00A0b", "a\u2003b", "a\u3000b");
+        check("\\S+", "a \tb\n", "\u00A0\u2003");
+        check("[\\s,]+", "a, b ,c\u00A0d");
+        check("[^\\d\\s]+", "a1 b2\u00A0c");
+    }
+
+    @Test
+    public void lineTerminatorsAndDot() {
+        check(".+", "ab\ncd", "ab\rcd", "ab\u0085cd", "ab\u2028cd", "\r\n");
+        checkFlags("a.b", Pattern.DOTALL, "a\nb", "a\rb", "a\u2029b", "acb");
+        check("end$", "end", "end\n", "end\r\n", "end\u2028", "end\n\n", "ends");
+        check("^a", "a", "ba", "a\na");
+    }
+
+    @Test
+    public void groups() {
+        check("(a)(b)?", "ab", "a", "b");
+        checkReplace("(\\w+)@(\\w+)", "<$2:$1>", "john@example, jane@test");
+        checkReplace("(a)|(b)", "[$1$2]", "abc");
+        checkReplace("(?:x)(y)", "$1\\$", "xyxy");
+        check("(\\w)\\1", "aabbc", "abab", "aa");
+        check("a(?=b)", "ab", "ac", "abab");
+        check("a(?!b)", "ab", "ac", "aa");
+    }
+
+    @Test
+    public void unicode() {
+        check("\\u0444+", "\u0444\u0444\u0444x\u0444");
+        check("[\\u0400-\\u04FF]+", "abc\u0444\u0436\u044Fdef");
+        check("\\x41", "xAx");
+        check("", "a\uD83D\uDE00b");
+        check("\uD83D\uDE00", "a\uD83D\uDE00b\uD83D\uDE00");
+        check("b*", "a\uD83D\uDE00b");
+        checkFlags("[a-z]+", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, "\u212A", "\u017F");
+        checkFlags("\u043F\u0440\u0438", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE,
+                "\u041F\u0420\u0418\u0432\u0435\u0442", "\u043F\u0440\u0438");
+        checkFlags("[a-z]+", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, "ABC-def");
+        checkFlags("\u00E9", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, "\u00C9t\u00E9");
+    }
+
+    @Test
+    public void splitLimits() {
+        Pattern pattern = Pattern.compile(",");
+        Pattern reference = Pattern.compile(",", Pattern.COMMENTS);
+        for (int limit = -1; limit <= 4; ++limit) {
+            assertArrayEquals(reference.split("a,b,,c,,", limit), pattern.split("a,b,,c,,", limit));
+            assertArrayEquals(reference.split(",a", limit), pattern.split(",a", limit));
+        }
+    }
+
+    private static void check(String regex, String... inputs) {
+        checkFlags(regex, 0, inputs);
+    }
+
+    private static void checkFlags(String regex, int flags, String... inputs) {
+        Pattern pattern = Pattern.compile(regex, flags);
+        Pattern reference = Pattern.compile(regex, flags | Pattern.COMMENTS);
+        for (String input : inputs) {
+            String message = "/" + regex + "/ on \"" + input + "\"";
+            assertArrayEquals(message, reference.split(input), pattern.split(input));
+            assertEquals(message, reference.matcher(input).matches(), pattern.matcher(input).matches());
+            assertEquals(message, reference.matcher(input).replaceAll("<$0>"),
+                    pattern.matcher(input).replaceAll("<$0>"));
+            assertEquals(message, reference.matcher(input).replaceFirst("<$0>"),
+                    pattern.matcher(input).replaceFirst("<$0>"));
+        }
+    }
+
+    private static void checkReplace(String regex, String replacement, String input) {
+        Pattern pattern = Pattern.compile(regex);
+        Pattern reference = Pattern.compile(regex, Pattern.COMMENTS);
+        assertEquals(reference.matcher(input).replaceAll(replacement),
+                pattern.matcher(input).replaceAll(replacement));
+        assertEquals(reference.matcher(input).replaceFirst(replacement),
+                pattern.matcher(input).replaceFirst(replacement));
+    }
+}
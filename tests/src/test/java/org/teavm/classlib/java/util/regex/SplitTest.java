@@ -130,4 +130,19 @@ public class SplitTest {
         assertTrue(tokens[1].equals(""));
         assertEquals("dle z", tokens[2]);
     }
+
+    @Test
+    public void constantPatternReused() {
+        for (int i = 0; i < 3; ++i) {
+            String[] tokens = "a1b22c,,".split("\\d+|,");
+            assertEquals(3, tokens.length);
+            assertEquals("c", tokens[2]);
+            assertEquals(2, "a1b22c".split("\\d+", 2).length);
+            assertTrue("x22".matches("x\\d+"));
+            assertEquals("a#b#c", "a1b22c".replaceAll("\\d+", "#"));
+            assertEquals("a#b22c", "a1b22c".replaceFirst("\\d+", "#"));
+            assertTrue(Pattern.matches("[a-c]+", "abc"));
+            assertTrue(Pattern.compile("ABC", Pattern.CASE_INSENSITIVE).matcher("abc").matches());
+        }
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.classlib.java.util.stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.teavm.junit.TeaVMTestRunner;
+
+@RunWith(TeaVMTestRunner.class)
+public class StreamTest {
+    @Test
+    public void mapFilterCollect() {
+        List<Integer> result = Arrays.asList(1, 2, 3, 4, 5).stream()
+                .filter(n -> n % 2 == 1)
+                .map(n -> n * 10)
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList(10, 30, 50), result);
+    }
+
+    @Test
+    public void limitStopsInfiniteStream() {
+        int[] result = IntStream.iterate(1, n -> n * 2).limit(5).toArray();
+        assertArrayEquals(new int[] { 1, 2, 4, 8, 16 }, result);
+    }
+
+    @Test
+    public void flatMapAndShortCircuit() {
+        assertTrue(Stream.of("ab", "cd").flatMap(s -> Stream.of(s.split(""))).anyMatch(s -> s.equals("c")));
+        assertFalse(Stream.of(1, 2, 3).allMatch(n -> n < 3));
+        assertEquals("b", Stream.of("a", "b", "c").skip(1).findFirst().get());
+    }
+
+    @Test
+    public void reducesPrimitives() {
+        assertEquals(55, IntStream.rangeClosed(1, 10).sum());
+        assertEquals(3, IntStream.range(0, 10).filter(n -> n % 4 == 0).count());
+    }
+
+    @Test
+    public void groupsAndJoins() {
+        Map<Integer, List<String>> groups = Stream.of("a", "bb", "cc", "d")
+                .collect(Collectors.groupingBy(String::length));
+        assertEquals(Arrays.asList("a", "d"), groups.get(1));
+        assertEquals("[a,bb,cc]", Stream.of("a", "bb", "cc").collect(Collectors.joining(",", "[", "]")));
+    }
+}
@@ -156,6 +156,30 @@ public class ConversionTest {
         assertEquals(44, array[1]);
     }
 
+    @Test
+    public void arraysFromJavaScriptAreJavaArrays() {
+        PrimitiveArrays arrays = getPrimitiveArrays();
+        Object ints = arrays.getE();
+        Object strings = arrays.getH();
+        assertEquals(int[].class, ints.getClass());
+        assertEquals(String[].class, strings.getClass());
+        assertTrue(ints instanceof int[]);
+        assertFalse(strings instanceof int[]);
+        assertEquals(System.identityHashCode(ints), ints.hashCode());
+
+        int[] copy = arrays.getE().clone();
+        copy[0] = 5;
+        assertArrayEquals(new int[] { 5 }, copy);
+        assertEquals(int[].class, copy.getClass());
+    }
+
+    @Test
+    public void javaArraysExtendNativeArrays() {
+        assertTrue(extendsInt32Array(new int[] { 1, 2 }));
+        assertTrue(extendsFloat64Array(new double[] { 1 }));
+        assertTrue(builtInPrototypesUntouched());
+    }
+
     @JSBody(params = { "a", "b", "c", "d", "e", "f", "g", "h" }, script = ""
             + "return '' + a + ':' + b + ':' + c + ':' + d + ':' + e + ':' + f.toFixed(1) + ':'"
                     + "+ g.toFixed(1) + ':' + h;")
@@ -321,6 +345,31 @@ public class ConversionTest {
             + "}")
     private static native void mutateByRef(@JSByRef int[] array);
 
+    @JSBody(params = "array", script = ""
+            + "return array instanceof Int32Array && array.constructor !== Int32Array "
+            + "&& Object.getPrototypeOf(Object.getPrototypeOf(array)) === Int32Array.prototype;")
+    private static native boolean extendsInt32Array(@JSByRef int[] array);
+
+    @JSBody(params = "array", script = ""
+            + "return array instanceof Float64Array && array.constructor !== Float64Array "
+            + "&& Object.getPrototypeOf(Object.getPrototypeOf(array)) === Float64Array.prototype;")
+    private static native boolean extendsFloat64Array(@JSByRef double[] array);
+
+    @JSBody(script = ""
+            + "var typedArrayProto = Object.getPrototypeOf(Int8Array.prototype);"
+            + "var protos = [Array.prototype, typedArrayProto, Object.prototype];"
+            + "for (var i = 0; i < protos.length; ++i) {"
+                + "var names = Object.getOwnPropertyNames(protos[i]);"
+                + "for (var j = 0; j < names.length; ++j) {"
+                    + "var desc = Object.getOwnPropertyDescriptor(protos[i], names[j]);"
+                    + "if (typeof desc.value === 'function' && desc.value.toString().indexOf('[native code]') < 0) {"
+                        + "return false;"
+                    + "}"
+                + "}"
+            + "}"
+            + "return [].constructor === Array && new Int8Array(0).constructor === Int8Array;")
+    private static native boolean builtInPrototypesUntouched();
+
     private interface ByRefMutator extends JSObject {
         void mutate(@JSByRef int[] array);
     }
@@ -0,0 +1,248 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.vm;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.teavm.interop.Async;
+import org.teavm.junit.SkipJVM;
+import org.teavm.junit.TeaVMTestRunner;
+import org.teavm.platform.async.AsyncCallback;
+
+@RunWith(TeaVMTestRunner.class)
+public class AsyncTest {
+    private final Object lock = new Object();
+    private final StringBuilder log = new StringBuilder();
+
+    @Test
+    public void monitorHeldAcrossSuspension() throws InterruptedException {
+        Thread thread = new Thread(() -> {
+            synchronized (lock) {
+                log.append("b;");
+            }
+        });
+        synchronized (lock) {
+            thread.start();
+            log.append("a1;");
+            Thread.sleep(20);
+            log.append("a2;");
+        }
+        thread.join();
+        assertEquals("a1;a2;b;", log.toString());
+    }
+
+    @Test
+    public void reentrantMonitorSuspends() throws InterruptedException {
+        synchronized (lock) {
+            synchronized (lock) {
+                Thread.sleep(1);
+                log.append("inner;");
+            }
+            Thread.yield();
+            log.append("outer;");
+        }
+        assertEquals("inner;outer;", log.toString());
+    }
+
+    @Test
+    public void waitAndNotify() throws InterruptedException {
+        Thread thread = new Thread(() -> {
+            synchronized (lock) {
+                log.append("notify;");
+                lock.notifyAll();
+            }
+        });
+        synchronized (lock) {
+            thread.start();
+            lock.wait();
+            log.append("woken;");
+        }
+        assertEquals("notify;woken;", log.toString());
+    }
+
+    @Test
+    public void exceptionAfterSuspension() {
+        try {
+            sleepAndThrow(3);
+            fail("Exception expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("3", e.getMessage());
+        }
+    }
+
+    @Test
+    public void finallyRunsAfterSuspension() {
+        try {
+            try {
+                Thread.yield();
+                sleepAndThrow(1);
+            } finally {
+                Thread.yield();
+                log.append("finally;");
+            }
+        } catch (IllegalArgumentException e) {
+            log.append("caught;");
+        }
+        assertEquals("finally;caught;", log.toString());
+    }
+
+    @Test
+    public void localsPreservedAcrossSuspension() throws InterruptedException {
+        int a = 2;
+        long b = 3;
+        double c = 0.5;
+        String d = "x";
+        Thread.sleep(1);
+        a *= 10;
+        Thread.yield();
+        assertEquals(20, a);
+        assertEquals(3, b);
+        assertEquals(0.5, c, 0.0001);
+        assertEquals("x", d);
+    }
+
+    @Test
+    @SkipJVM
+    public void asyncCallbackValue() {
+        assertEquals("value", suspendAndReturn("value"));
+        assertEquals(Integer.valueOf(23), suspendAndReturn(23));
+    }
+
+    @Test
+    @SkipJVM
+    public void asyncCallbackError() {
+        try {
+            suspendAndFail("error");
+            fail("Exception expected");
+        } catch (IllegalStateException e) {
+            assertEquals("error", e.getMessage());
+        }
+    }
+
+    @Test
+    public void suspendingClinit() {
+        assertEquals("init;", SuspendingInit.state);
+        assertEquals("init;", SuspendingInit.getState());
+    }
+
+    @Test
+    public void suspendingClinitFromSeveralThreads() throws InterruptedException {
+        Thread thread = new Thread(() -> log.append(ConcurrentInit.value).append(";"));
+        thread.start();
+        log.append(ConcurrentInit.value).append(";");
+        thread.join();
+        assertEquals("23;23;", log.toString());
+        assertEquals(1, ConcurrentInit.count);
+    }
+
+    @Test
+    public void yieldingThreadRunsToCompletion() throws InterruptedException {
+        Thread thread = new Thread(() -> {
+            for (int i = 0; i < 3; ++i) {
+                synchronized (log) {
+                    log.append("t").append(i).append(";");
+                }
+                Thread.yield();
+            }
+        });
+        thread.start();
+        thread.join();
+        Thread.sleep(1);
+        assertEquals("t0;t1;t2;", log.toString());
+    }
+
+    @Test
+    public void asyncVirtualCall() {
+        Worker[] workers = { new Worker(), new SleepingWorker(), new Worker() };
+        int sum = 0;
+        for (Worker worker : workers) {
+            sum += worker.work(2);
+        }
+        assertEquals(2 + 20 + 2, sum);
+    }
+
+    private static void sleepAndThrow(int value) {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+        throw new IllegalArgumentException(String.valueOf(value));
+    }
+
+    @Async
+    private static native <T> T suspendAndReturn(T value);
+    private static <T> void suspendAndReturn(T value, AsyncCallback<T> callback) {
+        callback.complete(value);
+    }
+
+    @Async
+    private static native void suspendAndFail(String message);
+    private static void suspendAndFail(String message, AsyncCallback<Void> callback) {
+        callback.error(new IllegalStateException(message));
+    }
+
+    static class Worker {
+        int work(int value) {
+            return value;
+        }
+    }
+
+    static class SleepingWorker extends Worker {
+        @Override
+        int work(int value) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return value * 10;
+        }
+    }
+
+    static class SuspendingInit {
+        static String state = "";
+
+        static {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            state += "init;";
+        }
+
+        static String getState() {
+            return state;
+        }
+    }
+
+    static class ConcurrentInit {
+        static int count;
+        static int value;
+
+        static {
+            count++;
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            value = 23;
+        }
+    }
+}
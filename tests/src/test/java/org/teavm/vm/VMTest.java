@@ -16,6 +16,9 @@
 package org.teavm.vm;
 
 import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.teavm.interop.Async;
@@ -59,6 +62,82 @@ public class VMTest {
         assertEquals(int[][][].class, array.getClass());
     }
 
+    @Test
+    public void arrayClassesReported() {
+        Object[] arrays = { new boolean[1], new byte[1], new short[1], new char[1], new int[1], new long[1],
+                new float[1], new double[1], new String[1], new int[1][1] };
+        Class<?>[] classes = { boolean[].class, byte[].class, short[].class, char[].class, int[].class,
+                long[].class, float[].class, double[].class, String[].class, int[][].class };
+        for (int i = 0; i < arrays.length; ++i) {
+            assertEquals(classes[i], arrays[i].getClass());
+        }
+    }
+
+    @Test
+    public void arraysHaveIdentity() {
+        int[] first = new int[2];
+        int[] second = new int[2];
+        Object obj = first;
+        assertEquals(System.identityHashCode(first), obj.hashCode());
+        assertEquals(obj.hashCode(), first.hashCode());
+        assertTrue(obj.equals(first));
+        assertFalse(obj.equals(second));
+        assertTrue(obj.toString().startsWith("[I@"));
+
+        Map<Object, String> map = new HashMap<>();
+        map.put(first, "first");
+        map.put(second, "second");
+        assertEquals("first", map.get(first));
+        assertEquals("second", map.get(second));
+        assertNull(map.get(new int[2]));
+    }
+
+    @Test
+    public void arraysCloned() {
+        int[] ints = { 1, 2, 3 };
+        int[] intsCopy = ints.clone();
+        assertNotSame(ints, intsCopy);
+        assertEquals(int[].class, intsCopy.getClass());
+        intsCopy[0] = 5;
+        assertArrayEquals(new int[] { 1, 2, 3 }, ints);
+        assertArrayEquals(new int[] { 5, 2, 3 }, intsCopy);
+
+        long[] longs = { 1, 2 };
+        long[] longsCopy = longs.clone();
+        longsCopy[1] = 3;
+        assertArrayEquals(new long[] { 1, 2 }, longs);
+        assertEquals(long[].class, longsCopy.getClass());
+
+        String[][] strings = { { "foo" }, { "bar" } };
+        String[][] stringsCopy = strings.clone();
+        assertEquals(String[][].class, stringsCopy.getClass());
+        assertSame(strings[0], stringsCopy[0]);
+        stringsCopy[1] = new String[] { "baz" };
+        assertEquals("bar", strings[1][0]);
+        assertNotEquals(System.identityHashCode(strings), System.identityHashCode(stringsCopy));
+    }
+
+    @Test
+    public void arraysCheckedByInstanceOf() {
+        Object ints = new int[1];
+        Object strings = new String[1];
+        assertTrue(ints instanceof int[]);
+        assertFalse(ints instanceof long[]);
+        assertFalse(ints instanceof Object[]);
+        assertTrue(strings instanceof String[]);
+        assertFalse(strings instanceof int[]);
+        assertFalse(new Object() instanceof int[]);
+    }
+
+    @Test
+    public void arraysUsedAsMonitors() {
+        int[] array = new int[1];
+        synchronized (array) {
+            array[0]++;
+        }
+        assertEquals(1, array[0]);
+    }
+
     @Test
     public void catchesException() {
         try {
@@ -144,6 +223,176 @@ public class VMTest {
         assertEquals(x, id(23));
     }
 
+    @Test
+    public void catchesBySubclass() {
+        assertEquals("iae", classifyException(new IllegalArgumentException()));
+        assertEquals("nfe", classifyException(new NumberFormatException()));
+        assertEquals("runtime", classifyException(new ArithmeticException()));
+        try {
+            classifyException(new UnsupportedOperationException());
+            fail("Exception expected");
+        } catch (UnsupportedOperationException e) {
+            // ok
+        }
+    }
+
+    private String classifyException(RuntimeException exception) {
+        try {
+            if (exception instanceof UnsupportedOperationException) {
+                throwAgain(exception);
+            }
+            throw exception;
+        } catch (NumberFormatException e) {
+            return "nfe";
+        } catch (IllegalArgumentException e) {
+            return "iae";
+        } catch (UnsupportedOperationException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return "runtime";
+        }
+    }
+
+    private void throwAgain(RuntimeException exception) {
+        throw exception;
+    }
+
+    @Test
+    public void rethrowsException() {
+        ArithmeticException original = new ArithmeticException("original");
+        int handled = 0;
+        try {
+            try {
+                throwAgain(original);
+            } catch (ArithmeticException e) {
+                handled++;
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            handled++;
+            assertSame(original, e);
+        }
+        assertEquals(2, handled);
+    }
+
+    @Test
+    public void wrapsException() {
+        try {
+            try {
+                throwAgain(new IllegalStateException("cause"));
+            } catch (IllegalStateException e) {
+                throw new RuntimeException("wrapper", e);
+            }
+        } catch (RuntimeException e) {
+            assertEquals("wrapper", e.getMessage());
+            assertEquals("cause", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void finallyExecuted() {
+        StringBuilder sb = new StringBuilder();
+        assertEquals(1, finallyAfterReturn(sb, false));
+        try {
+            finallyAfterReturn(sb, true);
+            fail("Exception expected");
+        } catch (IllegalStateException e) {
+            sb.append("caught;");
+        }
+        assertEquals("return;finally;throw;finally;caught;", sb.toString());
+    }
+
+    private int finallyAfterReturn(StringBuilder sb, boolean fail) {
+        try {
+            if (fail) {
+                sb.append("throw;");
+                throwAgain(new IllegalStateException());
+            }
+            sb.append("return;");
+            return 1;
+        } finally {
+            sb.append("finally;");
+        }
+    }
+
+    @Test
+    public void finallyOverridesException() {
+        assertEquals(2, finallyReturns());
+    }
+
+    @SuppressWarnings("finally")
+    private int finallyReturns() {
+        try {
+            throwAgain(new IllegalStateException());
+            return 1;
+        } finally {
+            return 2;
+        }
+    }
+
+    @Test
+    public void exceptionUnwindsSeveralFrames() {
+        for (int i = 0; i < 100; ++i) {
+            try {
+                deepThrow(i % 10);
+                fail("Exception expected");
+            } catch (IllegalStateException e) {
+                assertEquals("bottom", e.getMessage());
+            }
+        }
+        Object[] array = new Object[10];
+        assertEquals(10, array.length);
+    }
+
+    private int deepThrow(int depth) {
+        if (depth == 0) {
+            throw new IllegalStateException("bottom");
+        }
+        int[] frameData = new int[depth];
+        int result = deepThrow(depth - 1);
+        return result + frameData.length;
+    }
+
+    @Test
+    public void variableChangedInProtectedBlockReadInHandler() {
+        int n = 0;
+        try {
+            n = id(1);
+            n = id(2) + n;
+            bar();
+            n = 10;
+        } catch (RuntimeException e) {
+            assertEquals(3, n);
+            n = -n;
+        }
+        assertEquals(-3, n);
+    }
+
+    @Test
+    public void allocationsZeroedAfterGarbageCollection() {
+        for (int i = 0; i < 2000; ++i) {
+            FieldHolder garbage = new FieldHolder();
+            garbage.fill(i + 1);
+            sink = garbage;
+            long[] array = new long[i % 32];
+            Arrays.fill(array, -1);
+            sink = array;
+        }
+        sink = null;
+        System.gc();
+
+        for (int i = 0; i < 2000; ++i) {
+            FieldHolder holder = new FieldHolder();
+            sink = holder;
+            assertTrue("Object fields not cleared", holder.isEmpty());
+            long[] array = new long[i % 32];
+            sink = array;
+            for (int j = 0; j < array.length; ++j) {
+                assertEquals("Array element not cleared", 0, array[j]);
+            }
+        }
+    }
+
     @Test
     public void asyncClinit() {
         assertEquals(0, initCount);
@@ -213,6 +462,34 @@ public class VMTest {
         }
     }
 
+    @Test
+    public void exceptionAfterSynchronizedBlockNotHandledByIt() {
+        MonitorWaiter waiter = new MonitorWaiter();
+        new Thread(() -> {
+            synchronized (waiter) {
+                waiter.state = 2;
+                waiter.notifyAll();
+            }
+        }).start();
+        try {
+            waiter.await();
+            fail("Exception should have been thrown");
+        } catch (IllegalStateException e) {
+            assertEquals("failed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void defaultMethodsDispatchedVirtually() {
+        WithDefaultMethod[] instances = { new DefaultMethodInherited(), new DefaultMethodOverridden(),
+                new DefaultMethodInheritedFromSuperclass(), new DefaultMethodFromSubInterface() };
+        StringBuilder sb = new StringBuilder();
+        for (WithDefaultMethod instance : instances) {
+            sb.append(instance.describe()).append(';');
+        }
+        assertEquals("default:1;overridden:2;default:3;sub:4;", sb.toString());
+    }
+
     @Async
     private static native void throwExceptionAsync();
     private static void throwExceptionAsync(AsyncCallback<Void> callback) {
@@ -278,6 +555,32 @@ public class VMTest {
         }
     }
 
+    private static class MonitorWaiter {
+        int state;
+
+        Object await() {
+            if (state == 0) {
+                synchronized (this) {
+                    while (state == 0) {
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                }
+            }
+            return report();
+        }
+
+        private Object report() {
+            if (state == 2) {
+                throw new IllegalStateException("failed");
+            }
+            return "ok";
+        }
+    }
+
     private void throwException() {
         throw new RuntimeException();
     }
@@ -297,6 +600,79 @@ public class VMTest {
         }
     }
 
+    static Object sink;
+
+    static class FieldHolder {
+        int intField;
+        long longField;
+        double doubleField;
+        byte byteField;
+        char charField;
+        Object objectField;
+
+        void fill(int value) {
+            intField = value;
+            longField = value;
+            doubleField = value;
+            byteField = (byte) value;
+            charField = (char) value;
+            objectField = this;
+        }
+
+        boolean isEmpty() {
+            return intField == 0 && longField == 0 && doubleField == 0 && byteField == 0 && charField == 0
+                    && objectField == null;
+        }
+    }
+
+    interface WithDefaultMethod {
+        int value();
+
+        default String describe() {
+            return "default:" + value();
+        }
+    }
+
+    interface WithOverriddenDefaultMethod extends WithDefaultMethod {
+        @Override
+        default String describe() {
+            return "sub:" + value();
+        }
+    }
+
+    static class DefaultMethodInherited implements WithDefaultMethod {
+        @Override
+        public int value() {
+            return 1;
+        }
+    }
+
+    static class DefaultMethodOverridden implements WithDefaultMethod {
+        @Override
+        public int value() {
+            return 2;
+        }
+
+        @Override
+        public String describe() {
+            return "overridden:" + value();
+        }
+    }
+
+    static class DefaultMethodInheritedFromSuperclass extends DefaultMethodInherited {
+        @Override
+        public int value() {
+            return 3;
+        }
+    }
+
+    static class DefaultMethodFromSubInterface extends DefaultMethodInherited implements WithOverriddenDefaultMethod {
+        @Override
+        public int value() {
+            return 4;
+        }
+    }
+
     static class SuperClass {
         static final Integer ONE = new Integer(1);
 
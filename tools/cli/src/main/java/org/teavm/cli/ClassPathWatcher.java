@@ -0,0 +1,110 @@
+/*
+ *  Copyright 2017 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.cli;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+class ClassPathWatcher {
+    private static final long QUIET_PERIOD = 200;
+    private WatchService watchService;
+    private Map<WatchKey, Path> keys = new HashMap<>();
+    private Set<Path> jarFiles = new HashSet<>();
+
+    ClassPathWatcher(String[] classPath) throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        for (String entry : classPath) {
+            Path path = new File(entry).toPath().toAbsolutePath();
+            if (Files.isDirectory(path)) {
+                registerRecursively(path);
+            } else if (Files.isRegularFile(path) && path.getParent() != null) {
+                jarFiles.add(path);
+                register(path.getParent());
+            }
+        }
+    }
+
+    private void registerRecursively(Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                register(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void register(Path dir) throws IOException {
+        keys.put(dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), dir);
+    }
+
+    /**
+     * Blocks until some class file or JAR on the class path changes. Changes that come in a quick succession
+     * (for example, when IDE writes out a bunch of class files) are reported once.
+     */
+    void waitForChanges() throws InterruptedException, IOException {
+        WatchKey key = watchService.take();
+        boolean changed = processKey(key);
+        while (true) {
+            key = watchService.poll(QUIET_PERIOD, TimeUnit.MILLISECONDS);
+            if (key == null) {
+                if (changed) {
+                    return;
+                }
+                key = watchService.take();
+            }
+            changed |= processKey(key);
+        }
+    }
+
+    private boolean processKey(WatchKey key) throws IOException {
+        Path dir = keys.get(key);
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (dir == null || !(event.context() instanceof Path)) {
+                continue;
+            }
+            Path path = dir.resolve((Path) event.context());
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(path) && !jarFiles.contains(path)) {
+                registerRecursively(path);
+                changed = true;
+            } else if (path.toString().endsWith(".class") || jarFiles.contains(path)) {
+                changed = true;
+            }
+        }
+        if (!key.reset()) {
+            keys.remove(key);
+        }
+        return changed;
+    }
+}
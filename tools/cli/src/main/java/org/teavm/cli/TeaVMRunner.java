@@ -23,6 +23,8 @@ import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -32,6 +34,7 @@ import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.cli.PosixParser;
 import org.teavm.backend.wasm.render.WasmBinaryVersion;
+import org.teavm.model.ReferenceCache;
 import org.teavm.tooling.ClassAlias;
 import org.teavm.tooling.RuntimeCopyOperation;
 import org.teavm.tooling.TeaVMTargetType;
@@ -90,6 +93,10 @@ public final class TeaVMRunner {
                 .withDescription("causes TeaVM to include default main page")
                 .withLongOpt("mainpage")
                 .create());
+        options.addOption(OptionBuilder
+                .withDescription("emit async methods as native JavaScript generators (requires ES2015)")
+                .withLongOpt("async-generators")
+                .create());
         options.addOption(OptionBuilder
                 .withDescription("Generate debug information")
                 .withLongOpt("debug")
@@ -112,6 +119,11 @@ public final class TeaVMRunner {
                 .withDescription("Wait for command after compilation, in order to enable hot recompilation")
                 .withLongOpt("wait")
                 .create('w'));
+        options.addOption(OptionBuilder
+                .withDescription("Run as a build daemon: keep parsed classes in memory, rebuild when class path "
+                        + "changes or when 'build' is read from standard input, exit on 'quit'")
+                .withLongOpt("daemon")
+                .create());
         options.addOption(OptionBuilder
                 .withArgName("classpath")
                 .hasArgs()
@@ -128,7 +140,26 @@ public final class TeaVMRunner {
                 .withLongOpt("wasm-version")
                 .withArgName("version")
                 .hasArg()
-                .withDescription("WebAssembly binary version (11, 12, 13)")
+                .withDescription("WebAssembly binary version (1, 1-simd)")
+                .create());
+        options.addOption(OptionBuilder
+                .withLongOpt("wasm-native-exceptions")
+                .withDescription("use WebAssembly exception handling instructions; disables stack traces")
+                .create());
+        options.addOption(OptionBuilder
+                .withLongOpt("profile-methods")
+                .withDescription("instrument generated code to count method invocations")
+                .create());
+        options.addOption(OptionBuilder
+                .withLongOpt("method-profile")
+                .withArgName("file")
+                .hasArg()
+                .withDescription("method invocation counts collected by instrumented build, used to guide inlining")
+                .create());
+        options.addOption(OptionBuilder
+                .withLongOpt("no-guarded-devirtualization")
+                .withDescription("don't replace WebAssembly virtual calls with two or three implementations "
+                        + "by type checks")
                 .create());
 
         if (args.length == 0) {
@@ -188,6 +219,9 @@ public final class TeaVMRunner {
         if (commandLine.hasOption("mainpage")) {
             tool.setMainPageIncluded(true);
         }
+        if (commandLine.hasOption("async-generators")) {
+            tool.setAsyncGenerators(true);
+        }
         if (commandLine.hasOption('g')) {
             tool.setDebugInformationGenerated(true);
         }
@@ -252,6 +286,7 @@ public final class TeaVMRunner {
         }
 
         boolean interactive = commandLine.hasOption('w');
+        boolean daemon = commandLine.hasOption("daemon");
         setupWasm(tool, commandLine, options);
 
         args = commandLine.getArgs();
@@ -265,8 +300,11 @@ public final class TeaVMRunner {
         tool.setLog(new ConsoleTeaVMToolLog());
         tool.getProperties().putAll(System.getProperties());
         tool.setProgressListener(progressListener);
+        tool.setInMemoryClassCache(interactive || daemon);
 
-        if (interactive) {
+        if (daemon) {
+            runDaemon(tool);
+        } else if (interactive) {
             boolean quit = false;
             BufferedReader reader;
             try {
@@ -310,6 +348,86 @@ public final class TeaVMRunner {
         }
     }
 
+    private static void runDaemon(TeaVMTool tool) {
+        tool.setReferenceCache(new ReferenceCache(true));
+        BlockingQueue<String> commands = new LinkedBlockingQueue<>();
+
+        Thread inputThread = new Thread(() -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, "UTF-8"))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    commands.add(line.trim());
+                }
+            } catch (IOException e) {
+                e.printStackTrace(System.err);
+            }
+            commands.add("quit");
+        }, "teavm-daemon-input");
+        inputThread.setDaemon(true);
+        inputThread.start();
+
+        if (classPath != null && classPath.length > 0) {
+            ClassPathWatcher watcher;
+            try {
+                watcher = new ClassPathWatcher(classPath);
+            } catch (IOException e) {
+                e.printStackTrace(System.err);
+                System.exit(-2);
+                return;
+            }
+            Thread watchThread = new Thread(() -> {
+                try {
+                    while (true) {
+                        watcher.waitForChanges();
+                        commands.add("build");
+                    }
+                } catch (InterruptedException e) {
+                    // Daemon is shutting down
+                } catch (IOException e) {
+                    e.printStackTrace(System.err);
+                }
+            }, "teavm-daemon-watcher");
+            watchThread.setDaemon(true);
+            watchThread.start();
+        }
+
+        buildAndReport(tool);
+        while (true) {
+            String command;
+            try {
+                command = commands.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            switch (command) {
+                case "":
+                case "build":
+                    commands.removeIf(c -> c.isEmpty() || c.equals("build"));
+                    buildAndReport(tool);
+                    break;
+                case "q":
+                case "quit":
+                    return;
+                default:
+                    System.out.println("Unrecognized command: " + command);
+                    break;
+            }
+        }
+    }
+
+    private static void buildAndReport(TeaVMTool tool) {
+        boolean succeeded;
+        try {
+            build(tool);
+            succeeded = tool.getProblemProvider().getSevereProblems().isEmpty();
+        } catch (Exception e) {
+            e.printStackTrace(System.err);
+            succeeded = false;
+        }
+        System.out.println(succeeded ? "BUILD SUCCEEDED" : "BUILD FAILED");
+        System.out.flush();
+    }
+
     private static void build(TeaVMTool tool) throws TeaVMToolException {
         resetClassLoader(tool);
         currentPhase = null;
@@ -323,21 +441,30 @@ public final class TeaVMRunner {
     private static void setupWasm(TeaVMTool tool, CommandLine commandLine, Options options) {
         if (commandLine.hasOption("wasm-version")) {
             String value = commandLine.getOptionValue("wasm-version");
-            try {
-                int version = Integer.parseInt(value);
-                switch (version) {
-                    case 1:
-                        tool.setWasmVersion(WasmBinaryVersion.V_0x1);
-                        break;
-                    default:
-                        System.err.print("Wrong version value");
-                        printUsage(options);
-                }
-            } catch (NumberFormatException e) {
-                System.err.print("Wrong version value");
-                printUsage(options);
+            switch (value) {
+                case "1":
+                    tool.setWasmVersion(WasmBinaryVersion.V_0x1);
+                    break;
+                case "1-simd":
+                    tool.setWasmVersion(WasmBinaryVersion.V_0x1_SIMD);
+                    break;
+                default:
+                    System.err.print("Wrong version value");
+                    printUsage(options);
             }
         }
+        if (commandLine.hasOption("wasm-native-exceptions")) {
+            tool.setWasmNativeExceptions(true);
+        }
+        if (commandLine.hasOption("profile-methods")) {
+            tool.setMethodProfiling(true);
+        }
+        if (commandLine.hasOption("method-profile")) {
+            tool.setMethodProfile(new File(commandLine.getOptionValue("method-profile")));
+        }
+        if (commandLine.hasOption("no-guarded-devirtualization")) {
+            tool.setGuardedDevirtualization(false);
+        }
     }
 
     private static void resetClassLoader(TeaVMTool tool) {
@@ -17,6 +17,7 @@ package org.teavm.tooling;
 
 import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -42,6 +43,7 @@ import org.teavm.cache.DiskCachedClassHolderSource;
 import org.teavm.cache.DiskProgramCache;
 import org.teavm.cache.DiskRegularMethodNodeCache;
 import org.teavm.cache.FileSymbolTable;
+import org.teavm.cache.MemoryCachedClassHolderSource;
 import org.teavm.debugging.information.DebugInformation;
 import org.teavm.debugging.information.DebugInformationBuilder;
 import org.teavm.dependency.DependencyInfo;
@@ -55,6 +57,9 @@ import org.teavm.model.MethodReader;
 import org.teavm.model.MethodReference;
 import org.teavm.model.PreOptimizingClassHolderSource;
 import org.teavm.model.ProgramReader;
+import org.teavm.model.ReferenceCache;
+import org.teavm.model.optimization.MethodProfile;
+import org.teavm.parsing.ClassDateProvider;
 import org.teavm.parsing.ClasspathClassHolderSource;
 import org.teavm.tooling.sources.SourceFileProvider;
 import org.teavm.tooling.sources.SourceFilesCopier;
@@ -73,6 +78,9 @@ public class TeaVMTool implements BaseTeaVMTool {
     private TeaVMTargetType targetType = TeaVMTargetType.JAVASCRIPT;
     private String targetFileName = "";
     private boolean minifying = true;
+    private boolean asyncGenerators;
+    private ReferenceCache referenceCache;
+    private MemoryCachedClassHolderSource memoryClassSource;
     private String mainClass;
     private RuntimeCopyOperation runtime = RuntimeCopyOperation.SEPARATE;
     private Properties properties = new Properties();
@@ -101,6 +109,10 @@ public class TeaVMTool implements BaseTeaVMTool {
     private JavaScriptTarget javaScriptTarget;
     private WasmTarget webAssemblyTarget;
     private WasmBinaryVersion wasmVersion = WasmBinaryVersion.V_0x1;
+    private boolean wasmNativeExceptions;
+    private boolean methodProfiling;
+    private File methodProfile;
+    private boolean guardedDevirtualization = true;
 
     public File getTargetDirectory() {
         return targetDirectory;
@@ -128,6 +140,29 @@ public class TeaVMTool implements BaseTeaVMTool {
         this.minifying = minifying;
     }
 
+    public boolean isAsyncGenerators() {
+        return asyncGenerators;
+    }
+
+    public void setAsyncGenerators(boolean asyncGenerators) {
+        this.asyncGenerators = asyncGenerators;
+    }
+
+    public boolean isInMemoryClassCache() {
+        return memoryClassSource != null;
+    }
+
+    /**
+     * Specifies whether parsed classes should be kept in memory between subsequent calls to {@link #generate()}.
+     * Classes are parsed again only when their class files change, which makes repeated builds
+     * in a long-running process much cheaper.
+     */
+    public void setInMemoryClassCache(boolean inMemoryClassCache) {
+        if (inMemoryClassCache != isInMemoryClassCache()) {
+            memoryClassSource = inMemoryClassCache ? new MemoryCachedClassHolderSource() : null;
+        }
+    }
+
     public boolean isIncremental() {
         return incremental;
     }
@@ -137,6 +172,19 @@ public class TeaVMTool implements BaseTeaVMTool {
         this.incremental = incremental;
     }
 
+    public ReferenceCache getReferenceCache() {
+        return referenceCache;
+    }
+
+    /**
+     * Sets the cache that interns references of parsed classes. When not set, every build starts
+     * with a new cache. Passing the same cache (preferably a weak one) to subsequent builds lets
+     * them share interned references.
+     */
+    public void setReferenceCache(ReferenceCache referenceCache) {
+        this.referenceCache = referenceCache;
+    }
+
     public String getMainClass() {
         return mainClass;
     }
@@ -256,6 +304,38 @@ public class TeaVMTool implements BaseTeaVMTool {
         this.wasmVersion = wasmVersion;
     }
 
+    public boolean isWasmNativeExceptions() {
+        return wasmNativeExceptions;
+    }
+
+    public void setWasmNativeExceptions(boolean wasmNativeExceptions) {
+        this.wasmNativeExceptions = wasmNativeExceptions;
+    }
+
+    public boolean isMethodProfiling() {
+        return methodProfiling;
+    }
+
+    public void setMethodProfiling(boolean methodProfiling) {
+        this.methodProfiling = methodProfiling;
+    }
+
+    public File getMethodProfile() {
+        return methodProfile;
+    }
+
+    public void setMethodProfile(File methodProfile) {
+        this.methodProfile = methodProfile;
+    }
+
+    public boolean isGuardedDevirtualization() {
+        return guardedDevirtualization;
+    }
+
+    public void setGuardedDevirtualization(boolean guardedDevirtualization) {
+        this.guardedDevirtualization = guardedDevirtualization;
+    }
+
     public void setProgressListener(TeaVMProgressListener progressListener) {
         this.progressListener = progressListener;
     }
@@ -326,6 +406,8 @@ public class TeaVMTool implements BaseTeaVMTool {
     private TeaVMTarget prepareJavaScriptTarget() {
         javaScriptTarget = new JavaScriptTarget();
         javaScriptTarget.setMinifying(minifying);
+        javaScriptTarget.setAsyncGenerators(asyncGenerators);
+        javaScriptTarget.setMethodProfiling(methodProfiling);
 
         debugEmitter = debugInformationGenerated || sourceMapsFileGenerated
                 ? new DebugInformationBuilder() : null;
@@ -344,19 +426,32 @@ public class TeaVMTool implements BaseTeaVMTool {
         webAssemblyTarget.setCEmitted(debugInformationGenerated);
         webAssemblyTarget.setWastEmitted(debugInformationGenerated);
         webAssemblyTarget.setVersion(wasmVersion);
+        webAssemblyTarget.setNativeExceptions(wasmNativeExceptions);
+        webAssemblyTarget.setMethodProfiling(methodProfiling);
         return webAssemblyTarget;
     }
 
+    private ClassHolderSource keepInMemory(ClassHolderSource classSource, ClassDateProvider classDateProvider) {
+        if (memoryClassSource == null) {
+            return classSource;
+        }
+        memoryClassSource.update(classSource, classDateProvider);
+        return memoryClassSource;
+    }
+
     public void generate() throws TeaVMToolException {
         try {
             cancelled = false;
             log.info("Building JavaScript file");
             TeaVMBuilder vmBuilder = new TeaVMBuilder(prepareTarget());
+            ReferenceCache referenceCache = this.referenceCache != null ? this.referenceCache : new ReferenceCache();
+            vmBuilder.setReferenceCache(referenceCache);
             if (incremental) {
                 cacheDirectory.mkdirs();
                 symbolTable = new FileSymbolTable(new File(cacheDirectory, "symbols"));
                 fileTable = new FileSymbolTable(new File(cacheDirectory, "files"));
-                ClasspathClassHolderSource innerClassSource = new ClasspathClassHolderSource(classLoader);
+                ClasspathClassHolderSource innerClassSource = new ClasspathClassHolderSource(classLoader,
+                        referenceCache);
                 ClassHolderSource classSource = new PreOptimizingClassHolderSource(innerClassSource);
                 cachedClassSource = new DiskCachedClassHolderSource(cacheDirectory, symbolTable, fileTable,
                         classSource, innerClassSource);
@@ -371,10 +466,13 @@ public class TeaVMTool implements BaseTeaVMTool {
                 } catch (IOException e) {
                     log.info("Cache is missing");
                 }
-                vmBuilder.setClassLoader(classLoader).setClassSource(cachedClassSource);
+                vmBuilder.setClassLoader(classLoader).setClassSource(keepInMemory(cachedClassSource,
+                        innerClassSource));
             } else {
-                vmBuilder.setClassLoader(classLoader).setClassSource(new PreOptimizingClassHolderSource(
-                        new ClasspathClassHolderSource(classLoader)));
+                ClasspathClassHolderSource innerClassSource = new ClasspathClassHolderSource(classLoader,
+                        referenceCache);
+                vmBuilder.setClassLoader(classLoader).setClassSource(keepInMemory(
+                        new PreOptimizingClassHolderSource(innerClassSource), innerClassSource));
             }
             vm = vmBuilder.build();
             if (progressListener != null) {
@@ -385,6 +483,19 @@ public class TeaVMTool implements BaseTeaVMTool {
             vm.setProgramCache(programCache);
             vm.setIncremental(incremental);
             vm.setOptimizationLevel(optimizationLevel);
+            vm.setGuardedDevirtualization(guardedDevirtualization && targetType == TeaVMTargetType.WEBASSEMBLY);
+            if (methodProfile != null) {
+                MethodProfile profile;
+                try (Reader reader = new InputStreamReader(new FileInputStream(methodProfile), "UTF-8")) {
+                    profile = MethodProfile.read(reader);
+                }
+                vm.setMethodProfile(profile);
+                if (programCache != null) {
+                    StringWriter profileText = new StringWriter();
+                    profile.write(profileText);
+                    programCache.setKey("profile:" + Integer.toHexString(profileText.toString().hashCode()));
+                }
+            }
 
             vm.installPlugins();
             for (ClassHolderTransformer transformer : transformers) {
@@ -68,7 +68,7 @@ class SeleniumRunStrategy implements TestRunStrategy {
             return (String) js.executeAsyncScript(
                     readResource("teavm-selenium.js"),
                     readFile(new File(run.getBaseDirectory(), "runtime.js")),
-                    readFile(new File(run.getBaseDirectory(), "test.js")),
+                    readFile(new File(run.getBaseDirectory(), run.getFileName())),
                     readResource("teavm-selenium-adapter.js"));
         } catch (Throwable e) {
             run.getCallback().error(e);
@@ -76,4 +76,22 @@ interface TeaVMTestConfiguration {
             target.setMinifying(true);
         }
     };
+
+    TeaVMTestConfiguration ASYNC_GENERATORS = new TeaVMTestConfiguration() {
+        @Override
+        public String getSuffix() {
+            return "generators";
+        }
+
+        @Override
+        public void apply(TeaVM vm) {
+            vm.setOptimizationLevel(TeaVMOptimizationLevel.SIMPLE);
+        }
+
+        @Override
+        public void apply(JavaScriptTarget target) {
+            target.setMinifying(false);
+            target.setAsyncGenerators(true);
+        }
+    };
 }
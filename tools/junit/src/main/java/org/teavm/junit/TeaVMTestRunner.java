@@ -328,7 +328,7 @@ public class TeaVMTestRunner extends Runner implements Filterable {
             }
         };
 
-        return new TestRun(compileResult.file.getParentFile(), child,
+        return new TestRun(compileResult.file.getParentFile(), compileResult.file.getName(), child,
                 new MethodReference(testClass.getName(), getDescriptor(child)),
                 description, callback, expectedExceptions);
     }
@@ -433,6 +433,9 @@ public class TeaVMTestRunner extends Runner implements Filterable {
         if (Boolean.parseBoolean(System.getProperty("teavm.junit.optimized", "false"))) {
             configurations.add(TeaVMTestConfiguration.OPTIMIZED);
         }
+        if (Boolean.parseBoolean(System.getProperty("teavm.junit.asyncGenerators", "false"))) {
+            configurations.add(TeaVMTestConfiguration.ASYNC_GENERATORS);
+        }
         return configurations;
     }
 
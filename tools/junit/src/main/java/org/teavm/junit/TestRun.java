@@ -25,15 +25,17 @@ import org.teavm.model.MethodReference;
 
 class TestRun {
     private File baseDirectory;
+    private String fileName;
     private Method method;
     private MethodReference reference;
     private Description description;
     private TestRunCallback callback;
     private Set<Class<?>> expectedExceptions;
 
-    TestRun(File baseDirectory, Method method, MethodReference reference, Description description,
-            TestRunCallback callback, Set<Class<?>> expectedExceptions) {
+    TestRun(File baseDirectory, String fileName, Method method, MethodReference reference,
+            Description description, TestRunCallback callback, Set<Class<?>> expectedExceptions) {
         this.baseDirectory = baseDirectory;
+        this.fileName = fileName;
         this.method = method;
         this.reference = reference;
         this.description = description;
@@ -45,6 +47,10 @@ class TestRun {
         return baseDirectory;
     }
 
+    public String getFileName() {
+        return fileName;
+    }
+
     public Method getMethod() {
         return method;
     }